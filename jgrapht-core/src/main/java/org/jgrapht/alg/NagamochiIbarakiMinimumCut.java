@@ -0,0 +1,522 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg;
+
+import org.jgrapht.*;
+import org.jgrapht.util.*;
+
+import java.util.*;
+
+/**
+ * Computes a minimum cut of an undirected weighted graph by repeated edge contractions, using the
+ * algorithm of Nagamochi, Ono and Ibaraki combined with the contraction tests of Padberg and
+ * Rinaldi. The result is the same as the one computed by {@link StoerWagnerMinimumCut}, but the
+ * algorithm is much faster on large sparse graphs.
+ *
+ * <p>
+ * The algorithm maintains an upper bound $\hat\lambda$ on the minimum cut, together with a cut of
+ * this weight, and repeatedly contracts edges which are not crossed by any cut lighter than
+ * $\hat\lambda$. Each round
+ * <ul>
+ * <li>updates $\hat\lambda$ with the minimum weighted degree of the contracted graph,</li>
+ * <li>marks the edges which pass the Padberg-Rinaldi tests, i.e. edges of weight at least
+ * $\hat\lambda$ and edges $\{u,v\}$ whose weight is at least half of the weighted degree of $u$ or
+ * $v$,</li>
+ * <li>computes a maximum adjacency ordering, which gives a lower bound on the connectivity of the
+ * endpoints of every edge; edges whose bound is at least $\hat\lambda$ are marked as well, and
+ * the cuts between the prefixes of the ordering and the remaining vertices update
+ * $\hat\lambda$,</li>
+ * <li>contracts all marked edges and rebuilds the graph.</li>
+ * </ul>
+ * Every round contracts at least one edge, and in practice the number of vertices shrinks
+ * geometrically. The worst case running time is $O(|V||E| \log |V|)$, but on sparse graphs the
+ * running time is usually close to linear. The implementation stores the graph in integer indexed
+ * arrays.
+ *
+ * <p>
+ * For more details see:
+ * <ul>
+ * <li>H. Nagamochi, T. Ono, and T. Ibaraki. Implementing an efficient minimum capacity cut
+ * algorithm. Mathematical Programming, 67(1):325--341, 1994.</li>
+ * <li>M. Padberg and G. Rinaldi. An efficient algorithm for the minimum capacity cut problem.
+ * Mathematical Programming, 47(1):19--36, 1990.</li>
+ * <li>M. Henzinger, A. Noe, C. Schulz, and D. Strash. Practical Minimum Cut Algorithms. Journal of
+ * Experimental Algorithmics, 23:1.8:1--1.8:22, 2018.</li>
+ * </ul>
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ */
+public class NagamochiIbarakiMinimumCut<V, E>
+{
+    private final List<V> vertices;
+
+    /* the contracted vertex of each original vertex */
+    private final int[] label;
+
+    /* contracted graph */
+    private int n;
+    private int[] start;
+    private int[] head;
+    private double[] weight;
+    private double[] degree;
+
+    private double bestCutWeight = Double.POSITIVE_INFINITY;
+    private Set<V> bestCut;
+
+    /**
+     * Will compute the minimum cut in graph.
+     *
+     * @param graph graph over which to run algorithm
+     *
+     * @throws IllegalArgumentException if a negative weight edge is found
+     * @throws IllegalArgumentException if graph has less than 2 vertices
+     */
+    public NagamochiIbarakiMinimumCut(Graph<V, E> graph)
+    {
+        GraphTests.requireUndirected(graph, "Graph must be undirected");
+
+        if (graph.vertexSet().size() < 2) {
+            throw new IllegalArgumentException("Graph has less than 2 vertices");
+        }
+
+        VertexToIntegerMapping<V> mapping = new VertexToIntegerMapping<>(graph.vertexSet());
+        Map<V, Integer> vertexMap = mapping.getVertexMap();
+        this.vertices = mapping.getIndexList();
+        int vertexCount = vertices.size();
+        this.label = new int[vertexCount];
+        for (int i = 0; i < vertexCount; i++) {
+            label[i] = i;
+        }
+
+        int m = graph.edgeSet().size();
+        int[] edgeSource = new int[m];
+        int[] edgeTarget = new int[m];
+        double[] edgeWeight = new double[m];
+        int i = 0;
+        for (E e : graph.edgeSet()) {
+            double w = graph.getEdgeWeight(e);
+            if (w < 0.0) {
+                throw new IllegalArgumentException("Negative edge weights not allowed");
+            }
+            edgeSource[i] = vertexMap.get(graph.getEdgeSource(e));
+            edgeTarget[i] = vertexMap.get(graph.getEdgeTarget(e));
+            edgeWeight[i] = w;
+            i++;
+        }
+        buildGraph(vertexCount, edgeSource, edgeTarget, edgeWeight, m);
+
+        computeMinCut();
+    }
+
+    /**
+     * Return the weight of the minimum cut
+     *
+     * @return the weight of the minimum cut
+     */
+    public double minCutWeight()
+    {
+        return bestCutWeight;
+    }
+
+    /**
+     * Return a set of vertices on one side of the cut
+     *
+     * @return a set of vertices on one side of the cut
+     */
+    public Set<V> minCut()
+    {
+        return bestCut;
+    }
+
+    private void computeMinCut()
+    {
+        while (n > 1) {
+            updateWithTrivialCuts();
+            if (bestCutWeight == 0d) {
+                break;
+            }
+
+            int[] parent = new int[n];
+            for (int v = 0; v < n; v++) {
+                parent[v] = v;
+            }
+            int unions = padbergRinaldiTests(parent);
+            unions += capforest(parent);
+            if (unions == 0) {
+                break;
+            }
+            contract(parent);
+        }
+    }
+
+    /**
+     * Updates the best cut with the cheapest cut consisting of a single contracted vertex.
+     */
+    private void updateWithTrivialCuts()
+    {
+        int best = -1;
+        for (int v = 0; v < n; v++) {
+            if (degree[v] < bestCutWeight && (best == -1 || degree[v] < degree[best])) {
+                best = v;
+            }
+        }
+        if (best != -1) {
+            boolean[] side = new boolean[n];
+            side[best] = true;
+            recordCut(degree[best], side);
+        }
+    }
+
+    /**
+     * Marks the edges passing the Padberg-Rinaldi tests. Edges of weight at least $\hat\lambda$
+     * are never crossed by a lighter cut. For an edge $\{u,v\}$ whose weight is at least half of
+     * the degree of $u$, moving $u$ to the side of $v$ does not increase the weight of any cut;
+     * since this argument is only valid for one edge per vertex at a time, the edges contracted by
+     * this test form a matching.
+     *
+     * @param parent the union-find structure
+     * @return the number of unions
+     */
+    private int padbergRinaldiTests(int[] parent)
+    {
+        int unions = 0;
+        boolean[] matched = new boolean[n];
+        for (int u = 0; u < n; u++) {
+            for (int a = start[u]; a < start[u + 1]; a++) {
+                int v = head[a];
+                if (v < u) {
+                    continue;
+                }
+                double w = weight[a];
+                boolean contract = w >= bestCutWeight;
+                if (!contract && !matched[u] && !matched[v]
+                    && (2 * w >= degree[u] || 2 * w >= degree[v]))
+                {
+                    matched[u] = matched[v] = true;
+                    contract = true;
+                }
+                if (contract && union(parent, u, v)) {
+                    unions++;
+                }
+            }
+        }
+        return unions;
+    }
+
+    /**
+     * Computes a maximum adjacency ordering of the contracted graph. When a vertex $x$ is scanned,
+     * the attachment $r(y)$ of each unscanned neighbor $y$ to the scanned vertices is a lower bound
+     * on the connectivity between $x$ and $y$. Edges where this bound reaches $\hat\lambda$ are
+     * contracted. The cut between the scanned and the unscanned vertices is maintained as well.
+     *
+     * @param parent the union-find structure
+     * @return the number of unions
+     */
+    private int capforest(int[] parent)
+    {
+        int unions = 0;
+        double[] r = new double[n];
+        boolean[] scanned = new boolean[n];
+        int[] order = new int[n];
+        IndexedMaxHeap heap = new IndexedMaxHeap(n);
+
+        double prefixCut = 0d;
+        int bestPrefix = -1;
+        double bestPrefixWeight = bestCutWeight;
+        int nextUnscanned = 0;
+
+        for (int k = 0; k < n; k++) {
+            int x;
+            if (heap.isEmpty()) {
+                while (scanned[nextUnscanned]) {
+                    nextUnscanned++;
+                }
+                x = nextUnscanned;
+            } else {
+                x = heap.poll();
+            }
+            scanned[x] = true;
+            order[k] = x;
+
+            prefixCut += degree[x] - 2 * r[x];
+            if (k < n - 1 && prefixCut < bestPrefixWeight) {
+                bestPrefixWeight = prefixCut;
+                bestPrefix = k;
+            }
+
+            for (int a = start[x]; a < start[x + 1]; a++) {
+                int y = head[a];
+                if (scanned[y]) {
+                    continue;
+                }
+                double w = weight[a];
+                if (r[y] < bestPrefixWeight && r[y] + w >= bestPrefixWeight) {
+                    if (union(parent, x, y)) {
+                        unions++;
+                    }
+                }
+                r[y] += w;
+                heap.update(y, r[y]);
+            }
+        }
+
+        if (bestPrefix != -1) {
+            boolean[] side = new boolean[n];
+            for (int k = 0; k <= bestPrefix; k++) {
+                side[order[k]] = true;
+            }
+            recordCut(bestPrefixWeight, side);
+        }
+
+        // the connectivity of the last two vertices is the degree of the last one
+        if (unions == 0 && union(parent, order[n - 2], order[n - 1])) {
+            unions++;
+        }
+        return unions;
+    }
+
+    /**
+     * Contracts the vertices of each union-find set into a single vertex and rebuilds the graph.
+     * Parallel edges are merged and self-loops are removed.
+     *
+     * @param parent the union-find structure
+     */
+    private void contract(int[] parent)
+    {
+        int[] newId = new int[n];
+        int count = 0;
+        for (int v = 0; v < n; v++) {
+            if (find(parent, v) == v) {
+                newId[v] = count++;
+            }
+        }
+        for (int v = 0; v < n; v++) {
+            newId[v] = newId[find(parent, v)];
+        }
+        for (int i = 0; i < label.length; i++) {
+            label[i] = newId[label[i]];
+        }
+
+        int m = 0;
+        for (int u = 0; u < n; u++) {
+            for (int a = start[u]; a < start[u + 1]; a++) {
+                if (u < head[a] && newId[u] != newId[head[a]]) {
+                    m++;
+                }
+            }
+        }
+        int[] edgeSource = new int[m];
+        int[] edgeTarget = new int[m];
+        double[] edgeWeight = new double[m];
+        int i = 0;
+        for (int u = 0; u < n; u++) {
+            for (int a = start[u]; a < start[u + 1]; a++) {
+                int v = head[a];
+                if (u < v && newId[u] != newId[v]) {
+                    edgeSource[i] = newId[u];
+                    edgeTarget[i] = newId[v];
+                    edgeWeight[i] = weight[a];
+                    i++;
+                }
+            }
+        }
+        buildGraph(count, edgeSource, edgeTarget, edgeWeight, m);
+    }
+
+    /**
+     * Builds the adjacency arrays of a graph from a list of edges. Parallel edges are merged and
+     * self-loops are ignored.
+     */
+    private void buildGraph(
+        int vertexCount, int[] edgeSource, int[] edgeTarget, double[] edgeWeight, int m)
+    {
+        n = vertexCount;
+        int[] rawStart = new int[n + 1];
+        for (int i = 0; i < m; i++) {
+            if (edgeSource[i] != edgeTarget[i]) {
+                rawStart[edgeSource[i] + 1]++;
+                rawStart[edgeTarget[i] + 1]++;
+            }
+        }
+        for (int v = 0; v < n; v++) {
+            rawStart[v + 1] += rawStart[v];
+        }
+        int[] position = Arrays.copyOf(rawStart, n);
+        int[] rawHead = new int[rawStart[n]];
+        double[] rawWeight = new double[rawStart[n]];
+        for (int i = 0; i < m; i++) {
+            int u = edgeSource[i], v = edgeTarget[i];
+            if (u != v) {
+                rawHead[position[u]] = v;
+                rawWeight[position[u]++] = edgeWeight[i];
+                rawHead[position[v]] = u;
+                rawWeight[position[v]++] = edgeWeight[i];
+            }
+        }
+
+        // merge parallel edges
+        start = new int[n + 1];
+        head = new int[rawStart[n]];
+        weight = new double[rawStart[n]];
+        degree = new double[n];
+        int[] slot = new int[n];
+        Arrays.fill(slot, -1);
+        int size = 0;
+        for (int u = 0; u < n; u++) {
+            start[u] = size;
+            for (int a = rawStart[u]; a < rawStart[u + 1]; a++) {
+                int v = rawHead[a];
+                if (slot[v] < start[u]) {
+                    slot[v] = size;
+                    head[size] = v;
+                    weight[size++] = rawWeight[a];
+                } else {
+                    weight[slot[v]] += rawWeight[a];
+                }
+                degree[u] += rawWeight[a];
+            }
+        }
+        start[n] = size;
+    }
+
+    /**
+     * Records a cut of the contracted graph as the best cut found so far.
+     *
+     * @param cutWeight the weight of the cut
+     * @param side the contracted vertices on one side of the cut
+     */
+    private void recordCut(double cutWeight, boolean[] side)
+    {
+        bestCutWeight = cutWeight;
+        bestCut = new HashSet<>();
+        for (int i = 0; i < label.length; i++) {
+            if (side[label[i]]) {
+                bestCut.add(vertices.get(i));
+            }
+        }
+    }
+
+    private static int find(int[] parent, int v)
+    {
+        while (parent[v] != v) {
+            parent[v] = parent[parent[v]];
+            v = parent[v];
+        }
+        return v;
+    }
+
+    private static boolean union(int[] parent, int u, int v)
+    {
+        int ru = find(parent, u);
+        int rv = find(parent, v);
+        if (ru == rv) {
+            return false;
+        }
+        parent[ru] = rv;
+        return true;
+    }
+
+    /**
+     * Binary max-heap over the vertices, keyed by their attachment to the scanned vertices.
+     */
+    private static class IndexedMaxHeap
+    {
+        private final int[] heap;
+        private final int[] position;
+        private final double[] key;
+        private int size;
+
+        IndexedMaxHeap(int capacity)
+        {
+            heap = new int[capacity];
+            position = new int[capacity];
+            key = new double[capacity];
+            Arrays.fill(position, -1);
+        }
+
+        boolean isEmpty()
+        {
+            return size == 0;
+        }
+
+        /**
+         * Inserts a vertex or increases its key.
+         */
+        void update(int v, double k)
+        {
+            key[v] = k;
+            int i = position[v];
+            if (i == -1) {
+                i = size++;
+                heap[i] = v;
+                position[v] = i;
+            }
+            siftUp(i);
+        }
+
+        int poll()
+        {
+            int top = heap[0];
+            position[top] = -2;
+            size--;
+            if (size > 0) {
+                heap[0] = heap[size];
+                position[heap[0]] = 0;
+                siftDown(0);
+            }
+            return top;
+        }
+
+        private void siftUp(int i)
+        {
+            int v = heap[i];
+            while (i > 0) {
+                int p = (i - 1) >>> 1;
+                if (key[heap[p]] >= key[v]) {
+                    break;
+                }
+                heap[i] = heap[p];
+                position[heap[i]] = i;
+                i = p;
+            }
+            heap[i] = v;
+            position[v] = i;
+        }
+
+        private void siftDown(int i)
+        {
+            int v = heap[i];
+            int half = size >>> 1;
+            while (i < half) {
+                int c = 2 * i + 1;
+                if (c + 1 < size && key[heap[c + 1]] > key[heap[c]]) {
+                    c++;
+                }
+                if (key[v] >= key[heap[c]]) {
+                    break;
+                }
+                heap[i] = heap[c];
+                position[heap[i]] = i;
+                i = c;
+            }
+            heap[i] = v;
+            position[v] = i;
+        }
+    }
+}
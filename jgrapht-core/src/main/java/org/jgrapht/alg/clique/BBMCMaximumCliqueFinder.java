@@ -0,0 +1,565 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.clique;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.util.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+/**
+ * Exact branch-and-bound algorithm which computes a
+ * <a href = "http://mathworld.wolfram.com/MaximumClique.html">maximum cardinality clique</a> of an
+ * undirected graph.
+ *
+ * <p>
+ * The implementation follows the bit-parallel BBMC algorithm described in:
+ * <ul>
+ * <li>P. San Segundo, D. Rodríguez-Losada and A. Jiménez. An exact bit-parallel algorithm for the
+ * maximum clique problem. Computers &amp; Operations Research, 38(2):571--581, 2011.</li>
+ * </ul>
+ * which in turn is a bitset reformulation of the MCQ/MCS algorithms of Tomita et al.
+ * <ul>
+ * <li>E. Tomita, Y. Sutani, T. Higashi, S. Takahashi and M. Wakatsuki. A simple and faster
+ * branch-and-bound algorithm for finding a maximum clique. WALCOM 2010, LNCS 5942, 191--203.</li>
+ * </ul>
+ *
+ * <p>
+ * Vertices are first renumbered according to a degeneracy (smallest-last) ordering and the
+ * adjacency of the graph is stored as rows of {@code long} bitsets. Each node of the search tree
+ * greedily colors its candidate set using bitset operations; the number of colors is an upper
+ * bound on the size of any clique inside the candidate set, which is used to prune the search. The
+ * algorithm does not enumerate maximal cliques and is therefore usually orders of magnitude faster
+ * than {@link BronKerboschCliqueFinder} and its variants when only a maximum clique is required,
+ * especially on dense graphs. The space complexity is $\mathcal{O}(|V|^2)$ bits.
+ *
+ * <p>
+ * The subproblems rooted at the vertices of the initial coloring are independent and can
+ * optionally be explored by several threads which share the incumbent (best clique found so far).
+ * For parallelization, this implementation relies on the {@link ExecutorService}.
+ *
+ * <p>
+ * The computation can be limited by a time budget. If the time limit is reached the algorithm
+ * returns the largest clique found so far, which is not necessarily maximum. Use
+ * {@link #isTimeLimitReached()} to check whether the returned clique is guaranteed to be optimal.
+ *
+ * <p>
+ * The input graph must be undirected. Self-loops and multiple edges are ignored.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ */
+public class BBMCMaximumCliqueFinder<V, E>
+    implements
+    CliqueAlgorithm<V>
+{
+    /**
+     * Number of search nodes explored between two consecutive checks of the time limit.
+     */
+    private static final int TIME_CHECK_INTERVAL = 1024;
+
+    private final Graph<V, E> graph;
+    private final long nanos;
+    private final int parallelism;
+
+    /**
+     * Vertices in search order, i.e. {@code vertices[i]} is the vertex with index i.
+     */
+    private List<V> vertices;
+    /**
+     * Adjacency rows of the graph, in search order.
+     */
+    private long[][] adjacency;
+    private int words;
+
+    private long startNanos;
+    private volatile boolean timeLimitReached;
+    private volatile int bestSize;
+    private int[] bestClique;
+
+    private Clique<V> maximumClique;
+
+    /**
+     * Constructs a new sequential maximum clique finder without a time limit.
+     *
+     * @param graph the input graph; must be undirected
+     */
+    public BBMCMaximumCliqueFinder(Graph<V, E> graph)
+    {
+        this(graph, 0L, TimeUnit.SECONDS, 1);
+    }
+
+    /**
+     * Constructs a new sequential maximum clique finder.
+     *
+     * @param graph the input graph; must be undirected
+     * @param timeout the maximum time to spend on the computation, if zero no timeout
+     * @param unit the time unit of the timeout argument
+     */
+    public BBMCMaximumCliqueFinder(Graph<V, E> graph, long timeout, TimeUnit unit)
+    {
+        this(graph, timeout, unit, 1);
+    }
+
+    /**
+     * Constructs a new maximum clique finder.
+     *
+     * @param graph the input graph; must be undirected
+     * @param timeout the maximum time to spend on the computation, if zero no timeout
+     * @param unit the time unit of the timeout argument
+     * @param parallelism maximum number of threads used in the computation
+     */
+    public BBMCMaximumCliqueFinder(Graph<V, E> graph, long timeout, TimeUnit unit, int parallelism)
+    {
+        this.graph = GraphTests.requireUndirected(graph);
+        if (timeout == 0L) {
+            this.nanos = Long.MAX_VALUE;
+        } else {
+            this.nanos = unit.toNanos(timeout);
+        }
+        if (this.nanos < 1L) {
+            throw new IllegalArgumentException("Invalid timeout, must be positive");
+        }
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Computes a maximum clique of the graph. If the time limit has been reached, the largest
+     * clique found so far is returned instead.
+     *
+     * @return a maximum clique of the graph
+     */
+    @Override
+    public Clique<V> getClique()
+    {
+        if (maximumClique == null) {
+            compute();
+        }
+        return maximumClique;
+    }
+
+    /**
+     * Check whether the computation has stopped due to the time limit. In that case the clique
+     * returned by {@link #getClique()} might not be maximum.
+     *
+     * @return true if the computation has stopped due to a time limit, false otherwise
+     */
+    public boolean isTimeLimitReached()
+    {
+        return timeLimitReached;
+    }
+
+    private void compute()
+    {
+        startNanos = System.nanoTime();
+        timeLimitReached = false;
+
+        int n = graph.vertexSet().size();
+        if (n == 0) {
+            maximumClique = new CliqueImpl<>(Collections.emptySet(), 0d);
+            return;
+        }
+
+        initialize();
+        initialClique(n);
+
+        // color the whole graph once, each root subproblem is bounded by its color
+        int[] order = new int[n];
+        int[] color = new int[n];
+        long[] all = new long[words];
+        for (int v = 0; v < n; v++) {
+            all[v >>> 6] |= 1L << v;
+        }
+        int m = colorSort(all, order, color, 1);
+
+        AtomicInteger nextRoot = new AtomicInteger(m - 1);
+        if (parallelism == 1) {
+            new Worker(n, order, color, nextRoot).run();
+        } else {
+            ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+            try {
+                List<Future<?>> futures = new ArrayList<>(parallelism);
+                for (int i = 0; i < parallelism; i++) {
+                    futures.add(executor.submit(new Worker(n, order, color, nextRoot)));
+                }
+                for (Future<?> f : futures) {
+                    f.get();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(e);
+            } catch (ExecutionException e) {
+                throw new RuntimeException(e.getCause());
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+
+        Set<V> result = CollectionUtil.newHashSetWithExpectedSize(bestSize);
+        for (int i = 0; i < bestSize; i++) {
+            result.add(vertices.get(bestClique[i]));
+        }
+        maximumClique = new CliqueImpl<>(result, result.size());
+
+        // release memory
+        adjacency = null;
+        vertices = null;
+    }
+
+    /**
+     * Renumber the vertices using a degeneracy ordering, where vertices of the innermost cores get
+     * the smallest indices, and build the adjacency bitsets.
+     */
+    private void initialize()
+    {
+        int n = graph.vertexSet().size();
+        VertexToIntegerMapping<V> mapping = new VertexToIntegerMapping<>(graph.vertexSet());
+        Map<V, Integer> vertexMap = mapping.getVertexMap();
+        List<V> indexList = mapping.getIndexList();
+
+        // simple degrees, ignoring loops and multiple edges
+        int[][] neighbors = new int[n][];
+        int[] degree = new int[n];
+        int maxDegree = 0;
+        for (int v = 0; v < n; v++) {
+            V vertex = indexList.get(v);
+            Set<Integer> ns = new HashSet<>();
+            for (E e : graph.edgesOf(vertex)) {
+                V opposite = Graphs.getOppositeVertex(graph, e, vertex);
+                if (!opposite.equals(vertex)) {
+                    ns.add(vertexMap.get(opposite));
+                }
+            }
+            int[] row = new int[ns.size()];
+            int k = 0;
+            for (Integer u : ns) {
+                row[k++] = u;
+            }
+            neighbors[v] = row;
+            degree[v] = row.length;
+            maxDegree = Math.max(maxDegree, row.length);
+        }
+
+        // smallest-last ordering using bucket queues
+        int[] bucketHead = new int[maxDegree + 1];
+        Arrays.fill(bucketHead, -1);
+        int[] next = new int[n];
+        int[] prev = new int[n];
+        for (int v = 0; v < n; v++) {
+            int d = degree[v];
+            next[v] = bucketHead[d];
+            prev[v] = -1;
+            if (bucketHead[d] != -1) {
+                prev[bucketHead[d]] = v;
+            }
+            bucketHead[d] = v;
+        }
+        boolean[] removed = new boolean[n];
+        int[] position = new int[n];
+        int minBucket = 0;
+        for (int pos = n - 1; pos >= 0; pos--) {
+            while (bucketHead[minBucket] == -1) {
+                minBucket++;
+            }
+            int v = bucketHead[minBucket];
+            bucketHead[minBucket] = next[v];
+            if (next[v] != -1) {
+                prev[next[v]] = -1;
+            }
+            removed[v] = true;
+            position[v] = pos;
+
+            for (int u : neighbors[v]) {
+                if (removed[u]) {
+                    continue;
+                }
+                int d = degree[u];
+                // unlink from bucket d
+                if (prev[u] != -1) {
+                    next[prev[u]] = next[u];
+                } else {
+                    bucketHead[d] = next[u];
+                }
+                if (next[u] != -1) {
+                    prev[next[u]] = prev[u];
+                }
+                // link into bucket d-1
+                degree[u] = --d;
+                next[u] = bucketHead[d];
+                prev[u] = -1;
+                if (bucketHead[d] != -1) {
+                    prev[bucketHead[d]] = u;
+                }
+                bucketHead[d] = u;
+                if (d < minBucket) {
+                    minBucket = d;
+                }
+            }
+        }
+
+        words = (n + 63) >>> 6;
+        adjacency = new long[n][words];
+        V[] ordered = TypeUtil.uncheckedCast(new Object[n]);
+        for (int v = 0; v < n; v++) {
+            int pv = position[v];
+            ordered[pv] = indexList.get(v);
+            long[] row = adjacency[pv];
+            for (int u : neighbors[v]) {
+                int pu = position[u];
+                row[pu >>> 6] |= 1L << pu;
+            }
+        }
+        vertices = Arrays.asList(ordered);
+    }
+
+    /**
+     * Compute a greedy initial clique which serves as the initial lower bound.
+     *
+     * @param n the number of vertices
+     */
+    private void initialClique(int n)
+    {
+        long[] candidates = adjacency[0].clone();
+        int[] clique = new int[n];
+        int size = 0;
+        clique[size++] = 0;
+        for (int v = 1; v < n; v++) {
+            if ((candidates[v >>> 6] & (1L << v)) != 0) {
+                clique[size++] = v;
+                long[] row = adjacency[v];
+                for (int w = 0; w < words; w++) {
+                    candidates[w] &= row[w];
+                }
+            }
+        }
+        bestClique = Arrays.copyOf(clique, size);
+        bestSize = size;
+    }
+
+    /**
+     * Greedy sequential coloring of the candidate set. Vertices are returned in the arrays
+     * {@code order} and {@code color} by non-decreasing color. Only vertices with color at least
+     * {@code kMin} are reported, as the remaining ones can never lead to an improvement.
+     *
+     * @param candidates the candidate set
+     * @param order output array with the vertices
+     * @param color output array with the colors
+     * @param kMin minimum color to report
+     * @return the number of reported vertices
+     */
+    private int colorSort(long[] candidates, int[] order, int[] color, int kMin)
+    {
+        long[] uncolored = candidates.clone();
+        long[] colorClass = new long[words];
+        return colorSort(uncolored, colorClass, order, color, kMin);
+    }
+
+    private int colorSort(long[] uncolored, long[] colorClass, int[] order, int[] color, int kMin)
+    {
+        int m = 0;
+        int k = 0;
+        int firstWord = 0;
+        while (true) {
+            while (firstWord < words && uncolored[firstWord] == 0L) {
+                firstWord++;
+            }
+            if (firstWord == words) {
+                break;
+            }
+            k++;
+            System.arraycopy(uncolored, firstWord, colorClass, firstWord, words - firstWord);
+            for (int w = firstWord; w < words; w++) {
+                long word;
+                while ((word = colorClass[w]) != 0L) {
+                    int bit = Long.numberOfTrailingZeros(word);
+                    int v = (w << 6) + bit;
+                    uncolored[w] &= ~(1L << bit);
+                    // keep only non-neighbors of v in this color class
+                    long[] row = adjacency[v];
+                    colorClass[w] &= ~row[w] & ~(1L << bit);
+                    for (int x = w + 1; x < words; x++) {
+                        colorClass[x] &= ~row[x];
+                    }
+                    if (k >= kMin) {
+                        order[m] = v;
+                        color[m] = k;
+                        m++;
+                    }
+                }
+            }
+        }
+        return m;
+    }
+
+    /**
+     * Record a new incumbent if it is larger than the current one.
+     *
+     * @param clique the clique vertices
+     * @param size the clique size
+     */
+    private synchronized void updateBest(int[] clique, int size)
+    {
+        if (size > bestSize) {
+            bestClique = Arrays.copyOf(clique, size);
+            bestSize = size;
+        }
+    }
+
+    /**
+     * A search worker. Each worker repeatedly claims the next unexplored root subproblem and
+     * explores it depth first. All buffers are preallocated per depth and reused.
+     */
+    private class Worker
+        implements
+        Runnable
+    {
+        private final int[] rootOrder;
+        private final int[] rootColor;
+        private final AtomicInteger nextRoot;
+
+        private final int[] clique;
+        private final List<long[]> candidatesAtDepth;
+        private final List<int[]> orderAtDepth;
+        private final List<int[]> colorAtDepth;
+        private final long[] uncolored;
+        private final long[] colorClass;
+        private int nodes;
+
+        Worker(int n, int[] rootOrder, int[] rootColor, AtomicInteger nextRoot)
+        {
+            this.rootOrder = rootOrder;
+            this.rootColor = rootColor;
+            this.nextRoot = nextRoot;
+            this.clique = new int[n];
+            this.candidatesAtDepth = new ArrayList<>();
+            this.orderAtDepth = new ArrayList<>();
+            this.colorAtDepth = new ArrayList<>();
+            this.uncolored = new long[words];
+            this.colorClass = new long[words];
+        }
+
+        @Override
+        public void run()
+        {
+            int i;
+            while (!timeLimitReached && (i = nextRoot.getAndDecrement()) >= 0) {
+                if (rootColor[i] <= bestSize) {
+                    // roots are claimed in non-increasing color order
+                    return;
+                }
+                int v = rootOrder[i];
+                // candidates are the neighbors of v which precede it in the root order
+                long[] candidates = candidates(0);
+                long[] row = adjacency[v];
+                Arrays.fill(candidates, 0L);
+                for (int j = 0; j < i; j++) {
+                    int u = rootOrder[j];
+                    candidates[u >>> 6] |= row[u >>> 6] & (1L << u);
+                }
+                clique[0] = v;
+                if (isEmpty(candidates)) {
+                    updateBest(clique, 1);
+                } else {
+                    expand(candidates, 1);
+                }
+            }
+        }
+
+        private void expand(long[] candidates, int size)
+        {
+            if (++nodes == TIME_CHECK_INTERVAL) {
+                nodes = 0;
+                if (nanos != Long.MAX_VALUE && System.nanoTime() - startNanos > nanos) {
+                    timeLimitReached = true;
+                }
+            }
+            if (timeLimitReached) {
+                return;
+            }
+
+            int[] order = order(size);
+            int[] color = color(size);
+            System.arraycopy(candidates, 0, uncolored, 0, words);
+            int m = colorSort(uncolored, colorClass, order, color, bestSize - size + 1);
+
+            long[] newCandidates = candidates(size);
+            for (int i = m - 1; i >= 0; i--) {
+                if (size + color[i] <= bestSize || timeLimitReached) {
+                    return;
+                }
+                int v = order[i];
+                clique[size] = v;
+                long[] row = adjacency[v];
+                boolean empty = true;
+                for (int w = 0; w < words; w++) {
+                    long word = candidates[w] & row[w];
+                    newCandidates[w] = word;
+                    empty &= word == 0L;
+                }
+                if (empty) {
+                    if (size + 1 > bestSize) {
+                        updateBest(clique, size + 1);
+                    }
+                } else {
+                    expand(newCandidates, size + 1);
+                }
+                candidates[v >>> 6] &= ~(1L << v);
+            }
+        }
+
+        private long[] candidates(int depth)
+        {
+            while (candidatesAtDepth.size() <= depth) {
+                candidatesAtDepth.add(new long[words]);
+            }
+            return candidatesAtDepth.get(depth);
+        }
+
+        private int[] order(int depth)
+        {
+            while (orderAtDepth.size() <= depth) {
+                orderAtDepth.add(new int[clique.length]);
+            }
+            return orderAtDepth.get(depth);
+        }
+
+        private int[] color(int depth)
+        {
+            while (colorAtDepth.size() <= depth) {
+                colorAtDepth.add(new int[clique.length]);
+            }
+            return colorAtDepth.get(depth);
+        }
+
+        private boolean isEmpty(long[] bitset)
+        {
+            for (long word : bitset) {
+                if (word != 0L) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,316 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.connectivity;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.util.*;
+import org.jgrapht.event.*;
+
+import java.util.*;
+
+/**
+ * Fully dynamic connectivity structure for general graphs. The structure answers whether two
+ * vertices are connected and supports arbitrary edge insertions and deletions.
+ *
+ * <p>
+ * The inspector is a {@link org.jgrapht.event.GraphListener}. After being added as a listener to
+ * the inspected graph, it amends its internal state on every modification of the graph, instead of
+ * recomputing it like {@link ConnectivityInspector} does when an edge is removed. If the inspector
+ * is added as listener to a graph other than the one it inspects, results are undefined.
+ *
+ * <p>
+ * The implementation follows the algorithm of Holm, de Lichtenberg and Thorup. Every edge has a
+ * level, which only increases over time. For every level $i$ a spanning forest $F_i$ of the edges
+ * with level at least $i$ is maintained, using the Euler tour trees of
+ * {@link TreeDynamicConnectivity}, such that $F_0 \supseteq F_1 \supseteq \dots$ and every tree of
+ * $F_i$ has at most $n / 2^i$ vertices. When a forest edge of level $l$ is deleted, a replacement
+ * edge is searched for on the levels $l, l-1, \dots, 0$. On level $i$ the edges of level $i$ in the
+ * smaller of the two resulting trees are promoted to level $i+1$, including the inspected non-tree
+ * edges which do not reconnect the trees. The Euler tour trees mark the vertices with non-tree
+ * edges of level $i$ and the tree edges of level $i$, so that they are found in logarithmic time.
+ *
+ * <p>
+ * Connectivity queries take $O(\log n)$ time, while edge insertions and deletions take $O(\log^2
+ * n)$ amortized time. Directed graphs are treated as undirected ones.
+ *
+ * <p>
+ * For more details see: J. Holm, K. de Lichtenberg, and M. Thorup. Poly-logarithmic deterministic
+ * fully-dynamic algorithms for connectivity, minimum spanning tree, 2-edge, and biconnectivity.
+ * Journal of the ACM, 48(4):723--760, 2001.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ */
+public class DynamicConnectivityInspector<V, E>
+    implements
+    GraphListener<V, E>
+{
+    private final Graph<V, E> graph;
+
+    /**
+     * Information about each edge of the graph.
+     */
+    private final Map<E, EdgeInfo> edges;
+    /**
+     * The forest edge between each pair of adjacent vertices in $F_0$.
+     */
+    private final Map<V, Map<V, E>> forestEdges;
+    private final List<Level> levels;
+
+    /**
+     * Creates a dynamic connectivity inspector for the specified graph.
+     *
+     * @param graph the graph for which a connectivity inspector to be created
+     */
+    public DynamicConnectivityInspector(Graph<V, E> graph)
+    {
+        this.graph = Objects.requireNonNull(graph, "Graph cannot be null");
+        this.edges = new HashMap<>();
+        this.forestEdges = new HashMap<>();
+        this.levels = new ArrayList<>();
+        this.levels.add(new Level());
+
+        for (E e : graph.edgeSet()) {
+            insert(e, graph.getEdgeSource(e), graph.getEdgeTarget(e));
+        }
+    }
+
+    /**
+     * Tests whether two vertices are connected by a path in the graph.
+     *
+     * @param u a vertex
+     * @param v a vertex
+     * @return {@code true} if and only if the vertices are connected
+     * @throws IllegalArgumentException if one of the vertices is not part of the graph
+     */
+    public boolean connected(V u, V v)
+    {
+        if (!graph.containsVertex(u) || !graph.containsVertex(v)) {
+            throw new IllegalArgumentException("Vertex is not part of the graph");
+        }
+        return u.equals(v) || levels.get(0).forest.connected(u, v);
+    }
+
+    /**
+     * @see GraphListener#edgeAdded(GraphEdgeChangeEvent)
+     */
+    @Override
+    public void edgeAdded(GraphEdgeChangeEvent<V, E> e)
+    {
+        insert(e.getEdge(), e.getEdgeSource(), e.getEdgeTarget());
+    }
+
+    /**
+     * @see GraphListener#edgeRemoved(GraphEdgeChangeEvent)
+     */
+    @Override
+    public void edgeRemoved(GraphEdgeChangeEvent<V, E> e)
+    {
+        EdgeInfo info = edges.remove(e.getEdge());
+        if (info == null || info.source.equals(info.target)) {
+            return;
+        }
+        if (!info.inForest) {
+            removeNonTreeEdge(e.getEdge(), info);
+            return;
+        }
+
+        V u = info.source;
+        V v = info.target;
+        forestEdges.get(u).remove(v);
+        forestEdges.get(v).remove(u);
+        levels.get(info.level).forest.setMarked(u, v, false);
+        for (int i = info.level; i >= 0; i--) {
+            levels.get(i).forest.cut(u, v);
+        }
+        for (int i = info.level; i >= 0; i--) {
+            if (replace(u, v, i)) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * @see VertexSetListener#vertexAdded(GraphVertexChangeEvent)
+     */
+    @Override
+    public void vertexAdded(GraphVertexChangeEvent<V> e)
+    {
+        // vertices are added to the forests lazily
+    }
+
+    /**
+     * @see VertexSetListener#vertexRemoved(GraphVertexChangeEvent)
+     */
+    @Override
+    public void vertexRemoved(GraphVertexChangeEvent<V> e)
+    {
+        // the edges of the vertex have already been removed
+        V v = e.getVertex();
+        forestEdges.remove(v);
+        for (Level level : levels) {
+            level.forest.remove(v);
+            level.nonTreeEdges.remove(v);
+        }
+    }
+
+    private void insert(E e, V u, V v)
+    {
+        EdgeInfo info = new EdgeInfo(u, v);
+        edges.put(e, info);
+        if (u.equals(v)) {
+            // self-loops never affect connectivity
+            return;
+        }
+        Level level = levels.get(0);
+        if (!level.forest.connected(u, v)) {
+            addForestEdge(e, info);
+        } else {
+            addNonTreeEdge(e, info);
+        }
+    }
+
+    /**
+     * Adds an edge to the forests $F_0, \dots, F_l$, where $l$ is the level of the edge.
+     */
+    private void addForestEdge(E e, EdgeInfo info)
+    {
+        V u = info.source;
+        V v = info.target;
+        info.inForest = true;
+        forestEdges.computeIfAbsent(u, k -> new HashMap<>()).put(v, e);
+        forestEdges.computeIfAbsent(v, k -> new HashMap<>()).put(u, e);
+        for (int i = 0; i <= info.level; i++) {
+            levels.get(i).forest.link(u, v);
+        }
+        levels.get(info.level).forest.setMarked(u, v, true);
+    }
+
+    private void addNonTreeEdge(E e, EdgeInfo info)
+    {
+        info.inForest = false;
+        Level level = levels.get(info.level);
+        level.addNonTreeEdge(info.source, e);
+        level.addNonTreeEdge(info.target, e);
+    }
+
+    private void removeNonTreeEdge(E e, EdgeInfo info)
+    {
+        Level level = levels.get(info.level);
+        level.removeNonTreeEdge(info.source, e);
+        level.removeNonTreeEdge(info.target, e);
+    }
+
+    /**
+     * Searches for an edge of level $i$ which reconnects the trees of $u$ and $v$ in $F_i$.
+     * The edges of level $i$ in the smaller tree which are inspected without success are promoted
+     * to level $i + 1$.
+     *
+     * @return {@code true} if a replacement edge has been found
+     */
+    private boolean replace(V u, V v, int i)
+    {
+        Level level = levels.get(i);
+        V smaller = level.forest.size(u) <= level.forest.size(v) ? u : v;
+
+        if (i + 1 == levels.size()) {
+            levels.add(new Level());
+        }
+        Level next = levels.get(i + 1);
+
+        // promote the tree edges of level i
+        Pair<V, V> treeEdge;
+        while ((treeEdge = level.forest.findMarkedEdge(smaller)) != null) {
+            V a = treeEdge.getFirst();
+            V b = treeEdge.getSecond();
+            level.forest.setMarked(a, b, false);
+            edges.get(forestEdges.get(a).get(b)).level = i + 1;
+            next.forest.link(a, b);
+            next.forest.setMarked(a, b, true);
+        }
+
+        // inspect the non-tree edges of level i
+        V w;
+        while ((w = level.forest.findMarkedElement(smaller)) != null) {
+            for (E e : new ArrayList<>(level.nonTreeEdges.get(w))) {
+                EdgeInfo info = edges.get(e);
+                removeNonTreeEdge(e, info);
+                V other = info.source.equals(w) ? info.target : info.source;
+                if (level.forest.connected(other, w) || other.equals(w)) {
+                    info.level = i + 1;
+                    addNonTreeEdge(e, info);
+                } else {
+                    addForestEdge(e, info);
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The spanning forest and the non-tree edges of a level.
+     */
+    private class Level
+    {
+        /**
+         * The forest of the edges with at least this level.
+         */
+        final TreeDynamicConnectivity<V> forest = new TreeDynamicConnectivity<>();
+        /**
+         * The non-tree edges of this level incident to each vertex.
+         */
+        final Map<V, Set<E>> nonTreeEdges = new HashMap<>();
+
+        void addNonTreeEdge(V v, E e)
+        {
+            Set<E> incident = nonTreeEdges.computeIfAbsent(v, k -> new LinkedHashSet<>());
+            if (incident.isEmpty()) {
+                forest.setMarked(v, true);
+            }
+            incident.add(e);
+        }
+
+        void removeNonTreeEdge(V v, E e)
+        {
+            Set<E> incident = nonTreeEdges.get(v);
+            incident.remove(e);
+            if (incident.isEmpty()) {
+                nonTreeEdges.remove(v);
+                forest.setMarked(v, false);
+            }
+        }
+    }
+
+    /**
+     * The endpoints, level and state of an edge.
+     */
+    private class EdgeInfo
+    {
+        final V source;
+        final V target;
+        int level;
+        boolean inForest;
+
+        EdgeInfo(V source, V target)
+        {
+            this.source = source;
+            this.target = target;
+        }
+    }
+}
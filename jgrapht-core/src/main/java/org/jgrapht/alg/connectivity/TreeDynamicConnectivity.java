@@ -17,6 +17,7 @@
  */
 package org.jgrapht.alg.connectivity;
 
+import org.jgrapht.alg.util.Pair;
 import org.jgrapht.util.AVLTree;
 import org.jgrapht.util.DoublyLinkedList;
 
@@ -68,6 +69,19 @@ public class TreeDynamicConnectivity<T> {
      * for each zero-degree node
      */
     private Map<Node, AVLTree<T>> singletonNodes;
+    /**
+     * Mapping from the tree nodes of the marked arcs to the arcs
+     */
+    private Map<TreeNode<T>, Arc> markedArcs;
+
+    /**
+     * Tree node flag of the occurrence which represents a marked element
+     */
+    private static final int ELEMENT_FLAG = 1;
+    /**
+     * Tree node flag of the occurrence of a marked arc
+     */
+    private static final int ARC_FLAG = 2;
 
     /**
      * Constructs a new {@code TreeDynamicConnectivity} instance
@@ -76,6 +90,7 @@ public class TreeDynamicConnectivity<T> {
         minToTreeMap = new HashMap<>();
         nodeMap = new HashMap<>();
         singletonNodes = new HashMap<>();
+        markedArcs = new HashMap<>();
     }
 
     /**
@@ -199,6 +214,7 @@ public class TreeDynamicConnectivity<T> {
             // newFirstArc becomes the first arc of the first node
             singletonNodes.remove(firstNode);
             firstNode.addArcLast(newFirstArc);
+            firstNode.updateMarkHolder();
         } else {
             /*
              * Since second element will be not the only element adjacent to the
@@ -253,6 +269,7 @@ public class TreeDynamicConnectivity<T> {
             // newSecondArc becomes the first arc of the second node
             singletonNodes.remove(secondNode);
             secondNode.addArcLast(newSecondArc);
+            secondNode.updateMarkHolder();
         } else {
             /*
              * Similarly to the first case, we need to find out the last arc of
@@ -406,9 +423,156 @@ public class TreeDynamicConnectivity<T> {
             singletonNodes.put(secondNode, right);
         }
 
+        /*
+         * The occurrences of the removed arcs are no longer part of the Euler tours,
+         * so the marks stored on them are moved or dropped
+         */
+        markedArcs.remove(arcToSecond.arcTreeNode);
+        markedArcs.remove(secondToFirst.arcTreeNode);
+        if (firstNode.markHolder == arcToSecond.arcTreeNode) {
+            firstNode.updateMarkHolder();
+        }
+        if (secondNode.markHolder == secondToFirst.arcTreeNode) {
+            secondNode.updateMarkHolder();
+        }
+
         return true;
     }
 
+    /**
+     * Returns the number of elements in the tree the {@code element} belongs to, or
+     * $0$ if the {@code element} hasn't been added to this data structure.
+     * <p>
+     * This method has $\mathcal{O}(\log n)$ running time complexity
+     *
+     * @param element an element
+     * @return the number of elements in the tree of the {@code element}
+     */
+    int size(T element) {
+        if (!contains(element)) {
+            return 0;
+        }
+        Node node = getNode(element);
+        if (node.isSingleton()) {
+            return 1;
+        }
+        // the Euler tour of a tree with k elements has 2(k - 1) occurrences
+        return getTree(node).getSize() / 2 + 1;
+    }
+
+    /**
+     * Marks or unmarks the {@code element}. Marked elements of a tree can be found with
+     * {@link #findMarkedElement(Object)}. In the case the element hasn't been added
+     * before, it's added to this data structure.
+     * <p>
+     * This method has $\mathcal{O}(\log n)$ running time complexity
+     *
+     * @param element an element
+     * @param marked  {@code true} to mark the element, {@code false} to unmark it
+     */
+    void setMarked(T element, boolean marked) {
+        addIfAbsent(element);
+        Node node = getNode(element);
+        if (node.marked != marked) {
+            node.marked = marked;
+            node.updateMarkHolder();
+        }
+    }
+
+    /**
+     * Marks or unmarks the edge between the {@code first} and {@code second} elements.
+     * Marked edges of a tree can be found with {@link #findMarkedEdge(Object)}.
+     * <p>
+     * This method has $\mathcal{O}(\log n)$ running time complexity
+     *
+     * @param first  an element
+     * @param second an element
+     * @param marked {@code true} to mark the edge, {@code false} to unmark it
+     * @throws IllegalArgumentException if there is no edge between the elements
+     */
+    void setMarked(T first, T second, boolean marked) {
+        Arc arc = contains(first) && contains(second) ? getNode(first).getArcTo(getNode(second)) : null;
+        if (arc == null) {
+            throw new IllegalArgumentException(String.format("Elements {%s} and {%s} are not connected", first, second));
+        }
+        TreeNode<T> treeNode = arc.arcTreeNode;
+        if (marked) {
+            markedArcs.put(treeNode, arc);
+            treeNode.setFlags(treeNode.getFlags() | ARC_FLAG);
+        } else {
+            markedArcs.remove(treeNode);
+            treeNode.setFlags(treeNode.getFlags() & ~ARC_FLAG);
+        }
+    }
+
+    /**
+     * Returns a marked element of the tree the {@code element} belongs to, or {@code null}
+     * if the tree has no marked elements.
+     * <p>
+     * This method has $\mathcal{O}(\log n)$ running time complexity
+     *
+     * @param element an element
+     * @return a marked element of the tree, or {@code null}
+     */
+    T findMarkedElement(T element) {
+        if (!contains(element)) {
+            return null;
+        }
+        Node node = getNode(element);
+        if (node.isSingleton()) {
+            return node.marked ? element : null;
+        }
+        TreeNode<T> treeNode = findFlagged(getTree(node).getRoot(), ELEMENT_FLAG);
+        return treeNode == null ? null : treeNode.getValue();
+    }
+
+    /**
+     * Returns a marked edge of the tree the {@code element} belongs to, or {@code null}
+     * if the tree has no marked edges.
+     * <p>
+     * This method has $\mathcal{O}(\log n)$ running time complexity
+     *
+     * @param element an element
+     * @return the endpoints of a marked edge of the tree, or {@code null}
+     */
+    Pair<T, T> findMarkedEdge(T element) {
+        if (!contains(element)) {
+            return null;
+        }
+        Node node = getNode(element);
+        if (node.isSingleton()) {
+            return null;
+        }
+        TreeNode<T> treeNode = findFlagged(getTree(node).getRoot(), ARC_FLAG);
+        if (treeNode == null) {
+            return null;
+        }
+        return Pair.of(treeNode.getValue(), markedArcs.get(treeNode).target.value);
+    }
+
+    /**
+     * Descends from the {@code root} to a tree node which has the {@code flag} set
+     *
+     * @param root the root of a binary tree
+     * @param flag a flag
+     * @return a tree node which has the flag set, or {@code null} if there is no such node
+     */
+    private TreeNode<T> findFlagged(TreeNode<T> root, int flag) {
+        TreeNode<T> current = root;
+        if (current == null || (current.getSubtreeFlags() & flag) == 0) {
+            return null;
+        }
+        while ((current.getFlags() & flag) == 0) {
+            TreeNode<T> left = current.getLeft();
+            if (left != null && (left.getSubtreeFlags() & flag) != 0) {
+                current = left;
+            } else {
+                current = current.getRight();
+            }
+        }
+        return current;
+    }
+
     /**
      * Makes the {@code node} the root of the tree. In practice, this means that
      * the value of the {@code node} is the first in the Euler tour
@@ -504,6 +668,14 @@ public class TreeDynamicConnectivity<T> {
          * Target node to arc mapping
          */
         Map<Node, Arc> targetMap;
+        /**
+         * Whether this node is marked
+         */
+        boolean marked;
+        /**
+         * The occurrence of this node which carries the mark of this node in the Euler tour
+         */
+        TreeNode<T> markHolder;
 
         /**
          * Constructs a new node
@@ -516,6 +688,22 @@ public class TreeDynamicConnectivity<T> {
             targetMap = new HashMap<>();
         }
 
+        /**
+         * Places the mark of this node on one of its occurrences in the Euler tour, after
+         * removing it from the occurrence it has been placed on before. Clearing the flag of
+         * an occurrence which has already been removed from the Euler tour is harmless.
+         */
+        void updateMarkHolder() {
+            if (markHolder != null) {
+                markHolder.setFlags(markHolder.getFlags() & ~ELEMENT_FLAG);
+            }
+            markHolder = null;
+            if (marked && !isSingleton()) {
+                markHolder = arcs.get(0).arcTreeNode;
+                markHolder.setFlags(markHolder.getFlags() | ELEMENT_FLAG);
+            }
+        }
+
         /**
          * Removes the {@code arc} from the arc list
          *
@@ -0,0 +1,1074 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.flow;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.util.*;
+
+import java.util.*;
+
+/**
+ * The Boykov-Kolmogorov maximum flow and minimum $s-t$ cut algorithm.
+ *
+ * <p>
+ * The algorithm is described in:
+ * <ul>
+ * <li>Y. Boykov and V. Kolmogorov. An Experimental Comparison of Min-Cut/Max-Flow Algorithms for
+ * Energy Minimization in Vision. IEEE Transactions on Pattern Analysis and Machine Intelligence,
+ * 26(9):1124--1137, 2004.</li>
+ * </ul>
+ * The algorithm maintains two search trees, rooted at the source and at the sink, which are grown
+ * until they touch. The path connecting the two roots is augmented, and the trees are repaired by
+ * adopting the orphaned vertices instead of being rebuilt from scratch. Although the worst-case
+ * running time is $O(mn^2|C|)$, where $|C|$ is the value of the minimum cut, the algorithm
+ * significantly outperforms the general purpose algorithms on graphs with many short augmenting
+ * paths, such as the grid graphs arising in computer vision.
+ *
+ * <p>
+ * Edges incident to the source or the sink (terminal edges) are not represented explicitly.
+ * Instead, each vertex stores the residual capacity of its terminal edges. This allows the
+ * minimum cut to be recomputed efficiently after the capacities of some terminal edges have been
+ * modified, see {@link #updateTerminalCapacities(Collection)}. The implementation reuses the
+ * search trees of the previous computation, following:
+ * <ul>
+ * <li>P. Kohli and P. H. S. Torr. Dynamic Graph Cuts for Efficient Inference in Markov Random
+ * Fields. IEEE Transactions on Pattern Analysis and Machine Intelligence, 29(12):2079--2088,
+ * 2007.</li>
+ * </ul>
+ *
+ * <p>
+ * The remaining edges are stored in a compact array based residual network, which is built for
+ * the first source-sink pair and rebuilt only when a different pair is requested. The network
+ * must therefore not be modified between invocations, except for the capacities of the terminal
+ * edges as described above. Self-loops are ignored.
+ *
+ * <p>
+ * The source partition of the computed cut contains all vertices reachable from the source in the
+ * residual network.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ */
+public class BoykovKolmogorovMFImpl<V, E>
+    implements
+    MaximumFlowAlgorithm<V, E>,
+    MinimumSTCutAlgorithm<V, E>
+{
+    /**
+     * Default tolerance.
+     */
+    public static final double DEFAULT_EPSILON = MaximumFlowAlgorithmBase.DEFAULT_EPSILON;
+
+    /* special parents */
+    private static final int TERMINAL = -1;
+    private static final int ORPHAN = -2;
+    private static final int NONE = -3;
+
+    /* marks a vertex which is not in the active queue */
+    private static final int NOT_ACTIVE = -1;
+
+    private static final int INFINITE_DISTANCE = Integer.MAX_VALUE;
+
+    private final Graph<V, E> network;
+    private final boolean directedGraph;
+    private final double epsilon;
+
+    /* vertices and edges */
+    private List<V> vertices;
+    private Map<V, Integer> vertexMap;
+    private List<E> edges;
+    private Map<E, Integer> edgeMap;
+    private int n;
+    private int[] edgeTail;
+    private int[] edgeHead;
+    private double[] edgeCapacity;
+
+    /* residual network of the non-terminal edges for the current source and sink */
+    private int builtSource = -1;
+    private int builtSink = -1;
+    private int[] arcStart;
+    private int[] arcHead;
+    private int[] arcMate;
+    private int[] edgeArc;
+    private double[] residual;
+
+    /* terminal capacities */
+    private double[] sourceCapacity;
+    private double[] sinkCapacity;
+    private double[] reparametrization;
+    private double[] terminalResidual;
+    private double directFlow;
+
+    /* search trees */
+    private int[] parent;
+    private boolean[] isSink;
+    private int[] timestamp;
+    private int[] distance;
+    private int time;
+    private int[] nextActive;
+    private int firstActive;
+    private int lastActive;
+    private int[] orphans;
+    private int orphanHead;
+    private int orphanSize;
+    private boolean[] marked;
+    private int[] markedVertices;
+    private int markedCount;
+
+    /* results of the last invocation */
+    private V source;
+    private V sink;
+    private int sourceIndex;
+    private int sinkIndex;
+    private double flow;
+    private double offset;
+    private double maxFlowValue = -1;
+    private Map<E, Double> maxFlow;
+    private Set<V> sourcePartition;
+    private Set<V> sinkPartition;
+    private Set<E> cutEdges;
+
+    /**
+     * Construct a new maximum flow algorithm.
+     *
+     * @param network the network
+     */
+    public BoykovKolmogorovMFImpl(Graph<V, E> network)
+    {
+        this(network, DEFAULT_EPSILON);
+    }
+
+    /**
+     * Construct a new maximum flow algorithm.
+     *
+     * @param network the network
+     * @param epsilon tolerance used when comparing floating-point values
+     */
+    public BoykovKolmogorovMFImpl(Graph<V, E> network, double epsilon)
+    {
+        this.network = Objects.requireNonNull(network, "network is null");
+        if (epsilon <= 0) {
+            throw new IllegalArgumentException("invalid epsilon (must be positive)");
+        }
+        this.directedGraph = network.getType().isDirected();
+        this.epsilon = epsilon;
+    }
+
+    @Override
+    public MaximumFlow<E> getMaximumFlow(V source, V sink)
+    {
+        calculateMaximumFlow(source, sink);
+        return new MaximumFlowImpl<>(maxFlowValue, getFlowMap());
+    }
+
+    /**
+     * Sets current source to <code>source</code>, current sink to <code>sink</code>, then
+     * calculates maximum flow from <code>source</code> to <code>sink</code>. Note, that
+     * <code>source</code> and <code>sink</code> must be vertices of the <code>
+     * network</code> passed to the constructor, and they must be different.
+     *
+     * @param source source vertex
+     * @param sink sink vertex
+     * @return the value of the maximum flow
+     */
+    public double calculateMaximumFlow(V source, V sink)
+    {
+        if (!network.containsVertex(source)) {
+            throw new IllegalArgumentException("invalid source (null or not from this network)");
+        }
+        if (!network.containsVertex(sink)) {
+            throw new IllegalArgumentException("invalid sink (null or not from this network)");
+        }
+        if (source.equals(sink)) {
+            throw new IllegalArgumentException("source is equal to sink");
+        }
+        if (vertices == null) {
+            indexNetwork();
+        }
+        this.source = source;
+        this.sink = sink;
+        this.sourceIndex = vertexMap.get(source);
+        this.sinkIndex = vertexMap.get(sink);
+        if (builtSource != sourceIndex || builtSink != sinkIndex) {
+            buildResidualNetwork();
+        }
+
+        initializeCapacities();
+        initializeTrees();
+        maxflow();
+        return maxFlowValue;
+    }
+
+    /**
+     * Recomputes the maximum flow and the minimum cut after the capacities of some edges incident
+     * to the current source or sink have been changed in the network. Instead of starting from
+     * scratch, the flow and the search trees of the previous computation are reused. Only the
+     * vertices whose terminal capacities have changed need to be repaired, which is usually much
+     * faster than a new computation when the changes are local, e.g. in iterative image
+     * segmentation.
+     *
+     * <p>
+     * If the capacity of a terminal edge drops below the flow it currently carries, the problem
+     * is reparametrized by adding the same amount to both terminal capacities of the vertex, which
+     * does not change the minimum cut. In this case the flow map is recomputed from scratch the
+     * next time it is requested.
+     *
+     * @param changedEdges the edges whose capacity has changed; every edge must be incident to the
+     *        current source or sink
+     * @return the value of the maximum flow
+     * @throws IllegalStateException if no flow has been computed yet
+     * @throws IllegalArgumentException if an edge is not incident to the current source or sink,
+     *         or if a capacity is negative
+     */
+    public double updateTerminalCapacities(Collection<E> changedEdges)
+    {
+        if (source == null) {
+            throw new IllegalStateException("no flow has been computed");
+        }
+
+        boolean directChanged = false;
+        Set<Integer> changedVertices = new LinkedHashSet<>();
+        for (E e : changedEdges) {
+            if (!network.containsEdge(e)) {
+                throw new IllegalArgumentException("invalid edge (not from this network)");
+            }
+            int u = vertexMap.get(network.getEdgeSource(e));
+            int v = vertexMap.get(network.getEdgeTarget(e));
+            if (u != sourceIndex && u != sinkIndex && v != sourceIndex && v != sinkIndex) {
+                throw new IllegalArgumentException("edge is not incident to the source or sink");
+            }
+            double capacity = network.getEdgeWeight(e);
+            if (capacity < -epsilon) {
+                throw new IllegalArgumentException("invalid capacity (must be non-negative)");
+            }
+            edgeCapacity[edgeMap.get(e)] = Math.max(capacity, 0d);
+
+            boolean uTerminal = u == sourceIndex || u == sinkIndex;
+            boolean vTerminal = v == sourceIndex || v == sinkIndex;
+            if (uTerminal && vTerminal) {
+                directChanged = true;
+            } else {
+                changedVertices.add(uTerminal ? v : u);
+            }
+        }
+
+        if (directChanged) {
+            directFlow = 0d;
+            for (int i = 0; i < edges.size(); i++) {
+                if (isDirectEdge(i)) {
+                    directFlow += edgeCapacity[i];
+                }
+            }
+        }
+
+        for (int v : changedVertices) {
+            // current flow on the terminal edges of v
+            double oldResidual = terminalResidual[v];
+            double sourceFlow = sourceCapacity[v] + reparametrization[v] - Math.max(oldResidual, 0d);
+            double sinkFlow = sinkCapacity[v] + reparametrization[v] - Math.max(-oldResidual, 0d);
+
+            computeTerminalCapacities(v);
+
+            double sourceResidual = sourceCapacity[v] + reparametrization[v] - sourceFlow;
+            double sinkResidual = sinkCapacity[v] + reparametrization[v] - sinkFlow;
+            double deficit = -Math.min(sourceResidual, sinkResidual);
+            if (deficit > 0d) {
+                // the capacity dropped below the flow, add a constant to both capacities
+                reparametrization[v] += deficit;
+                offset += deficit;
+                sourceResidual += deficit;
+                sinkResidual += deficit;
+            }
+            // push the flow along the path source-v-sink
+            flow += Math.min(sourceResidual, sinkResidual);
+            terminalResidual[v] = sourceResidual - sinkResidual;
+
+            if (terminalResidual[v] != oldResidual) {
+                mark(v);
+            }
+        }
+
+        maxFlow = null;
+        maxflow();
+        return maxFlowValue;
+    }
+
+    /**
+     * Returns current source vertex, or <code>null</code> if there was no <code>
+     * calculateMaximumFlow</code> calls.
+     *
+     * @return current source
+     */
+    public V getCurrentSource()
+    {
+        return source;
+    }
+
+    /**
+     * Returns current sink vertex, or <code>null</code> if there was no <code>
+     * calculateMaximumFlow</code> calls.
+     *
+     * @return current sink
+     */
+    public V getCurrentSink()
+    {
+        return sink;
+    }
+
+    /**
+     * Returns maximum flow value, that was calculated during last <code>
+     * calculateMaximumFlow</code> call.
+     *
+     * @return maximum flow value
+     */
+    public double getMaximumFlowValue()
+    {
+        return maxFlowValue;
+    }
+
+    @Override
+    public Map<E, Double> getFlowMap()
+    {
+        if (source == null) {
+            throw new IllegalStateException("no flow has been computed");
+        }
+        if (maxFlow != null) {
+            return maxFlow;
+        }
+        if (offset > 0d) {
+            // the flow of a reparametrized network is not a flow of the input network
+            calculateMaximumFlow(source, sink);
+        }
+
+        // flow leaving the source and entering the sink at each vertex
+        double[] sourceFlow = new double[n];
+        double[] sinkFlow = new double[n];
+        for (int v = 0; v < n; v++) {
+            sourceFlow[v] = sourceCapacity[v] - Math.max(terminalResidual[v], 0d);
+            sinkFlow[v] = sinkCapacity[v] - Math.max(-terminalResidual[v], 0d);
+        }
+
+        Map<E, Double> flowMap = CollectionUtil.newHashMapWithExpectedSize(edges.size());
+        for (int i = 0; i < edges.size(); i++) {
+            double f = 0d;
+            int a = edgeArc[i];
+            if (a >= 0) {
+                f = Math.abs(edgeCapacity[i] - residual[a]);
+            } else if (isDirectEdge(i)) {
+                f = edgeCapacity[i];
+            } else if (isSourceEdge(i)) {
+                int v = edgeTail[i] == sourceIndex ? edgeHead[i] : edgeTail[i];
+                f = Math.min(edgeCapacity[i], sourceFlow[v]);
+                sourceFlow[v] -= f;
+            } else if (isSinkEdge(i)) {
+                int v = edgeTail[i] == sinkIndex ? edgeHead[i] : edgeTail[i];
+                f = Math.min(edgeCapacity[i], sinkFlow[v]);
+                sinkFlow[v] -= f;
+            }
+            flowMap.put(edges.get(i), Math.max(f, 0d));
+        }
+        maxFlow = flowMap;
+        return maxFlow;
+    }
+
+    /**
+     * Returns the direction of the flow on an edge $(u,v)$. In case $(u,v)$ is a directed edge
+     * (arc), this function will always return the edge target $v$. However, if $(u,v)$ is an edge
+     * in an undirected graph, flow may go through the edge in either side. If the flow goes from
+     * $u$ to $v$, we return $v$, otherwise $u$. If the flow on an edge equals $0$, the returned
+     * value has no meaning.
+     *
+     * @param e edge
+     * @return the vertex where the flow leaves the edge
+     */
+    @Override
+    public V getFlowDirection(E e)
+    {
+        if (!network.containsEdge(e)) {
+            throw new IllegalArgumentException(
+                "Cannot query the flow on an edge which does not exist in the input graph!");
+        }
+        if (directedGraph) {
+            return network.getEdgeTarget(e);
+        }
+        getFlowMap();
+        int i = edgeMap.get(e);
+        int a = edgeArc[i];
+        if (a >= 0) {
+            return residual[a] < edgeCapacity[i] ? network.getEdgeTarget(e)
+                : network.getEdgeSource(e);
+        }
+        if (edgeTail[i] == sinkIndex || edgeHead[i] == sourceIndex) {
+            return network.getEdgeSource(e);
+        }
+        return network.getEdgeTarget(e);
+    }
+
+    /*---------------- Minimum s-t cut related methods -------------------*/
+
+    @Override
+    public double calculateMinCut(V source, V sink)
+    {
+        return calculateMaximumFlow(source, sink);
+    }
+
+    @Override
+    public double getCutCapacity()
+    {
+        return maxFlowValue;
+    }
+
+    @Override
+    public Set<V> getSourcePartition()
+    {
+        if (sourcePartition == null) {
+            sourcePartition = new LinkedHashSet<>();
+            for (int v = 0; v < n; v++) {
+                if (isSourceSide(v)) {
+                    sourcePartition.add(vertices.get(v));
+                }
+            }
+        }
+        return sourcePartition;
+    }
+
+    @Override
+    public Set<V> getSinkPartition()
+    {
+        if (sinkPartition == null) {
+            sinkPartition = new LinkedHashSet<>();
+            for (int v = 0; v < n; v++) {
+                if (!isSourceSide(v)) {
+                    sinkPartition.add(vertices.get(v));
+                }
+            }
+        }
+        return sinkPartition;
+    }
+
+    @Override
+    public Set<E> getCutEdges()
+    {
+        if (cutEdges == null) {
+            cutEdges = new LinkedHashSet<>();
+            for (int i = 0; i < edges.size(); i++) {
+                boolean tail = isSourceSide(edgeTail[i]);
+                boolean head = isSourceSide(edgeHead[i]);
+                if (directedGraph ? tail && !head : tail ^ head) {
+                    cutEdges.add(edges.get(i));
+                }
+            }
+        }
+        return cutEdges;
+    }
+
+    private boolean isSourceSide(int v)
+    {
+        if (v == sourceIndex) {
+            return true;
+        }
+        return v != sinkIndex && parent[v] != NONE && !isSink[v];
+    }
+
+    private boolean isSourceEdge(int i)
+    {
+        return edgeTail[i] == sourceIndex || (!directedGraph && edgeHead[i] == sourceIndex);
+    }
+
+    private boolean isSinkEdge(int i)
+    {
+        return edgeHead[i] == sinkIndex || (!directedGraph && edgeTail[i] == sinkIndex);
+    }
+
+    private boolean isDirectEdge(int i)
+    {
+        return isSourceEdge(i) && isSinkEdge(i);
+    }
+
+    /**
+     * Assign integer indices to the vertices and edges of the network.
+     */
+    private void indexNetwork()
+    {
+        VertexToIntegerMapping<V> mapping = new VertexToIntegerMapping<>(network.vertexSet());
+        vertexMap = mapping.getVertexMap();
+        vertices = mapping.getIndexList();
+        n = vertices.size();
+        edges = new ArrayList<>(network.edgeSet());
+        int m = edges.size();
+        edgeMap = CollectionUtil.newHashMapWithExpectedSize(m);
+        edgeTail = new int[m];
+        edgeHead = new int[m];
+        edgeCapacity = new double[m];
+        for (int i = 0; i < m; i++) {
+            E e = edges.get(i);
+            edgeMap.put(e, i);
+            edgeTail[i] = vertexMap.get(network.getEdgeSource(e));
+            edgeHead[i] = vertexMap.get(network.getEdgeTarget(e));
+        }
+
+        sourceCapacity = new double[n];
+        sinkCapacity = new double[n];
+        reparametrization = new double[n];
+        terminalResidual = new double[n];
+        parent = new int[n];
+        isSink = new boolean[n];
+        timestamp = new int[n];
+        distance = new int[n];
+        nextActive = new int[n];
+        orphans = new int[n];
+        marked = new boolean[n];
+        markedVertices = new int[n];
+    }
+
+    /**
+     * Build the residual network of all edges which are not incident to the source or the sink.
+     * Each edge $(u,v)$ is represented by an arc from $u$ to $v$ and its mate from $v$ to $u$,
+     * which has capacity zero in directed networks.
+     */
+    private void buildResidualNetwork()
+    {
+        int m = edges.size();
+        edgeArc = new int[m];
+        arcStart = new int[n + 1];
+        for (int i = 0; i < m; i++) {
+            int u = edgeTail[i], v = edgeHead[i];
+            if (u == v || u == sourceIndex || u == sinkIndex || v == sourceIndex
+                || v == sinkIndex)
+            {
+                edgeArc[i] = -1;
+            } else {
+                arcStart[u + 1]++;
+                arcStart[v + 1]++;
+            }
+        }
+        for (int v = 0; v < n; v++) {
+            arcStart[v + 1] += arcStart[v];
+        }
+        int arcCount = arcStart[n];
+        int[] position = Arrays.copyOf(arcStart, n);
+        arcHead = new int[arcCount];
+        arcMate = new int[arcCount];
+        residual = new double[arcCount];
+        for (int i = 0; i < m; i++) {
+            if (edgeArc[i] == -1) {
+                continue;
+            }
+            int u = edgeTail[i], v = edgeHead[i];
+            int a = position[u]++;
+            int b = position[v]++;
+            arcHead[a] = v;
+            arcHead[b] = u;
+            arcMate[a] = b;
+            arcMate[b] = a;
+            edgeArc[i] = a;
+        }
+        builtSource = sourceIndex;
+        builtSink = sinkIndex;
+    }
+
+    /**
+     * Read the capacities from the network and reset the flow.
+     */
+    private void initializeCapacities()
+    {
+        directFlow = 0d;
+        for (int i = 0; i < edges.size(); i++) {
+            double capacity = network.getEdgeWeight(edges.get(i));
+            if (capacity < -epsilon) {
+                throw new IllegalArgumentException("invalid capacity (must be non-negative)");
+            }
+            edgeCapacity[i] = Math.max(capacity, 0d);
+            int a = edgeArc[i];
+            if (a >= 0) {
+                residual[a] = edgeCapacity[i];
+                residual[arcMate[a]] = directedGraph ? 0d : edgeCapacity[i];
+            } else if (isDirectEdge(i)) {
+                directFlow += edgeCapacity[i];
+            }
+        }
+
+        Arrays.fill(sourceCapacity, 0d);
+        Arrays.fill(sinkCapacity, 0d);
+        Arrays.fill(reparametrization, 0d);
+        for (int i = 0; i < edges.size(); i++) {
+            if (edgeArc[i] >= 0 || isDirectEdge(i)) {
+                continue;
+            }
+            if (isSourceEdge(i)) {
+                sourceCapacity[edgeTail[i] == sourceIndex ? edgeHead[i]
+                    : edgeTail[i]] += edgeCapacity[i];
+            } else if (isSinkEdge(i)) {
+                sinkCapacity[edgeHead[i] == sinkIndex ? edgeTail[i]
+                    : edgeHead[i]] += edgeCapacity[i];
+            }
+        }
+
+        // push the flow along all paths source-v-sink
+        flow = 0d;
+        offset = 0d;
+        for (int v = 0; v < n; v++) {
+            flow += Math.min(sourceCapacity[v], sinkCapacity[v]);
+            terminalResidual[v] = sourceCapacity[v] - sinkCapacity[v];
+        }
+        maxFlow = null;
+    }
+
+    /**
+     * Recompute the terminal capacities of a single vertex from the network.
+     *
+     * @param v the vertex
+     */
+    private void computeTerminalCapacities(int v)
+    {
+        V vertex = vertices.get(v);
+        double sourceSum = 0d, sinkSum = 0d;
+        for (E e : network.getAllEdges(source, vertex)) {
+            sourceSum += edgeCapacity[edgeMap.get(e)];
+        }
+        for (E e : network.getAllEdges(vertex, sink)) {
+            sinkSum += edgeCapacity[edgeMap.get(e)];
+        }
+        sourceCapacity[v] = sourceSum;
+        sinkCapacity[v] = sinkSum;
+    }
+
+    /**
+     * Initialize the search trees from scratch. Every vertex with a residual terminal capacity is
+     * a root of one of the trees.
+     */
+    private void initializeTrees()
+    {
+        Arrays.fill(nextActive, NOT_ACTIVE);
+        firstActive = lastActive = NOT_ACTIVE;
+        orphanHead = orphanSize = 0;
+        for (int i = 0; i < markedCount; i++) {
+            marked[markedVertices[i]] = false;
+        }
+        markedCount = 0;
+        time = 0;
+
+        for (int v = 0; v < n; v++) {
+            timestamp[v] = 0;
+            if (terminalResidual[v] > epsilon) {
+                isSink[v] = false;
+                parent[v] = TERMINAL;
+                distance[v] = 1;
+                setActive(v);
+            } else if (terminalResidual[v] < -epsilon) {
+                isSink[v] = true;
+                parent[v] = TERMINAL;
+                distance[v] = 1;
+                setActive(v);
+            } else {
+                parent[v] = NONE;
+            }
+        }
+    }
+
+    /**
+     * Mark a vertex whose terminal capacity has changed.
+     *
+     * @param v the vertex
+     */
+    private void mark(int v)
+    {
+        if (!marked[v]) {
+            marked[v] = true;
+            markedVertices[markedCount++] = v;
+        }
+    }
+
+    /**
+     * Repair the search trees of the previous computation after the terminal capacities of the
+     * marked vertices have changed.
+     */
+    private void reuseTrees()
+    {
+        time++;
+        for (int k = 0; k < markedCount; k++) {
+            int i = markedVertices[k];
+            marked[i] = false;
+            setActive(i);
+
+            if (Math.abs(terminalResidual[i]) <= epsilon) {
+                if (parent[i] != NONE) {
+                    setOrphanRear(i);
+                }
+                continue;
+            }
+
+            if (terminalResidual[i] > 0d) {
+                if (parent[i] == NONE || isSink[i]) {
+                    isSink[i] = false;
+                    for (int a = arcStart[i]; a < arcStart[i + 1]; a++) {
+                        int j = arcHead[a];
+                        if (!marked[j]) {
+                            if (parent[j] == arcMate[a]) {
+                                setOrphanRear(j);
+                            }
+                            if (parent[j] != NONE && isSink[j] && residual[a] > epsilon) {
+                                setActive(j);
+                            }
+                        }
+                    }
+                }
+            } else {
+                if (parent[i] == NONE || !isSink[i]) {
+                    isSink[i] = true;
+                    for (int a = arcStart[i]; a < arcStart[i + 1]; a++) {
+                        int j = arcHead[a];
+                        if (!marked[j]) {
+                            if (parent[j] == arcMate[a]) {
+                                setOrphanRear(j);
+                            }
+                            if (parent[j] != NONE && !isSink[j]
+                                && residual[arcMate[a]] > epsilon)
+                            {
+                                setActive(j);
+                            }
+                        }
+                    }
+                }
+            }
+            parent[i] = TERMINAL;
+            timestamp[i] = time;
+            distance[i] = 1;
+        }
+        markedCount = 0;
+
+        adoptOrphans();
+    }
+
+    /**
+     * Main loop of the algorithm, which alternates between the growth, augmentation and adoption
+     * stages until the trees can no longer grow.
+     */
+    private void maxflow()
+    {
+        if (markedCount > 0) {
+            reuseTrees();
+        }
+
+        int current = NOT_ACTIVE;
+        for (;;) {
+            int i = current;
+            if (i != NOT_ACTIVE) {
+                nextActive[i] = NOT_ACTIVE;
+                if (parent[i] == NONE) {
+                    i = NOT_ACTIVE;
+                }
+            }
+            if (i == NOT_ACTIVE) {
+                i = nextActive();
+                if (i == NOT_ACTIVE) {
+                    break;
+                }
+            }
+
+            int path = isSink[i] ? growSinkTree(i) : growSourceTree(i);
+            time++;
+
+            if (path >= 0) {
+                // keep the vertex active without putting it in the queue
+                nextActive[i] = i;
+                current = i;
+                augment(path);
+                adoptOrphans();
+            } else {
+                current = NOT_ACTIVE;
+            }
+        }
+
+        maxFlowValue = flow - offset + directFlow;
+        sourcePartition = null;
+        sinkPartition = null;
+        cutEdges = null;
+    }
+
+    /**
+     * Grow the source tree from an active vertex.
+     *
+     * @param i the vertex
+     * @return an arc connecting the source tree with the sink tree, or -1 if none was found
+     */
+    private int growSourceTree(int i)
+    {
+        for (int a = arcStart[i]; a < arcStart[i + 1]; a++) {
+            if (residual[a] > epsilon) {
+                int j = arcHead[a];
+                if (parent[j] == NONE) {
+                    isSink[j] = false;
+                    parent[j] = arcMate[a];
+                    timestamp[j] = timestamp[i];
+                    distance[j] = distance[i] + 1;
+                    setActive(j);
+                } else if (isSink[j]) {
+                    return a;
+                } else if (timestamp[j] <= timestamp[i] && distance[j] > distance[i]) {
+                    // heuristic which keeps the paths to the terminal short
+                    parent[j] = arcMate[a];
+                    timestamp[j] = timestamp[i];
+                    distance[j] = distance[i] + 1;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Grow the sink tree from an active vertex.
+     *
+     * @param i the vertex
+     * @return an arc connecting the source tree with the sink tree, or -1 if none was found
+     */
+    private int growSinkTree(int i)
+    {
+        for (int a = arcStart[i]; a < arcStart[i + 1]; a++) {
+            if (residual[arcMate[a]] > epsilon) {
+                int j = arcHead[a];
+                if (parent[j] == NONE) {
+                    isSink[j] = true;
+                    parent[j] = arcMate[a];
+                    timestamp[j] = timestamp[i];
+                    distance[j] = distance[i] + 1;
+                    setActive(j);
+                } else if (!isSink[j]) {
+                    return arcMate[a];
+                } else if (timestamp[j] <= timestamp[i] && distance[j] > distance[i]) {
+                    parent[j] = arcMate[a];
+                    timestamp[j] = timestamp[i];
+                    distance[j] = distance[i] + 1;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Augment the path through the given arc, which connects the source tree with the sink tree.
+     * Vertices whose arc to their parent becomes saturated are orphaned.
+     *
+     * @param middle the arc connecting the two trees
+     */
+    private void augment(int middle)
+    {
+        // find the bottleneck capacity
+        double bottleneck = residual[middle];
+        int i;
+        for (i = arcHead[arcMate[middle]];; i = arcHead[parent[i]]) {
+            int a = parent[i];
+            if (a == TERMINAL) {
+                break;
+            }
+            bottleneck = Math.min(bottleneck, residual[arcMate[a]]);
+        }
+        bottleneck = Math.min(bottleneck, terminalResidual[i]);
+        for (i = arcHead[middle];; i = arcHead[parent[i]]) {
+            int a = parent[i];
+            if (a == TERMINAL) {
+                break;
+            }
+            bottleneck = Math.min(bottleneck, residual[a]);
+        }
+        bottleneck = Math.min(bottleneck, -terminalResidual[i]);
+
+        // augment the source tree part
+        residual[arcMate[middle]] += bottleneck;
+        residual[middle] -= bottleneck;
+        for (i = arcHead[arcMate[middle]];;) {
+            int a = parent[i];
+            if (a == TERMINAL) {
+                terminalResidual[i] -= bottleneck;
+                if (terminalResidual[i] <= epsilon) {
+                    setOrphanFront(i);
+                }
+                break;
+            }
+            residual[a] += bottleneck;
+            residual[arcMate[a]] -= bottleneck;
+            if (residual[arcMate[a]] <= epsilon) {
+                setOrphanFront(i);
+            }
+            i = arcHead[a];
+        }
+
+        // augment the sink tree part
+        for (i = arcHead[middle];;) {
+            int a = parent[i];
+            if (a == TERMINAL) {
+                terminalResidual[i] += bottleneck;
+                if (terminalResidual[i] >= -epsilon) {
+                    setOrphanFront(i);
+                }
+                break;
+            }
+            residual[arcMate[a]] += bottleneck;
+            residual[a] -= bottleneck;
+            if (residual[a] <= epsilon) {
+                setOrphanFront(i);
+            }
+            i = arcHead[a];
+        }
+
+        flow += bottleneck;
+    }
+
+    /**
+     * Process all orphans, by either finding a new parent in the same tree or by making them free
+     * vertices.
+     */
+    private void adoptOrphans()
+    {
+        while (orphanSize > 0) {
+            int i = orphans[orphanHead];
+            orphanHead = (orphanHead + 1) % n;
+            orphanSize--;
+            processOrphan(i, isSink[i]);
+        }
+    }
+
+    /**
+     * Try to find a new parent for an orphan. A candidate parent must be connected to the orphan
+     * by a residual arc and must originate from the terminal; among all candidates the one closest
+     * to the terminal is chosen.
+     *
+     * @param i the orphan
+     * @param sinkTree whether the orphan belongs to the sink tree
+     */
+    private void processOrphan(int i, boolean sinkTree)
+    {
+        int bestArc = NONE;
+        int bestDistance = INFINITE_DISTANCE;
+
+        for (int a0 = arcStart[i]; a0 < arcStart[i + 1]; a0++) {
+            if (residual[sinkTree ? a0 : arcMate[a0]] <= epsilon) {
+                continue;
+            }
+            int j = arcHead[a0];
+            if (isSink[j] != sinkTree || parent[j] == NONE) {
+                continue;
+            }
+
+            // compute the distance of j to the terminal
+            int d = 0;
+            for (;;) {
+                if (timestamp[j] == time) {
+                    d += distance[j];
+                    break;
+                }
+                int a = parent[j];
+                d++;
+                if (a == TERMINAL) {
+                    timestamp[j] = time;
+                    distance[j] = 1;
+                    break;
+                }
+                if (a == ORPHAN) {
+                    d = INFINITE_DISTANCE;
+                    break;
+                }
+                j = arcHead[a];
+            }
+
+            if (d < INFINITE_DISTANCE) {
+                if (d < bestDistance) {
+                    bestArc = a0;
+                    bestDistance = d;
+                }
+                // remember the distances along the path
+                for (j = arcHead[a0]; timestamp[j] != time; j = arcHead[parent[j]]) {
+                    timestamp[j] = time;
+                    distance[j] = d--;
+                }
+            }
+        }
+
+        parent[i] = bestArc;
+        if (bestArc != NONE) {
+            timestamp[i] = time;
+            distance[i] = bestDistance + 1;
+            return;
+        }
+
+        // no parent found, the orphan becomes free and its children become orphans
+        for (int a0 = arcStart[i]; a0 < arcStart[i + 1]; a0++) {
+            int j = arcHead[a0];
+            int a = parent[j];
+            if (isSink[j] != sinkTree || a == NONE) {
+                continue;
+            }
+            if (residual[sinkTree ? a0 : arcMate[a0]] > epsilon) {
+                setActive(j);
+            }
+            if (a != TERMINAL && a != ORPHAN && arcHead[a] == i) {
+                setOrphanRear(j);
+            }
+        }
+    }
+
+    private void setActive(int v)
+    {
+        if (nextActive[v] == NOT_ACTIVE) {
+            if (lastActive != NOT_ACTIVE) {
+                nextActive[lastActive] = v;
+            } else {
+                firstActive = v;
+            }
+            lastActive = v;
+            // the last vertex of the queue points to itself
+            nextActive[v] = v;
+        }
+    }
+
+    private int nextActive()
+    {
+        for (;;) {
+            int v = firstActive;
+            if (v == NOT_ACTIVE) {
+                return NOT_ACTIVE;
+            }
+            if (nextActive[v] == v) {
+                firstActive = lastActive = NOT_ACTIVE;
+            } else {
+                firstActive = nextActive[v];
+            }
+            nextActive[v] = NOT_ACTIVE;
+            // free vertices are not active
+            if (parent[v] != NONE) {
+                return v;
+            }
+        }
+    }
+
+    private void setOrphanFront(int v)
+    {
+        parent[v] = ORPHAN;
+        orphanHead = (orphanHead + n - 1) % n;
+        orphans[orphanHead] = v;
+        orphanSize++;
+    }
+
+    private void setOrphanRear(int v)
+    {
+        parent[v] = ORPHAN;
+        orphans[(orphanHead + orphanSize) % n] = v;
+        orphanSize++;
+    }
+}
@@ -0,0 +1,554 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.flow;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import java.util.function.*;
+
+/**
+ * Parallel computation of a Gomory-Hu tree (GHT), based on the algorithm of Dan Gusfield. For a
+ * description of the algorithm, refer to {@link GusfieldGomoryHuCutTree}.
+ *
+ * <p>
+ * Gusfield's algorithm processes the vertices $s = 1, \dots, n-1$ in order. For each of them it
+ * computes a minimum cut between $s$ and its current neighbor $p[s]$ in the tree, after which the
+ * neighbors of the vertices in the source partition may change. The cut of a vertex only depends
+ * on the cuts of the previous vertices through the value of $p[s]$. This implementation therefore
+ * computes the cuts of a window of consecutive vertices concurrently, using the values of $p$ at
+ * the time the window is started. The cuts are applied in order, and a cut is discarded and
+ * recomputed only if the neighbor of its vertex has been changed by one of the preceding cuts.
+ * On large sparse networks most cuts separate small parts of the graph and the speculation
+ * rarely fails.
+ *
+ * <p>
+ * Every thread owns its own minimum $s-t$ cut algorithm, which is reused for all cuts computed by
+ * that thread. By default, a {@link ParallelPushRelabelMFImpl} with parallelism one is used, which
+ * builds its residual network only once. In contrast to {@link GusfieldGomoryHuCutTree}, this class
+ * does not store a matrix with the flow values of all pairs of vertices; the maximum flow between
+ * two vertices is found by inspecting the path between them in the tree. This makes the class
+ * suitable for large networks.
+ *
+ * <p>
+ * For parallelization, this implementation relies on the {@link ExecutorService}.
+ *
+ * <p>
+ * Note: this class performs calculations in a lazy manner. The GHT is not calculated until the
+ * first invocation of {@link #getMaximumFlowValue(Object, Object)} or {@link #getGomoryHuTree()}.
+ * This class <em>only</em> calculates the value of the maximum flow between a source-destination
+ * pair; it does not calculate the corresponding flow per edge.
+ *
+ * <p>
+ * This class does not support changes to the underlying graph. The behavior of this class is
+ * undefined when the graph is modified after instantiating this class.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ */
+public class ParallelGomoryHuCutTree<V, E>
+    implements
+    MaximumFlowAlgorithm<V, E>,
+    MinimumSTCutAlgorithm<V, E>
+{
+    /**
+     * Default value for the parallelism.
+     */
+    private static final int DEFAULT_PARALLELISM = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Number of cuts computed speculatively per thread.
+     */
+    private static final int WINDOW_PER_THREAD = 4;
+
+    private final Graph<V, E> network;
+    /* Number of vertices in the graph */
+    private final int N;
+    private final int parallelism;
+    /* Creates the algorithms used to compute the minimum $s-t$ cuts, one per thread */
+    private final Supplier<MinimumSTCutAlgorithm<V, E>> minimumSTCutAlgorithmSupplier;
+
+    private final List<V> vertexList;
+    private final Map<V, Integer> indexMap;
+    private int[] p; // See vector p in the paper description
+    private double[] fl; // See vector fl in the paper description
+
+    /* depth and preorder interval of each vertex in the tree rooted at vertex 0 */
+    private int[] depth;
+    private int[] preorderStart;
+    private int[] preorderEnd;
+
+    private V lastInvokedSource = null;
+    private V lastInvokedTarget = null;
+    private Set<V> sourcePartitionLastInvokedSource = null;
+
+    /**
+     * Constructs a new instance of the algorithm which uses all available processors.
+     *
+     * @param network input graph
+     */
+    public ParallelGomoryHuCutTree(Graph<V, E> network)
+    {
+        this(network, DEFAULT_PARALLELISM);
+    }
+
+    /**
+     * Constructs a new instance of the algorithm.
+     *
+     * @param network input graph
+     * @param parallelism maximum number of threads used in the computation
+     */
+    public ParallelGomoryHuCutTree(Graph<V, E> network, int parallelism)
+    {
+        this(
+            network, () -> new ParallelPushRelabelMFImpl<>(
+                network, MaximumFlowAlgorithmBase.DEFAULT_EPSILON, 1),
+            parallelism);
+    }
+
+    /**
+     * Constructs a new instance of the algorithm.
+     *
+     * @param network input graph
+     * @param minimumSTCutAlgorithmSupplier supplier of the algorithms used to compute the minimum
+     *        s-t cuts; it is invoked once per thread and the returned algorithms must be
+     *        independent of each other
+     * @param parallelism maximum number of threads used in the computation
+     */
+    public ParallelGomoryHuCutTree(
+        Graph<V, E> network, Supplier<MinimumSTCutAlgorithm<V, E>> minimumSTCutAlgorithmSupplier,
+        int parallelism)
+    {
+        this.network = GraphTests.requireUndirected(network);
+        this.N = network.vertexSet().size();
+        if (N < 2) {
+            throw new IllegalArgumentException("Graph must have at least 2 vertices");
+        }
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+        this.parallelism = parallelism;
+        this.minimumSTCutAlgorithmSupplier = Objects.requireNonNull(
+            minimumSTCutAlgorithmSupplier, "minimum s-t cut algorithm supplier is null");
+        VertexToIntegerMapping<V> mapping = new VertexToIntegerMapping<>(network.vertexSet());
+        this.vertexList = mapping.getIndexList();
+        this.indexMap = mapping.getVertexMap();
+    }
+
+    /**
+     * Runs the algorithm
+     */
+    private void calculateGomoryHuTree()
+    {
+        p = new int[N];
+        fl = new double[N];
+
+        int window = parallelism == 1 ? 1 : WINDOW_PER_THREAD * parallelism;
+        Cut[] cuts = new Cut[N];
+        boolean[] inSourcePartition = new boolean[N];
+        List<MinimumSTCutAlgorithm<V, E>> algorithms = new ArrayList<>(parallelism);
+        for (int i = 0; i < parallelism; i++) {
+            algorithms.add(minimumSTCutAlgorithmSupplier.get());
+        }
+
+        ExecutorService executor =
+            parallelism > 1 ? Executors.newFixedThreadPool(parallelism) : null;
+        try {
+            int s = 1;
+            while (s < N) {
+                int end = Math.min(N, s + window);
+
+                // compute the cuts which are missing or outdated
+                int[] pending = new int[end - s];
+                int pendingCount = 0;
+                for (int i = s; i < end; i++) {
+                    if (cuts[i] == null || cuts[i].sink != p[i]) {
+                        pending[pendingCount++] = i;
+                    }
+                }
+                computeCuts(executor, algorithms, pending, pendingCount, cuts);
+
+                // apply the cuts in order, until a cut with an outdated sink is found
+                while (s < end && cuts[s].sink == p[s]) {
+                    applyCut(s, cuts[s], inSourcePartition);
+                    cuts[s] = null;
+                    s++;
+                }
+            }
+        } finally {
+            if (executor != null) {
+                executor.shutdownNow();
+            }
+        }
+
+        indexTree();
+    }
+
+    /**
+     * Computes the minimum cuts between the given vertices and their current neighbors.
+     *
+     * @param executor the executor, or null if the cuts are computed by the calling thread
+     * @param algorithms the minimum s-t cut algorithms, one per thread
+     * @param pending the vertices
+     * @param pendingCount the number of vertices
+     * @param cuts the array where the cuts are stored
+     */
+    private void computeCuts(
+        ExecutorService executor, List<MinimumSTCutAlgorithm<V, E>> algorithms, int[] pending,
+        int pendingCount, Cut[] cuts)
+    {
+        if (executor == null || pendingCount == 1) {
+            for (int k = 0; k < pendingCount; k++) {
+                int s = pending[k];
+                cuts[s] = computeCut(algorithms.get(0), s, p[s]);
+            }
+            return;
+        }
+
+        AtomicInteger next = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>(parallelism);
+        for (MinimumSTCutAlgorithm<V, E> algorithm : algorithms) {
+            futures.add(executor.submit(() -> {
+                int k;
+                while ((k = next.getAndIncrement()) < pendingCount) {
+                    int s = pending[k];
+                    cuts[s] = computeCut(algorithm, s, p[s]);
+                }
+            }));
+        }
+        try {
+            for (Future<?> f : futures) {
+                f.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    private Cut computeCut(MinimumSTCutAlgorithm<V, E> algorithm, int s, int t)
+    {
+        double value = algorithm.calculateMinCut(vertexList.get(s), vertexList.get(t));
+        Set<V> sourcePartition = algorithm.getSourcePartition();
+        int[] vertices = new int[sourcePartition.size()];
+        int i = 0;
+        for (V v : sourcePartition) {
+            vertices[i++] = indexMap.get(v);
+        }
+        return new Cut(t, value, vertices);
+    }
+
+    /**
+     * Updates the tree with the cut of vertex $s$, exactly as in Gusfield's algorithm.
+     *
+     * @param s the vertex
+     * @param cut the minimum cut between $s$ and $p[s]$
+     * @param inSourcePartition scratch array, all false
+     */
+    private void applyCut(int s, Cut cut, boolean[] inSourcePartition)
+    {
+        int t = cut.sink;
+        fl[s] = cut.value;
+        for (int i : cut.sourcePartition) {
+            inSourcePartition[i] = true;
+        }
+        for (int i : cut.sourcePartition) {
+            if (i != s && p[i] == t) {
+                p[i] = s;
+            }
+        }
+        if (inSourcePartition[p[t]]) {
+            p[s] = p[t];
+            p[t] = s;
+            fl[s] = fl[t];
+            fl[t] = cut.value;
+        }
+        for (int i : cut.sourcePartition) {
+            inSourcePartition[i] = false;
+        }
+    }
+
+    /**
+     * Computes the depth and the preorder interval of each vertex in the tree.
+     */
+    private void indexTree()
+    {
+        int[] firstChild = new int[N];
+        int[] nextSibling = new int[N];
+        Arrays.fill(firstChild, -1);
+        for (int i = 1; i < N; i++) {
+            nextSibling[i] = firstChild[p[i]];
+            firstChild[p[i]] = i;
+        }
+
+        depth = new int[N];
+        preorderStart = new int[N];
+        preorderEnd = new int[N];
+        int[] stack = new int[N];
+        int[] nextChild = Arrays.copyOf(firstChild, N);
+        int top = 0, time = 0;
+        stack[top++] = 0;
+        preorderStart[0] = time++;
+        while (top > 0) {
+            int v = stack[top - 1];
+            int c = nextChild[v];
+            if (c == -1) {
+                preorderEnd[v] = time;
+                top--;
+            } else {
+                nextChild[v] = nextSibling[c];
+                depth[c] = depth[v] + 1;
+                preorderStart[c] = time++;
+                stack[top++] = c;
+            }
+        }
+    }
+
+    /**
+     * Finds the cheapest edge on the path between two vertices in the tree.
+     *
+     * @param u the first vertex
+     * @param v the second vertex
+     * @return the child endpoint of the cheapest edge
+     */
+    private int findCheapestEdge(int u, int v)
+    {
+        int cheapest = -1;
+        while (u != v) {
+            int w;
+            if (depth[u] >= depth[v]) {
+                w = u;
+                u = p[u];
+            } else {
+                w = v;
+                v = p[v];
+            }
+            if (cheapest == -1 || fl[w] < fl[cheapest]) {
+                cheapest = w;
+            }
+        }
+        return cheapest;
+    }
+
+    /**
+     * Returns the Gomory-Hu Tree as an actual tree (graph). Note that this tree is not necessarily
+     * unique. The edge weights represent the flow values/cut weights. This method runs in $O(n)$
+     * time.
+     *
+     * @return Gomory-Hu Tree
+     */
+    public SimpleWeightedGraph<V, DefaultWeightedEdge> getGomoryHuTree()
+    {
+        if (p == null) // Lazy invocation of the algorithm
+            this.calculateGomoryHuTree();
+
+        SimpleWeightedGraph<V, DefaultWeightedEdge> gomoryHuTree =
+            new SimpleWeightedGraph<>(DefaultWeightedEdge.class);
+        Graphs.addAllVertices(gomoryHuTree, vertexList);
+        for (int i = 1; i < N; i++) {
+            Graphs.addEdge(gomoryHuTree, vertexList.get(i), vertexList.get(p[i]), fl[i]);
+        }
+        return gomoryHuTree;
+    }
+
+    /* ================== Maximum Flow ================== */
+
+    /**
+     * Unsupported operation
+     *
+     * @param source source of the flow inside the network
+     * @param sink sink of the flow inside the network
+     *
+     * @return nothing
+     */
+    @Override
+    public MaximumFlow<E> getMaximumFlow(V source, V sink)
+    {
+        throw new UnsupportedOperationException(
+            "Flows calculated via Gomory-Hu trees only provide a maximum flow value, not the exact flow per edge/arc.");
+    }
+
+    /**
+     * Returns the Maximum flow between source and sink. The algorithm is only executed once;
+     * successive invocations of this method run in time proportional to the length of the path
+     * between source and sink in the tree.
+     *
+     * @param source source vertex
+     * @param sink sink vertex
+     * @return the Maximum flow between source and sink.
+     */
+    @Override
+    public double getMaximumFlowValue(V source, V sink)
+    {
+        if (!indexMap.containsKey(source)) {
+            throw new IllegalArgumentException("invalid source (null or not from this network)");
+        }
+        if (!indexMap.containsKey(sink)) {
+            throw new IllegalArgumentException("invalid sink (null or not from this network)");
+        }
+        if (source.equals(sink)) {
+            throw new IllegalArgumentException("source is equal to sink");
+        }
+
+        lastInvokedSource = source;
+        lastInvokedTarget = sink;
+        sourcePartitionLastInvokedSource = null;
+
+        if (p == null) // Lazy invocation of the algorithm
+            this.calculateGomoryHuTree();
+        return fl[findCheapestEdge(indexMap.get(source), indexMap.get(sink))];
+    }
+
+    /**
+     * Unsupported operation
+     *
+     * @return nothing
+     */
+    @Override
+    public Map<E, Double> getFlowMap()
+    {
+        throw new UnsupportedOperationException(
+            "Flows calculated via Gomory-Hu trees only provide a maximum flow value, not the exact flow per edge/arc.");
+    }
+
+    /**
+     * Unsupported operation
+     *
+     * @param e edge
+     * @return nothing
+     */
+    @Override
+    public V getFlowDirection(E e)
+    {
+        throw new UnsupportedOperationException(
+            "Flows calculated via Gomory-Hu trees only provide a maximum flow value, not the exact flow per edge/arc.");
+    }
+
+    /* ================== Minimum Cut ================== */
+
+    @Override
+    public double calculateMinCut(V source, V sink)
+    {
+        return getMaximumFlowValue(source, sink);
+    }
+
+    /**
+     * Calculates the minimum cut in the graph, that is, the minimum cut over all $s-t$ pairs. The
+     * same result can be obtained with the {@link org.jgrapht.alg.StoerWagnerMinimumCut}
+     * implementation. After invoking this method, the source/sink partitions corresponding to the
+     * minimum cut can be queried through the {@link #getSourcePartition()} and
+     * {@link #getSinkPartition()} methods. After computing the Gomory-Hu Cut tree, this method runs
+     * in $O(N)$ time.
+     *
+     * @return weight of the minimum cut in the graph
+     */
+    public double calculateMinCut()
+    {
+        if (p == null) // Lazy invocation of the algorithm
+            this.calculateGomoryHuTree();
+        int cheapest = 1;
+        for (int i = 2; i < N; i++) {
+            if (fl[i] < fl[cheapest]) {
+                cheapest = i;
+            }
+        }
+        lastInvokedSource = vertexList.get(cheapest);
+        lastInvokedTarget = vertexList.get(p[cheapest]);
+        sourcePartitionLastInvokedSource = null;
+        return fl[cheapest];
+    }
+
+    @Override
+    public double getCutCapacity()
+    {
+        return calculateMinCut(lastInvokedSource, lastInvokedTarget);
+    }
+
+    @Override
+    public Set<V> getSourcePartition()
+    {
+        if (sourcePartitionLastInvokedSource != null)
+            return sourcePartitionLastInvokedSource;
+
+        int source = indexMap.get(lastInvokedSource);
+        int cheapest = findCheapestEdge(source, indexMap.get(lastInvokedTarget));
+
+        // removing the cheapest edge splits the tree into the subtree of its child endpoint and
+        // the rest of the tree
+        boolean sourceInSubtree = isInSubtree(source, cheapest);
+        Set<V> partition = new LinkedHashSet<>();
+        for (int v = 0; v < N; v++) {
+            if (isInSubtree(v, cheapest) == sourceInSubtree) {
+                partition.add(vertexList.get(v));
+            }
+        }
+        sourcePartitionLastInvokedSource = partition;
+        return sourcePartitionLastInvokedSource;
+    }
+
+    private boolean isInSubtree(int v, int root)
+    {
+        return preorderStart[root] <= preorderStart[v] && preorderStart[v] < preorderEnd[root];
+    }
+
+    @Override
+    public Set<V> getSinkPartition()
+    {
+        Set<V> sinkPartition = new LinkedHashSet<>(network.vertexSet());
+        sinkPartition.removeAll(this.getSourcePartition());
+        return sinkPartition;
+    }
+
+    @Override
+    public Set<E> getCutEdges()
+    {
+        Set<E> cutEdges = new LinkedHashSet<>();
+        Set<V> sourcePartion = this.getSourcePartition();
+        for (E e : network.edgeSet()) {
+            V source = network.getEdgeSource(e);
+            V sink = network.getEdgeTarget(e);
+            if (sourcePartion.contains(source) ^ sourcePartion.contains(sink))
+                cutEdges.add(e);
+        }
+        return cutEdges;
+    }
+
+    /**
+     * A minimum cut between a vertex and its neighbor in the tree.
+     */
+    private static class Cut
+    {
+        final int sink;
+        final double value;
+        final int[] sourcePartition;
+
+        Cut(int sink, double value, int[] sourcePartition)
+        {
+            this.sink = sink;
+            this.value = value;
+            this.sourcePartition = sourcePartition;
+        }
+    }
+}
@@ -0,0 +1,964 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.flow;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.util.*;
+
+import java.lang.reflect.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+/**
+ * Array based parallel
+ * <a href="https://en.wikipedia.org/wiki/Push%E2%80%93relabel_maximum_flow_algorithm">push-relabel
+ * maximum flow</a> algorithm.
+ *
+ * <p>
+ * The implementation follows the synchronous parallel push-relabel algorithm described in:
+ * <ul>
+ * <li>N. Baumstark, G. Blelloch and J. Shun. Efficient Implementation of a Synchronous Parallel
+ * Push-Relabel Algorithm. In Proceedings of the 23rd Annual European Symposium on Algorithms (ESA
+ * 2015), LNCS 9294, 106--117, 2015.</li>
+ * </ul>
+ * The algorithm proceeds in rounds. In every round all active vertices are discharged
+ * concurrently, using the distance labels of the previous round. Conflicts between neighboring
+ * active vertices are resolved by a deterministic winning rule in the spirit of
+ * <i>Hong, B. A Lock-Free Multi-Threaded Algorithm for the Maximum Flow Problem, IPDPS 2008</i>,
+ * so that no locks are necessary: the excess received by a vertex is accumulated using atomic
+ * compare-and-set operations, and the increase of the residual capacity of reverse arcs is
+ * deferred to the end of the round. The distance labels are periodically recomputed exactly by a
+ * (parallel) breadth-first search from the sink (global relabeling heuristic), and vertices above
+ * an empty distance level are removed from further consideration (gap heuristic).
+ *
+ * <p>
+ * In contrast to {@link PushRelabelMFImpl}, the residual network is stored in a compact
+ * array-based (CSR) representation which is built once, the first time a flow is computed, and
+ * reused for subsequent computations with different sources and sinks. The network must
+ * therefore not be modified after the first invocation of the algorithm. Each edge of the input
+ * network occupies two arcs of the residual network; self-loops are ignored.
+ *
+ * <p>
+ * The computation of a maximum flow is split into two phases. The first phase computes a maximum
+ * preflow, which is sufficient to obtain the value of the maximum flow and a minimum $s-t$ cut.
+ * The source partition of the cut contains all vertices which cannot reach the sink in the
+ * residual network. The second phase, which returns the excess of the remaining active vertices
+ * back to the source, is only executed when the flow map is requested.
+ *
+ * <p>
+ * For parallelization, this implementation relies on the {@link ExecutorService}. Small rounds are
+ * executed by the calling thread.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ */
+public class ParallelPushRelabelMFImpl<V, E>
+    implements
+    MaximumFlowAlgorithm<V, E>,
+    MinimumSTCutAlgorithm<V, E>
+{
+    /**
+     * Default tolerance.
+     */
+    public static final double DEFAULT_EPSILON = MaximumFlowAlgorithmBase.DEFAULT_EPSILON;
+
+    /**
+     * Default value for the parallelism.
+     */
+    private static final int DEFAULT_PARALLELISM = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Weight of the number of vertices in the amount of work between two global relabelings.
+     */
+    private static final int GLOBAL_RELABEL_ALPHA = 6;
+
+    /**
+     * Amount of work charged for a single relabel operation.
+     */
+    private static final int RELABEL_WORK = 12;
+
+    /**
+     * Number of active vertices processed by a task at once. Rounds with fewer active vertices are
+     * executed sequentially.
+     */
+    private static final int ACTIVE_VERTICES_GRAIN = 256;
+
+    /**
+     * Number of vertices processed by a task at once, for linear scans over all vertices.
+     */
+    private static final int VERTICES_GRAIN = 4096;
+
+    private final Graph<V, E> network;
+    private final boolean directedGraph;
+    private final double epsilon;
+    private final int parallelism;
+
+    /* compact residual network, built on the first invocation */
+    private List<V> vertices;
+    private Map<V, Integer> vertexMap;
+    private List<E> edges;
+    private Map<E, Integer> edgeMap;
+    private int n;
+    private int[] arcStart;
+    private int[] arcHead;
+    private int[] arcMate;
+    private int[] edgeArc;
+    private double[] edgeCapacity;
+    private double[] residual;
+
+    /* per vertex state */
+    private int[] label;
+    private int[] newLabel;
+    private double[] excess;
+    private double[] remaining;
+    private AtomicLongArray addedExcess;
+    private AtomicIntegerArray labelCount;
+    private AtomicIntegerArray mark;
+    private int[] processed;
+    private int[] pushOwner;
+    private int[] pushFrom;
+    private int[] pushTo;
+    private int epoch;
+
+    /* working set of active vertices and scratch space */
+    private int[] working;
+    private int workingSize;
+    private int[] frontier;
+    private int maxLabel;
+    private long work;
+    private long globalRelabelThreshold;
+
+    private Worker[] workers;
+    private ExecutorService executor;
+
+    /* results of the last invocation */
+    private V source;
+    private V sink;
+    private int sourceIndex;
+    private int sinkIndex;
+    private double maxFlowValue = -1;
+    private boolean flowComputed;
+    private Map<E, Double> maxFlow;
+    private boolean[] sourceSide;
+    private Set<V> sourcePartition;
+    private Set<V> sinkPartition;
+    private Set<E> cutEdges;
+
+    /**
+     * Construct a new maximum flow algorithm.
+     *
+     * @param network the network
+     */
+    public ParallelPushRelabelMFImpl(Graph<V, E> network)
+    {
+        this(network, DEFAULT_EPSILON, DEFAULT_PARALLELISM);
+    }
+
+    /**
+     * Construct a new maximum flow algorithm.
+     *
+     * @param network the network
+     * @param parallelism maximum number of threads used in the computation
+     */
+    public ParallelPushRelabelMFImpl(Graph<V, E> network, int parallelism)
+    {
+        this(network, DEFAULT_EPSILON, parallelism);
+    }
+
+    /**
+     * Construct a new maximum flow algorithm.
+     *
+     * @param network the network
+     * @param epsilon tolerance used when comparing floating-point values
+     * @param parallelism maximum number of threads used in the computation
+     */
+    public ParallelPushRelabelMFImpl(Graph<V, E> network, double epsilon, int parallelism)
+    {
+        this.network = Objects.requireNonNull(network, "network is null");
+        if (epsilon <= 0) {
+            throw new IllegalArgumentException("invalid epsilon (must be positive)");
+        }
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+        this.directedGraph = network.getType().isDirected();
+        this.epsilon = epsilon;
+        this.parallelism = parallelism;
+    }
+
+    @Override
+    public MaximumFlow<E> getMaximumFlow(V source, V sink)
+    {
+        calculateMaximumFlow(source, sink);
+        return new MaximumFlowImpl<>(maxFlowValue, getFlowMap());
+    }
+
+    /**
+     * Sets current source to <code>source</code>, current sink to <code>sink</code>, then
+     * calculates the value of the maximum flow from <code>source</code> to <code>sink</code>. Note,
+     * that <code>source</code> and <code>sink</code> must be vertices of the <code>
+     * network</code> passed to the constructor, and they must be different. The flow map is
+     * computed lazily when requested.
+     *
+     * @param source source vertex
+     * @param sink sink vertex
+     * @return the value of the maximum flow
+     */
+    public double calculateMaximumFlow(V source, V sink)
+    {
+        if (!network.containsVertex(source)) {
+            throw new IllegalArgumentException("invalid source (null or not from this network)");
+        }
+        if (!network.containsVertex(sink)) {
+            throw new IllegalArgumentException("invalid sink (null or not from this network)");
+        }
+        if (source.equals(sink)) {
+            throw new IllegalArgumentException("source is equal to sink");
+        }
+        if (vertices == null) {
+            buildResidualNetwork();
+        }
+
+        this.source = source;
+        this.sink = sink;
+        this.sourceIndex = vertexMap.get(source);
+        this.sinkIndex = vertexMap.get(sink);
+        this.maxFlow = null;
+        this.flowComputed = false;
+        this.sourcePartition = null;
+        this.sinkPartition = null;
+        this.cutEdges = null;
+
+        startExecutor();
+        try {
+            initializePreflow();
+            pushRelabel(sinkIndex, sourceIndex);
+
+            // the last global relabeling computed the vertices which can reach the sink
+            sourceSide = new boolean[n];
+            for (int v = 0; v < n; v++) {
+                sourceSide[v] = label[v] >= n;
+            }
+            maxFlowValue = excess[sinkIndex];
+        } finally {
+            shutDownExecutor();
+        }
+        return maxFlowValue;
+    }
+
+    /**
+     * Returns current source vertex, or <code>null</code> if there was no <code>
+     * calculateMaximumFlow</code> calls.
+     *
+     * @return current source
+     */
+    public V getCurrentSource()
+    {
+        return source;
+    }
+
+    /**
+     * Returns current sink vertex, or <code>null</code> if there was no <code>
+     * calculateMaximumFlow</code> calls.
+     *
+     * @return current sink
+     */
+    public V getCurrentSink()
+    {
+        return sink;
+    }
+
+    /**
+     * Returns maximum flow value, that was calculated during last <code>
+     * calculateMaximumFlow</code> call.
+     *
+     * @return maximum flow value
+     */
+    public double getMaximumFlowValue()
+    {
+        return maxFlowValue;
+    }
+
+    @Override
+    public Map<E, Double> getFlowMap()
+    {
+        if (maxFlow == null) {
+            computeFlow();
+            Map<E, Double> flow = CollectionUtil.newHashMapWithExpectedSize(edges.size());
+            for (int i = 0; i < edges.size(); i++) {
+                int a = edgeArc[i];
+                double f = 0d;
+                if (a >= 0) {
+                    f = Math.abs(edgeCapacity[i] - residual[a]);
+                }
+                flow.put(edges.get(i), f);
+            }
+            maxFlow = flow;
+        }
+        return maxFlow;
+    }
+
+    /**
+     * Returns the direction of the flow on an edge $(u,v)$. In case $(u,v)$ is a directed edge
+     * (arc), this function will always return the edge target $v$. However, if $(u,v)$ is an edge
+     * in an undirected graph, flow may go through the edge in either side. If the flow goes from
+     * $u$ to $v$, we return $v$, otherwise $u$. If the flow on an edge equals $0$, the returned
+     * value has no meaning.
+     *
+     * @param e edge
+     * @return the vertex where the flow leaves the edge
+     */
+    @Override
+    public V getFlowDirection(E e)
+    {
+        if (!network.containsEdge(e)) {
+            throw new IllegalArgumentException(
+                "Cannot query the flow on an edge which does not exist in the input graph!");
+        }
+        if (directedGraph) {
+            return network.getEdgeTarget(e);
+        }
+        computeFlow();
+        if (edgeMap == null) {
+            edgeMap = CollectionUtil.newHashMapWithExpectedSize(edges.size());
+            for (int i = 0; i < edges.size(); i++) {
+                edgeMap.put(edges.get(i), i);
+            }
+        }
+        int i = edgeMap.get(e);
+        int a = edgeArc[i];
+        if (a >= 0 && residual[a] < edgeCapacity[i]) {
+            return network.getEdgeTarget(e);
+        }
+        return network.getEdgeSource(e);
+    }
+
+    /*---------------- Minimum s-t cut related methods -------------------*/
+
+    @Override
+    public double calculateMinCut(V source, V sink)
+    {
+        return calculateMaximumFlow(source, sink);
+    }
+
+    @Override
+    public double getCutCapacity()
+    {
+        return maxFlowValue;
+    }
+
+    @Override
+    public Set<V> getSourcePartition()
+    {
+        if (source == null) {
+            throw new IllegalStateException("no flow has been computed");
+        }
+        if (sourcePartition == null) {
+            sourcePartition = new LinkedHashSet<>();
+            for (int v = 0; v < n; v++) {
+                if (sourceSide[v]) {
+                    sourcePartition.add(vertices.get(v));
+                }
+            }
+        }
+        return sourcePartition;
+    }
+
+    @Override
+    public Set<V> getSinkPartition()
+    {
+        if (source == null) {
+            throw new IllegalStateException("no flow has been computed");
+        }
+        if (sinkPartition == null) {
+            sinkPartition = new LinkedHashSet<>();
+            for (int v = 0; v < n; v++) {
+                if (!sourceSide[v]) {
+                    sinkPartition.add(vertices.get(v));
+                }
+            }
+        }
+        return sinkPartition;
+    }
+
+    @Override
+    public Set<E> getCutEdges()
+    {
+        if (source == null) {
+            throw new IllegalStateException("no flow has been computed");
+        }
+        if (cutEdges == null) {
+            cutEdges = new LinkedHashSet<>();
+            for (int i = 0; i < edges.size(); i++) {
+                int a = edgeArc[i];
+                if (a < 0) {
+                    continue;
+                }
+                boolean tail = sourceSide[arcHead[arcMate[a]]];
+                boolean head = sourceSide[arcHead[a]];
+                if (directedGraph ? tail && !head : tail ^ head) {
+                    cutEdges.add(edges.get(i));
+                }
+            }
+        }
+        return cutEdges;
+    }
+
+    /**
+     * Build the compact residual network. The arcs leaving a vertex are stored consecutively. Each
+     * edge $(u,v)$ is represented by an arc from $u$ to $v$ and its mate from $v$ to $u$, which has
+     * capacity zero in directed networks.
+     */
+    @SuppressWarnings("unchecked")
+    private void buildResidualNetwork()
+    {
+        VertexToIntegerMapping<V> mapping = new VertexToIntegerMapping<>(network.vertexSet());
+        vertexMap = mapping.getVertexMap();
+        vertices = mapping.getIndexList();
+        edges = new ArrayList<>(network.edgeSet());
+        n = vertices.size();
+        int m = edges.size();
+
+        int[] tails = new int[m];
+        int[] heads = new int[m];
+        edgeCapacity = new double[m];
+        arcStart = new int[n + 1];
+        for (int i = 0; i < m; i++) {
+            E e = edges.get(i);
+            double capacity = network.getEdgeWeight(e);
+            if (capacity < -epsilon) {
+                throw new IllegalArgumentException("invalid capacity (must be non-negative)");
+            }
+            edgeCapacity[i] = Math.max(capacity, 0d);
+            int u = vertexMap.get(network.getEdgeSource(e));
+            int v = vertexMap.get(network.getEdgeTarget(e));
+            tails[i] = u;
+            heads[i] = v;
+            if (u != v) {
+                arcStart[u + 1]++;
+                arcStart[v + 1]++;
+            }
+        }
+        for (int v = 0; v < n; v++) {
+            arcStart[v + 1] += arcStart[v];
+        }
+
+        int arcCount = arcStart[n];
+        int[] position = Arrays.copyOf(arcStart, n);
+        arcHead = new int[arcCount];
+        arcMate = new int[arcCount];
+        edgeArc = new int[m];
+        for (int i = 0; i < m; i++) {
+            int u = tails[i];
+            int v = heads[i];
+            if (u == v) {
+                edgeArc[i] = -1;
+                continue;
+            }
+            int a = position[u]++;
+            int b = position[v]++;
+            arcHead[a] = v;
+            arcHead[b] = u;
+            arcMate[a] = b;
+            arcMate[b] = a;
+            edgeArc[i] = a;
+        }
+        residual = new double[arcCount];
+
+        label = new int[n];
+        newLabel = new int[n];
+        excess = new double[n];
+        remaining = new double[n];
+        addedExcess = new AtomicLongArray(n);
+        labelCount = new AtomicIntegerArray(n + 1);
+        mark = new AtomicIntegerArray(n);
+        processed = new int[n];
+        pushOwner = new int[n];
+        pushFrom = new int[n];
+        pushTo = new int[n];
+        working = new int[n];
+        frontier = new int[n];
+        globalRelabelThreshold = (long) GLOBAL_RELABEL_ALPHA * n + arcCount / 2;
+
+        workers = (Worker[]) Array.newInstance(Worker.class, parallelism);
+        for (int i = 0; i < parallelism; i++) {
+            workers[i] = new Worker(i);
+        }
+    }
+
+    /**
+     * Reset the residual capacities and saturate all arcs leaving the source.
+     */
+    private void initializePreflow()
+    {
+        parallelFor(edges.size(), VERTICES_GRAIN, (w, from, to) -> {
+            for (int i = from; i < to; i++) {
+                int a = edgeArc[i];
+                if (a >= 0) {
+                    residual[a] = edgeCapacity[i];
+                    residual[arcMate[a]] = directedGraph ? 0d : edgeCapacity[i];
+                }
+            }
+        });
+        Arrays.fill(excess, 0d);
+
+        for (int a = arcStart[sourceIndex]; a < arcStart[sourceIndex + 1]; a++) {
+            double delta = residual[a];
+            if (delta > 0d) {
+                residual[a] = 0d;
+                residual[arcMate[a]] += delta;
+                excess[arcHead[a]] += delta;
+            }
+        }
+    }
+
+    /**
+     * Compute the flow decomposition of the preflow, by returning the excess of all vertices
+     * which cannot reach the sink back to the source.
+     */
+    private void computeFlow()
+    {
+        if (source == null) {
+            throw new IllegalStateException("no flow has been computed");
+        }
+        if (flowComputed) {
+            return;
+        }
+        startExecutor();
+        try {
+            pushRelabel(sourceIndex, sinkIndex);
+        } finally {
+            shutDownExecutor();
+        }
+        flowComputed = true;
+    }
+
+    /**
+     * Discharge the active vertices until no active vertex can reach the target.
+     *
+     * @param target the vertex which absorbs the excess
+     * @param blocked the vertex which never receives any excess
+     */
+    private void pushRelabel(int target, int blocked)
+    {
+        globalRelabel(target, blocked);
+        for (;;) {
+            while (workingSize > 0) {
+                if (work > globalRelabelThreshold) {
+                    globalRelabel(target, blocked);
+                } else {
+                    round(target);
+                }
+            }
+            // make sure that the labels are exact before terminating
+            globalRelabel(target, blocked);
+            if (workingSize == 0) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Execute a single round of the algorithm. All vertices of the working set are discharged
+     * concurrently, after which the newly computed labels, excesses and residual capacities are
+     * applied.
+     *
+     * @param target the vertex which absorbs the excess
+     */
+    private void round(int target)
+    {
+        nextEpoch();
+        for (Worker w : workers) {
+            w.arcCount = 0;
+            w.work = 0;
+            w.maxLabel = 0;
+            w.gap = n;
+        }
+
+        parallelFor(workingSize, ACTIVE_VERTICES_GRAIN, (w, from, to) -> {
+            for (int i = from; i < to; i++) {
+                w.discharge(working[i], target);
+            }
+        });
+        for (Worker w : workers) {
+            work += w.work;
+        }
+
+        // every vertex which was discharged or received excess is part of the next working set
+        workingSize = gather(working);
+        parallelFor(workingSize, ACTIVE_VERTICES_GRAIN, (w, from, to) -> {
+            for (int i = from; i < to; i++) {
+                w.apply(working[i]);
+            }
+        });
+        excess[target] += Double.longBitsToDouble(addedExcess.get(target));
+        addedExcess.set(target, 0L);
+
+        int gap = n;
+        for (Worker w : workers) {
+            maxLabel = Math.max(maxLabel, w.maxLabel);
+            gap = Math.min(gap, w.gap);
+        }
+        if (gap < maxLabel && labelCount.get(gap) == 0) {
+            gapRelabel(gap);
+        }
+    }
+
+    /**
+     * Gap heuristic. If no vertex has label $g$, all vertices with a label larger than $g$ cannot
+     * reach the target and their label can be increased to $n$.
+     *
+     * @param gap the empty label
+     */
+    private void gapRelabel(int gap)
+    {
+        parallelFor(n, VERTICES_GRAIN, (w, from, to) -> {
+            for (int v = from; v < to; v++) {
+                int l = label[v];
+                if (l > gap && l < n) {
+                    label[v] = n;
+                }
+            }
+        });
+        for (int l = gap + 1; l <= maxLabel; l++) {
+            labelCount.set(l, 0);
+        }
+        maxLabel = gap - 1;
+    }
+
+    /**
+     * Global relabeling heuristic. The labels are set to the exact distances from the target in
+     * the residual network, using a level synchronous breadth-first search. Afterwards, the
+     * working set is rebuilt from all vertices with excess which can reach the target.
+     *
+     * @param target the vertex which absorbs the excess
+     * @param blocked the vertex which never receives any excess
+     */
+    private void globalRelabel(int target, int blocked)
+    {
+        Arrays.fill(label, n);
+        for (int l = 0; l <= n; l++) {
+            labelCount.set(l, 0);
+        }
+
+        nextEpoch();
+        mark.set(target, epoch);
+        mark.set(blocked, epoch);
+        label[target] = 0;
+        labelCount.set(0, 1);
+        frontier[0] = target;
+        int frontierSize = 1;
+        int distance = 0;
+        while (frontierSize > 0) {
+            int nextDistance = distance + 1;
+            parallelFor(frontierSize, ACTIVE_VERTICES_GRAIN, (w, from, to) -> {
+                for (int i = from; i < to; i++) {
+                    int v = frontier[i];
+                    for (int a = arcStart[v]; a < arcStart[v + 1]; a++) {
+                        int u = arcHead[a];
+                        if (residual[arcMate[a]] > epsilon && w.visit(u)) {
+                            label[u] = nextDistance;
+                        }
+                    }
+                }
+            });
+            frontierSize = gather(frontier);
+            if (frontierSize > 0) {
+                distance = nextDistance;
+                labelCount.set(distance, frontierSize);
+            }
+        }
+        maxLabel = distance;
+
+        parallelFor(n, VERTICES_GRAIN, (w, from, to) -> {
+            for (int v = from; v < to; v++) {
+                if (label[v] < n && excess[v] > epsilon && v != target) {
+                    w.add(v);
+                }
+            }
+        });
+        workingSize = gather(working);
+        work = 0;
+    }
+
+    /**
+     * Move the vertices collected by the workers into an array.
+     *
+     * @param into the destination array
+     * @return the number of vertices
+     */
+    private int gather(int[] into)
+    {
+        int size = 0;
+        for (Worker w : workers) {
+            System.arraycopy(w.vertices, 0, into, size, w.vertexCount);
+            size += w.vertexCount;
+            w.vertexCount = 0;
+        }
+        return size;
+    }
+
+    private void nextEpoch()
+    {
+        if (++epoch == Integer.MAX_VALUE) {
+            for (int v = 0; v < n; v++) {
+                mark.set(v, 0);
+                processed[v] = 0;
+            }
+            epoch = 1;
+        }
+    }
+
+    private static void atomicAdd(AtomicLongArray array, int i, double delta)
+    {
+        long current, updated;
+        do {
+            current = array.get(i);
+            updated = Double.doubleToRawLongBits(Double.longBitsToDouble(current) + delta);
+        } while (!array.compareAndSet(i, current, updated));
+    }
+
+    /**
+     * Execute a task over a range of indices. The range is split into chunks which are processed
+     * in parallel. Small ranges are processed by the calling thread.
+     *
+     * @param size the size of the range
+     * @param grain the chunk size
+     * @param task the task
+     */
+    private void parallelFor(int size, int grain, RangeTask<Worker> task)
+    {
+        if (executor == null || size <= grain) {
+            task.run(workers[0], 0, size);
+            return;
+        }
+        AtomicInteger next = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>(parallelism);
+        for (Worker w : workers) {
+            futures.add(executor.submit(() -> {
+                int from;
+                while ((from = next.getAndAdd(grain)) < size) {
+                    task.run(w, from, Math.min(size, from + grain));
+                }
+            }));
+        }
+        try {
+            for (Future<?> f : futures) {
+                f.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    private void startExecutor()
+    {
+        if (parallelism > 1) {
+            executor = Executors.newFixedThreadPool(parallelism);
+        }
+    }
+
+    private void shutDownExecutor()
+    {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    @FunctionalInterface
+    private interface RangeTask<W>
+    {
+        void run(W worker, int from, int to);
+    }
+
+    /**
+     * Thread local state of the algorithm.
+     */
+    private class Worker
+    {
+        private final int id;
+
+        /* collected vertices */
+        private int[] vertices = new int[64];
+        private int vertexCount;
+
+        /* pushes performed in the current round */
+        private int[] arcs = new int[64];
+        private double[] deltas = new double[64];
+        private int arcCount;
+
+        private long work;
+        private int maxLabel;
+        private int gap;
+
+        Worker(int id)
+        {
+            this.id = id;
+        }
+
+        void add(int v)
+        {
+            if (vertexCount == vertices.length) {
+                vertices = Arrays.copyOf(vertices, 2 * vertexCount);
+            }
+            vertices[vertexCount++] = v;
+        }
+
+        /**
+         * Mark a vertex as visited in the current epoch.
+         *
+         * @param v the vertex
+         * @return true if the vertex was not visited before, in which case it has been collected
+         */
+        boolean visit(int v)
+        {
+            int m = mark.get(v);
+            if (m != epoch && mark.compareAndSet(v, m, epoch)) {
+                add(v);
+                return true;
+            }
+            return false;
+        }
+
+        /**
+         * Discharge an active vertex, using the labels and excesses of the previous round. The
+         * reverse residual capacities are not updated, instead the pushes are recorded and applied
+         * at the end of the round.
+         *
+         * @param v the vertex
+         * @param target the vertex which absorbs the excess
+         */
+        void discharge(int v, int target)
+        {
+            int oldLabel = label[v];
+            double e = excess[v];
+            if (oldLabel >= n || e <= epsilon) {
+                return;
+            }
+
+            processed[v] = epoch;
+            pushOwner[v] = id;
+            pushFrom[v] = arcCount;
+
+            int d = oldLabel;
+            int start = arcStart[v], end = arcStart[v + 1];
+            while (e > epsilon) {
+                int minLabel = n;
+                boolean skipped = false;
+                for (int a = start; a < end && e > epsilon; a++) {
+                    double r = residual[a];
+                    if (r <= epsilon) {
+                        continue;
+                    }
+                    work++;
+                    int u = arcHead[a];
+                    int du = label[u];
+                    if (d == du + 1) {
+                        if (u != target && excess[u] > epsilon) {
+                            // both endpoints are active, only the winner may push
+                            boolean win = oldLabel == du + 1 || oldLabel < du - 1
+                                || (oldLabel == du && v < u);
+                            if (!win) {
+                                skipped = true;
+                                continue;
+                            }
+                        }
+                        double delta = Math.min(r, e);
+                        r -= delta;
+                        e -= delta;
+                        residual[a] = r;
+                        recordPush(a, delta);
+                        atomicAdd(addedExcess, u, delta);
+                        if (u != target) {
+                            visit(u);
+                        }
+                    }
+                    if (r > epsilon && du >= d) {
+                        minLabel = Math.min(minLabel, du + 1);
+                    }
+                }
+                if (e <= epsilon || skipped) {
+                    break;
+                }
+                // relabel
+                d = minLabel;
+                work += RELABEL_WORK;
+                if (d >= n) {
+                    break;
+                }
+            }
+
+            pushTo[v] = arcCount;
+            newLabel[v] = d;
+            remaining[v] = e;
+            visit(v);
+        }
+
+        private void recordPush(int a, double delta)
+        {
+            if (arcCount == arcs.length) {
+                arcs = Arrays.copyOf(arcs, 2 * arcCount);
+                deltas = Arrays.copyOf(deltas, 2 * arcCount);
+            }
+            arcs[arcCount] = a;
+            deltas[arcCount] = delta;
+            arcCount++;
+        }
+
+        /**
+         * Apply the changes of the current round to a vertex.
+         *
+         * @param v the vertex
+         */
+        void apply(int v)
+        {
+            double received = Double.longBitsToDouble(addedExcess.get(v));
+            addedExcess.set(v, 0L);
+            if (processed[v] != epoch) {
+                excess[v] += received;
+                return;
+            }
+
+            excess[v] = remaining[v] + received;
+
+            Worker owner = workers[pushOwner[v]];
+            for (int k = pushFrom[v]; k < pushTo[v]; k++) {
+                residual[arcMate[owner.arcs[k]]] += owner.deltas[k];
+            }
+
+            int oldLabel = label[v];
+            int l = newLabel[v];
+            if (l != oldLabel) {
+                label[v] = l;
+                if (labelCount.decrementAndGet(oldLabel) == 0) {
+                    gap = Math.min(gap, oldLabel);
+                }
+                if (l < n) {
+                    labelCount.incrementAndGet(l);
+                    maxLabel = Math.max(maxLabel, l);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,886 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.flow.mincost;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.util.*;
+
+import java.util.*;
+
+/**
+ * This class computes a solution to a
+ * <a href="https://en.wikipedia.org/wiki/Minimum-cost_flow_problem"> minimum cost flow problem</a>
+ * using the primal network simplex algorithm. The problem definition is the same as in
+ * {@link CapacityScalingMinimumCostFlow}: for each node $v$ in the network the sum of all outgoing
+ * flows minus the sum of all incoming flows must be equal to the node supply $b_v$, the flow on
+ * each arc must respect the lower and upper capacities specified via
+ * {@link MinimumCostFlowProblem}, and graph edge weights are considered to be arc costs, which can
+ * be negative. An arc with upper capacity greater than or equal to
+ * {@link CapacityScalingMinimumCostFlow#CAP_INF} is considered to be an infinite capacity arc.
+ * <p>
+ * The algorithm maintains a spanning tree basis of the network, extended with an artificial root
+ * node which is connected to every node by an artificial arc of large cost. In every iteration an
+ * arc violating the reduced cost optimality conditions enters the basis, flow is augmented along
+ * the cycle it closes with the tree, and a blocking arc of the cycle leaves the basis. The tree is
+ * stored in parallel arrays using the parent, thread and subtree size representation, which
+ * allows the tree and the node potentials to be updated in time proportional to the size of the
+ * changed subtree. Entering arcs are chosen by the block search pivot rule, which scans the arcs
+ * in blocks of size $\sqrt{m}$ and selects the most violating arc of the first block containing a
+ * violating arc. Every initial basis is strongly feasible, that is, a positive amount of flow can
+ * be sent from every node to the root along the tree. The leaving arc is chosen such that the
+ * basis remains strongly feasible, which prevents cycling.
+ * <p>
+ * The spanning tree basis is kept after a computation. If the next problem is defined on the same
+ * graph, with the same vertex and edge sets, the algorithm starts from the previous basis instead
+ * of the artificial one. The flow on the tree arcs is recomputed from the new supplies and
+ * capacities; every node whose tree arc would become infeasible, or would violate strong
+ * feasibility, is reconnected to the artificial root. When the supplies, capacities and costs
+ * change only slightly, only a few pivots are needed to restore optimality, which makes this class
+ * well suited for solving long sequences of similar problems.
+ * <p>
+ * For more information about the network simplex algorithm see: <i>K. Ahuja, Ravindra &amp; L.
+ * Magnanti, Thomas &amp; Orlin, James. (1993). Network Flows.</i> The implementation of the tree
+ * updates follows the network simplex implementation of the LEMON library, see: <i>P. Kovács.
+ * Minimum-cost flow algorithms: an experimental evaluation. Optimization Methods and Software,
+ * 30(1):94--127, 2015.</i>
+ * <p>
+ * Currently the algorithm doesn't support undirected flow networks.
+ *
+ * @param <V> graph vertex type
+ * @param <E> graph edge type
+ * @see MinimumCostFlowProblem
+ * @see MinimumCostFlowAlgorithm
+ */
+public class NetworkSimplexMinimumCostFlow<V, E>
+    implements
+    MinimumCostFlowAlgorithm<V, E>
+{
+    /**
+     * Default tolerance used when comparing reduced costs.
+     */
+    public static final double DEFAULT_EPSILON = 1e-9;
+
+    private static final int STATE_UPPER = -1;
+    private static final int STATE_TREE = 0;
+    private static final int STATE_LOWER = 1;
+
+    private static final int DIR_UP = 1;
+    private static final int DIR_DOWN = -1;
+
+    private static final long INF = Long.MAX_VALUE;
+    private static final int MIN_BLOCK_SIZE = 10;
+
+    private final double epsilon;
+
+    /**
+     * Specified minimum cost flow problem
+     */
+    private MinimumCostFlowProblem<V, E> problem;
+    /**
+     * Computed minimum cost flow
+     */
+    private MinimumCostFlow<E> minimumCostFlow;
+    /**
+     * Graph, vertices and edges of the last problem, used to decide whether the basis can be
+     * reused
+     */
+    private Graph<V, E> graph;
+    private List<V> graphVertices;
+    private List<E> graphEdges;
+    private boolean basisValid;
+
+    /* number of nodes and arcs, the root is node n and arc m + u is the artificial arc of node u */
+    private int n;
+    private int m;
+    private int root;
+
+    /* arcs */
+    private int[] source;
+    private int[] target;
+    private double[] cost;
+    private long[] lower;
+    private long[] cap;
+    private long[] flow;
+    private int[] state;
+
+    /* nodes and the spanning tree */
+    private long[] supply;
+    private double[] pi;
+    private int[] parent;
+    private int[] pred;
+    private int[] predDir;
+    private int[] thread;
+    private int[] revThread;
+    private int[] succNum;
+    private int[] lastSucc;
+    private int[] dirtyRevs;
+
+    private double artificialCost;
+
+    /* block search pivot rule */
+    private int blockSize;
+    private int nextArc;
+
+    /* data of the current pivot */
+    private int inArc;
+    private int join;
+    private int uIn;
+    private int vIn;
+    private int uOut;
+    private long delta;
+
+    /**
+     * Constructs a new instance of the algorithm.
+     */
+    public NetworkSimplexMinimumCostFlow()
+    {
+        this(DEFAULT_EPSILON);
+    }
+
+    /**
+     * Constructs a new instance of the algorithm.
+     *
+     * @param epsilon tolerance used when comparing reduced costs
+     */
+    public NetworkSimplexMinimumCostFlow(double epsilon)
+    {
+        if (epsilon <= 0) {
+            throw new IllegalArgumentException("invalid epsilon (must be positive)");
+        }
+        this.epsilon = epsilon;
+    }
+
+    /**
+     * Returns mapping from edge to flow value through this particular edge
+     *
+     * @return maximum flow mapping, or null if a MinimumCostFlowProblem has not yet been solved.
+     */
+    @Override
+    public Map<E, Double> getFlowMap()
+    {
+        return minimumCostFlow == null ? null : this.minimumCostFlow.getFlowMap();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public V getFlowDirection(E edge)
+    {
+        return problem.getGraph().getEdgeTarget(edge);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public MinimumCostFlow<E> getMinimumCostFlow(
+        final MinimumCostFlowProblem<V, E> minimumCostFlowProblem)
+    {
+        this.problem = Objects.requireNonNull(minimumCostFlowProblem);
+        if (problem.getGraph().getType().isUndirected()) {
+            throw new IllegalArgumentException(
+                "The algorithm doesn't support undirected flow networks");
+        }
+        this.minimumCostFlow = null;
+
+        boolean warmStart = basisValid && isSameNetwork(problem.getGraph());
+        basisValid = false;
+        if (warmStart) {
+            readProblem();
+            initWarmStart();
+        } else {
+            indexNetwork(problem.getGraph());
+            readProblem();
+            initArtificialBasis();
+        }
+        pivot();
+        basisValid = true;
+
+        minimumCostFlow = finish();
+        return minimumCostFlow;
+    }
+
+    /**
+     * Returns solution to the dual linear program formulated on the network. Serves as a
+     * certificate of optimality.
+     * <p>
+     * It is represented as a mapping from graph nodes to their potentials (dual variables). Reduced
+     * cost of a arc $(a, b)$ is defined as $cost((a, b)) + potential(b) - potential(a)$. According
+     * to the reduced cost optimality conditions, a feasible solution to the minimum cost flow
+     * problem is optimal if and only if reduced cost of every non-saturated arc is greater than or
+     * equal to $0$.
+     *
+     * @return solution to the dual linear program formulated on the network, or null if a
+     *         MinimumCostFlowProblem has not yet been solved.
+     */
+    public Map<V, Double> getDualSolution()
+    {
+        if (minimumCostFlow == null) {
+            return null;
+        }
+        Map<V, Double> dualVariables = CollectionUtil.newHashMapWithExpectedSize(n);
+        for (int i = 0; i < n; i++) {
+            dualVariables.put(graphVertices.get(i), -pi[i]);
+        }
+        return dualVariables;
+    }
+
+    /**
+     * Checks whether the graph has the same vertices and edges, in the same iteration order, as
+     * the graph of the previously solved problem.
+     *
+     * @param g the graph
+     * @return true if the previous basis can be reused
+     */
+    private boolean isSameNetwork(Graph<V, E> g)
+    {
+        if (g != graph || g.vertexSet().size() != n || g.edgeSet().size() != m) {
+            return false;
+        }
+        int i = 0;
+        for (V v : g.vertexSet()) {
+            if (graphVertices.get(i++) != v) {
+                return false;
+            }
+        }
+        i = 0;
+        for (E e : g.edgeSet()) {
+            if (graphEdges.get(i++) != e) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Assigns integer indices to the vertices and edges of the network and allocates the arrays.
+     *
+     * @param g the graph
+     */
+    private void indexNetwork(Graph<V, E> g)
+    {
+        graph = g;
+        n = g.vertexSet().size();
+        m = g.edgeSet().size();
+        root = n;
+        graphVertices = new ArrayList<>(g.vertexSet());
+        graphEdges = new ArrayList<>(g.edgeSet());
+        Map<V, Integer> vertexMap = CollectionUtil.newHashMapWithExpectedSize(n);
+        for (int i = 0; i < n; i++) {
+            vertexMap.put(graphVertices.get(i), i);
+        }
+
+        int allArcs = m + n;
+        source = new int[allArcs];
+        target = new int[allArcs];
+        cost = new double[allArcs];
+        lower = new long[m];
+        cap = new long[allArcs];
+        flow = new long[allArcs];
+        state = new int[allArcs];
+        for (int i = 0; i < m; i++) {
+            E e = graphEdges.get(i);
+            source[i] = vertexMap.get(g.getEdgeSource(e));
+            target[i] = vertexMap.get(g.getEdgeTarget(e));
+        }
+
+        supply = new long[n + 1];
+        pi = new double[n + 1];
+        parent = new int[n + 1];
+        pred = new int[n + 1];
+        predDir = new int[n + 1];
+        thread = new int[n + 1];
+        revThread = new int[n + 1];
+        succNum = new int[n + 1];
+        lastSucc = new int[n + 1];
+        dirtyRevs = new int[n + 1];
+
+        blockSize = Math.max((int) Math.sqrt(m), MIN_BLOCK_SIZE);
+    }
+
+    /**
+     * Reads the supplies, capacities and costs of the problem. Non-zero lower capacities are
+     * removed by adjusting the supplies.
+     */
+    private void readProblem()
+    {
+        long supplySum = 0;
+        for (int i = 0; i < n; i++) {
+            supply[i] = problem.getNodeSupply().apply(graphVertices.get(i));
+            supplySum += supply[i];
+        }
+        supply[root] = 0;
+        if (supplySum != 0) {
+            throw new IllegalArgumentException("Total node supply isn't equal to 0");
+        }
+
+        double maxCost = 0d;
+        for (int i = 0; i < m; i++) {
+            E edge = graphEdges.get(i);
+            int upperCap = problem.getArcCapacityUpperBounds().apply(edge);
+            int lowerCap = problem.getArcCapacityLowerBounds().apply(edge);
+            double c = graph.getEdgeWeight(edge);
+            if (upperCap < 0) {
+                throw new IllegalArgumentException("Negative edge capacities are not allowed");
+            } else if (lowerCap > upperCap) {
+                throw new IllegalArgumentException(
+                    "Lower edge capacity must not exceed upper edge capacity");
+            } else if (lowerCap >= CapacityScalingMinimumCostFlow.CAP_INF) {
+                throw new IllegalArgumentException(
+                    "The problem is unbounded due to the infinite lower capacity");
+            }
+            cost[i] = c;
+            maxCost = Math.max(maxCost, Math.abs(c));
+            lower[i] = lowerCap;
+            cap[i] = upperCap >= CapacityScalingMinimumCostFlow.CAP_INF ? INF
+                : upperCap - lowerCap;
+            supply[source[i]] -= lowerCap;
+            supply[target[i]] += lowerCap;
+        }
+        // every path of real arcs is cheaper than an artificial arc
+        artificialCost = (maxCost + 1) * (n + 1);
+    }
+
+    /**
+     * Directs the artificial arc of a node and sets its cost. An arc towards the root costs
+     * nothing, while an arc from the root is expensive, so that a path through the root is never
+     * cheaper than a path of real arcs.
+     *
+     * @param u the node
+     * @param dir the direction of the arc with respect to the tree
+     */
+    private void setArtificialArc(int u, int dir)
+    {
+        int e = m + u;
+        if (dir == DIR_UP) {
+            source[e] = u;
+            target[e] = root;
+            cost[e] = 0d;
+        } else {
+            source[e] = root;
+            target[e] = u;
+            cost[e] = artificialCost;
+        }
+    }
+
+    /**
+     * Initializes the artificial basis, where every node is connected to the root by its
+     * artificial arc, which carries the supply of the node.
+     */
+    private void initArtificialBasis()
+    {
+        for (int i = 0; i < m; i++) {
+            flow[i] = 0;
+            state[i] = STATE_LOWER;
+        }
+
+        parent[root] = -1;
+        pred[root] = -1;
+        thread[root] = n > 0 ? 0 : root;
+        revThread[thread[root]] = root;
+        succNum[root] = n + 1;
+        lastSucc[root] = n > 0 ? n - 1 : root;
+        pi[root] = 0d;
+
+        for (int u = 0; u < n; u++) {
+            int e = m + u;
+            parent[u] = root;
+            pred[u] = e;
+            thread[u] = u + 1;
+            revThread[u + 1] = u;
+            succNum[u] = 1;
+            lastSucc[u] = u;
+            cap[e] = INF;
+            state[e] = STATE_TREE;
+            if (supply[u] >= 0) {
+                predDir[u] = DIR_UP;
+                setArtificialArc(u, DIR_UP);
+                flow[e] = supply[u];
+                pi[u] = 0d;
+            } else {
+                predDir[u] = DIR_DOWN;
+                setArtificialArc(u, DIR_DOWN);
+                flow[e] = -supply[u];
+                pi[u] = artificialCost;
+            }
+        }
+        nextArc = 0;
+    }
+
+    /**
+     * Initializes the basis from the spanning tree of the previous computation. Non-tree arcs stay
+     * at their bounds, and the flow on the tree arcs is recomputed from the supplies. The basis is
+     * made strongly feasible: every node whose tree arc would carry an infeasible flow, or would
+     * be at its lower bound while directed away from the root or at its upper bound while
+     * directed towards the root, is reconnected to the root by its artificial arc, and the arc
+     * leaves the basis at its nearest bound.
+     */
+    private void initWarmStart()
+    {
+        long[] imbalance = new long[n + 1];
+        System.arraycopy(supply, 0, imbalance, 0, n + 1);
+        for (int e = 0; e < m + n; e++) {
+            if (state[e] == STATE_TREE) {
+                continue;
+            }
+            if (state[e] == STATE_UPPER && cap[e] != INF) {
+                flow[e] = cap[e];
+            } else {
+                state[e] = STATE_LOWER;
+                flow[e] = 0;
+            }
+            imbalance[source[e]] -= flow[e];
+            imbalance[target[e]] += flow[e];
+        }
+        for (int u = 0; u < n; u++) {
+            int e = m + u;
+            if (state[e] == STATE_TREE) {
+                // keep the cost consistent with the direction
+                setArtificialArc(u, predDir[u]);
+            } else {
+                setArtificialArc(u, DIR_UP);
+            }
+        }
+
+        // process the nodes bottom-up, in reverse thread order
+        boolean reattached = false;
+        for (int u = revThread[root]; u != root; u = revThread[u]) {
+            int e = pred[u];
+            int p = parent[u];
+            if (e >= m) {
+                // the artificial arc can carry flow in either direction
+                predDir[u] = imbalance[u] >= 0 ? DIR_UP : DIR_DOWN;
+                setArtificialArc(u, predDir[u]);
+                flow[e] = Math.abs(imbalance[u]);
+                imbalance[p] += imbalance[u];
+                continue;
+            }
+            long f = predDir[u] == DIR_UP ? imbalance[u] : -imbalance[u];
+            boolean strong = predDir[u] == DIR_UP ? f >= 0 && (cap[e] == INF || f < cap[e])
+                : f > 0 && (cap[e] == INF || f <= cap[e]);
+            if (strong) {
+                flow[e] = f;
+                imbalance[p] += imbalance[u];
+                continue;
+            }
+
+            // the tree arc leaves the basis at its nearest bound
+            long bound = f <= 0 ? 0 : cap[e];
+            state[e] = f <= 0 ? STATE_LOWER : STATE_UPPER;
+            flow[e] = bound;
+            long out = predDir[u] == DIR_UP ? bound : -bound;
+            imbalance[u] -= out;
+            imbalance[p] += out;
+
+            int a = m + u;
+            parent[u] = root;
+            pred[u] = a;
+            state[a] = STATE_TREE;
+            predDir[u] = imbalance[u] >= 0 ? DIR_UP : DIR_DOWN;
+            setArtificialArc(u, predDir[u]);
+            flow[a] = Math.abs(imbalance[u]);
+            reattached = true;
+        }
+
+        if (reattached) {
+            rebuildThread();
+        }
+
+        // recompute the potentials top-down, in thread order
+        pi[root] = 0d;
+        for (int u = thread[root]; u != root; u = thread[u]) {
+            int e = pred[u];
+            pi[u] = predDir[u] == DIR_UP ? pi[parent[u]] - cost[e] : pi[parent[u]] + cost[e];
+        }
+    }
+
+    /**
+     * Rebuilds the thread, reverse thread, subtree size and last successor arrays from the parent
+     * array, using a depth-first traversal of the tree.
+     */
+    private void rebuildThread()
+    {
+        int[] firstChild = new int[n + 1];
+        int[] nextSibling = new int[n + 1];
+        Arrays.fill(firstChild, -1);
+        for (int u = 0; u < n; u++) {
+            nextSibling[u] = firstChild[parent[u]];
+            firstChild[parent[u]] = u;
+        }
+
+        // preorder traversal, the dirty revs array serves as the stack
+        int[] stack = dirtyRevs;
+        int top = 0;
+        stack[top++] = root;
+        int last = -1;
+        int[] order = new int[n + 1];
+        int k = 0;
+        while (top > 0) {
+            int u = stack[--top];
+            order[k++] = u;
+            if (last != -1) {
+                thread[last] = u;
+                revThread[u] = last;
+            }
+            last = u;
+            for (int c = firstChild[u]; c != -1; c = nextSibling[c]) {
+                stack[top++] = c;
+            }
+        }
+        thread[last] = root;
+        revThread[root] = last;
+
+        // subtree sizes and last successors, bottom-up
+        for (int u = 0; u <= n; u++) {
+            succNum[u] = 1;
+            lastSucc[u] = u;
+        }
+        for (int i = n; i > 0; i--) {
+            int u = order[i];
+            int p = parent[u];
+            succNum[p] += succNum[u];
+        }
+        for (int i = 0; i <= n; i++) {
+            int u = order[i];
+            // the last successor is the node preceding the end of the subtree in thread order
+            lastSucc[u] = order[i + succNum[u] - 1];
+        }
+    }
+
+    /**
+     * Executes pivots until no arc violates the optimality conditions.
+     */
+    private void pivot()
+    {
+        while (findEnteringArc()) {
+            findJoinNode();
+            boolean change = findLeavingArc();
+            if (delta == INF) {
+                throw new IllegalArgumentException(
+                    "The problem is unbounded due to a negative cost cycle of infinite capacity");
+            }
+            changeFlow(change);
+            if (change) {
+                updateTreeStructure();
+                updatePotential();
+            }
+        }
+        for (int e = m; e < m + n; e++) {
+            if (flow[e] > 0) {
+                throw new IllegalArgumentException(
+                    "Specified flow network problem has no feasible solution");
+            }
+        }
+    }
+
+    /**
+     * Block search pivot rule: scans the arcs in blocks and selects the arc with the most negative
+     * reduced cost in the first block that contains a violating arc.
+     *
+     * @return false if the current solution is optimal
+     */
+    private boolean findEnteringArc()
+    {
+        double min = -epsilon;
+        int count = blockSize;
+        int e;
+        boolean found = false;
+        for (e = nextArc; e < m; e++) {
+            double c = state[e] * (cost[e] + pi[source[e]] - pi[target[e]]);
+            if (c < min) {
+                min = c;
+                inArc = e;
+                found = true;
+            }
+            if (--count == 0) {
+                if (found) {
+                    nextArc = e;
+                    return true;
+                }
+                count = blockSize;
+            }
+        }
+        for (e = 0; e < nextArc; e++) {
+            double c = state[e] * (cost[e] + pi[source[e]] - pi[target[e]]);
+            if (c < min) {
+                min = c;
+                inArc = e;
+                found = true;
+            }
+            if (--count == 0) {
+                if (found) {
+                    nextArc = e;
+                    return true;
+                }
+                count = blockSize;
+            }
+        }
+        if (found) {
+            nextArc = e;
+        }
+        return found;
+    }
+
+    /**
+     * Finds the join node, i.e. the lowest common ancestor of the endpoints of the entering arc.
+     */
+    private void findJoinNode()
+    {
+        int u = source[inArc];
+        int v = target[inArc];
+        while (u != v) {
+            if (succNum[u] < succNum[v]) {
+                u = parent[u];
+            } else {
+                v = parent[v];
+            }
+        }
+        join = u;
+    }
+
+    /**
+     * Finds the leaving arc of the cycle closed by the entering arc. Ties are broken such that the
+     * new basis is strongly feasible.
+     *
+     * @return true if the leaving arc differs from the entering arc
+     */
+    private boolean findLeavingArc()
+    {
+        int first, second;
+        if (state[inArc] == STATE_LOWER) {
+            first = source[inArc];
+            second = target[inArc];
+        } else {
+            first = target[inArc];
+            second = source[inArc];
+        }
+        delta = cap[inArc];
+        int result = 0;
+
+        for (int u = first; u != join; u = parent[u]) {
+            int e = pred[u];
+            long d = flow[e];
+            if (predDir[u] == DIR_DOWN) {
+                d = cap[e] == INF ? INF : cap[e] - d;
+            }
+            if (d < delta) {
+                delta = d;
+                uOut = u;
+                result = 1;
+            }
+        }
+        for (int u = second; u != join; u = parent[u]) {
+            int e = pred[u];
+            long d = flow[e];
+            if (predDir[u] == DIR_UP) {
+                d = cap[e] == INF ? INF : cap[e] - d;
+            }
+            if (d <= delta) {
+                delta = d;
+                uOut = u;
+                result = 2;
+            }
+        }
+
+        if (result == 1) {
+            uIn = first;
+            vIn = second;
+        } else {
+            uIn = second;
+            vIn = first;
+        }
+        return result != 0;
+    }
+
+    /**
+     * Augments the flow along the cycle and updates the states of the entering and leaving arcs.
+     *
+     * @param change whether the leaving arc differs from the entering arc
+     */
+    private void changeFlow(boolean change)
+    {
+        if (delta > 0) {
+            long val = state[inArc] * delta;
+            flow[inArc] += val;
+            for (int u = source[inArc]; u != join; u = parent[u]) {
+                flow[pred[u]] -= predDir[u] * val;
+            }
+            for (int u = target[inArc]; u != join; u = parent[u]) {
+                flow[pred[u]] += predDir[u] * val;
+            }
+        }
+        if (change) {
+            state[inArc] = STATE_TREE;
+            state[pred[uOut]] = flow[pred[uOut]] == 0 ? STATE_LOWER : STATE_UPPER;
+        } else {
+            state[inArc] = -state[inArc];
+        }
+    }
+
+    /**
+     * Updates the tree after the entering arc replaced the leaving arc. The subtree hanging below
+     * the leaving arc is re-rooted at the endpoint of the entering arc and attached to its other
+     * endpoint.
+     */
+    private void updateTreeStructure()
+    {
+        int oldRevThread = revThread[uOut];
+        int oldSuccNum = succNum[uOut];
+        int oldLastSucc = lastSucc[uOut];
+        int vOut = parent[uOut];
+
+        if (uIn == uOut) {
+            // the subtree is only moved
+            parent[uIn] = vIn;
+            pred[uIn] = inArc;
+            predDir[uIn] = uIn == source[inArc] ? DIR_UP : DIR_DOWN;
+
+            if (thread[vIn] != uOut) {
+                int after = thread[oldLastSucc];
+                thread[oldRevThread] = after;
+                revThread[after] = oldRevThread;
+                after = thread[vIn];
+                thread[vIn] = uOut;
+                revThread[uOut] = vIn;
+                thread[oldLastSucc] = after;
+                revThread[after] = oldLastSucc;
+            }
+        } else {
+            // handle the case when the old reverse thread equals v_in, which means that join and
+            // v_out coincide
+            int threadContinue = oldRevThread == vIn ? thread[oldLastSucc] : thread[vIn];
+
+            // update thread and parent along the stem nodes between u_in and u_out
+            int stem = uIn;
+            int parStem = vIn;
+            int nextStem;
+            int last = lastSucc[uIn];
+            int before, after = thread[last];
+            thread[vIn] = uIn;
+            int dirtyCount = 0;
+            dirtyRevs[dirtyCount++] = vIn;
+            while (stem != uOut) {
+                // insert the next stem node into the thread list
+                nextStem = parent[stem];
+                thread[last] = nextStem;
+                dirtyRevs[dirtyCount++] = last;
+
+                // remove the subtree of stem from the thread list
+                before = revThread[stem];
+                thread[before] = after;
+                revThread[after] = before;
+
+                // change the parent node and shift stem nodes
+                parent[stem] = parStem;
+                parStem = stem;
+                stem = nextStem;
+
+                // update last and after
+                last = lastSucc[stem] == lastSucc[parStem] ? revThread[parStem] : lastSucc[stem];
+                after = thread[last];
+            }
+            parent[uOut] = parStem;
+            thread[last] = threadContinue;
+            revThread[threadContinue] = last;
+            lastSucc[uOut] = last;
+
+            // remove the subtree of u_out from the thread list, except when the old reverse
+            // thread equals v_in
+            if (oldRevThread != vIn) {
+                thread[oldRevThread] = after;
+                revThread[after] = oldRevThread;
+            }
+
+            for (int i = 0; i < dirtyCount; i++) {
+                int u = dirtyRevs[i];
+                revThread[thread[u]] = u;
+            }
+
+            // update pred, pred direction, last successor and subtree size along the stem
+            int tmpSc = 0, tmpLs = lastSucc[uOut];
+            for (int u = uOut, p = parent[u]; u != uIn; u = p, p = parent[u]) {
+                pred[u] = pred[p];
+                predDir[u] = -predDir[p];
+                tmpSc += succNum[u] - succNum[p];
+                succNum[u] = tmpSc;
+                lastSucc[p] = tmpLs;
+            }
+            pred[uIn] = inArc;
+            predDir[uIn] = uIn == source[inArc] ? DIR_UP : DIR_DOWN;
+            succNum[uIn] = oldSuccNum;
+        }
+
+        // update last successors from v_in towards the root
+        int upLimitOut = lastSucc[join] == vIn ? join : -1;
+        int lastSuccOut = lastSucc[uOut];
+        for (int u = vIn; u != -1 && lastSucc[u] == vIn; u = parent[u]) {
+            lastSucc[u] = lastSuccOut;
+        }
+
+        // update last successors from v_out towards the root
+        if (join != oldRevThread && vIn != oldRevThread) {
+            for (int u = vOut; u != upLimitOut && lastSucc[u] == oldLastSucc; u = parent[u]) {
+                lastSucc[u] = oldRevThread;
+            }
+        } else if (lastSuccOut != oldLastSucc) {
+            for (int u = vOut; u != upLimitOut && lastSucc[u] == oldLastSucc; u = parent[u]) {
+                lastSucc[u] = lastSuccOut;
+            }
+        }
+
+        // update subtree sizes from v_in and v_out to the join node
+        for (int u = vIn; u != join; u = parent[u]) {
+            succNum[u] += oldSuccNum;
+        }
+        for (int u = vOut; u != join; u = parent[u]) {
+            succNum[u] -= oldSuccNum;
+        }
+    }
+
+    /**
+     * Updates the potentials of the subtree which has been re-rooted at u_in, such that the
+     * reduced cost of the entering arc becomes zero.
+     */
+    private void updatePotential()
+    {
+        double sigma = pi[vIn] - pi[uIn] - predDir[uIn] * cost[inArc];
+        int end = thread[lastSucc[uIn]];
+        for (int u = uIn; u != end; u = thread[u]) {
+            pi[u] += sigma;
+        }
+    }
+
+    /**
+     * Creates the solution of the original problem by restoring the lower capacities.
+     *
+     * @return the solution to the minimum cost flow problem
+     */
+    private MinimumCostFlow<E> finish()
+    {
+        Map<E, Double> flowMap = CollectionUtil.newHashMapWithExpectedSize(m);
+        double totalCost = 0;
+        for (int i = 0; i < m; i++) {
+            double flowOnArc = flow[i] + lower[i];
+            flowMap.put(graphEdges.get(i), flowOnArc);
+            totalCost += flowOnArc * cost[i];
+        }
+        return new MinimumCostFlowImpl<>(totalCost, flowMap);
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.isomorphism;
+
+import org.jgrapht.*;
+import org.jgrapht.util.*;
+
+import java.util.*;
+import java.util.function.*;
+
+/**
+ * Isomorphism inspector which compares the {@link CanonicalLabeling canonical forms} of two
+ * graphs. In contrast to {@link ColorRefinementIsomorphismInspector} the inspector always decides
+ * whether the graphs are isomorphic, including regular graphs where color refinement alone cannot
+ * distinguish any vertices.
+ *
+ * <p>
+ * If the graphs are isomorphic, a single isomorphism is reported, which maps each vertex of the
+ * first graph to the vertex of the second graph with the same canonical label. When many graphs
+ * need to be compared against each other, it is more efficient to compute their
+ * {@link CanonicalLabeling#getCertificate() certificates} once and compare those directly.
+ *
+ * <p>
+ * This implementation does not support graphs with multiple (parallel) edges.
+ *
+ * @param <V> the type of the vertices
+ * @param <E> the type of the edges
+ */
+public class CanonicalFormIsomorphismInspector<V, E>
+    implements
+    IsomorphismInspector<V, E>
+{
+    private final Graph<V, E> graph1;
+    private final Graph<V, E> graph2;
+    private final CanonicalLabeling<V, E> labeling1;
+    private final CanonicalLabeling<V, E> labeling2;
+
+    private Boolean isIsomorphic;
+
+    /**
+     * Construct a new inspector for unlabeled graphs.
+     *
+     * @param graph1 the first graph
+     * @param graph2 the second graph
+     */
+    public CanonicalFormIsomorphismInspector(Graph<V, E> graph1, Graph<V, E> graph2)
+    {
+        this(graph1, graph2, null, null);
+    }
+
+    /**
+     * Construct a new inspector for labeled graphs. Isomorphisms must preserve the labels of the
+     * vertices and the edges.
+     *
+     * @param graph1 the first graph
+     * @param graph2 the second graph
+     * @param vertexLabels function which provides the label of each vertex, or null if vertices
+     *        are unlabeled
+     * @param edgeLabels function which provides the label of each edge, or null if edges are
+     *        unlabeled
+     */
+    public CanonicalFormIsomorphismInspector(
+        Graph<V, E> graph1, Graph<V, E> graph2, Function<V, String> vertexLabels,
+        Function<E, String> edgeLabels)
+    {
+        GraphType type1 = graph1.getType();
+        GraphType type2 = graph2.getType();
+        if (type1.isUndirected() && type2.isDirected()
+            || type1.isDirected() && type2.isUndirected())
+        {
+            throw new IllegalArgumentException("can not match directed with undirected graphs");
+        }
+        this.graph1 = graph1;
+        this.graph2 = graph2;
+        this.labeling1 = new CanonicalLabeling<>(graph1, vertexLabels, edgeLabels);
+        this.labeling2 = new CanonicalLabeling<>(graph2, vertexLabels, edgeLabels);
+    }
+
+    @Override
+    public Iterator<GraphMapping<V, E>> getMappings()
+    {
+        if (!isomorphismExists()) {
+            return Collections.emptyIterator();
+        }
+        List<V> order1 = labeling1.getCanonicalOrder();
+        List<V> order2 = labeling2.getCanonicalOrder();
+        int n = order1.size();
+        Map<V, V> forward = CollectionUtil.newHashMapWithExpectedSize(n);
+        Map<V, V> backward = CollectionUtil.newHashMapWithExpectedSize(n);
+        for (int i = 0; i < n; i++) {
+            forward.put(order1.get(i), order2.get(i));
+            backward.put(order2.get(i), order1.get(i));
+        }
+        GraphMapping<V, E> mapping =
+            new IsomorphicGraphMapping<>(forward, backward, graph1, graph2);
+        return Collections.singletonList(mapping).iterator();
+    }
+
+    @Override
+    public boolean isomorphismExists()
+    {
+        if (isIsomorphic == null) {
+            isIsomorphic = graph1.vertexSet().size() == graph2.vertexSet().size()
+                && graph1.edgeSet().size() == graph2.edgeSet().size()
+                && labeling1.getCertificate().equals(labeling2.getCertificate());
+        }
+        return isIsomorphic;
+    }
+}
@@ -0,0 +1,596 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.isomorphism;
+
+import org.jgrapht.*;
+import org.jgrapht.util.*;
+
+import java.io.*;
+import java.util.*;
+import java.util.function.*;
+
+/**
+ * Computes a canonical labeling of a graph using the individualization-refinement paradigm.
+ *
+ * <p>
+ * A canonical labeling assigns to each vertex a position in $\{0, \dots, n-1\}$ such that two
+ * graphs are isomorphic if and only if relabeling them by their canonical labelings produces the
+ * same graph. The relabeled graph is summarized in a {@link Certificate}, which can be compared
+ * using {@link Certificate#equals(Object)} and stored in hash based collections. Deduplicating a
+ * large collection of graphs up to isomorphism therefore only requires one canonical labeling per
+ * graph and a hash table lookup, instead of pairwise isomorphism tests.
+ *
+ * <p>
+ * The algorithm follows the scheme of nauty and bliss, see B. D. McKay and A. Piperno. Practical
+ * graph isomorphism, II. Journal of Symbolic Computation, 60:94--112, 2014. Starting from the
+ * partition of the vertices by their labels, the partition is refined by color refinement
+ * (1-dimensional Weisfeiler-Leman) until it is equitable. If the partition is not discrete, each
+ * vertex of the first smallest non-singleton cell is individualized in turn and the search
+ * continues recursively. Each leaf of the search tree is a discrete partition and thus a labeling;
+ * the canonical labeling is the one whose relabeled graph is maximum in a fixed total order.
+ * Automorphisms, discovered as pairs of leaves producing the same relabeled graph, are used to
+ * prune the search tree: children of a node which lie in the same orbit of the automorphisms
+ * fixing the node are explored only once, and when a leaf is found to be equivalent to an earlier
+ * leaf the search jumps back to the node where the two paths diverge.
+ *
+ * <p>
+ * Vertex and edge labels can optionally be provided as strings, e.g. the element and bond type of
+ * a molecule. Labels are part of the certificate and isomorphisms must preserve them.
+ *
+ * <p>
+ * The implementation targets small and medium sized graphs. Graphs with multiple (parallel) edges
+ * or mixed graphs are not supported; self-loops are supported.
+ *
+ * @param <V> the type of the vertices
+ * @param <E> the type of the edges
+ */
+public class CanonicalLabeling<V, E>
+{
+    private final Graph<V, E> graph;
+    private final Function<V, String> vertexLabels;
+    private final Function<E, String> edgeLabels;
+    private final boolean directed;
+
+    private int n;
+    private List<V> indexToVertex;
+    private String[] vertexLabelTable;
+    private String[] edgeLabelTable;
+    private int edgeLabelCount;
+    private int[] initialColors;
+    private int[][] outAdj;
+    private int[][] outLabel;
+    private int[][] inAdj;
+    private int[][] inLabel;
+
+    // search state
+    private int[] firstCode;
+    private int[] firstInverse;
+    private int[] firstPath;
+    private int[] bestCode;
+    private int[] bestInverse;
+    private int[] bestPath;
+    private List<int[]> automorphisms;
+
+    private List<V> canonicalOrder;
+    private Certificate certificate;
+
+    /**
+     * Create a new canonical labeling for an unlabeled graph.
+     *
+     * @param graph the input graph
+     */
+    public CanonicalLabeling(Graph<V, E> graph)
+    {
+        this(graph, null, null);
+    }
+
+    /**
+     * Create a new canonical labeling for a graph with vertex and edge labels.
+     *
+     * @param graph the input graph
+     * @param vertexLabels function which provides the label of each vertex, or null if vertices
+     *        are unlabeled
+     * @param edgeLabels function which provides the label of each edge, or null if edges are
+     *        unlabeled
+     */
+    public CanonicalLabeling(
+        Graph<V, E> graph, Function<V, String> vertexLabels, Function<E, String> edgeLabels)
+    {
+        GraphType type = graph.getType();
+        if (type.isAllowingMultipleEdges()) {
+            throw new IllegalArgumentException(
+                "graphs with multiple (parallel) edges are not supported");
+        }
+        if (type.isMixed()) {
+            throw new IllegalArgumentException("mixed graphs not supported");
+        }
+        this.graph = graph;
+        this.vertexLabels = vertexLabels;
+        this.edgeLabels = edgeLabels;
+        this.directed = type.isDirected();
+    }
+
+    /**
+     * Get the vertices of the graph in canonical order. The vertex at index $i$ has canonical
+     * label $i$.
+     *
+     * @return the vertices in canonical order
+     */
+    public List<V> getCanonicalOrder()
+    {
+        lazyCompute();
+        return canonicalOrder;
+    }
+
+    /**
+     * Get the canonical labels of the vertices.
+     *
+     * @return a map from each vertex to its canonical label
+     */
+    public Map<V, Integer> getCanonicalLabels()
+    {
+        lazyCompute();
+        Map<V, Integer> labels = CollectionUtil.newHashMapWithExpectedSize(n);
+        for (int i = 0; i < n; i++) {
+            labels.put(canonicalOrder.get(i), i);
+        }
+        return labels;
+    }
+
+    /**
+     * Get the certificate of the graph. Two graphs have equal certificates if and only if they are
+     * isomorphic (respecting vertex and edge labels).
+     *
+     * @return the certificate
+     */
+    public Certificate getCertificate()
+    {
+        lazyCompute();
+        return certificate;
+    }
+
+    private void lazyCompute()
+    {
+        if (certificate != null) {
+            return;
+        }
+        initialize();
+
+        automorphisms = new ArrayList<>();
+        if (n > 0) {
+            int[] colors = initialColors.clone();
+            refine(colors);
+            search(colors, 0, new int[n]);
+        } else {
+            bestCode = new int[0];
+            bestInverse = new int[0];
+        }
+
+        V[] order = TypeUtil.uncheckedCast(new Object[n]);
+        for (int p = 0; p < n; p++) {
+            order[p] = indexToVertex.get(bestInverse[p]);
+        }
+        canonicalOrder = Collections.unmodifiableList(Arrays.asList(order));
+
+        // vertex labels by canonical position followed by the relabeled adjacency
+        int[] code = new int[n + bestCode.length];
+        for (int p = 0; p < n; p++) {
+            code[p] = initialColors[bestInverse[p]];
+        }
+        System.arraycopy(bestCode, 0, code, n, bestCode.length);
+        certificate = new Certificate(directed, n, vertexLabelTable, edgeLabelTable, code);
+
+        // release memory
+        outAdj = outLabel = inAdj = inLabel = null;
+        firstCode = firstInverse = firstPath = bestCode = bestInverse = bestPath = null;
+        automorphisms = null;
+    }
+
+    private void initialize()
+    {
+        VertexToIntegerMapping<V> mapping = new VertexToIntegerMapping<>(graph.vertexSet());
+        indexToVertex = mapping.getIndexList();
+        Map<V, Integer> vertexToIndex = mapping.getVertexMap();
+        n = indexToVertex.size();
+
+        // the initial color of a vertex is the rank of its label
+        String[] labels = new String[n];
+        TreeSet<String> distinct = new TreeSet<>();
+        for (int v = 0; v < n; v++) {
+            labels[v] = vertexLabels == null ? "" : vertexLabels.apply(indexToVertex.get(v));
+            distinct.add(labels[v]);
+        }
+        vertexLabelTable = distinct.toArray(new String[0]);
+        initialColors = new int[n];
+        for (int v = 0; v < n; v++) {
+            initialColors[v] = Arrays.binarySearch(vertexLabelTable, labels[v]);
+        }
+
+        // edge labels
+        TreeSet<String> distinctEdgeLabels = new TreeSet<>();
+        if (edgeLabels != null) {
+            for (E e : graph.edgeSet()) {
+                distinctEdgeLabels.add(edgeLabels.apply(e));
+            }
+        }
+        edgeLabelTable = distinctEdgeLabels.toArray(new String[0]);
+        edgeLabelCount = Math.max(1, edgeLabelTable.length);
+
+        outAdj = new int[n][];
+        outLabel = new int[n][];
+        if (directed) {
+            inAdj = new int[n][];
+            inLabel = new int[n][];
+        }
+        for (int v = 0; v < n; v++) {
+            V vertex = indexToVertex.get(v);
+            buildAdjacency(v, graph.outgoingEdgesOf(vertex), vertexToIndex, outAdj, outLabel);
+            if (directed) {
+                buildAdjacency(v, graph.incomingEdgesOf(vertex), vertexToIndex, inAdj, inLabel);
+            }
+        }
+    }
+
+    private void buildAdjacency(
+        int v, Set<E> edges, Map<V, Integer> vertexToIndex, int[][] adj, int[][] label)
+    {
+        V vertex = indexToVertex.get(v);
+        int[] a = new int[edges.size()];
+        int[] l = new int[edges.size()];
+        int i = 0;
+        for (E e : edges) {
+            a[i] = vertexToIndex.get(Graphs.getOppositeVertex(graph, e, vertex));
+            l[i] = edgeLabels == null ? 0
+                : Arrays.binarySearch(edgeLabelTable, edgeLabels.apply(e));
+            i++;
+        }
+        adj[v] = a;
+        label[v] = l;
+    }
+
+    /**
+     * Refine an ordered partition until it is equitable. Colors are dense ranks $0, \dots, k-1$.
+     * In each round, the new color of a vertex is the rank of its signature, consisting of its
+     * current color and the sorted colors of its neighbors. Since the signature starts with the
+     * current color, the relative order of the existing cells is preserved.
+     *
+     * @param colors the colors, modified in place
+     * @return the number of cells
+     */
+    private int refine(int[] colors)
+    {
+        int cells = countColors(colors);
+        int[][] signatures = new int[n][];
+        Integer[] sorted = new Integer[n];
+        while (cells < n) {
+            for (int v = 0; v < n; v++) {
+                signatures[v] = signature(v, colors);
+                sorted[v] = v;
+            }
+            Arrays.sort(sorted, (a, b) -> Arrays.compare(signatures[a], signatures[b]));
+            int rank = 0;
+            colors[sorted[0]] = 0;
+            for (int i = 1; i < n; i++) {
+                if (Arrays.compare(signatures[sorted[i - 1]], signatures[sorted[i]]) != 0) {
+                    rank++;
+                }
+                colors[sorted[i]] = rank;
+            }
+            if (rank + 1 == cells) {
+                break;
+            }
+            cells = rank + 1;
+        }
+        return cells;
+    }
+
+    private int[] signature(int v, int[] colors)
+    {
+        int[] out = outAdj[v];
+        int[] in = directed ? inAdj[v] : null;
+        int size = 1 + out.length + (directed ? 1 + in.length : 0);
+        int[] sig = new int[size];
+        sig[0] = colors[v];
+        for (int i = 0; i < out.length; i++) {
+            sig[1 + i] = colors[out[i]] * edgeLabelCount + outLabel[v][i];
+        }
+        Arrays.sort(sig, 1, 1 + out.length);
+        if (directed) {
+            int offset = 2 + out.length;
+            sig[offset - 1] = -1;
+            for (int i = 0; i < in.length; i++) {
+                sig[offset + i] = colors[in[i]] * edgeLabelCount + inLabel[v][i];
+            }
+            Arrays.sort(sig, offset, size);
+        }
+        return sig;
+    }
+
+    private int countColors(int[] colors)
+    {
+        int max = -1;
+        for (int c : colors) {
+            max = Math.max(max, c);
+        }
+        return max + 1;
+    }
+
+    /**
+     * Explore the search tree node with the given (equitable) partition.
+     *
+     * @param colors the partition of the node
+     * @param level the number of individualized vertices
+     * @param path the individualized vertices
+     * @return the level of the node where the search should continue
+     */
+    private int search(int[] colors, int level, int[] path)
+    {
+        int cells = countColors(colors);
+        if (cells == n) {
+            return leaf(colors, level, path);
+        }
+
+        // target cell: the first smallest non-singleton cell
+        int[] cellSize = new int[cells];
+        for (int c : colors) {
+            cellSize[c]++;
+        }
+        int target = -1;
+        for (int c = 0; c < cells; c++) {
+            if (cellSize[c] > 1 && (target == -1 || cellSize[c] < cellSize[target])) {
+                target = c;
+            }
+        }
+
+        int[] orbits = new int[n];
+        for (int v = 0; v < n; v++) {
+            orbits[v] = v;
+        }
+        int usedAutomorphisms = 0;
+        List<Integer> explored = new ArrayList<>();
+
+        for (int v = 0; v < n; v++) {
+            if (colors[v] != target) {
+                continue;
+            }
+            // update orbits with newly found automorphisms fixing the path
+            for (; usedAutomorphisms < automorphisms.size(); usedAutomorphisms++) {
+                int[] gamma = automorphisms.get(usedAutomorphisms);
+                if (fixes(gamma, path, level)) {
+                    for (int u = 0; u < n; u++) {
+                        union(orbits, u, gamma[u]);
+                    }
+                }
+            }
+            if (inExploredOrbit(orbits, explored, v)) {
+                continue;
+            }
+            explored.add(v);
+
+            path[level] = v;
+            int[] child = individualize(colors, v);
+            refine(child);
+            int back = search(child, level + 1, path);
+            if (back < level) {
+                return back;
+            }
+        }
+        return level;
+    }
+
+    private int leaf(int[] colors, int level, int[] path)
+    {
+        int[] inverse = new int[n];
+        for (int v = 0; v < n; v++) {
+            inverse[colors[v]] = v;
+        }
+        int[] code = leafCode(colors, inverse);
+
+        if (firstCode == null) {
+            firstCode = code;
+            firstInverse = inverse;
+            firstPath = Arrays.copyOf(path, level);
+            bestCode = code;
+            bestInverse = inverse;
+            bestPath = firstPath;
+            return Integer.MAX_VALUE;
+        }
+
+        if (Arrays.equals(code, firstCode)) {
+            automorphisms.add(automorphism(colors, firstInverse));
+            return divergence(path, level, firstPath);
+        }
+        int cmp = Arrays.compare(code, bestCode);
+        if (cmp == 0) {
+            automorphisms.add(automorphism(colors, bestInverse));
+            return divergence(path, level, bestPath);
+        }
+        if (cmp > 0) {
+            bestCode = code;
+            bestInverse = inverse;
+            bestPath = Arrays.copyOf(path, level);
+        }
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * Encode the graph relabeled by a discrete partition. For each position the out-neighbors are
+     * listed as sorted (position, edge label) codes preceded by their count.
+     */
+    private int[] leafCode(int[] colors, int[] inverse)
+    {
+        int size = n;
+        for (int v = 0; v < n; v++) {
+            size += outAdj[v].length;
+        }
+        int[] code = new int[size];
+        int pos = 0;
+        for (int p = 0; p < n; p++) {
+            int v = inverse[p];
+            int[] adj = outAdj[v];
+            code[pos++] = adj.length;
+            int first = pos;
+            for (int i = 0; i < adj.length; i++) {
+                code[pos++] = colors[adj[i]] * edgeLabelCount + outLabel[v][i];
+            }
+            Arrays.sort(code, first, pos);
+        }
+        return code;
+    }
+
+    /**
+     * The automorphism mapping each vertex of the current leaf to the vertex of another leaf at the
+     * same position.
+     */
+    private int[] automorphism(int[] colors, int[] otherInverse)
+    {
+        int[] gamma = new int[n];
+        for (int v = 0; v < n; v++) {
+            gamma[v] = otherInverse[colors[v]];
+        }
+        return gamma;
+    }
+
+    private static int divergence(int[] path, int level, int[] other)
+    {
+        int i = 0;
+        while (i < level && i < other.length && path[i] == other[i]) {
+            i++;
+        }
+        return i;
+    }
+
+    private static boolean fixes(int[] gamma, int[] path, int level)
+    {
+        for (int i = 0; i < level; i++) {
+            if (gamma[path[i]] != path[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Individualize a vertex: it gets the first color of its cell and the rest of the cell the
+     * next color.
+     */
+    private int[] individualize(int[] colors, int v)
+    {
+        int c = colors[v];
+        int[] result = new int[n];
+        for (int u = 0; u < n; u++) {
+            int cu = colors[u];
+            result[u] = cu > c || (cu == c && u != v) ? cu + 1 : cu;
+        }
+        return result;
+    }
+
+    private static boolean inExploredOrbit(int[] orbits, List<Integer> explored, int v)
+    {
+        int root = find(orbits, v);
+        for (int u : explored) {
+            if (find(orbits, u) == root) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int find(int[] parent, int x)
+    {
+        while (parent[x] != x) {
+            parent[x] = parent[parent[x]];
+            x = parent[x];
+        }
+        return x;
+    }
+
+    private static void union(int[] parent, int x, int y)
+    {
+        int rx = find(parent, x);
+        int ry = find(parent, y);
+        if (rx != ry) {
+            parent[Math.max(rx, ry)] = Math.min(rx, ry);
+        }
+    }
+
+    /**
+     * A certificate of a graph, i.e. an encoding of the graph relabeled by its canonical labeling.
+     * Two certificates are equal if and only if the graphs they were computed from are isomorphic.
+     */
+    public static final class Certificate
+        implements
+        Serializable
+    {
+        private static final long serialVersionUID = 4105826398127467520L;
+
+        private final boolean directed;
+        private final int vertexCount;
+        private final String[] vertexLabels;
+        private final String[] edgeLabels;
+        private final int[] code;
+        private final int hash;
+
+        Certificate(
+            boolean directed, int vertexCount, String[] vertexLabels, String[] edgeLabels,
+            int[] code)
+        {
+            this.directed = directed;
+            this.vertexCount = vertexCount;
+            this.vertexLabels = vertexLabels;
+            this.edgeLabels = edgeLabels;
+            this.code = code;
+            int h = Boolean.hashCode(directed);
+            h = 31 * h + vertexCount;
+            h = 31 * h + Arrays.hashCode(vertexLabels);
+            h = 31 * h + Arrays.hashCode(edgeLabels);
+            h = 31 * h + Arrays.hashCode(code);
+            this.hash = h;
+        }
+
+        /**
+         * @return the number of vertices of the graph
+         */
+        public int getVertexCount()
+        {
+            return vertexCount;
+        }
+
+        @Override
+        public boolean equals(Object o)
+        {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Certificate)) {
+                return false;
+            }
+            Certificate other = (Certificate) o;
+            return hash == other.hash && directed == other.directed
+                && vertexCount == other.vertexCount && Arrays.equals(code, other.code)
+                && Arrays.equals(vertexLabels, other.vertexLabels)
+                && Arrays.equals(edgeLabels, other.edgeLabels);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return hash;
+        }
+    }
+}
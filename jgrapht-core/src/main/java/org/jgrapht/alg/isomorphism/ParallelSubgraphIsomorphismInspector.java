@@ -0,0 +1,639 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.isomorphism;
+
+import org.jgrapht.*;
+import org.jgrapht.util.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import java.util.function.*;
+
+/**
+ * Parallel induced subgraph isomorphism inspector for large target graphs and small patterns.
+ *
+ * <p>
+ * The inspector finds the same mappings as {@link VF2SubgraphIsomorphismInspector}, i.e.
+ * isomorphisms between the second (pattern) graph and
+ * <a href="http://mathworld.wolfram.com/Vertex-InducedSubgraph.html">induced subgraphs</a> of the
+ * first (target) graph. It differs in the way the search is organized:
+ * <ul>
+ * <li>The adjacency of both graphs is stored in compressed sparse row format with sorted
+ * neighbors. Memory consumption is therefore linear in the size of the graphs instead of quadratic
+ * as in {@link GraphOrdering}.</li>
+ * <li>The pattern vertices are matched in a static order where every vertex, after the first one
+ * of each connected component, is adjacent to some earlier vertex. Candidates for a pattern vertex
+ * are only taken from the neighborhood of the image of such an earlier vertex, choosing the one of
+ * smallest degree.</li>
+ * <li>Candidates are pruned using their in- and out-degrees, self-loops, the vertex comparator and
+ * the edges to the already matched vertices, before the search descends.</li>
+ * <li>The search uses preallocated primitive arrays and does not allocate while backtracking.</li>
+ * <li>The search trees rooted at different candidates for the first pattern vertex are explored in
+ * parallel using a {@link ForkJoinPool}. Ranges of root candidates are split recursively, so that
+ * idle threads steal the remaining work of busy ones.</li>
+ * </ul>
+ *
+ * <p>
+ * Method {@link #getMappings()} returns a lazy sequential iterator. Methods
+ * {@link #forEachMapping(Consumer)} and {@link #isomorphismExists()} use multiple threads.
+ *
+ * <p>
+ * This implementation does not support graphs with multiple (parallel) edges.
+ *
+ * @param <V> the type of the vertices
+ * @param <E> the type of the edges
+ */
+public class ParallelSubgraphIsomorphismInspector<V, E>
+    implements
+    IsomorphismInspector<V, E>
+{
+    /**
+     * Default value for the parallelism.
+     */
+    private static final int DEFAULT_PARALLELISM = Runtime.getRuntime().availableProcessors();
+    /**
+     * Number of root ranges per thread, used to compute the granularity of the parallel tasks.
+     */
+    private static final int TASKS_TO_THREADS_RATIO = 32;
+
+    private final Graph<V, E> graph1;
+    private final Graph<V, E> graph2;
+    private final Comparator<V> vertexComparator;
+    private final Comparator<E> edgeComparator;
+    private final int parallelism;
+    private final boolean directed;
+
+    private SparseGraphOrdering<V, E> target;
+    private SparseGraphOrdering<V, E> pattern;
+
+    /**
+     * Pattern vertex numbers in matching order.
+     */
+    private int[] order;
+    /**
+     * For each position, the earlier positions $j$ with an edge from the pattern vertex at the
+     * position to the pattern vertex at $j$.
+     */
+    private int[][] earlierOut;
+    /**
+     * For each position, the earlier positions $j$ with an edge from the pattern vertex at $j$ to
+     * the pattern vertex at the position. Only used for directed graphs.
+     */
+    private int[][] earlierIn;
+    private boolean[] hasLoop;
+
+    /**
+     * Construct a new inspector.
+     *
+     * @param graph1 the first graph
+     * @param graph2 the second graph (possible induced subgraph of graph1)
+     * @param vertexComparator comparator for semantic equivalence of vertices
+     * @param edgeComparator comparator for semantic equivalence of edges
+     * @param parallelism maximum number of threads used in the computations
+     */
+    public ParallelSubgraphIsomorphismInspector(
+        Graph<V, E> graph1, Graph<V, E> graph2, Comparator<V> vertexComparator,
+        Comparator<E> edgeComparator, int parallelism)
+    {
+        GraphType type1 = graph1.getType();
+        GraphType type2 = graph2.getType();
+        if (type1.isAllowingMultipleEdges() || type2.isAllowingMultipleEdges()) {
+            throw new IllegalArgumentException(
+                "graphs with multiple (parallel) edges are not supported");
+        }
+        if (type1.isMixed() || type2.isMixed()) {
+            throw new IllegalArgumentException("mixed graphs not supported");
+        }
+        if (type1.isUndirected() && type2.isDirected()
+            || type1.isDirected() && type2.isUndirected())
+        {
+            throw new IllegalArgumentException("can not match directed with undirected graphs");
+        }
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+
+        this.graph1 = graph1;
+        this.graph2 = graph2;
+        this.vertexComparator = vertexComparator;
+        this.edgeComparator = edgeComparator;
+        this.parallelism = parallelism;
+        this.directed = type1.isDirected();
+    }
+
+    /**
+     * Construct a new inspector which uses all available processors.
+     *
+     * @param graph1 the first graph
+     * @param graph2 the second graph (possible induced subgraph of graph1)
+     * @param vertexComparator comparator for semantic equivalence of vertices
+     * @param edgeComparator comparator for semantic equivalence of edges
+     */
+    public ParallelSubgraphIsomorphismInspector(
+        Graph<V, E> graph1, Graph<V, E> graph2, Comparator<V> vertexComparator,
+        Comparator<E> edgeComparator)
+    {
+        this(graph1, graph2, vertexComparator, edgeComparator, DEFAULT_PARALLELISM);
+    }
+
+    /**
+     * Construct a new inspector which uses all available processors.
+     *
+     * @param graph1 the first graph
+     * @param graph2 the second graph (possible induced subgraph of graph1)
+     */
+    public ParallelSubgraphIsomorphismInspector(Graph<V, E> graph1, Graph<V, E> graph2)
+    {
+        this(graph1, graph2, null, null, DEFAULT_PARALLELISM);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * The returned iterator explores the search space sequentially and lazily.
+     */
+    @Override
+    public Iterator<GraphMapping<V, E>> getMappings()
+    {
+        lazyInit();
+        if (!mayMatch()) {
+            return Collections.emptyIterator();
+        }
+        if (order.length == 0) {
+            return Collections.singletonList(toMapping(new int[0])).iterator();
+        }
+        Matcher matcher = new Matcher();
+        matcher.reset(0, target.getVertexCount());
+        return new Iterator<GraphMapping<V, E>>()
+        {
+            private Boolean hasNext;
+
+            @Override
+            public boolean hasNext()
+            {
+                if (hasNext == null) {
+                    hasNext = matcher.next();
+                }
+                return hasNext;
+            }
+
+            @Override
+            public GraphMapping<V, E> next()
+            {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                hasNext = null;
+                return toMapping(matcher.image);
+            }
+        };
+    }
+
+    @Override
+    public boolean isomorphismExists()
+    {
+        lazyInit();
+        if (!mayMatch()) {
+            return false;
+        }
+        if (order.length == 0) {
+            return true;
+        }
+        AtomicBoolean found = new AtomicBoolean(false);
+        search(image -> {
+            found.set(true);
+            return false;
+        });
+        return found.get();
+    }
+
+    /**
+     * Compute all mappings and report them to a consumer. The search is performed in parallel and
+     * the consumer is invoked concurrently from multiple threads, therefore it must be thread-safe.
+     * The order in which the mappings are reported is unspecified.
+     *
+     * @param consumer the consumer of the mappings
+     */
+    public void forEachMapping(Consumer<GraphMapping<V, E>> consumer)
+    {
+        Objects.requireNonNull(consumer);
+        lazyInit();
+        if (!mayMatch()) {
+            return;
+        }
+        if (order.length == 0) {
+            consumer.accept(toMapping(new int[0]));
+            return;
+        }
+        search(image -> {
+            consumer.accept(toMapping(image));
+            return true;
+        });
+    }
+
+    private boolean mayMatch()
+    {
+        return graph1.vertexSet().size() >= graph2.vertexSet().size()
+            && graph1.edgeSet().size() >= graph2.edgeSet().size();
+    }
+
+    /**
+     * Run the search over all root candidates.
+     *
+     * @param onMatch invoked with the target vertex numbers of each mapping, by pattern position;
+     *        returns false in order to stop the search
+     */
+    private void search(Predicate<int[]> onMatch)
+    {
+        int n = target.getVertexCount();
+        AtomicBoolean stop = new AtomicBoolean(false);
+
+        if (parallelism == 1) {
+            Matcher matcher = new Matcher();
+            matcher.reset(0, n);
+            while (matcher.next()) {
+                if (!onMatch.test(matcher.image)) {
+                    return;
+                }
+            }
+            return;
+        }
+
+        ThreadLocal<Matcher> matchers = ThreadLocal.withInitial(Matcher::new);
+        int grain = Math.max(1, n / (parallelism * TASKS_TO_THREADS_RATIO));
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.invoke(new RootRangeTask(0, n, grain, matchers, onMatch, stop));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private GraphMapping<V, E> toMapping(int[] image)
+    {
+        int k = order.length;
+        Map<V, V> forward = CollectionUtil.newHashMapWithExpectedSize(k);
+        Map<V, V> backward = CollectionUtil.newHashMapWithExpectedSize(k);
+        for (int i = 0; i < k; i++) {
+            V v1 = target.getVertex(image[i]);
+            V v2 = pattern.getVertex(order[i]);
+            forward.put(v1, v2);
+            backward.put(v2, v1);
+        }
+        return new IsomorphicGraphMapping<>(forward, backward, graph1, graph2);
+    }
+
+    private void lazyInit()
+    {
+        if (target != null) {
+            return;
+        }
+        target = new SparseGraphOrdering<>(graph1);
+        pattern = new SparseGraphOrdering<>(graph2);
+        computeMatchingOrder();
+    }
+
+    /**
+     * Compute the order in which pattern vertices are matched. Each step selects the vertex with
+     * the most edges to already selected vertices, breaking ties by degree.
+     */
+    private void computeMatchingOrder()
+    {
+        int k = pattern.getVertexCount();
+        order = new int[k];
+        int[] position = new int[k];
+        Arrays.fill(position, -1);
+        int[] connections = new int[k];
+
+        for (int i = 0; i < k; i++) {
+            int best = -1;
+            for (int p = 0; p < k; p++) {
+                if (position[p] != -1) {
+                    continue;
+                }
+                if (best == -1 || connections[p] > connections[best]
+                    || connections[p] == connections[best] && degree(p) > degree(best))
+                {
+                    best = p;
+                }
+            }
+            order[i] = best;
+            position[best] = i;
+            for (int j = pattern.outStart[best]; j < pattern.outStart[best + 1]; j++) {
+                connections[pattern.outAdj[j]]++;
+            }
+            if (directed) {
+                for (int j = pattern.inStart[best]; j < pattern.inStart[best + 1]; j++) {
+                    connections[pattern.inAdj[j]]++;
+                }
+            }
+        }
+
+        earlierOut = new int[k][];
+        earlierIn = new int[k][];
+        hasLoop = new boolean[k];
+        for (int i = 0; i < k; i++) {
+            int p = order[i];
+            hasLoop[i] = pattern.hasEdge(p, p);
+            earlierOut[i] = earlierPositions(pattern.outAdj, pattern.outStart, p, position, i);
+            earlierIn[i] = directed
+                ? earlierPositions(pattern.inAdj, pattern.inStart, p, position, i) : earlierOut[i];
+        }
+    }
+
+    private int degree(int p)
+    {
+        return pattern.outDegree(p) + (directed ? pattern.inDegree(p) : 0);
+    }
+
+    private static int[] earlierPositions(int[] adj, int[] start, int p, int[] position, int i)
+    {
+        int count = 0;
+        for (int j = start[p]; j < start[p + 1]; j++) {
+            if (position[adj[j]] < i) {
+                count++;
+            }
+        }
+        int[] result = new int[count];
+        count = 0;
+        for (int j = start[p]; j < start[p + 1]; j++) {
+            if (position[adj[j]] < i) {
+                result[count++] = position[adj[j]];
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Depth-first search over the pattern positions using an explicit stack. A matcher is reused
+     * for different ranges of root candidates.
+     */
+    private class Matcher
+    {
+        /**
+         * Target vertex number assigned to each pattern position.
+         */
+        final int[] image;
+        private final boolean[] used;
+        private final int[][] candidates;
+        private final int[] candidatePos;
+        private final int[] candidateEnd;
+        private int depth;
+
+        Matcher()
+        {
+            int k = order.length;
+            this.image = new int[k];
+            this.used = new boolean[target.getVertexCount()];
+            this.candidates = new int[k][];
+            this.candidatePos = new int[k];
+            this.candidateEnd = new int[k];
+        }
+
+        /**
+         * Restart the search with the first pattern vertex mapped only to target vertices in
+         * $[from, to)$.
+         *
+         * @param from first root candidate (inclusive)
+         * @param to last root candidate (exclusive)
+         */
+        void reset(int from, int to)
+        {
+            for (int i = 0; i < depth && i < image.length; i++) {
+                used[image[i]] = false;
+            }
+            depth = 0;
+            candidates[0] = null;
+            candidatePos[0] = from;
+            candidateEnd[0] = to;
+        }
+
+        /**
+         * Advance to the next complete mapping.
+         *
+         * @return true if a mapping has been found, false if the search space is exhausted
+         */
+        boolean next()
+        {
+            int k = image.length;
+            if (depth == k) {
+                // resume after the previously reported mapping
+                depth--;
+                used[image[depth]] = false;
+            }
+
+            while (depth >= 0) {
+                int t = nextCandidate(depth);
+                if (t == -1) {
+                    depth--;
+                    if (depth >= 0) {
+                        used[image[depth]] = false;
+                    }
+                    continue;
+                }
+                if (!isFeasible(depth, t)) {
+                    continue;
+                }
+                image[depth] = t;
+                used[t] = true;
+                depth++;
+                if (depth == k) {
+                    return true;
+                }
+                initCandidates(depth);
+            }
+            depth = 0;
+            candidatePos[0] = candidateEnd[0];
+            return false;
+        }
+
+        private int nextCandidate(int i)
+        {
+            int pos = candidatePos[i];
+            if (pos >= candidateEnd[i]) {
+                return -1;
+            }
+            candidatePos[i] = pos + 1;
+            int[] c = candidates[i];
+            return c == null ? pos : c[pos];
+        }
+
+        /**
+         * Candidates of a position are the neighbors of the image of the earlier adjacent
+         * position having the smallest degree, or all target vertices if no such position exists.
+         */
+        private void initCandidates(int i)
+        {
+            int[] array = null;
+            int from = 0;
+            int to = target.getVertexCount();
+            for (int j : earlierOut[i]) {
+                // the candidate must be an in-neighbor of the image of j
+                int u = image[j];
+                if (array == null || target.inStart[u + 1] - target.inStart[u] < to - from) {
+                    array = target.inAdj;
+                    from = target.inStart[u];
+                    to = target.inStart[u + 1];
+                }
+            }
+            if (directed) {
+                for (int j : earlierIn[i]) {
+                    int u = image[j];
+                    if (array == null || target.outStart[u + 1] - target.outStart[u] < to - from) {
+                        array = target.outAdj;
+                        from = target.outStart[u];
+                        to = target.outStart[u + 1];
+                    }
+                }
+            }
+            candidates[i] = array;
+            candidatePos[i] = from;
+            candidateEnd[i] = to;
+        }
+
+        private boolean isFeasible(int i, int t)
+        {
+            if (used[t]) {
+                return false;
+            }
+            int p = order[i];
+            if (target.outDegree(t) < pattern.outDegree(p)
+                || directed && target.inDegree(t) < pattern.inDegree(p))
+            {
+                return false;
+            }
+            if (target.hasEdge(t, t) != hasLoop[i]) {
+                return false;
+            }
+            if (vertexComparator != null
+                && vertexComparator.compare(target.getVertex(t), pattern.getVertex(p)) != 0)
+            {
+                return false;
+            }
+
+            // edges to matched vertices which are required by the pattern
+            for (int j : earlierOut[i]) {
+                int u = image[j];
+                if (!target.hasEdge(t, u)) {
+                    return false;
+                }
+                if (edgeComparator != null && edgeComparator
+                    .compare(target.getEdge(t, u), pattern.getEdge(p, order[j])) != 0)
+                {
+                    return false;
+                }
+            }
+            if (directed) {
+                for (int j : earlierIn[i]) {
+                    int u = image[j];
+                    if (!target.hasEdge(u, t)) {
+                        return false;
+                    }
+                    if (edgeComparator != null && edgeComparator
+                        .compare(target.getEdge(u, t), pattern.getEdge(order[j], p)) != 0)
+                    {
+                        return false;
+                    }
+                }
+            }
+
+            // induced: no other edges to matched vertices
+            if (countMatched(t, i, target.outAdj, target.outStart, true) != earlierOut[i].length) {
+                return false;
+            }
+            return !directed || countMatched(
+                t, i, target.inAdj, target.inStart, false) == earlierIn[i].length;
+        }
+
+        /**
+         * Count the matched neighbors of a target vertex, either by scanning its neighborhood or by
+         * testing each matched vertex, whichever is cheaper.
+         */
+        private int countMatched(int t, int i, int[] adj, int[] start, boolean outgoing)
+        {
+            int count = 0;
+            if (start[t + 1] - start[t] <= i) {
+                for (int j = start[t]; j < start[t + 1]; j++) {
+                    if (used[adj[j]]) {
+                        count++;
+                    }
+                }
+            } else {
+                for (int j = 0; j < i; j++) {
+                    if (outgoing ? target.hasEdge(t, image[j]) : target.hasEdge(image[j], t)) {
+                        count++;
+                    }
+                }
+            }
+            return count;
+        }
+    }
+
+    /**
+     * Task which explores the search trees rooted at a range of target vertices.
+     */
+    private class RootRangeTask
+        extends
+        RecursiveAction
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+        private final int grain;
+        private final ThreadLocal<Matcher> matchers;
+        private final Predicate<int[]> onMatch;
+        private final AtomicBoolean stop;
+
+        RootRangeTask(
+            int from, int to, int grain, ThreadLocal<Matcher> matchers, Predicate<int[]> onMatch,
+            AtomicBoolean stop)
+        {
+            this.from = from;
+            this.to = to;
+            this.grain = grain;
+            this.matchers = matchers;
+            this.onMatch = onMatch;
+            this.stop = stop;
+        }
+
+        @Override
+        protected void compute()
+        {
+            if (stop.get()) {
+                return;
+            }
+            if (to - from > grain) {
+                int mid = (from + to) >>> 1;
+                invokeAll(
+                    new RootRangeTask(from, mid, grain, matchers, onMatch, stop),
+                    new RootRangeTask(mid, to, grain, matchers, onMatch, stop));
+                return;
+            }
+            Matcher matcher = matchers.get();
+            matcher.reset(from, to);
+            while (!stop.get() && matcher.next()) {
+                if (!onMatch.test(matcher.image)) {
+                    stop.set(true);
+                }
+            }
+        }
+    }
+}
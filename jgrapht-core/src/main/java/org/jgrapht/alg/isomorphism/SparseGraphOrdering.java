@@ -0,0 +1,184 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.isomorphism;
+
+import org.jgrapht.*;
+import org.jgrapht.util.*;
+
+import java.util.*;
+
+/**
+ * A numbering of the graph vertices together with a compressed sparse row representation of its
+ * adjacency. In contrast to {@link GraphOrdering} the memory consumption is linear in the size of
+ * the graph, which makes this representation suitable for very large graphs.
+ *
+ * <p>
+ * Neighbors of each vertex are stored sorted, thus edge existence can be tested using binary
+ * search. For undirected graphs the incoming and outgoing adjacency coincide.
+ *
+ * @param <V> the type of the vertices
+ * @param <E> the type of the edges
+ */
+class SparseGraphOrdering<V, E>
+{
+    private final Graph<V, E> graph;
+    private final List<V> indexToVertex;
+    private final Map<V, Integer> vertexToIndex;
+
+    final int[] outStart;
+    final int[] outAdj;
+    final int[] inStart;
+    final int[] inAdj;
+
+    /**
+     * Create a new ordering.
+     *
+     * @param graph the graph
+     */
+    SparseGraphOrdering(Graph<V, E> graph)
+    {
+        this.graph = graph;
+
+        VertexToIntegerMapping<V> mapping = new VertexToIntegerMapping<>(graph.vertexSet());
+        this.indexToVertex = mapping.getIndexList();
+        this.vertexToIndex = mapping.getVertexMap();
+
+        int n = indexToVertex.size();
+        this.outStart = new int[n + 1];
+        this.outAdj = buildAdjacency(true, outStart);
+        if (graph.getType().isDirected()) {
+            this.inStart = new int[n + 1];
+            this.inAdj = buildAdjacency(false, inStart);
+        } else {
+            this.inStart = outStart;
+            this.inAdj = outAdj;
+        }
+    }
+
+    private int[] buildAdjacency(boolean outgoing, int[] start)
+    {
+        int n = indexToVertex.size();
+        int total = 0;
+        for (int v = 0; v < n; v++) {
+            V vertex = indexToVertex.get(v);
+            total += outgoing ? graph.outDegreeOf(vertex) : graph.inDegreeOf(vertex);
+        }
+
+        int[] adj = new int[total];
+        int pos = 0;
+        for (int v = 0; v < n; v++) {
+            V vertex = indexToVertex.get(v);
+            start[v] = pos;
+            Set<E> edges = outgoing ? graph.outgoingEdgesOf(vertex) : graph.incomingEdgesOf(vertex);
+            int first = pos;
+            for (E e : edges) {
+                adj[pos++] = vertexToIndex.get(Graphs.getOppositeVertex(graph, e, vertex));
+            }
+            Arrays.sort(adj, first, pos);
+
+            // remove duplicates
+            int last = first;
+            for (int i = first + 1; i < pos; i++) {
+                if (adj[i] != adj[last]) {
+                    adj[++last] = adj[i];
+                }
+            }
+            pos = pos > first ? last + 1 : first;
+        }
+        start[n] = pos;
+        return pos == adj.length ? adj : Arrays.copyOf(adj, pos);
+    }
+
+    /**
+     * @return the underlying graph
+     */
+    Graph<V, E> getGraph()
+    {
+        return graph;
+    }
+
+    /**
+     * @return the number of vertices
+     */
+    int getVertexCount()
+    {
+        return indexToVertex.size();
+    }
+
+    /**
+     * @param vertexNumber the vertex number
+     * @return the vertex with the given number
+     */
+    V getVertex(int vertexNumber)
+    {
+        return indexToVertex.get(vertexNumber);
+    }
+
+    /**
+     * @param vertex the vertex
+     * @return the number of the vertex
+     */
+    int getVertexNumber(V vertex)
+    {
+        return vertexToIndex.get(vertex);
+    }
+
+    /**
+     * @param v the vertex number
+     * @return the number of distinct out-neighbors of $v$
+     */
+    int outDegree(int v)
+    {
+        return outStart[v + 1] - outStart[v];
+    }
+
+    /**
+     * @param v the vertex number
+     * @return the number of distinct in-neighbors of $v$
+     */
+    int inDegree(int v)
+    {
+        return inStart[v + 1] - inStart[v];
+    }
+
+    /**
+     * Test whether there exists an edge from $u$ to $v$.
+     *
+     * @param u the source vertex number
+     * @param v the target vertex number
+     * @return true if an edge exists, false otherwise
+     */
+    boolean hasEdge(int u, int v)
+    {
+        if (outStart[u + 1] - outStart[u] <= inStart[v + 1] - inStart[v]) {
+            return Arrays.binarySearch(outAdj, outStart[u], outStart[u + 1], v) >= 0;
+        } else {
+            return Arrays.binarySearch(inAdj, inStart[v], inStart[v + 1], u) >= 0;
+        }
+    }
+
+    /**
+     * @param u the source vertex number
+     * @param v the target vertex number
+     * @return an edge from $u$ to $v$ or null if no such edge exists
+     */
+    E getEdge(int u, int v)
+    {
+        return graph.getEdge(indexToVertex.get(u), indexToVertex.get(v));
+    }
+}
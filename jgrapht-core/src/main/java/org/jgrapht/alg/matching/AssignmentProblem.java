@@ -0,0 +1,124 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.matching;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.MatchingAlgorithm.*;
+
+import java.util.*;
+
+/**
+ * A dense assignment problem defined by a complete bipartite graph with equally sized partitions.
+ * The vertices of the first partition correspond to the rows of a cost matrix and the vertices of
+ * the second partition to its columns.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ */
+class AssignmentProblem<V, E>
+{
+    private final Graph<V, E> graph;
+    private final List<V> rows;
+    private final List<V> columns;
+    private final double[][] cost;
+
+    /**
+     * Validates the input and builds the cost matrix.
+     *
+     * @param graph the input graph
+     * @param partition1 the first partition of the vertex set
+     * @param partition2 the second partition of the vertex set
+     * @throws IllegalArgumentException if the graph is not a simple complete bipartite graph with
+     *         equally sized partitions
+     */
+    AssignmentProblem(Graph<V, E> graph, Set<? extends V> partition1, Set<? extends V> partition2)
+    {
+        if (partition1.size() != partition2.size()) {
+            throw new IllegalArgumentException(
+                "Graph supplied isn't complete bipartite with equally sized partitions!");
+        }
+        if (!GraphTests.isBipartitePartition(graph, partition1, partition2)) {
+            throw new IllegalArgumentException("Invalid bipartite partition provided");
+        }
+        int n = partition1.size();
+        if (graph.edgeSet().size() != (long) n * n) {
+            throw new IllegalArgumentException(
+                "Graph supplied isn't complete bipartite with equally sized partitions!");
+        }
+        if (!GraphTests.isSimple(graph)) {
+            throw new IllegalArgumentException("Only simple graphs supported");
+        }
+
+        this.graph = graph;
+        this.rows = new ArrayList<>(partition1);
+        this.columns = new ArrayList<>(partition2);
+        Map<V, Integer> index = new HashMap<>();
+        for (int i = 0; i < n; i++) {
+            index.put(rows.get(i), i);
+            index.put(columns.get(i), i);
+        }
+        this.cost = new double[n][n];
+        for (E e : graph.edgeSet()) {
+            V source = graph.getEdgeSource(e);
+            V target = graph.getEdgeTarget(e);
+            if (partition1.contains(source)) {
+                cost[index.get(source)][index.get(target)] = graph.getEdgeWeight(e);
+            } else {
+                cost[index.get(target)][index.get(source)] = graph.getEdgeWeight(e);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of rows, which equals the number of columns.
+     *
+     * @return the size of the problem
+     */
+    int size()
+    {
+        return rows.size();
+    }
+
+    /**
+     * Returns the cost matrix, indexed by row and column.
+     *
+     * @return the cost matrix
+     */
+    double[][] cost()
+    {
+        return cost;
+    }
+
+    /**
+     * Converts an assignment of columns to rows into a matching of the graph.
+     *
+     * @param columnOfRow the column assigned to every row
+     * @return the matching
+     */
+    Matching<V, E> toMatching(int[] columnOfRow)
+    {
+        Set<E> edges = new HashSet<>();
+        double weight = 0d;
+        for (int i = 0; i < columnOfRow.length; i++) {
+            E e = graph.getEdge(rows.get(i), columns.get(columnOfRow[i]));
+            edges.add(e);
+            weight += graph.getEdgeWeight(e);
+        }
+        return new MatchingImpl<>(graph, edges, weight);
+    }
+}
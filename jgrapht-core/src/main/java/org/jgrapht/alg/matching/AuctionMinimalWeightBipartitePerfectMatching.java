@@ -0,0 +1,451 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.matching;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Bertsekas' auction algorithm for the <i>assignment problem</i>, that is for computing a perfect
+ * matching of minimum weight in a complete bipartite graph $G = (S, T; E)$ with $|S| = |T|$.
+ *
+ * <p>
+ * The vertices of the first partition (persons) bid for the vertices of the second partition
+ * (objects), raising their prices, until every person is assigned to an object. A bid of a person
+ * raises the price of its best object by the difference between the values of its best and its
+ * second best object plus $\epsilon$. This implementation uses the combined forward/reverse
+ * variant, in which unassigned objects alternately bid for persons as well, lowering their own
+ * prices. The direction is switched whenever the number of assigned pairs has increased, which
+ * guarantees termination. Bidding is done in the Jacobi fashion: all unassigned persons (or
+ * objects) compute their bids in parallel and afterwards every contested vertex is awarded to the
+ * highest bidder.
+ *
+ * <p>
+ * The algorithm uses $\epsilon$-scaling: it is run several times with decreasing values of
+ * $\epsilon$, starting every run from the prices of the previous one. The weight of the computed
+ * matching is at most $n \epsilon$ larger than the minimum, where $\epsilon$ is the final value.
+ * If all edge weights are integers, the final value is chosen below $1/n$, which guarantees that
+ * the computed matching has minimum weight. Otherwise the final value is the specified epsilon.
+ * In both cases the final value is raised to at least $n$ times the floating point precision of
+ * the edge weights, since a smaller value would be lost to rounding when prices are raised.
+ *
+ * <p>
+ * For more details see: D. P. Bertsekas. The auction algorithm for assignment and other network
+ * flow problems: A tutorial. Interfaces, 20(4):133-149, 1990.
+ *
+ * <p>
+ * For parallelization, this implementation relies on the {@link ExecutorService}.
+ *
+ * @see JonkerVolgenantMinimalWeightBipartitePerfectMatching
+ * @see KuhnMunkresMinimalWeightBipartitePerfectMatching
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ */
+public class AuctionMinimalWeightBipartitePerfectMatching<V, E>
+    implements
+    MatchingAlgorithm<V, E>
+{
+    /**
+     * Default value for the parallelism.
+     */
+    private static final int DEFAULT_PARALLELISM = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Factor by which $\epsilon$ is decreased between two runs of the auction.
+     */
+    private static final double SCALING_FACTOR = 5;
+
+    /**
+     * Minimum number of matrix entries scanned in one round for which the bids are computed in
+     * parallel.
+     */
+    private static final int PARALLEL_THRESHOLD = 1 << 15;
+
+    private static final int NONE = -1;
+
+    private final Graph<V, E> graph;
+    private final Set<? extends V> partition1;
+    private final Set<? extends V> partition2;
+    private final int parallelism;
+    private final double epsilon;
+
+    /**
+     * Construct a new instance of the algorithm which uses as many threads as there are available
+     * processors.
+     *
+     * @param graph the input graph
+     * @param partition1 the first partition of the vertex set
+     * @param partition2 the second partition of the vertex set
+     */
+    public AuctionMinimalWeightBipartitePerfectMatching(
+        Graph<V, E> graph, Set<? extends V> partition1, Set<? extends V> partition2)
+    {
+        this(graph, partition1, partition2, DEFAULT_PARALLELISM);
+    }
+
+    /**
+     * Construct a new instance of the algorithm.
+     *
+     * @param graph the input graph
+     * @param partition1 the first partition of the vertex set
+     * @param partition2 the second partition of the vertex set
+     * @param parallelism maximum number of threads used in the computation
+     */
+    public AuctionMinimalWeightBipartitePerfectMatching(
+        Graph<V, E> graph, Set<? extends V> partition1, Set<? extends V> partition2,
+        int parallelism)
+    {
+        this(graph, partition1, partition2, parallelism, DEFAULT_EPSILON);
+    }
+
+    /**
+     * Construct a new instance of the algorithm.
+     *
+     * @param graph the input graph
+     * @param partition1 the first partition of the vertex set
+     * @param partition2 the second partition of the vertex set
+     * @param parallelism maximum number of threads used in the computation
+     * @param epsilon the final value of $\epsilon$ if some edge weights are not integers
+     */
+    public AuctionMinimalWeightBipartitePerfectMatching(
+        Graph<V, E> graph, Set<? extends V> partition1, Set<? extends V> partition2,
+        int parallelism, double epsilon)
+    {
+        if (graph == null) {
+            throw new IllegalArgumentException("Input graph cannot be null");
+        }
+        this.graph = graph;
+        if (partition1 == null) {
+            throw new IllegalArgumentException("Partition 1 cannot be null");
+        }
+        this.partition1 = partition1;
+        if (partition2 == null) {
+            throw new IllegalArgumentException("Partition 2 cannot be null");
+        }
+        this.partition2 = partition2;
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+        this.parallelism = parallelism;
+        if (epsilon <= 0) {
+            throw new IllegalArgumentException("Epsilon must be positive");
+        }
+        this.epsilon = epsilon;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Matching<V, E> getMatching()
+    {
+        AssignmentProblem<V, E> problem = new AssignmentProblem<>(graph, partition1, partition2);
+        int n = problem.size();
+        if (n == 0) {
+            return problem.toMatching(new int[0]);
+        }
+
+        ExecutorService executor = parallelism > 1 ? Executors.newFixedThreadPool(parallelism) : null;
+        try {
+            return problem.toMatching(new Auction(problem.cost(), executor).solve());
+        } finally {
+            if (executor != null) {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    /**
+     * The state of a single execution of the algorithm. In the terminology of the auction
+     * algorithm the value of row $i$ for column $j$ is $-c_{ij}$, and the algorithm maintains the
+     * $\epsilon$-complementary slackness condition $\pi_i + p_j \ge -c_{ij} - \epsilon$ for all
+     * rows $i$ and columns $j$, with equality for the assigned pairs, where $p$ are the prices of
+     * the columns and $\pi$ are the profits of the rows.
+     */
+    private class Auction
+    {
+        private final int n;
+        private final double[][] cost;
+        private final ExecutorService executor;
+
+        private final double[] price;
+        private final double[] profit;
+        private final int[] columnOfRow;
+        private final int[] rowOfColumn;
+        private int assigned;
+
+        /* the bidders of the current round, their targets and bids */
+        private final int[] bidders;
+        private final int[] target;
+        private final double[] bid;
+        /* the highest bid received by each vertex in the current round */
+        private final int[] bestBidder;
+        private final double[] bestBid;
+
+        Auction(double[][] cost, ExecutorService executor)
+        {
+            this.n = cost.length;
+            this.cost = cost;
+            this.executor = executor;
+            this.price = new double[n];
+            this.profit = new double[n];
+            this.columnOfRow = new int[n];
+            this.rowOfColumn = new int[n];
+            this.bidders = new int[n];
+            this.target = new int[n];
+            this.bid = new double[n];
+            this.bestBidder = new int[n];
+            this.bestBid = new double[n];
+            Arrays.fill(bestBidder, NONE);
+        }
+
+        int[] solve()
+        {
+            if (n == 1) {
+                columnOfRow[0] = 0;
+                return columnOfRow;
+            }
+
+            double min = Double.POSITIVE_INFINITY;
+            double max = Double.NEGATIVE_INFINITY;
+            boolean integral = true;
+            for (double[] row : cost) {
+                for (double c : row) {
+                    min = Math.min(min, c);
+                    max = Math.max(max, c);
+                    integral &= c == Math.rint(c);
+                }
+            }
+            double finalEpsilon = integral ? 1d / (n + 1) : epsilon;
+            /*
+             * Bids are computed from sums of costs and prices. An epsilon below the precision of
+             * these sums would be absorbed by rounding, prices would stop rising and bidding would
+             * never end.
+             */
+            double magnitude = Math.max(Math.abs(min), Math.abs(max)) + (max - min);
+            finalEpsilon = Math.max(finalEpsilon, n * Math.ulp(magnitude));
+
+            double eps = Math.max(finalEpsilon, (max - min) / SCALING_FACTOR);
+            while (true) {
+                run(eps);
+                if (eps <= finalEpsilon) {
+                    return columnOfRow;
+                }
+                eps = Math.max(finalEpsilon, eps / SCALING_FACTOR);
+            }
+        }
+
+        /**
+         * Runs the auction for a fixed $\epsilon$ starting from the current prices, until all rows
+         * are assigned.
+         */
+        private void run(double eps)
+        {
+            Arrays.fill(columnOfRow, NONE);
+            Arrays.fill(rowOfColumn, NONE);
+            assigned = 0;
+            // make the profits consistent with the current prices
+            execute(n, (from, to) -> {
+                for (int i = from; i < to; i++) {
+                    double best = Double.NEGATIVE_INFINITY;
+                    for (int j = 0; j < n; j++) {
+                        best = Math.max(best, -cost[i][j] - price[j]);
+                    }
+                    profit[i] = best;
+                }
+            });
+
+            boolean forward = true;
+            while (assigned < n) {
+                int goal = assigned + 1;
+                while (assigned < goal) {
+                    if (forward) {
+                        forwardRound(eps);
+                    } else {
+                        reverseRound(eps);
+                    }
+                }
+                forward = !forward;
+            }
+        }
+
+        /**
+         * All unassigned rows bid for their best column.
+         */
+        private void forwardRound(double eps)
+        {
+            int count = 0;
+            for (int i = 0; i < n; i++) {
+                if (columnOfRow[i] == NONE) {
+                    bidders[count++] = i;
+                }
+            }
+            execute(count, (from, to) -> {
+                for (int k = from; k < to; k++) {
+                    int i = bidders[k];
+                    double[] row = cost[i];
+                    int best = NONE;
+                    double bestValue = Double.NEGATIVE_INFINITY;
+                    double secondValue = Double.NEGATIVE_INFINITY;
+                    for (int j = 0; j < n; j++) {
+                        double value = -row[j] - price[j];
+                        if (value > bestValue) {
+                            secondValue = bestValue;
+                            bestValue = value;
+                            best = j;
+                        } else if (value > secondValue) {
+                            secondValue = value;
+                        }
+                    }
+                    target[k] = best;
+                    bid[k] = -row[best] - secondValue + eps;
+                }
+            });
+
+            int awarded = award(count);
+            for (int k = 0; k < awarded; k++) {
+                int j = bidders[k];
+                int i = bestBidder[j];
+                bestBidder[j] = NONE;
+                int previous = rowOfColumn[j];
+                if (previous == NONE) {
+                    assigned++;
+                } else {
+                    columnOfRow[previous] = NONE;
+                }
+                rowOfColumn[j] = i;
+                columnOfRow[i] = j;
+                price[j] = bestBid[j];
+                profit[i] = -cost[i][j] - price[j];
+            }
+        }
+
+        /**
+         * All unassigned columns bid for their best row.
+         */
+        private void reverseRound(double eps)
+        {
+            int count = 0;
+            for (int j = 0; j < n; j++) {
+                if (rowOfColumn[j] == NONE) {
+                    bidders[count++] = j;
+                }
+            }
+            execute(count, (from, to) -> {
+                for (int k = from; k < to; k++) {
+                    int j = bidders[k];
+                    int best = NONE;
+                    double bestValue = Double.NEGATIVE_INFINITY;
+                    double secondValue = Double.NEGATIVE_INFINITY;
+                    for (int i = 0; i < n; i++) {
+                        double value = -cost[i][j] - profit[i];
+                        if (value > bestValue) {
+                            secondValue = bestValue;
+                            bestValue = value;
+                            best = i;
+                        } else if (value > secondValue) {
+                            secondValue = value;
+                        }
+                    }
+                    target[k] = best;
+                    bid[k] = -cost[best][j] - secondValue + eps;
+                }
+            });
+
+            int awarded = award(count);
+            for (int k = 0; k < awarded; k++) {
+                int i = bidders[k];
+                int j = bestBidder[i];
+                bestBidder[i] = NONE;
+                int previous = columnOfRow[i];
+                if (previous == NONE) {
+                    assigned++;
+                } else {
+                    rowOfColumn[previous] = NONE;
+                }
+                columnOfRow[i] = j;
+                rowOfColumn[j] = i;
+                profit[i] = bestBid[i];
+                price[j] = -cost[i][j] - profit[i];
+            }
+        }
+
+        /**
+         * Determines the highest bid for every target. The targets which received a bid are
+         * stored in place of the bidders.
+         *
+         * @return the number of targets which received a bid
+         */
+        private int award(int count)
+        {
+            int awarded = 0;
+            for (int k = 0; k < count; k++) {
+                int t = target[k];
+                if (bestBidder[t] == NONE) {
+                    target[awarded++] = t;
+                    bestBidder[t] = bidders[k];
+                    bestBid[t] = bid[k];
+                } else if (bid[k] > bestBid[t]) {
+                    bestBidder[t] = bidders[k];
+                    bestBid[t] = bid[k];
+                }
+            }
+            System.arraycopy(target, 0, bidders, 0, awarded);
+            return awarded;
+        }
+
+        /**
+         * Processes the range $[0, count)$ in chunks, in parallel if the amount of work is large
+         * enough.
+         */
+        private void execute(int count, RangeTask task)
+        {
+            if (executor == null || (long) count * n < PARALLEL_THRESHOLD || count < parallelism) {
+                task.run(0, count);
+                return;
+            }
+
+            List<Future<?>> futures = new ArrayList<>(parallelism);
+            for (int chunk = 0; chunk < parallelism; chunk++) {
+                int from = (int) ((long) count * chunk / parallelism);
+                int to = (int) ((long) count * (chunk + 1) / parallelism);
+                futures.add(executor.submit(() -> task.run(from, to)));
+            }
+            try {
+                for (Future<?> f : futures) {
+                    f.get();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(e);
+            } catch (ExecutionException e) {
+                throw new RuntimeException(e.getCause());
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface RangeTask
+    {
+        void run(int from, int to);
+    }
+}
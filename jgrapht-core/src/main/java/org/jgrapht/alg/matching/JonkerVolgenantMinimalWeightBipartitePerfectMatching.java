@@ -0,0 +1,330 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.matching;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.*;
+
+import java.util.*;
+
+/**
+ * Jonker-Volgenant algorithm (LAPJV) for the <i>assignment problem</i>, that is for computing a
+ * perfect matching of minimum weight in a complete bipartite graph $G = (S, T; E)$ with $|S| =
+ * |T|$. The edge weights can be arbitrary real numbers.
+ *
+ * <p>
+ * The algorithm works on a dense cost matrix and consists of an initialization and an augmentation
+ * phase. The initialization performs a column reduction, a reduction transfer and two rounds of
+ * augmenting row reduction. Usually it assigns most of the rows cheaply. The remaining unassigned
+ * rows are then assigned one at a time along shortest augmenting paths, which are found by a
+ * Dijkstra-like search over the reduced costs. The running time is $O(n^3)$ in the worst case, but
+ * on typical instances the algorithm is much faster than
+ * {@link KuhnMunkresMinimalWeightBipartitePerfectMatching}.
+ *
+ * <p>
+ * For more details see: R. Jonker and A. Volgenant. A shortest augmenting path algorithm for dense
+ * and sparse linear assignment problems. Computing, 38(4):325-340, 1987.
+ *
+ * @see KuhnMunkresMinimalWeightBipartitePerfectMatching
+ * @see AuctionMinimalWeightBipartitePerfectMatching
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ */
+public class JonkerVolgenantMinimalWeightBipartitePerfectMatching<V, E>
+    implements
+    MatchingAlgorithm<V, E>
+{
+    private static final int NONE = -1;
+
+    private final Graph<V, E> graph;
+    private final Set<? extends V> partition1;
+    private final Set<? extends V> partition2;
+
+    /**
+     * Construct a new instance of the algorithm.
+     *
+     * @param graph the input graph
+     * @param partition1 the first partition of the vertex set
+     * @param partition2 the second partition of the vertex set
+     */
+    public JonkerVolgenantMinimalWeightBipartitePerfectMatching(
+        Graph<V, E> graph, Set<? extends V> partition1, Set<? extends V> partition2)
+    {
+        if (graph == null) {
+            throw new IllegalArgumentException("Input graph cannot be null");
+        }
+        this.graph = graph;
+        if (partition1 == null) {
+            throw new IllegalArgumentException("Partition 1 cannot be null");
+        }
+        this.partition1 = partition1;
+        if (partition2 == null) {
+            throw new IllegalArgumentException("Partition 2 cannot be null");
+        }
+        this.partition2 = partition2;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Matching<V, E> getMatching()
+    {
+        AssignmentProblem<V, E> problem = new AssignmentProblem<>(graph, partition1, partition2);
+        return problem.toMatching(new Solver(problem.cost()).solve());
+    }
+
+    /**
+     * The actual implementation on the cost matrix.
+     */
+    private static class Solver
+    {
+        private final int n;
+        private final double[][] cost;
+
+        /* column potentials */
+        private final double[] v;
+        /* the column assigned to every row */
+        private final int[] columnOfRow;
+        /* the row assigned to every column */
+        private final int[] rowOfColumn;
+
+        /* unassigned rows */
+        private int[] free;
+        private int freeNum;
+
+        Solver(double[][] cost)
+        {
+            this.n = cost.length;
+            this.cost = cost;
+            this.v = new double[n];
+            this.columnOfRow = new int[n];
+            this.rowOfColumn = new int[n];
+            Arrays.fill(columnOfRow, NONE);
+            Arrays.fill(rowOfColumn, NONE);
+        }
+
+        int[] solve()
+        {
+            if (n == 0) {
+                return columnOfRow;
+            }
+            if (n == 1) {
+                columnOfRow[0] = 0;
+                return columnOfRow;
+            }
+            columnReduction();
+            augmentingRowReduction();
+            augmentingRowReduction();
+            for (int k = 0; k < freeNum; k++) {
+                augment(free[k]);
+            }
+            return columnOfRow;
+        }
+
+        /**
+         * Assigns every column to a row of minimum cost, if that row is not yet assigned to a
+         * column of smaller cost, and then transfers the reduction of the rows assigned exactly
+         * once to their columns.
+         */
+        private void columnReduction()
+        {
+            int[] matches = new int[n];
+            for (int j = n - 1; j >= 0; j--) {
+                int iMin = 0;
+                double min = cost[0][j];
+                for (int i = 1; i < n; i++) {
+                    if (cost[i][j] < min) {
+                        min = cost[i][j];
+                        iMin = i;
+                    }
+                }
+                v[j] = min;
+                if (++matches[iMin] == 1) {
+                    columnOfRow[iMin] = j;
+                    rowOfColumn[j] = iMin;
+                } else if (v[j] < v[columnOfRow[iMin]]) {
+                    int j1 = columnOfRow[iMin];
+                    columnOfRow[iMin] = j;
+                    rowOfColumn[j] = iMin;
+                    rowOfColumn[j1] = NONE;
+                }
+            }
+
+            free = new int[n];
+            freeNum = 0;
+            for (int i = 0; i < n; i++) {
+                if (matches[i] == 0) {
+                    free[freeNum++] = i;
+                } else if (matches[i] == 1) {
+                    // reduction transfer
+                    int j1 = columnOfRow[i];
+                    double min = Double.POSITIVE_INFINITY;
+                    for (int j = 0; j < n; j++) {
+                        if (j != j1 && cost[i][j] - v[j] < min) {
+                            min = cost[i][j] - v[j];
+                        }
+                    }
+                    v[j1] -= min;
+                }
+            }
+        }
+
+        /**
+         * Assigns every unassigned row to a column of minimum reduced cost, decreasing the
+         * potential of that column so that it becomes as expensive as the second best column. The
+         * row previously assigned to that column becomes unassigned.
+         */
+        private void augmentingRowReduction()
+        {
+            int k = 0;
+            int previousFreeNum = freeNum;
+            freeNum = 0;
+            while (k < previousFreeNum) {
+                int i = free[k++];
+
+                // find the minimum and the second minimum reduced cost
+                int j1 = 0;
+                double uMin = cost[i][0] - v[0];
+                int j2 = NONE;
+                double uSubMin = Double.POSITIVE_INFINITY;
+                for (int j = 1; j < n; j++) {
+                    double h = cost[i][j] - v[j];
+                    if (h < uSubMin) {
+                        if (h >= uMin) {
+                            uSubMin = h;
+                            j2 = j;
+                        } else {
+                            uSubMin = uMin;
+                            uMin = h;
+                            j2 = j1;
+                            j1 = j;
+                        }
+                    }
+                }
+
+                int i0 = rowOfColumn[j1];
+                if (uMin < uSubMin) {
+                    v[j1] -= uSubMin - uMin;
+                } else if (i0 != NONE) {
+                    // minimum and second minimum are equal, use the second one
+                    j1 = j2;
+                    i0 = rowOfColumn[j2];
+                }
+                columnOfRow[i] = j1;
+                rowOfColumn[j1] = i;
+                if (i0 != NONE) {
+                    columnOfRow[i0] = NONE;
+                    if (uMin < uSubMin) {
+                        // the row is processed again immediately
+                        free[--k] = i0;
+                    } else {
+                        free[freeNum++] = i0;
+                    }
+                }
+            }
+        }
+
+        /**
+         * Assigns a row along a shortest augmenting path with respect to the reduced costs and
+         * updates the column potentials.
+         */
+        private void augment(int freeRow)
+        {
+            double[] d = new double[n];
+            int[] pred = new int[n];
+            // columns in [0, low) are ready, in [low, up) are to be scanned, and the rest are todo
+            int[] columns = new int[n];
+            for (int j = 0; j < n; j++) {
+                d[j] = cost[freeRow][j] - v[j];
+                pred[j] = freeRow;
+                columns[j] = j;
+            }
+
+            int low = 0;
+            int up = 0;
+            int last = 0;
+            int endOfPath = NONE;
+            double min = 0;
+            while (endOfPath == NONE) {
+                if (up == low) {
+                    // find the columns with the new minimum distance
+                    last = low - 1;
+                    min = d[columns[up++]];
+                    for (int k = up; k < n; k++) {
+                        int j = columns[k];
+                        double h = d[j];
+                        if (h <= min) {
+                            if (h < min) {
+                                up = low;
+                                min = h;
+                            }
+                            columns[k] = columns[up];
+                            columns[up++] = j;
+                        }
+                    }
+                    for (int k = low; k < up; k++) {
+                        if (rowOfColumn[columns[k]] == NONE) {
+                            endOfPath = columns[k];
+                            break;
+                        }
+                    }
+                }
+                if (endOfPath == NONE) {
+                    // scan a column with minimum distance
+                    int j1 = columns[low++];
+                    int i = rowOfColumn[j1];
+                    double h = cost[i][j1] - v[j1] - min;
+                    for (int k = up; k < n; k++) {
+                        int j = columns[k];
+                        double distance = cost[i][j] - v[j] - h;
+                        if (distance < d[j]) {
+                            pred[j] = i;
+                            if (distance == min) {
+                                if (rowOfColumn[j] == NONE) {
+                                    endOfPath = j;
+                                    break;
+                                }
+                                columns[k] = columns[up];
+                                columns[up++] = j;
+                            }
+                            d[j] = distance;
+                        }
+                    }
+                }
+            }
+
+            // update the potentials of the ready columns
+            for (int k = 0; k <= last; k++) {
+                int j = columns[k];
+                v[j] += d[j] - min;
+            }
+
+            // augment along the path
+            int i;
+            do {
+                i = pred[endOfPath];
+                rowOfColumn[endOfPath] = i;
+                int j = endOfPath;
+                endOfPath = columnOfRow[i];
+                columnOfRow[i] = j;
+            } while (i != freeRow);
+        }
+    }
+}
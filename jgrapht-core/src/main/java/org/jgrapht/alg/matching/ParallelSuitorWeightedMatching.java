@@ -0,0 +1,304 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.matching;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.util.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+/**
+ * Parallel Suitor algorithm for computing a $\frac{1}{2}$-approximation of a maximum weight
+ * matching in an arbitrary graph. The algorithm computes a locally dominant matching, which is the
+ * same matching computed by {@link GreedyWeightedMatching} without normalization, but it does not
+ * need to sort the edges. This implementation accepts directed and undirected graphs which may
+ * contain self-loops and multiple (parallel) edges. Only edges of positive weight are matched.
+ *
+ * <p>
+ * Every vertex proposes to its heaviest neighbor which has not received a better proposal yet,
+ * thereby becoming the suitor of that neighbor. When the proposal of a vertex is superseded by a
+ * better one, the vertex proposes again. At the end, the vertices which are suitors of each other
+ * are matched. Ties between edges of equal weight are broken by the edge iteration order of the
+ * graph, so that the result does not depend on the order in which the vertices are processed.
+ *
+ * <p>
+ * The vertices are processed in parallel. The suitor of every vertex is stored in an integer array
+ * indexed by vertex and updated using compare-and-set operations, so no locks are needed. The
+ * algorithm performs $O(m \Delta)$ work in the worst case, where $\Delta$ is the maximum degree,
+ * but it is much faster in practice.
+ *
+ * <p>
+ * For more details see: F. Manne and M. Halappanavar. New Effective Multithreaded Matching
+ * Algorithms. IEEE 28th International Parallel and Distributed Processing Symposium, 519-528, 2014.
+ *
+ * <p>
+ * For parallelization, this implementation relies on the {@link ExecutorService}.
+ *
+ * @see GreedyWeightedMatching
+ * @see PathGrowingWeightedMatching
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ */
+public class ParallelSuitorWeightedMatching<V, E>
+    implements
+    MatchingAlgorithm<V, E>
+{
+    /**
+     * Default value for the parallelism.
+     */
+    private static final int DEFAULT_PARALLELISM = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Number of vertices a thread processes at once.
+     */
+    private static final int BLOCK_SIZE = 1024;
+
+    private static final int NONE = -1;
+
+    private final Graph<V, E> graph;
+    private final int parallelism;
+    private final double epsilon;
+
+    /**
+     * Create a new instance of the algorithm which uses as many threads as there are available
+     * processors. Edges with weight at most {@link #DEFAULT_EPSILON} are ignored.
+     *
+     * @param graph the input graph
+     */
+    public ParallelSuitorWeightedMatching(Graph<V, E> graph)
+    {
+        this(graph, DEFAULT_PARALLELISM);
+    }
+
+    /**
+     * Create a new instance of the algorithm. Edges with weight at most {@link #DEFAULT_EPSILON}
+     * are ignored.
+     *
+     * @param graph the input graph
+     * @param parallelism maximum number of threads used in the computation
+     */
+    public ParallelSuitorWeightedMatching(Graph<V, E> graph, int parallelism)
+    {
+        this(graph, parallelism, DEFAULT_EPSILON);
+    }
+
+    /**
+     * Create a new instance of the algorithm.
+     *
+     * @param graph the input graph
+     * @param parallelism maximum number of threads used in the computation
+     * @param epsilon tolerance when comparing floating point values; edges with weight at most
+     *        epsilon are ignored
+     */
+    public ParallelSuitorWeightedMatching(Graph<V, E> graph, int parallelism, double epsilon)
+    {
+        if (graph == null) {
+            throw new IllegalArgumentException("Input graph cannot be null");
+        }
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+        this.graph = graph;
+        this.parallelism = parallelism;
+        this.epsilon = epsilon;
+    }
+
+    /**
+     * Get a matching that is a $\frac{1}{2}$-approximation of the maximum weighted matching.
+     *
+     * @return a matching
+     */
+    @Override
+    public Matching<V, E> getMatching()
+    {
+        VertexToIntegerMapping<V> mapping = new VertexToIntegerMapping<>(graph.vertexSet());
+        Map<V, Integer> vertexMap = mapping.getVertexMap();
+        int n = vertexMap.size();
+
+        // collect the edges which may be matched
+        int m = graph.edgeSet().size();
+        List<E> edges = new ArrayList<>();
+        int[] source = new int[m];
+        int[] target = new int[m];
+        double[] weight = new double[m];
+        int[] start = new int[n + 1];
+        for (E e : graph.edgeSet()) {
+            int s = vertexMap.get(graph.getEdgeSource(e));
+            int t = vertexMap.get(graph.getEdgeTarget(e));
+            double w = graph.getEdgeWeight(e);
+            if (s == t || w <= epsilon) {
+                continue;
+            }
+            int i = edges.size();
+            edges.add(e);
+            source[i] = s;
+            target[i] = t;
+            weight[i] = w;
+            start[s + 1]++;
+            start[t + 1]++;
+        }
+
+        // adjacency arrays of edge indices
+        for (int v = 0; v < n; v++) {
+            start[v + 1] += start[v];
+        }
+        int[] adjacent = new int[start[n]];
+        int[] position = Arrays.copyOf(start, n);
+        for (int i = 0; i < edges.size(); i++) {
+            adjacent[position[source[i]]++] = i;
+            adjacent[position[target[i]]++] = i;
+        }
+
+        Suitor suitor = new Suitor(n, source, target, weight, start, adjacent);
+        suitor.run();
+
+        Set<E> matching = new HashSet<>();
+        double matchingWeight = 0d;
+        for (int v = 0; v < n; v++) {
+            int e = suitor.suitor.get(v);
+            if (e != NONE && source[e] == v && suitor.suitor.get(target[e]) == e) {
+                matching.add(edges.get(e));
+                matchingWeight += weight[e];
+            }
+        }
+        return new MatchingImpl<>(graph, matching, matchingWeight);
+    }
+
+    /**
+     * The state of a single execution of the algorithm.
+     */
+    private class Suitor
+    {
+        private final int n;
+        private final int[] source;
+        private final int[] target;
+        private final double[] weight;
+        private final int[] start;
+        private final int[] adjacent;
+
+        /* the edge of the best proposal received by each vertex */
+        private final AtomicIntegerArray suitor;
+
+        Suitor(int n, int[] source, int[] target, double[] weight, int[] start, int[] adjacent)
+        {
+            this.n = n;
+            this.source = source;
+            this.target = target;
+            this.weight = weight;
+            this.start = start;
+            this.adjacent = adjacent;
+            this.suitor = new AtomicIntegerArray(n);
+            for (int v = 0; v < n; v++) {
+                suitor.set(v, NONE);
+            }
+        }
+
+        void run()
+        {
+            int blocks = (n + BLOCK_SIZE - 1) / BLOCK_SIZE;
+            if (parallelism == 1 || blocks <= 1) {
+                for (int v = 0; v < n; v++) {
+                    propose(v);
+                }
+                return;
+            }
+
+            int threads = Math.min(parallelism, blocks);
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            try {
+                AtomicInteger next = new AtomicInteger();
+                List<Future<?>> futures = new ArrayList<>(threads);
+                for (int i = 0; i < threads; i++) {
+                    futures.add(executor.submit(() -> {
+                        int block;
+                        while ((block = next.getAndIncrement()) < blocks) {
+                            int to = Math.min(n, (block + 1) * BLOCK_SIZE);
+                            for (int v = block * BLOCK_SIZE; v < to; v++) {
+                                propose(v);
+                            }
+                        }
+                    }));
+                }
+                for (Future<?> f : futures) {
+                    f.get();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(e);
+            } catch (ExecutionException e) {
+                throw new RuntimeException(e.getCause());
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+
+        /**
+         * Lets a vertex propose to its best available neighbor. Vertices whose proposals are
+         * superseded propose again.
+         */
+        private void propose(int v)
+        {
+            int current = v;
+            while (current != NONE) {
+                int best = NONE;
+                int bestPrevious = NONE;
+                for (int k = start[current]; k < start[current + 1]; k++) {
+                    int e = adjacent[k];
+                    int u = source[e] == current ? target[e] : source[e];
+                    int previous = suitor.get(u);
+                    if (better(e, previous) && better(e, best)) {
+                        best = e;
+                        bestPrevious = previous;
+                    }
+                }
+                if (best == NONE) {
+                    return;
+                }
+                int partner = source[best] == current ? target[best] : source[best];
+                if (!suitor.compareAndSet(partner, bestPrevious, best)) {
+                    // the partner received another proposal meanwhile, search again
+                    continue;
+                }
+                if (bestPrevious == NONE) {
+                    current = NONE;
+                } else {
+                    // the previous suitor of the partner has to propose again
+                    current = source[bestPrevious] == partner ? target[bestPrevious]
+                        : source[bestPrevious];
+                }
+            }
+        }
+
+        /**
+         * Returns whether an edge precedes another edge in the order of non-increasing weight.
+         * Edges of equal weight are ordered by index.
+         */
+        private boolean better(int e, int f)
+        {
+            if (f == NONE) {
+                return true;
+            }
+            int c = Double.compare(weight[e], weight[f]);
+            return c > 0 || (c == 0 && e < f);
+        }
+    }
+}
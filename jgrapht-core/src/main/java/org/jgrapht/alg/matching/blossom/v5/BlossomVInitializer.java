@@ -134,6 +134,24 @@ class BlossomVInitializer<V, E>
         }
     }
 
+    /**
+     * Converts the generic graph representation into the data structure form convenient for the
+     * algorithm, and initializes the matching and the dual variables from a previously computed
+     * solution. For the description of this initialization strategy see
+     * {@link #warmStartInitialization(BlossomVOptions, Map, Set)}.
+     *
+     * @param options the options of the algorithm
+     * @param duals the previous dual variables of the vertices with respect to the unshifted edge
+     *        weights
+     * @param matching the previous matching
+     * @return the state object with all necessary information for the algorithm
+     */
+    public BlossomVState<V, E> initialize(
+        BlossomVOptions options, Map<V, Double> duals, Set<E> matching)
+    {
+        return warmStartInitialization(options, duals, matching);
+    }
+
     /**
      * Performs simple initialization of the matching by allocating $|V|$ trees. The result of this
      * type of initialization is an empty matching. That is why this is the most basic type of
@@ -173,6 +191,148 @@ class BlossomVInitializer<V, E>
             minEdgeWeight);
     }
 
+    /**
+     * Performs initialization of the algorithm starting from a previously computed solution of a
+     * slightly different problem instance. The previous dual variables of the vertices are used
+     * as the initial dual variables, and the previous matched edges which are still tight are used
+     * as the initial matching. The dual variables of the blossoms are dropped, which can only
+     * increase the slacks of the edges since these variables are non-negative.
+     * <p>
+     * The dual solution is then repaired locally. The dual variable of a new vertex is chosen so
+     * that the slacks of its incident edges are non-negative. For every edge with negative slack,
+     * the dual variable of one of its endpoints is decreased by the violation, preferring unmatched
+     * endpoints; a matched endpoint whose dual variable decreases is unmatched. Decreasing a dual
+     * variable only increases the slacks of the other edges, therefore a single pass over the edges
+     * suffices. Finally, the unmatched vertices are processed greedily in the same way as in the
+     * greedy initialization.
+     *
+     * @param options the options of the algorithm
+     * @param duals the previous dual variables of the vertices with respect to the unshifted edge
+     *        weights
+     * @param matching the previous matching
+     * @return the state object with all necessary information for the algorithm
+     */
+    private BlossomVState<V, E> warmStartInitialization(
+        BlossomVOptions options, Map<V, Double> duals, Set<E> matching)
+    {
+        double minEdgeWeight = initGraph();
+        double dualShift = minEdgeWeight / 2;
+        boolean[] known = new boolean[nodeNum];
+        for (int i = 0; i < nodeNum; i++) {
+            Double dual = duals.get(graphVertices.get(i));
+            if (dual != null) {
+                nodes[i].dual = dual - dualShift;
+                known[i] = true;
+            }
+        }
+        // choose the dual variables of the new vertices
+        for (int i = 0; i < nodeNum; i++) {
+            if (known[i]) {
+                continue;
+            }
+            BlossomVNode node = nodes[i];
+            double dual = INFINITY;
+            for (BlossomVNode.IncidentEdgeIterator iterator = node.incidentEdgesIterator();
+                iterator.hasNext();)
+            {
+                BlossomVEdge edge = iterator.next();
+                BlossomVNode opposite = edge.head[iterator.getDir()];
+                double bound = known[opposite.pos] ? edge.slack - opposite.dual : edge.slack / 2;
+                dual = Math.min(dual, bound);
+            }
+            node.dual = dual == INFINITY ? 0 : dual;
+            known[i] = true;
+        }
+        // restore the previous matching
+        for (int i = 0; i < edgeNum; i++) {
+            BlossomVEdge edge = edges[i];
+            if (matching.contains(graphEdges.get(i)) && edge.head[0].matched == null
+                && edge.head[1].matched == null)
+            {
+                edge.head[0].matched = edge;
+                edge.head[1].matched = edge;
+            }
+        }
+        // repair the dual feasibility
+        double[] cost = new double[edgeNum];
+        for (int i = 0; i < edgeNum; i++) {
+            BlossomVEdge edge = edges[i];
+            cost[i] = edge.slack;
+            BlossomVNode source = edge.head[0];
+            BlossomVNode target = edge.head[1];
+            double slack = cost[i] - source.dual - target.dual;
+            if (slack < 0) {
+                BlossomVNode node =
+                    source.matched != null && target.matched == null ? target : source;
+                node.dual += slack;
+                if (node.matched != null && node.matched != edge) {
+                    node.getOppositeMatched().matched = null;
+                    node.matched = null;
+                }
+            }
+        }
+        for (int i = 0; i < edgeNum; i++) {
+            BlossomVEdge edge = edges[i];
+            edge.slack = Math.max(0, cost[i] - edge.head[0].dual - edge.head[1].dual);
+        }
+        // matched edges must remain tight
+        for (int i = 0; i < edgeNum; i++) {
+            BlossomVEdge edge = edges[i];
+            if (edge.head[0].matched == edge && edge.slack > EPS) {
+                edge.head[0].matched = null;
+                edge.head[1].matched = null;
+            }
+        }
+        int treeNum = nodeNum;
+        for (int i = 0; i < nodeNum; i++) {
+            BlossomVNode node = nodes[i];
+            node.isOuter = true;
+            if (node.matched != null) {
+                node.label = BlossomVNode.Label.INFINITY;
+                treeNum--;
+            }
+        }
+        // greedily increase the dual variables of the unmatched vertices
+        for (int i = 0; i < nodeNum; i++) {
+            BlossomVNode node = nodes[i];
+            if (node.isInfinityNode()) {
+                continue;
+            }
+            double minSlack = INFINITY;
+            for (BlossomVNode.IncidentEdgeIterator iterator = node.incidentEdgesIterator();
+                iterator.hasNext();)
+            {
+                BlossomVEdge edge = iterator.next();
+                if (edge.slack < minSlack) {
+                    minSlack = edge.slack;
+                }
+            }
+            if (minSlack == INFINITY) {
+                continue;
+            }
+            node.dual += minSlack;
+            for (BlossomVNode.IncidentEdgeIterator iterator = node.incidentEdgesIterator();
+                iterator.hasNext();)
+            {
+                BlossomVEdge edge = iterator.next();
+                BlossomVNode opposite = edge.head[iterator.getDir()];
+                if (edge.slack <= minSlack && node.isPlusNode() && opposite.isPlusNode()) {
+                    node.label = BlossomVNode.Label.INFINITY;
+                    opposite.label = BlossomVNode.Label.INFINITY;
+                    node.matched = edge;
+                    opposite.matched = edge;
+                    treeNum -= 2;
+                }
+                edge.slack -= minSlack;
+            }
+        }
+        allocateTrees();
+        initAuxiliaryGraph();
+        return new BlossomVState<>(
+            graph, nodes, edges, nodeNum, edgeNum, treeNum, graphVertices, graphEdges, options,
+            minEdgeWeight);
+    }
+
     /**
      * Performs fractional matching initialization, see {@link BlossomVInitializer#initFractional()}
      * for the description.
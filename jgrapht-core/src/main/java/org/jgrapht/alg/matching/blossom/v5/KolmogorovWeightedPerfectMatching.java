@@ -172,7 +172,7 @@ public class KolmogorovWeightedPerfectMatching<V, E>
     /**
      * The graph we are matching on
      */
-    private final Graph<V, E> graph;
+    private Graph<V, E> graph;
     /**
      * Current state of the algorithm
      */
@@ -202,6 +202,16 @@ public class KolmogorovWeightedPerfectMatching<V, E>
      * resulting perfect matching
      */
     private ObjectiveSense objectiveSense;
+    /**
+     * Dual variables of the vertices of the {@code graph} used to warm start the next computation,
+     * or null if the next computation starts from scratch
+     */
+    private Map<V, Double> warmStartDuals;
+    /**
+     * Matched edges used to warm start the next computation, or null if the next computation
+     * starts from scratch
+     */
+    private Set<E> warmStartMatching;
 
     /**
      * Constructs a new instance of the algorithm using the default options. The goal of the
@@ -255,15 +265,28 @@ public class KolmogorovWeightedPerfectMatching<V, E>
     {
         Objects.requireNonNull(graph);
         this.objectiveSense = objectiveSense;
-        if ((graph.vertexSet().size() & 1) == 1) {
+        this.initialGraph = graph;
+        this.graph = createGraph();
+        this.options = Objects.requireNonNull(options);
+    }
+
+    /**
+     * Returns the graph the algorithm runs on, which depends on the objective sense of the
+     * algorithm.
+     *
+     * @return the graph to match on
+     * @throws IllegalArgumentException if the number of vertices of the graph is odd
+     */
+    private Graph<V, E> createGraph()
+    {
+        if ((initialGraph.vertexSet().size() & 1) == 1) {
             throw new IllegalArgumentException(NO_PERFECT_MATCHING);
         } else if (objectiveSense == MAXIMIZE) {
-            this.graph = new AsWeightedGraph<>(graph, e -> -graph.getEdgeWeight(e), true, false);
+            return new AsWeightedGraph<>(
+                initialGraph, e -> -initialGraph.getEdgeWeight(e), true, false);
         } else {
-            this.graph = graph;
+            return initialGraph;
         }
-        this.initialGraph = graph;
-        this.options = Objects.requireNonNull(options);
     }
 
     /**
@@ -281,6 +304,39 @@ public class KolmogorovWeightedPerfectMatching<V, E>
         return matching;
     }
 
+    /**
+     * Recomputes the weighted perfect matching after the graph has been modified. The graph
+     * specified during the construction time can be modified arbitrarily between the computations:
+     * edge weights can be updated, and vertices and edges can be added or removed.
+     * <p>
+     * Instead of solving the modified problem instance from scratch, the computation starts from
+     * the previous matching and the previous dual variables of the vertices. The dual solution is
+     * repaired locally where the modifications made it infeasible, and the previous matched edges
+     * which are still tight are kept in the initial matching, see {@link BlossomVInitializer}.
+     * Therefore, if only a few edges have changed, only a few vertices have to be matched by the
+     * main part of the algorithm. If no matching has been computed before, this method is
+     * equivalent to {@link #getMatching()}.
+     *
+     * @return a weighted perfect matching for the modified {@code graph}
+     * @throws IllegalArgumentException if the modified graph doesn't contain a perfect matching
+     */
+    public MatchingAlgorithm.Matching<V, E> recomputeMatching()
+    {
+        graph = createGraph();
+        if (matching != null) {
+            Map<V, Double> duals = new HashMap<>();
+            double dualShift = state.minEdgeWeight / 2;
+            for (int i = 0; i < state.nodeNum; i++) {
+                duals.put(state.graphVertices.get(i), state.nodes[i].getTrueDual() + dualShift);
+            }
+            warmStartDuals = duals;
+            warmStartMatching = matching.getEdges();
+            matching = null;
+            dualSolution = null;
+        }
+        return getMatching();
+    }
+
     /**
      * Returns the computed solution to the dual linear program with respect to the weighted perfect
      * matching linear program formulation.
@@ -361,7 +417,13 @@ public class KolmogorovWeightedPerfectMatching<V, E>
             return;
         }
         BlossomVInitializer<V, E> initializer = new BlossomVInitializer<>(graph);
-        this.state = initializer.initialize(options);
+        if (warmStartDuals == null) {
+            this.state = initializer.initialize(options);
+        } else {
+            this.state = initializer.initialize(options, warmStartDuals, warmStartMatching);
+            warmStartDuals = null;
+            warmStartMatching = null;
+        }
         this.primalUpdater = new BlossomVPrimalUpdater<>(state);
         this.dualUpdater = new BlossomVDualUpdater<>(state, primalUpdater);
         if (DEBUG) {
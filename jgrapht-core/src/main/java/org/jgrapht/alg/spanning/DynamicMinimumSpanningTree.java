@@ -0,0 +1,579 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.spanning;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.event.*;
+
+import java.util.*;
+
+/**
+ * A minimum spanning forest which is maintained incrementally while the graph changes. If the given
+ * graph is connected it computes the minimum spanning tree, otherwise it computes the minimum
+ * spanning forest.
+ *
+ * <p>
+ * The algorithm is also a {@link org.jgrapht.event.GraphListener}. If added as a listener to the
+ * graph, it amends the spanning forest instead of recomputing it:
+ * <ul>
+ * <li>when an edge $e = \{u,v\}$ is added, the heaviest edge $f$ on the forest path between $u$ and
+ * $v$ is found. If $f$ is heavier than $e$, it is replaced by $e$. If there is no such path, $e$
+ * joins two trees of the forest,</li>
+ * <li>when the weight of a forest edge decreases, the forest stays minimum; when the weight of any
+ * other edge decreases, the edge is handled as if it was added again,</li>
+ * <li>when the weight of an edge which is not part of the forest increases, or such an edge is
+ * removed, the forest stays minimum.</li>
+ * </ul>
+ * Each of these updates takes $O(\log n)$ amortized time. The forest is stored in a link-cut tree,
+ * where every forest edge is represented by a node between its endpoints, which answers queries
+ * for the heaviest edge on a path. Increasing the weight of a forest edge or removing it may
+ * require a replacement edge, which the link-cut tree cannot find; in these cases the forest is
+ * recomputed lazily when it is next requested. As an exception, an increase of the weight of the
+ * edge added last, as performed by {@link Graphs#addEdge(Graph, Object, Object, double)}, is
+ * handled incrementally by undoing the addition of the edge.
+ *
+ * <p>
+ * The returned spanning tree is a copy of the current forest. If the algorithm is added as a
+ * listener to a graph other than the one given in the constructor, results are undefined.
+ *
+ * <p>
+ * For the description of link-cut trees see: D. D. Sleator and R. E. Tarjan. A data structure for
+ * dynamic trees. Journal of Computer and System Sciences, 26(3):362--391, 1983.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ */
+public class DynamicMinimumSpanningTree<V, E>
+    implements
+    SpanningTreeAlgorithm<E>,
+    GraphListener<V, E>
+{
+    private static final int NONE = -1;
+
+    private final Graph<V, E> graph;
+
+    /*
+     * Vertices and edges are both nodes of the link-cut tree. A vertex node has weight minus
+     * infinity, so that path maximums are always edge nodes.
+     */
+    private Map<V, Integer> vertexNodes;
+    private Map<E, Integer> edgeNodes;
+    private LinkCutTree tree;
+    private Object[] edgeOf;
+    private int[] endpoint1;
+    private int[] endpoint2;
+    private boolean[] inForest;
+    private Set<E> forestEdges;
+
+    /* the last edge added and the forest edge it replaced, used to undo the addition */
+    private int lastAdded = NONE;
+    private int lastReplaced = NONE;
+
+    /**
+     * Construct a new instance of the algorithm.
+     *
+     * @param graph the input graph
+     */
+    public DynamicMinimumSpanningTree(Graph<V, E> graph)
+    {
+        this.graph = Objects.requireNonNull(graph, "Graph cannot be null");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public SpanningTree<E> getSpanningTree()
+    {
+        if (tree == null) {
+            build();
+        }
+        double weight = 0d;
+        for (E e : forestEdges) {
+            weight += tree.weight[edgeNodes.get(e)];
+        }
+        return new SpanningTreeImpl<>(new LinkedHashSet<>(forestEdges), weight);
+    }
+
+    /**
+     * @see GraphListener#edgeAdded(GraphEdgeChangeEvent)
+     */
+    @Override
+    public void edgeAdded(GraphEdgeChangeEvent<V, E> e)
+    {
+        if (tree == null) {
+            return;
+        }
+        E edge = e.getEdge();
+        int x = addEdgeNode(
+            edge, vertexNodes.get(e.getEdgeSource()), vertexNodes.get(e.getEdgeTarget()),
+            graph.getEdgeWeight(edge));
+        lastAdded = x;
+        lastReplaced = insert(x);
+    }
+
+    /**
+     * @see GraphListener#edgeRemoved(GraphEdgeChangeEvent)
+     */
+    @Override
+    public void edgeRemoved(GraphEdgeChangeEvent<V, E> e)
+    {
+        if (tree == null) {
+            return;
+        }
+        Integer x = edgeNodes.get(e.getEdge());
+        if (x == null) {
+            return;
+        }
+        if (inForest[x]) {
+            if (x != lastAdded) {
+                // a replacement edge may be needed
+                invalidate();
+                return;
+            }
+            // undo the addition of the edge
+            cutEdge(x);
+            if (lastReplaced != NONE) {
+                linkEdge(lastReplaced);
+            }
+        }
+        edgeNodes.remove(e.getEdge());
+        edgeOf[x] = null;
+        lastAdded = NONE;
+    }
+
+    /**
+     * @see GraphListener#edgeWeightUpdated(GraphEdgeChangeEvent)
+     */
+    @Override
+    public void edgeWeightUpdated(GraphEdgeChangeEvent<V, E> e)
+    {
+        if (tree == null) {
+            return;
+        }
+        Integer x = edgeNodes.get(e.getEdge());
+        if (x == null) {
+            return;
+        }
+        double oldWeight = tree.weight[x];
+        double newWeight = e.getEdgeWeight();
+
+        if (newWeight <= oldWeight) {
+            tree.setWeight(x, newWeight);
+            if (!inForest[x]) {
+                insert(x);
+            }
+            lastAdded = NONE;
+        } else if (!inForest[x]) {
+            tree.setWeight(x, newWeight);
+            if (x != lastAdded) {
+                lastAdded = NONE;
+            }
+        } else if (x == lastAdded) {
+            // undo the addition of the edge and add it again with its new weight
+            cutEdge(x);
+            if (lastReplaced != NONE) {
+                linkEdge(lastReplaced);
+            }
+            tree.setWeight(x, newWeight);
+            lastReplaced = insert(x);
+        } else {
+            // a replacement edge may be needed
+            invalidate();
+        }
+    }
+
+    /**
+     * @see VertexSetListener#vertexAdded(GraphVertexChangeEvent)
+     */
+    @Override
+    public void vertexAdded(GraphVertexChangeEvent<V> e)
+    {
+        if (tree == null) {
+            return;
+        }
+        vertexNodes.put(e.getVertex(), tree.addNode(Double.NEGATIVE_INFINITY));
+        ensureCapacity(tree.size());
+    }
+
+    /**
+     * @see VertexSetListener#vertexRemoved(GraphVertexChangeEvent)
+     */
+    @Override
+    public void vertexRemoved(GraphVertexChangeEvent<V> e)
+    {
+        if (tree == null) {
+            return;
+        }
+        // the edges of the vertex have already been removed
+        vertexNodes.remove(e.getVertex());
+    }
+
+    /**
+     * Adds an edge to the spanning forest if it is lighter than the heaviest edge on the forest path
+     * between its endpoints.
+     *
+     * @param x the edge node
+     * @return the forest edge replaced by the new edge, or {@link #NONE}
+     */
+    private int insert(int x)
+    {
+        int u = endpoint1[x];
+        int v = endpoint2[x];
+        if (u == v) {
+            return NONE;
+        }
+        if (!tree.connected(u, v)) {
+            linkEdge(x);
+            return NONE;
+        }
+        int heaviest = tree.pathMaximum(u, v);
+        if (tree.weight[heaviest] <= tree.weight[x]) {
+            return NONE;
+        }
+        cutEdge(heaviest);
+        linkEdge(x);
+        return heaviest;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void linkEdge(int x)
+    {
+        tree.link(endpoint1[x], x);
+        tree.link(x, endpoint2[x]);
+        inForest[x] = true;
+        forestEdges.add((E) edgeOf[x]);
+    }
+
+    private void cutEdge(int x)
+    {
+        tree.cut(endpoint1[x], x);
+        tree.cut(x, endpoint2[x]);
+        inForest[x] = false;
+        forestEdges.remove(edgeOf[x]);
+    }
+
+    private int addEdgeNode(E edge, int u, int v, double weight)
+    {
+        int x = tree.addNode(weight);
+        ensureCapacity(tree.size());
+        edgeNodes.put(edge, x);
+        edgeOf[x] = edge;
+        endpoint1[x] = u;
+        endpoint2[x] = v;
+        return x;
+    }
+
+    private void ensureCapacity(int size)
+    {
+        if (size > edgeOf.length) {
+            int capacity = Math.max(size, 2 * edgeOf.length);
+            edgeOf = Arrays.copyOf(edgeOf, capacity);
+            endpoint1 = Arrays.copyOf(endpoint1, capacity);
+            endpoint2 = Arrays.copyOf(endpoint2, capacity);
+            inForest = Arrays.copyOf(inForest, capacity);
+        }
+    }
+
+    private void invalidate()
+    {
+        tree = null;
+        vertexNodes = null;
+        edgeNodes = null;
+        edgeOf = null;
+        endpoint1 = null;
+        endpoint2 = null;
+        inForest = null;
+        forestEdges = null;
+        lastAdded = NONE;
+        lastReplaced = NONE;
+    }
+
+    /**
+     * Computes the spanning forest from scratch using Kruskal's algorithm.
+     */
+    private void build()
+    {
+        int capacity = Math.max(16, graph.vertexSet().size() + graph.edgeSet().size());
+        tree = new LinkCutTree(capacity);
+        vertexNodes = new HashMap<>();
+        edgeNodes = new HashMap<>();
+        edgeOf = new Object[capacity];
+        endpoint1 = new int[capacity];
+        endpoint2 = new int[capacity];
+        inForest = new boolean[capacity];
+        forestEdges = new LinkedHashSet<>();
+
+        for (V v : graph.vertexSet()) {
+            vertexNodes.put(v, tree.addNode(Double.NEGATIVE_INFINITY));
+        }
+        int m = graph.edgeSet().size();
+        Integer[] order = new Integer[m];
+        int i = 0;
+        for (E e : graph.edgeSet()) {
+            order[i++] = addEdgeNode(
+                e, vertexNodes.get(graph.getEdgeSource(e)),
+                vertexNodes.get(graph.getEdgeTarget(e)), graph.getEdgeWeight(e));
+        }
+        Arrays.sort(order, Comparator.comparingDouble(x -> tree.weight[x]));
+
+        int[] parent = new int[tree.size()];
+        for (int v = 0; v < parent.length; v++) {
+            parent[v] = v;
+        }
+        for (int x : order) {
+            int u = find(parent, endpoint1[x]);
+            int v = find(parent, endpoint2[x]);
+            if (u != v) {
+                parent[u] = v;
+                linkEdge(x);
+            }
+        }
+    }
+
+    private static int find(int[] parent, int v)
+    {
+        while (parent[v] != v) {
+            parent[v] = parent[parent[v]];
+            v = parent[v];
+        }
+        return v;
+    }
+
+    /**
+     * A link-cut tree over integer nodes which supports maximum weight queries on paths. The
+     * represented trees are unrooted; every operation may change the internal root.
+     */
+    private static class LinkCutTree
+    {
+        private int size;
+        private int[] left;
+        private int[] right;
+        private int[] parent;
+        private boolean[] reversed;
+        private double[] weight;
+        /* the node of maximum weight in the splay subtree */
+        private int[] maximum;
+        private int[] stack;
+
+        LinkCutTree(int capacity)
+        {
+            left = new int[capacity];
+            right = new int[capacity];
+            parent = new int[capacity];
+            reversed = new boolean[capacity];
+            weight = new double[capacity];
+            maximum = new int[capacity];
+            stack = new int[capacity];
+        }
+
+        int size()
+        {
+            return size;
+        }
+
+        int addNode(double w)
+        {
+            if (size == left.length) {
+                int capacity = 2 * size;
+                left = Arrays.copyOf(left, capacity);
+                right = Arrays.copyOf(right, capacity);
+                parent = Arrays.copyOf(parent, capacity);
+                reversed = Arrays.copyOf(reversed, capacity);
+                weight = Arrays.copyOf(weight, capacity);
+                maximum = Arrays.copyOf(maximum, capacity);
+                stack = Arrays.copyOf(stack, capacity);
+            }
+            int x = size++;
+            left[x] = right[x] = parent[x] = NONE;
+            weight[x] = w;
+            maximum[x] = x;
+            return x;
+        }
+
+        void setWeight(int x, double w)
+        {
+            access(x);
+            weight[x] = w;
+            update(x);
+        }
+
+        boolean connected(int u, int v)
+        {
+            return findRoot(u) == findRoot(v);
+        }
+
+        /**
+         * Links two nodes of different trees.
+         */
+        void link(int u, int v)
+        {
+            makeRoot(u);
+            parent[u] = v;
+        }
+
+        /**
+         * Removes the tree edge between two nodes.
+         */
+        void cut(int u, int v)
+        {
+            makeRoot(u);
+            access(v);
+            // now u is the only node before v on the preferred path
+            left[v] = NONE;
+            parent[u] = NONE;
+            update(v);
+        }
+
+        /**
+         * Returns the node of maximum weight on the path between two connected nodes.
+         */
+        int pathMaximum(int u, int v)
+        {
+            makeRoot(u);
+            access(v);
+            return maximum[v];
+        }
+
+        private int findRoot(int x)
+        {
+            access(x);
+            while (true) {
+                push(x);
+                if (left[x] == NONE) {
+                    break;
+                }
+                x = left[x];
+            }
+            splay(x);
+            return x;
+        }
+
+        private void makeRoot(int x)
+        {
+            access(x);
+            reversed[x] ^= true;
+        }
+
+        /**
+         * Makes the path from the root to a node preferred, and splays the node to the root of its
+         * auxiliary tree. Afterwards the node has no right child.
+         */
+        private void access(int x)
+        {
+            int last = NONE;
+            for (int y = x; y != NONE; y = parent[y]) {
+                splay(y);
+                right[y] = last;
+                update(y);
+                last = y;
+            }
+            splay(x);
+        }
+
+        private boolean isRoot(int x)
+        {
+            int p = parent[x];
+            return p == NONE || (left[p] != x && right[p] != x);
+        }
+
+        private void push(int x)
+        {
+            if (reversed[x]) {
+                int tmp = left[x];
+                left[x] = right[x];
+                right[x] = tmp;
+                if (left[x] != NONE) {
+                    reversed[left[x]] ^= true;
+                }
+                if (right[x] != NONE) {
+                    reversed[right[x]] ^= true;
+                }
+                reversed[x] = false;
+            }
+        }
+
+        private void update(int x)
+        {
+            int best = x;
+            if (left[x] != NONE && weight[maximum[left[x]]] > weight[best]) {
+                best = maximum[left[x]];
+            }
+            if (right[x] != NONE && weight[maximum[right[x]]] > weight[best]) {
+                best = maximum[right[x]];
+            }
+            maximum[x] = best;
+        }
+
+        private void rotate(int x)
+        {
+            int p = parent[x];
+            int g = parent[p];
+            if (!isRoot(p)) {
+                if (left[g] == p) {
+                    left[g] = x;
+                } else {
+                    right[g] = x;
+                }
+            }
+            parent[x] = g;
+            if (left[p] == x) {
+                left[p] = right[x];
+                if (right[x] != NONE) {
+                    parent[right[x]] = p;
+                }
+                right[x] = p;
+            } else {
+                right[p] = left[x];
+                if (left[x] != NONE) {
+                    parent[left[x]] = p;
+                }
+                left[x] = p;
+            }
+            parent[p] = x;
+            update(p);
+            update(x);
+        }
+
+        private void splay(int x)
+        {
+            int top = 0;
+            stack[top++] = x;
+            for (int y = x; !isRoot(y); y = parent[y]) {
+                stack[top++] = parent[y];
+            }
+            while (top > 0) {
+                push(stack[--top]);
+            }
+
+            while (!isRoot(x)) {
+                int p = parent[x];
+                if (!isRoot(p)) {
+                    int g = parent[p];
+                    if ((left[g] == p) == (left[p] == x)) {
+                        rotate(p);
+                    } else {
+                        rotate(x);
+                    }
+                }
+                rotate(x);
+            }
+        }
+    }
+}
@@ -0,0 +1,364 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.spanning;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.util.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+/**
+ * Parallel version of Borůvka's algorithm for the computation of a minimum spanning tree. If the
+ * given graph is connected it computes the minimum spanning tree, otherwise it computes the minimum
+ * spanning forest.
+ *
+ * <p>
+ * The graph is first copied into primitive arrays which hold the endpoints and the weight of every
+ * edge. Each round of the algorithm then consists of two parallel phases. In the first phase the
+ * live edges are split into chunks, one per thread, and every thread finds for each component the
+ * lightest edge leaving it. Edges whose endpoints already belong to the same component are removed
+ * from the edge arrays at the same time, so that later rounds only scan the edges which may still
+ * join the forest. In the second phase the selected edges are added to the forest by merging their
+ * components in a lock-free union-find structure over integer vertex indices. Ties between edges of
+ * equal weight are broken by the edge iteration order of the graph, which guarantees that the
+ * selected edges never form a cycle.
+ *
+ * <p>
+ * The number of components at least halves in every round, so there are at most $O(\log V)$ rounds
+ * each of which performs $O(E/p + V/p)$ work per thread, where $p$ is the parallelism.
+ *
+ * <p>
+ * For parallelization, this implementation relies on the {@link ExecutorService}.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ */
+public class ParallelBoruvkaMinimumSpanningTree<V, E>
+    implements
+    SpanningTreeAlgorithm<E>
+{
+    /**
+     * Default value for the parallelism.
+     */
+    private static final int DEFAULT_PARALLELISM = Runtime.getRuntime().availableProcessors();
+
+    private final Graph<V, E> graph;
+    private final int parallelism;
+
+    /**
+     * Construct a new instance of the algorithm which uses as many threads as there are available
+     * processors.
+     *
+     * @param graph the input graph
+     */
+    public ParallelBoruvkaMinimumSpanningTree(Graph<V, E> graph)
+    {
+        this(graph, DEFAULT_PARALLELISM);
+    }
+
+    /**
+     * Construct a new instance of the algorithm.
+     *
+     * @param graph the input graph
+     * @param parallelism maximum number of threads used in the computation
+     */
+    public ParallelBoruvkaMinimumSpanningTree(Graph<V, E> graph, int parallelism)
+    {
+        this.graph = Objects.requireNonNull(graph, "Graph cannot be null");
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public SpanningTree<E> getSpanningTree()
+    {
+        VertexToIntegerMapping<V> mapping = new VertexToIntegerMapping<>(graph.vertexSet());
+        Map<V, Integer> vertexMap = mapping.getVertexMap();
+        int n = vertexMap.size();
+
+        int m = graph.edgeSet().size();
+        List<E> edges = new ArrayList<>(m);
+        int[] source = new int[m];
+        int[] target = new int[m];
+        double[] weight = new double[m];
+        for (E e : graph.edgeSet()) {
+            int i = edges.size();
+            edges.add(e);
+            source[i] = vertexMap.get(graph.getEdgeSource(e));
+            target[i] = vertexMap.get(graph.getEdgeTarget(e));
+            weight[i] = graph.getEdgeWeight(e);
+        }
+
+        boolean[] inTree = new Computation(n, source, target, weight).run();
+
+        Set<E> treeEdges = new LinkedHashSet<>();
+        double treeWeight = 0d;
+        for (int i = 0; i < m; i++) {
+            if (inTree[i]) {
+                treeEdges.add(edges.get(i));
+                treeWeight += weight[i];
+            }
+        }
+        return new SpanningTreeImpl<>(treeEdges, treeWeight);
+    }
+
+    /**
+     * The state of a single execution of the algorithm.
+     */
+    private class Computation
+    {
+        private final int n;
+        private final int[] source;
+        private final int[] target;
+        private final double[] weight;
+
+        private final ConcurrentUnionFind forest;
+        private final AtomicIntegerArray bestEdge;
+        private final boolean[] inTree;
+
+        /* indices of the edges which may still join the forest */
+        private int[] live;
+        private int liveCount;
+
+        Computation(int n, int[] source, int[] target, double[] weight)
+        {
+            this.n = n;
+            this.source = source;
+            this.target = target;
+            this.weight = weight;
+            this.forest = new ConcurrentUnionFind(n);
+            this.bestEdge = new AtomicIntegerArray(n);
+            this.inTree = new boolean[source.length];
+            this.live = new int[source.length];
+            for (int i = 0; i < source.length; i++) {
+                live[i] = i;
+            }
+            this.liveCount = source.length;
+        }
+
+        boolean[] run()
+        {
+            for (int v = 0; v < n; v++) {
+                bestEdge.set(v, -1);
+            }
+
+            ExecutorService executor =
+                parallelism > 1 ? Executors.newFixedThreadPool(parallelism) : null;
+            try {
+                while (liveCount > 0) {
+                    int[] chunkCount = new int[parallelism];
+                    int count = liveCount;
+                    execute(executor, count, (chunk, from, to) -> {
+                        chunkCount[chunk] = findLightestEdges(from, to);
+                    });
+                    compactLiveEdges(chunkCount, count);
+                    execute(executor, n, (chunk, from, to) -> addLightestEdges(from, to));
+                }
+            } finally {
+                if (executor != null) {
+                    executor.shutdownNow();
+                }
+            }
+            return inTree;
+        }
+
+        /**
+         * Finds the lightest edge leaving every component among a range of the live edges. The
+         * edges of the range which do not leave their component are dropped, and the remaining ones
+         * are moved to the beginning of the range.
+         *
+         * @return the number of remaining edges of the range
+         */
+        private int findLightestEdges(int from, int to)
+        {
+            int kept = from;
+            for (int k = from; k < to; k++) {
+                int e = live[k];
+                int s = forest.find(source[e]);
+                int t = forest.find(target[e]);
+                if (s == t) {
+                    continue;
+                }
+                live[kept++] = e;
+                offer(s, e);
+                offer(t, e);
+            }
+            return kept - from;
+        }
+
+        /**
+         * Atomically replaces the lightest edge of a component, if the given edge is lighter.
+         */
+        private void offer(int component, int e)
+        {
+            while (true) {
+                int current = bestEdge.get(component);
+                if (current != -1 && !lighter(e, current)) {
+                    return;
+                }
+                if (bestEdge.compareAndSet(component, current, e)) {
+                    return;
+                }
+            }
+        }
+
+        private boolean lighter(int e, int f)
+        {
+            int c = Double.compare(weight[e], weight[f]);
+            return c < 0 || (c == 0 && e < f);
+        }
+
+        /**
+         * Adds to the forest the lightest edges of the components whose representatives are in the
+         * given range.
+         */
+        private void addLightestEdges(int from, int to)
+        {
+            for (int v = from; v < to; v++) {
+                int e = bestEdge.get(v);
+                if (e == -1) {
+                    continue;
+                }
+                bestEdge.set(v, -1);
+                // an edge selected by both of its components is added only once
+                if (forest.union(source[e], target[e])) {
+                    inTree[e] = true;
+                }
+            }
+        }
+
+        /**
+         * Joins the remaining edges of all chunks into a contiguous prefix of the live edges.
+         */
+        private void compactLiveEdges(int[] chunkCount, int count)
+        {
+            int size = 0;
+            for (int chunk = 0; chunk < parallelism; chunk++) {
+                int from = chunkStart(chunk, count);
+                System.arraycopy(live, from, live, size, chunkCount[chunk]);
+                size += chunkCount[chunk];
+            }
+            liveCount = size;
+        }
+    }
+
+    private int chunkStart(int chunk, int count)
+    {
+        return (int) ((long) count * chunk / parallelism);
+    }
+
+    /**
+     * Splits the range $[0, count)$ into one chunk per thread and processes the chunks in
+     * parallel.
+     */
+    private void execute(ExecutorService executor, int count, ChunkTask task)
+    {
+        if (executor == null) {
+            task.run(0, 0, count);
+            return;
+        }
+
+        List<Future<?>> futures = new ArrayList<>(parallelism);
+        for (int chunk = 0; chunk < parallelism; chunk++) {
+            int c = chunk;
+            int from = chunkStart(chunk, count);
+            int to = chunkStart(chunk + 1, count);
+            futures.add(executor.submit(() -> task.run(c, from, to)));
+        }
+        try {
+            for (Future<?> f : futures) {
+                f.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    @FunctionalInterface
+    private interface ChunkTask
+    {
+        void run(int chunk, int from, int to);
+    }
+
+    /**
+     * A lock-free union-find structure over the integers $[0, n)$. Roots are always linked below
+     * roots with a smaller index, and finds compress paths by halving.
+     */
+    private static class ConcurrentUnionFind
+    {
+        private final AtomicIntegerArray parent;
+
+        ConcurrentUnionFind(int n)
+        {
+            parent = new AtomicIntegerArray(n);
+            for (int i = 0; i < n; i++) {
+                parent.set(i, i);
+            }
+        }
+
+        int find(int v)
+        {
+            while (true) {
+                int p = parent.get(v);
+                if (p == v) {
+                    return v;
+                }
+                int gp = parent.get(p);
+                if (gp != p) {
+                    parent.compareAndSet(v, p, gp);
+                }
+                v = gp;
+            }
+        }
+
+        /**
+         * Merges the sets of two elements.
+         *
+         * @return true if the elements were in different sets
+         */
+        boolean union(int u, int v)
+        {
+            while (true) {
+                u = find(u);
+                v = find(v);
+                if (u == v) {
+                    return false;
+                }
+                if (u < v) {
+                    int tmp = u;
+                    u = v;
+                    v = tmp;
+                }
+                if (parent.compareAndSet(u, u, v)) {
+                    return true;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,950 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.tour;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.graph.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * A Lin-Kernighan style local search heuristic for the TSP problem.
+ *
+ * <p>
+ * The travelling salesman problem (TSP) asks the following question: "Given a list of cities and
+ * the distances between each pair of cities, what is the shortest possible route that visits each
+ * city exactly once and returns to the origin city?".
+ * </p>
+ *
+ * <p>
+ * Starting from an initial tour, the algorithm repeatedly applies improving moves until a local
+ * minimum is reached. Two kinds of moves are used:
+ * <ul>
+ * <li>Lin-Kernighan moves, which are chains of up to fifty sequential 2-opt moves (flips). The
+ * first flip of a chain is a 2-opt move, the first two flips form a sequential 3-opt move and so
+ * on. Every chain is rolled back to the prefix with the largest gain, and it is only kept if this
+ * gain is positive.</li>
+ * <li>Or-opt moves, which move a segment of one to three consecutive cities, possibly reversed, to
+ * another position of the tour.</li>
+ * </ul>
+ *
+ * <p>
+ * The search is restricted by candidate lists: a new tour edge $(u, v)$ is only considered if $v$ is
+ * one of the nearest neighbors of $u$. The search is driven by a queue of cities, which play the
+ * role of the don't-look bits of Bentley. Initially all cities are in the queue. A city which does
+ * not lead to an improving move leaves the queue and only re-enters it when one of its tour
+ * edges changes. The tour is stored as an array together with the position of every city, and the
+ * shorter side of the tour is reversed on every flip. No distance matrix is computed, which makes
+ * the algorithm usable on instances with hundreds of thousands of vertices.
+ *
+ * <p>
+ * Method {@link #getTour(Graph)} requires a complete graph and generates k initial tours using the
+ * given initializer, by default {@link RandomTourTSP}. The initial tours are improved in parallel
+ * and the best resulting tour is returned. Initial tours generated using
+ * {@link NearestNeighborHeuristicTSP} or {@link GreedyHeuristicTSP} lead to much shorter running
+ * times than random ones.
+ *
+ * <p>
+ * Method {@link #improveTour(GraphPath)} on the other hand only requires that the graph is
+ * undirected and contains the given tour. Missing edges are treated as edges of infinite weight,
+ * thus only moves which result in a tour of the graph are applied. For very large instances it is
+ * therefore sufficient to provide a sparse graph, such as the graph of the ten or more nearest
+ * neighbors of every vertex extended with the edges of an initial tour.
+ *
+ * <p>
+ * For more details see: S. Lin and B. W. Kernighan. An Effective Heuristic Algorithm for the
+ * Traveling-Salesman Problem. Operations Research, 21(2):498--516, 1973, and D. S. Johnson and L.
+ * A. McGeoch. The Traveling Salesman Problem: A Case Study in Local Optimization. Local Search in
+ * Combinatorial Optimization, 215--310, 1997.
+ *
+ * <p>
+ * For parallelization, this implementation relies on the {@link ExecutorService}.
+ *
+ * @see TwoOptHeuristicTSP
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ */
+public class LinKernighanHeuristicTSP<V, E>
+    implements
+    HamiltonianCycleAlgorithm<V, E>,
+    HamiltonianCycleImprovementAlgorithm<V, E>
+{
+    /**
+     * Default number of nearest neighbors of every vertex considered as candidates.
+     */
+    public static final int DEFAULT_CANDIDATES = 8;
+
+    /**
+     * Default value for the parallelism.
+     */
+    private static final int DEFAULT_PARALLELISM = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Maximum number of flips of a Lin-Kernighan move.
+     */
+    private static final int MAX_DEPTH = 50;
+
+    /**
+     * Maximum length of a segment moved by an Or-opt move.
+     */
+    private static final int MAX_SEGMENT_LENGTH = 3;
+
+    private final int k;
+    private final HamiltonianCycleAlgorithm<V, E> initializer;
+    private final int candidates;
+    private final int parallelism;
+    private final double minCostImprovement;
+
+    private Graph<V, E> graph;
+    private int n;
+    private List<V> vertices;
+    private Map<V, Integer> index;
+    private int[][] neighbors;
+    private double[][] neighborDist;
+
+    /**
+     * Constructor. By default one initial random tour is used.
+     */
+    public LinKernighanHeuristicTSP()
+    {
+        this(1, new Random());
+    }
+
+    /**
+     * Constructor
+     *
+     * @param k how many initial random tours to check
+     */
+    public LinKernighanHeuristicTSP(int k)
+    {
+        this(k, new Random());
+    }
+
+    /**
+     * Constructor
+     *
+     * @param k how many initial random tours to check
+     * @param seed seed for the random number generator
+     */
+    public LinKernighanHeuristicTSP(int k, long seed)
+    {
+        this(k, new Random(seed));
+    }
+
+    /**
+     * Constructor
+     *
+     * @param k how many initial random tours to check
+     * @param rng random number generator
+     */
+    public LinKernighanHeuristicTSP(int k, Random rng)
+    {
+        this(k, new RandomTourTSP<>(rng));
+    }
+
+    /**
+     * Constructor
+     *
+     * @param initializer Algorithm to generate initial tour
+     */
+    public LinKernighanHeuristicTSP(HamiltonianCycleAlgorithm<V, E> initializer)
+    {
+        this(1, initializer);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param k how many initial tours to check
+     * @param initializer Algorithm to generate initial tours
+     */
+    public LinKernighanHeuristicTSP(int k, HamiltonianCycleAlgorithm<V, E> initializer)
+    {
+        this(k, initializer, DEFAULT_CANDIDATES);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param k how many initial tours to check
+     * @param initializer Algorithm to generate initial tours
+     * @param candidates number of nearest neighbors of every vertex considered as candidates
+     */
+    public LinKernighanHeuristicTSP(
+        int k, HamiltonianCycleAlgorithm<V, E> initializer, int candidates)
+    {
+        this(k, initializer, candidates, DEFAULT_PARALLELISM, 1e-8);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param k how many initial tours to check
+     * @param initializer Algorithm to generate initial tours
+     * @param candidates number of nearest neighbors of every vertex considered as candidates
+     * @param parallelism maximum number of threads used to improve the initial tours
+     * @param minCostImprovement Minimum cost improvement per move
+     */
+    public LinKernighanHeuristicTSP(
+        int k, HamiltonianCycleAlgorithm<V, E> initializer, int candidates, int parallelism,
+        double minCostImprovement)
+    {
+        if (k < 1) {
+            throw new IllegalArgumentException("k must be at least one");
+        }
+        if (candidates < 1) {
+            throw new IllegalArgumentException("Number of candidates must be at least one");
+        }
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+        this.k = k;
+        this.initializer =
+            Objects.requireNonNull(initializer, "Initial solver algorithm cannot be null");
+        this.candidates = candidates;
+        this.parallelism = parallelism;
+        this.minCostImprovement = Math.abs(minCostImprovement);
+    }
+
+    /**
+     * Computes a tour using the Lin-Kernighan heuristic.
+     *
+     * @param graph the input graph
+     * @return a tour
+     * @throws IllegalArgumentException if the graph is not undirected
+     * @throws IllegalArgumentException if the graph is not complete
+     * @throws IllegalArgumentException if the graph contains no vertices
+     */
+    @Override
+    public GraphPath<V, E> getTour(Graph<V, E> graph)
+    {
+        GraphTests.requireUndirected(graph);
+        if (!GraphTests.isComplete(graph)) {
+            throw new IllegalArgumentException("Graph is not complete");
+        }
+        init(graph);
+
+        /*
+         * Special case singleton vertex
+         */
+        if (n == 1) {
+            V start = vertices.get(0);
+            return new GraphWalk<>(
+                graph, start, start, Collections.singletonList(start), Collections.emptyList(), 0d);
+        }
+
+        /*
+         * The initial tours are created sequentially, since the initializer is not required to be
+         * thread-safe
+         */
+        List<int[]> tours = new ArrayList<>(k);
+        for (int i = 0; i < k; i++) {
+            tours.add(pathToTour(initializer.getTour(graph)));
+        }
+        improveAll(tours);
+
+        GraphPath<V, E> best = null;
+        for (int[] tour : tours) {
+            GraphPath<V, E> other = tourToPath(tour);
+            if (best == null || other.getWeight() < best.getWeight()) {
+                best = other;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Try to improve a tour by running the Lin-Kernighan heuristic. The graph of the tour is not
+     * required to be complete.
+     *
+     * @param tour a tour
+     * @return a possibly improved tour
+     * @throws IllegalArgumentException if the graph is not undirected
+     * @throws IllegalArgumentException if the graph contains no vertices
+     */
+    @Override
+    public GraphPath<V, E> improveTour(GraphPath<V, E> tour)
+    {
+        init(GraphTests.requireUndirected(tour.getGraph()));
+        if (n == 1) {
+            return tour;
+        }
+        int[] t = pathToTour(tour);
+        new Search(t).run();
+        return tourToPath(t);
+    }
+
+    /**
+     * Initialize graph, mapping to integer vertices and candidate lists.
+     *
+     * @param graph the input graph
+     */
+    private void init(Graph<V, E> graph)
+    {
+        if (graph.vertexSet().isEmpty()) {
+            throw new IllegalArgumentException("Graph contains no vertices");
+        }
+        this.graph = graph;
+        this.n = graph.vertexSet().size();
+        this.vertices = new ArrayList<>(graph.vertexSet());
+        this.index = new HashMap<>();
+        for (int i = 0; i < n; i++) {
+            index.put(vertices.get(i), i);
+        }
+
+        // the lightest edges of every vertex, sorted by weight
+        this.neighbors = new int[n][];
+        this.neighborDist = new double[n][];
+        int[] nbr = new int[candidates];
+        double[] nbrDist = new double[candidates];
+        for (int i = 0; i < n; i++) {
+            V v = vertices.get(i);
+            int size = 0;
+            for (E e : graph.edgesOf(v)) {
+                int j = index.get(Graphs.getOppositeVertex(graph, e, v));
+                double w = graph.getEdgeWeight(e);
+                if (j == i || (size == candidates && w >= nbrDist[size - 1])) {
+                    continue;
+                }
+                int p = 0;
+                while (p < size && nbr[p] != j) {
+                    p++;
+                }
+                if (p < size) {
+                    // parallel edge, keep the lightest one
+                    if (w >= nbrDist[p]) {
+                        continue;
+                    }
+                } else {
+                    if (size < candidates) {
+                        size++;
+                    }
+                    p = size - 1;
+                }
+                while (p > 0 && nbrDist[p - 1] > w) {
+                    nbr[p] = nbr[p - 1];
+                    nbrDist[p] = nbrDist[p - 1];
+                    p--;
+                }
+                nbr[p] = j;
+                nbrDist[p] = w;
+            }
+            neighbors[i] = Arrays.copyOf(nbr, size);
+            neighborDist[i] = Arrays.copyOf(nbrDist, size);
+        }
+    }
+
+    /**
+     * Improve a list of tours in parallel.
+     *
+     * @param tours the tours
+     */
+    private void improveAll(List<int[]> tours)
+    {
+        int threads = Math.min(parallelism, tours.size());
+        if (threads == 1) {
+            for (int[] tour : tours) {
+                new Search(tour).run();
+            }
+            return;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>(tours.size());
+            for (int[] tour : tours) {
+                futures.add(executor.submit(() -> new Search(tour).run()));
+            }
+            for (Future<?> f : futures) {
+                f.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Distance between two vertices, or infinity if the vertices are not adjacent. Most distances
+     * are found in the candidate lists, which is faster than looking up the edge in the graph.
+     */
+    private double dist(int u, int v)
+    {
+        int[] nbr = neighbors[u];
+        for (int i = 0; i < nbr.length; i++) {
+            if (nbr[i] == v) {
+                return neighborDist[u][i];
+            }
+        }
+        E e = getLightestEdge(vertices.get(u), vertices.get(v));
+        return e == null ? Double.POSITIVE_INFINITY : graph.getEdgeWeight(e);
+    }
+
+    /**
+     * Get the lightest edge between two vertices, or null if the vertices are not adjacent.
+     */
+    private E getLightestEdge(V u, V v)
+    {
+        if (!graph.getType().isAllowingMultipleEdges()) {
+            return graph.getEdge(u, v);
+        }
+        E lightest = null;
+        for (E e : graph.getAllEdges(u, v)) {
+            if (lightest == null || graph.getEdgeWeight(e) < graph.getEdgeWeight(lightest)) {
+                lightest = e;
+            }
+        }
+        return lightest;
+    }
+
+    /**
+     * Transform from an array representation to a graph path.
+     *
+     * @param tour an array containing the index of the vertices of the tour
+     * @return a graph path
+     */
+    private GraphPath<V, E> tourToPath(int[] tour)
+    {
+        List<E> tourEdges = new ArrayList<>(n);
+        List<V> tourVertices = new ArrayList<>(n + 1);
+        double tourWeight = 0d;
+
+        V start = vertices.get(tour[0]);
+        tourVertices.add(start);
+        for (int i = 1; i < n + 1; i++) {
+            V u = vertices.get(tour[i - 1]);
+            V v = vertices.get(tour[i % n]);
+            tourVertices.add(v);
+            E e = getLightestEdge(u, v);
+            tourEdges.add(e);
+            tourWeight += graph.getEdgeWeight(e);
+        }
+
+        return new GraphWalk<>(graph, start, start, tourVertices, tourEdges, tourWeight);
+    }
+
+    /**
+     * Transform from a path representation to an array representation.
+     *
+     * @param path graph path
+     * @return an array containing the index of the vertices of the tour
+     */
+    private int[] pathToTour(GraphPath<V, E> path)
+    {
+        Set<V> visited = new HashSet<>();
+        int i = 0;
+        int[] tour = new int[n];
+        V v = path.getStartVertex();
+        for (E e : path.getEdgeList()) {
+            if (i == n) {
+                throw new IllegalArgumentException("Not a valid tour");
+            }
+            tour[i++] = index.get(v);
+            v = Graphs.getOppositeVertex(graph, e, v);
+            if (!visited.add(v)) {
+                throw new IllegalArgumentException("Not a valid tour");
+            }
+        }
+        if (i < n || !v.equals(path.getStartVertex())) {
+            throw new IllegalArgumentException("Not a valid tour");
+        }
+        return tour;
+    }
+
+    /**
+     * The local search starting from a single tour.
+     */
+    private class Search
+    {
+        /* the cities in tour order */
+        private final int[] tour;
+        /* the position of every city in the tour */
+        private final int[] pos;
+
+        /* queue of cities to be processed, the don't-look bits are the complement */
+        private final int[] queue;
+        private final boolean[] queued;
+        private int head;
+        private int queueSize;
+
+        /* the flips of the current Lin-Kernighan move */
+        private final int[] flipT2;
+        private final int[] flipT3;
+        private final int[] flipT4;
+
+        /* whether the first flip of the current move has not been applied yet */
+        private boolean pending;
+        private int pendingT1;
+        private boolean pendingForward;
+
+        /* the cities of the segment of the current Or-opt move */
+        private final int[] segment;
+
+        Search(int[] tour)
+        {
+            this.tour = tour;
+            this.pos = new int[n];
+            for (int i = 0; i < n; i++) {
+                pos[tour[i]] = i;
+            }
+            this.queue = new int[n];
+            this.queued = new boolean[n];
+            this.flipT2 = new int[MAX_DEPTH];
+            this.flipT3 = new int[MAX_DEPTH];
+            this.flipT4 = new int[MAX_DEPTH];
+            this.segment = new int[MAX_SEGMENT_LENGTH];
+        }
+
+        /**
+         * Improve the tour until no improving move is found.
+         */
+        void run()
+        {
+            if (n < 4) {
+                // all tours have the same length
+                return;
+            }
+            for (int i = 0; i < n; i++) {
+                push(tour[i]);
+            }
+            while (queueSize > 0) {
+                int t1 = queue[head];
+                head = (head + 1) % n;
+                queueSize--;
+                queued[t1] = false;
+                if (linKernighanMove(t1) || orOptMove(t1)) {
+                    push(t1);
+                }
+            }
+        }
+
+        private void push(int c)
+        {
+            if (!queued[c]) {
+                queued[c] = true;
+                queue[(head + queueSize) % n] = c;
+                queueSize++;
+            }
+        }
+
+        private int succ(int c)
+        {
+            int p = pos[c] + 1;
+            return tour[p == n ? 0 : p];
+        }
+
+        private int pred(int c)
+        {
+            int p = pos[c] - 1;
+            return tour[p < 0 ? n - 1 : p];
+        }
+
+        /**
+         * Searches for an improving Lin-Kernighan move which removes a tour edge of $t_1$, and
+         * applies it.
+         *
+         * <p>
+         * Most moves end after the first flip, therefore the first flip is only applied to the
+         * tour when the move is extended or kept. Until then it is pending and the neighbors of the
+         * cities in the tour are computed as if it was applied.
+         *
+         * @return whether the tour was improved
+         */
+        private boolean linKernighanMove(int t1)
+        {
+            for (int dir = 0; dir < 2; dir++) {
+                int t2 = dir == 0 ? succ(t1) : pred(t1);
+                double g0 = dist(t1, t2);
+                int[] nbr = neighbors[t2];
+                double[] nbrDist = neighborDist[t2];
+
+                // breadth is only allowed at the first level
+                for (int i = 0; i < nbr.length; i++) {
+                    int t3 = nbr[i];
+                    double g1 = g0 - nbrDist[i];
+                    if (g1 <= minCostImprovement) {
+                        break;
+                    }
+                    if (t3 == succ(t2) || t3 == pred(t2)) {
+                        continue;
+                    }
+                    int t4 = succ(t1) == t2 ? pred(t3) : succ(t3);
+                    double g = g1 + dist(t3, t4);
+                    flipT2[0] = t2;
+                    flipT3[0] = t3;
+                    flipT4[0] = t4;
+                    pending = true;
+                    pendingT1 = t1;
+                    pendingForward = succ(t1) == t2;
+
+                    double bestGain = g - dist(t4, t1);
+                    int bestDepth = 1;
+                    int depth = 1;
+                    while (depth < MAX_DEPTH) {
+                        int last = flipT4[depth - 1];
+                        int next = -1;
+                        int nextT4 = -1;
+                        double nextGain = Double.NEGATIVE_INFINITY;
+                        boolean forward = next(t1) == last;
+                        int[] lastNbr = neighbors[last];
+                        double[] lastNbrDist = neighborDist[last];
+                        for (int j = 0; j < lastNbr.length; j++) {
+                            int c = lastNbr[j];
+                            double gi = g - lastNbrDist[j];
+                            if (gi <= minCostImprovement || gi <= bestGain) {
+                                // the stopping criterion of Lin and Kernighan
+                                break;
+                            }
+                            if (c == next(last) || c == previous(last)) {
+                                continue;
+                            }
+                            int d = forward ? previous(c) : next(c);
+                            if (added(c, d, depth)) {
+                                continue;
+                            }
+                            gi += dist(c, d);
+                            if (gi > nextGain) {
+                                next = c;
+                                nextT4 = d;
+                                nextGain = gi;
+                            }
+                        }
+                        if (next == -1) {
+                            break;
+                        }
+                        if (pending) {
+                            flip(t1, t2, t3, t4);
+                            pending = false;
+                        }
+                        flip(t1, last, next, nextT4);
+                        flipT2[depth] = last;
+                        flipT3[depth] = next;
+                        flipT4[depth] = nextT4;
+                        depth++;
+                        g = nextGain;
+                        double gain = g - dist(nextT4, t1);
+                        if (gain > bestGain) {
+                            bestGain = gain;
+                            bestDepth = depth;
+                        }
+                    }
+
+                    if (bestGain > minCostImprovement) {
+                        if (pending) {
+                            flip(t1, t2, t3, t4);
+                            pending = false;
+                        } else {
+                            undo(t1, depth, bestDepth);
+                        }
+                        for (int j = 0; j < bestDepth; j++) {
+                            push(flipT2[j]);
+                            push(flipT3[j]);
+                            push(flipT4[j]);
+                        }
+                        return true;
+                    }
+                    if (pending) {
+                        pending = false;
+                    } else {
+                        undo(t1, depth, 0);
+                    }
+                }
+            }
+            return false;
+        }
+
+        /**
+         * The successor of a city, taking into account the pending flip.
+         */
+        private int next(int c)
+        {
+            if (!pending) {
+                return succ(c);
+            }
+            return pendingForward ? pendingNext(c) : pendingPrevious(c);
+        }
+
+        /**
+         * The predecessor of a city, taking into account the pending flip.
+         */
+        private int previous(int c)
+        {
+            if (!pending) {
+                return pred(c);
+            }
+            return pendingForward ? pendingPrevious(c) : pendingNext(c);
+        }
+
+        /**
+         * The city following $c$ after the pending flip, in the direction in which $t_2$ follows
+         * $t_1$ before the flip. The flip reverses the path from $t_2$ to $t_4$ in this direction.
+         */
+        private int pendingNext(int c)
+        {
+            if (c == pendingT1) {
+                return flipT4[0];
+            }
+            if (c == flipT2[0]) {
+                return flipT3[0];
+            }
+            return inPendingPath(c) ? directedPrevious(c) : directedNext(c);
+        }
+
+        /**
+         * The city preceding $c$ after the pending flip, see {@link #pendingNext(int)}.
+         */
+        private int pendingPrevious(int c)
+        {
+            if (c == flipT4[0]) {
+                return pendingT1;
+            }
+            if (c == flipT3[0]) {
+                return flipT2[0];
+            }
+            return inPendingPath(c) ? directedNext(c) : directedPrevious(c);
+        }
+
+        private int directedNext(int c)
+        {
+            return pendingForward ? succ(c) : pred(c);
+        }
+
+        private int directedPrevious(int c)
+        {
+            return pendingForward ? pred(c) : succ(c);
+        }
+
+        /**
+         * Whether a city lies on the path from $t_2$ to $t_4$ which is reversed by the pending
+         * flip.
+         */
+        private boolean inPendingPath(int c)
+        {
+            int from = pos[flipT2[0]];
+            int to = pos[flipT4[0]];
+            if (!pendingForward) {
+                int tmp = from;
+                from = to;
+                to = tmp;
+            }
+            int p = pos[c];
+            return from <= to ? from <= p && p <= to : p >= from || p <= to;
+        }
+
+        /**
+         * Whether the tour edge $(c, d)$ was added by one of the first flips of the current move.
+         */
+        private boolean added(int c, int d, int depth)
+        {
+            for (int j = 0; j < depth; j++) {
+                int a = flipT2[j];
+                int b = flipT3[j];
+                if ((a == c && b == d) || (a == d && b == c)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Replaces the tour edges $(t_1, t_2)$ and $(t_3, t_4)$ by $(t_2, t_3)$ and $(t_1, t_4)$,
+         * where $t_4$ is the neighbor of $t_3$ on the same side as $t_1$ is for $t_2$.
+         */
+        private void flip(int t1, int t2, int t3, int t4)
+        {
+            twoOptMove(t1, t2, t4, t3);
+        }
+
+        /**
+         * Reverts the flips of the current move down to the given depth.
+         */
+        private void undo(int t1, int depth, int targetDepth)
+        {
+            for (int j = depth - 1; j >= targetDepth; j--) {
+                twoOptMove(t1, flipT4[j], flipT2[j], flipT3[j]);
+            }
+        }
+
+        /**
+         * Searches for an improving Or-opt move of a segment which starts or ends at $t_1$, and
+         * applies it.
+         *
+         * @return whether the tour was improved
+         */
+        private boolean orOptMove(int t1)
+        {
+            for (int length = 1; length <= MAX_SEGMENT_LENGTH && length + 3 <= n; length++) {
+                for (int dir = 0; dir < 2; dir++) {
+                    boolean forward = dir == 0;
+                    int s1 = t1;
+                    int sL = t1;
+                    segment[0] = t1;
+                    for (int i = 1; i < length; i++) {
+                        sL = forward ? succ(sL) : pred(sL);
+                        segment[i] = sL;
+                    }
+                    int p = forward ? pred(s1) : succ(s1);
+                    int nx = forward ? succ(sL) : pred(sL);
+                    double removeGain = dist(p, s1) + dist(sL, nx) - dist(p, nx);
+                    if (removeGain <= minCostImprovement) {
+                        continue;
+                    }
+
+                    for (int end = 0; end < 2; end++) {
+                        int e = end == 0 ? s1 : sL;
+                        int other = end == 0 ? sL : s1;
+                        int[] nbr = neighbors[e];
+                        double[] nbrDist = neighborDist[e];
+                        for (int i = 0; i < nbr.length; i++) {
+                            if (nbrDist[i] >= removeGain) {
+                                break;
+                            }
+                            int c = nbr[i];
+                            if (inSegment(c, length)) {
+                                continue;
+                            }
+                            for (int side = 0; side < 2; side++) {
+                                int d = side == 0 ? succ(c) : pred(c);
+                                if (inSegment(d, length)) {
+                                    continue;
+                                }
+                                double delta = nbrDist[i] + dist(other, d) - dist(c, d)
+                                    - removeGain;
+                                if (delta < -minCostImprovement) {
+                                    moveSegment(p, s1, sL, nx, forward, c, d, e);
+                                    push(p);
+                                    push(nx);
+                                    push(s1);
+                                    push(sL);
+                                    push(c);
+                                    push(d);
+                                    return true;
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+            return false;
+        }
+
+        private boolean inSegment(int c, int length)
+        {
+            for (int i = 0; i < length; i++) {
+                if (segment[i] == c) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Moves the segment from $s_1$ to $s_L$, which lies between $p$ and $nx$, between the
+         * adjacent cities $c$ and $d$ such that $c$ becomes adjacent to $e$.
+         */
+        private void moveSegment(
+            int p, int s1, int sL, int nx, boolean forward, int c, int d, int e)
+        {
+            // orient the edge (c, d) as seen when walking away from the segment starting at nx
+            boolean cFirst = forward ? succ(c) == d : pred(c) == d;
+            int u = cFirst ? c : d;
+            int v = cFirst ? d : c;
+            int uEnd = cFirst ? e : (e == s1 ? sL : s1);
+            if (v == p) {
+                // walk in the other direction, where u coincides with the end of the walk
+                insertSegment(nx, sL, s1, p, v, u, uEnd == s1 ? sL : s1);
+            } else {
+                insertSegment(p, s1, sL, nx, u, v, uEnd);
+            }
+        }
+
+        /**
+         * Moves the segment $p, s_1, \dots, s_L, nx$ between $u$ and $v$, where $u$ and $v$ are met
+         * in this order when walking away from the segment starting at $nx$, and $v \neq p$. The
+         * move is composed of two or three 2-opt moves.
+         */
+        private void insertSegment(int p, int s1, int sL, int nx, int u, int v, int uEnd)
+        {
+            // p s1..sL nx..u v becomes p u..nx sL..s1 v
+            twoOptMove(p, s1, u, v);
+            if (u != nx) {
+                // becomes p nx..u sL..s1 v
+                twoOptMove(p, u, nx, sL);
+            }
+            if (uEnd == s1 && s1 != sL) {
+                // becomes p nx..u s1..sL v
+                twoOptMove(u, sL, s1, v);
+            }
+        }
+
+        /**
+         * Replaces the tour edges $(a, b)$ and $(c, d)$ by $(a, c)$ and $(b, d)$. The move requires
+         * that $b$ follows $a$ and $d$ follows $c$ in the same direction.
+         */
+        private void twoOptMove(int a, int b, int c, int d)
+        {
+            if (succ(a) == b) {
+                reverse(b, c);
+            } else {
+                reverse(a, d);
+            }
+        }
+
+        /**
+         * Reverses the path from city $from$ to city $to$ in tour order. Whenever it is shorter, the
+         * rest of the tour is reversed instead, which results in the same cyclic tour.
+         */
+        private void reverse(int from, int to)
+        {
+            int i = pos[from];
+            int j = pos[to];
+            int length = j - i;
+            if (length < 0) {
+                length += n;
+            }
+            length++;
+            if (2 * length > n) {
+                int tmp = i;
+                i = j + 1 == n ? 0 : j + 1;
+                j = tmp == 0 ? n - 1 : tmp - 1;
+                length = n - length;
+            }
+            for (int s = length / 2; s > 0; s--) {
+                int ci = tour[i];
+                int cj = tour[j];
+                tour[i] = cj;
+                pos[cj] = i;
+                tour[j] = ci;
+                pos[ci] = j;
+                if (++i == n) {
+                    i = 0;
+                }
+                if (--j < 0) {
+                    j = n - 1;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.event;
+
+import org.jgrapht.*;
+
+import java.util.*;
+
+/**
+ * An event which indicates that several edges have been added to a graph at once. The edge at
+ * some index of the event has the source, target and weight at the same index. Listeners which do
+ * not handle this event receive one {@link GraphEdgeChangeEvent} per edge instead, see
+ * {@link GraphListener#edgesAdded(GraphEdgesChangeEvent)}.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ */
+public class GraphEdgesChangeEvent<V, E>
+    extends
+    GraphChangeEvent
+{
+    private static final long serialVersionUID = -2781392655014369108L;
+
+    /**
+     * Edges added event. This event is fired after several edges are added to a graph.
+     */
+    public static final int EDGES_ADDED = 26;
+
+    /**
+     * The edges that this event is related to.
+     */
+    protected List<E> edges;
+
+    /**
+     * The source vertices of the edges that this event is related to.
+     */
+    protected List<V> edgeSources;
+
+    /**
+     * The target vertices of the edges that this event is related to.
+     */
+    protected List<V> edgeTargets;
+
+    /**
+     * The weights of the edges that this event is related to, or null if all edges have the
+     * default weight.
+     */
+    protected double[] edgeWeights;
+
+    /**
+     * Constructor for GraphEdgesChangeEvent.
+     *
+     * @param eventSource the source of this event.
+     * @param type the event type of this event.
+     * @param edges the edges that this event is related to.
+     * @param edgeSources the edge source vertices
+     * @param edgeTargets the edge target vertices
+     * @param edgeWeights the edge weights, or null if all edges have the default weight
+     * @throws IllegalArgumentException if the sizes differ
+     */
+    public GraphEdgesChangeEvent(
+        Object eventSource, int type, List<E> edges, List<V> edgeSources, List<V> edgeTargets,
+        double[] edgeWeights)
+    {
+        super(eventSource, type);
+        if (edgeSources.size() != edges.size() || edgeTargets.size() != edges.size()
+            || (edgeWeights != null && edgeWeights.length != edges.size()))
+        {
+            throw new IllegalArgumentException("Edges, sources, targets and weights must match");
+        }
+        this.edges = Collections.unmodifiableList(edges);
+        this.edgeSources = Collections.unmodifiableList(edgeSources);
+        this.edgeTargets = Collections.unmodifiableList(edgeTargets);
+        this.edgeWeights = edgeWeights;
+    }
+
+    /**
+     * Returns the edges that this event is related to, in the order they were added.
+     *
+     * @return event edges
+     */
+    public List<E> getEdges()
+    {
+        return edges;
+    }
+
+    /**
+     * Returns the source vertices of the edges that this event is related to.
+     *
+     * @return event source vertices
+     */
+    public List<V> getEdgeSources()
+    {
+        return edgeSources;
+    }
+
+    /**
+     * Returns the target vertices of the edges that this event is related to.
+     *
+     * @return event target vertices
+     */
+    public List<V> getEdgeTargets()
+    {
+        return edgeTargets;
+    }
+
+    /**
+     * Returns the weight of an edge that this event is related to.
+     *
+     * @param index the index of the edge
+     * @return the edge weight
+     */
+    public double getEdgeWeight(int index)
+    {
+        if (edgeWeights == null) {
+            Objects.checkIndex(index, edges.size());
+            return Graph.DEFAULT_EDGE_WEIGHT;
+        }
+        return edgeWeights[index];
+    }
+}
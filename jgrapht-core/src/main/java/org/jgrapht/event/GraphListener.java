@@ -17,6 +17,8 @@
  */
 package org.jgrapht.event;
 
+import java.util.*;
+
 /**
  * A listener that is notified when the graph changes.
  *
@@ -42,6 +44,23 @@ public interface GraphListener<V, E>
      */
     void edgeAdded(GraphEdgeChangeEvent<V, E> e);
 
+    /**
+     * Notifies that several edges have been added to the graph at once. The default implementation
+     * calls {@link #edgeAdded(GraphEdgeChangeEvent)} for every edge.
+     *
+     * @param e the edges event.
+     */
+    default void edgesAdded(GraphEdgesChangeEvent<V, E> e)
+    {
+        List<E> edges = e.getEdges();
+        for (int i = 0; i < edges.size(); i++) {
+            edgeAdded(
+                new GraphEdgeChangeEvent<>(
+                    e.getSource(), GraphEdgeChangeEvent.EDGE_ADDED, edges.get(i),
+                    e.getEdgeSources().get(i), e.getEdgeTargets().get(i), e.getEdgeWeight(i)));
+        }
+    }
+
     /**
      * Notifies that an edge has been removed from the graph.
      *
@@ -0,0 +1,67 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.event;
+
+import java.util.*;
+
+/**
+ * An event which indicates that several vertices have been added to a graph at once. Listeners
+ * which do not handle this event receive one {@link GraphVertexChangeEvent} per vertex instead,
+ * see {@link VertexSetListener#verticesAdded(GraphVerticesChangeEvent)}.
+ *
+ * @param <V> the graph vertex type
+ */
+public class GraphVerticesChangeEvent<V>
+    extends
+    GraphChangeEvent
+{
+    private static final long serialVersionUID = 4129504926744521186L;
+
+    /**
+     * Vertices added event. This event is fired after several vertices are added to a graph.
+     */
+    public static final int VERTICES_ADDED = 15;
+
+    /**
+     * The vertices that this event is related to.
+     */
+    protected List<V> vertices;
+
+    /**
+     * Creates a new GraphVerticesChangeEvent object.
+     *
+     * @param eventSource the source of the event.
+     * @param type the type of the event.
+     * @param vertices the vertices that the event is related to.
+     */
+    public GraphVerticesChangeEvent(Object eventSource, int type, List<V> vertices)
+    {
+        super(eventSource, type);
+        this.vertices = Collections.unmodifiableList(vertices);
+    }
+
+    /**
+     * Returns the vertices that this event is related to, in the order they were added.
+     *
+     * @return the vertices that this event is related to.
+     */
+    public List<V> getVertices()
+    {
+        return vertices;
+    }
+}
@@ -41,6 +41,21 @@ public interface VertexSetListener<V>
      */
     void vertexAdded(GraphVertexChangeEvent<V> e);
 
+    /**
+     * Notifies that several vertices have been added to the graph at once. The default
+     * implementation calls {@link #vertexAdded(GraphVertexChangeEvent)} for every vertex.
+     *
+     * @param e the vertices event.
+     */
+    default void verticesAdded(GraphVerticesChangeEvent<V> e)
+    {
+        for (V v : e.getVertices()) {
+            vertexAdded(
+                new GraphVertexChangeEvent<>(
+                    e.getSource(), GraphVertexChangeEvent.VERTEX_ADDED, v));
+        }
+    }
+
     /**
      * Notifies that a vertex has been removed from the graph.
      *
@@ -67,6 +67,9 @@ public abstract class AbstractBaseGraph<V, E>
         "The graph contains no vertex supplier";
     private static final String THE_GRAPH_CONTAINS_NO_EDGE_SUPPLIER =
         "The graph contains no edge supplier";
+    private static final String THE_GRAPH_IS_NOT_WEIGHTED = "The graph is not weighted";
+    private static final String BATCH_SIZES_DO_NOT_MATCH =
+        "Sources, targets and weights must have the same size";
 
     private transient Set<V> unmodifiableVertexSet = null;
 
@@ -307,6 +310,185 @@ public abstract class AbstractBaseGraph<V, E>
         }
     }
 
+    /**
+     * Adds a collection of vertices to the graph. This is equivalent to calling
+     * {@link #addVertex(Object)} for every vertex, but faster for large collections. If the graph
+     * is empty and its vertex set has not been requested yet, the vertex storage is sized once for
+     * all the vertices.
+     *
+     * @param vertices the vertices to add
+     * @return the vertices which were not already contained in the graph, in the order of the
+     *         collection
+     * @throws NullPointerException if a vertex is {@code null}, in which case no vertex is added
+     */
+    public List<V> addVertices(Collection<? extends V> vertices)
+    {
+        for (V v : vertices) {
+            if (v == null) {
+                throw new NullPointerException();
+            }
+        }
+
+        if (unmodifiableVertexSet == null) {
+            specifics.ensureCapacity(vertices.size(), 0);
+        }
+
+        List<V> added = new ArrayList<>(vertices.size());
+        for (V v : vertices) {
+            if (specifics.addVertex(v)) {
+                added.add(v);
+            }
+        }
+        return added;
+    }
+
+    /**
+     * Creates a batch of edges using the edge supplier of the graph and adds them to the graph. The
+     * edge at index $i$ connects {@code sourceVertices.get(i)} to {@code targetVertices.get(i)}
+     * and, if weights are given, has weight {@code weights[i]}. This is equivalent to calling
+     * {@link #addEdge(Object, Object)} and {@link #setEdgeWeight(Object, double)} for every edge,
+     * but faster for large batches. The weight of an edge is stored when the edge is created, the
+     * edge container of a source vertex is reused by consecutive edges of that vertex, and if the
+     * graph contains no edge yet its edge storage is sized once for all the edges.
+     *
+     * <p>
+     * All the vertices are checked before any edge is added, thus if an exception is thrown the
+     * graph is not modified.
+     *
+     * @param sourceVertices the source vertices of the edges
+     * @param targetVertices the target vertices of the edges
+     * @param weights the weights of the edges, or {@code null} for the default weight
+     * @return a list which contains at index $i$ the edge created for index $i$ of the batch, or
+     *         {@code null} if no edge was added since the graph does not allow multiple edges
+     * @throws IllegalArgumentException if the sizes of the batch do not match, if a vertex is not
+     *         contained in the graph, or if the graph does not allow self-loops and the batch
+     *         contains one
+     * @throws NullPointerException if a vertex is {@code null}
+     * @throws UnsupportedOperationException if the graph has no edge supplier, or if weights are
+     *         given and the graph is not weighted
+     */
+    public List<E> addEdges(
+        List<? extends V> sourceVertices, List<? extends V> targetVertices, double[] weights)
+    {
+        int size = sourceVertices.size();
+        if (targetVertices.size() != size || (weights != null && weights.length != size)) {
+            throw new IllegalArgumentException(BATCH_SIZES_DO_NOT_MATCH);
+        }
+        if (edgeSupplier == null) {
+            throw new UnsupportedOperationException(THE_GRAPH_CONTAINS_NO_EDGE_SUPPLIER);
+        }
+        if (weights != null && !type.isWeighted()) {
+            throw new UnsupportedOperationException(THE_GRAPH_IS_NOT_WEIGHTED);
+        }
+
+        V lastSource = null;
+        V lastTarget = null;
+        for (int i = 0; i < size; i++) {
+            V sourceVertex = sourceVertices.get(i);
+            V targetVertex = targetVertices.get(i);
+            if (i == 0 || sourceVertex != lastSource) {
+                assertVertexExist(sourceVertex);
+                lastSource = sourceVertex;
+            }
+            if (i == 0 || targetVertex != lastTarget) {
+                assertVertexExist(targetVertex);
+                lastTarget = targetVertex;
+            }
+            if (!type.isAllowingSelfLoops() && sourceVertex.equals(targetVertex)) {
+                throw new IllegalArgumentException(LOOPS_NOT_ALLOWED);
+            }
+        }
+
+        specifics.ensureCapacity(0, size);
+        intrusiveEdgesSpecifics.ensureCapacity(size);
+
+        List<E> edges = new ArrayList<>(Collections.nCopies(size, null));
+        if (!type.isAllowingMultipleEdges()) {
+            specifics.createEdgesToTouchingVerticesIfAbsent(
+                sourceVertices, targetVertices, edgeSupplier, (e, i) -> {
+                    V sourceVertex = sourceVertices.get(i);
+                    V targetVertex = targetVertices.get(i);
+                    if (addIntrusiveEdge(e, sourceVertex, targetVertex, weights, i)) {
+                        edges.set(i, e);
+                    }
+                });
+        } else {
+            for (int i = 0; i < size; i++) {
+                E e = edgeSupplier.get();
+                if (addIntrusiveEdge(e, sourceVertices.get(i), targetVertices.get(i), weights, i)) {
+                    edges.set(i, e);
+                }
+            }
+            specifics.addEdgesToTouchingVertices(sourceVertices, targetVertices, edges);
+        }
+        return edges;
+    }
+
+    private boolean addIntrusiveEdge(
+        E e, V sourceVertex, V targetVertex, double[] weights, int index)
+    {
+        if (weights == null) {
+            return intrusiveEdgesSpecifics.add(e, sourceVertex, targetVertex);
+        }
+        return intrusiveEdgesSpecifics.add(e, sourceVertex, targetVertex, weights[index]);
+    }
+
+    /**
+     * Adds a collection of vertices to a graph one by one, for graphs which do not support batches.
+     *
+     * @param graph the graph
+     * @param vertices the vertices to add
+     * @return the vertices which were not already contained in the graph
+     * @param <V> the graph vertex type
+     * @param <E> the graph edge type
+     */
+    static <V, E> List<V> addVerticesSequentially(
+        Graph<V, E> graph, Collection<? extends V> vertices)
+    {
+        List<V> added = new ArrayList<>();
+        for (V v : vertices) {
+            if (graph.addVertex(v)) {
+                added.add(v);
+            }
+        }
+        return added;
+    }
+
+    /**
+     * Adds a batch of edges to a graph one by one, for graphs which do not support batches. Unlike
+     * {@link #addEdges(List, List, double[])}, the edges which precede an invalid edge are added.
+     *
+     * @param graph the graph
+     * @param sourceVertices the source vertices of the edges
+     * @param targetVertices the target vertices of the edges
+     * @param weights the weights of the edges, or {@code null} for the default weight
+     * @return a list which contains at index $i$ the edge created for index $i$ of the batch, or
+     *         {@code null} if no edge was added
+     * @param <V> the graph vertex type
+     * @param <E> the graph edge type
+     */
+    static <V, E> List<E> addEdgesSequentially(
+        Graph<V, E> graph, List<? extends V> sourceVertices, List<? extends V> targetVertices,
+        double[] weights)
+    {
+        int size = sourceVertices.size();
+        if (targetVertices.size() != size || (weights != null && weights.length != size)) {
+            throw new IllegalArgumentException(BATCH_SIZES_DO_NOT_MATCH);
+        }
+        if (weights != null && !graph.getType().isWeighted()) {
+            throw new UnsupportedOperationException(THE_GRAPH_IS_NOT_WEIGHTED);
+        }
+        List<E> edges = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            E e = graph.addEdge(sourceVertices.get(i), targetVertices.get(i));
+            if (e != null && weights != null) {
+                graph.setEdgeWeight(e, weights[i]);
+            }
+            edges.add(e);
+        }
+        return edges;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -76,6 +76,22 @@ public abstract class BaseIntrusiveEdgesSpecifics<V, E, IE extends IntrusiveEdge
         return unmodifiableEdgeSet;
     }
 
+    /**
+     * Prepare for the addition of a number of edges. If no edge has been added yet and the edge set
+     * has not been requested, a default edge map is replaced by one which is large enough to hold
+     * the edges without rehashing. Otherwise this method does nothing.
+     * 
+     * @param edgeCount the number of edges which are about to be added
+     */
+    public void ensureCapacity(int edgeCount)
+    {
+        if (edgeCount > 0 && edgeMap.isEmpty() && unmodifiableEdgeSet == null
+            && edgeMap.getClass() == LinkedHashMap.class)
+        {
+            edgeMap = CollectionUtil.newLinkedHashMapWithExpectedSize(edgeCount);
+        }
+    }
+
     /**
      * Remove an edge.
      * 
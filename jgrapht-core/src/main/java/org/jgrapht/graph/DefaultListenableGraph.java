@@ -169,6 +169,89 @@ public class DefaultListenableGraph<V, E>
         return modified;
     }
 
+    /**
+     * Adds a collection of vertices to the graph and notifies the listeners once, using a
+     * {@link GraphVerticesChangeEvent}. If the backing graph is an {@link AbstractBaseGraph}, the
+     * vertices are added using {@link AbstractBaseGraph#addVertices(Collection)}, otherwise one by
+     * one.
+     *
+     * @param vertices the vertices to add
+     * @return the vertices which were not already contained in the graph
+     */
+    public List<V> addVertices(Collection<? extends V> vertices)
+    {
+        Graph<V, E> g = getDelegate();
+        List<V> added;
+        if (g instanceof AbstractBaseGraph) {
+            added = ((AbstractBaseGraph<V, E>) g).addVertices(vertices);
+        } else {
+            added = AbstractBaseGraph.addVerticesSequentially(g, vertices);
+        }
+
+        if (!added.isEmpty()) {
+            fireVerticesAdded(added);
+        }
+
+        return added;
+    }
+
+    /**
+     * Adds a batch of edges to the graph and notifies the listeners once, using a
+     * {@link GraphEdgesChangeEvent}. If the backing graph is an {@link AbstractBaseGraph}, the
+     * edges are added using {@link AbstractBaseGraph#addEdges(List, List, double[])}, otherwise one
+     * by one.
+     *
+     * @param sourceVertices the source vertices of the edges
+     * @param targetVertices the target vertices of the edges
+     * @param weights the weights of the edges, or {@code null} for the default weight
+     * @return a list which contains at index $i$ the edge created for index $i$ of the batch, or
+     *         {@code null} if no edge was added
+     */
+    public List<E> addEdges(
+        List<? extends V> sourceVertices, List<? extends V> targetVertices, double[] weights)
+    {
+        Graph<V, E> g = getDelegate();
+        List<E> edges;
+        if (g instanceof AbstractBaseGraph) {
+            edges = ((AbstractBaseGraph<V, E>) g).addEdges(sourceVertices, targetVertices, weights);
+        } else {
+            edges = AbstractBaseGraph
+                .addEdgesSequentially(g, sourceVertices, targetVertices, weights);
+        }
+
+        int count = 0;
+        for (E e : edges) {
+            if (e != null) {
+                count++;
+            }
+        }
+        if (count == edges.size()) {
+            fireEdgesAdded(
+                edges, Collections.unmodifiableList(sourceVertices),
+                Collections.unmodifiableList(targetVertices), weights);
+        } else if (count > 0) {
+            // skip the entries of the edges which were not added
+            List<E> addedEdges = new ArrayList<>(count);
+            List<V> sources = new ArrayList<>(count);
+            List<V> targets = new ArrayList<>(count);
+            double[] addedWeights = weights == null ? null : new double[count];
+            for (int i = 0; i < edges.size(); i++) {
+                E e = edges.get(i);
+                if (e != null) {
+                    if (addedWeights != null) {
+                        addedWeights[addedEdges.size()] = weights[i];
+                    }
+                    addedEdges.add(e);
+                    sources.add(sourceVertices.get(i));
+                    targets.add(targetVertices.get(i));
+                }
+            }
+            fireEdgesAdded(addedEdges, sources, targets, addedWeights);
+        }
+
+        return edges;
+    }
+
     @Override
     public void addVertexSetListener(VertexSetListener<V> l)
     {
@@ -280,6 +363,25 @@ public class DefaultListenableGraph<V, E>
         }
     }
 
+    /**
+     * Notify listeners that the specified edges were added.
+     *
+     * @param edges the edges that were added.
+     * @param sources the edge sources
+     * @param targets the edge targets
+     * @param weights the edge weights, or null if all edges have the default weight
+     */
+    protected void fireEdgesAdded(
+        List<E> edges, List<V> sources, List<V> targets, double[] weights)
+    {
+        GraphEdgesChangeEvent<V, E> e = new GraphEdgesChangeEvent<>(
+            this, GraphEdgesChangeEvent.EDGES_ADDED, edges, sources, targets, weights);
+
+        for (GraphListener<V, E> l : graphListeners) {
+            l.edgesAdded(e);
+        }
+    }
+
     /**
      * Notify listeners that the specified edge was removed.
      *
@@ -335,6 +437,25 @@ public class DefaultListenableGraph<V, E>
         }
     }
 
+    /**
+     * Notify listeners that the specified vertices were added.
+     *
+     * @param vertices the vertices that were added.
+     */
+    protected void fireVerticesAdded(List<V> vertices)
+    {
+        GraphVerticesChangeEvent<V> e = new GraphVerticesChangeEvent<>(
+            this, GraphVerticesChangeEvent.VERTICES_ADDED, vertices);
+
+        for (VertexSetListener<V> l : vertexSetListeners) {
+            l.verticesAdded(e);
+        }
+
+        for (GraphListener<V, E> l : graphListeners) {
+            l.verticesAdded(e);
+        }
+    }
+
     /**
      * Notify listeners that the specified vertex was removed.
      *
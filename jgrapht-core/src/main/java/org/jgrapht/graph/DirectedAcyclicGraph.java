@@ -230,6 +230,18 @@ public class DirectedAcyclicGraph<V, E>
         return added;
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * The vertices are added one by one, in order to maintain the topological order.
+     */
+    @Override
+    public List<V> addVertices(Collection<? extends V> vertices)
+    {
+        return addVerticesSequentially(this, vertices);
+    }
+
     @Override
     public boolean removeVertex(V v)
     {
@@ -288,6 +300,22 @@ public class DirectedAcyclicGraph<V, E>
         return result;
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * The edges are added one by one, in order to maintain the topological order. Therefore, if an
+     * edge would induce a cycle, the edges which precede it in the batch are added.
+     *
+     * @throws IllegalArgumentException if an edge would induce a cycle in the graph
+     */
+    @Override
+    public List<E> addEdges(
+        List<? extends V> sourceVertices, List<? extends V> targetVertices, double[] weights)
+    {
+        return addEdgesSequentially(this, sourceVertices, targetVertices, weights);
+    }
+
     /**
      * {@inheritDoc}
      *
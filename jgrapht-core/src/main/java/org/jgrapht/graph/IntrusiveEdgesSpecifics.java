@@ -62,6 +62,25 @@ public interface IntrusiveEdgesSpecifics<V, E>
      */
     boolean add(E e, V sourceVertex, V targetVertex);
 
+    /**
+     * Add a new edge with a weight.
+     * 
+     * @param e the edge to add
+     * @param sourceVertex the source vertex
+     * @param targetVertex the target vertex
+     * @param weight the edge weight
+     * @return true if the edge was added, false if the edge was already present
+     * @throws UnsupportedOperationException if the edges are not weighted
+     */
+    default boolean add(E e, V sourceVertex, V targetVertex, double weight)
+    {
+        if (!add(e, sourceVertex, targetVertex)) {
+            return false;
+        }
+        setEdgeWeight(e, weight);
+        return true;
+    }
+
     /**
      * Check if an edge exists
      * 
@@ -99,4 +118,14 @@ public interface IntrusiveEdgesSpecifics<V, E>
      * @param weight the new weight
      */
     void setEdgeWeight(E e, double weight);
+
+    /**
+     * Prepare for the addition of a number of edges. Implementations may use this hint in order to
+     * size their storage once, instead of growing it while the edges are added.
+     * 
+     * @param edgeCount the number of edges which are about to be added
+     */
+    default void ensureCapacity(int edgeCount)
+    {
+    }
 }
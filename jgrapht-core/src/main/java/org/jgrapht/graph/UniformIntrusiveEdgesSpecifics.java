@@ -53,10 +53,6 @@ public class UniformIntrusiveEdgesSpecifics<V, E>
     @Override
     public boolean add(E e, V sourceVertex, V targetVertex)
     {
-        if (edgeMap.containsKey(e)) {
-            return false;
-        }
-
         IntrusiveEdge intrusiveEdge;
         if (e instanceof IntrusiveEdge) {
             intrusiveEdge = (IntrusiveEdge) e;
@@ -64,10 +60,13 @@ public class UniformIntrusiveEdgesSpecifics<V, E>
             intrusiveEdge = new IntrusiveEdge();
         }
 
+        // an intrusive edge which is already present must not be modified
+        if (edgeMap.putIfAbsent(e, intrusiveEdge) != null) {
+            return false;
+        }
+
         intrusiveEdge.source = sourceVertex;
         intrusiveEdge.target = targetVertex;
-
-        edgeMap.put(e, intrusiveEdge);
         return true;
     }
 
@@ -53,21 +53,17 @@ public class WeightedIntrusiveEdgesSpecifics<V, E>
     @Override
     public boolean add(E e, V sourceVertex, V targetVertex)
     {
-        if (edgeMap.containsKey(e)) {
-            return false;
-        }
+        return insert(e, sourceVertex, targetVertex) != null;
+    }
 
-        IntrusiveWeightedEdge intrusiveEdge;
-        if (e instanceof IntrusiveWeightedEdge) {
-            intrusiveEdge = (IntrusiveWeightedEdge) e;
-        } else {
-            intrusiveEdge = new IntrusiveWeightedEdge();
+    @Override
+    public boolean add(E e, V sourceVertex, V targetVertex, double weight)
+    {
+        IntrusiveWeightedEdge intrusiveEdge = insert(e, sourceVertex, targetVertex);
+        if (intrusiveEdge == null) {
+            return false;
         }
-
-        intrusiveEdge.source = sourceVertex;
-        intrusiveEdge.target = targetVertex;
-
-        edgeMap.put(e, intrusiveEdge);
+        intrusiveEdge.weight = weight;
         return true;
     }
 
@@ -91,6 +87,33 @@ public class WeightedIntrusiveEdgesSpecifics<V, E>
         ie.weight = weight;
     }
 
+    /**
+     * Insert an edge with a single map operation.
+     * 
+     * @param e the edge
+     * @param sourceVertex the source vertex
+     * @param targetVertex the target vertex
+     * @return the intrusive edge, or null if the edge was already present
+     */
+    private IntrusiveWeightedEdge insert(E e, V sourceVertex, V targetVertex)
+    {
+        IntrusiveWeightedEdge intrusiveEdge;
+        if (e instanceof IntrusiveWeightedEdge) {
+            intrusiveEdge = (IntrusiveWeightedEdge) e;
+        } else {
+            intrusiveEdge = new IntrusiveWeightedEdge();
+        }
+
+        // an intrusive edge which is already present must not be modified
+        if (edgeMap.putIfAbsent(e, intrusiveEdge) != null) {
+            return null;
+        }
+
+        intrusiveEdge.source = sourceVertex;
+        intrusiveEdge.target = targetVertex;
+        return intrusiveEdge;
+    }
+
     @Override
     protected IntrusiveWeightedEdge getIntrusiveEdge(E e)
     {
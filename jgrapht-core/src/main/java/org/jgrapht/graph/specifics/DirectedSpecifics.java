@@ -142,6 +142,33 @@ public class DirectedSpecifics<V, E>
         return true;
     }
 
+    /**
+     * {@inheritDoc}
+     * 
+     * <p>
+     * The edge container of a source vertex is reused by consecutive edges of that vertex.
+     */
+    @Override
+    public void addEdgesToTouchingVertices(
+        List<? extends V> sourceVertices, List<? extends V> targetVertices, List<? extends E> edges)
+    {
+        V lastSource = null;
+        DirectedEdgeContainer<V, E> sourceContainer = null;
+        for (int i = 0; i < edges.size(); i++) {
+            E e = edges.get(i);
+            if (e == null) {
+                continue;
+            }
+            V sourceVertex = sourceVertices.get(i);
+            if (sourceContainer == null || sourceVertex != lastSource) {
+                sourceContainer = getEdgeContainer(sourceVertex);
+                lastSource = sourceVertex;
+            }
+            sourceContainer.addOutgoingEdge(e);
+            getEdgeContainer(targetVertices.get(i)).addIncomingEdge(e);
+        }
+    }
+
     @Override
     public boolean addEdgeToTouchingVerticesIfAbsent(V sourceVertex, V targetVertex, E e)
     {
@@ -258,6 +285,21 @@ public class DirectedSpecifics<V, E>
         getEdgeContainer(targetVertex).removeIncomingEdge(e);
     }
 
+    /**
+     * {@inheritDoc}
+     * 
+     * <p>
+     * If no vertex has been added yet, a default vertex map is replaced by one which is large
+     * enough to hold the vertices without rehashing.
+     */
+    @Override
+    public void ensureCapacity(int vertexCount, int edgeCount)
+    {
+        if (vertexCount > 0 && vertexMap.isEmpty() && vertexMap.getClass() == LinkedHashMap.class) {
+            vertexMap = CollectionUtil.newLinkedHashMapWithExpectedSize(vertexCount);
+        }
+    }
+
     /**
      * Get the edge container for specified vertex.
      *
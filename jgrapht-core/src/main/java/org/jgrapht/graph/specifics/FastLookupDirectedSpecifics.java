@@ -20,6 +20,7 @@ package org.jgrapht.graph.specifics;
 import org.jgrapht.*;
 import org.jgrapht.alg.util.*;
 import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
 
 import java.util.*;
 import java.util.function.*;
@@ -103,6 +104,19 @@ public class FastLookupDirectedSpecifics<V, E>
         return true;
     }
 
+    @Override
+    public void addEdgesToTouchingVertices(
+        List<? extends V> sourceVertices, List<? extends V> targetVertices, List<? extends E> edges)
+    {
+        super.addEdgesToTouchingVertices(sourceVertices, targetVertices, edges);
+        for (int i = 0; i < edges.size(); i++) {
+            E e = edges.get(i);
+            if (e != null) {
+                addToIndex(sourceVertices.get(i), targetVertices.get(i), e);
+            }
+        }
+    }
+
     @Override
     public boolean addEdgeToTouchingVerticesIfAbsent(V sourceVertex, V targetVertex, E e)
     {
@@ -130,6 +144,38 @@ public class FastLookupDirectedSpecifics<V, E>
         return e;
     }
 
+    /**
+     * {@inheritDoc}
+     * 
+     * <p>
+     * The index is looked up once per edge, and the edges are then added to the edge containers as
+     * a batch.
+     */
+    @Override
+    public void createEdgesToTouchingVerticesIfAbsent(
+        List<? extends V> sourceVertices, List<? extends V> targetVertices,
+        Supplier<E> edgeSupplier, ObjIntConsumer<E> edgeCreated)
+    {
+        List<E> edges = new ArrayList<>(sourceVertices.size());
+        for (int i = 0; i < sourceVertices.size(); i++) {
+            V sourceVertex = sourceVertices.get(i);
+            Pair<V, V> vertexPair = new Pair<>(sourceVertex, targetVertices.get(i));
+            Set<E> edgeSet = touchingVerticesToEdgeMap.get(vertexPair);
+            if (edgeSet == null) {
+                edgeSet = edgeSetFactory.createEdgeSet(sourceVertex);
+                touchingVerticesToEdgeMap.put(vertexPair, edgeSet);
+            } else if (!edgeSet.isEmpty()) {
+                edges.add(null);
+                continue;
+            }
+            E e = edgeSupplier.get();
+            edgeSet.add(e);
+            edges.add(e);
+            edgeCreated.accept(e, i);
+        }
+        super.addEdgesToTouchingVertices(sourceVertices, targetVertices, edges);
+    }
+
     @Override
     public void removeEdgeFromTouchingVertices(V sourceVertex, V targetVertex, E e)
     {
@@ -138,6 +184,24 @@ public class FastLookupDirectedSpecifics<V, E>
         removeFromIndex(sourceVertex, targetVertex, e);
     }
 
+    /**
+     * {@inheritDoc}
+     * 
+     * <p>
+     * If the index is empty, a default index map is also replaced by one which is large enough to
+     * hold an entry for every edge without rehashing.
+     */
+    @Override
+    public void ensureCapacity(int vertexCount, int edgeCount)
+    {
+        super.ensureCapacity(vertexCount, edgeCount);
+        if (edgeCount > 0 && touchingVerticesToEdgeMap.isEmpty()
+            && touchingVerticesToEdgeMap.getClass() == HashMap.class)
+        {
+            touchingVerticesToEdgeMap = CollectionUtil.newHashMapWithExpectedSize(edgeCount);
+        }
+    }
+
     /**
      * Add an edge to the index.
      * 
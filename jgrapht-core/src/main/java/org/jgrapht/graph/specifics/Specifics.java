@@ -85,6 +85,26 @@ public interface Specifics<V, E>
      */
     boolean addEdgeToTouchingVertices(V sourceVertex, V targetVertex, E e);
 
+    /**
+     * Adds a batch of edges to the edge containers of their source and target vertices. This is
+     * equivalent to calling {@link #addEdgeToTouchingVertices(Object, Object, Object)} for every
+     * edge, but implementations may share work among the edges of the batch.
+     * 
+     * @param sourceVertices the source vertices
+     * @param targetVertices the target vertices
+     * @param edges the edges, where {@code null} entries are skipped
+     */
+    default void addEdgesToTouchingVertices(
+        List<? extends V> sourceVertices, List<? extends V> targetVertices, List<? extends E> edges)
+    {
+        for (int i = 0; i < edges.size(); i++) {
+            E e = edges.get(i);
+            if (e != null) {
+                addEdgeToTouchingVertices(sourceVertices.get(i), targetVertices.get(i), e);
+            }
+        }
+    }
+
     /**
      * Adds the specified edge to the edge containers of its source and target vertices only if the
      * edge is not already in the graph.
@@ -110,6 +130,31 @@ public interface Specifics<V, E>
     E createEdgeToTouchingVerticesIfAbsent(
         V sourceVertex, V targetVertex, Supplier<E> edgeSupplier);
 
+    /**
+     * Creates a batch of edges given an edge supplier. This is equivalent to calling
+     * {@link #createEdgeToTouchingVerticesIfAbsent(Object, Object, Supplier)} for every pair of
+     * source and target vertices, in order, but implementations may share work among the edges of
+     * the batch. Every created edge is passed to a consumer, together with its index in the batch,
+     * before the next pair is processed, so that the graph can register the edge.
+     * 
+     * @param sourceVertices the source vertices
+     * @param targetVertices the target vertices
+     * @param edgeSupplier the function which will create the edges
+     * @param edgeCreated the consumer of the created edges and their indices
+     */
+    default void createEdgesToTouchingVerticesIfAbsent(
+        List<? extends V> sourceVertices, List<? extends V> targetVertices,
+        Supplier<E> edgeSupplier, ObjIntConsumer<E> edgeCreated)
+    {
+        for (int i = 0; i < sourceVertices.size(); i++) {
+            E e = createEdgeToTouchingVerticesIfAbsent(
+                sourceVertices.get(i), targetVertices.get(i), edgeSupplier);
+            if (e != null) {
+                edgeCreated.accept(e, i);
+            }
+        }
+    }
+
     /**
      * Returns the degree of the specified vertex. A degree of a vertex in an undirected graph is
      * the number of edges touching that vertex.
@@ -171,4 +216,17 @@ public interface Specifics<V, E>
      */
     void removeEdgeFromTouchingVertices(V sourceVertex, V targetVertex, E e);
 
+    /**
+     * Prepare for the addition of a number of vertices and edges. Implementations may use this hint
+     * in order to size their storage once, instead of growing it while the elements are added. An
+     * implementation may replace its storage if it is empty, therefore the caller must not hold any
+     * view returned by {@link #getVertexSet()}.
+     * 
+     * @param vertexCount the number of vertices which are about to be added
+     * @param edgeCount the number of edges which are about to be added
+     */
+    default void ensureCapacity(int vertexCount, int edgeCount)
+    {
+    }
+
 }
@@ -41,10 +41,16 @@ import java.util.NoSuchElementException;
  *     <li>Node successor/predecessor queries in $\mathcal{O}(1)$ time</li>
  *     <li>Tree split in $\mathcal{O}(\log n)$ time</li>
  *     <li>Tree merge in $\mathcal{O}(\log n)$ time</li>
+ *     <li>Node flags update in $\mathcal{O}(\log n)$ time</li>
  * </ul>
  * <p>
+ * Every tree node holds an integer bit mask of user specified flags. Every node also stores the
+ * bitwise or of the flags of its subtree, which makes it possible to find a flagged node in
+ * $\mathcal{O}(\log n)$ time by descending from the root.
+ * <p>
  * This implementation gives users access to the tree nodes which hold the inserted elements.
- * The user is able to store the tree nodes references but isn't able to modify them.
+ * The user is able to store the tree nodes references. The flags are the only part of a node
+ * which the user is able to modify, see {@link TreeNode#setFlags(int)}.
  *
  * @param <T> the key data type
  * @author Timofey Chudakov
@@ -729,6 +735,14 @@ public class AVLTree<T> implements Iterable<T> {
          * Size of the subtree rooted at this node
          */
         int subtreeSize;
+        /**
+         * User specified flags of this node
+         */
+        int flags;
+        /**
+         * Bitwise or of the flags of the nodes in the subtree rooted at this node
+         */
+        int subtreeFlags;
 
         /**
          * Constructs a new node with the {@code value} stored in it
@@ -844,11 +858,43 @@ public class AVLTree<T> implements Iterable<T> {
         }
 
         /**
-         * Resets this node to the default state
+         * Returns the flags of this node
+         *
+         * @return the flags of this node
+         */
+        public int getFlags() {
+            return flags;
+        }
+
+        /**
+         * Returns the bitwise or of the flags of the nodes in the subtree rooted at this node
+         *
+         * @return the bitwise or of the flags of the nodes in the subtree rooted at this node
+         */
+        public int getSubtreeFlags() {
+            return subtreeFlags;
+        }
+
+        /**
+         * Updates the flags of this node. This method has $\mathcal{O}(\log n)$ running time
+         * complexity, since the subtree flags of all ancestors of this node are updated as well.
+         *
+         * @param flags new flags of this node
+         */
+        public void setFlags(int flags) {
+            this.flags = flags;
+            for (TreeNode<T> node = this; node != null; node = node.parent) {
+                node.updateSubtreeFlags();
+            }
+        }
+
+        /**
+         * Resets this node to the default state. The flags of the node are preserved
          */
         void reset() {
             this.height = 1;
             this.subtreeSize = 1;
+            this.subtreeFlags = flags;
             this.subtreeMin = this;
             this.subtreeMax = this;
             this.left = this.right = this.parent = this.predecessor = this.successor = null;
@@ -891,12 +937,27 @@ public class AVLTree<T> implements Iterable<T> {
         }
 
         /**
-         * Updates the height and subtree size of this node according
+         * Updates the height, subtree size and subtree flags of this node according
          * to the values of the left and right children
          */
         void updateHeightAndSubtreeSize() {
             height = Math.max(getLeftHeight(), getRightHeight()) + 1;
             subtreeSize = getLeftSubtreeSize() + getRightSubtreeSize() + 1;
+            updateSubtreeFlags();
+        }
+
+        /**
+         * Updates the subtree flags of this node according to the flags of this node
+         * and the subtree flags of the left and right children
+         */
+        void updateSubtreeFlags() {
+            subtreeFlags = flags;
+            if (left != null) {
+                subtreeFlags |= left.subtreeFlags;
+            }
+            if (right != null) {
+                subtreeFlags |= right.subtreeFlags;
+            }
         }
 
         /**
@@ -0,0 +1,201 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg;
+
+import org.jgrapht.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+
+import java.util.*;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link NagamochiIbarakiMinimumCut}.
+ */
+public class NagamochiIbarakiMinimumCutTest
+{
+    private static final double EPS = 1e-9;
+
+    @Test
+    public void testMinCut14()
+    {
+        Graph<String, DefaultWeightedEdge> g = new SimpleWeightedGraph<>(DefaultWeightedEdge.class);
+        Graphs.addAllVertices(g, Arrays.asList("v1", "v2", "v3", "v4"));
+        Graphs.addEdge(g, "v1", "v2", 3.0);
+        Graphs.addEdge(g, "v1", "v3", 2.0);
+        Graphs.addEdge(g, "v1", "v4", 4.0);
+        Graphs.addEdge(g, "v2", "v3", 1.0);
+        Graphs.addEdge(g, "v3", "v4", 1.0);
+
+        NagamochiIbarakiMinimumCut<String, DefaultWeightedEdge> mincut =
+            new NagamochiIbarakiMinimumCut<>(g);
+
+        assertEquals(4.0, mincut.minCutWeight(), EPS);
+        assertEquals(4.0, cutWeight(g, mincut.minCut()), EPS);
+    }
+
+    @Test
+    public void testMinCutDisconnected()
+    {
+        Graph<String, DefaultWeightedEdge> g = new SimpleWeightedGraph<>(DefaultWeightedEdge.class);
+        Graphs.addAllVertices(g, Arrays.asList("v1", "v2", "v3", "v4"));
+        Graphs.addEdge(g, "v1", "v2", 3.0);
+        Graphs.addEdge(g, "v1", "v3", 2.0);
+        Graphs.addEdge(g, "v2", "v3", 1.0);
+
+        NagamochiIbarakiMinimumCut<String, DefaultWeightedEdge> mincut =
+            new NagamochiIbarakiMinimumCut<>(g);
+
+        assertEquals(0.0, mincut.minCutWeight(), EPS);
+        assertEquals(0.0, cutWeight(g, mincut.minCut()), EPS);
+    }
+
+    @Test
+    public void testMinCut0Weight()
+    {
+        Graph<String, DefaultWeightedEdge> g = new SimpleWeightedGraph<>(DefaultWeightedEdge.class);
+        Graphs
+            .addAllVertices(g, Arrays.asList("v1", "v2", "v3", "v4", "v5", "v6", "v7", "v8"));
+        Graphs.addEdge(g, "v1", "v2", 1.0);
+        Graphs.addEdge(g, "v2", "v3", 2.0);
+        Graphs.addEdge(g, "v3", "v4", 0.0);
+        Graphs.addEdge(g, "v4", "v5", 1.0);
+        Graphs.addEdge(g, "v5", "v6", 2.0);
+        Graphs.addEdge(g, "v6", "v1", 0.0);
+        Graphs.addEdge(g, "v6", "v8", 1.0);
+        Graphs.addEdge(g, "v8", "v7", 0.0);
+        Graphs.addEdge(g, "v7", "v3", 2.0);
+
+        NagamochiIbarakiMinimumCut<String, DefaultWeightedEdge> mincut =
+            new NagamochiIbarakiMinimumCut<>(g);
+
+        Set<String> solution1 = new HashSet<>(Arrays.asList("v4", "v5", "v6", "v8"));
+        Set<String> solution2 = new HashSet<>(Arrays.asList("v1", "v2", "v3", "v7"));
+
+        assertEquals(0.0, mincut.minCutWeight(), EPS);
+        assertTrue(mincut.minCut().equals(solution1) || mincut.minCut().equals(solution2));
+    }
+
+    @Test
+    public void testMinCutMultigraph()
+    {
+        Graph<String, DefaultWeightedEdge> g = new WeightedMultigraph<>(DefaultWeightedEdge.class);
+        Graphs.addAllVertices(g, Arrays.asList("v1", "v2", "v3"));
+        Graphs.addEdge(g, "v1", "v2", 1.5);
+        Graphs.addEdge(g, "v1", "v2", 1.5);
+        Graphs.addEdge(g, "v2", "v3", 2.0);
+
+        NagamochiIbarakiMinimumCut<String, DefaultWeightedEdge> mincut =
+            new NagamochiIbarakiMinimumCut<>(g);
+
+        assertEquals(2.0, mincut.minCutWeight(), EPS);
+        assertTrue(
+            mincut.minCut().equals(Collections.singleton("v3"))
+                || mincut.minCut().equals(new HashSet<>(Arrays.asList("v1", "v2"))));
+    }
+
+    @Test
+    public void testRandomGraphs()
+    {
+        Random rng = new Random(17);
+        for (int i = 0; i < 300; i++) {
+            Graph<Integer, DefaultWeightedEdge> g = new WeightedPseudograph<>(
+                SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER);
+            int n = 2 + rng.nextInt(40);
+            int m = rng.nextInt(n * 4);
+            new GnmRandomGraphGenerator<Integer, DefaultWeightedEdge>(
+                n, m, rng.nextLong(), false, true).generateGraph(g);
+            boolean integral = rng.nextBoolean();
+            for (DefaultWeightedEdge e : g.edgeSet()) {
+                g.setEdgeWeight(e, integral ? rng.nextInt(5) : rng.nextDouble() * 10);
+            }
+
+            NagamochiIbarakiMinimumCut<Integer, DefaultWeightedEdge> mincut =
+                new NagamochiIbarakiMinimumCut<>(g);
+            double expected = new StoerWagnerMinimumCut<>(g).minCutWeight();
+
+            assertEquals(expected, mincut.minCutWeight(), EPS);
+            Set<Integer> side = mincut.minCut();
+            assertFalse(side.isEmpty());
+            assertTrue(side.size() < g.vertexSet().size());
+            assertEquals(expected, cutWeight(g, side), EPS);
+        }
+    }
+
+    @Test
+    public void testLargeSparseGraph()
+    {
+        Graph<Integer, DefaultWeightedEdge> g = new SimpleWeightedGraph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER);
+        new GnmRandomGraphGenerator<Integer, DefaultWeightedEdge>(400, 2000, 42)
+            .generateGraph(g);
+        Random rng = new Random(42);
+        for (DefaultWeightedEdge e : g.edgeSet()) {
+            g.setEdgeWeight(e, 1 + rng.nextInt(10));
+        }
+
+        NagamochiIbarakiMinimumCut<Integer, DefaultWeightedEdge> mincut =
+            new NagamochiIbarakiMinimumCut<>(g);
+
+        assertEquals(new StoerWagnerMinimumCut<>(g).minCutWeight(), mincut.minCutWeight(), EPS);
+        assertEquals(mincut.minCutWeight(), cutWeight(g, mincut.minCut()), EPS);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDirectedGraph()
+    {
+        Graph<String, DefaultWeightedEdge> g =
+            new SimpleDirectedWeightedGraph<>(DefaultWeightedEdge.class);
+        Graphs.addAllVertices(g, Arrays.asList("v1", "v2"));
+        g.addEdge("v1", "v2");
+        new NagamochiIbarakiMinimumCut<>(g);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSingleVertex()
+    {
+        Graph<String, DefaultWeightedEdge> g = new SimpleWeightedGraph<>(DefaultWeightedEdge.class);
+        g.addVertex("v1");
+        new NagamochiIbarakiMinimumCut<>(g);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeWeight()
+    {
+        Graph<String, DefaultWeightedEdge> g = new SimpleWeightedGraph<>(DefaultWeightedEdge.class);
+        Graphs.addAllVertices(g, Arrays.asList("v1", "v2"));
+        Graphs.addEdge(g, "v1", "v2", -1.0);
+        new NagamochiIbarakiMinimumCut<>(g);
+    }
+
+    private static <V, E> double cutWeight(Graph<V, E> g, Set<V> side)
+    {
+        double weight = 0d;
+        for (E e : g.edgeSet()) {
+            if (side.contains(g.getEdgeSource(e)) != side.contains(g.getEdgeTarget(e))) {
+                weight += g.getEdgeWeight(e);
+            }
+        }
+        return weight;
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.clique;
+
+import org.jgrapht.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link BBMCMaximumCliqueFinder}.
+ */
+public class BBMCMaximumCliqueFinderTest
+{
+    @Test
+    public void testEmptyGraph()
+    {
+        Graph<Integer, DefaultEdge> graph = new SimpleGraph<>(DefaultEdge.class);
+        Set<Integer> clique = new BBMCMaximumCliqueFinder<>(graph).getClique();
+        assertNotNull(clique);
+        assertTrue(clique.isEmpty());
+    }
+
+    @Test
+    public void testIsolatedVertices()
+    {
+        Graph<Integer, DefaultEdge> graph = new SimpleGraph<>(DefaultEdge.class);
+        graph.addVertex(1);
+        graph.addVertex(2);
+        Set<Integer> clique = new BBMCMaximumCliqueFinder<>(graph).getClique();
+        assertEquals(1, clique.size());
+    }
+
+    @Test
+    public void testSmallGraph()
+    {
+        Graph<Integer, DefaultEdge> graph = new Pseudograph<>(DefaultEdge.class);
+        Graphs.addEdgeWithVertices(graph, 1, 2);
+        Graphs.addEdgeWithVertices(graph, 2, 3);
+        Graphs.addEdgeWithVertices(graph, 3, 4);
+        Graphs.addEdgeWithVertices(graph, 4, 1);
+        Graphs.addEdgeWithVertices(graph, 2, 4);
+        Graphs.addEdgeWithVertices(graph, 2, 4);
+        Graphs.addEdgeWithVertices(graph, 3, 3);
+        Graphs.addEdgeWithVertices(graph, 4, 5);
+
+        BBMCMaximumCliqueFinder<Integer, DefaultEdge> finder = new BBMCMaximumCliqueFinder<>(graph);
+        Set<Integer> clique = finder.getClique();
+        assertEquals(3, clique.size());
+        assertTrue(clique.contains(2));
+        assertTrue(clique.contains(4));
+        assertIsClique(graph, clique);
+        assertFalse(finder.isTimeLimitReached());
+    }
+
+    @Test
+    public void testCompleteGraph()
+    {
+        Graph<Integer, DefaultEdge> graph = new SimpleGraph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+        new CompleteGraphGenerator<Integer, DefaultEdge>(130).generateGraph(graph);
+        Set<Integer> clique = new BBMCMaximumCliqueFinder<>(graph).getClique();
+        assertEquals(130, clique.size());
+        assertEquals(130d, new BBMCMaximumCliqueFinder<>(graph).getClique().getWeight(), 1e-9);
+    }
+
+    @Test
+    public void testRandomGraphs()
+    {
+        Random rng = new Random(17);
+        for (int i = 0; i < 40; i++) {
+            Graph<Integer, DefaultEdge> graph =
+                randomGraph(5 + rng.nextInt(40), 0.9 * rng.nextDouble(), rng);
+
+            int expected = 0;
+            Iterator<Set<Integer>> it =
+                new PivotBronKerboschCliqueFinder<>(graph).maximumIterator();
+            if (it.hasNext()) {
+                expected = it.next().size();
+            }
+
+            Set<Integer> clique = new BBMCMaximumCliqueFinder<>(graph).getClique();
+            assertEquals(expected, clique.size());
+            assertIsClique(graph, clique);
+
+            Set<Integer> parallelClique =
+                new BBMCMaximumCliqueFinder<>(graph, 0L, TimeUnit.SECONDS, 4).getClique();
+            assertEquals(expected, parallelClique.size());
+            assertIsClique(graph, parallelClique);
+        }
+    }
+
+    @Test
+    public void testTimeLimit()
+    {
+        Graph<Integer, DefaultEdge> graph = randomGraph(500, 0.95, new Random(7));
+        BBMCMaximumCliqueFinder<Integer, DefaultEdge> finder =
+            new BBMCMaximumCliqueFinder<>(graph, 1, TimeUnit.MILLISECONDS, 2);
+        Set<Integer> clique = finder.getClique();
+        assertTrue(finder.isTimeLimitReached());
+        assertFalse(clique.isEmpty());
+        assertIsClique(graph, clique);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDirectedGraph()
+    {
+        new BBMCMaximumCliqueFinder<>(new SimpleDirectedGraph<>(DefaultEdge.class));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidParallelism()
+    {
+        new BBMCMaximumCliqueFinder<>(
+            new SimpleGraph<>(DefaultEdge.class), 0L, TimeUnit.SECONDS, 0);
+    }
+
+    private static Graph<Integer, DefaultEdge> randomGraph(int n, double p, Random rng)
+    {
+        Graph<Integer, DefaultEdge> graph = new SimpleGraph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+        new GnpRandomGraphGenerator<Integer, DefaultEdge>(n, p, rng, false).generateGraph(graph);
+        return graph;
+    }
+
+    private static <V, E> void assertIsClique(Graph<V, E> graph, Set<V> clique)
+    {
+        for (V u : clique) {
+            for (V v : clique) {
+                if (!u.equals(v)) {
+                    assertTrue(graph.containsEdge(u, v));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.connectivity;
+
+import org.jgrapht.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+
+import java.util.*;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link DynamicConnectivityInspector}.
+ */
+public class DynamicConnectivityInspectorTest
+{
+    @Test
+    public void testCycle()
+    {
+        ListenableGraph<String, DefaultEdge> g =
+            new DefaultListenableGraph<>(new Pseudograph<>(DefaultEdge.class));
+        Graphs.addAllVertices(g, Arrays.asList("a", "b", "c", "d"));
+        DynamicConnectivityInspector<String, DefaultEdge> inspector =
+            new DynamicConnectivityInspector<>(g);
+        g.addGraphListener(inspector);
+
+        assertTrue(inspector.connected("a", "a"));
+        assertFalse(inspector.connected("a", "b"));
+
+        DefaultEdge ab = g.addEdge("a", "b");
+        DefaultEdge bc = g.addEdge("b", "c");
+        DefaultEdge ca = g.addEdge("c", "a");
+        g.addEdge("c", "c");
+        assertTrue(inspector.connected("a", "c"));
+        assertFalse(inspector.connected("a", "d"));
+
+        g.removeEdge(ab);
+        assertTrue(inspector.connected("a", "b"));
+        g.removeEdge(bc);
+        assertFalse(inspector.connected("a", "b"));
+        assertTrue(inspector.connected("a", "c"));
+
+        // parallel edges
+        DefaultEdge cd1 = g.addEdge("c", "d");
+        DefaultEdge cd2 = g.addEdge("c", "d");
+        g.removeEdge(cd1);
+        assertTrue(inspector.connected("a", "d"));
+        g.removeEdge(cd2);
+        assertFalse(inspector.connected("a", "d"));
+
+        g.removeVertex("c");
+        assertFalse(inspector.connected("a", "d"));
+        g.removeEdge(ca);
+    }
+
+    @Test
+    public void testInitialGraph()
+    {
+        Graph<Integer, DefaultEdge> base = new Pseudograph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+        new GnmRandomGraphGenerator<Integer, DefaultEdge>(100, 90, 5).generateGraph(base);
+        DynamicConnectivityInspector<Integer, DefaultEdge> inspector =
+            new DynamicConnectivityInspector<>(base);
+        assertConnectivity(base, inspector);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownVertex()
+    {
+        Graph<String, DefaultEdge> g = new Pseudograph<>(DefaultEdge.class);
+        g.addVertex("a");
+        new DynamicConnectivityInspector<>(g).connected("a", "b");
+    }
+
+    @Test
+    public void testRandomUpdates()
+    {
+        Random rng = new Random(31);
+        for (int n : new int[] { 10, 40, 120 }) {
+            ListenableGraph<Integer, DefaultEdge> g = new DefaultListenableGraph<>(
+                new Pseudograph<>(
+                    SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER,
+                    false));
+            for (int i = 0; i < n; i++) {
+                g.addVertex();
+            }
+            DynamicConnectivityInspector<Integer, DefaultEdge> inspector =
+                new DynamicConnectivityInspector<>(g);
+            g.addGraphListener(inspector);
+
+            for (int step = 0; step < 4000; step++) {
+                List<Integer> vertices = new ArrayList<>(g.vertexSet());
+                int op = rng.nextInt(10);
+                if (op < 5 || g.edgeSet().isEmpty()) {
+                    g.addEdge(
+                        vertices.get(rng.nextInt(vertices.size())),
+                        vertices.get(rng.nextInt(vertices.size())));
+                } else if (op < 9) {
+                    List<DefaultEdge> edges = new ArrayList<>(g.edgeSet());
+                    g.removeEdge(edges.get(rng.nextInt(edges.size())));
+                } else if (rng.nextBoolean() || vertices.size() < 3) {
+                    g.addVertex();
+                } else {
+                    g.removeVertex(vertices.get(rng.nextInt(vertices.size())));
+                }
+
+                if (step % 20 == 0) {
+                    assertConnectivity(g, inspector);
+                } else {
+                    int u = vertices.get(rng.nextInt(vertices.size()));
+                    int v = vertices.get(rng.nextInt(vertices.size()));
+                    if (g.containsVertex(u) && g.containsVertex(v)) {
+                        assertEquals(
+                            new ConnectivityInspector<>(g).pathExists(u, v),
+                            inspector.connected(u, v));
+                    }
+                }
+            }
+        }
+    }
+
+    private static <V, E> void assertConnectivity(
+        Graph<V, E> g, DynamicConnectivityInspector<V, E> inspector)
+    {
+        ConnectivityInspector<V, E> expected = new ConnectivityInspector<>(g);
+        for (V u : g.vertexSet()) {
+            for (V v : g.vertexSet()) {
+                assertEquals(expected.pathExists(u, v), inspector.connected(u, v));
+            }
+        }
+    }
+}
@@ -18,13 +18,14 @@
 package org.jgrapht.alg.connectivity;
 
 import org.jgrapht.Graph;
+import org.jgrapht.alg.util.Pair;
 import org.jgrapht.generate.BarabasiAlbertForestGenerator;
 import org.jgrapht.graph.DefaultEdge;
 import org.jgrapht.graph.DefaultUndirectedGraph;
 import org.jgrapht.util.SupplierUtil;
 import org.junit.Test;
 
-import java.util.Random;
+import java.util.*;
 
 import static org.junit.Assert.*;
 
@@ -90,6 +91,73 @@ public class TreeDynamicConnectivityTest {
         }
     }
 
+    @Test
+    public void testTreeDynamicConnectivity_sizeAndMarks() {
+        final int n = 30;
+        TreeDynamicConnectivity<Integer> connectivity = new TreeDynamicConnectivity<>();
+        Graph<Integer, DefaultEdge> forest = new DefaultUndirectedGraph<>(DefaultEdge.class);
+        Set<Integer> markedElements = new HashSet<>();
+        Set<DefaultEdge> markedEdges = new HashSet<>();
+        for (int v = 0; v < n; v++) {
+            forest.addVertex(v);
+            connectivity.add(v);
+        }
+
+        for (int step = 0; step < 3000; step++) {
+            int u = rng.nextInt(n), v = rng.nextInt(n);
+            int op = rng.nextInt(4);
+            if (op == 0 && u != v && !connectivity.connected(u, v)) {
+                assertTrue(connectivity.link(u, v));
+                forest.addEdge(u, v);
+            } else if (op == 1 && !forest.edgeSet().isEmpty()) {
+                List<DefaultEdge> edges = new ArrayList<>(forest.edgeSet());
+                DefaultEdge e = edges.get(rng.nextInt(edges.size()));
+                assertTrue(connectivity.cut(forest.getEdgeSource(e), forest.getEdgeTarget(e)));
+                forest.removeEdge(e);
+                markedEdges.remove(e);
+            } else if (op == 2) {
+                boolean marked = rng.nextBoolean();
+                connectivity.setMarked(u, marked);
+                if (marked) {
+                    markedElements.add(u);
+                } else {
+                    markedElements.remove(u);
+                }
+            } else if (!forest.edgeSet().isEmpty()) {
+                List<DefaultEdge> edges = new ArrayList<>(forest.edgeSet());
+                DefaultEdge e = edges.get(rng.nextInt(edges.size()));
+                boolean marked = rng.nextBoolean();
+                connectivity.setMarked(forest.getEdgeSource(e), forest.getEdgeTarget(e), marked);
+                if (marked) {
+                    markedEdges.add(e);
+                } else {
+                    markedEdges.remove(e);
+                }
+            }
+
+            Set<Integer> component = new ConnectivityInspector<>(forest).connectedSetOf(u);
+            assertEquals(component.size(), connectivity.size(u));
+
+            Integer markedElement = connectivity.findMarkedElement(u);
+            if (markedElement == null) {
+                assertTrue(Collections.disjoint(component, markedElements));
+            } else {
+                assertTrue(component.contains(markedElement));
+                assertTrue(markedElements.contains(markedElement));
+            }
+
+            Pair<Integer, Integer> markedEdge = connectivity.findMarkedEdge(u);
+            boolean expectMarkedEdge = markedEdges.stream().anyMatch(e -> component.contains(forest.getEdgeSource(e)));
+            if (markedEdge == null) {
+                assertFalse(expectMarkedEdge);
+            } else {
+                DefaultEdge e = forest.getEdge(markedEdge.getFirst(), markedEdge.getSecond());
+                assertTrue(markedEdges.contains(e));
+                assertTrue(component.contains(markedEdge.getFirst()));
+            }
+        }
+    }
+
     private void destroyTree(Graph<Integer, DefaultEdge> graph, TreeDynamicConnectivity<Integer> connectivity) {
         for (int v : graph.vertexSet()) {
             assertTrue(connectivity.contains(v));
@@ -0,0 +1,232 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.flow;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.graph.*;
+import org.junit.*;
+
+import java.util.*;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link BoykovKolmogorovMFImpl}.
+ */
+public class BoykovKolmogorovMFImplTest
+    extends
+    MaximumFlowAlgorithmTest
+{
+    @Override
+    MaximumFlowAlgorithm<Integer, DefaultWeightedEdge> createSolver(
+        Graph<Integer, DefaultWeightedEdge> network)
+    {
+        return new BoykovKolmogorovMFImpl<>(network);
+    }
+
+    /**
+     * Create a grid graph where every cell is connected to its four neighbors, to the source and
+     * to the sink, as in image segmentation. The source and sink are the last two vertices.
+     */
+    private static Graph<Integer, DefaultWeightedEdge> createGridNetwork(
+        int width, int height, boolean directed, Random rnd)
+    {
+        Graph<Integer, DefaultWeightedEdge> network =
+            directed ? new DefaultDirectedWeightedGraph<>(DefaultWeightedEdge.class)
+                : new SimpleWeightedGraph<>(DefaultWeightedEdge.class);
+        int cells = width * height;
+        for (int v = 0; v < cells + 2; v++) {
+            network.addVertex(v);
+        }
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int v = y * width + x;
+                if (x + 1 < width) {
+                    addGridEdges(network, v, v + 1, directed, rnd);
+                }
+                if (y + 1 < height) {
+                    addGridEdges(network, v, v + width, directed, rnd);
+                }
+                if (rnd.nextBoolean()) {
+                    network.setEdgeWeight(network.addEdge(cells, v), rnd.nextInt(50));
+                }
+                if (rnd.nextBoolean()) {
+                    network.setEdgeWeight(network.addEdge(v, cells + 1), rnd.nextInt(50));
+                }
+            }
+        }
+        return network;
+    }
+
+    private static void addGridEdges(
+        Graph<Integer, DefaultWeightedEdge> network, int u, int v, boolean directed, Random rnd)
+    {
+        network.setEdgeWeight(network.addEdge(u, v), rnd.nextInt(20));
+        if (directed) {
+            network.setEdgeWeight(network.addEdge(v, u), rnd.nextInt(20));
+        }
+    }
+
+    private static List<DefaultWeightedEdge> terminalEdges(
+        Graph<Integer, DefaultWeightedEdge> network, int source, int sink)
+    {
+        List<DefaultWeightedEdge> result = new ArrayList<>(network.edgesOf(source));
+        result.addAll(network.edgesOf(sink));
+        return result;
+    }
+
+    private static void verifyCut(
+        Graph<Integer, DefaultWeightedEdge> network, int source, int sink, double expected,
+        BoykovKolmogorovMFImpl<Integer, DefaultWeightedEdge> solver)
+    {
+        assertEquals(expected, solver.getCutCapacity(), 0);
+        Set<Integer> sourcePartition = solver.getSourcePartition();
+        assertTrue(sourcePartition.contains(source));
+        assertTrue(solver.getSinkPartition().contains(sink));
+        double cutWeight = 0;
+        for (DefaultWeightedEdge e : network.edgeSet()) {
+            boolean tail = sourcePartition.contains(network.getEdgeSource(e));
+            boolean head = sourcePartition.contains(network.getEdgeTarget(e));
+            if (network.getType().isDirected() ? tail && !head : tail ^ head) {
+                assertTrue(solver.getCutEdges().contains(e));
+                cutWeight += network.getEdgeWeight(e);
+            }
+        }
+        assertEquals(solver.getCutEdges().size(), solver.getCutEdges().stream().distinct().count());
+        assertEquals(expected, cutWeight, 0);
+    }
+
+    @Test
+    public void testDirectedGrids()
+    {
+        Random rnd = new Random(17);
+        for (int test = 0; test < 10; test++) {
+            Graph<Integer, DefaultWeightedEdge> network = createGridNetwork(30, 20, true, rnd);
+            int source = 600, sink = 601;
+            double expected = new DinicMFImpl<>(network).getMaximumFlowValue(source, sink);
+
+            BoykovKolmogorovMFImpl<Integer, DefaultWeightedEdge> solver =
+                new BoykovKolmogorovMFImpl<>(network);
+            verifyDirected(source, sink, expected, network, solver.getMaximumFlow(source, sink));
+            verifyCut(network, source, sink, expected, solver);
+        }
+    }
+
+    @Test
+    public void testUndirectedGrids()
+    {
+        Random rnd = new Random(19);
+        for (int test = 0; test < 10; test++) {
+            Graph<Integer, DefaultWeightedEdge> network = createGridNetwork(25, 25, false, rnd);
+            int source = 625, sink = 626;
+            double expected = new DinicMFImpl<>(network).getMaximumFlowValue(source, sink);
+
+            BoykovKolmogorovMFImpl<Integer, DefaultWeightedEdge> solver =
+                new BoykovKolmogorovMFImpl<>(network);
+            assertEquals(expected, solver.calculateMinCut(source, sink), 0);
+            verifyCut(network, source, sink, expected, solver);
+        }
+    }
+
+    @Test
+    public void testDynamicTerminalCapacities()
+    {
+        Random rnd = new Random(23);
+        for (boolean directed : new boolean[] { true, false }) {
+            Graph<Integer, DefaultWeightedEdge> network = createGridNetwork(20, 20, directed, rnd);
+            int source = 400, sink = 401;
+            List<DefaultWeightedEdge> terminalEdges = terminalEdges(network, source, sink);
+
+            BoykovKolmogorovMFImpl<Integer, DefaultWeightedEdge> solver =
+                new BoykovKolmogorovMFImpl<>(network);
+            solver.calculateMinCut(source, sink);
+
+            for (int round = 0; round < 30; round++) {
+                // both increase and decrease capacities, possibly below the current flow
+                Set<DefaultWeightedEdge> changed = new HashSet<>();
+                int changes = 1 + rnd.nextInt(round % 2 == 0 ? 5 : 100);
+                for (int i = 0; i < changes; i++) {
+                    DefaultWeightedEdge e = terminalEdges.get(rnd.nextInt(terminalEdges.size()));
+                    network.setEdgeWeight(e, rnd.nextInt(50));
+                    changed.add(e);
+                }
+
+                double expected = new DinicMFImpl<>(network).getMaximumFlowValue(source, sink);
+                assertEquals(expected, solver.updateTerminalCapacities(changed), 0);
+                verifyCut(network, source, sink, expected, solver);
+
+                if (directed && round % 10 == 9) {
+                    verifyDirected(
+                        source, sink, expected, network,
+                        new MaximumFlowAlgorithm.MaximumFlowImpl<>(
+                            solver.getMaximumFlowValue(), solver.getFlowMap()));
+                    verifyCut(network, source, sink, expected, solver);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testDynamicDirectEdge()
+    {
+        Graph<Integer, DefaultWeightedEdge> network =
+            new DefaultDirectedWeightedGraph<>(DefaultWeightedEdge.class);
+        for (int v = 0; v < 4; v++) {
+            network.addVertex(v);
+        }
+        DefaultWeightedEdge direct = network.addEdge(0, 3);
+        network.setEdgeWeight(direct, 2);
+        DefaultWeightedEdge s1 = network.addEdge(0, 1);
+        network.setEdgeWeight(s1, 5);
+        network.setEdgeWeight(network.addEdge(1, 2), 3);
+        DefaultWeightedEdge t2 = network.addEdge(2, 3);
+        network.setEdgeWeight(t2, 4);
+
+        BoykovKolmogorovMFImpl<Integer, DefaultWeightedEdge> solver =
+            new BoykovKolmogorovMFImpl<>(network);
+        assertEquals(5, solver.calculateMaximumFlow(0, 3), 0);
+
+        network.setEdgeWeight(direct, 7);
+        network.setEdgeWeight(s1, 1);
+        assertEquals(8, solver.updateTerminalCapacities(Arrays.asList(direct, s1)), 0);
+        assertEquals(new HashSet<>(Arrays.asList(0)), solver.getSourcePartition());
+        assertEquals(new HashSet<>(Arrays.asList(direct, s1)), solver.getCutEdges());
+
+        network.setEdgeWeight(t2, 0.5);
+        assertEquals(7.5, solver.updateTerminalCapacities(Collections.singleton(t2)), 0);
+        assertEquals(new HashSet<>(Arrays.asList(0, 1, 2)), solver.getSourcePartition());
+        assertEquals(0.5, solver.getFlowMap().get(s1), 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDynamicNonTerminalEdge()
+    {
+        Graph<Integer, DefaultWeightedEdge> network =
+            new DefaultDirectedWeightedGraph<>(DefaultWeightedEdge.class);
+        Graphs.addEdgeWithVertices(network, 0, 1, 1);
+        DefaultWeightedEdge e = Graphs.addEdgeWithVertices(network, 1, 2, 1);
+        Graphs.addEdgeWithVertices(network, 2, 3, 1);
+
+        BoykovKolmogorovMFImpl<Integer, DefaultWeightedEdge> solver =
+            new BoykovKolmogorovMFImpl<>(network);
+        solver.calculateMaximumFlow(0, 3);
+        solver.updateTerminalCapacities(Collections.singleton(e));
+    }
+}
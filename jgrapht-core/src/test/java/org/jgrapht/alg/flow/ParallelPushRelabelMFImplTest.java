@@ -0,0 +1,130 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.flow;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+
+import java.util.*;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests for {@link ParallelPushRelabelMFImpl}.
+ */
+public class ParallelPushRelabelMFImplTest
+    extends
+    MaximumFlowAlgorithmTest
+{
+    @Override
+    MaximumFlowAlgorithm<Integer, DefaultWeightedEdge> createSolver(
+        Graph<Integer, DefaultWeightedEdge> network)
+    {
+        return new ParallelPushRelabelMFImpl<>(network, 2);
+    }
+
+    @Test
+    public void testLargeRandomDirectedGraphs()
+    {
+        Random rnd = new Random(7);
+        for (int test = 0; test < 5; test++) {
+            Graph<Integer, DefaultWeightedEdge> network = new SimpleDirectedWeightedGraph<>(
+                SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER);
+            new GnmRandomGraphGenerator<Integer, DefaultWeightedEdge>(3000, 30000, rnd.nextLong())
+                .generateGraph(network);
+            network.edgeSet().forEach(e -> network.setEdgeWeight(e, rnd.nextInt(100)));
+
+            int source = rnd.nextInt(3000);
+            int sink = (source + 1 + rnd.nextInt(2999)) % 3000;
+            double expected = new DinicMFImpl<>(network).getMaximumFlowValue(source, sink);
+
+            for (int parallelism : new int[] { 1, 4 }) {
+                ParallelPushRelabelMFImpl<Integer, DefaultWeightedEdge> solver =
+                    new ParallelPushRelabelMFImpl<>(network, parallelism);
+                verifyDirected(
+                    source, sink, expected, network, solver.getMaximumFlow(source, sink));
+            }
+        }
+    }
+
+    @Test
+    public void testLargeRandomUndirectedGraphs()
+    {
+        Random rnd = new Random(11);
+        for (int test = 0; test < 5; test++) {
+            Graph<Integer, DefaultWeightedEdge> network = new SimpleWeightedGraph<>(
+                SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER);
+            new GnmRandomGraphGenerator<Integer, DefaultWeightedEdge>(3000, 20000, rnd.nextLong())
+                .generateGraph(network);
+            network.edgeSet().forEach(e -> network.setEdgeWeight(e, rnd.nextInt(100)));
+
+            double expected = new DinicMFImpl<>(network).getMaximumFlowValue(0, 2999);
+
+            verifyUndirected(
+                network, 0, 2999, (int) expected, new ParallelPushRelabelMFImpl<>(network, 4));
+        }
+    }
+
+    @Test
+    public void testMinimumCutWithoutFlow()
+    {
+        Graph<Integer, DefaultWeightedEdge> network =
+            new SimpleDirectedWeightedGraph<>(DefaultWeightedEdge.class);
+        Graphs.addEdgeWithVertices(network, 0, 1, 3);
+        Graphs.addEdgeWithVertices(network, 1, 2, 1);
+        Graphs.addEdgeWithVertices(network, 0, 3, 2);
+        Graphs.addEdgeWithVertices(network, 3, 2, 5);
+        Graphs.addEdgeWithVertices(network, 1, 3, 1);
+
+        ParallelPushRelabelMFImpl<Integer, DefaultWeightedEdge> solver =
+            new ParallelPushRelabelMFImpl<>(network, 1);
+        assertEquals(4d, solver.calculateMinCut(0, 2), 0d);
+        assertEquals(new HashSet<>(Arrays.asList(0, 1)), solver.getSourcePartition());
+        assertEquals(new HashSet<>(Arrays.asList(2, 3)), solver.getSinkPartition());
+        assertEquals(
+            new HashSet<>(
+                Arrays.asList(network.getEdge(1, 2), network.getEdge(0, 3), network.getEdge(1, 3))),
+            solver.getCutEdges());
+
+        // the residual network is reused for a different source and sink
+        assertEquals(2d, solver.calculateMinCut(1, 2), 0d);
+        assertEquals(0d, solver.calculateMinCut(2, 0), 0d);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testSourcePartitionBeforeCut()
+    {
+        Graph<Integer, DefaultWeightedEdge> network =
+            new SimpleDirectedWeightedGraph<>(DefaultWeightedEdge.class);
+        Graphs.addEdgeWithVertices(network, 0, 1, 3);
+        new ParallelPushRelabelMFImpl<>(network, 1).getSourcePartition();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testCutEdgesBeforeCut()
+    {
+        Graph<Integer, DefaultWeightedEdge> network =
+            new SimpleDirectedWeightedGraph<>(DefaultWeightedEdge.class);
+        Graphs.addEdgeWithVertices(network, 0, 1, 3);
+        new ParallelPushRelabelMFImpl<>(network, 1).getCutEdges();
+    }
+}
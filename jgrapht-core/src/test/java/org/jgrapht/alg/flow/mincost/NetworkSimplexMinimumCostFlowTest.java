@@ -0,0 +1,302 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.flow.mincost;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.MinimumCostFlowAlgorithm.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+
+import java.util.*;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit tests for {@link NetworkSimplexMinimumCostFlow}
+ */
+public class NetworkSimplexMinimumCostFlowTest
+{
+    private static final double EPS = 1e-9;
+
+    @Test
+    public void testGetMinimumCostFlow1()
+    {
+        int[][] testCase = new int[][] { { 1, 3 }, { 2, -3 }, { 1, 2, 0, 4, 5 } };
+        test(testCase, 15);
+    }
+
+    @Test
+    public void testGetMinimumCostFlow2()
+    {
+        int[][] testCase = new int[][] { { 1, 4 }, { 4, -4 }, { 1, 2, 0, 4, 2 }, { 1, 3, 0, 1, 3 },
+            { 2, 3, 0, 1, 1 }, { 2, 4, 0, 5, 6 }, { 3, 4, 0, 4, 2 } };
+        test(testCase, 26);
+    }
+
+    @Test
+    public void testGetMinimumCostFlow3()
+    {
+        int testCase[][] = new int[][] { { 1, 2731 }, { 2, 414 }, { 3, -1264 }, { 4, 216 },
+            { 5, -1785 }, { 6, -312 }, { 1, 4, 910, 2147483647, 10 }, { 1, 5, 957, 2147483647, 1 },
+            { 1, 3, 863, 2147483647, 3 }, { 3, 5, 1, 1, -5 }, { 3, 6, 1, 1, 10 }, { 3, 4, 1, 9, 2 },
+            { 4, 3, 1, 1, 8 }, { 4, 5, 820, 2147483647, 4 }, { 4, 6, 306, 2147483647, 7 },
+            { 2, 5, 1, 9, 7 }, { 2, 6, 1, 9, 10 }, { 2, 3, 403, 2147483647, 6 }, };
+        test(testCase, 20594);
+    }
+
+    @Test
+    public void testGetMinimumCostFlow4()
+    {
+        int testCase[][] = new int[][] { { 1, 10 }, { 2, 6 }, { 3, -211 }, { 4, 506 }, { 5, -10 },
+            { 6, -301 }, { 1, 3, 1, 7, 10 }, { 1, 5, 1, 2, 4 }, { 1, 4, 1, 1, 6 },
+            { 3, 4, 1, 7, 3 }, { 3, 6, 295, 2147483647, 10 }, { 3, 5, 1, 8, 1 }, { 4, 5, 1, 7, 10 },
+            { 4, 3, 506, 2147483647, 8 }, { 4, 6, 1, 1, -10 }, { 2, 5, 1, 3, 2 },
+            { 2, 6, 1, 3, 10 }, { 2, 3, 1, 10, 10 }, };
+        test(testCase, 7154);
+    }
+
+    @Test
+    public void testRandomProblems()
+    {
+        Random rnd = new Random(7);
+        for (int test = 0; test < 200; test++) {
+            RandomProblem p = new RandomProblem(2 + rnd.nextInt(40), rnd);
+            NetworkSimplexMinimumCostFlow<Integer, DefaultWeightedEdge> simplex =
+                new NetworkSimplexMinimumCostFlow<>();
+            verify(p, simplex);
+        }
+    }
+
+    @Test
+    public void testWarmStart()
+    {
+        Random rnd = new Random(17);
+        for (int test = 0; test < 10; test++) {
+            RandomProblem p = new RandomProblem(200, rnd);
+            NetworkSimplexMinimumCostFlow<Integer, DefaultWeightedEdge> simplex =
+                new NetworkSimplexMinimumCostFlow<>();
+            verify(p, simplex);
+            for (int round = 0; round < 20; round++) {
+                p.perturb(round % 4 == 3 ? 1.0 : 0.05);
+                verify(p, simplex);
+            }
+        }
+    }
+
+    @Test(timeout = 60000)
+    public void testWarmStartFromDegenerateBasis()
+    {
+        Random rnd = new Random(23);
+        for (int test = 0; test < 10; test++) {
+            RandomProblem p = new RandomProblem(100, rnd);
+            NetworkSimplexMinimumCostFlow<Integer, DefaultWeightedEdge> simplex =
+                new NetworkSimplexMinimumCostFlow<>();
+            verify(p, simplex);
+            for (int round = 0; round < 10; round++) {
+                // without supplies and lower bounds, all tree arcs of the basis carry no flow
+                Map<Integer, Integer> supply = new HashMap<>(p.supplyMap);
+                Map<DefaultWeightedEdge, Integer> lower = new HashMap<>(p.lowerMap);
+                p.supplyMap.clear();
+                p.lowerMap.replaceAll((e, l) -> 0);
+                verify(p, simplex);
+                p.supplyMap.putAll(supply);
+                p.lowerMap.putAll(lower);
+                verify(p, simplex);
+                p.perturb(0.05);
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInfeasible()
+    {
+        int[][] testCase = new int[][] { { 1, 5 }, { 2, -5 }, { 1, 2, 0, 4, 5 } };
+        test(testCase, 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnbounded()
+    {
+        int[][] testCase = new int[][] { { 1, 0 }, { 2, 0 }, { 1, 2, 0, 2147483647, -1 },
+            { 2, 1, 0, 2147483647, 0 } };
+        test(testCase, 0);
+    }
+
+    @Test
+    public void testInfeasibleThenFeasible()
+    {
+        Graph<Integer, DefaultWeightedEdge> graph =
+            new DefaultDirectedWeightedGraph<>(DefaultWeightedEdge.class);
+        DefaultWeightedEdge e = Graphs.addEdgeWithVertices(graph, 1, 2, 3);
+        NetworkSimplexMinimumCostFlow<Integer, DefaultWeightedEdge> simplex =
+            new NetworkSimplexMinimumCostFlow<>();
+        try {
+            simplex.getMinimumCostFlow(
+                new MinimumCostFlowProblem.MinimumCostFlowProblemImpl<>(
+                    graph, v -> v == 1 ? 5 : -5, a -> 4));
+            Assert.fail();
+        } catch (IllegalArgumentException expected) {
+        }
+        MinimumCostFlow<DefaultWeightedEdge> flow = simplex.getMinimumCostFlow(
+            new MinimumCostFlowProblem.MinimumCostFlowProblemImpl<>(
+                graph, v -> v == 1 ? 4 : -4, a -> 4));
+        assertEquals(12, flow.getCost(), EPS);
+        assertEquals(4, flow.getFlow(e), EPS);
+    }
+
+    private void test(int[][] testCase, double cost)
+    {
+        Graph<Integer, DefaultWeightedEdge> graph =
+            new DefaultDirectedWeightedGraph<>(DefaultWeightedEdge.class);
+        Map<Integer, Integer> supplyMap = new HashMap<>();
+        Map<DefaultWeightedEdge, Integer> lowerMap = new HashMap<>();
+        Map<DefaultWeightedEdge, Integer> upperMap = new HashMap<>();
+        for (int[] data : testCase) {
+            if (data.length == 2) {
+                graph.addVertex(data[0]);
+                supplyMap.put(data[0], data[1]);
+            } else {
+                DefaultWeightedEdge edge =
+                    Graphs.addEdgeWithVertices(graph, data[0], data[1], data[4]);
+                lowerMap.put(edge, data[2]);
+                upperMap.put(edge, data[3]);
+            }
+        }
+        MinimumCostFlowProblem<Integer,
+            DefaultWeightedEdge> problem = new MinimumCostFlowProblem.MinimumCostFlowProblemImpl<>(
+                graph, v -> supplyMap.getOrDefault(v, 0), upperMap::get,
+                e -> lowerMap.getOrDefault(e, 0));
+        NetworkSimplexMinimumCostFlow<Integer, DefaultWeightedEdge> simplex =
+            new NetworkSimplexMinimumCostFlow<>();
+        MinimumCostFlow<DefaultWeightedEdge> minimumCostFlow = simplex.getMinimumCostFlow(problem);
+        assertEquals(cost, minimumCostFlow.getCost(), EPS);
+        assertTrue(
+            checkFlowAndDualSolution(simplex.getDualSolution(), minimumCostFlow, problem));
+    }
+
+    private void verify(
+        RandomProblem p, NetworkSimplexMinimumCostFlow<Integer, DefaultWeightedEdge> simplex)
+    {
+        MinimumCostFlowProblem<Integer, DefaultWeightedEdge> problem = p.toProblem();
+        double expected =
+            new CapacityScalingMinimumCostFlow<Integer, DefaultWeightedEdge>()
+                .getMinimumCostFlow(problem).getCost();
+        MinimumCostFlow<DefaultWeightedEdge> flow = simplex.getMinimumCostFlow(problem);
+        assertEquals(expected, flow.getCost(), EPS);
+        assertTrue(checkFlowAndDualSolution(simplex.getDualSolution(), flow, problem));
+    }
+
+    private <V, E> boolean checkFlowAndDualSolution(
+        Map<V, Double> dualVariables, MinimumCostFlow<E> flow, MinimumCostFlowProblem<V, E> problem)
+    {
+        Graph<V, E> graph = problem.getGraph();
+        for (V vertex : graph.vertexSet()) {
+            int supply = problem.getNodeSupply().apply(vertex);
+            int flowIn = 0;
+            for (E edge : graph.incomingEdgesOf(vertex)) {
+                flowIn += flow.getFlow(edge);
+            }
+            int flowOut = 0;
+            for (E edge : graph.outgoingEdgesOf(vertex)) {
+                flowOut += flow.getFlow(edge);
+            }
+            if (supply != flowOut - flowIn) {
+                return false;
+            }
+        }
+        for (E edge : graph.edgeSet()) {
+            double f = flow.getFlow(edge);
+            if (problem.getArcCapacityLowerBounds().apply(edge) > f
+                || problem.getArcCapacityUpperBounds().apply(edge) < f)
+            {
+                return false;
+            }
+            double reducedCost = graph.getEdgeWeight(edge)
+                + dualVariables.get(graph.getEdgeTarget(edge))
+                - dualVariables.get(graph.getEdgeSource(edge));
+            if (f < problem.getArcCapacityUpperBounds().apply(edge) && reducedCost < -EPS) {
+                return false;
+            }
+            if (f > problem.getArcCapacityLowerBounds().apply(edge) && reducedCost > EPS) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * A random feasible problem. The supplies are derived from a random flow which respects the
+     * capacities.
+     */
+    private static class RandomProblem
+    {
+        final Random rnd;
+        final Graph<Integer, DefaultWeightedEdge> graph;
+        final Map<DefaultWeightedEdge, Integer> lowerMap = new HashMap<>();
+        final Map<DefaultWeightedEdge, Integer> upperMap = new HashMap<>();
+        final Map<Integer, Integer> supplyMap = new HashMap<>();
+
+        RandomProblem(int n, Random rnd)
+        {
+            this.rnd = rnd;
+            this.graph = new DirectedWeightedPseudograph<>(
+                SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER);
+            new GnmRandomGraphGenerator<Integer, DefaultWeightedEdge>(
+                n, rnd.nextInt(5 * n), rnd.nextLong(), false, true).generateGraph(graph);
+            perturb(1.0);
+        }
+
+        void perturb(double fraction)
+        {
+            for (DefaultWeightedEdge e : graph.edgeSet()) {
+                if (upperMap.containsKey(e) && rnd.nextDouble() >= fraction) {
+                    continue;
+                }
+                graph.setEdgeWeight(e, rnd.nextInt(30) - 5);
+                int lower = rnd.nextInt(10) == 0 ? rnd.nextInt(3) : 0;
+                int upper = rnd.nextInt(10) == 0 ? CapacityScalingMinimumCostFlow.CAP_INF
+                    : lower + rnd.nextInt(20);
+                if (graph.getEdgeWeight(e) < 0 && upper >= CapacityScalingMinimumCostFlow.CAP_INF) {
+                    upper = lower + 20;
+                }
+                lowerMap.put(e, lower);
+                upperMap.put(e, upper);
+            }
+            supplyMap.clear();
+            for (DefaultWeightedEdge e : graph.edgeSet()) {
+                int lower = lowerMap.get(e);
+                int upper = Math.min(upperMap.get(e), lower + 20);
+                int f = lower + rnd.nextInt(upper - lower + 1);
+                supplyMap.merge(graph.getEdgeSource(e), f, Integer::sum);
+                supplyMap.merge(graph.getEdgeTarget(e), -f, Integer::sum);
+            }
+        }
+
+        MinimumCostFlowProblem<Integer, DefaultWeightedEdge> toProblem()
+        {
+            Map<DefaultWeightedEdge, Integer> lower = new HashMap<>(lowerMap);
+            Map<DefaultWeightedEdge, Integer> upper = new HashMap<>(upperMap);
+            Map<Integer, Integer> supply = new HashMap<>(supplyMap);
+            return new MinimumCostFlowProblem.MinimumCostFlowProblemImpl<>(
+                graph, v -> supply.getOrDefault(v, 0), upper::get, lower::get);
+        }
+    }
+}
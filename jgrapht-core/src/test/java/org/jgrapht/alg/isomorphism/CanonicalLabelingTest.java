@@ -0,0 +1,216 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.isomorphism;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.util.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link CanonicalLabeling} and {@link CanonicalFormIsomorphismInspector}.
+ */
+public class CanonicalLabelingTest
+{
+    @Test
+    public void testEmptyGraph()
+    {
+        Graph<Integer, DefaultEdge> g1 = new SimpleGraph<>(DefaultEdge.class);
+        Graph<Integer, DefaultEdge> g2 = new SimpleGraph<>(DefaultEdge.class);
+        assertEquals(
+            new CanonicalLabeling<>(g1).getCertificate(),
+            new CanonicalLabeling<>(g2).getCertificate());
+        assertTrue(new CanonicalLabeling<>(g1).getCanonicalOrder().isEmpty());
+    }
+
+    @Test
+    public void testRandomPermutations()
+    {
+        Random rnd = new Random(17);
+        for (int i = 0; i < 100; i++) {
+            Graph<Integer, DefaultEdge> g1 = new SimpleGraph<>(
+                SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+            new GnpRandomGraphGenerator<Integer, DefaultEdge>(
+                1 + rnd.nextInt(30), rnd.nextDouble(), rnd, false).generateGraph(g1);
+            Pair<Graph<Integer, DefaultEdge>, Map<Integer, Integer>> pair =
+                IsomorphismTestUtil.generateIsomorphicGraph(g1, rnd);
+            Graph<Integer, DefaultEdge> g2 = pair.getFirst();
+
+            assertEquals(
+                new CanonicalLabeling<>(g1).getCertificate(),
+                new CanonicalLabeling<>(g2).getCertificate());
+
+            CanonicalFormIsomorphismInspector<Integer, DefaultEdge> inspector =
+                new CanonicalFormIsomorphismInspector<>(g1, g2);
+            assertTrue(inspector.isomorphismExists());
+            IsomorphicGraphMapping<Integer, DefaultEdge> mapping =
+                (IsomorphicGraphMapping<Integer, DefaultEdge>) inspector.getMappings().next();
+            assertTrue(mapping.isValidIsomorphism());
+        }
+    }
+
+    @Test
+    public void testAgreesWithVF2()
+    {
+        Random rnd = new Random(33);
+        for (int i = 0; i < 300; i++) {
+            int n = 1 + rnd.nextInt(7);
+            Graph<Integer, DefaultEdge> g1 = SubgraphIsomorphismTestUtils
+                .randomGraph(n, rnd.nextInt(n * (n - 1) + 1), rnd.nextLong());
+            Graph<Integer, DefaultEdge> g2 = SubgraphIsomorphismTestUtils
+                .randomGraph(n, g1.edgeSet().size(), rnd.nextLong());
+
+            boolean expected = new VF2GraphIsomorphismInspector<>(g1, g2).isomorphismExists();
+            assertEquals(
+                expected, new CanonicalLabeling<>(g1).getCertificate()
+                    .equals(new CanonicalLabeling<>(g2).getCertificate()));
+            assertEquals(
+                expected, new CanonicalFormIsomorphismInspector<>(g1, g2).isomorphismExists());
+        }
+    }
+
+    @Test
+    public void testRegularGraphs()
+    {
+        // K_{3,3} and the triangular prism are both 3-regular on 6 vertices
+        Graph<Integer, DefaultEdge> k33 = new SimpleGraph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+        new CompleteBipartiteGraphGenerator<Integer, DefaultEdge>(3, 3).generateGraph(k33);
+        Graph<Integer, DefaultEdge> prism = NamedGraphGenerator.generalizedPetersenGraph(3, 1);
+        Graph<Integer, DefaultEdge> k33Copy =
+            IsomorphismTestUtil.generateIsomorphicGraph(k33, new Random(3)).getFirst();
+
+        assertFalse(new CanonicalFormIsomorphismInspector<>(k33, prism).isomorphismExists());
+        assertTrue(new CanonicalFormIsomorphismInspector<>(k33, k33Copy).isomorphismExists());
+
+        // the dodecahedron and the Desargues graph are 3-regular on 20 vertices
+        Graph<Integer, DefaultEdge> dodecahedron = NamedGraphGenerator.dodecahedronGraph();
+        Graph<Integer, DefaultEdge> desargues =
+            NamedGraphGenerator.generalizedPetersenGraph(10, 3);
+        assertFalse(
+            new CanonicalFormIsomorphismInspector<>(dodecahedron, desargues).isomorphismExists());
+
+        Random rnd = new Random(5);
+        Graph<Integer, DefaultEdge> petersen = NamedGraphGenerator.petersenGraph();
+        Graph<Integer, DefaultEdge> permuted =
+            IsomorphismTestUtil.generateIsomorphicGraph(petersen, rnd).getFirst();
+        assertTrue(
+            new CanonicalFormIsomorphismInspector<>(petersen, permuted).isomorphismExists());
+    }
+
+    @Test
+    public void testCompleteGraph()
+    {
+        Graph<Integer, DefaultEdge> graph = new SimpleGraph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+        new CompleteGraphGenerator<Integer, DefaultEdge>(40).generateGraph(graph);
+        assertEquals(40, new CanonicalLabeling<>(graph).getCanonicalLabels().size());
+    }
+
+    @Test
+    public void testDeduplicateAllGraphsOnFourVertices()
+    {
+        int[][] pairs = { { 0, 1 }, { 0, 2 }, { 0, 3 }, { 1, 2 }, { 1, 3 }, { 2, 3 } };
+        Set<CanonicalLabeling.Certificate> classes = new HashSet<>();
+        for (int mask = 0; mask < (1 << pairs.length); mask++) {
+            Graph<Integer, DefaultEdge> graph = new SimpleGraph<>(DefaultEdge.class);
+            for (int v = 0; v < 4; v++) {
+                graph.addVertex(v);
+            }
+            for (int i = 0; i < pairs.length; i++) {
+                if ((mask & (1 << i)) != 0) {
+                    graph.addEdge(pairs[i][0], pairs[i][1]);
+                }
+            }
+            classes.add(new CanonicalLabeling<>(graph).getCertificate());
+        }
+        assertEquals(11, classes.size());
+    }
+
+    @Test
+    public void testLabels()
+    {
+        // two paths C-O-C and C-C-O
+        Graph<Integer, DefaultEdge> g1 = new SimpleGraph<>(DefaultEdge.class);
+        Graphs.addEdgeWithVertices(g1, 0, 1);
+        Graphs.addEdgeWithVertices(g1, 1, 2);
+        String[] atoms1 = { "C", "O", "C" };
+        String[] atoms2 = { "C", "C", "O" };
+        String[] atoms3 = { "C", "O", "N" };
+
+        assertNotEquals(
+            new CanonicalLabeling<>(g1).getCertificate(),
+            new CanonicalLabeling<>(g1, v -> atoms1[v], null).getCertificate());
+        assertNotEquals(
+            new CanonicalLabeling<>(g1, v -> atoms1[v], null).getCertificate(),
+            new CanonicalLabeling<>(g1, v -> atoms2[v], null).getCertificate());
+        assertNotEquals(
+            new CanonicalLabeling<>(g1, v -> atoms1[v], null).getCertificate(),
+            new CanonicalLabeling<>(g1, v -> atoms3[v], null).getCertificate());
+
+        // edge labels: single and double bond
+        Graph<Integer, DefaultWeightedEdge> g2 =
+            new SimpleWeightedGraph<>(DefaultWeightedEdge.class);
+        Graph<Integer, DefaultWeightedEdge> g3 =
+            new SimpleWeightedGraph<>(DefaultWeightedEdge.class);
+        Graphs.addEdgeWithVertices(g2, 0, 1, 1d);
+        Graphs.addEdgeWithVertices(g2, 1, 2, 2d);
+        Graphs.addEdgeWithVertices(g3, 2, 1, 1d);
+        Graphs.addEdgeWithVertices(g3, 1, 0, 2d);
+        Graph<Integer, DefaultWeightedEdge> g4 =
+            new SimpleWeightedGraph<>(DefaultWeightedEdge.class);
+        Graphs.addEdgeWithVertices(g4, 0, 1, 2d);
+        Graphs.addEdgeWithVertices(g4, 1, 2, 2d);
+
+        assertTrue(
+            new CanonicalFormIsomorphismInspector<>(
+                g2, g3, null, e -> String.valueOf(g2.containsEdge(e) ? g2.getEdgeWeight(e)
+                    : g3.getEdgeWeight(e))).isomorphismExists());
+        assertFalse(
+            new CanonicalFormIsomorphismInspector<>(
+                g2, g4, null, e -> String.valueOf(g2.containsEdge(e) ? g2.getEdgeWeight(e)
+                    : g4.getEdgeWeight(e))).isomorphismExists());
+    }
+
+    @Test
+    public void testDirected()
+    {
+        // directed 3-cycle and transitive tournament
+        Graph<Integer, DefaultEdge> cycle = new SimpleDirectedGraph<>(DefaultEdge.class);
+        Graphs.addEdgeWithVertices(cycle, 0, 1);
+        Graphs.addEdgeWithVertices(cycle, 1, 2);
+        Graphs.addEdgeWithVertices(cycle, 2, 0);
+        Graph<Integer, DefaultEdge> reversed = new SimpleDirectedGraph<>(DefaultEdge.class);
+        Graphs.addEdgeWithVertices(reversed, 0, 2);
+        Graphs.addEdgeWithVertices(reversed, 2, 1);
+        Graphs.addEdgeWithVertices(reversed, 1, 0);
+        Graph<Integer, DefaultEdge> transitive = new SimpleDirectedGraph<>(DefaultEdge.class);
+        Graphs.addEdgeWithVertices(transitive, 0, 1);
+        Graphs.addEdgeWithVertices(transitive, 1, 2);
+        Graphs.addEdgeWithVertices(transitive, 0, 2);
+
+        assertTrue(new CanonicalFormIsomorphismInspector<>(cycle, reversed).isomorphismExists());
+        assertFalse(new CanonicalFormIsomorphismInspector<>(cycle, transitive).isomorphismExists());
+    }
+}
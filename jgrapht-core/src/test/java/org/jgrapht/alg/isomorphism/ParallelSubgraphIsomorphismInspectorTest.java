@@ -0,0 +1,214 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.isomorphism;
+
+import org.jgrapht.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link ParallelSubgraphIsomorphismInspector}.
+ */
+public class ParallelSubgraphIsomorphismInspectorTest
+{
+    @Test
+    public void testRandomDirectedGraphs()
+    {
+        Random rnd = new Random(12345);
+        for (int i = 1; i < 100; i++) {
+            int vertexCount = 3 + rnd.nextInt(6),
+                edgeCount = rnd.nextInt(vertexCount * (vertexCount - 1)),
+                subVertexCount = 1 + rnd.nextInt(vertexCount),
+                subEdgeCount = rnd.nextInt(Math.max(1, subVertexCount * (subVertexCount - 1)));
+
+            Graph<Integer, DefaultEdge> g1 =
+                SubgraphIsomorphismTestUtils.randomGraph(vertexCount, edgeCount, i);
+            Graph<Integer, DefaultEdge> g2 =
+                SubgraphIsomorphismTestUtils.randomGraph(subVertexCount, subEdgeCount, i);
+
+            assertSameMappings(g1, g2);
+        }
+    }
+
+    @Test
+    public void testRandomDirectedSubgraphs()
+    {
+        Random rnd = new Random(54321);
+        for (int i = 1; i < 40; i++) {
+            int vertexCount = 2 + rnd.nextInt(i),
+                edgeCount = vertexCount + rnd.nextInt(vertexCount * (vertexCount - 1)) / 2,
+                subVertexCount = 1 + rnd.nextInt(Math.min(vertexCount, 6));
+
+            Graph<Integer, DefaultEdge> g1 =
+                SubgraphIsomorphismTestUtils.randomGraph(vertexCount, edgeCount, i);
+            Graph<Integer, DefaultEdge> g2 =
+                SubgraphIsomorphismTestUtils.randomSubgraph(g1, subVertexCount, i);
+
+            ParallelSubgraphIsomorphismInspector<Integer, DefaultEdge> inspector =
+                new ParallelSubgraphIsomorphismInspector<>(g1, g2, null, null, 2);
+            assertTrue(inspector.isomorphismExists());
+            assertSameMappings(g1, g2);
+        }
+    }
+
+    @Test
+    public void testRandomUndirectedGraphs()
+    {
+        Random rnd = new Random(7);
+        for (int i = 0; i < 50; i++) {
+            Graph<Integer, DefaultEdge> g1 = new SimpleGraph<>(
+                SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+            new GnpRandomGraphGenerator<Integer, DefaultEdge>(
+                5 + rnd.nextInt(20), rnd.nextDouble(), rnd, false).generateGraph(g1);
+            Graph<Integer, DefaultEdge> g2 = new SimpleGraph<>(
+                SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+            new GnpRandomGraphGenerator<Integer, DefaultEdge>(
+                1 + rnd.nextInt(5), rnd.nextDouble(), rnd, false).generateGraph(g2);
+
+            assertSameMappings(g1, g2);
+        }
+    }
+
+    @Test
+    public void testSemanticCheck()
+    {
+        SimpleGraph<String, Integer> g1 = new SimpleGraph<>(Integer.class),
+            g2 = new SimpleGraph<>(Integer.class);
+
+        g1.addVertex("a");
+        g1.addVertex("b");
+        g1.addVertex("A");
+        g1.addVertex("B");
+        g1.addEdge("a", "b", 3);
+        g1.addEdge("b", "B", 1);
+        g1.addEdge("B", "A", 2);
+        g1.addEdge("A", "a", 4);
+
+        g2.addVertex("A");
+        g2.addVertex("b");
+        g2.addVertex("B");
+        g2.addEdge("A", "b", 6);
+        g2.addEdge("b", "B", 5);
+
+        Comparator<String> vertexComparator =
+            (o1, o2) -> o1.toLowerCase().equals(o2.toLowerCase()) ? 0 : 1;
+        Comparator<Integer> edgeComparator = (o1, o2) -> (o1 % 2) - (o2 % 2);
+
+        Iterator<GraphMapping<String, Integer>> it = new ParallelSubgraphIsomorphismInspector<>(
+            g1, g2, vertexComparator, edgeComparator).getMappings();
+        assertEquals("[A=A B=b a=~~ b=B]", it.next().toString());
+        assertFalse(it.hasNext());
+
+        Set<String> mappings = new HashSet<>();
+        new ParallelSubgraphIsomorphismInspector<>(g1, g2, vertexComparator, null, 3)
+            .forEachMapping(m -> {
+                synchronized (mappings) {
+                    mappings.add(m.toString());
+                }
+            });
+        assertEquals(
+            new HashSet<>(Arrays.asList("[A=A B=b a=~~ b=B]", "[A=~~ B=B a=A b=b]")), mappings);
+    }
+
+    @Test
+    public void testEmptyPattern()
+    {
+        Graph<Integer, DefaultEdge> g1 = new SimpleGraph<>(DefaultEdge.class);
+        Graphs.addEdgeWithVertices(g1, 1, 2);
+        Graph<Integer, DefaultEdge> g2 = new SimpleGraph<>(DefaultEdge.class);
+
+        ParallelSubgraphIsomorphismInspector<Integer, DefaultEdge> inspector =
+            new ParallelSubgraphIsomorphismInspector<>(g1, g2);
+        assertTrue(inspector.isomorphismExists());
+        Iterator<GraphMapping<Integer, DefaultEdge>> it = inspector.getMappings();
+        assertTrue(it.hasNext());
+        it.next();
+        assertFalse(it.hasNext());
+    }
+
+    @Test
+    public void testLargeSparseTarget()
+    {
+        // a long cycle with chords every 3 vertices contains many triangles
+        int n = 100000;
+        Graph<Integer, DefaultEdge> g1 = new SimpleGraph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+        for (int i = 0; i < n; i++) {
+            g1.addVertex(i);
+        }
+        for (int i = 0; i < n; i++) {
+            g1.addEdge(i, (i + 1) % n);
+        }
+        for (int i = 0; i < n; i += 3) {
+            g1.addEdge(i, (i + 2) % n);
+        }
+
+        Graph<Integer, DefaultEdge> triangle = new SimpleGraph<>(DefaultEdge.class);
+        Graphs.addEdgeWithVertices(triangle, 0, 1);
+        Graphs.addEdgeWithVertices(triangle, 1, 2);
+        Graphs.addEdgeWithVertices(triangle, 2, 0);
+
+        ParallelSubgraphIsomorphismInspector<Integer, DefaultEdge> inspector =
+            new ParallelSubgraphIsomorphismInspector<>(g1, triangle, null, null, 4);
+        LongAdder count = new LongAdder();
+        inspector.forEachMapping(m -> count.increment());
+        // 6 automorphisms of the triangle
+        assertEquals(6L * ((n + 2) / 3), count.sum());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDirectedUndirected()
+    {
+        new ParallelSubgraphIsomorphismInspector<>(
+            new SimpleGraph<Integer, DefaultEdge>(DefaultEdge.class),
+            new SimpleDirectedGraph<Integer, DefaultEdge>(DefaultEdge.class));
+    }
+
+    private static <V, E> void assertSameMappings(Graph<V, E> g1, Graph<V, E> g2)
+    {
+        Set<String> expected = new HashSet<>();
+        new VF2SubgraphIsomorphismInspector<>(g1, g2)
+            .getMappings().forEachRemaining(m -> expected.add(m.toString()));
+
+        Set<String> sequential = new HashSet<>();
+        int count = 0;
+        Iterator<GraphMapping<V, E>> it =
+            new ParallelSubgraphIsomorphismInspector<>(g1, g2, null, null, 1).getMappings();
+        while (it.hasNext()) {
+            sequential.add(it.next().toString());
+            count++;
+        }
+        assertEquals(expected, sequential);
+        assertEquals(expected.size(), count);
+
+        Set<String> parallel = ConcurrentHashMap.newKeySet();
+        ParallelSubgraphIsomorphismInspector<V, E> inspector =
+            new ParallelSubgraphIsomorphismInspector<>(g1, g2, null, null, 3);
+        inspector.forEachMapping(m -> parallel.add(m.toString()));
+        assertEquals(expected, parallel);
+        assertEquals(!expected.isEmpty(), inspector.isomorphismExists());
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.matching;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.graph.*;
+import org.junit.*;
+
+import java.util.*;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Unit tests for the AuctionMinimalWeightBipartitePerfectMatching algorithm.
+ */
+public class AuctionMinimalWeightBipartitePerfectMatchingTest
+    extends
+    BaseMinimalWeightBipartitePerfectMatchingTest
+{
+
+    private int parallelism = 1;
+
+    @Override
+    public MatchingAlgorithm<Integer, DefaultWeightedEdge> getAlgorithm(
+        Graph<Integer, DefaultWeightedEdge> graph, Set<Integer> partition1,
+        Set<Integer> partition2)
+    {
+        return new AuctionMinimalWeightBipartitePerfectMatching<>(
+            graph, partition1, partition2, parallelism, 1e-9);
+    }
+
+    @Test
+    public void testParallelBidding()
+    {
+        parallelism = 4;
+        Random random = new Random(3);
+        for (int n : new int[] { 200, 300 }) {
+            double[][] costMatrix = randomCostMatrix(n, random, true);
+            double expected = new JonkerVolgenantMinimalWeightBipartitePerfectMatchingTest()
+                .match(costMatrix).getWeight();
+            assertEquals(expected, match(costMatrix).getWeight(), 1e-9);
+        }
+    }
+
+    @Test(timeout = 60000)
+    public void testLargeRealWeights()
+    {
+        double[][] costMatrix = { { 100000000.5, 100000000.5 }, { 100000000.5, 100000000.5 } };
+        assertEquals(200000001, match(costMatrix).getWeight(), 1e-6);
+
+        Random random = new Random(11);
+        int n = 100;
+        costMatrix = new double[n][n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                costMatrix[i][j] = random.nextDouble() * 1e8;
+            }
+        }
+        assertEquals(kuhnMunkresWeight(costMatrix), match(costMatrix).getWeight(), 1e-2);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidParallelism()
+    {
+        new AuctionMinimalWeightBipartitePerfectMatching<>(
+            new SimpleWeightedGraph<>(DefaultWeightedEdge.class), Collections.emptySet(),
+            Collections.emptySet(), 0);
+    }
+
+}
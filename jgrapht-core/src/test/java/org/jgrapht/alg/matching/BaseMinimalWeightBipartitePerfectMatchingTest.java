@@ -0,0 +1,174 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.matching;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.alg.interfaces.MatchingAlgorithm.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+import org.junit.*;
+
+import java.util.*;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit tests for the algorithms computing a minimum weight perfect matching in a complete
+ * bipartite graph.
+ */
+public abstract class BaseMinimalWeightBipartitePerfectMatchingTest
+{
+
+    public abstract MatchingAlgorithm<Integer, DefaultWeightedEdge> getAlgorithm(
+        Graph<Integer, DefaultWeightedEdge> graph, Set<Integer> partition1,
+        Set<Integer> partition2);
+
+    protected Matching<Integer, DefaultWeightedEdge> match(double[][] costMatrix)
+    {
+        int n = costMatrix.length;
+        List<Integer> first = new ArrayList<>();
+        List<Integer> second = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            first.add(i);
+            second.add(n + i);
+        }
+        Graph<Integer, DefaultWeightedEdge> graph =
+            new SimpleWeightedGraph<>(DefaultWeightedEdge.class);
+        new SimpleWeightedBipartiteGraphMatrixGenerator<Integer, DefaultWeightedEdge>()
+            .first(first).second(second).weights(costMatrix).generateGraph(graph);
+
+        Matching<Integer, DefaultWeightedEdge> matching =
+            getAlgorithm(graph, new LinkedHashSet<>(first), new LinkedHashSet<>(second))
+                .getMatching();
+        assertTrue(matching.isPerfect());
+        return matching;
+    }
+
+    protected double[][] randomCostMatrix(int n, Random random, boolean integral)
+    {
+        double[][] costMatrix = new double[n][n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                costMatrix[i][j] = integral ? random.nextInt(100) : random.nextDouble() * 100;
+            }
+        }
+        return costMatrix;
+    }
+
+    protected double kuhnMunkresWeight(double[][] costMatrix)
+    {
+        int n = costMatrix.length;
+        List<Integer> first = new ArrayList<>();
+        List<Integer> second = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            first.add(i);
+            second.add(n + i);
+        }
+        Graph<Integer, DefaultWeightedEdge> graph =
+            new SimpleWeightedGraph<>(DefaultWeightedEdge.class);
+        new SimpleWeightedBipartiteGraphMatrixGenerator<Integer, DefaultWeightedEdge>()
+            .first(first).second(second).weights(costMatrix).generateGraph(graph);
+        return new KuhnMunkresMinimalWeightBipartitePerfectMatching<>(
+            graph, new LinkedHashSet<>(first), new LinkedHashSet<>(second)).getMatching()
+                .getWeight();
+    }
+
+    @Test
+    public void testEmptyGraph()
+    {
+        Graph<Integer, DefaultWeightedEdge> graph =
+            new SimpleWeightedGraph<>(DefaultWeightedEdge.class);
+        assertTrue(
+            getAlgorithm(graph, Collections.emptySet(), Collections.emptySet())
+                .getMatching().getEdges().isEmpty());
+    }
+
+    @Test
+    public void testSingleEdge()
+    {
+        assertEquals(7d, match(new double[][] { { 7 } }).getWeight(), 1e-9);
+    }
+
+    @Test
+    public void test3x3()
+    {
+        double[][] costMatrix = new double[][] { { 1, 2, 3 }, { 5, 4, 6 }, { 8, 9, 7 } };
+        assertEquals(12d, match(costMatrix).getWeight(), 1e-9);
+    }
+
+    @Test
+    public void test5x5()
+    {
+        double[][] costMatrix = new double[][] { { 1, 2, 3, 4, 5 }, { 6, 7, 8, 7, 2 },
+            { 1, 3, 4, 4, 5 }, { 3, 6, 2, 8, 7 }, { 4, 1, 3, 5, 4 } };
+        assertEquals(10d, match(costMatrix).getWeight(), 1e-9);
+    }
+
+    @Test
+    public void testAllEqual()
+    {
+        double[][] costMatrix = new double[6][6];
+        for (double[] row : costMatrix) {
+            Arrays.fill(row, 3);
+        }
+        assertEquals(18d, match(costMatrix).getWeight(), 1e-9);
+    }
+
+    @Test
+    public void testNegativeWeights()
+    {
+        double[][] costMatrix =
+            new double[][] { { -1, -2, 3 }, { -5, 4, -6 }, { 8, -9, -7 } };
+        assertEquals(-16d, match(costMatrix).getWeight(), 1e-9);
+    }
+
+    @Test
+    public void testRandomIntegralWeights()
+    {
+        Random random = new Random(5);
+        for (int n = 2; n <= 40; n++) {
+            double[][] costMatrix = randomCostMatrix(n, random, true);
+            assertEquals(kuhnMunkresWeight(costMatrix), match(costMatrix).getWeight(), 1e-9);
+        }
+    }
+
+    @Test
+    public void testRandomRealWeights()
+    {
+        Random random = new Random(9);
+        for (int n = 2; n <= 40; n++) {
+            double[][] costMatrix = randomCostMatrix(n, random, false);
+            assertEquals(kuhnMunkresWeight(costMatrix), match(costMatrix).getWeight(), 1e-6);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIncompleteGraph()
+    {
+        Graph<Integer, DefaultWeightedEdge> graph =
+            new SimpleWeightedGraph<>(DefaultWeightedEdge.class);
+        Graphs.addEdgeWithVertices(graph, 0, 2, 1);
+        Graphs.addEdgeWithVertices(graph, 1, 3, 1);
+        getAlgorithm(
+            graph, new HashSet<>(Arrays.asList(0, 1)), new HashSet<>(Arrays.asList(2, 3)))
+                .getMatching();
+    }
+
+}
@@ -0,0 +1,43 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.matching;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.graph.*;
+
+import java.util.*;
+
+/**
+ * Unit tests for the JonkerVolgenantMinimalWeightBipartitePerfectMatching algorithm.
+ */
+public class JonkerVolgenantMinimalWeightBipartitePerfectMatchingTest
+    extends
+    BaseMinimalWeightBipartitePerfectMatchingTest
+{
+
+    @Override
+    public MatchingAlgorithm<Integer, DefaultWeightedEdge> getAlgorithm(
+        Graph<Integer, DefaultWeightedEdge> graph, Set<Integer> partition1,
+        Set<Integer> partition2)
+    {
+        return new JonkerVolgenantMinimalWeightBipartitePerfectMatching<>(
+            graph, partition1, partition2);
+    }
+
+}
@@ -0,0 +1,84 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.matching;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.alg.interfaces.MatchingAlgorithm.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.graph.builder.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+
+import java.util.*;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit tests for the ParallelSuitorWeightedMatching algorithm.
+ */
+public class ParallelSuitorWeightedMatchingTest
+    extends
+    ApproximateWeightedMatchingTest
+{
+
+    @Override
+    public MatchingAlgorithm<Integer, DefaultWeightedEdge> getApproximationAlgorithm(
+        Graph<Integer, DefaultWeightedEdge> graph)
+    {
+        return new ParallelSuitorWeightedMatching<>(graph, 4);
+    }
+
+    @Test
+    public void testSameAsGreedyOnRandomGraphs()
+    {
+        Random rng = new Random(17);
+        for (int n : new int[] { 10, 100, 3000 }) {
+            for (int parallelism : new int[] { 1, 4 }) {
+                Graph<Integer, DefaultWeightedEdge> graph = GraphTypeBuilder
+                    .undirected().allowingMultipleEdges(true).allowingSelfLoops(true)
+                    .weighted(true).vertexSupplier(SupplierUtil.createIntegerSupplier())
+                    .edgeClass(DefaultWeightedEdge.class).buildGraph();
+                new GnmRandomGraphGenerator<Integer, DefaultWeightedEdge>(n, 5 * n, rng, true, true)
+                    .generateGraph(graph);
+                for (DefaultWeightedEdge e : graph.edgeSet()) {
+                    // few distinct values, so that many ties occur
+                    graph.setEdgeWeight(e, rng.nextInt(10));
+                }
+
+                Matching<Integer, DefaultWeightedEdge> expected =
+                    new GreedyWeightedMatching<>(graph, false).getMatching();
+                Matching<Integer, DefaultWeightedEdge> matching =
+                    new ParallelSuitorWeightedMatching<>(graph, parallelism).getMatching();
+
+                assertTrue(isMatching(graph, matching));
+                assertEquals(expected.getWeight(), matching.getWeight(), 1e-9);
+                assertEquals(expected.getEdges(), matching.getEdges());
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidParallelism()
+    {
+        new ParallelSuitorWeightedMatching<>(new WeightedPseudograph<>(DefaultWeightedEdge.class), 0);
+    }
+
+}
@@ -180,6 +180,87 @@ public class KolmogorovWeightedPerfectMatchingTest
         assertFalse(matching.testOptimality());
     }
 
+    /**
+     * Test on a complete graph whose edge weights change between the computations
+     */
+    @Test
+    public void testRecomputeMatchingAfterWeightUpdates()
+    {
+        Random random = new Random(7);
+        Graph<Integer, DefaultWeightedEdge> graph = new DefaultUndirectedWeightedGraph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER);
+        new CompleteGraphGenerator<Integer, DefaultWeightedEdge>(40).generateGraph(graph);
+        for (DefaultWeightedEdge edge : graph.edgeSet()) {
+            graph.setEdgeWeight(edge, random.nextInt(100));
+        }
+        KolmogorovWeightedPerfectMatching<Integer, DefaultWeightedEdge> perfectMatching =
+            new KolmogorovWeightedPerfectMatching<>(graph, options, objectiveSense);
+        perfectMatching.getMatching();
+
+        for (int round = 0; round < 20; round++) {
+            List<DefaultWeightedEdge> edges = new ArrayList<>(graph.edgeSet());
+            for (int i = 0; i < 5; i++) {
+                graph.setEdgeWeight(edges.get(random.nextInt(edges.size())), random.nextInt(100));
+            }
+            // change the weight of a matched edge
+            DefaultWeightedEdge matched =
+                perfectMatching.getMatching().getEdges().iterator().next();
+            graph.setEdgeWeight(matched, random.nextInt(100));
+            testRecomputeMatching(graph, perfectMatching);
+        }
+    }
+
+    /**
+     * Test on a complete graph whose vertices and edges change between the computations
+     */
+    @Test
+    public void testRecomputeMatchingAfterStructuralUpdates()
+    {
+        Random random = new Random(11);
+        Graph<Integer, DefaultWeightedEdge> graph = new DefaultUndirectedWeightedGraph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER);
+        new CompleteGraphGenerator<Integer, DefaultWeightedEdge>(30).generateGraph(graph);
+        for (DefaultWeightedEdge edge : graph.edgeSet()) {
+            graph.setEdgeWeight(edge, random.nextInt(100));
+        }
+        KolmogorovWeightedPerfectMatching<Integer, DefaultWeightedEdge> perfectMatching =
+            new KolmogorovWeightedPerfectMatching<>(graph, options, objectiveSense);
+        perfectMatching.getMatching();
+
+        for (int round = 0; round < 20; round++) {
+            // remove a matched edge
+            graph.removeEdge(perfectMatching.getMatching().getEdges().iterator().next());
+            // replace two vertices by two new vertices
+            List<Integer> vertices = new ArrayList<>(graph.vertexSet());
+            Collections.shuffle(vertices, random);
+            graph.removeVertex(vertices.get(0));
+            graph.removeVertex(vertices.get(1));
+            for (int i = 0; i < 2; i++) {
+                Integer vertex = graph.addVertex();
+                for (Integer other : vertices.subList(2, vertices.size())) {
+                    Graphs.addEdge(graph, vertex, other, random.nextInt(100));
+                }
+            }
+            testRecomputeMatching(graph, perfectMatching);
+        }
+    }
+
+    /**
+     * Test that a graph with an odd number of vertices is rejected after an update
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testRecomputeMatchingOddVertexNumber()
+    {
+        Graph<Integer, DefaultWeightedEdge> graph =
+            new DefaultUndirectedWeightedGraph<>(DefaultWeightedEdge.class);
+        Graphs.addEdgeWithVertices(graph, 1, 2, 1);
+        KolmogorovWeightedPerfectMatching<Integer, DefaultWeightedEdge> perfectMatching =
+            new KolmogorovWeightedPerfectMatching<>(graph, options, objectiveSense);
+        perfectMatching.getMatching();
+        graph.addVertex(3);
+        perfectMatching.recomputeMatching();
+    }
+
     /**
      * Test on a triangulation of 8 points Points: (2, 10), (9, 11), (10, 4), (11, 15), (12, 5),
      * (12, 6), (13, 12), (14, 11)
@@ -2521,6 +2602,26 @@ public class KolmogorovWeightedPerfectMatchingTest
         perfectMatching.getMatching();
     }
 
+    /**
+     * Recomputes the matching after an update of the graph and compares it with a matching
+     * computed from scratch.
+     *
+     * @param graph the updated graph
+     * @param perfectMatching the algorithm which computed the matching before the update
+     */
+    private void testRecomputeMatching(
+        Graph<Integer, DefaultWeightedEdge> graph,
+        KolmogorovWeightedPerfectMatching<Integer, DefaultWeightedEdge> perfectMatching)
+    {
+        MatchingAlgorithm.Matching<Integer, DefaultWeightedEdge> matching =
+            perfectMatching.recomputeMatching();
+        MatchingAlgorithm.Matching<Integer, DefaultWeightedEdge> expected =
+            new KolmogorovWeightedPerfectMatching<>(graph, options, objectiveSense).getMatching();
+        assertEquals(expected.getWeight(), matching.getWeight(), EPS);
+        assertTrue(perfectMatching.testOptimality());
+        checkMatchingAndDualSolution(matching, perfectMatching.getDualSolution(), objectiveSense);
+    }
+
     /**
      * A method to run a test case.
      *
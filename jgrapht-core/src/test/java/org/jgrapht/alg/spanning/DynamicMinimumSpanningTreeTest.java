@@ -0,0 +1,126 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.spanning;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.alg.interfaces.SpanningTreeAlgorithm.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+
+import java.util.*;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class DynamicMinimumSpanningTreeTest
+    extends
+    MinimumSpanningTreeTest
+{
+
+    @Override
+    SpanningTreeAlgorithm<DefaultWeightedEdge> createSolver(
+        Graph<Integer, DefaultWeightedEdge> network)
+    {
+        return new DynamicMinimumSpanningTree<>(network);
+    }
+
+    @Test
+    public void testEdgeAdditions()
+    {
+        ListenableGraph<Integer, DefaultWeightedEdge> g = new DefaultListenableGraph<>(
+            new SimpleWeightedGraph<>(DefaultWeightedEdge.class));
+        DynamicMinimumSpanningTree<Integer, DefaultWeightedEdge> mst =
+            new DynamicMinimumSpanningTree<>(g);
+        g.addGraphListener(mst);
+        Graphs.addAllVertices(g, Arrays.asList(1, 2, 3, 4));
+        assertEquals(0d, mst.getSpanningTree().getWeight(), 0d);
+
+        DefaultWeightedEdge e12 = Graphs.addEdge(g, 1, 2, 5);
+        DefaultWeightedEdge e23 = Graphs.addEdge(g, 2, 3, 4);
+        DefaultWeightedEdge e34 = Graphs.addEdge(g, 3, 4, 3);
+        testMinimumSpanningTreeBuilding(
+            mst.getSpanningTree(), Arrays.asList(e12, e23, e34), 12d);
+
+        // replaces the heaviest edge on the cycle 1-2-3-4
+        DefaultWeightedEdge e14 = Graphs.addEdge(g, 1, 4, 2);
+        testMinimumSpanningTreeBuilding(
+            mst.getSpanningTree(), Arrays.asList(e14, e23, e34), 9d);
+
+        // too heavy to enter the tree
+        Graphs.addEdge(g, 1, 3, 10);
+        testMinimumSpanningTreeBuilding(
+            mst.getSpanningTree(), Arrays.asList(e14, e23, e34), 9d);
+
+        // weight decreases
+        g.setEdgeWeight(e12, 1);
+        testMinimumSpanningTreeBuilding(
+            mst.getSpanningTree(), Arrays.asList(e12, e14, e34), 6d);
+        g.setEdgeWeight(e34, 0.5);
+        testMinimumSpanningTreeBuilding(
+            mst.getSpanningTree(), Arrays.asList(e12, e14, e34), 3.5d);
+    }
+
+    @Test
+    public void testRandomUpdates()
+    {
+        Random rng = new Random(19);
+        ListenableGraph<Integer, DefaultWeightedEdge> g =
+            new DefaultListenableGraph<>(new WeightedPseudograph<>(
+                SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER));
+        for (int i = 0; i < 50; i++) {
+            g.addVertex();
+        }
+        DynamicMinimumSpanningTree<Integer, DefaultWeightedEdge> mst =
+            new DynamicMinimumSpanningTree<>(g);
+        g.addGraphListener(mst);
+
+        for (int step = 0; step < 3000; step++) {
+            List<Integer> vertices = new ArrayList<>(g.vertexSet());
+            List<DefaultWeightedEdge> edges = new ArrayList<>(g.edgeSet());
+            int op = rng.nextInt(20);
+            if (op < 12 || edges.isEmpty()) {
+                Graphs.addEdge(
+                    g, vertices.get(rng.nextInt(vertices.size())),
+                    vertices.get(rng.nextInt(vertices.size())), rng.nextInt(100));
+            } else if (op < 16) {
+                DefaultWeightedEdge e = edges.get(rng.nextInt(edges.size()));
+                g.setEdgeWeight(e, g.getEdgeWeight(e) * rng.nextDouble());
+            } else if (op < 17) {
+                DefaultWeightedEdge e = edges.get(rng.nextInt(edges.size()));
+                g.setEdgeWeight(e, g.getEdgeWeight(e) + rng.nextInt(50));
+            } else if (op < 18) {
+                g.removeEdge(edges.get(rng.nextInt(edges.size())));
+            } else if (op < 19) {
+                g.addVertex();
+            } else if (vertices.size() > 2) {
+                g.removeVertex(vertices.get(rng.nextInt(vertices.size())));
+            }
+
+            if (step % 10 == 0) {
+                SpanningTree<DefaultWeightedEdge> expected =
+                    new KruskalMinimumSpanningTree<>(g).getSpanningTree();
+                SpanningTree<DefaultWeightedEdge> actual = mst.getSpanningTree();
+                assertEquals(expected.getWeight(), actual.getWeight(), 1e-9);
+                assertEquals(expected.getEdges().size(), actual.getEdges().size());
+                assertTrue(g.edgeSet().containsAll(actual.getEdges()));
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.spanning;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.alg.interfaces.SpanningTreeAlgorithm.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+
+import java.util.*;
+
+import static org.junit.Assert.assertEquals;
+
+public class ParallelBoruvkaMinimumSpanningTreeTest
+    extends
+    MinimumSpanningTreeTest
+{
+
+    @Override
+    SpanningTreeAlgorithm<DefaultWeightedEdge> createSolver(
+        Graph<Integer, DefaultWeightedEdge> network)
+    {
+        return new ParallelBoruvkaMinimumSpanningTree<>(network, 4);
+    }
+
+    @Test
+    public void testSparseGraphsWithTies()
+    {
+        Random rng = new Random(7);
+        for (int parallelism : new int[] { 1, 3, 8 }) {
+            for (int i = 0; i < 20; i++) {
+                Graph<Integer, DefaultWeightedEdge> g = new WeightedPseudograph<>(
+                    SupplierUtil.createIntegerSupplier(),
+                    SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER);
+                new GnmRandomGraphGenerator<Integer, DefaultWeightedEdge>(
+                    2000, 3000, rng.nextLong(), true, true).generateGraph(g);
+                for (DefaultWeightedEdge e : g.edgeSet()) {
+                    g.setEdgeWeight(e, rng.nextInt(10));
+                }
+
+                SpanningTree<DefaultWeightedEdge> expected =
+                    new KruskalMinimumSpanningTree<>(g).getSpanningTree();
+                SpanningTree<DefaultWeightedEdge> mst =
+                    new ParallelBoruvkaMinimumSpanningTree<>(g, parallelism).getSpanningTree();
+
+                assertEquals(expected.getWeight(), mst.getWeight(), 1e-9);
+                assertEquals(expected.getEdges().size(), mst.getEdges().size());
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidParallelism()
+    {
+        new ParallelBoruvkaMinimumSpanningTree<>(createSimpleConnectedWeightedGraph(), 0);
+    }
+}
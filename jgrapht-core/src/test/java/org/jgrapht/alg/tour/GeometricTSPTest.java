@@ -134,6 +134,14 @@ public class GeometricTSPTest
         testWith("Two-opt, 1 attempt from random", new TwoOptHeuristicTSP<>(1));
     }
 
+    @Test
+    public void testLinKernighanNearestNeighbour()
+    {
+        testWith(
+            "Lin-Kernighan of nearest neighbour",
+            new LinKernighanHeuristicTSP<>(new NearestNeighborHeuristicTSP<>()));
+    }
+
     @Test
     public void testChristofides()
     {
@@ -0,0 +1,319 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.tour;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.spanning.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+import org.junit.experimental.categories.*;
+
+import java.util.*;
+
+import static org.jgrapht.alg.tour.TwoApproxMetricTSPTest.assertHamiltonian;
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link LinKernighanHeuristicTSP}.
+ */
+@Category(SlowTests.class)
+public class LinKernighanHeuristicTSPTest
+{
+
+    @Test
+    public void testWikiExampleSymmetric4Cities()
+    {
+        SimpleWeightedGraph<String, DefaultWeightedEdge> g =
+            new SimpleWeightedGraph<>(DefaultWeightedEdge.class);
+        g.addVertex("A");
+        g.addVertex("B");
+        g.addVertex("C");
+        g.addVertex("D");
+        g.setEdgeWeight(g.addEdge("A", "B"), 20d);
+        g.setEdgeWeight(g.addEdge("A", "C"), 42d);
+        g.setEdgeWeight(g.addEdge("A", "D"), 35d);
+        g.setEdgeWeight(g.addEdge("B", "C"), 30d);
+        g.setEdgeWeight(g.addEdge("B", "D"), 34d);
+        g.setEdgeWeight(g.addEdge("C", "D"), 12d);
+
+        GraphPath<String, DefaultWeightedEdge> tour =
+            new LinKernighanHeuristicTSP<String, DefaultWeightedEdge>().getTour(g);
+        assertHamiltonian(g, tour);
+    }
+
+    @Test
+    public void testComplete()
+    {
+        final int maxSize = 50;
+
+        for (int i = 1; i < maxSize; i++) {
+            SimpleGraph<Object, DefaultEdge> g = new SimpleGraph<>(
+                SupplierUtil.OBJECT_SUPPLIER, SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+            CompleteGraphGenerator<Object, DefaultEdge> generator = new CompleteGraphGenerator<>(i);
+            generator.generateGraph(g);
+
+            GraphPath<Object, DefaultEdge> tour =
+                new LinKernighanHeuristicTSP<Object, DefaultEdge>().getTour(g);
+            assertHamiltonian(g, tour);
+        }
+    }
+
+    @Test
+    public void testStar()
+    {
+        SimpleWeightedGraph<String, DefaultWeightedEdge> g =
+            new SimpleWeightedGraph<>(DefaultWeightedEdge.class);
+        g.addVertex("1");
+        g.addVertex("2");
+        g.addVertex("3");
+        g.addVertex("4");
+        g.addVertex("5");
+        g.addVertex("6");
+
+        g.setEdgeWeight(g.addEdge("1", "2"), 1d);
+        g.setEdgeWeight(g.addEdge("1", "3"), 1d);
+        g.setEdgeWeight(g.addEdge("1", "4"), 1d);
+        g.setEdgeWeight(g.addEdge("1", "5"), 2d);
+        g.setEdgeWeight(g.addEdge("1", "6"), 2d);
+
+        g.setEdgeWeight(g.addEdge("2", "3"), 2d);
+        g.setEdgeWeight(g.addEdge("2", "4"), 1d);
+        g.setEdgeWeight(g.addEdge("2", "5"), 1d);
+        g.setEdgeWeight(g.addEdge("2", "6"), 2d);
+
+        g.setEdgeWeight(g.addEdge("3", "4"), 1d);
+        g.setEdgeWeight(g.addEdge("3", "5"), 2d);
+        g.setEdgeWeight(g.addEdge("3", "6"), 1d);
+
+        g.setEdgeWeight(g.addEdge("4", "5"), 1d);
+        g.setEdgeWeight(g.addEdge("4", "6"), 1d);
+
+        g.setEdgeWeight(g.addEdge("5", "6"), 1d);
+
+        GraphPath<String, DefaultWeightedEdge> tour =
+            new LinKernighanHeuristicTSP<String, DefaultWeightedEdge>().getTour(g);
+        assertHamiltonian(g, tour);
+
+        double mstWeight = new KruskalMinimumSpanningTree<>(g).getSpanningTree().getWeight();
+        double tourWeight = tour.getWeight();
+        assertTrue(2 * mstWeight >= tourWeight);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidInstanceDirected()
+    {
+        new LinKernighanHeuristicTSP<String, DefaultEdge>()
+            .getTour(new SimpleDirectedGraph<>(DefaultEdge.class));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidInstanceNotComplete()
+    {
+        SimpleWeightedGraph<String, DefaultWeightedEdge> g =
+            new SimpleWeightedGraph<>(DefaultWeightedEdge.class);
+        g.addVertex("A");
+        g.addVertex("B");
+        g.addVertex("C");
+        g.setEdgeWeight(g.addEdge("A", "B"), 20d);
+        g.setEdgeWeight(g.addEdge("A", "C"), 42d);
+
+        new LinKernighanHeuristicTSP<String, DefaultWeightedEdge>().getTour(g);
+    }
+
+    @Test
+    public void testRandomEuclidean()
+    {
+        Graph<Integer, DefaultWeightedEdge> g = euclidean(randomPoints(200, 17), Integer.MAX_VALUE);
+
+        GraphPath<Integer, DefaultWeightedEdge> tour =
+            new LinKernighanHeuristicTSP<Integer, DefaultWeightedEdge>(1, 17).getTour(g);
+        assertHamiltonian(g, tour);
+
+        GraphPath<Integer, DefaultWeightedEdge> twoOptTour =
+            new TwoOptHeuristicTSP<Integer, DefaultWeightedEdge>(1, 17).getTour(g);
+        assertTrue(tour.getWeight() <= twoOptTour.getWeight());
+
+        // the result is a local minimum for the 2-opt heuristic on the candidate lists
+        GraphPath<Integer, DefaultWeightedEdge> improved =
+            new LinKernighanHeuristicTSP<Integer, DefaultWeightedEdge>().improveTour(tour);
+        assertEquals(tour.getWeight(), improved.getWeight(), 1e-9);
+    }
+
+    @Test
+    public void testOptimalSmallInstances()
+    {
+        for (int seed = 0; seed < 10; seed++) {
+            Graph<Integer, DefaultWeightedEdge> g =
+                euclidean(randomPoints(9, seed), Integer.MAX_VALUE);
+            GraphPath<Integer, DefaultWeightedEdge> tour =
+                new LinKernighanHeuristicTSP<Integer, DefaultWeightedEdge>(5, seed).getTour(g);
+            assertHamiltonian(g, tour);
+
+            double optimal = new HeldKarpTSP<Integer, DefaultWeightedEdge>().getTour(g).getWeight();
+            assertTrue(tour.getWeight() <= optimal * 1.05);
+        }
+    }
+
+    @Test
+    public void testImproveTourSparseGraph()
+    {
+        int n = 2000;
+        double[][] points = randomPoints(n, 7);
+        Graph<Integer, DefaultWeightedEdge> g = euclidean(points, 10);
+
+        // add the edges of an initial tour which visits the points strip by strip
+        int strips = (int) Math.sqrt(n / 2d);
+        List<Integer> vertices = new ArrayList<>(g.vertexSet());
+        vertices.sort(Comparator.comparingDouble(v -> {
+            int strip = (int) (points[v][0] * strips);
+            double y = strip % 2 == 0 ? points[v][1] : 1d - points[v][1];
+            return strip + y;
+        }));
+        List<DefaultWeightedEdge> edges = new ArrayList<>();
+        double weight = 0d;
+        for (int i = 0; i < n; i++) {
+            int u = vertices.get(i);
+            int v = vertices.get((i + 1) % n);
+            DefaultWeightedEdge e = g.getEdge(u, v);
+            if (e == null) {
+                e = g.addEdge(u, v);
+                g.setEdgeWeight(e, distance(points, u, v));
+            }
+            edges.add(e);
+            weight += g.getEdgeWeight(e);
+        }
+        vertices.add(vertices.get(0));
+        GraphPath<Integer, DefaultWeightedEdge> initial =
+            new GraphWalk<>(g, vertices.get(0), vertices.get(0), vertices, edges, weight);
+
+        GraphPath<Integer, DefaultWeightedEdge> tour =
+            new LinKernighanHeuristicTSP<Integer, DefaultWeightedEdge>().improveTour(initial);
+        assertHamiltonian(g, tour);
+        // the expected length of an optimal tour is about 0.7124 * sqrt(n) in the unit square
+        assertTrue(tour.getWeight() < 0.7124 * Math.sqrt(n) * 1.15);
+    }
+
+    @Test
+    public void testImproveTourParallelEdges()
+    {
+        int n = 9;
+        double[][] points = randomPoints(n, 5);
+        Graph<Integer, DefaultWeightedEdge> g =
+            new WeightedMultigraph<>(DefaultWeightedEdge.class);
+        for (int i = 0; i < n; i++) {
+            g.addVertex(i);
+        }
+        // every pair of vertices is joined by a heavy edge, followed by a light edge
+        for (int u = 0; u < n; u++) {
+            for (int v = u + 1; v < n; v++) {
+                g.setEdgeWeight(g.addEdge(u, v), distance(points, u, v) + 100d);
+                g.setEdgeWeight(g.addEdge(u, v), distance(points, u, v));
+            }
+        }
+        List<Integer> vertices = new ArrayList<>();
+        List<DefaultWeightedEdge> edges = new ArrayList<>();
+        double weight = 0d;
+        for (int i = 0; i < n; i++) {
+            vertices.add(i);
+            DefaultWeightedEdge heavy = g.getAllEdges(i, (i + 1) % n).iterator().next();
+            edges.add(heavy);
+            weight += g.getEdgeWeight(heavy);
+        }
+        vertices.add(0);
+        GraphPath<Integer, DefaultWeightedEdge> initial =
+            new GraphWalk<>(g, 0, 0, vertices, edges, weight);
+
+        GraphPath<Integer, DefaultWeightedEdge> tour =
+            new LinKernighanHeuristicTSP<Integer, DefaultWeightedEdge>(5, 5).improveTour(initial);
+        double optimal = new HeldKarpTSP<Integer, DefaultWeightedEdge>().getTour(g).getWeight();
+        assertTrue(tour.getWeight() <= optimal * 1.05);
+        double edgeWeight = 0d;
+        for (DefaultWeightedEdge e : tour.getEdgeList()) {
+            edgeWeight += g.getEdgeWeight(e);
+        }
+        assertEquals(tour.getWeight(), edgeWeight, 1e-9);
+    }
+
+    @Test
+    public void testParallelRestarts()
+    {
+        Graph<Integer, DefaultWeightedEdge> g = euclidean(randomPoints(100, 3), Integer.MAX_VALUE);
+
+        GraphPath<Integer, DefaultWeightedEdge> tour =
+            new LinKernighanHeuristicTSP<Integer, DefaultWeightedEdge>(
+                8, new RandomTourTSP<>(new Random(3)),
+                LinKernighanHeuristicTSP.DEFAULT_CANDIDATES, 4, 1e-8).getTour(g);
+        assertHamiltonian(g, tour);
+
+        GraphPath<Integer, DefaultWeightedEdge> sequentialTour =
+            new LinKernighanHeuristicTSP<Integer, DefaultWeightedEdge>(
+                8, new RandomTourTSP<>(new Random(3)),
+                LinKernighanHeuristicTSP.DEFAULT_CANDIDATES, 1, 1e-8).getTour(g);
+        assertEquals(sequentialTour.getWeight(), tour.getWeight(), 1e-9);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidParallelism()
+    {
+        new LinKernighanHeuristicTSP<String, DefaultWeightedEdge>(
+            1, new RandomTourTSP<>(), LinKernighanHeuristicTSP.DEFAULT_CANDIDATES, 0, 1e-8);
+    }
+
+    private static double[][] randomPoints(int n, long seed)
+    {
+        Random rng = new Random(seed);
+        double[][] points = new double[n][2];
+        for (int i = 0; i < n; i++) {
+            points[i][0] = rng.nextDouble();
+            points[i][1] = rng.nextDouble();
+        }
+        return points;
+    }
+
+    private static double distance(double[][] points, int u, int v)
+    {
+        return Math.hypot(points[u][0] - points[v][0], points[u][1] - points[v][1]);
+    }
+
+    /**
+     * Creates the graph connecting every point to its k nearest points.
+     */
+    private static Graph<Integer, DefaultWeightedEdge> euclidean(double[][] points, int k)
+    {
+        int n = points.length;
+        Graph<Integer, DefaultWeightedEdge> g = new SimpleWeightedGraph<>(DefaultWeightedEdge.class);
+        for (int i = 0; i < n; i++) {
+            g.addVertex(i);
+        }
+        for (int i = 0; i < n; i++) {
+            int u = i;
+            List<Integer> others = new ArrayList<>(g.vertexSet());
+            others.remove(Integer.valueOf(u));
+            others.sort(Comparator.comparingDouble(v -> distance(points, u, v)));
+            for (int v : others.subList(0, Math.min(k, others.size()))) {
+                if (!g.containsEdge(u, v)) {
+                    g.setEdgeWeight(g.addEdge(u, v), distance(points, u, v));
+                }
+            }
+        }
+        return g;
+    }
+
+}
@@ -0,0 +1,266 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.graph;
+
+import org.jgrapht.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+
+import java.util.*;
+import java.util.function.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the batch methods {@link AbstractBaseGraph#addVertices(Collection)} and
+ * {@link AbstractBaseGraph#addEdges(List, List, double[])}.
+ */
+public class AbstractBaseGraphBatchTest
+{
+    private static final int VERTICES = 30;
+    private static final int EDGES = 400;
+
+    private static final GraphType[] TYPES = { DefaultGraphType.simple(),
+        DefaultGraphType.multigraph(), DefaultGraphType.pseudograph(),
+        DefaultGraphType.directedSimple(), DefaultGraphType.directedMultigraph(),
+        DefaultGraphType.directedPseudograph() };
+
+    private static <E> AbstractBaseGraph<Integer, E> createGraph(
+        GraphType type, Supplier<E> edgeSupplier, GraphSpecificsStrategy<Integer, E> strategy)
+    {
+        return new AbstractBaseGraph<Integer, E>(
+            SupplierUtil.createIntegerSupplier(), edgeSupplier, type, strategy)
+        {
+            private static final long serialVersionUID = 1L;
+        };
+    }
+
+    private static List<GraphSpecificsStrategy<Integer, Integer>> strategies()
+    {
+        return Arrays.asList(
+            new FastLookupGraphSpecificsStrategy<>(), new DefaultGraphSpecificsStrategy<>());
+    }
+
+    private static List<Integer> vertices()
+    {
+        List<Integer> vertices = new ArrayList<>();
+        for (int i = 0; i < VERTICES; i++) {
+            vertices.add(i);
+        }
+        return vertices;
+    }
+
+    @Test
+    public void testBatchMatchesSequentialAdditions()
+    {
+        for (GraphType plainType : TYPES) {
+            for (boolean weighted : new boolean[] { false, true }) {
+                GraphType type = new DefaultGraphType.Builder(plainType).weighted(weighted).build();
+                for (GraphSpecificsStrategy<Integer, Integer> strategy : strategies()) {
+                    assertBatchMatchesSequentialAdditions(type, strategy);
+                }
+            }
+        }
+    }
+
+    private void assertBatchMatchesSequentialAdditions(
+        GraphType type, GraphSpecificsStrategy<Integer, Integer> strategy)
+    {
+        Random rng = new Random(17);
+        List<Integer> sources = new ArrayList<>();
+        List<Integer> targets = new ArrayList<>();
+        double[] weights = type.isWeighted() ? new double[EDGES] : null;
+        while (sources.size() < EDGES) {
+            // runs of edges of the same source
+            int s = rng.nextInt(VERTICES);
+            for (int run = 1 + rng.nextInt(3); run > 0 && sources.size() < EDGES; run--) {
+                int t = rng.nextInt(VERTICES);
+                if (s == t && !type.isAllowingSelfLoops()) {
+                    t = (t + 1) % VERTICES;
+                }
+                sources.add(s);
+                targets.add(t);
+            }
+        }
+        if (weights != null) {
+            for (int i = 0; i < EDGES; i++) {
+                weights[i] = rng.nextDouble();
+            }
+        }
+
+        AbstractBaseGraph<Integer, Integer> expected =
+            createGraph(type, SupplierUtil.createIntegerSupplier(), strategy);
+        List<Integer> expectedEdges = new ArrayList<>();
+        for (Integer v : vertices()) {
+            expected.addVertex(v);
+        }
+        for (int i = 0; i < EDGES; i++) {
+            Integer e = expected.addEdge(sources.get(i), targets.get(i));
+            if (e != null && weights != null) {
+                expected.setEdgeWeight(e, weights[i]);
+            }
+            expectedEdges.add(e);
+        }
+
+        AbstractBaseGraph<Integer, Integer> actual =
+            createGraph(type, SupplierUtil.createIntegerSupplier(), strategy);
+        assertEquals(vertices(), actual.addVertices(vertices()));
+        assertEquals(expectedEdges, actual.addEdges(sources, targets, weights));
+
+        assertEquals(expected.vertexSet(), actual.vertexSet());
+        assertEquals(new ArrayList<>(expected.edgeSet()), new ArrayList<>(actual.edgeSet()));
+        for (Integer e : expected.edgeSet()) {
+            assertEquals(expected.getEdgeSource(e), actual.getEdgeSource(e));
+            assertEquals(expected.getEdgeTarget(e), actual.getEdgeTarget(e));
+            assertEquals(expected.getEdgeWeight(e), actual.getEdgeWeight(e), 0d);
+        }
+        for (Integer u : expected.vertexSet()) {
+            assertEquals(
+                new ArrayList<>(expected.outgoingEdgesOf(u)),
+                new ArrayList<>(actual.outgoingEdgesOf(u)));
+            assertEquals(
+                new ArrayList<>(expected.incomingEdgesOf(u)),
+                new ArrayList<>(actual.incomingEdgesOf(u)));
+            for (Integer v : expected.vertexSet()) {
+                assertEquals(expected.getAllEdges(u, v), actual.getAllEdges(u, v));
+            }
+        }
+    }
+
+    @Test
+    public void testIntrusiveWeightedEdges()
+    {
+        AbstractBaseGraph<Integer, DefaultWeightedEdge> g = createGraph(
+            new DefaultGraphType.Builder(DefaultGraphType.directedPseudograph())
+                .weighted(true).build(),
+            SupplierUtil.createDefaultWeightedEdgeSupplier(),
+            new FastLookupGraphSpecificsStrategy<>());
+        g.addVertices(Arrays.asList(1, 2, 3));
+        List<DefaultWeightedEdge> edges =
+            g.addEdges(Arrays.asList(1, 1, 2, 3), Arrays.asList(2, 2, 3, 3), new double[] {
+                1.5, 2.5, 3.5, 4.5 });
+
+        assertEquals(4, g.edgeSet().size());
+        assertEquals(2, g.getAllEdges(1, 2).size());
+        for (int i = 0; i < edges.size(); i++) {
+            assertEquals(1.5 + i, g.getEdgeWeight(edges.get(i)), 0d);
+        }
+        assertEquals(edges.get(3), g.getEdge(3, 3));
+        assertEquals(1, g.outDegreeOf(3));
+        assertEquals(2, g.inDegreeOf(3));
+    }
+
+    @Test
+    public void testAddVertices()
+    {
+        Graph<Integer, DefaultEdge> g = new SimpleGraph<>(DefaultEdge.class);
+        g.addVertex(2);
+        List<Integer> added = ((AbstractBaseGraph<Integer, DefaultEdge>) g)
+            .addVertices(Arrays.asList(1, 2, 3, 1, 4));
+        assertEquals(Arrays.asList(1, 3, 4), added);
+        assertEquals(Arrays.asList(2, 1, 3, 4), new ArrayList<>(g.vertexSet()));
+    }
+
+    @Test
+    public void testViewsObtainedBeforeBatch()
+    {
+        SimpleDirectedGraph<Integer, DefaultEdge> g =
+            new SimpleDirectedGraph<>(DefaultEdge.class);
+        Set<Integer> vertexSet = g.vertexSet();
+        Set<DefaultEdge> edgeSet = g.edgeSet();
+
+        g.addVertices(vertices());
+        g.addEdges(Arrays.asList(0, 1, 2), Arrays.asList(1, 2, 3), null);
+
+        assertEquals(VERTICES, vertexSet.size());
+        assertEquals(3, edgeSet.size());
+        assertTrue(vertexSet.contains(VERTICES - 1));
+    }
+
+    @Test
+    public void testInvalidBatchDoesNotModifyGraph()
+    {
+        SimpleDirectedWeightedGraph<Integer, DefaultWeightedEdge> g =
+            new SimpleDirectedWeightedGraph<>(DefaultWeightedEdge.class);
+        g.addVertices(Arrays.asList(1, 2, 3));
+
+        try {
+            g.addEdges(Arrays.asList(1, 2, 3), Arrays.asList(2, 3, 4), null);
+            fail("No exception thrown");
+        } catch (IllegalArgumentException e) {
+            assertEquals("no such vertex in graph: 4", e.getMessage());
+        }
+        try {
+            g.addEdges(Arrays.asList(1, 2), Arrays.asList(2, 2), null);
+            fail("No exception thrown");
+        } catch (IllegalArgumentException e) {
+            assertEquals("loops not allowed", e.getMessage());
+        }
+        try {
+            g.addEdges(Arrays.asList(1, 2), Arrays.asList(2, null), null);
+            fail("No exception thrown");
+        } catch (NullPointerException e) {
+            // expected
+        }
+        try {
+            g.addEdges(Arrays.asList(1, 2), Arrays.asList(2, 3), new double[1]);
+            fail("No exception thrown");
+        } catch (IllegalArgumentException e) {
+            assertEquals("Sources, targets and weights must have the same size", e.getMessage());
+        }
+        try {
+            g.addVertices(Arrays.asList(4, null));
+            fail("No exception thrown");
+        } catch (NullPointerException e) {
+            // expected
+        }
+
+        assertEquals(3, g.vertexSet().size());
+        assertTrue(g.edgeSet().isEmpty());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testWeightsOfUnweightedGraph()
+    {
+        SimpleGraph<Integer, DefaultEdge> g = new SimpleGraph<>(DefaultEdge.class);
+        g.addVertices(Arrays.asList(1, 2));
+        g.addEdges(Arrays.asList(1), Arrays.asList(2), new double[] { 2d });
+    }
+
+    @Test
+    public void testDirectedAcyclicGraph()
+    {
+        DirectedAcyclicGraph<Integer, DefaultEdge> g =
+            new DirectedAcyclicGraph<>(DefaultEdge.class);
+        g.addVertices(Arrays.asList(4, 3, 2, 1));
+        List<DefaultEdge> edges =
+            g.addEdges(Arrays.asList(1, 2, 3, 1), Arrays.asList(2, 3, 4, 2), null);
+        assertNull(edges.get(3));
+        List<Integer> order = new ArrayList<>();
+        g.iterator().forEachRemaining(order::add);
+        assertEquals(Arrays.asList(1, 2, 3, 4), order);
+
+        try {
+            g.addEdges(Arrays.asList(1, 4), Arrays.asList(3, 1), null);
+            fail("No exception thrown");
+        } catch (IllegalArgumentException e) {
+            assertTrue(g.containsEdge(1, 3));
+            assertFalse(g.containsEdge(4, 1));
+        }
+    }
+}
@@ -18,13 +18,21 @@
 package org.jgrapht.graph;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 import org.jgrapht.Graph;
 import org.jgrapht.ListenableGraph;
+import org.jgrapht.event.GraphChangeEvent;
 import org.jgrapht.event.GraphEdgeChangeEvent;
+import org.jgrapht.event.GraphEdgesChangeEvent;
 import org.jgrapht.event.GraphListener;
 import org.jgrapht.event.GraphVertexChangeEvent;
+import org.jgrapht.event.GraphVerticesChangeEvent;
 import org.jgrapht.event.VertexSetListener;
 import org.jgrapht.graph.builder.GraphTypeBuilder;
 import org.jgrapht.util.SupplierUtil;
@@ -265,6 +273,74 @@ public class ListenableGraphTest
         assertEquals(20.5, lastWeightUpdate, 1e-9);
     }
 
+    /**
+     * Tests that batches are reported using a single event, and one event per element to the
+     * listeners which do not handle batches.
+     */
+    @Test
+    public void testBatchEvents()
+    {
+        init();
+
+        DefaultListenableGraph<Object, DefaultWeightedEdge> g = new DefaultListenableGraph<>(
+            new SimpleDirectedWeightedGraph<>(DefaultWeightedEdge.class));
+
+        List<GraphChangeEvent> batches = new ArrayList<>();
+        g.addGraphListener(new MyGraphListener<DefaultWeightedEdge>()
+        {
+            @Override
+            public void verticesAdded(GraphVerticesChangeEvent<Object> e)
+            {
+                batches.add(e);
+            }
+
+            @Override
+            public void edgesAdded(GraphEdgesChangeEvent<Object, DefaultWeightedEdge> e)
+            {
+                batches.add(e);
+            }
+        });
+        g.addGraphListener(new MyGraphListener<>());
+        SimpleVertexListener<Object> vertexListener = new SimpleVertexListener<>();
+        g.addVertexSetListener(vertexListener);
+
+        String v1 = "v1";
+        String v2 = "v2";
+        String v3 = "v3";
+        g.addVertex(v1);
+        batches.clear();
+
+        // test vertices notification
+        assertEquals(Arrays.asList(v2, v3), g.addVertices(Arrays.asList(v1, v2, v3)));
+        assertEquals(1, batches.size());
+        GraphVerticesChangeEvent<?> verticesEvent = (GraphVerticesChangeEvent<?>) batches.get(0);
+        assertEquals(GraphVerticesChangeEvent.VERTICES_ADDED, verticesEvent.getType());
+        assertEquals(Arrays.asList(v2, v3), verticesEvent.getVertices());
+        assertEquals(v3, lastAddedVertex);
+        assertEquals(v3, vertexListener.getLastVertex());
+
+        // test edges notification, the edge which is not added is skipped
+        batches.clear();
+        List<DefaultWeightedEdge> edges = g.addEdges(
+            Arrays.asList(v1, v2, v1), Arrays.asList(v2, v3, v2), new double[] { 1.5, 2.5, 3.5 });
+        assertNull(edges.get(2));
+        assertEquals(1, batches.size());
+        GraphEdgesChangeEvent<?, ?> edgesEvent = (GraphEdgesChangeEvent<?, ?>) batches.get(0);
+        assertEquals(GraphEdgesChangeEvent.EDGES_ADDED, edgesEvent.getType());
+        assertEquals(edges.subList(0, 2), edgesEvent.getEdges());
+        assertEquals(Arrays.asList(v1, v2), edgesEvent.getEdgeSources());
+        assertEquals(Arrays.asList(v2, v3), edgesEvent.getEdgeTargets());
+        assertEquals(2.5, edgesEvent.getEdgeWeight(1), 0d);
+        assertEquals(edges.get(1), lastAddedEdge);
+        assertEquals(2.5, g.getEdgeWeight(edges.get(1)), 0d);
+
+        // test that nothing is reported when nothing is added
+        batches.clear();
+        assertNull(g.addEdges(Arrays.asList(v1), Arrays.asList(v2), null).get(0));
+        assertTrue(g.addVertices(Arrays.asList(v1, v2)).isEmpty());
+        assertTrue(batches.isEmpty());
+    }
+
     public void init()
     {
         lastAddedEdge = null;
@@ -31,7 +31,8 @@ import java.util.*;
 import java.util.concurrent.*;
 
 /**
- * A small benchmark comparing maximal clique enumeration algorithms.
+ * A small benchmark comparing maximal clique enumeration algorithms with a maximum clique
+ * algorithm.
  * 
  * @author Dimitrios Michail
  */
@@ -109,6 +110,17 @@ public class MaximalCliqueEnumerationPerformanceTest
         }
     }
 
+    public static class BBMCMaximumCliqueRandomGraphBenchmark
+        extends
+        RandomGraphBenchmarkBase
+    {
+        @Override
+        Iterable<Set<Integer>> createSolver(Graph<Integer, DefaultEdge> graph)
+        {
+            return Collections.singleton(new BBMCMaximumCliqueFinder<>(graph).getClique());
+        }
+    }
+
     @Test
     public void testMaximalCliqueRandomGraphBenchmark()
         throws RunnerException
@@ -117,6 +129,7 @@ public class MaximalCliqueEnumerationPerformanceTest
             .include(".*" + BronKerboschRandomGraphBenchmark.class.getSimpleName() + ".*")
             .include(".*" + PivotBronKerboschRandomGraphBenchmark.class.getSimpleName() + ".*")
             .include(".*" + DegeneracyBronKerboschRandomGraphBenchmark.class.getSimpleName() + ".*")
+            .include(".*" + BBMCMaximumCliqueRandomGraphBenchmark.class.getSimpleName() + ".*")
             .mode(Mode.SingleShotTime).timeUnit(TimeUnit.MILLISECONDS).warmupIterations(5)
             .measurementIterations(10).forks(1).shouldFailOnError(true).shouldDoGC(true).build();
 
@@ -102,6 +102,30 @@ public class MaximumFlowAlgorithmPerformanceTest
         }
     }
 
+    public static class ParallelPushRelabelMaximumFlowRandomGraphBenchmark
+        extends
+        RandomGraphBenchmarkBase
+    {
+        @Override
+        MaximumFlowAlgorithm<Integer, DefaultWeightedEdge> createSolver(
+            Graph<Integer, DefaultWeightedEdge> network)
+        {
+            return new ParallelPushRelabelMFImpl<>(network);
+        }
+    }
+
+    public static class BoykovKolmogorovMaximumFlowRandomGraphBenchmark
+        extends
+        RandomGraphBenchmarkBase
+    {
+        @Override
+        MaximumFlowAlgorithm<Integer, DefaultWeightedEdge> createSolver(
+            Graph<Integer, DefaultWeightedEdge> network)
+        {
+            return new BoykovKolmogorovMFImpl<>(network);
+        }
+    }
+
     public static class DinicMaximumFlowRandomGraphBenchmark
         extends
         RandomGraphBenchmarkBase
@@ -123,6 +147,12 @@ public class MaximumFlowAlgorithmPerformanceTest
             .include(".*" + EdmondsKarpMaximumFlowRandomGraphBenchmark.class.getSimpleName() + ".*")
             .include(".*" + PushRelabelMaximumFlowRandomGraphBenchmark.class.getSimpleName() + ".*")
             .include(".*" + DinicMaximumFlowRandomGraphBenchmark.class.getSimpleName() + ".*")
+            .include(
+                ".*" + ParallelPushRelabelMaximumFlowRandomGraphBenchmark.class.getSimpleName()
+                    + ".*")
+            .include(
+                ".*" + BoykovKolmogorovMaximumFlowRandomGraphBenchmark.class.getSimpleName()
+                    + ".*")
 
             .mode(Mode.AverageTime).timeUnit(TimeUnit.NANOSECONDS).warmupTime(TimeValue.seconds(1))
             .warmupIterations(3).measurementTime(TimeValue.seconds(1)).measurementIterations(5)
@@ -50,6 +50,8 @@ public class GraphPerformanceTest
     public static final long SEED = 1446523573696201013l;
     public static final int NR_GRAPHS = 5; // Number of unique graphs on which the tests are
                                            // repeated
+    public static final int BULK_LOAD_VERTICES_COUNT = 100000;
+    public static final int BULK_LOAD_EDGES_COUNT = 1000000;
 
     @State(Scope.Benchmark)
     private static abstract class DirectedGraphBenchmarkBase
@@ -201,6 +203,101 @@ public class GraphPerformanceTest
         }
     }
 
+    /**
+     * Benchmark of a bulk load, which compares adding the vertices and edges of a graph one by one
+     * with adding them as batches.
+     */
+    @State(Scope.Benchmark)
+    private static abstract class BulkLoadBenchmarkBase
+    {
+        private List<Integer> vertices;
+        private List<Integer> sources;
+        private List<Integer> targets;
+        private double[] weights;
+
+        /**
+         * Creates an empty graph
+         * 
+         * @return empty graph
+         */
+        abstract AbstractBaseGraph<Integer, DefaultWeightedEdge> createGraph();
+
+        @Setup
+        public void setup()
+        {
+            Random rand = new Random(SEED);
+            vertices = new ArrayList<>(BULK_LOAD_VERTICES_COUNT);
+            for (int i = 0; i < BULK_LOAD_VERTICES_COUNT; i++) {
+                vertices.add(i);
+            }
+            sources = new ArrayList<>(BULK_LOAD_EDGES_COUNT);
+            targets = new ArrayList<>(BULK_LOAD_EDGES_COUNT);
+            weights = new double[BULK_LOAD_EDGES_COUNT];
+            for (int i = 0; i < BULK_LOAD_EDGES_COUNT; i++) {
+                int u = rand.nextInt(BULK_LOAD_VERTICES_COUNT);
+                int v = rand.nextInt(BULK_LOAD_VERTICES_COUNT - 1);
+                sources.add(vertices.get(u));
+                targets.add(vertices.get(v < u ? v : v + 1));
+                weights[i] = rand.nextDouble();
+            }
+        }
+
+        @Benchmark
+        public AbstractBaseGraph<Integer, DefaultWeightedEdge> addOneByOneBenchmark()
+        {
+            AbstractBaseGraph<Integer, DefaultWeightedEdge> graph = createGraph();
+            for (Integer v : vertices) {
+                graph.addVertex(v);
+            }
+            for (int i = 0; i < BULK_LOAD_EDGES_COUNT; i++) {
+                DefaultWeightedEdge e = graph.addEdge(sources.get(i), targets.get(i));
+                if (e != null) {
+                    graph.setEdgeWeight(e, weights[i]);
+                }
+            }
+            return graph;
+        }
+
+        @Benchmark
+        public AbstractBaseGraph<Integer, DefaultWeightedEdge> addBatchBenchmark()
+        {
+            AbstractBaseGraph<Integer, DefaultWeightedEdge> graph = createGraph();
+            graph.addVertices(vertices);
+            graph.addEdges(sources, targets, weights);
+            return graph;
+        }
+    }
+
+    /**
+     * Bulk load of a graph which allows multiple edges.
+     */
+    public static class PseudographBulkLoadBenchmark
+        extends
+        BulkLoadBenchmarkBase
+    {
+        @Override
+        AbstractBaseGraph<Integer, DefaultWeightedEdge> createGraph()
+        {
+            return new DirectedWeightedPseudograph<>(
+                null, SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER);
+        }
+    }
+
+    /**
+     * Bulk load of a graph which does not allow multiple edges.
+     */
+    public static class SimpleGraphBulkLoadBenchmark
+        extends
+        BulkLoadBenchmarkBase
+    {
+        @Override
+        AbstractBaseGraph<Integer, DefaultWeightedEdge> createGraph()
+        {
+            return new SimpleDirectedWeightedGraph<>(
+                null, SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER);
+        }
+    }
+
     @Test
     public void testRandomGraphBenchmark()
         throws RunnerException
@@ -208,6 +305,8 @@ public class GraphPerformanceTest
         Options opt = new OptionsBuilder()
             .include(".*" + MemoryEfficientDirectedGraphBenchmark.class.getSimpleName() + ".*")
             .include(".*" + FastLookupDirectedGraphBenchmark.class.getSimpleName() + ".*")
+            .include(".*" + PseudographBulkLoadBenchmark.class.getSimpleName() + ".*")
+            .include(".*" + SimpleGraphBulkLoadBenchmark.class.getSimpleName() + ".*")
 
             .mode(Mode.AverageTime).timeUnit(TimeUnit.MILLISECONDS)
             // .warmupTime(TimeValue.seconds(1))
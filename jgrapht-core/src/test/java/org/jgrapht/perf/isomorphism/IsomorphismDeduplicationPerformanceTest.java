@@ -0,0 +1,128 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.perf.isomorphism;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.isomorphism.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.*;
+import org.openjdk.jmh.runner.options.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * A small benchmark which removes isomorphic duplicates from a collection of small random graphs,
+ * either by pairwise isomorphism tests or by hashing canonical certificates.
+ */
+public class IsomorphismDeduplicationPerformanceTest
+{
+    public static final int PERF_BENCHMARK_GRAPHS_COUNT = 2000;
+    public static final int PERF_BENCHMARK_VERTICES_COUNT = 8;
+    public static final double PERF_BENCHMARK_EDGES_PROP = 0.4;
+
+    @State(Scope.Benchmark)
+    private static abstract class DeduplicationBenchmarkBase
+    {
+        public static final long SEED = 13l;
+
+        private List<Graph<Integer, DefaultEdge>> graphs;
+
+        abstract int countClasses(List<Graph<Integer, DefaultEdge>> graphs);
+
+        @Setup(Level.Iteration)
+        public void setup()
+        {
+            Random rng = new Random(SEED);
+            graphs = new ArrayList<>(PERF_BENCHMARK_GRAPHS_COUNT);
+            for (int i = 0; i < PERF_BENCHMARK_GRAPHS_COUNT; i++) {
+                Graph<Integer, DefaultEdge> graph = new SimpleGraph<>(
+                    SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER,
+                    false);
+                new GnpRandomGraphGenerator<Integer, DefaultEdge>(
+                    PERF_BENCHMARK_VERTICES_COUNT, PERF_BENCHMARK_EDGES_PROP, rng, false)
+                        .generateGraph(graph);
+                graphs.add(graph);
+            }
+        }
+
+        @Benchmark
+        public int run()
+        {
+            return countClasses(graphs);
+        }
+    }
+
+    public static class VF2DeduplicationBenchmark
+        extends
+        DeduplicationBenchmarkBase
+    {
+        @Override
+        int countClasses(List<Graph<Integer, DefaultEdge>> graphs)
+        {
+            List<Graph<Integer, DefaultEdge>> representatives = new ArrayList<>();
+            for (Graph<Integer, DefaultEdge> graph : graphs) {
+                boolean found = false;
+                for (Graph<Integer, DefaultEdge> representative : representatives) {
+                    if (new VF2GraphIsomorphismInspector<>(graph, representative)
+                        .isomorphismExists())
+                    {
+                        found = true;
+                        break;
+                    }
+                }
+                if (!found) {
+                    representatives.add(graph);
+                }
+            }
+            return representatives.size();
+        }
+    }
+
+    public static class CanonicalLabelingDeduplicationBenchmark
+        extends
+        DeduplicationBenchmarkBase
+    {
+        @Override
+        int countClasses(List<Graph<Integer, DefaultEdge>> graphs)
+        {
+            Set<CanonicalLabeling.Certificate> certificates = new HashSet<>();
+            for (Graph<Integer, DefaultEdge> graph : graphs) {
+                certificates.add(new CanonicalLabeling<>(graph).getCertificate());
+            }
+            return certificates.size();
+        }
+    }
+
+    @Test
+    public void testDeduplicationBenchmark()
+        throws RunnerException
+    {
+        Options opt = new OptionsBuilder()
+            .include(".*" + VF2DeduplicationBenchmark.class.getSimpleName() + ".*")
+            .include(".*" + CanonicalLabelingDeduplicationBenchmark.class.getSimpleName() + ".*")
+            .mode(Mode.SingleShotTime).timeUnit(TimeUnit.MILLISECONDS).warmupIterations(5)
+            .measurementIterations(10).forks(1).shouldFailOnError(true).shouldDoGC(true).build();
+
+        new Runner(opt).run();
+    }
+}
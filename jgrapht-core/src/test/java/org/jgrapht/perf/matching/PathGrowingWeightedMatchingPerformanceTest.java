@@ -107,6 +107,17 @@ public class PathGrowingWeightedMatchingPerformanceTest
         }
     }
 
+    public static class ParallelSuitorWeightedMatchingRandomGraphBenchmark
+        extends
+        RandomGraphBenchmarkBase
+    {
+        @Override
+        MatchingAlgorithm<Integer, DefaultEdge> createSolver(Graph<Integer, DefaultEdge> graph)
+        {
+            return new ParallelSuitorWeightedMatching<>(graph);
+        }
+    }
+
     public static class EdmondsMaximumCardinalityMatchingRandomGraphBenchmark
         extends
         RandomGraphBenchmarkBase
@@ -129,6 +140,9 @@ public class PathGrowingWeightedMatchingPerformanceTest
                 ".*" + PathGrowingWeightedMatchingNoHeuristicsRandomGraphBenchmark.class
                     .getSimpleName() + ".*")
             .include(".*" + GreedyWeightedMatchingRandomGraphBenchmark.class.getSimpleName() + ".*")
+            .include(
+                ".*" + ParallelSuitorWeightedMatchingRandomGraphBenchmark.class.getSimpleName()
+                    + ".*")
             .include(
                 ".*" + EdmondsMaximumCardinalityMatchingRandomGraphBenchmark.class.getSimpleName()
                     + ".*")
@@ -170,6 +170,36 @@ public class MinimumSpanningTreePerformanceTest
         }
     }
 
+    public static class ParallelBoruvkaBenchmark
+        extends
+        BenchmarkBase
+    {
+        private final int parallelism;
+
+        public ParallelBoruvkaBenchmark()
+        {
+            this(Runtime.getRuntime().availableProcessors());
+        }
+
+        public ParallelBoruvkaBenchmark(int parallelism)
+        {
+            this.parallelism = parallelism;
+        }
+
+        @Override
+        SpanningTreeAlgorithm<DefaultWeightedEdge> createSolver(
+            Graph<Integer, DefaultWeightedEdge> graph)
+        {
+            return new ParallelBoruvkaMinimumSpanningTree<>(graph, parallelism);
+        }
+
+        @Override
+        public String toString()
+        {
+            return "Parallel Boruvka (" + parallelism + " threads)";
+        }
+    }
+
     @Test
     public void testBenchmarkDenseGraphs()
     {
@@ -185,6 +215,7 @@ public class MinimumSpanningTreePerformanceTest
         algFactory.add(PrimBenchmark::new);
         algFactory.add(KruskalBenchmark::new);
         algFactory.add(BoruvkaBenchmark::new);
+        algFactory.add(ParallelBoruvkaBenchmark::new);
 
         for (Supplier<BenchmarkBase> alg : algFactory) {
 
@@ -234,6 +265,7 @@ public class MinimumSpanningTreePerformanceTest
         algFactory.add(PrimBenchmark::new);
         algFactory.add(KruskalBenchmark::new);
         algFactory.add(BoruvkaBenchmark::new);
+        algFactory.add(ParallelBoruvkaBenchmark::new);
 
         for (Supplier<BenchmarkBase> alg : algFactory) {
 
@@ -268,4 +300,54 @@ public class MinimumSpanningTreePerformanceTest
         }
     }
 
+    @Test
+    public void testParallelSpeedupSparseGraphs()
+    {
+        System.out.println("Parallel Boruvka speedup using sparse graphs");
+        System.out.println("-------------------------------");
+        System.out.println(
+            "Using G(n,M) random graph with n = " + PERF_BENCHMARK_VERTICES_COUNT_SPARSE + ", M = "
+                + PERF_BENCHMARK_EDGES_COUNT_SPARSE);
+        System.out.println("Warmup phase " + WARMUP_REPEAT + " executions");
+        System.out.println("Averaging results over " + REPEAT + " executions");
+
+        List<Integer> threadCounts = new ArrayList<>();
+        int processors = Runtime.getRuntime().availableProcessors();
+        for (int threads = 1; threads < processors; threads *= 2) {
+            threadCounts.add(threads);
+        }
+        threadCounts.add(processors);
+
+        double baseline = 0d;
+        for (int threads : threadCounts) {
+
+            System.gc();
+            StopWatch watch = new StopWatch();
+
+            BenchmarkBase benchmark = new ParallelBoruvkaBenchmark(threads);
+            System.out.printf("%-30s :", benchmark.toString());
+
+            for (int i = 0; i < WARMUP_REPEAT; i++) {
+                System.out.print("-");
+                benchmark.setupSparse();
+                benchmark.runSparse();
+            }
+            double avgExecution = 0d;
+            for (int i = 0; i < REPEAT; i++) {
+                System.out.print("+");
+                benchmark.setupSparse();
+                watch.start();
+                benchmark.runSparse();
+                avgExecution += watch.getElapsed(TimeUnit.MILLISECONDS);
+            }
+            avgExecution /= REPEAT;
+            if (threads == 1) {
+                baseline = avgExecution;
+            }
+
+            System.out.print(" -> ");
+            System.out.printf(
+                "execution %.3f (ms) | speedup %.2f\n", avgExecution, baseline / avgExecution);
+        }
+    }
 }
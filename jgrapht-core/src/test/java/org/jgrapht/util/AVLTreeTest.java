@@ -188,6 +188,37 @@ public class AVLTreeTest {
         }
     }
 
+    @Test
+    public void testFlags() {
+        for (int treeSize = 1; treeSize < 50; treeSize++) {
+            AVLTree<Integer> tree = new AVLTree<>();
+            List<TreeNode<Integer>> nodes = fillNodes(tree, 0, treeSize);
+            assertEquals(0, tree.getRoot().getSubtreeFlags());
+
+            TreeNode<Integer> flagged = nodes.get(rng.nextInt(treeSize));
+            flagged.setFlags(1);
+            TreeNode<Integer> other = nodes.get(rng.nextInt(treeSize));
+            other.setFlags(other.getFlags() | 2);
+            assertEquals(1, tree.getRoot().getSubtreeFlags() & 1);
+            diagnostic(tree);
+
+            // flags are preserved by splits and merges
+            int split = rng.nextInt(treeSize);
+            AVLTree<Integer> right = tree.splitAfter(nodes.get(split));
+            diagnostic(tree);
+            diagnostic(right);
+            AVLTree<Integer> flaggedTree = flagged.getValue() <= split ? tree : right;
+            assertEquals(1, flaggedTree.getRoot().getSubtreeFlags() & 1);
+            tree.mergeAfter(right);
+            diagnostic(tree);
+            assertEquals(1, tree.getRoot().getSubtreeFlags() & 1);
+
+            flagged.setFlags(0);
+            diagnostic(tree);
+            assertEquals(0, tree.getRoot().getSubtreeFlags() & 1);
+        }
+    }
+
     private void testTreeValueRange(AVLTree<Integer> tree, int from, int to) {
         assertEquals(to - from, tree.getSize());
         Iterator<TreeNode<Integer>> it = tree.nodeIterator();
@@ -239,6 +270,9 @@ public class AVLTreeTest {
 
         assertEquals(node.getHeight(), Math.max(leftInfo.height, rightInfo.height) + 1);
         assertEquals(node.getSubtreeSize(), leftInfo.size + rightInfo.size + 1);
+        assertEquals(node.getSubtreeFlags(), node.getFlags()
+                | (node.getLeft() == null ? 0 : node.getLeft().getSubtreeFlags())
+                | (node.getRight() == null ? 0 : node.getRight().getSubtreeFlags()));
 
 
         assertTrue(abs(node.getLeftHeight() - node.getRightHeight()) < 2);
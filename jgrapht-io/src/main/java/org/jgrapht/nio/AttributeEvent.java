@@ -0,0 +1,97 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.nio;
+
+/**
+ * An attribute of a vertex or an edge, reported by an importer.
+ *
+ * <p>
+ * Importers reuse a single instance for all the attributes they report, in order to avoid an
+ * allocation per attribute. Consumers must therefore not keep a reference to the event after
+ * returning, but copy the values they need.
+ *
+ * @param <T> the vertex or edge type
+ *
+ * @see BaseEventDrivenImporter#addVertexAttributeEventConsumer(java.util.function.Consumer)
+ * @see BaseEventDrivenImporter#addEdgeAttributeEventConsumer(java.util.function.Consumer)
+ */
+public final class AttributeEvent<T>
+{
+    private T element;
+    private String key;
+    private Attribute value;
+
+    /**
+     * Create a new event.
+     */
+    public AttributeEvent()
+    {
+    }
+
+    /**
+     * Set the contents of the event.
+     *
+     * @param element the vertex or edge
+     * @param key the attribute key
+     * @param value the attribute
+     * @return the event
+     */
+    public AttributeEvent<T> set(T element, String key, Attribute value)
+    {
+        this.element = element;
+        this.key = key;
+        this.value = value;
+        return this;
+    }
+
+    /**
+     * Get the vertex or edge which has the attribute.
+     *
+     * @return the vertex or edge
+     */
+    public T getElement()
+    {
+        return element;
+    }
+
+    /**
+     * Get the attribute key.
+     *
+     * @return the attribute key
+     */
+    public String getKey()
+    {
+        return key;
+    }
+
+    /**
+     * Get the attribute.
+     *
+     * @return the attribute
+     */
+    public Attribute getValue()
+    {
+        return value;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "(" + element + "," + key + "," + value + ")";
+    }
+}
@@ -0,0 +1,609 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.nio;
+
+import org.jgrapht.alg.util.*;
+
+import java.util.*;
+import java.util.function.*;
+
+/**
+ * A compact store of the attributes of vertices or edges.
+ *
+ * <p>
+ * Keeping imported attributes as {@link Attribute} objects in a map per vertex or edge costs
+ * about two hundred bytes per attribute. This store instead keeps one column per attribute name,
+ * indexed by a dense index of the vertices or edges. Boolean, integer, long, float and double
+ * attributes are stored in arrays of primitives. All other attributes, as well as the values of a
+ * column whose values have different types or cannot be parsed according to their type, are
+ * dictionary encoded: the store keeps each distinct string once and a column holds the code of the
+ * string and the type of each value. An {@link Attribute} is only created when a value is read.
+ *
+ * <p>
+ * The store can be filled directly by an importer, since it is both a vertex or edge attribute
+ * consumer, see {@link BaseEventDrivenImporter#addVertexAttributeConsumer(BiConsumer)}, and an
+ * attribute event consumer, see
+ * {@link BaseEventDrivenImporter#addVertexAttributeEventConsumer(Consumer)}. Exporters read the
+ * attributes using {@link #getAttributes(Object)} as attribute provider, for example
+ * {@code exporter.setVertexAttributeProvider(store::getAttributes)}.
+ *
+ * <p>
+ * Numeric and boolean values are returned in the canonical string representation of their type,
+ * for example a double attribute with value "1" is returned as "1.0", and as
+ * {@link DefaultAttribute} instances holding a value of the corresponding Java type. By default
+ * the store assigns indices to the vertices or edges in the order that they are first seen. If the
+ * vertices or edges already have dense indices, such as the integer vertices created by many
+ * importers, an index function can be given instead, which avoids the map from vertices or edges
+ * to indices.
+ *
+ * <p>
+ * The store is not thread-safe.
+ *
+ * @param <T> the vertex or edge type
+ */
+public class AttributeStore<T>
+    implements
+    BiConsumer<Pair<T, String>, Attribute>,
+    Consumer<AttributeEvent<T>>
+{
+    private static final AttributeType[] TYPES = AttributeType.values();
+    private static final int NO_STRING = -1;
+
+    private final ToIntFunction<T> indexFunction;
+    private final Map<T, Integer> indices;
+    private final Map<String, Column> columns;
+    private final Map<String, Integer> dictionary;
+    private final List<String> strings;
+
+    /**
+     * Create a new store, which assigns indices to the vertices or edges in the order that they
+     * are first seen.
+     */
+    public AttributeStore()
+    {
+        this.indexFunction = null;
+        this.indices = new HashMap<>();
+        this.columns = new LinkedHashMap<>();
+        this.dictionary = new HashMap<>();
+        this.strings = new ArrayList<>();
+    }
+
+    /**
+     * Create a new store with a given index function. The function must return a distinct
+     * non-negative index for each vertex or edge. The memory used by a column is proportional to
+     * the largest index of a vertex or edge which has a value in the column.
+     *
+     * @param indexFunction the index function
+     */
+    public AttributeStore(ToIntFunction<T> indexFunction)
+    {
+        this.indexFunction =
+            Objects.requireNonNull(indexFunction, "Index function cannot be null");
+        this.indices = null;
+        this.columns = new LinkedHashMap<>();
+        this.dictionary = new HashMap<>();
+        this.strings = new ArrayList<>();
+    }
+
+    /**
+     * Set the value of an attribute.
+     *
+     * @param element the vertex or edge
+     * @param name the attribute name
+     * @param value the value, or null in order to remove the attribute
+     */
+    public void put(T element, String name, Attribute value)
+    {
+        if (value == null) {
+            remove(element, name);
+            return;
+        }
+        int index = index(element, true);
+        Column column = columns.get(name);
+        if (column == null) {
+            column = createColumn(value.getType());
+            columns.put(name, column);
+        }
+        if (!column.set(index, value)) {
+            column = toDictionaryColumn(column);
+            columns.put(name, column);
+            column.set(index, value);
+        }
+    }
+
+    /**
+     * Get the value of an attribute.
+     *
+     * @param element the vertex or edge
+     * @param name the attribute name
+     * @return the value, or null if the vertex or edge has no such attribute
+     */
+    public Attribute get(T element, String name)
+    {
+        int index = index(element, false);
+        if (index < 0) {
+            return null;
+        }
+        Column column = columns.get(name);
+        if (column == null || !column.present.get(index)) {
+            return null;
+        }
+        return column.get(index);
+    }
+
+    /**
+     * Get all attributes of a vertex or edge. The returned map is an unmodifiable view of the
+     * store, whose values are created when they are read.
+     *
+     * @param element the vertex or edge
+     * @return the attributes of the vertex or edge
+     */
+    public Map<String, Attribute> getAttributes(T element)
+    {
+        int index = index(element, false);
+        if (index < 0) {
+            return Collections.emptyMap();
+        }
+        return new AttributeMap(index);
+    }
+
+    /**
+     * Get the names of the attributes in the store.
+     *
+     * @return an unmodifiable view of the attribute names
+     */
+    public Set<String> getAttributeNames()
+    {
+        return Collections.unmodifiableSet(columns.keySet());
+    }
+
+    /**
+     * Remove an attribute of a vertex or edge.
+     *
+     * @param element the vertex or edge
+     * @param name the attribute name
+     */
+    public void remove(T element, String name)
+    {
+        int index = index(element, false);
+        Column column = columns.get(name);
+        if (index >= 0 && column != null) {
+            column.present.clear(index);
+        }
+    }
+
+    /**
+     * Remove all attributes of a vertex or edge.
+     *
+     * @param element the vertex or edge
+     */
+    public void remove(T element)
+    {
+        int index = index(element, false);
+        if (index >= 0) {
+            for (Column column : columns.values()) {
+                column.present.clear(index);
+            }
+        }
+    }
+
+    /**
+     * Set the value of an attribute, see {@link #put(Object, String, Attribute)}.
+     *
+     * @param key the vertex or edge and the attribute name
+     * @param value the value
+     */
+    @Override
+    public void accept(Pair<T, String> key, Attribute value)
+    {
+        put(key.getFirst(), key.getSecond(), value);
+    }
+
+    /**
+     * Set the value of an attribute, see {@link #put(Object, String, Attribute)}.
+     *
+     * @param event the attribute event
+     */
+    @Override
+    public void accept(AttributeEvent<T> event)
+    {
+        put(event.getElement(), event.getKey(), event.getValue());
+    }
+
+    private int index(T element, boolean create)
+    {
+        if (indices == null) {
+            int index = indexFunction.applyAsInt(element);
+            if (index < 0) {
+                throw new IllegalArgumentException("Negative index: " + index);
+            }
+            return index;
+        }
+        Integer index = indices.get(element);
+        if (index == null) {
+            if (!create) {
+                return -1;
+            }
+            index = indices.size();
+            indices.put(element, index);
+        }
+        return index;
+    }
+
+    private int intern(String value)
+    {
+        Integer code = dictionary.get(value);
+        if (code == null) {
+            code = strings.size();
+            strings.add(value);
+            dictionary.put(value, code);
+        }
+        return code;
+    }
+
+    private Column createColumn(AttributeType type)
+    {
+        switch (type) {
+        case BOOLEAN:
+            return new BooleanColumn();
+        case INT:
+            return new IntColumn();
+        case LONG:
+            return new LongColumn();
+        case FLOAT:
+            return new FloatColumn();
+        case DOUBLE:
+            return new DoubleColumn();
+        default:
+            return new DictionaryColumn();
+        }
+    }
+
+    private Column toDictionaryColumn(Column column)
+    {
+        Column result = new DictionaryColumn();
+        BitSet present = column.present;
+        for (int i = present.nextSetBit(0); i >= 0; i = present.nextSetBit(i + 1)) {
+            result.set(i, column.get(i));
+        }
+        return result;
+    }
+
+    private static int grow(int length, int index)
+    {
+        return Math.max(index + 1, length + (length >> 1) + 8);
+    }
+
+    /**
+     * The values of an attribute.
+     */
+    private abstract static class Column
+    {
+        final BitSet present = new BitSet();
+
+        /**
+         * Set a value.
+         *
+         * @return false if the value cannot be represented by the column
+         */
+        abstract boolean set(int index, Attribute value);
+
+        /**
+         * Get a value which is present.
+         */
+        abstract Attribute get(int index);
+    }
+
+    private static class BooleanColumn
+        extends
+        Column
+    {
+        private final BitSet values = new BitSet();
+
+        @Override
+        boolean set(int index, Attribute value)
+        {
+            if (value.getType() != AttributeType.BOOLEAN) {
+                return false;
+            }
+            String s = value.getValue();
+            if (!s.equals("true") && !s.equals("false")) {
+                return false;
+            }
+            values.set(index, s.equals("true"));
+            present.set(index);
+            return true;
+        }
+
+        @Override
+        Attribute get(int index)
+        {
+            return DefaultAttribute.createAttribute(values.get(index));
+        }
+    }
+
+    private static class IntColumn
+        extends
+        Column
+    {
+        private int[] values = new int[0];
+
+        @Override
+        boolean set(int index, Attribute value)
+        {
+            if (value.getType() != AttributeType.INT) {
+                return false;
+            }
+            int v;
+            try {
+                v = Integer.parseInt(value.getValue());
+            } catch (NumberFormatException e) {
+                return false;
+            }
+            if (index >= values.length) {
+                values = Arrays.copyOf(values, grow(values.length, index));
+            }
+            values[index] = v;
+            present.set(index);
+            return true;
+        }
+
+        @Override
+        Attribute get(int index)
+        {
+            return DefaultAttribute.createAttribute(values[index]);
+        }
+    }
+
+    private static class LongColumn
+        extends
+        Column
+    {
+        private long[] values = new long[0];
+
+        @Override
+        boolean set(int index, Attribute value)
+        {
+            if (value.getType() != AttributeType.LONG) {
+                return false;
+            }
+            long v;
+            try {
+                v = Long.parseLong(value.getValue());
+            } catch (NumberFormatException e) {
+                return false;
+            }
+            if (index >= values.length) {
+                values = Arrays.copyOf(values, grow(values.length, index));
+            }
+            values[index] = v;
+            present.set(index);
+            return true;
+        }
+
+        @Override
+        Attribute get(int index)
+        {
+            return DefaultAttribute.createAttribute(values[index]);
+        }
+    }
+
+    private static class FloatColumn
+        extends
+        Column
+    {
+        private float[] values = new float[0];
+
+        @Override
+        boolean set(int index, Attribute value)
+        {
+            if (value.getType() != AttributeType.FLOAT) {
+                return false;
+            }
+            float v;
+            try {
+                v = Float.parseFloat(value.getValue());
+            } catch (NumberFormatException e) {
+                return false;
+            }
+            if (index >= values.length) {
+                values = Arrays.copyOf(values, grow(values.length, index));
+            }
+            values[index] = v;
+            present.set(index);
+            return true;
+        }
+
+        @Override
+        Attribute get(int index)
+        {
+            return DefaultAttribute.createAttribute(values[index]);
+        }
+    }
+
+    private static class DoubleColumn
+        extends
+        Column
+    {
+        private double[] values = new double[0];
+
+        @Override
+        boolean set(int index, Attribute value)
+        {
+            if (value.getType() != AttributeType.DOUBLE) {
+                return false;
+            }
+            double v;
+            try {
+                v = Double.parseDouble(value.getValue());
+            } catch (NumberFormatException e) {
+                return false;
+            }
+            if (index >= values.length) {
+                values = Arrays.copyOf(values, grow(values.length, index));
+            }
+            values[index] = v;
+            present.set(index);
+            return true;
+        }
+
+        @Override
+        Attribute get(int index)
+        {
+            return DefaultAttribute.createAttribute(values[index]);
+        }
+    }
+
+    /**
+     * A column which stores the type and the dictionary code of the string of each value.
+     */
+    private class DictionaryColumn
+        extends
+        Column
+    {
+        private int[] codes = new int[0];
+        private byte[] types = new byte[0];
+
+        @Override
+        boolean set(int index, Attribute value)
+        {
+            if (index >= codes.length) {
+                int length = grow(codes.length, index);
+                codes = Arrays.copyOf(codes, length);
+                types = Arrays.copyOf(types, length);
+            }
+            AttributeType type = value.getType();
+            codes[index] = type == AttributeType.NULL ? NO_STRING : intern(value.getValue());
+            types[index] = (byte) type.ordinal();
+            present.set(index);
+            return true;
+        }
+
+        @Override
+        Attribute get(int index)
+        {
+            if (codes[index] == NO_STRING) {
+                return DefaultAttribute.NULL;
+            }
+            return new DefaultAttribute<>(strings.get(codes[index]), TYPES[types[index]]);
+        }
+    }
+
+    /**
+     * A view of the attributes of a vertex or edge.
+     */
+    private class AttributeMap
+        extends
+        AbstractMap<String, Attribute>
+    {
+        private final int index;
+
+        AttributeMap(int index)
+        {
+            this.index = index;
+        }
+
+        @Override
+        public Attribute get(Object key)
+        {
+            Column column = columns.get(key);
+            return column == null || !column.present.get(index) ? null : column.get(index);
+        }
+
+        @Override
+        public boolean containsKey(Object key)
+        {
+            Column column = columns.get(key);
+            return column != null && column.present.get(index);
+        }
+
+        @Override
+        public Set<Entry<String, Attribute>> entrySet()
+        {
+            return new AbstractSet<Entry<String, Attribute>>()
+            {
+                @Override
+                public Iterator<Entry<String, Attribute>> iterator()
+                {
+                    return new AttributeIterator(index);
+                }
+
+                @Override
+                public int size()
+                {
+                    int size = 0;
+                    for (Column column : columns.values()) {
+                        if (column.present.get(index)) {
+                            size++;
+                        }
+                    }
+                    return size;
+                }
+            };
+        }
+    }
+
+    /**
+     * An iterator over the attributes of a vertex or edge.
+     */
+    private class AttributeIterator
+        implements
+        Iterator<Map.Entry<String, Attribute>>
+    {
+        private final int index;
+        private final Iterator<Map.Entry<String, Column>> it;
+        private Map.Entry<String, Column> next;
+
+        AttributeIterator(int index)
+        {
+            this.index = index;
+            this.it = columns.entrySet().iterator();
+            advance();
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            return next != null;
+        }
+
+        @Override
+        public Map.Entry<String, Attribute> next()
+        {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            Map.Entry<String, Attribute> result =
+                new AbstractMap.SimpleImmutableEntry<>(next.getKey(), next.getValue().get(index));
+            advance();
+            return result;
+        }
+
+        private void advance()
+        {
+            next = null;
+            while (it.hasNext()) {
+                Map.Entry<String, Column> entry = it.next();
+                if (entry.getValue().present.get(index)) {
+                    next = entry;
+                    return;
+                }
+            }
+        }
+    }
+}
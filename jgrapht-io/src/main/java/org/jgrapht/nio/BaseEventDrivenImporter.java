@@ -28,6 +28,13 @@ import java.util.function.Consumer;
  * Base implementation for an importer which uses consumers to notify interested parties. Note that
  * this importer does not compute anything, it simply calls the appropriate consumers to do the
  * actual work.
+ * 
+ * <p>
+ * Besides the generic consumers, which receive an object per edge or attribute, the importer
+ * supports consumers which avoid such allocations. Importers of formats with numeric vertex
+ * identifiers report their edges to {@link IntEdgeConsumer}s using primitive values. Attribute
+ * event consumers receive the attributes of vertices and edges through a single reused
+ * {@link AttributeEvent}.
  *
  * @author Dimitrios Michail
  * 
@@ -44,6 +51,11 @@ public abstract class BaseEventDrivenImporter<V, E>
     private final List<BiConsumer<Pair<V, String>, Attribute>> vertexAttributeConsumers;
     private final List<BiConsumer<Pair<E, String>, Attribute>> edgeAttributeConsumers;
     private final List<Consumer<ImportEvent>> importEventConsumers;
+    private final List<IntEdgeConsumer> intEdgeConsumers;
+    private final List<Consumer<AttributeEvent<V>>> vertexAttributeEventConsumers;
+    private final List<Consumer<AttributeEvent<E>>> edgeAttributeEventConsumers;
+    private final AttributeEvent<V> vertexAttributeEvent;
+    private final AttributeEvent<E> edgeAttributeEvent;
 
     /**
      * Constructor
@@ -58,6 +70,11 @@ public abstract class BaseEventDrivenImporter<V, E>
         this.vertexAttributeConsumers = new ArrayList<>();
         this.edgeAttributeConsumers = new ArrayList<>();
         this.importEventConsumers = new ArrayList<>();
+        this.intEdgeConsumers = new ArrayList<>();
+        this.vertexAttributeEventConsumers = new ArrayList<>();
+        this.edgeAttributeEventConsumers = new ArrayList<>();
+        this.vertexAttributeEvent = new AttributeEvent<>();
+        this.edgeAttributeEvent = new AttributeEvent<>();
     }
 
     /**
@@ -220,6 +237,69 @@ public abstract class BaseEventDrivenImporter<V, E>
         edgeAttributeConsumers.remove(consumer);
     }
 
+    /**
+     * Add an integer edge consumer. Only importers of formats with numeric vertex identifiers
+     * report edges to such consumers, in addition to the edge consumers.
+     * 
+     * @param consumer the consumer
+     */
+    public void addIntEdgeConsumer(IntEdgeConsumer consumer)
+    {
+        intEdgeConsumers.add(consumer);
+    }
+
+    /**
+     * Remove an integer edge consumer.
+     * 
+     * @param consumer the consumer
+     */
+    public void removeIntEdgeConsumer(IntEdgeConsumer consumer)
+    {
+        intEdgeConsumers.remove(consumer);
+    }
+
+    /**
+     * Add a vertex attribute event consumer. The event is reused for all attributes and must not
+     * be retained by the consumer.
+     * 
+     * @param consumer the consumer
+     */
+    public void addVertexAttributeEventConsumer(Consumer<AttributeEvent<V>> consumer)
+    {
+        vertexAttributeEventConsumers.add(consumer);
+    }
+
+    /**
+     * Remove a vertex attribute event consumer.
+     * 
+     * @param consumer the consumer
+     */
+    public void removeVertexAttributeEventConsumer(Consumer<AttributeEvent<V>> consumer)
+    {
+        vertexAttributeEventConsumers.remove(consumer);
+    }
+
+    /**
+     * Add an edge attribute event consumer. The event is reused for all attributes and must not be
+     * retained by the consumer.
+     * 
+     * @param consumer the consumer
+     */
+    public void addEdgeAttributeEventConsumer(Consumer<AttributeEvent<E>> consumer)
+    {
+        edgeAttributeEventConsumers.add(consumer);
+    }
+
+    /**
+     * Remove an edge attribute event consumer.
+     * 
+     * @param consumer the consumer
+     */
+    public void removeEdgeAttributeEventConsumer(Consumer<AttributeEvent<E>> consumer)
+    {
+        edgeAttributeEventConsumers.remove(consumer);
+    }
+
     /**
      * Notify for the vertex count.
      * 
@@ -260,6 +340,31 @@ public abstract class BaseEventDrivenImporter<V, E>
         edgeConsumers.forEach(c -> c.accept(e));
     }
 
+    /**
+     * Whether there are any edge consumers. Importers may use this in order to avoid creating the
+     * edge objects when only integer edge consumers are registered.
+     * 
+     * @return true if there are edge consumers, false otherwise
+     */
+    protected boolean hasEdgeConsumers()
+    {
+        return !edgeConsumers.isEmpty();
+    }
+
+    /**
+     * Notify the integer edge consumers for an edge.
+     * 
+     * @param source the source vertex
+     * @param target the target vertex
+     * @param weight the edge weight, or {@link Double#NaN} if the input does not specify one
+     */
+    protected void notifyIntEdge(int source, int target, double weight)
+    {
+        for (IntEdgeConsumer c : intEdgeConsumers) {
+            c.accept(source, target, weight);
+        }
+    }
+
     /**
      * Notify for a graph attribute
      * 
@@ -280,7 +385,14 @@ public abstract class BaseEventDrivenImporter<V, E>
      */
     protected void notifyVertexAttribute(V v, String key, Attribute value)
     {
-        vertexAttributeConsumers.forEach(c -> c.accept(Pair.of(v, key), value));
+        if (!vertexAttributeConsumers.isEmpty()) {
+            Pair<V, String> p = Pair.of(v, key);
+            vertexAttributeConsumers.forEach(c -> c.accept(p, value));
+        }
+        if (!vertexAttributeEventConsumers.isEmpty()) {
+            AttributeEvent<V> event = vertexAttributeEvent.set(v, key, value);
+            vertexAttributeEventConsumers.forEach(c -> c.accept(event));
+        }
     }
 
     /**
@@ -292,7 +404,14 @@ public abstract class BaseEventDrivenImporter<V, E>
      */
     protected void notifyEdgeAttribute(E e, String key, Attribute value)
     {
-        edgeAttributeConsumers.forEach(c -> c.accept(Pair.of(e, key), value));
+        if (!edgeAttributeConsumers.isEmpty()) {
+            Pair<E, String> p = Pair.of(e, key);
+            edgeAttributeConsumers.forEach(c -> c.accept(p, value));
+        }
+        if (!edgeAttributeEventConsumers.isEmpty()) {
+            AttributeEvent<E> event = edgeAttributeEvent.set(e, key, value);
+            edgeAttributeEventConsumers.forEach(c -> c.accept(event));
+        }
     }
 
     /**
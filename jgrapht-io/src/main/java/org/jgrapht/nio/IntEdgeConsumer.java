@@ -0,0 +1,37 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.nio;
+
+/**
+ * Consumer of edges whose endpoints are identified by integers. Importers of formats with numeric
+ * vertex identifiers report their edges to such consumers without allocating an object per edge.
+ *
+ * @see BaseEventDrivenImporter#addIntEdgeConsumer(IntEdgeConsumer)
+ */
+@FunctionalInterface
+public interface IntEdgeConsumer
+{
+    /**
+     * Consume an edge.
+     *
+     * @param source the source vertex
+     * @param target the target vertex
+     * @param weight the edge weight, or {@link Double#NaN} if the input does not specify one
+     */
+    void accept(int source, int target, double weight);
+}
@@ -0,0 +1,452 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.nio;
+
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.*;
+import java.util.zip.*;
+
+/**
+ * Reader which splits a line-oriented file into chunks of lines and parses them in parallel.
+ *
+ * <p>
+ * The file is divided into byte ranges of equal size, whose boundaries are moved forward to the
+ * next line break, so that every line belongs to exactly one chunk. The chunks are parsed by
+ * worker threads into batches, which are handed to a consumer by the calling thread in the order
+ * of the file. The consumer usually inserts the vertices and edges of a batch into a graph, which
+ * thus needs no synchronization.
+ *
+ * <p>
+ * Several files, such as the shards written by {@link ParallelLineWriter}, can be read as if they
+ * were concatenated. Files compressed using gzip are detected automatically. Since a compressed
+ * file cannot be split at arbitrary positions, it is decompressed sequentially by the calling
+ * thread, which divides the decompressed lines into chunks that are parsed in parallel.
+ *
+ * <p>
+ * Only a bounded number of chunks is read and parsed ahead of the consumer. When the consumer
+ * falls behind, the workers wait, which bounds the memory consumption independently of the size
+ * of the file. With a parallelism of one, the chunks are parsed by the calling thread.
+ *
+ * <p>
+ * For parallelization, this implementation relies on the {@link ExecutorService}.
+ */
+public class ParallelLineReader
+{
+    /**
+     * Default size in bytes of a chunk.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 1 << 23;
+
+    private static final byte LF = '\n';
+
+    private final int parallelism;
+    private final int chunkSize;
+    private final int capacity;
+
+    /**
+     * A parser of a chunk of lines.
+     *
+     * @param <B> the type of the parsed batch
+     */
+    @FunctionalInterface
+    public interface ChunkParser<B>
+    {
+        /**
+         * Parse a sequence of complete lines. Every line except the last one ends with a line feed
+         * character. The last line ends with a line feed character unless it is the last line of
+         * the file.
+         *
+         * @param bytes the bytes
+         * @param from the index of the first byte of the first line
+         * @param to the index after the last byte of the last line
+         * @return the parsed batch
+         * @throws ImportException in case of a parse error
+         */
+        B parse(byte[] bytes, int from, int to);
+    }
+
+    /**
+     * Create a new reader.
+     *
+     * @param parallelism the maximum number of threads used for parsing
+     */
+    public ParallelLineReader(int parallelism)
+    {
+        this(parallelism, DEFAULT_CHUNK_SIZE, 2 * parallelism);
+    }
+
+    /**
+     * Create a new reader.
+     *
+     * @param parallelism the maximum number of threads used for parsing
+     * @param chunkSize the size in bytes of a chunk; a chunk is larger if its last line is longer
+     * @param capacity the maximum number of chunks which are parsed but not yet consumed
+     */
+    public ParallelLineReader(int parallelism, int chunkSize, int capacity)
+    {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.parallelism = parallelism;
+        this.chunkSize = chunkSize;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Read a file.
+     *
+     * @param file the file
+     * @param parser the parser of the chunks, which must be thread-safe
+     * @param consumer the consumer of the batches, called by the calling thread in file order
+     * @param <B> the type of the parsed batches
+     * @throws ImportException in case of an I/O or parse error
+     */
+    public <B> void read(File file, ChunkParser<? extends B> parser, Consumer<? super B> consumer)
+    {
+        read(Collections.singletonList(file), parser, consumer);
+    }
+
+    /**
+     * Read several files as if they were concatenated. Every file must end with a complete line.
+     *
+     * @param files the files
+     * @param parser the parser of the chunks, which must be thread-safe
+     * @param consumer the consumer of the batches, called by the calling thread in file order
+     * @param <B> the type of the parsed batches
+     * @throws ImportException in case of an I/O or parse error
+     */
+    public <B> void read(
+        List<File> files, ChunkParser<? extends B> parser, Consumer<? super B> consumer)
+    {
+        try (Tasks<B> tasks = new Tasks<>(files, parser)) {
+            read(tasks, consumer);
+        } catch (IOException e) {
+            throw new ImportException("Failed to read file: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Open a file for reading, decompressing it if it is compressed using gzip.
+     *
+     * @param file the file
+     * @return an input stream of the (decompressed) contents of the file
+     * @throws IOException in case of an I/O error
+     */
+    public static InputStream newInputStream(File file)
+        throws IOException
+    {
+        InputStream in = new BufferedInputStream(new FileInputStream(file));
+        try {
+            if (isCompressed(file)) {
+                return new GZIPInputStream(in);
+            }
+            return in;
+        } catch (IOException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    private <B> void read(Tasks<B> tasks, Consumer<? super B> consumer)
+        throws IOException
+    {
+        Callable<? extends B> first = tasks.next();
+        Callable<? extends B> next = first == null ? null : tasks.next();
+        if (parallelism == 1 || next == null) {
+            try {
+                Callable<? extends B> task = first;
+                while (task != null) {
+                    consumer.accept(task.call());
+                    task = next;
+                    next = task == null ? null : tasks.next();
+                }
+            } catch (IOException | RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+            return;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        try {
+            Deque<Future<? extends B>> pending = new ArrayDeque<>();
+            pending.add(executor.submit(first));
+            Callable<? extends B> task = next;
+            while (!pending.isEmpty() || task != null) {
+                while (task != null && pending.size() < capacity) {
+                    pending.add(executor.submit(task));
+                    task = tasks.next();
+                }
+                consumer.accept(pending.removeFirst().get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new RuntimeException(cause);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Whether a file is compressed using gzip, that is, whether it starts with the magic number of
+     * gzip.
+     *
+     * @param file the file
+     * @return {@code true} if the file is compressed
+     * @throws IOException in case of an I/O error
+     */
+    public static boolean isCompressed(File file)
+        throws IOException
+    {
+        try (InputStream in = new FileInputStream(file)) {
+            int b1 = in.read();
+            int b2 = in.read();
+            return b1 == (GZIPInputStream.GZIP_MAGIC & 0xff)
+                && b2 == (GZIPInputStream.GZIP_MAGIC >> 8);
+        }
+    }
+
+    /**
+     * Read and parse chunk $i$, which contains the lines starting in the byte range
+     * $[iC, (i+1)C)$, where $C$ is the chunk size.
+     */
+    private <B> B readChunk(File file, long size, long i, ChunkParser<B> parser)
+        throws IOException
+    {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            return readChunk(channel, size, i, parser);
+        }
+    }
+
+    private <B> B readChunk(FileChannel file, long size, long i, ChunkParser<B> parser)
+        throws IOException
+    {
+        // include the byte before the range, to know whether a line starts at its beginning
+        long from = i == 0 ? 0 : i * chunkSize - 1;
+        long to = Math.min(size, (i + 1) * chunkSize - 1);
+        byte[] buf = new byte[(int) (to - from)];
+        int end = read(file, from, buf, 0, buf.length);
+
+        int start = 0;
+        if (i > 0) {
+            start = -1;
+            for (int k = 0; k < end; k++) {
+                if (buf[k] == LF) {
+                    start = k + 1;
+                    break;
+                }
+            }
+            if (start < 0) {
+                // the chunk contains no line break, so no line starts inside it
+                return parser.parse(buf, 0, 0);
+            }
+        }
+
+        // complete the last line, which ends at the first line break at or after the range
+        int stop;
+        for (int k = end;; k++) {
+            if (k == end) {
+                if (from + end == size) {
+                    stop = end;
+                    break;
+                }
+                if (end == buf.length) {
+                    buf = Arrays.copyOf(buf, buf.length + Math.max(buf.length / 8, 256));
+                }
+                end += read(file, from + end, buf, end, buf.length - end);
+            }
+            if (k < end && buf[k] == LF) {
+                stop = k + 1;
+                break;
+            }
+        }
+        return parser.parse(buf, start, stop);
+    }
+
+    private static int read(FileChannel file, long position, byte[] buf, int offset, int length)
+        throws IOException
+    {
+        ByteBuffer target = ByteBuffer.wrap(buf, offset, length);
+        while (target.hasRemaining()) {
+            if (file.read(target, position + target.position() - offset) < 0) {
+                break;
+            }
+        }
+        return target.position() - offset;
+    }
+
+    /**
+     * The tasks which parse the chunks of several files, in the order of the files. The chunks of
+     * an uncompressed file are read by the tasks. A compressed file is decompressed by the caller
+     * of {@link #next()}, and every task parses a chunk of decompressed lines.
+     */
+    private class Tasks<B>
+        implements
+        Closeable
+    {
+        private final Iterator<File> files;
+        private final ChunkParser<? extends B> parser;
+
+        // the current uncompressed file
+        private File file;
+        private long size;
+        private long chunks;
+        private long chunk;
+
+        // the current compressed file and the incomplete line which follows its last chunk
+        private InputStream in;
+        private byte[] buf;
+        private int start;
+        private int end;
+        private boolean first;
+
+        Tasks(List<File> files, ChunkParser<? extends B> parser)
+        {
+            this.files = files.iterator();
+            this.parser = parser;
+        }
+
+        /**
+         * Get the next task.
+         *
+         * @return the next task, or null if all chunks have been parsed
+         * @throws IOException in case of an I/O error
+         */
+        Callable<? extends B> next()
+            throws IOException
+        {
+            while (true) {
+                if (in != null) {
+                    Callable<? extends B> task = nextCompressed();
+                    if (task != null) {
+                        return task;
+                    }
+                    close();
+                } else if (file != null && chunk < chunks) {
+                    File f = file;
+                    long s = size;
+                    long k = chunk++;
+                    return () -> readChunk(f, s, k, parser);
+                }
+                if (!files.hasNext()) {
+                    file = null;
+                    return null;
+                }
+                file = files.next();
+                if (isCompressed(file)) {
+                    InputStream raw = new FileInputStream(file);
+                    try {
+                        in = new GZIPInputStream(raw, 1 << 16);
+                    } catch (IOException e) {
+                        raw.close();
+                        throw e;
+                    }
+                    buf = new byte[0];
+                    start = 0;
+                    end = 0;
+                    first = true;
+                    file = null;
+                } else {
+                    size = file.length();
+                    chunks = Math.max(1, (size + chunkSize - 1) / chunkSize);
+                    chunk = 0;
+                }
+            }
+        }
+
+        /**
+         * Decompress the lines of the next chunk, which starts with the incomplete line of the
+         * previous chunk, has at least the chunk size, unless the file ends before, and ends with a
+         * line break or at the end of the file.
+         */
+        private Callable<? extends B> nextCompressed()
+            throws IOException
+        {
+            int rest = end - start;
+            byte[] bytes = new byte[rest + chunkSize];
+            System.arraycopy(buf, start, bytes, 0, rest);
+            end = rest;
+            int stop = -1;
+            boolean eof = false;
+            while (stop < 0 && !eof) {
+                if (end == bytes.length) {
+                    // the chunk contains no line break yet
+                    bytes = Arrays.copyOf(bytes, bytes.length + Math.max(bytes.length / 8, 256));
+                }
+                int from = end;
+                while (end < bytes.length) {
+                    int read = in.read(bytes, end, bytes.length - end);
+                    if (read < 0) {
+                        eof = true;
+                        break;
+                    }
+                    end += read;
+                }
+                if (eof) {
+                    stop = end;
+                }
+                for (int k = end - 1; k >= from && stop < 0; k--) {
+                    if (bytes[k] == LF) {
+                        stop = k + 1;
+                    }
+                }
+            }
+            if (stop == 0 && !first) {
+                return null;
+            }
+            first = false;
+            buf = bytes;
+            start = stop;
+            byte[] chunkBytes = bytes;
+            int to = stop;
+            return () -> parser.parse(chunkBytes, 0, to);
+        }
+
+        @Override
+        public void close()
+            throws IOException
+        {
+            if (in != null) {
+                InputStream stream = in;
+                in = null;
+                buf = null;
+                stream.close();
+            }
+        }
+    }
+}
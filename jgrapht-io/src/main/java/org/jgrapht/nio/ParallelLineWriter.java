@@ -0,0 +1,279 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.nio;
+
+import java.io.*;
+import java.nio.charset.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.zip.*;
+
+/**
+ * Writer which encodes the lines of a line-oriented format in parallel.
+ *
+ * <p>
+ * The output consists of lines, each of which belongs to an item such as a vertex or an edge. The
+ * items are divided into blocks of consecutive items, which are encoded by worker threads into
+ * bytes using UTF-8. The blocks are written by the calling thread in order, either to a single
+ * output stream or to several files, each of which receives a contiguous range of items. The
+ * concatenation of the files is identical to the output of a single stream.
+ *
+ * <p>
+ * Optionally every block is compressed into a separate gzip member. Since a sequence of gzip
+ * members is itself a valid gzip file, the compressed blocks and files are also concatenable and
+ * can be read with {@link GZIPInputStream} or {@link ParallelLineReader}.
+ *
+ * <p>
+ * Only a bounded number of blocks is encoded ahead of the calling thread, which bounds the memory
+ * consumption independently of the size of the output. With a parallelism of one, the blocks are
+ * encoded by the calling thread.
+ *
+ * <p>
+ * For parallelization, this implementation relies on the {@link ExecutorService}.
+ */
+public class ParallelLineWriter
+{
+    /**
+     * Default number of items of a block.
+     */
+    public static final int DEFAULT_BLOCK_SIZE = 1 << 16;
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final int parallelism;
+    private final int blockSize;
+    private final boolean compressed;
+
+    /**
+     * An encoder of a range of items.
+     */
+    @FunctionalInterface
+    public interface RangeEncoder
+    {
+        /**
+         * Write the lines of a range of items. The encoder is called once for every non-empty
+         * block, and once with an empty range if there are no items at all. The lines of a
+         * range starting with the first item should be preceded by any header of the format.
+         *
+         * @param from the index of the first item
+         * @param to the index after the last item
+         * @param out the writer
+         * @throws IOException in case of an I/O error
+         */
+        void encode(int from, int to, Writer out)
+            throws IOException;
+    }
+
+    /**
+     * Create a new writer.
+     *
+     * @param parallelism the maximum number of threads used for encoding
+     * @param compressed whether to compress every block into a gzip member
+     */
+    public ParallelLineWriter(int parallelism, boolean compressed)
+    {
+        this(parallelism, DEFAULT_BLOCK_SIZE, compressed);
+    }
+
+    /**
+     * Create a new writer.
+     *
+     * @param parallelism the maximum number of threads used for encoding
+     * @param blockSize the number of items of a block
+     * @param compressed whether to compress every block into a gzip member
+     */
+    public ParallelLineWriter(int parallelism, int blockSize, boolean compressed)
+    {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("Block size must be positive");
+        }
+        this.parallelism = parallelism;
+        this.blockSize = blockSize;
+        this.compressed = compressed;
+    }
+
+    /**
+     * Write all items to an output stream. It is the callers responsibility to close the stream.
+     *
+     * @param items the number of items
+     * @param encoder the encoder of the items, which must be thread-safe
+     * @param out the output stream
+     * @throws ExportException in case of an I/O error
+     */
+    public void write(int items, RangeEncoder encoder, OutputStream out)
+    {
+        List<Block> blocks = new ArrayList<>();
+        addBlocks(blocks, 0, 0, items, items);
+        try {
+            write(blocks, encoder, file -> out);
+            out.flush();
+        } catch (IOException e) {
+            throw new ExportException(e);
+        }
+    }
+
+    /**
+     * Write the items to several files. The items are divided into as many contiguous ranges of
+     * almost equal size as there are files.
+     *
+     * @param items the number of items
+     * @param encoder the encoder of the items, which must be thread-safe
+     * @param files the files
+     * @throws ExportException in case of an I/O error
+     */
+    public void write(int items, RangeEncoder encoder, List<File> files)
+    {
+        if (files.isEmpty()) {
+            throw new IllegalArgumentException("At least one file is required");
+        }
+        int parts = files.size();
+        List<Block> blocks = new ArrayList<>();
+        for (int k = 0; k < parts; k++) {
+            int from = (int) ((long) items * k / parts);
+            int to = (int) ((long) items * (k + 1) / parts);
+            addBlocks(blocks, k, from, to, items);
+        }
+
+        OutputStream[] streams = new OutputStream[parts];
+        try {
+            write(blocks, encoder, file -> {
+                if (streams[file] == null) {
+                    // the blocks of the previous files have been written
+                    for (int k = 0; k < file; k++) {
+                        if (streams[k] != null) {
+                            streams[k].close();
+                        }
+                    }
+                    streams[file] = new FileOutputStream(files.get(file));
+                }
+                return streams[file];
+            });
+        } catch (IOException e) {
+            throw new ExportException(e);
+        } finally {
+            for (OutputStream stream : streams) {
+                if (stream != null) {
+                    try {
+                        stream.close();
+                    } catch (IOException e) {
+                        // ignore
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Divide a range of items into blocks. Every file has at least one block, so that a compressed
+     * file always contains a gzip member.
+     */
+    private void addBlocks(List<Block> blocks, int file, int from, int to, int items)
+    {
+        if (from == to) {
+            // without items, the first block contains only the header
+            blocks.add(new Block(file, from, to, items == 0 && blocks.isEmpty()));
+            return;
+        }
+        for (int start = from; start < to; start += Math.min(blockSize, to - start)) {
+            blocks.add(new Block(file, start, start + Math.min(blockSize, to - start), true));
+        }
+    }
+
+    private void write(List<Block> blocks, RangeEncoder encoder, StreamProvider streams)
+        throws IOException
+    {
+        if (parallelism == 1 || blocks.size() == 1) {
+            for (Block block : blocks) {
+                streams.get(block.file).write(encode(block, encoder));
+            }
+            return;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        try {
+            Deque<Future<byte[]>> pending = new ArrayDeque<>();
+            int submitted = 0;
+            for (Block block : blocks) {
+                while (submitted < blocks.size() && pending.size() < 2 * parallelism) {
+                    Block next = blocks.get(submitted++);
+                    pending.add(executor.submit(() -> encode(next, encoder)));
+                }
+                streams.get(block.file).write(pending.removeFirst().get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new RuntimeException(cause);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private byte[] encode(Block block, RangeEncoder encoder)
+        throws IOException
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        OutputStream out = compressed ? new GZIPOutputStream(bytes, BUFFER_SIZE) : bytes;
+        Writer writer = new BufferedWriter(
+            new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        if (block.encode) {
+            encoder.encode(block.from, block.to, writer);
+        }
+        writer.close();
+        return bytes.toByteArray();
+    }
+
+    /**
+     * The output stream of each file.
+     */
+    @FunctionalInterface
+    private interface StreamProvider
+    {
+        OutputStream get(int file)
+            throws IOException;
+    }
+
+    /**
+     * A range of items of a file.
+     */
+    private static class Block
+    {
+        final int file;
+        final int from;
+        final int to;
+        final boolean encode;
+
+        Block(int file, int from, int to, boolean encode)
+        {
+            this.file = file;
+            this.from = from;
+            this.to = to;
+            this.encode = encode;
+        }
+    }
+}
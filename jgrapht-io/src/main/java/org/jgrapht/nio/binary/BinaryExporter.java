@@ -0,0 +1,413 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.nio.binary;
+
+import org.jgrapht.*;
+import org.jgrapht.nio.*;
+import org.jgrapht.util.*;
+
+import java.io.*;
+import java.nio.channels.*;
+import java.nio.charset.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.function.*;
+
+/**
+ * Exports a graph into a compact binary format.
+ *
+ * <p>
+ * The format stores the graph in compressed sparse row (CSR) form, so that it can be loaded with
+ * a few bulk reads instead of parsing text. All values are little-endian and every section starts
+ * at a multiple of eight bytes. A file consists of the following sections:
+ * <ul>
+ * <li>a header with the magic bytes {@code JGRAPHTB}, the format version, flags describing whether
+ * the graph is directed, weighted and has vertex identifiers, the number of vertices $n$, the
+ * number of edges $m$ and the number of attribute blocks,</li>
+ * <li>optionally the vertex identifiers, as $n + 1$ long byte offsets followed by the UTF-8
+ * encoded identifiers,</li>
+ * <li>the $n + 1$ int offsets and the $m$ int targets of the edges grouped by source
+ * vertex,</li>
+ * <li>optionally the $m$ double weights of the edges,</li>
+ * <li>the attribute blocks, each holding one vertex or edge attribute for all vertices or edges.
+ * A block contains the scope, the attribute name and type, a presence bitmap and the values,
+ * stored as arrays of primitives for boolean and numeric attributes and as offsets followed by
+ * UTF-8 encoded text otherwise.</li>
+ * </ul>
+ *
+ * <p>
+ * Vertices are numbered in the iteration order of the vertex set. Every edge is stored once under
+ * its source vertex, which for undirected graphs is the vertex returned by
+ * {@link Graph#getEdgeSource(Object)}. Attribute values whose type differs from the other values
+ * of the same attribute are stored as strings.
+ *
+ * <p>
+ * Since the format is binary, the graph can only be exported to an {@link OutputStream} or a
+ * {@link File}. Use {@link BinaryImporter} to read it back.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ */
+public class BinaryExporter<V, E>
+    extends
+    BaseExporter<V, E>
+    implements
+    GraphExporter<V, E>
+{
+    private final Set<Parameter> parameters;
+
+    /**
+     * Parameters that affect the behavior of the {@link BinaryExporter} exporter.
+     */
+    public enum Parameter
+    {
+        /**
+         * If set the exporter outputs the vertex identifiers
+         */
+        EXPORT_VERTEX_IDS,
+
+        /**
+         * If set the exporter outputs edge weights
+         */
+        EXPORT_EDGE_WEIGHTS,
+    }
+
+    /**
+     * Constructs a new exporter.
+     */
+    public BinaryExporter()
+    {
+        this(new IntegerIdProvider<>());
+    }
+
+    /**
+     * Constructs a new exporter with a given vertex ID provider.
+     *
+     * @param vertexIdProvider for generating vertex IDs. Must not be null.
+     */
+    public BinaryExporter(Function<V, String> vertexIdProvider)
+    {
+        super(vertexIdProvider);
+        this.parameters = new HashSet<>();
+    }
+
+    /**
+     * Not supported, since the format is binary.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void exportGraph(Graph<V, E> g, Writer writer)
+    {
+        throw new UnsupportedOperationException("Binary format cannot be written to a Writer");
+    }
+
+    @Override
+    public void exportGraph(Graph<V, E> g, OutputStream out)
+    {
+        try {
+            export(g, Channels.newChannel(out));
+        } catch (IOException e) {
+            throw new ExportException(e);
+        }
+    }
+
+    @Override
+    public void exportGraph(Graph<V, E> g, File file)
+    {
+        try (FileChannel channel = FileChannel.open(
+            file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING))
+        {
+            export(g, channel);
+        } catch (IOException e) {
+            throw new ExportException(e);
+        }
+    }
+
+    /**
+     * Return if a particular parameter of the exporter is enabled
+     *
+     * @param p the parameter
+     * @return {@code true} if the parameter is set, {@code false} otherwise
+     */
+    public boolean isParameter(Parameter p)
+    {
+        return parameters.contains(p);
+    }
+
+    /**
+     * Set the value of a parameter of the exporter
+     *
+     * @param p the parameter
+     * @param value the value to set
+     */
+    public void setParameter(Parameter p, boolean value)
+    {
+        if (value) {
+            parameters.add(p);
+        } else {
+            parameters.remove(p);
+        }
+    }
+
+    private void export(Graph<V, E> g, WritableByteChannel channel)
+        throws IOException
+    {
+        VertexToIntegerMapping<V> mapping = new VertexToIntegerMapping<>(g.vertexSet());
+        Map<V, Integer> vertexMap = mapping.getVertexMap();
+        List<V> vertices = mapping.getIndexList();
+        int n = vertices.size();
+        int m = g.edgeSet().size();
+
+        // group the edges by source with a stable counting sort
+        int[] offsets = new int[n + 1];
+        int[] sources = new int[m];
+        int i = 0;
+        for (E e : g.edgeSet()) {
+            int s = vertexMap.get(g.getEdgeSource(e));
+            sources[i++] = s;
+            offsets[s + 1]++;
+        }
+        for (int v = 0; v < n; v++) {
+            offsets[v + 1] += offsets[v];
+        }
+        int[] position = Arrays.copyOf(offsets, n);
+        int[] targets = new int[m];
+        List<E> edges = new ArrayList<>(Collections.nCopies(m, null));
+        i = 0;
+        for (E e : g.edgeSet()) {
+            int k = position[sources[i++]]++;
+            targets[k] = vertexMap.get(g.getEdgeTarget(e));
+            edges.set(k, e);
+        }
+
+        List<Column> columns = new ArrayList<>();
+        collectColumns(BinaryFormat.VERTEX_SCOPE, vertices, this::getVertexAttributes, columns);
+        collectColumns(BinaryFormat.EDGE_SCOPE, edges, this::getEdgeAttributes, columns);
+
+        BinaryFormat.Header header = new BinaryFormat.Header();
+        boolean exportVertexIds = parameters.contains(Parameter.EXPORT_VERTEX_IDS);
+        boolean exportEdgeWeights = parameters.contains(Parameter.EXPORT_EDGE_WEIGHTS);
+        header.flags = (g.getType().isDirected() ? BinaryFormat.DIRECTED : 0)
+            | (exportEdgeWeights ? BinaryFormat.WEIGHTED : 0)
+            | (exportVertexIds ? BinaryFormat.VERTEX_IDS : 0);
+        header.vertexCount = n;
+        header.edgeCount = m;
+        header.attributeBlockCount = columns.size();
+
+        BinaryOutput out = new BinaryOutput(channel);
+        header.write(out);
+        if (exportVertexIds) {
+            List<String> ids = new ArrayList<>(n);
+            for (V v : vertices) {
+                ids.add(getVertexId(v));
+            }
+            writeStrings(out, ids);
+        }
+        out.writeInts(offsets, 0, n + 1);
+        out.align();
+        out.writeInts(targets, 0, m);
+        out.align();
+        if (exportEdgeWeights) {
+            double[] weights = new double[m];
+            for (int k = 0; k < m; k++) {
+                weights[k] = g.getEdgeWeight(edges.get(k));
+            }
+            out.writeDoubles(weights, 0, m);
+        }
+        for (Column column : columns) {
+            column.write(out);
+        }
+        out.flush();
+    }
+
+    /**
+     * Transpose the attributes of the given elements into one column per attribute.
+     */
+    private <T> void collectColumns(
+        int scope, List<T> elements, Function<T, Optional<Map<String, Attribute>>> provider,
+        List<Column> columns)
+    {
+        Map<String, Column> byName = new LinkedHashMap<>();
+        for (int i = 0; i < elements.size(); i++) {
+            Optional<Map<String, Attribute>> attributes = provider.apply(elements.get(i));
+            if (!attributes.isPresent()) {
+                continue;
+            }
+            for (Map.Entry<String, Attribute> entry : attributes.get().entrySet()) {
+                if (entry.getValue() == null) {
+                    continue;
+                }
+                byName
+                    .computeIfAbsent(
+                        entry.getKey(), k -> new Column(scope, k, new Attribute[elements.size()]))
+                    .values[i] = entry.getValue();
+            }
+        }
+        columns.addAll(byName.values());
+    }
+
+    /**
+     * Write a list of strings as offsets followed by their UTF-8 encoding.
+     */
+    private static void writeStrings(BinaryOutput out, List<String> values)
+        throws IOException
+    {
+        byte[][] bytes = new byte[values.size()][];
+        long[] offsets = new long[values.size() + 1];
+        for (int i = 0; i < bytes.length; i++) {
+            String value = values.get(i);
+            bytes[i] = value == null ? new byte[0] : value.getBytes(StandardCharsets.UTF_8);
+            offsets[i + 1] = offsets[i] + bytes[i].length;
+        }
+        out.writeLongs(offsets, 0, offsets.length);
+        for (byte[] b : bytes) {
+            out.writeBytes(b, 0, b.length);
+        }
+        out.align();
+    }
+
+    /**
+     * The values of an attribute for all vertices or all edges.
+     */
+    private static class Column
+    {
+        final int scope;
+        final String name;
+        final Attribute[] values;
+
+        Column(int scope, String name, Attribute[] values)
+        {
+            this.scope = scope;
+            this.name = name;
+            this.values = values;
+        }
+
+        void write(BinaryOutput out)
+            throws IOException
+        {
+            int count = values.length;
+            AttributeType type = null;
+            long[] present = new long[(count + 63) / 64];
+            for (int i = 0; i < count; i++) {
+                if (values[i] == null) {
+                    continue;
+                }
+                present[i >>> 6] |= 1L << i;
+                if (type == null) {
+                    type = values[i].getType();
+                } else if (type != values[i].getType()) {
+                    type = AttributeType.STRING;
+                }
+            }
+            if (type == null) {
+                type = AttributeType.STRING;
+            }
+
+            // fall back to strings if a value cannot be parsed according to its type
+            Object array;
+            try {
+                array = toArray(type);
+            } catch (NumberFormatException e) {
+                type = AttributeType.STRING;
+                array = null;
+            }
+
+            out.writeInt(scope);
+            out.align();
+            out.writeString(name);
+            out.writeString(type.toString());
+            out.writeLongs(present, 0, present.length);
+            switch (type) {
+            case BOOLEAN:
+                out.writeBytes((byte[]) array, 0, count);
+                break;
+            case INT:
+                out.writeInts((int[]) array, 0, count);
+                break;
+            case LONG:
+                out.writeLongs((long[]) array, 0, count);
+                break;
+            case FLOAT:
+                out.writeFloats((float[]) array, 0, count);
+                break;
+            case DOUBLE:
+                out.writeDoubles((double[]) array, 0, count);
+                break;
+            default:
+                List<String> strings = new ArrayList<>(count);
+                for (Attribute a : values) {
+                    strings.add(a == null ? null : a.getValue());
+                }
+                writeStrings(out, strings);
+                break;
+            }
+            out.align();
+        }
+
+        private Object toArray(AttributeType type)
+        {
+            int count = values.length;
+            switch (type) {
+            case BOOLEAN:
+                byte[] booleans = new byte[count];
+                for (int i = 0; i < count; i++) {
+                    if (values[i] != null) {
+                        booleans[i] = Boolean.parseBoolean(values[i].getValue()) ? (byte) 1 : 0;
+                    }
+                }
+                return booleans;
+            case INT:
+                int[] ints = new int[count];
+                for (int i = 0; i < count; i++) {
+                    if (values[i] != null) {
+                        ints[i] = Integer.parseInt(values[i].getValue());
+                    }
+                }
+                return ints;
+            case LONG:
+                long[] longs = new long[count];
+                for (int i = 0; i < count; i++) {
+                    if (values[i] != null) {
+                        longs[i] = Long.parseLong(values[i].getValue());
+                    }
+                }
+                return longs;
+            case FLOAT:
+                float[] floats = new float[count];
+                for (int i = 0; i < count; i++) {
+                    if (values[i] != null) {
+                        floats[i] = Float.parseFloat(values[i].getValue());
+                    }
+                }
+                return floats;
+            case DOUBLE:
+                double[] doubles = new double[count];
+                for (int i = 0; i < count; i++) {
+                    if (values[i] != null) {
+                        doubles[i] = Double.parseDouble(values[i].getValue());
+                    }
+                }
+                return doubles;
+            default:
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.nio.binary;
+
+import org.jgrapht.nio.*;
+
+import java.io.*;
+import java.nio.charset.*;
+import java.util.*;
+
+/**
+ * Constants and the header of the binary graph format. See {@link BinaryExporter} for a
+ * description of the format.
+ */
+class BinaryFormat
+{
+    static final byte[] MAGIC = "JGRAPHTB".getBytes(StandardCharsets.US_ASCII);
+    static final int VERSION = 1;
+    static final int ALIGNMENT = 8;
+
+    static final int DIRECTED = 1;
+    static final int WEIGHTED = 2;
+    static final int VERTEX_IDS = 4;
+
+    static final int VERTEX_SCOPE = 0;
+    static final int EDGE_SCOPE = 1;
+
+    private BinaryFormat()
+    {
+    }
+
+    /**
+     * The header of a file.
+     */
+    static class Header
+    {
+        int flags;
+        int vertexCount;
+        int edgeCount;
+        int attributeBlockCount;
+
+        boolean isDirected()
+        {
+            return (flags & DIRECTED) != 0;
+        }
+
+        boolean isWeighted()
+        {
+            return (flags & WEIGHTED) != 0;
+        }
+
+        boolean hasVertexIds()
+        {
+            return (flags & VERTEX_IDS) != 0;
+        }
+
+        void write(BinaryOutput out)
+            throws IOException
+        {
+            out.writeBytes(MAGIC, 0, MAGIC.length);
+            out.writeInt(VERSION);
+            out.writeInt(flags);
+            out.writeLong(vertexCount);
+            out.writeLong(edgeCount);
+            out.writeInt(attributeBlockCount);
+            out.writeInt(0);
+        }
+
+        static Header read(BinaryInput in)
+            throws IOException
+        {
+            byte[] magic = new byte[MAGIC.length];
+            in.readBytes(magic, 0, magic.length);
+            if (!Arrays.equals(magic, MAGIC)) {
+                throw new ImportException("Not a binary graph file");
+            }
+            int version = in.readInt();
+            if (version != VERSION) {
+                throw new ImportException("Unsupported binary graph format version: " + version);
+            }
+            Header header = new Header();
+            header.flags = in.readInt();
+            header.vertexCount = readCount(in.readLong());
+            header.edgeCount = readCount(in.readLong());
+            header.attributeBlockCount = in.readInt();
+            in.readInt();
+            return header;
+        }
+
+        private static int readCount(long count)
+        {
+            if (count < 0 || count > Integer.MAX_VALUE - ALIGNMENT) {
+                throw new ImportException("Unsupported number of elements: " + count);
+            }
+            return (int) count;
+        }
+    }
+}
@@ -0,0 +1,442 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.nio.binary;
+
+import org.jgrapht.*;
+import org.jgrapht.nio.*;
+import org.jgrapht.opt.graph.sparse.*;
+
+import java.io.*;
+import java.nio.channels.*;
+import java.nio.charset.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.function.*;
+
+/**
+ * Imports a graph from the binary format written by {@link BinaryExporter}.
+ *
+ * <p>
+ * When importing from a {@link File}, the file is memory-mapped and the arrays of the format are
+ * copied in bulk from the mapped memory, which is much faster than parsing a text format. The
+ * fastest way to load a graph is {@link #importSparseGraph(File)}, which builds one of the sparse
+ * graph representations of the jgrapht-opt module directly from the arrays of the file, without
+ * creating any objects per vertex or edge.
+ *
+ * <p>
+ * The graph vertices and edges are build using the corresponding graph suppliers. The id of the
+ * vertices in the file are reported as a vertex attribute named "ID". If the file contains no
+ * vertex identifiers, the index of each vertex is used instead. Vertex and edge attributes are
+ * reported after all vertices and edges have been imported.
+ *
+ * <p>
+ * The default behavior of the importer is to use the graph vertex supplier in order to create
+ * vertices. The user can also bypass vertex creation by providing a custom vertex factory method
+ * using {@link #setVertexFactory(Function)}. The factory method is responsible to create a new
+ * graph vertex given the vertex identifier read from file.
+ *
+ * @param <V> the vertex type
+ * @param <E> the edge type
+ */
+public class BinaryImporter<V, E>
+    extends
+    BaseEventDrivenImporter<V, E>
+    implements
+    GraphImporter<V, E>
+{
+    /**
+     * Default key used for vertex ID.
+     */
+    public static final String DEFAULT_VERTEX_ID_KEY = "ID";
+
+    private Function<String, V> vertexFactory;
+
+    /**
+     * Construct a new importer
+     */
+    public BinaryImporter()
+    {
+        super();
+    }
+
+    /**
+     * Not supported, since the format is binary.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void importGraph(Graph<V, E> graph, Reader input)
+    {
+        throw new UnsupportedOperationException("Binary format cannot be read from a Reader");
+    }
+
+    /**
+     * Import a graph.
+     *
+     * <p>
+     * The provided graph must be able to support the features of the graph that is read. For
+     * example if the file contains self-loops then the graph provided must also support self-loops.
+     * The same for multiple edges.
+     *
+     * <p>
+     * If the provided graph is a weighted graph, the importer also reads edge weights. Otherwise
+     * edge weights are ignored.
+     *
+     * @param graph the output graph
+     * @param in the input stream
+     * @throws ImportException in case an error occurs, such as I/O or parse error
+     */
+    @Override
+    public void importGraph(Graph<V, E> graph, InputStream in)
+    {
+        try {
+            read(graph, BinaryInput.read(Channels.newChannel(in)));
+        } catch (IOException e) {
+            throw new ImportException(e);
+        }
+    }
+
+    /**
+     * Import a graph from a memory-mapped file.
+     *
+     * <p>
+     * The provided graph must be able to support the features of the graph that is read. For
+     * example if the file contains self-loops then the graph provided must also support self-loops.
+     * The same for multiple edges.
+     *
+     * <p>
+     * If the provided graph is a weighted graph, the importer also reads edge weights. Otherwise
+     * edge weights are ignored.
+     *
+     * @param graph the output graph
+     * @param file the file to read from
+     * @throws ImportException in case an error occurs, such as I/O or parse error
+     */
+    @Override
+    public void importGraph(Graph<V, E> graph, File file)
+    {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            read(graph, BinaryInput.map(channel));
+        } catch (IOException e) {
+            throw new ImportException(e);
+        }
+    }
+
+    /**
+     * Get the user custom vertex factory. This is null by default and the graph supplier is used
+     * instead.
+     *
+     * @return the user custom vertex factory
+     */
+    public Function<String, V> getVertexFactory()
+    {
+        return vertexFactory;
+    }
+
+    /**
+     * Set the user custom vertex factory. The default behavior is being null in which case the
+     * graph vertex supplier is used.
+     *
+     * If supplied the vertex factory is called for every vertex of the file. The method is called
+     * with parameter the vertex identifier from the file and should return the actual graph vertex
+     * to add to the graph.
+     *
+     * @param vertexFactory a vertex factory
+     */
+    public void setVertexFactory(Function<String, V> vertexFactory)
+    {
+        this.vertexFactory = vertexFactory;
+    }
+
+    /**
+     * Load a file as an immutable sparse graph. Vertex $i$ of the returned graph is the $i$-th
+     * vertex of the file and the edges are numbered in the order they are stored in the file,
+     * that is grouped by source vertex. The returned graph is directed if the exported graph was
+     * directed and weighted if the file contains edge weights. Vertex identifiers and attributes
+     * are ignored.
+     *
+     * @param file the file to read from
+     * @return the graph
+     * @throws ImportException in case an error occurs, such as I/O or parse error
+     */
+    public static Graph<Integer, Integer> importSparseGraph(File file)
+    {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            return readSparseGraph(BinaryInput.map(channel));
+        } catch (IOException e) {
+            throw new ImportException(e);
+        }
+    }
+
+    /**
+     * Load an input stream as an immutable sparse graph. See {@link #importSparseGraph(File)}.
+     *
+     * @param in the input stream
+     * @return the graph
+     * @throws ImportException in case an error occurs, such as I/O or parse error
+     */
+    public static Graph<Integer, Integer> importSparseGraph(InputStream in)
+    {
+        try {
+            return readSparseGraph(BinaryInput.read(Channels.newChannel(in)));
+        } catch (IOException e) {
+            throw new ImportException(e);
+        }
+    }
+
+    private static Graph<Integer, Integer> readSparseGraph(BinaryInput in)
+        throws IOException
+    {
+        BinaryFormat.Header header = BinaryFormat.Header.read(in);
+        int n = header.vertexCount;
+        int m = header.edgeCount;
+        if (header.hasVertexIds()) {
+            in.skip(8L * n);
+            in.skip(in.readLong());
+            in.align();
+        }
+        int[] offsets = readOffsets(in, n, m);
+        int[] targets = new int[m];
+        in.readInts(targets, 0, m);
+        in.align();
+        int[] sources = new int[m];
+        for (int v = 0; v < n; v++) {
+            Arrays.fill(sources, offsets[v], offsets[v + 1], v);
+        }
+        checkTargets(targets, n);
+
+        if (header.isWeighted()) {
+            double[] weights = new double[m];
+            in.readDoubles(weights, 0, m);
+            return header.isDirected()
+                ? new SparseIntDirectedWeightedGraph(n, sources, targets, weights)
+                : new SparseIntUndirectedWeightedGraph(n, sources, targets, weights);
+        }
+        return header.isDirected() ? new SparseIntDirectedGraph(n, sources, targets)
+            : new SparseIntUndirectedGraph(n, sources, targets);
+    }
+
+    private void read(Graph<V, E> graph, BinaryInput in)
+        throws IOException
+    {
+        BinaryFormat.Header header = BinaryFormat.Header.read(in);
+        int n = header.vertexCount;
+        int m = header.edgeCount;
+        notifyVertexCount(n);
+        notifyEdgeCount(m);
+
+        String[] ids = header.hasVertexIds() ? readStrings(in, n) : null;
+        List<V> vertices = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            String id = ids != null ? ids[i] : String.valueOf(i);
+            V v;
+            if (vertexFactory != null) {
+                v = vertexFactory.apply(id);
+                graph.addVertex(v);
+            } else {
+                v = graph.addVertex();
+            }
+            vertices.add(v);
+            notifyVertex(v);
+            notifyVertexAttribute(v, DEFAULT_VERTEX_ID_KEY, DefaultAttribute.createAttribute(id));
+        }
+
+        int[] offsets = readOffsets(in, n, m);
+        int[] targets = new int[m];
+        in.readInts(targets, 0, m);
+        in.align();
+        checkTargets(targets, n);
+        double[] weights = null;
+        if (header.isWeighted()) {
+            weights = new double[m];
+            in.readDoubles(weights, 0, m);
+        }
+
+        boolean weighted = weights != null && graph.getType().isWeighted();
+        List<E> edges = new ArrayList<>(m);
+        for (int s = 0; s < n; s++) {
+            V source = vertices.get(s);
+            for (int k = offsets[s]; k < offsets[s + 1]; k++) {
+                E e = graph.addEdge(source, vertices.get(targets[k]));
+                edges.add(e);
+                if (e == null) {
+                    continue;
+                }
+                if (weighted) {
+                    graph.setEdgeWeight(e, weights[k]);
+                }
+                notifyEdge(e);
+            }
+        }
+
+        for (int b = 0; b < header.attributeBlockCount; b++) {
+            int scope = in.readInt();
+            in.align();
+            String name = in.readString();
+            AttributeType type = AttributeType.create(in.readString());
+            if (scope == BinaryFormat.VERTEX_SCOPE) {
+                Attribute[] values = readColumn(in, type, n);
+                for (int i = 0; i < n; i++) {
+                    if (values[i] != null) {
+                        notifyVertexAttribute(vertices.get(i), name, values[i]);
+                    }
+                }
+            } else if (scope == BinaryFormat.EDGE_SCOPE) {
+                Attribute[] values = readColumn(in, type, m);
+                for (int k = 0; k < m; k++) {
+                    if (values[k] != null && edges.get(k) != null) {
+                        notifyEdgeAttribute(edges.get(k), name, values[k]);
+                    }
+                }
+            } else {
+                throw new ImportException("Invalid attribute scope: " + scope);
+            }
+        }
+    }
+
+    private static int[] readOffsets(BinaryInput in, int n, int m)
+        throws IOException
+    {
+        int[] offsets = new int[n + 1];
+        in.readInts(offsets, 0, n + 1);
+        in.align();
+        if (offsets[0] != 0 || offsets[n] != m) {
+            throw new ImportException("Invalid edge offsets");
+        }
+        for (int v = 0; v < n; v++) {
+            if (offsets[v] > offsets[v + 1]) {
+                throw new ImportException("Invalid edge offsets");
+            }
+        }
+        return offsets;
+    }
+
+    private static void checkTargets(int[] targets, int n)
+    {
+        for (int t : targets) {
+            if (t < 0 || t >= n) {
+                throw new ImportException("Invalid vertex: " + t);
+            }
+        }
+    }
+
+    /**
+     * Read a list of strings written as offsets followed by their UTF-8 encoding.
+     */
+    private static String[] readStrings(BinaryInput in, int count)
+        throws IOException
+    {
+        long[] offsets = new long[count + 1];
+        in.readLongs(offsets, 0, count + 1);
+        long size = offsets[count];
+        if (size < 0 || size > Integer.MAX_VALUE) {
+            throw new ImportException("Invalid string block size: " + size);
+        }
+        byte[] bytes = new byte[(int) size];
+        in.readBytes(bytes, 0, bytes.length);
+        in.align();
+        String[] values = new String[count];
+        for (int i = 0; i < count; i++) {
+            int from = (int) offsets[i];
+            int to = (int) offsets[i + 1];
+            if (from < 0 || from > to || to > bytes.length) {
+                throw new ImportException("Invalid string offsets");
+            }
+            values[i] = new String(bytes, from, to - from, StandardCharsets.UTF_8);
+        }
+        return values;
+    }
+
+    private static Attribute[] readColumn(BinaryInput in, AttributeType type, int count)
+        throws IOException
+    {
+        long[] present = new long[(count + 63) / 64];
+        in.readLongs(present, 0, present.length);
+        Attribute[] values = new Attribute[count];
+        switch (type) {
+        case BOOLEAN:
+            byte[] booleans = new byte[count];
+            in.readBytes(booleans, 0, count);
+            for (int i = 0; i < count; i++) {
+                if (isPresent(present, i)) {
+                    values[i] = DefaultAttribute.createAttribute(booleans[i] != 0);
+                }
+            }
+            break;
+        case INT:
+            int[] ints = new int[count];
+            in.readInts(ints, 0, count);
+            for (int i = 0; i < count; i++) {
+                if (isPresent(present, i)) {
+                    values[i] = DefaultAttribute.createAttribute(ints[i]);
+                }
+            }
+            break;
+        case LONG:
+            long[] longs = new long[count];
+            in.readLongs(longs, 0, count);
+            for (int i = 0; i < count; i++) {
+                if (isPresent(present, i)) {
+                    values[i] = DefaultAttribute.createAttribute(longs[i]);
+                }
+            }
+            break;
+        case FLOAT:
+            float[] floats = new float[count];
+            in.readFloats(floats, 0, count);
+            for (int i = 0; i < count; i++) {
+                if (isPresent(present, i)) {
+                    values[i] = DefaultAttribute.createAttribute(floats[i]);
+                }
+            }
+            break;
+        case DOUBLE:
+            double[] doubles = new double[count];
+            in.readDoubles(doubles, 0, count);
+            for (int i = 0; i < count; i++) {
+                if (isPresent(present, i)) {
+                    values[i] = DefaultAttribute.createAttribute(doubles[i]);
+                }
+            }
+            break;
+        case NULL:
+            readStrings(in, count);
+            for (int i = 0; i < count; i++) {
+                if (isPresent(present, i)) {
+                    values[i] = DefaultAttribute.NULL;
+                }
+            }
+            break;
+        default:
+            String[] strings = readStrings(in, count);
+            for (int i = 0; i < count; i++) {
+                if (isPresent(present, i)) {
+                    values[i] = new DefaultAttribute<>(strings[i], type);
+                }
+            }
+            break;
+        }
+        in.align();
+        return values;
+    }
+
+    private static boolean isPresent(long[] present, int i)
+    {
+        return (present[i >>> 6] & (1L << i)) != 0;
+    }
+}
@@ -0,0 +1,238 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.nio.binary;
+
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.nio.charset.*;
+
+/**
+ * Reader of little-endian primitive values. The input is either a file which is memory-mapped
+ * window by window, or a channel which is read through a buffer.
+ */
+class BinaryInput
+{
+    private static final int BUFFER_SIZE = 1 << 20;
+    private static final long WINDOW_SIZE = 1L << 30;
+
+    private final FileChannel file;
+    private final ReadableByteChannel channel;
+    private ByteBuffer buffer;
+    /* position in the input of the beginning of the buffer */
+    private long offset;
+
+    private BinaryInput(FileChannel file, ReadableByteChannel channel)
+    {
+        this.file = file;
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocate(0);
+    }
+
+    /**
+     * Create an input which memory-maps a file.
+     */
+    static BinaryInput map(FileChannel file)
+    {
+        return new BinaryInput(file, null);
+    }
+
+    /**
+     * Create an input which reads from a channel.
+     */
+    static BinaryInput read(ReadableByteChannel channel)
+    {
+        BinaryInput input = new BinaryInput(null, channel);
+        input.buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        input.buffer.flip();
+        return input;
+    }
+
+    /**
+     * Get the number of bytes read so far.
+     */
+    long position()
+    {
+        return offset + buffer.position();
+    }
+
+    byte readByte()
+        throws IOException
+    {
+        require(1);
+        return buffer.get();
+    }
+
+    int readInt()
+        throws IOException
+    {
+        require(4);
+        return buffer.getInt();
+    }
+
+    long readLong()
+        throws IOException
+    {
+        require(8);
+        return buffer.getLong();
+    }
+
+    void readBytes(byte[] values, int offset, int length)
+        throws IOException
+    {
+        while (length > 0) {
+            require(1);
+            int k = Math.min(length, buffer.remaining());
+            buffer.get(values, offset, k);
+            offset += k;
+            length -= k;
+        }
+    }
+
+    void readInts(int[] values, int offset, int length)
+        throws IOException
+    {
+        while (length > 0) {
+            require(4);
+            int k = Math.min(length, buffer.remaining() / 4);
+            buffer.asIntBuffer().get(values, offset, k);
+            buffer.position(buffer.position() + 4 * k);
+            offset += k;
+            length -= k;
+        }
+    }
+
+    void readLongs(long[] values, int offset, int length)
+        throws IOException
+    {
+        while (length > 0) {
+            require(8);
+            int k = Math.min(length, buffer.remaining() / 8);
+            buffer.asLongBuffer().get(values, offset, k);
+            buffer.position(buffer.position() + 8 * k);
+            offset += k;
+            length -= k;
+        }
+    }
+
+    void readFloats(float[] values, int offset, int length)
+        throws IOException
+    {
+        while (length > 0) {
+            require(4);
+            int k = Math.min(length, buffer.remaining() / 4);
+            buffer.asFloatBuffer().get(values, offset, k);
+            buffer.position(buffer.position() + 4 * k);
+            offset += k;
+            length -= k;
+        }
+    }
+
+    void readDoubles(double[] values, int offset, int length)
+        throws IOException
+    {
+        while (length > 0) {
+            require(8);
+            int k = Math.min(length, buffer.remaining() / 8);
+            buffer.asDoubleBuffer().get(values, offset, k);
+            buffer.position(buffer.position() + 8 * k);
+            offset += k;
+            length -= k;
+        }
+    }
+
+    /**
+     * Read a string written by {@link BinaryOutput#writeString(String)}.
+     */
+    String readString()
+        throws IOException
+    {
+        int length = readInt();
+        if (length < 0) {
+            throw new IOException("Invalid string length: " + length);
+        }
+        byte[] bytes = new byte[length];
+        readBytes(bytes, 0, length);
+        align();
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Skip the padding up to the next multiple of eight bytes.
+     */
+    void align()
+        throws IOException
+    {
+        long remainder = position() % BinaryFormat.ALIGNMENT;
+        if (remainder != 0) {
+            skip(BinaryFormat.ALIGNMENT - remainder);
+        }
+    }
+
+    /**
+     * Skip a number of bytes.
+     */
+    void skip(long bytes)
+        throws IOException
+    {
+        if (bytes <= buffer.remaining()) {
+            buffer.position(buffer.position() + (int) bytes);
+        } else if (file != null) {
+            // the next window is mapped on demand
+            offset = position() + bytes;
+            buffer = ByteBuffer.allocate(0);
+        } else {
+            while (bytes > 0) {
+                require(1);
+                int k = (int) Math.min(bytes, buffer.remaining());
+                buffer.position(buffer.position() + k);
+                bytes -= k;
+            }
+        }
+    }
+
+    /**
+     * Ensure that at least the given number of bytes can be read from the buffer.
+     */
+    private void require(int bytes)
+        throws IOException
+    {
+        if (buffer.remaining() >= bytes) {
+            return;
+        }
+        if (file != null) {
+            long start = position();
+            long length = Math.min(WINDOW_SIZE, file.size() - start);
+            if (length < bytes) {
+                throw new EOFException();
+            }
+            buffer = file
+                .map(FileChannel.MapMode.READ_ONLY, start, length).order(ByteOrder.LITTLE_ENDIAN);
+            offset = start;
+        } else {
+            offset += buffer.position();
+            buffer.compact();
+            while (buffer.position() < bytes) {
+                if (channel.read(buffer) < 0) {
+                    throw new EOFException();
+                }
+            }
+            buffer.flip();
+        }
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.nio.binary;
+
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.nio.charset.*;
+
+/**
+ * Buffered writer of little-endian primitive values to a channel.
+ */
+class BinaryOutput
+{
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private final WritableByteChannel channel;
+    private final ByteBuffer buffer;
+    /* number of bytes written to the channel */
+    private long written;
+
+    BinaryOutput(WritableByteChannel channel)
+    {
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Get the number of bytes written so far.
+     */
+    long position()
+    {
+        return written + buffer.position();
+    }
+
+    void writeByte(byte value)
+        throws IOException
+    {
+        require(1);
+        buffer.put(value);
+    }
+
+    void writeInt(int value)
+        throws IOException
+    {
+        require(4);
+        buffer.putInt(value);
+    }
+
+    void writeLong(long value)
+        throws IOException
+    {
+        require(8);
+        buffer.putLong(value);
+    }
+
+    void writeBytes(byte[] values, int offset, int length)
+        throws IOException
+    {
+        while (length > 0) {
+            require(1);
+            int k = Math.min(length, buffer.remaining());
+            buffer.put(values, offset, k);
+            offset += k;
+            length -= k;
+        }
+    }
+
+    void writeInts(int[] values, int offset, int length)
+        throws IOException
+    {
+        while (length > 0) {
+            require(4);
+            int k = Math.min(length, buffer.remaining() / 4);
+            buffer.asIntBuffer().put(values, offset, k);
+            buffer.position(buffer.position() + 4 * k);
+            offset += k;
+            length -= k;
+        }
+    }
+
+    void writeLongs(long[] values, int offset, int length)
+        throws IOException
+    {
+        while (length > 0) {
+            require(8);
+            int k = Math.min(length, buffer.remaining() / 8);
+            buffer.asLongBuffer().put(values, offset, k);
+            buffer.position(buffer.position() + 8 * k);
+            offset += k;
+            length -= k;
+        }
+    }
+
+    void writeFloats(float[] values, int offset, int length)
+        throws IOException
+    {
+        while (length > 0) {
+            require(4);
+            int k = Math.min(length, buffer.remaining() / 4);
+            buffer.asFloatBuffer().put(values, offset, k);
+            buffer.position(buffer.position() + 4 * k);
+            offset += k;
+            length -= k;
+        }
+    }
+
+    void writeDoubles(double[] values, int offset, int length)
+        throws IOException
+    {
+        while (length > 0) {
+            require(8);
+            int k = Math.min(length, buffer.remaining() / 8);
+            buffer.asDoubleBuffer().put(values, offset, k);
+            buffer.position(buffer.position() + 8 * k);
+            offset += k;
+            length -= k;
+        }
+    }
+
+    /**
+     * Write a string as its length in bytes followed by its UTF-8 encoding, padded to a multiple
+     * of eight bytes.
+     */
+    void writeString(String value)
+        throws IOException
+    {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeInt(bytes.length);
+        writeBytes(bytes, 0, bytes.length);
+        align();
+    }
+
+    /**
+     * Pad the output with zeros until its length is a multiple of eight bytes.
+     */
+    void align()
+        throws IOException
+    {
+        while (position() % BinaryFormat.ALIGNMENT != 0) {
+            writeByte((byte) 0);
+        }
+    }
+
+    void flush()
+        throws IOException
+    {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            written += channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private void require(int bytes)
+        throws IOException
+    {
+        if (buffer.remaining() < bytes) {
+            flush();
+        }
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.nio.binary;
+
+import org.jgrapht.nio.*;
+
+import java.io.*;
+import java.nio.*;
+import java.nio.charset.*;
+import java.util.*;
+import java.util.zip.*;
+
+/**
+ * Constants, header and frames of the change log format. See {@link ChangeLogWriter} for a
+ * description of the format.
+ */
+class ChangeLogFormat
+{
+    static final byte[] MAGIC = "JGRAPHTL".getBytes(StandardCharsets.US_ASCII);
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 24;
+    static final int FRAME_HEADER_SIZE = 16;
+    static final int MAX_FRAME_SIZE = Integer.MAX_VALUE - 64;
+
+    static final byte VERTEX_ADDED = 1;
+    static final byte VERTEX_REMOVED = 2;
+    static final byte EDGE_ADDED = 3;
+    static final byte EDGE_REMOVED = 4;
+    static final byte EDGE_WEIGHT_UPDATED = 5;
+
+    private ChangeLogFormat()
+    {
+    }
+
+    /**
+     * Write the header of a log whose first record follows the given sequence number.
+     */
+    static void writeHeader(ByteBuffer out, long baseSequence)
+    {
+        out.put(MAGIC);
+        out.putInt(VERSION);
+        out.putInt(0);
+        out.putLong(baseSequence);
+    }
+
+    /**
+     * Read the header of a log.
+     * 
+     * @return the sequence number which precedes the first record of the log
+     */
+    static long readHeader(BinaryInput in)
+        throws IOException
+    {
+        byte[] magic = new byte[MAGIC.length];
+        in.readBytes(magic, 0, magic.length);
+        if (!Arrays.equals(magic, MAGIC)) {
+            throw new ImportException("Not a change log file");
+        }
+        int version = in.readInt();
+        if (version != VERSION) {
+            throw new ImportException("Unsupported change log format version: " + version);
+        }
+        in.readInt();
+        long baseSequence = in.readLong();
+        if (baseSequence < 0) {
+            throw new ImportException("Invalid base sequence: " + baseSequence);
+        }
+        return baseSequence;
+    }
+
+    /**
+     * Compute the checksum of a frame, which covers the record count, the sequence number of the
+     * first record and the records.
+     */
+    static int checksum(int count, long firstSequence, byte[] records, int offset, int length)
+    {
+        CRC32 crc = new CRC32();
+        ByteBuffer header = ByteBuffer.allocate(12).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(count).putLong(firstSequence);
+        crc.update(header.array(), 0, 12);
+        crc.update(records, offset, length);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * A committed group of records.
+     */
+    static class Frame
+    {
+        int count;
+        long firstSequence;
+        ByteBuffer records;
+
+        /**
+         * Read the next frame of a log.
+         * 
+         * @return the frame, or null if the input ends or the rest of the input is not a complete
+         *         frame with a valid checksum, as left behind by an interrupted commit
+         */
+        static Frame read(BinaryInput in)
+            throws IOException
+        {
+            try {
+                int length = in.readInt();
+                int count = in.readInt();
+                long firstSequence = in.readLong();
+                if (length < 0 || length > MAX_FRAME_SIZE || count <= 0 || firstSequence <= 0) {
+                    return null;
+                }
+                byte[] records = new byte[length];
+                in.readBytes(records, 0, length);
+                int checksum = in.readInt();
+                if (checksum != checksum(count, firstSequence, records, 0, length)) {
+                    return null;
+                }
+                Frame frame = new Frame();
+                frame.count = count;
+                frame.firstSequence = firstSequence;
+                frame.records = ByteBuffer.wrap(records).order(ByteOrder.LITTLE_ENDIAN);
+                return frame;
+            } catch (EOFException e) {
+                return null;
+            }
+        }
+    }
+}
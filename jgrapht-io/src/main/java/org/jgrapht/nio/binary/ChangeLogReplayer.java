@@ -0,0 +1,338 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.nio.binary;
+
+import org.jgrapht.*;
+import org.jgrapht.nio.*;
+
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.nio.charset.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.function.*;
+
+/**
+ * Applies a log written by {@link ChangeLogWriter} to a graph.
+ *
+ * <p>
+ * A graph is rebuilt by replaying a whole log into an empty graph, using
+ * {@link #replay(Graph, File)}, or is brought up to date by importing a snapshot of the graph and
+ * replaying only the records which follow the sequence number of the snapshot, using
+ * {@link #replay(Graph, File, long)}. The replay stops at the end of the last complete frame of the
+ * log, so that a commit which was interrupted by a crash is ignored.
+ *
+ * <p>
+ * Vertices are created from their identifiers in the log using a vertex factory, which must
+ * return a vertex equal to the vertex of the graph with the same identifier. When catching up
+ * with a snapshot, the factory must therefore be consistent with the vertices of the imported
+ * snapshot. Edges are created using the graph edge supplier, unless an edge factory is given, see
+ * {@link #setEdgeFactory(Function)}. An edge which is removed or whose weight is updated is found
+ * by its identifier, if the log contains edge identifiers and the edge has been added during the
+ * replay or an edge factory is given, and otherwise by its endpoints. In the latter case, among
+ * multiple edges between the same vertices, an edge which is removed is chosen by its weight and
+ * the weight of the most recently added edge is updated, which matches the common pattern of
+ * setting the weight of an edge right after adding it.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ */
+public class ChangeLogReplayer<V, E>
+{
+    private final Function<String, V> vertexFactory;
+    private Function<String, E> edgeFactory;
+
+    /**
+     * Construct a new replayer.
+     * 
+     * @param vertexFactory the vertex factory, which returns the vertex of an identifier. Must not
+     *        be null.
+     */
+    public ChangeLogReplayer(Function<String, V> vertexFactory)
+    {
+        this.vertexFactory = Objects.requireNonNull(vertexFactory, "Vertex factory cannot be null");
+    }
+
+    /**
+     * Get the user custom edge factory. This is null by default and the graph edge supplier is
+     * used instead.
+     * 
+     * @return the user custom edge factory
+     */
+    public Function<String, E> getEdgeFactory()
+    {
+        return edgeFactory;
+    }
+
+    /**
+     * Set the user custom edge factory. The default behavior is being null in which case the graph
+     * edge supplier is used. If supplied, the edge factory is called with the identifier of an edge
+     * whenever the log contains one, and should return the actual graph edge.
+     * 
+     * @param edgeFactory an edge factory
+     */
+    public void setEdgeFactory(Function<String, E> edgeFactory)
+    {
+        this.edgeFactory = edgeFactory;
+    }
+
+    /**
+     * Replay all records of a log.
+     * 
+     * @param graph the graph
+     * @param file the log file
+     * @return the sequence number of the last record of the log
+     * @throws ImportException in case an error occurs, such as I/O error or invalid record
+     */
+    public long replay(Graph<V, E> graph, File file)
+    {
+        return replay(graph, file, -1);
+    }
+
+    /**
+     * Replay the records of a log which follow a sequence number, such as the sequence number of
+     * the snapshot that the graph was imported from.
+     * 
+     * @param graph the graph
+     * @param file the log file
+     * @param sequence the sequence number of the last record already reflected in the graph
+     * @return the sequence number of the last record reflected in the graph after the replay
+     * @throws ImportException in case an error occurs, such as I/O error or invalid record, or if
+     *         the log does not contain all records which follow the sequence number
+     */
+    public long replay(Graph<V, E> graph, File file, long sequence)
+    {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            return replay(graph, BinaryInput.read(channel), sequence);
+        } catch (IOException e) {
+            throw new ImportException(e);
+        }
+    }
+
+    /**
+     * Replay the records of a log which follow a sequence number, such as the sequence number of
+     * the snapshot that the graph was imported from.
+     * 
+     * @param graph the graph
+     * @param in the input stream
+     * @param sequence the sequence number of the last record already reflected in the graph
+     * @return the sequence number of the last record reflected in the graph after the replay
+     * @throws ImportException in case an error occurs, such as I/O error or invalid record, or if
+     *         the log does not contain all records which follow the sequence number
+     */
+    public long replay(Graph<V, E> graph, InputStream in, long sequence)
+    {
+        try {
+            return replay(graph, BinaryInput.read(Channels.newChannel(in)), sequence);
+        } catch (IOException e) {
+            throw new ImportException(e);
+        }
+    }
+
+    private long replay(Graph<V, E> graph, BinaryInput in, long after)
+        throws IOException
+    {
+        long last = ChangeLogFormat.readHeader(in);
+        if (after < 0) {
+            after = last;
+        } else if (after < last) {
+            throw new ImportException(
+                "Change log starts after sequence " + last + ", records after sequence " + after
+                    + " are missing");
+        }
+
+        Replay replay = new Replay(graph);
+        ChangeLogFormat.Frame frame;
+        while ((frame = ChangeLogFormat.Frame.read(in)) != null
+            && frame.firstSequence == last + 1)
+        {
+            if (last + frame.count <= after) {
+                last += frame.count;
+                continue;
+            }
+            ByteBuffer records = frame.records;
+            for (int i = 0; i < frame.count; i++) {
+                last++;
+                try {
+                    replay.apply(records, last > after);
+                } catch (BufferUnderflowException | IllegalArgumentException e) {
+                    throw new ImportException(
+                        "Failed to replay record " + last + ": " + e.getMessage(), e);
+                }
+            }
+        }
+        return Math.max(last, after);
+    }
+
+    private static String readString(ByteBuffer records)
+    {
+        int length = records.getInt();
+        if (length < 0) {
+            return null;
+        }
+        if (length > records.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        String value =
+            new String(records.array(), records.position(), length, StandardCharsets.UTF_8);
+        records.position(records.position() + length);
+        return value;
+    }
+
+    /**
+     * The state of a replay.
+     */
+    private class Replay
+    {
+        private final Graph<V, E> graph;
+        private final boolean weighted;
+        /* the edges added during the replay by their identifier */
+        private final Map<String, E> edges;
+        private E lastAdded;
+
+        Replay(Graph<V, E> graph)
+        {
+            this.graph = graph;
+            this.weighted = graph.getType().isWeighted();
+            this.edges = new HashMap<>();
+        }
+
+        /**
+         * Read a record and apply it to the graph if requested.
+         */
+        void apply(ByteBuffer records, boolean apply)
+        {
+            byte type = records.get();
+            switch (type) {
+            case ChangeLogFormat.VERTEX_ADDED:
+            case ChangeLogFormat.VERTEX_REMOVED:
+                String vertexId = readString(records);
+                if (!apply) {
+                    return;
+                }
+                if (type == ChangeLogFormat.VERTEX_ADDED) {
+                    graph.addVertex(vertex(vertexId));
+                } else {
+                    graph.removeVertex(vertex(vertexId));
+                }
+                return;
+            case ChangeLogFormat.EDGE_ADDED:
+            case ChangeLogFormat.EDGE_REMOVED:
+            case ChangeLogFormat.EDGE_WEIGHT_UPDATED:
+                String edgeId = readString(records);
+                String sourceId = readString(records);
+                String targetId = readString(records);
+                double weight = records.getDouble();
+                if (!apply) {
+                    return;
+                }
+                V source = vertex(sourceId);
+                V target = vertex(targetId);
+                if (type == ChangeLogFormat.EDGE_ADDED) {
+                    addEdge(edgeId, source, target, weight);
+                    return;
+                }
+                E e = edge(edgeId, source, target, type == ChangeLogFormat.EDGE_REMOVED, weight);
+                if (e == null) {
+                    return;
+                }
+                if (type == ChangeLogFormat.EDGE_REMOVED) {
+                    graph.removeEdge(e);
+                    if (edgeId != null) {
+                        edges.remove(edgeId);
+                    }
+                } else if (weighted && graph.containsEdge(e)) {
+                    graph.setEdgeWeight(e, weight);
+                }
+                return;
+            default:
+                throw new ImportException("Invalid change log record type: " + type);
+            }
+        }
+
+        private void addEdge(String id, V source, V target, double weight)
+        {
+            E e;
+            if (id != null && edgeFactory != null) {
+                e = edgeFactory.apply(id);
+                if (!graph.addEdge(source, target, e)) {
+                    return;
+                }
+            } else {
+                e = graph.addEdge(source, target);
+                if (e == null) {
+                    return;
+                }
+                if (id != null) {
+                    edges.put(id, e);
+                }
+            }
+            if (weighted) {
+                graph.setEdgeWeight(e, weight);
+            }
+            lastAdded = e;
+        }
+
+        /**
+         * Find the edge of a record. Without an identifier, an edge is chosen among multiple edges
+         * between the same vertices by its weight if it is removed, and is preferably the last
+         * added edge if its weight is updated.
+         */
+        private E edge(String id, V source, V target, boolean removed, double weight)
+        {
+            if (id != null) {
+                E e = edges.get(id);
+                if (e == null && edgeFactory != null) {
+                    e = edgeFactory.apply(id);
+                }
+                if (e != null) {
+                    return e;
+                }
+            }
+            if (weighted && graph.getType().isAllowingMultipleEdges()) {
+                if (!removed) {
+                    if (lastAdded != null && graph.containsEdge(lastAdded)
+                        && graph.getEdgeSource(lastAdded).equals(source)
+                        && graph.getEdgeTarget(lastAdded).equals(target))
+                    {
+                        return lastAdded;
+                    }
+                } else {
+                    Set<E> candidates = graph.getAllEdges(source, target);
+                    if (candidates != null) {
+                        for (E e : candidates) {
+                            if (graph.getEdgeWeight(e) == weight) {
+                                return e;
+                            }
+                        }
+                    }
+                }
+            }
+            return graph.getEdge(source, target);
+        }
+
+        private V vertex(String id)
+        {
+            if (id == null) {
+                throw new ImportException("Missing vertex identifier");
+            }
+            return vertexFactory.apply(id);
+        }
+    }
+}
@@ -0,0 +1,459 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.nio.binary;
+
+import org.jgrapht.*;
+import org.jgrapht.event.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.nio.*;
+
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.nio.charset.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.function.*;
+
+/**
+ * Writes the changes of a graph to an append-only log.
+ *
+ * <p>
+ * Together with a snapshot of the graph, such as a file written by {@link BinaryExporter}, the log
+ * allows to recover the graph after a crash or a restart without exporting the whole graph after
+ * every change. The writer is a {@link GraphListener} which is attached to a
+ * {@link ListenableGraph}, for example a {@link DefaultListenableGraph}, using
+ * {@link ListenableGraph#addGraphListener(GraphListener)}. Every addition and removal of a vertex
+ * or an edge and every update of an edge weight is appended to the log as a record, and the
+ * records are numbered by consecutive sequence numbers starting from one. Use
+ * {@link ChangeLogReplayer} in order to apply a log to a graph.
+ *
+ * <p>
+ * Records are committed in groups. They are buffered in memory and written to the file with a
+ * single write when the number of buffered records reaches the group size, see
+ * {@link #setGroupSize(int)}, or when {@link #commit()} is called. If sync is enabled, see
+ * {@link #setSync(boolean)}, every commit also forces the file to the storage device, which is
+ * by far the most expensive part of a commit and is thus shared by all records of a group.
+ * Records which have not been committed are lost in case of a crash. All methods of the writer are
+ * synchronized, so that {@link #commit()} can also be called periodically by another thread in
+ * order to bound the time that a record stays in memory.
+ *
+ * <p>
+ * Vertices are identified in the log using a vertex identifier provider. Edges are identified by
+ * their endpoints and, if an edge identifier provider is given, by their identifier, which allows
+ * to distinguish multiple edges between the same vertices.
+ *
+ * <p>
+ * All values of the format are little-endian. A log consists of a header with the magic bytes
+ * {@code JGRAPHTL}, the format version and the sequence number which precedes the first record of
+ * the log, followed by one frame per commit. A frame contains the length in bytes of its records,
+ * the number of records, the sequence number of the first record, the records and a CRC-32
+ * checksum. A record consists of its type, followed by the identifier of the vertex, or by the
+ * identifier of the edge, the identifiers of its endpoints and its weight. Identifiers are stored
+ * as their length in bytes, or $-1$ if absent, followed by their UTF-8 encoding. A commit which is
+ * interrupted by a crash leaves an incomplete frame at the end of the file, which is ignored by
+ * the replayer and truncated when the log is opened again by a writer. A writer opened on an
+ * existing log continues its numbering.
+ *
+ * <p>
+ * In order to recover a graph from a snapshot and a log, write the snapshot while the graph is not
+ * modified and store the value of {@link #getSequence()} along with it. Once the snapshot has been
+ * written, the log can be emptied using {@link #reset()}. On restart, import the snapshot and
+ * replay the records of the log which follow the stored sequence number, using
+ * {@link ChangeLogReplayer#replay(Graph, File, long)}.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ */
+public class ChangeLogWriter<V, E>
+    implements
+    GraphListener<V, E>,
+    Closeable
+{
+    /**
+     * The default number of records of a group.
+     */
+    public static final int DEFAULT_GROUP_SIZE = 1024;
+
+    private static final int INITIAL_BUFFER_SIZE = 1 << 16;
+    private static final int MAX_GROUP_BYTES = 1 << 22;
+
+    private final Function<V, String> vertexIdProvider;
+    private final Function<E, String> edgeIdProvider;
+    private FileChannel channel;
+    private int groupSize;
+    private boolean sync;
+
+    /* the records which are not committed, after space for the frame header */
+    private ByteBuffer pending;
+    private int pendingCount;
+    private long sequence;
+    private long committedSequence;
+
+    /**
+     * Open a log, identifying edges only by their endpoints. If the file exists, records are
+     * appended to it.
+     *
+     * @param file the log file
+     * @param vertexIdProvider for generating vertex identifiers. Must not be null.
+     * @throws ExportException in case the file cannot be opened or is not a change log
+     */
+    public ChangeLogWriter(File file, Function<V, String> vertexIdProvider)
+    {
+        this(file, vertexIdProvider, null);
+    }
+
+    /**
+     * Open a log. If the file exists, records are appended to it.
+     *
+     * @param file the log file
+     * @param vertexIdProvider for generating vertex identifiers. Must not be null.
+     * @param edgeIdProvider for generating edge identifiers, or null in order to identify edges
+     *        only by their endpoints
+     * @throws ExportException in case the file cannot be opened or is not a change log
+     */
+    public ChangeLogWriter(
+        File file, Function<V, String> vertexIdProvider, Function<E, String> edgeIdProvider)
+    {
+        this.vertexIdProvider =
+            Objects.requireNonNull(vertexIdProvider, "Vertex id provider cannot be null");
+        this.edgeIdProvider = edgeIdProvider;
+        this.groupSize = DEFAULT_GROUP_SIZE;
+        this.sync = true;
+        this.pending = ByteBuffer.allocate(INITIAL_BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        this.pending.position(ChangeLogFormat.FRAME_HEADER_SIZE);
+        try {
+            this.channel = FileChannel.open(
+                file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+            recover();
+        } catch (IOException | ImportException e) {
+            closeQuietly();
+            throw new ExportException("Failed to open change log: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Get the maximum number of records which are committed together.
+     * 
+     * @return the group size
+     */
+    public synchronized int getGroupSize()
+    {
+        return groupSize;
+    }
+
+    /**
+     * Set the maximum number of records which are committed together. Defaults to
+     * {@link #DEFAULT_GROUP_SIZE}. A group size of one commits every record immediately.
+     * 
+     * @param groupSize the group size
+     */
+    public synchronized void setGroupSize(int groupSize)
+    {
+        if (groupSize < 1) {
+            throw new IllegalArgumentException("Group size must be positive");
+        }
+        this.groupSize = groupSize;
+    }
+
+    /**
+     * Get whether every commit forces the file to the storage device.
+     * 
+     * @return whether every commit forces the file to the storage device
+     */
+    public synchronized boolean isSync()
+    {
+        return sync;
+    }
+
+    /**
+     * Set whether every commit forces the file to the storage device. Defaults to true. Otherwise
+     * committed records survive a crash of the application but not necessarily a crash of the
+     * operating system.
+     * 
+     * @param sync whether every commit forces the file to the storage device
+     */
+    public synchronized void setSync(boolean sync)
+    {
+        this.sync = sync;
+    }
+
+    /**
+     * Get the sequence number of the last record, or the sequence number which precedes the first
+     * record of the log if it contains none.
+     * 
+     * @return the sequence number of the last record
+     */
+    public synchronized long getSequence()
+    {
+        return sequence;
+    }
+
+    /**
+     * Get the sequence number of the last committed record.
+     * 
+     * @return the sequence number of the last committed record
+     */
+    public synchronized long getCommittedSequence()
+    {
+        return committedSequence;
+    }
+
+    @Override
+    public synchronized void vertexAdded(GraphVertexChangeEvent<V> e)
+    {
+        appendVertex(ChangeLogFormat.VERTEX_ADDED, e.getVertex());
+    }
+
+    @Override
+    public synchronized void vertexRemoved(GraphVertexChangeEvent<V> e)
+    {
+        appendVertex(ChangeLogFormat.VERTEX_REMOVED, e.getVertex());
+    }
+
+    @Override
+    public synchronized void edgeAdded(GraphEdgeChangeEvent<V, E> e)
+    {
+        appendEdge(ChangeLogFormat.EDGE_ADDED, e);
+    }
+
+    @Override
+    public synchronized void edgeRemoved(GraphEdgeChangeEvent<V, E> e)
+    {
+        appendEdge(ChangeLogFormat.EDGE_REMOVED, e);
+    }
+
+    @Override
+    public synchronized void edgeWeightUpdated(GraphEdgeChangeEvent<V, E> e)
+    {
+        appendEdge(ChangeLogFormat.EDGE_WEIGHT_UPDATED, e);
+    }
+
+    /**
+     * Write the records which are not committed to the log.
+     * 
+     * @throws ExportException in case of an I/O error, after which the writer is closed
+     */
+    public synchronized void commit()
+    {
+        ensureOpen();
+        if (pendingCount == 0) {
+            return;
+        }
+        int length = pending.position() - ChangeLogFormat.FRAME_HEADER_SIZE;
+        long firstSequence = committedSequence + 1;
+        pending.putInt(0, length).putInt(4, pendingCount).putLong(8, firstSequence);
+        ensureCapacity(4);
+        pending.putInt(
+            ChangeLogFormat.checksum(
+                pendingCount, firstSequence, pending.array(), ChangeLogFormat.FRAME_HEADER_SIZE,
+                length));
+        pending.flip();
+        try {
+            while (pending.hasRemaining()) {
+                channel.write(pending);
+            }
+            if (sync) {
+                channel.force(false);
+            }
+        } catch (IOException e) {
+            // the log is recovered when it is opened again
+            closeQuietly();
+            throw new ExportException("Failed to commit change log: " + e.getMessage(), e);
+        }
+        pending.clear();
+        pending.position(ChangeLogFormat.FRAME_HEADER_SIZE);
+        pendingCount = 0;
+        committedSequence = sequence;
+    }
+
+    /**
+     * Commit and remove all records from the log. The numbering of the records continues from the
+     * current sequence number. This method should be called after a snapshot of the graph which
+     * contains all the changes of the log has been written.
+     *
+     * <p>
+     * The header with the new starting sequence number is written before the records are removed.
+     * If the reset is interrupted by a crash, the remaining records precede the starting sequence
+     * number and are ignored by the replayer and truncated by the next writer.
+     * 
+     * @throws ExportException in case of an I/O error, after which the writer is closed
+     */
+    public synchronized void reset()
+    {
+        commit();
+        try {
+            writeHeader(sequence);
+            channel.force(true);
+            channel.truncate(ChangeLogFormat.HEADER_SIZE);
+            channel.force(true);
+        } catch (IOException e) {
+            closeQuietly();
+            throw new ExportException("Failed to reset change log: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Commit and close the log.
+     * 
+     * @throws ExportException in case of an I/O error
+     */
+    @Override
+    public synchronized void close()
+    {
+        if (channel == null) {
+            return;
+        }
+        try {
+            commit();
+            channel.close();
+        } catch (IOException e) {
+            throw new ExportException(e);
+        } finally {
+            channel = null;
+        }
+    }
+
+    private void appendVertex(byte type, V v)
+    {
+        ensureOpen();
+        ensureCapacity(1);
+        pending.put(type);
+        putString(vertexIdProvider.apply(v));
+        endRecord();
+    }
+
+    private void appendEdge(byte type, GraphEdgeChangeEvent<V, E> e)
+    {
+        ensureOpen();
+        ensureCapacity(1);
+        pending.put(type);
+        putString(edgeIdProvider == null ? null : edgeIdProvider.apply(e.getEdge()));
+        putString(vertexIdProvider.apply(e.getEdgeSource()));
+        putString(vertexIdProvider.apply(e.getEdgeTarget()));
+        ensureCapacity(8);
+        pending.putDouble(e.getEdgeWeight());
+        endRecord();
+    }
+
+    private void putString(String value)
+    {
+        if (value == null) {
+            ensureCapacity(4);
+            pending.putInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        ensureCapacity(4 + bytes.length);
+        pending.putInt(bytes.length);
+        pending.put(bytes);
+    }
+
+    private void endRecord()
+    {
+        pendingCount++;
+        sequence++;
+        if (pendingCount >= groupSize || pending.position() >= MAX_GROUP_BYTES) {
+            commit();
+        }
+    }
+
+    private void ensureCapacity(int bytes)
+    {
+        if (pending.remaining() >= bytes) {
+            return;
+        }
+        int capacity = pending.capacity();
+        while (capacity - pending.position() < bytes) {
+            if (capacity > ChangeLogFormat.MAX_FRAME_SIZE / 2) {
+                throw new ExportException("Change log record is too large");
+            }
+            capacity *= 2;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(capacity).order(ByteOrder.LITTLE_ENDIAN);
+        pending.flip();
+        buffer.put(pending);
+        pending = buffer;
+    }
+
+    private void ensureOpen()
+    {
+        if (channel == null) {
+            throw new ExportException("Change log is closed");
+        }
+    }
+
+    /**
+     * Read the existing frames of the log, in order to continue their numbering, and remove an
+     * incomplete frame left behind by an interrupted commit.
+     */
+    private void recover()
+        throws IOException
+    {
+        if (channel.size() == 0) {
+            writeHeader(0);
+            channel.force(true);
+            return;
+        }
+        BinaryInput in = BinaryInput.read(channel);
+        long last = ChangeLogFormat.readHeader(in);
+        long end = in.position();
+        ChangeLogFormat.Frame frame;
+        while ((frame = ChangeLogFormat.Frame.read(in)) != null
+            && frame.firstSequence == last + 1)
+        {
+            last += frame.count;
+            end = in.position();
+        }
+        if (end < channel.size()) {
+            channel.truncate(end);
+            channel.force(true);
+        }
+        channel.position(end);
+        sequence = last;
+        committedSequence = last;
+    }
+
+    private void writeHeader(long baseSequence)
+        throws IOException
+    {
+        ByteBuffer header =
+            ByteBuffer.allocate(ChangeLogFormat.HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        ChangeLogFormat.writeHeader(header, baseSequence);
+        header.flip();
+        channel.position(0);
+        while (header.hasRemaining()) {
+            channel.write(header);
+        }
+        sequence = baseSequence;
+        committedSequence = baseSequence;
+    }
+
+    private void closeQuietly()
+    {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                // ignore
+            }
+            channel = null;
+        }
+    }
+}
@@ -0,0 +1,761 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.nio.csv;
+
+import org.jgrapht.nio.*;
+
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.nio.charset.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.*;
+
+/**
+ * Byte-level parser for the {@link CSVFormat#EDGE_LIST} and {@link CSVFormat#ADJACENCY_LIST}
+ * formats.
+ *
+ * <p>
+ * The parser tokenizes UTF-8 encoded input directly from a byte buffer, without building a parse
+ * tree, and parses edge weights without creating intermediate strings. Rows are collected into
+ * {@link Batch batches} which are handed to a consumer in input order. Fields are unescaped in the
+ * same way as by {@link DSVUtils#unescapeDSV(String, char)}.
+ *
+ * <p>
+ * A file can also be split into chunks which are parsed in parallel. The chunk boundaries are
+ * moved to the next line break which is not inside a quoted field. Since a quoted field may contain
+ * line breaks, each chunk is first parsed assuming that it does not start inside a quoted field.
+ * The number of quotes in the preceding chunks reveals whether this assumption holds and the chunk
+ * is parsed again if it does not.
+ */
+class CSVEdgeListParser
+{
+    private static final int BUFFER_SIZE = 1 << 20;
+    private static final int CHUNK_SIZE = 1 << 23;
+    private static final int BATCH_ROWS = 1 << 14;
+    private static final int QUEUED_BATCHES = 4;
+    private static final Batch END_OF_FILE = new Batch();
+
+    private static final byte QUOTE = '"';
+    private static final byte LF = '\n';
+    private static final byte CR = '\r';
+
+    private static final double[] POWERS_OF_TEN = { 1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8,
+        1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22 };
+
+    private final byte delimiter;
+    private final boolean weighted;
+    private final int chunkSize;
+
+    /**
+     * Create a new parser.
+     *
+     * @param delimiter the delimiter, which must be an ASCII character
+     * @param weighted whether every target is followed by the weight of the edge
+     */
+    CSVEdgeListParser(char delimiter, boolean weighted)
+    {
+        this(delimiter, weighted, CHUNK_SIZE);
+    }
+
+    /**
+     * Create a new parser.
+     *
+     * @param delimiter the delimiter, which must be an ASCII character
+     * @param weighted whether every target is followed by the weight of the edge
+     * @param chunkSize the size in bytes of the chunks of a file which are parsed in parallel
+     */
+    CSVEdgeListParser(char delimiter, boolean weighted, int chunkSize)
+    {
+        if (!isSupportedDelimiter(delimiter)) {
+            throw new IllegalArgumentException("Delimiter must be an ASCII character");
+        }
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+        this.delimiter = (byte) delimiter;
+        this.weighted = weighted;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Whether a delimiter can be handled by this parser.
+     *
+     * @param delimiter the delimiter
+     * @return {@code true} if the delimiter can be handled by this parser
+     */
+    static boolean isSupportedDelimiter(char delimiter)
+    {
+        return delimiter < 0x80 && DSVUtils.isValidDelimiter(delimiter);
+    }
+
+    /**
+     * Parse an input stream sequentially.
+     *
+     * @param in the input
+     * @param consumer the consumer of the batches; a batch is reused after the consumer returns
+     * @throws IOException in case of an I/O error
+     */
+    void parse(InputStream in, Consumer<Batch> consumer)
+        throws IOException
+    {
+        parse(in, consumer, true);
+    }
+
+    private void parse(InputStream in, Consumer<Batch> consumer, boolean reuse)
+        throws IOException
+    {
+        byte[] buf = new byte[BUFFER_SIZE];
+        int pos = 0;
+        int end = 0;
+        boolean eof = false;
+        Batch batch = new Batch();
+        while (!eof) {
+            // move the incomplete row to the front and fill the buffer
+            System.arraycopy(buf, pos, buf, 0, end - pos);
+            end -= pos;
+            pos = 0;
+            if (end == buf.length) {
+                buf = Arrays.copyOf(buf, 2 * buf.length);
+            }
+            int read = in.read(buf, end, buf.length - end);
+            if (read < 0) {
+                eof = true;
+            } else {
+                end += read;
+            }
+
+            while (pos < end) {
+                int next = parseRow(buf, pos, end, eof, batch);
+                if (next < 0) {
+                    break;
+                }
+                pos = next;
+                if (batch.rowCount == BATCH_ROWS) {
+                    consumer.accept(batch);
+                    if (reuse) {
+                        batch.clear();
+                    } else {
+                        batch = new Batch();
+                    }
+                }
+            }
+        }
+        if (batch.rowCount > 0) {
+            consumer.accept(batch);
+        }
+    }
+
+    /**
+     * Parse a file using multiple threads. The batches are handed to the consumer in the order of
+     * the file, by the calling thread.
+     *
+     * @param file the file
+     * @param parallelism the maximum number of threads
+     * @param consumer the consumer of the batches
+     * @throws IOException in case of an I/O error
+     */
+    void parse(FileChannel file, int parallelism, Consumer<Batch> consumer)
+        throws IOException
+    {
+        long size = file.size();
+        int chunks = (int) Math.max(1, (size + chunkSize - 1) / chunkSize);
+        if (parallelism == 1 || chunks == 1) {
+            parse(Channels.newInputStream(file), consumer);
+            return;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        try {
+            // keep a bounded number of chunks in flight
+            Deque<Future<Chunk>> pending = new ArrayDeque<>();
+            int submitted = 0;
+            boolean inQuotes = false;
+            for (int i = 0; i < chunks; i++) {
+                while (submitted < chunks && submitted < i + 2 * parallelism) {
+                    final int k = submitted++;
+                    pending.add(executor.submit(() -> parseChunk(file, size, k, false, true)));
+                }
+                Chunk chunk = pending.removeFirst().get();
+                if (inQuotes || chunk.failed) {
+                    // the chunk starts inside a quoted field or contains an error
+                    chunk = parseChunk(file, size, i, inQuotes, false);
+                }
+                consumer.accept(chunk.batch);
+                inQuotes ^= chunk.quotes % 2 == 1;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof ImportException) {
+                throw (ImportException) cause;
+            } else if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw new RuntimeException(cause);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Parse several files as if they were concatenated, where every file ends with a complete row.
+     * Files compressed using gzip are decompressed. The files are parsed in parallel, each by a
+     * single thread, and the batches are handed to the consumer in the order of the files, by the
+     * calling thread. Every file is parsed into batches of a bounded number of rows, and only a
+     * few batches of every file are kept in memory until they are consumed.
+     *
+     * @param files the files
+     * @param parallelism the maximum number of threads
+     * @param consumer the consumer of the batches
+     * @throws IOException in case of an I/O error
+     */
+    void parse(List<File> files, int parallelism, Consumer<Batch> consumer)
+        throws IOException
+    {
+        if (parallelism == 1 || files.size() == 1) {
+            for (File file : files) {
+                try (InputStream in = ParallelLineReader.newInputStream(file)) {
+                    parse(in, consumer);
+                }
+            }
+            return;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        try {
+            /*
+             * The files are started in order, so the file which is consumed next always has a
+             * thread, even if the threads of the following files wait for their queues.
+             */
+            Deque<FileTask> pending = new ArrayDeque<>();
+            int submitted = 0;
+            for (int i = 0; i < files.size(); i++) {
+                while (submitted < files.size() && submitted < i + 2 * parallelism) {
+                    FileTask task = new FileTask(files.get(submitted++));
+                    task.future = executor.submit(task);
+                    pending.add(task);
+                }
+                FileTask task = pending.removeFirst();
+                Batch batch;
+                while ((batch = task.batches.take()) != END_OF_FILE) {
+                    consumer.accept(batch);
+                }
+                task.future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof ImportException) {
+                throw (ImportException) cause;
+            } else if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw new RuntimeException(cause);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Parse the rows of a chunk. Chunk $i$ covers the bytes $[iC - 1, (i+1)C - 1)$ where $C$ is
+     * the chunk size, and contains the rows which start after the first line break in this range.
+     * The first chunk also contains the first row.
+     *
+     * <p>
+     * A speculative parse may start with the wrong quoting state. Instead of reporting errors or
+     * reading far beyond the end of the chunk in search of a closing quote, it marks the chunk as
+     * failed so that it is parsed again once the correct state is known.
+     */
+    private Chunk parseChunk(
+        FileChannel file, long size, int i, boolean inQuotes, boolean speculative)
+        throws IOException
+    {
+        try {
+            long maxLength = speculative ? 2L * chunkSize : Long.MAX_VALUE;
+            return parseChunk(file, size, i, inQuotes, maxLength);
+        } catch (ImportException e) {
+            if (!speculative) {
+                throw e;
+            }
+            Chunk chunk = new Chunk();
+            chunk.failed = true;
+            return chunk;
+        }
+    }
+
+    private Chunk parseChunk(FileChannel file, long size, int i, boolean inQuotes, long maxLength)
+        throws IOException
+    {
+        long from = i == 0 ? 0 : (long) i * chunkSize - 1;
+        long to = Math.min(size, (long) (i + 1) * chunkSize - 1);
+
+        byte[] buf = new byte[(int) (to - from)];
+        int end = read(file, from, buf, 0, buf.length);
+        Chunk chunk = new Chunk();
+        for (int k = 0; k < end; k++) {
+            if (buf[k] == QUOTE) {
+                chunk.quotes++;
+            }
+        }
+
+        // find the first row
+        int pos = 0;
+        if (i > 0) {
+            while (true) {
+                if (pos == end) {
+                    if (from + end == size) {
+                        return chunk;
+                    }
+                    if (end >= maxLength) {
+                        chunk.failed = true;
+                        return chunk;
+                    }
+                    buf = grow(buf);
+                    end += read(file, from + end, buf, end, buf.length - end);
+                    continue;
+                }
+                byte c = buf[pos++];
+                if (c == QUOTE) {
+                    inQuotes = !inQuotes;
+                } else if (c == LF && !inQuotes) {
+                    break;
+                }
+            }
+        }
+
+        // parse the rows which start up to the end of the chunk
+        while (from + pos <= to) {
+            boolean eof = from + end == size;
+            if (pos == end && eof) {
+                break;
+            }
+            int next = pos < end ? parseRow(buf, pos, end, eof, chunk.batch) : -1;
+            if (next < 0) {
+                if (end >= maxLength) {
+                    chunk.failed = true;
+                    return chunk;
+                }
+                if (end == buf.length) {
+                    buf = grow(buf);
+                }
+                end += read(file, from + end, buf, end, buf.length - end);
+                continue;
+            }
+            pos = next;
+        }
+        return chunk;
+    }
+
+    /**
+     * Grow the buffer of a chunk. Usually only the last row of a chunk is missing, so the buffer
+     * is grown by a small fraction.
+     */
+    private static byte[] grow(byte[] buf)
+    {
+        return Arrays.copyOf(buf, buf.length + Math.max(buf.length / 8, 256));
+    }
+
+    private static int read(FileChannel file, long position, byte[] buf, int offset, int length)
+        throws IOException
+    {
+        ByteBuffer target = ByteBuffer.wrap(buf, offset, length);
+        while (target.hasRemaining()) {
+            if (file.read(target, position + target.position() - offset) < 0) {
+                break;
+            }
+        }
+        return target.position() - offset;
+    }
+
+    /**
+     * Parse a single row starting at the given position.
+     *
+     * @return the position after the row, or -1 if the row is not complete and more input is
+     *         available
+     */
+    private int parseRow(byte[] b, int pos, int end, boolean eof, Batch batch)
+    {
+        int mark = batch.fieldCount;
+        int i = pos;
+        int column = 0;
+        while (true) {
+            int start = i;
+            boolean quoted = false;
+            boolean special = false;
+            if (i < end && b[i] == QUOTE) {
+                quoted = true;
+                i++;
+                while (true) {
+                    if (i >= end) {
+                        if (eof) {
+                            throw error("Unterminated quoted field");
+                        }
+                        batch.fieldCount = mark;
+                        return -1;
+                    }
+                    byte c = b[i];
+                    if (c == QUOTE) {
+                        if (i + 1 >= end && !eof) {
+                            batch.fieldCount = mark;
+                            return -1;
+                        }
+                        if (i + 1 < end && b[i + 1] == QUOTE) {
+                            special = true;
+                            i += 2;
+                            continue;
+                        }
+                        i++;
+                        break;
+                    }
+                    if (c == delimiter || c == LF || c == CR) {
+                        special = true;
+                    }
+                    i++;
+                }
+            } else {
+                while (i < end) {
+                    byte c = b[i];
+                    if (c == delimiter || c == LF || c == CR) {
+                        break;
+                    }
+                    if (c == QUOTE) {
+                        throw error("Unexpected quote in unquoted field");
+                    }
+                    i++;
+                }
+                if (i >= end && !eof) {
+                    batch.fieldCount = mark;
+                    return -1;
+                }
+            }
+
+            addField(b, start, i, quoted, special, column++, batch);
+
+            if (i >= end) {
+                return endRow(batch, mark, column, end);
+            }
+            byte c = b[i];
+            if (c == delimiter) {
+                i++;
+                continue;
+            }
+            if (c == CR) {
+                if (i + 1 >= end) {
+                    if (!eof) {
+                        batch.fieldCount = mark;
+                        return -1;
+                    }
+                    return endRow(batch, mark, column, end);
+                }
+                if (b[i + 1] != LF) {
+                    throw error("Unexpected carriage return");
+                }
+                i++;
+            } else if (c != LF) {
+                throw error("Unexpected character after quoted field");
+            }
+            return endRow(batch, mark, column, i + 1);
+        }
+    }
+
+    private int endRow(Batch batch, int mark, int columns, int next)
+    {
+        if (weighted && columns % 2 == 0) {
+            throw error("Failed to parse edge weight");
+        }
+        batch.endRow(mark);
+        return next;
+    }
+
+    private void addField(
+        byte[] b, int start, int end, boolean quoted, boolean special, int column, Batch batch)
+    {
+        if (weighted && column > 0 && column % 2 == 0) {
+            // the weight of the preceding target
+            double weight;
+            if (quoted) {
+                try {
+                    weight = Double.parseDouble(decode(b, start, end, special));
+                } catch (NumberFormatException e) {
+                    throw error("Failed to parse edge weight");
+                }
+            } else {
+                weight = parseDouble(b, start, end);
+            }
+            batch.weights[batch.fieldCount - 1] = weight;
+            return;
+        }
+        batch.add(decode(b, start, end, quoted && special));
+    }
+
+    /**
+     * Decode a field. Quoted fields which contain special characters are unescaped, all other
+     * fields are returned as they are, like {@link DSVUtils#unescapeDSV(String, char)} does.
+     */
+    private static String decode(byte[] b, int start, int end, boolean unescape)
+    {
+        if (!unescape) {
+            return new String(b, start, end - start, StandardCharsets.UTF_8);
+        }
+        byte[] unescaped = new byte[end - start - 2];
+        int length = 0;
+        for (int i = start + 1; i < end - 1; i++) {
+            unescaped[length++] = b[i];
+            if (b[i] == QUOTE) {
+                i++;
+            }
+        }
+        return new String(unescaped, 0, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Parse a double. Decimal numbers with at most 15 significant digits and a small exponent are
+     * parsed directly, since they can be converted exactly. All other numbers are parsed using
+     * {@link Double#parseDouble(String)}.
+     */
+    private static double parseDouble(byte[] b, int start, int end)
+    {
+        int i = start;
+        boolean negative = false;
+        if (i < end && (b[i] == '-' || b[i] == '+')) {
+            negative = b[i] == '-';
+            i++;
+        }
+        long mantissa = 0;
+        int significant = 0;
+        int exponent = 0;
+        int digits = 0;
+        boolean fraction = false;
+        for (; i < end; i++) {
+            byte c = b[i];
+            if (c >= '0' && c <= '9') {
+                digits++;
+                if (mantissa != 0 || c != '0') {
+                    mantissa = 10 * mantissa + (c - '0');
+                    significant++;
+                }
+                if (fraction) {
+                    exponent--;
+                }
+            } else if (c == '.' && !fraction) {
+                fraction = true;
+            } else {
+                break;
+            }
+        }
+        if (i < end && (b[i] == 'e' || b[i] == 'E') && digits > 0) {
+            i++;
+            boolean negativeExponent = false;
+            if (i < end && (b[i] == '-' || b[i] == '+')) {
+                negativeExponent = b[i] == '-';
+                i++;
+            }
+            int e = 0;
+            int exponentDigits = 0;
+            for (; i < end && b[i] >= '0' && b[i] <= '9' && e < 1000; i++) {
+                e = 10 * e + (b[i] - '0');
+                exponentDigits++;
+            }
+            if (exponentDigits == 0) {
+                digits = 0;
+            }
+            exponent += negativeExponent ? -e : e;
+        }
+
+        if (i == end && digits > 0 && significant <= 15 && Math.abs(exponent) <= 22) {
+            double value = exponent >= 0 ? mantissa * POWERS_OF_TEN[exponent]
+                : mantissa / POWERS_OF_TEN[-exponent];
+            return negative ? -value : value;
+        }
+        try {
+            return Double.parseDouble(new String(b, start, end - start, StandardCharsets.UTF_8));
+        } catch (NumberFormatException e) {
+            throw error("Failed to parse edge weight");
+        }
+    }
+
+    private static ImportException error(String message)
+    {
+        return new ImportException("Failed to import CSV graph: " + message);
+    }
+
+    /**
+     * Create an input stream which encodes the characters of a reader as UTF-8.
+     *
+     * @param reader the reader
+     * @return the input stream
+     */
+    static InputStream encode(Reader reader)
+    {
+        return new InputStream()
+        {
+            private final CharsetEncoder encoder = StandardCharsets.UTF_8
+                .newEncoder().onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+            private final CharBuffer chars = CharBuffer.allocate(BUFFER_SIZE).flip();
+            // an encoded character which did not fit into the array of the caller
+            private final byte[] pending = new byte[4];
+            private final byte[] single = new byte[1];
+            private int pendingStart;
+            private int pendingEnd;
+            private boolean eof;
+            private boolean finished;
+
+            @Override
+            public int read()
+                throws IOException
+            {
+                return read(single, 0, 1) < 0 ? -1 : single[0] & 0xff;
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len)
+                throws IOException
+            {
+                if (len == 0) {
+                    return 0;
+                }
+                if (pendingStart == pendingEnd && len < pending.length) {
+                    pendingStart = 0;
+                    pendingEnd = Math.max(encodeInto(pending, 0, pending.length), 0);
+                }
+                if (pendingStart < pendingEnd) {
+                    int read = Math.min(len, pendingEnd - pendingStart);
+                    System.arraycopy(pending, pendingStart, b, off, read);
+                    pendingStart += read;
+                    return read;
+                }
+                return encodeInto(b, off, len);
+            }
+
+            /**
+             * Encode characters into an array of at least four bytes, which can hold any encoded
+             * character.
+             */
+            private int encodeInto(byte[] b, int off, int len)
+                throws IOException
+            {
+                ByteBuffer bytes = ByteBuffer.wrap(b, off, len);
+                while (!finished && bytes.position() == off) {
+                    if (encoder.encode(chars, bytes, eof).isUnderflow()) {
+                        if (eof) {
+                            encoder.flush(bytes);
+                            finished = true;
+                        } else {
+                            chars.compact();
+                            eof = reader.read(chars) < 0;
+                            chars.flip();
+                        }
+                    }
+                }
+                int read = bytes.position() - off;
+                return read == 0 && finished ? -1 : read;
+            }
+        };
+    }
+
+    /**
+     * A sequence of parsed rows. The fields of row $r$ are the fields from
+     * {@code rowStarts[r]} to {@code rowStarts[r + 1]}, where the first field is the source and the
+     * remaining fields are the targets. In a weighted row, the weight of each target is stored at
+     * the same index in {@link #weights}.
+     */
+    static class Batch
+    {
+        String[] fields = new String[16];
+        double[] weights = new double[16];
+        int[] rowStarts = new int[16];
+        int fieldCount;
+        int rowCount;
+
+        private void add(String field)
+        {
+            if (fieldCount == fields.length) {
+                fields = Arrays.copyOf(fields, 2 * fields.length);
+                weights = Arrays.copyOf(weights, 2 * weights.length);
+            }
+            fields[fieldCount++] = field;
+        }
+
+        private void endRow(int start)
+        {
+            if (rowCount + 1 >= rowStarts.length) {
+                rowStarts = Arrays.copyOf(rowStarts, 2 * rowStarts.length);
+            }
+            rowStarts[rowCount++] = start;
+            rowStarts[rowCount] = fieldCount;
+        }
+
+        private void clear()
+        {
+            Arrays.fill(fields, 0, fieldCount, null);
+            fieldCount = 0;
+            rowCount = 0;
+        }
+    }
+
+    private static class Chunk
+    {
+        final Batch batch = new Batch();
+        long quotes;
+        boolean failed;
+    }
+
+    /**
+     * Parses a file into a bounded queue of batches, which is terminated by {@link #END_OF_FILE},
+     * also if the parsing fails.
+     */
+    private class FileTask
+        implements
+        Callable<Void>
+    {
+        final File file;
+        final BlockingQueue<Batch> batches = new ArrayBlockingQueue<>(QUEUED_BATCHES);
+        Future<Void> future;
+
+        FileTask(File file)
+        {
+            this.file = file;
+        }
+
+        @Override
+        public Void call()
+            throws Exception
+        {
+            try (InputStream in = ParallelLineReader.newInputStream(file)) {
+                parse(in, batch -> {
+                    try {
+                        batches.put(batch);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new RuntimeException(e);
+                    }
+                }, false);
+            } finally {
+                batches.put(END_OF_FILE);
+            }
+            return null;
+        }
+    }
+}
@@ -25,9 +25,15 @@ import org.jgrapht.nio.BaseEventDrivenImporter;
 import org.jgrapht.nio.EventDrivenImporter;
 import org.jgrapht.nio.ImportEvent;
 import org.jgrapht.nio.ImportException;
+import org.jgrapht.nio.ParallelLineReader;
 
+import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.Reader;
+import java.io.SequenceInputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 import java.util.*;
 
 /**
@@ -56,6 +62,22 @@ import java.util.*;
  * {@link CSVFormat#ADJACENCY_LIST}.
  * </p>
  * 
+ * <p>
+ * The {@link CSVFormat#EDGE_LIST} and {@link CSVFormat#ADJACENCY_LIST} formats are read by a
+ * streaming parser which works directly on the UTF-8 encoded bytes of the input, which makes it
+ * suitable for very large edge lists. When importing from a {@link File}, the file can be split
+ * into chunks which are parsed in parallel, see {@link #setParallelism(int)}. The vertices and
+ * edges are always reported in the order of the input, by the calling thread. If the delimiter is
+ * not an ASCII character, the input is parsed by the same parser as the {@link CSVFormat#MATRIX}
+ * format.
+ * </p>
+ * 
+ * <p>
+ * The input can also consist of several files, such as the shards written by
+ * {@link CSVExporter#exportGraph(org.jgrapht.Graph, List)}, which are read as if they were
+ * concatenated, see {@link #importInput(List)}. Files compressed using gzip are decompressed.
+ * </p>
+ * 
  * @see CSVFormat
  * 
  * @author Dimitrios Michail
@@ -71,6 +93,9 @@ public class CSVEventDrivenImporter
     private CSVFormat format;
     private char delimiter;
     private final Set<CSVFormat.Parameter> parameters;
+    private int parallelism;
+    /* the vertices reported so far by the edge list parser */
+    private Set<String> edgeListVertices;
 
     /**
      * Constructs a new importer using the {@link CSVFormat#ADJACENCY_LIST} format as default.
@@ -104,6 +129,7 @@ public class CSVEventDrivenImporter
         }
         this.delimiter = delimiter;
         this.parameters = new HashSet<>();
+        this.parallelism = 1;
     }
 
     /**
@@ -175,6 +201,31 @@ public class CSVEventDrivenImporter
         }
     }
 
+    /**
+     * Get the maximum number of threads used to parse a file.
+     * 
+     * @return the parallelism
+     */
+    public int getParallelism()
+    {
+        return parallelism;
+    }
+
+    /**
+     * Set the maximum number of threads used to parse a file in the {@link CSVFormat#EDGE_LIST}
+     * or {@link CSVFormat#ADJACENCY_LIST} format. The default is one. Other inputs are always
+     * parsed by the calling thread.
+     * 
+     * @param parallelism the maximum number of threads
+     */
+    public void setParallelism(int parallelism)
+    {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+        this.parallelism = parallelism;
+    }
+
     @Override
     public void importInput(Reader input)
         throws ImportException
@@ -183,7 +234,11 @@ public class CSVEventDrivenImporter
         switch (format) {
         case EDGE_LIST:
         case ADJACENCY_LIST:
-            read(input, new AdjacencyListCSVListener());
+            if (CSVEdgeListParser.isSupportedDelimiter(delimiter)) {
+                readEdgeList(parser -> parser.parse(CSVEdgeListParser.encode(input), this::emit));
+            } else {
+                read(input, new AdjacencyListCSVListener());
+            }
             break;
         case MATRIX:
             read(input, new MatrixCSVListener());
@@ -192,6 +247,132 @@ public class CSVEventDrivenImporter
         notifyImportEvent(ImportEvent.END);
     }
 
+    @Override
+    public void importInput(InputStream in)
+    {
+        if (format == CSVFormat.MATRIX || !CSVEdgeListParser.isSupportedDelimiter(delimiter)) {
+            EventDrivenImporter.super.importInput(in);
+            return;
+        }
+        notifyImportEvent(ImportEvent.START);
+        readEdgeList(parser -> parser.parse(in, this::emit));
+        notifyImportEvent(ImportEvent.END);
+    }
+
+    @Override
+    public void importInput(File file)
+    {
+        if (isCompressed(file)) {
+            importInput(Collections.singletonList(file));
+            return;
+        }
+        if (format == CSVFormat.MATRIX || !CSVEdgeListParser.isSupportedDelimiter(delimiter)) {
+            EventDrivenImporter.super.importInput(file);
+            return;
+        }
+        notifyImportEvent(ImportEvent.START);
+        readEdgeList(parser -> {
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+                parser.parse(channel, parallelism, this::emit);
+            }
+        });
+        notifyImportEvent(ImportEvent.END);
+    }
+
+    /**
+     * Import an input which consists of several files, as if the files were concatenated. Every
+     * file must end with a complete row. Files compressed using gzip are decompressed. In the
+     * {@link CSVFormat#EDGE_LIST} and {@link CSVFormat#ADJACENCY_LIST} formats the files are parsed
+     * in parallel, each by a single thread, see {@link #setParallelism(int)}.
+     * 
+     * @param files the files
+     * @throws ImportException in case an error occurs, such as I/O or parse error
+     */
+    public void importInput(List<File> files)
+    {
+        if (format == CSVFormat.MATRIX || !CSVEdgeListParser.isSupportedDelimiter(delimiter)) {
+            List<InputStream> inputs = new ArrayList<>();
+            try {
+                for (File file : files) {
+                    inputs.add(ParallelLineReader.newInputStream(file));
+                }
+                importInput(new SequenceInputStream(Collections.enumeration(inputs)));
+            } catch (IOException e) {
+                throw new ImportException("Failed to import CSV graph: " + e.getMessage(), e);
+            } finally {
+                for (InputStream in : inputs) {
+                    try {
+                        in.close();
+                    } catch (IOException e) {
+                        // ignore
+                    }
+                }
+            }
+            return;
+        }
+        notifyImportEvent(ImportEvent.START);
+        readEdgeList(parser -> parser.parse(files, parallelism, this::emit));
+        notifyImportEvent(ImportEvent.END);
+    }
+
+    private boolean isCompressed(File file)
+    {
+        try {
+            return ParallelLineReader.isCompressed(file);
+        } catch (IOException e) {
+            throw new ImportException("Failed to import CSV graph: " + e.getMessage(), e);
+        }
+    }
+
+    private void readEdgeList(EdgeListReader reader)
+    {
+        edgeListVertices = new HashSet<>();
+        try {
+            reader
+                .read(
+                    new CSVEdgeListParser(
+                        delimiter, parameters.contains(CSVFormat.Parameter.EDGE_WEIGHTS)));
+        } catch (IOException e) {
+            throw new ImportException("Failed to import CSV graph: " + e.getMessage(), e);
+        } finally {
+            edgeListVertices = null;
+        }
+    }
+
+    /**
+     * Report the vertices and edges of a batch of rows in the {@link CSVFormat#ADJACENCY_LIST}
+     * format.
+     */
+    private void emit(CSVEdgeListParser.Batch batch)
+    {
+        boolean weighted = parameters.contains(CSVFormat.Parameter.EDGE_WEIGHTS);
+        for (int r = 0; r < batch.rowCount; r++) {
+            int start = batch.rowStarts[r];
+            int end = batch.rowStarts[r + 1];
+
+            String source = batch.fields[start];
+            if (source.isEmpty()) {
+                throw new ImportException(
+                    "Failed to import CSV graph: Source vertex cannot be empty");
+            }
+            if (edgeListVertices.add(source)) {
+                notifyVertex(source);
+            }
+
+            for (int i = start + 1; i < end; i++) {
+                String target = batch.fields[i];
+                if (target.isEmpty()) {
+                    throw new ImportException(
+                        "Failed to import CSV graph: Target vertex cannot be empty");
+                }
+                if (edgeListVertices.add(target)) {
+                    notifyVertex(target);
+                }
+                notifyEdge(Triple.of(source, target, weighted ? batch.weights[i] : null));
+            }
+        }
+    }
+
     private void read(Reader input, CSVBaseListener listener)
         throws ImportException
     {
@@ -224,6 +405,12 @@ public class CSVEventDrivenImporter
         }
     }
 
+    private interface EdgeListReader
+    {
+        void read(CSVEdgeListParser parser)
+            throws IOException;
+    }
+
     private class ThrowingErrorListener
         extends
         BaseErrorListener
@@ -22,10 +22,18 @@ import org.jgrapht.Graphs;
 import org.jgrapht.nio.BaseExporter;
 import org.jgrapht.nio.GraphExporter;
 import org.jgrapht.nio.IntegerIdProvider;
+import org.jgrapht.nio.ParallelLineWriter;
 
+import java.io.File;
+import java.io.OutputStream;
 import java.io.PrintWriter;
 import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.function.Function;
 
@@ -49,6 +57,16 @@ import java.util.function.Function;
  * for more information.
  * </p>
  * 
+ * <p>
+ * When exporting to an {@link OutputStream} or to several files, the rows can be encoded by
+ * multiple threads, see {@link #setParallelism(int)}, and compressed using gzip, see
+ * {@link #setCompressed(boolean)}. A graph can be exported into several files using
+ * {@link #exportGraph(Graph, List)}, whose concatenation is identical to the output of a single
+ * file. The files can be imported in parallel using {@link CSVImporter#importGraph(Graph, List)}.
+ * The vertex identifiers are always computed by the calling thread, in the same order as in a
+ * sequential export. The graph must not be modified during the export.
+ * </p>
+ * 
  * @see CSVFormat
  * 
  * @param <V> the graph vertex type
@@ -67,6 +85,8 @@ public class CSVExporter<V, E>
     private final Set<CSVFormat.Parameter> parameters;
     private CSVFormat format;
     private char delimiter;
+    private int parallelism;
+    private boolean compressed;
 
     /**
      * Creates a new CSVExporter with {@link CSVFormat#ADJACENCY_LIST} format and integer name
@@ -114,6 +134,8 @@ public class CSVExporter<V, E>
         }
         this.delimiter = delimiter;
         this.parameters = new HashSet<>();
+        this.parallelism = 1;
+        this.compressed = false;
     }
 
     /**
@@ -140,6 +162,102 @@ public class CSVExporter<V, E>
         out.flush();
     }
 
+    /**
+     * Exports a graph. If the parallelism is larger than one or compression is enabled, the rows
+     * are encoded in blocks, see {@link ParallelLineWriter}.
+     *
+     * @param g the graph
+     * @param out the output stream
+     */
+    @Override
+    public void exportGraph(Graph<V, E> g, OutputStream out)
+    {
+        if (parallelism == 1 && !compressed) {
+            GraphExporter.super.exportGraph(g, out);
+            return;
+        }
+        Rows rows = new Rows(g);
+        new ParallelLineWriter(parallelism, compressed).write(rows.count, rows, out);
+    }
+
+    /**
+     * Exports a graph to a file. If the parallelism is larger than one or compression is enabled,
+     * the rows are encoded in blocks, see {@link ParallelLineWriter}.
+     *
+     * @param g the graph
+     * @param file the file
+     */
+    @Override
+    public void exportGraph(Graph<V, E> g, File file)
+    {
+        if (parallelism == 1 && !compressed) {
+            GraphExporter.super.exportGraph(g, file);
+            return;
+        }
+        exportGraph(g, Collections.singletonList(file));
+    }
+
+    /**
+     * Exports a graph into several files. The rows are divided into as many contiguous ranges as
+     * there are files, so that the concatenation of the files is identical to the output of a
+     * single file. In the {@link CSVFormat#MATRIX} format, the optional row of the vertex
+     * identifiers is written to the file of the first row.
+     *
+     * @param g the graph
+     * @param files the files
+     */
+    public void exportGraph(Graph<V, E> g, List<File> files)
+    {
+        Rows rows = new Rows(g);
+        new ParallelLineWriter(parallelism, compressed).write(rows.count, rows, files);
+    }
+
+    /**
+     * Get the maximum number of threads used to encode the rows.
+     * 
+     * @return the parallelism
+     */
+    public int getParallelism()
+    {
+        return parallelism;
+    }
+
+    /**
+     * Set the maximum number of threads used to encode the rows, when exporting to an
+     * {@link OutputStream} or to several files. The default is one.
+     * 
+     * @param parallelism the maximum number of threads
+     */
+    public void setParallelism(int parallelism)
+    {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Whether the output is compressed using gzip.
+     * 
+     * @return {@code true} if the output is compressed
+     */
+    public boolean isCompressed()
+    {
+        return compressed;
+    }
+
+    /**
+     * Set whether the output is compressed using gzip, when exporting to an {@link OutputStream}
+     * or to several files. Every block of rows is compressed into a separate gzip member. The
+     * default is {@code false}.
+     * 
+     * @param compressed whether to compress the output
+     */
+    public void setCompressed(boolean compressed)
+    {
+        this.compressed = compressed;
+    }
+
     /**
      * Return if a particular parameter of the exporter is enabled
      * 
@@ -210,80 +328,103 @@ public class CSVExporter<V, E>
     }
 
     private void exportAsEdgeList(Graph<V, E> g, PrintWriter out)
+    {
+        for (E e : g.edgeSet()) {
+            exportEdgeListRow(g, e, this::getVertexId, out);
+        }
+    }
+
+    private void exportEdgeListRow(Graph<V, E> g, E e, Function<V, String> ids, PrintWriter out)
     {
         boolean exportEdgeWeights = parameters.contains(CSVFormat.Parameter.EDGE_WEIGHTS);
 
-        for (E e : g.edgeSet()) {
-            exportEscapedField(out, getVertexId(g.getEdgeSource(e)));
+        exportEscapedField(out, ids.apply(g.getEdgeSource(e)));
+        out.print(delimiter);
+        exportEscapedField(out, ids.apply(g.getEdgeTarget(e)));
+        if (exportEdgeWeights) {
             out.print(delimiter);
-            exportEscapedField(out, getVertexId(g.getEdgeTarget(e)));
-            if (exportEdgeWeights) {
-                out.print(delimiter);
-                exportEscapedField(out, String.valueOf(g.getEdgeWeight(e)));
-            }
-            out.println();
+            exportEscapedField(out, String.valueOf(g.getEdgeWeight(e)));
         }
+        out.println();
     }
 
     private void exportAsAdjacencyList(Graph<V, E> g, PrintWriter out)
+    {
+        for (V v : g.vertexSet()) {
+            exportAdjacencyListRow(g, v, this::getVertexId, out);
+        }
+    }
+
+    private void exportAdjacencyListRow(
+        Graph<V, E> g, V v, Function<V, String> ids, PrintWriter out)
     {
         boolean exportEdgeWeights = parameters.contains(CSVFormat.Parameter.EDGE_WEIGHTS);
 
-        for (V v : g.vertexSet()) {
-            exportEscapedField(out, getVertexId(v));
-            for (E e : g.outgoingEdgesOf(v)) {
-                V w = Graphs.getOppositeVertex(g, e, v);
+        exportEscapedField(out, ids.apply(v));
+        for (E e : g.outgoingEdgesOf(v)) {
+            V w = Graphs.getOppositeVertex(g, e, v);
+            out.print(delimiter);
+            exportEscapedField(out, ids.apply(w));
+            if (exportEdgeWeights) {
                 out.print(delimiter);
-                exportEscapedField(out, getVertexId(w));
-                if (exportEdgeWeights) {
-                    out.print(delimiter);
-                    exportEscapedField(out, String.valueOf(g.getEdgeWeight(e)));
-                }
+                exportEscapedField(out, String.valueOf(g.getEdgeWeight(e)));
             }
-            out.println();
         }
+        out.println();
     }
 
     private void exportAsMatrix(Graph<V, E> g, PrintWriter out)
+    {
+        boolean exportNodeId = parameters.contains(CSVFormat.Parameter.MATRIX_FORMAT_NODEID);
+
+        if (exportNodeId) {
+            exportMatrixHeader(g, this::getVertexId, out);
+        }
+        for (V v : g.vertexSet()) {
+            exportMatrixRow(g, v, this::getVertexId, out);
+        }
+    }
+
+    private void exportMatrixHeader(Graph<V, E> g, Function<V, String> ids, PrintWriter out)
+    {
+        for (V v : g.vertexSet()) {
+            out.print(delimiter);
+            exportEscapedField(out, ids.apply(v));
+        }
+        out.println();
+    }
+
+    private void exportMatrixRow(Graph<V, E> g, V v, Function<V, String> ids, PrintWriter out)
     {
         boolean exportNodeId = parameters.contains(CSVFormat.Parameter.MATRIX_FORMAT_NODEID);
         boolean exportEdgeWeights = parameters.contains(CSVFormat.Parameter.EDGE_WEIGHTS);
         boolean zeroWhenNoEdge =
             parameters.contains(CSVFormat.Parameter.MATRIX_FORMAT_ZERO_WHEN_NO_EDGE);
 
+        int n = g.vertexSet().size();
         if (exportNodeId) {
-            for (V v : g.vertexSet()) {
-                out.print(delimiter);
-                exportEscapedField(out, getVertexId(v));
-            }
-            out.println();
+            exportEscapedField(out, ids.apply(v));
+            out.print(delimiter);
         }
-        int n = g.vertexSet().size();
-        for (V v : g.vertexSet()) {
-            if (exportNodeId) {
-                exportEscapedField(out, getVertexId(v));
-                out.print(delimiter);
-            }
-            int i = 0;
-            for (V u : g.vertexSet()) {
-                E e = g.getEdge(v, u);
-                if (e == null) {
-                    if (zeroWhenNoEdge) {
-                        exportEscapedField(out, "0");
-                    }
-                } else {
-                    if (exportEdgeWeights) {
-                        exportEscapedField(out, String.valueOf(g.getEdgeWeight(e)));
-                    } else {
-                        exportEscapedField(out, "1");
-                    }
+        int i = 0;
+        for (V u : g.vertexSet()) {
+            E e = g.getEdge(v, u);
+            if (e == null) {
+                if (zeroWhenNoEdge) {
+                    exportEscapedField(out, "0");
                 }
-                if (i++ < n - 1) {
-                    out.print(delimiter);
+            } else {
+                if (exportEdgeWeights) {
+                    exportEscapedField(out, String.valueOf(g.getEdgeWeight(e)));
+                } else {
+                    exportEscapedField(out, "1");
                 }
             }
-            out.println();
+            if (i++ < n - 1) {
+                out.print(delimiter);
+            }
         }
+        out.println();
     }
 
     private void exportEscapedField(PrintWriter out, String field)
@@ -291,4 +432,75 @@ public class CSVExporter<V, E>
         out.print(DSVUtils.escapeDSV(field, delimiter));
     }
 
+    /**
+     * Encoder of the rows of a graph. The vertex identifiers are computed in advance, in the order
+     * of a sequential export, since the vertex id provider need not be thread-safe.
+     */
+    private class Rows
+        implements
+        ParallelLineWriter.RangeEncoder
+    {
+        private final Graph<V, E> g;
+        private final List<V> vertices;
+        private final List<E> edges;
+        private final Map<V, String> ids;
+        private final int count;
+
+        Rows(Graph<V, E> g)
+        {
+            this.g = g;
+            this.vertices = new ArrayList<>(g.vertexSet());
+            this.ids = new HashMap<>();
+            if (format == CSVFormat.EDGE_LIST) {
+                this.edges = new ArrayList<>(g.edgeSet());
+                for (E e : edges) {
+                    ids.computeIfAbsent(g.getEdgeSource(e), CSVExporter.this::getVertexId);
+                    ids.computeIfAbsent(g.getEdgeTarget(e), CSVExporter.this::getVertexId);
+                }
+                this.count = edges.size();
+            } else {
+                this.edges = null;
+                for (V v : vertices) {
+                    ids.computeIfAbsent(v, CSVExporter.this::getVertexId);
+                    if (format == CSVFormat.ADJACENCY_LIST) {
+                        for (E e : g.outgoingEdgesOf(v)) {
+                            ids
+                                .computeIfAbsent(
+                                    Graphs.getOppositeVertex(g, e, v),
+                                    CSVExporter.this::getVertexId);
+                        }
+                    }
+                }
+                this.count = vertices.size();
+            }
+        }
+
+        @Override
+        public void encode(int from, int to, Writer writer)
+        {
+            PrintWriter out = new PrintWriter(writer);
+            switch (format) {
+            case EDGE_LIST:
+                for (int i = from; i < to; i++) {
+                    exportEdgeListRow(g, edges.get(i), ids::get, out);
+                }
+                break;
+            case ADJACENCY_LIST:
+                for (int i = from; i < to; i++) {
+                    exportAdjacencyListRow(g, vertices.get(i), ids::get, out);
+                }
+                break;
+            case MATRIX:
+                if (from == 0 && parameters.contains(CSVFormat.Parameter.MATRIX_FORMAT_NODEID)) {
+                    exportMatrixHeader(g, ids::get, out);
+                }
+                for (int i = from; i < to; i++) {
+                    exportMatrixRow(g, vertices.get(i), ids::get, out);
+                }
+                break;
+            }
+            out.flush();
+        }
+    }
+
 }
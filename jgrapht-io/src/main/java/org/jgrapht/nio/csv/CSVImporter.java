@@ -25,9 +25,12 @@ import org.jgrapht.nio.DefaultAttribute;
 import org.jgrapht.nio.GraphImporter;
 import org.jgrapht.nio.ImportException;
 
+import java.io.File;
+import java.io.InputStream;
 import java.io.Reader;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.Consumer;
@@ -60,6 +63,13 @@ import java.util.function.Function;
  * </p>
  * 
  * <p>
+ * Files in the {@link CSVFormat#EDGE_LIST} and {@link CSVFormat#ADJACENCY_LIST} formats can be
+ * parsed by multiple threads, see {@link #setParallelism(int)}. The graph is always modified by the
+ * calling thread. A graph can also be imported from several files, such as the shards written by
+ * {@link CSVExporter#exportGraph(Graph, List)}, see {@link #importGraph(Graph, List)}.
+ * </p>
+ * 
+ * <p>
  * The graph vertices and edges are build using the corresponding graph suppliers. The id of the
  * vertices in the original file are reported as a vertex attribute named "ID".
  * 
@@ -90,6 +100,7 @@ public class CSVImporter<V, E>
     private char delimiter;
     private final Set<CSVFormat.Parameter> parameters;
     private Function<String, V> vertexFactory;
+    private int parallelism;
 
     /**
      * Constructs a new importer using the {@link CSVFormat#ADJACENCY_LIST} format as default.
@@ -124,6 +135,7 @@ public class CSVImporter<V, E>
         }
         this.delimiter = delimiter;
         this.parameters = new HashSet<>();
+        this.parallelism = 1;
     }
 
     /**
@@ -221,6 +233,30 @@ public class CSVImporter<V, E>
         this.vertexFactory = vertexFactory;
     }
 
+    /**
+     * Get the maximum number of threads used to parse a file.
+     * 
+     * @return the parallelism
+     */
+    public int getParallelism()
+    {
+        return parallelism;
+    }
+
+    /**
+     * Set the maximum number of threads used to parse a file in the {@link CSVFormat#EDGE_LIST}
+     * or {@link CSVFormat#ADJACENCY_LIST} format. The default is one.
+     * 
+     * @param parallelism the maximum number of threads
+     */
+    public void setParallelism(int parallelism)
+    {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+        this.parallelism = parallelism;
+    }
+
     /**
      * Import a graph.
      * 
@@ -239,10 +275,79 @@ public class CSVImporter<V, E>
     @Override
     public void importGraph(Graph<V, E> graph, Reader input)
         throws ImportException
+    {
+        createImporter(graph).importInput(input);
+    }
+
+    /**
+     * Import a graph.
+     * 
+     * <p>
+     * The provided graph must be able to support the features of the graph that is read. For
+     * example if the input contains self-loops then the graph provided must also support
+     * self-loops. The same for multiple edges.
+     * 
+     * <p>
+     * If the provided graph is a weighted graph, the importer also reads edge weights.
+     * 
+     * @param graph the graph
+     * @param in the input stream
+     * @throws ImportException in case an error occurs, such as I/O or parse error
+     */
+    @Override
+    public void importGraph(Graph<V, E> graph, InputStream in)
+    {
+        createImporter(graph).importInput(in);
+    }
+
+    /**
+     * Import a graph.
+     * 
+     * <p>
+     * The provided graph must be able to support the features of the graph that is read. For
+     * example if the input contains self-loops then the graph provided must also support
+     * self-loops. The same for multiple edges.
+     * 
+     * <p>
+     * If the provided graph is a weighted graph, the importer also reads edge weights.
+     * 
+     * @param graph the graph
+     * @param file the file to read from
+     * @throws ImportException in case an error occurs, such as I/O or parse error
+     */
+    @Override
+    public void importGraph(Graph<V, E> graph, File file)
+    {
+        createImporter(graph).importInput(file);
+    }
+
+    /**
+     * Import a graph from several files, which are read as if they were concatenated. Files
+     * compressed using gzip are decompressed.
+     * 
+     * <p>
+     * The provided graph must be able to support the features of the graph that is read. For
+     * example if the input contains self-loops then the graph provided must also support
+     * self-loops. The same for multiple edges.
+     * 
+     * <p>
+     * If the provided graph is a weighted graph, the importer also reads edge weights.
+     * 
+     * @param graph the graph
+     * @param files the files to read from
+     * @throws ImportException in case an error occurs, such as I/O or parse error
+     */
+    public void importGraph(Graph<V, E> graph, List<File> files)
+    {
+        createImporter(graph).importInput(files);
+    }
+
+    private CSVEventDrivenImporter createImporter(Graph<V, E> graph)
     {
         CSVEventDrivenImporter genericImporter = new CSVEventDrivenImporter();
         genericImporter.setDelimiter(delimiter);
         genericImporter.setFormat(format);
+        genericImporter.setParallelism(parallelism);
         genericImporter
             .setParameter(
                 CSVFormat.Parameter.EDGE_WEIGHTS, isParameter(CSVFormat.Parameter.EDGE_WEIGHTS));
@@ -258,7 +363,7 @@ public class CSVImporter<V, E>
         Consumers consumers = new Consumers(graph);
         genericImporter.addVertexConsumer(consumers.vertexConsumer);
         genericImporter.addEdgeConsumer(consumers.edgeConsumer);
-        genericImporter.importInput(input);
+        return genericImporter;
     }
 
     private class Consumers
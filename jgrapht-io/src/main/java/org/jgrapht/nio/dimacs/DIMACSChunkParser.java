@@ -0,0 +1,248 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.nio.dimacs;
+
+import org.jgrapht.nio.*;
+
+import java.nio.charset.*;
+import java.util.*;
+
+/**
+ * Parser of a chunk of lines of a DIMACS file. The lines are tokenized exactly as in
+ * {@link DIMACSEventDrivenImporter#importInput(java.io.Reader)}, but directly from the bytes of the
+ * file and without creating strings for the tokens. Vertex numbers are reported as they appear in
+ * the file.
+ */
+class DIMACSChunkParser
+    implements
+    ParallelLineReader.ChunkParser<DIMACSChunkParser.Batch>
+{
+    private static final byte LF = '\n';
+    private static final byte CR = '\r';
+
+    @Override
+    public Batch parse(byte[] bytes, int from, int to)
+    {
+        Batch batch = new Batch();
+        int[] tokenStarts = new int[4];
+        int[] tokenEnds = new int[4];
+        int i = from;
+        try {
+            while (i < to) {
+                int start = i;
+                while (i < to && bytes[i] != LF && bytes[i] != CR) {
+                    i++;
+                }
+                int end = i;
+                if (i < to) {
+                    i += bytes[i] == CR && i + 1 < to && bytes[i + 1] == LF ? 2 : 1;
+                }
+                parseLine(bytes, start, end, tokenStarts, tokenEnds, batch);
+            }
+        } catch (ImportException e) {
+            batch.error = e;
+        }
+        return batch;
+    }
+
+    private void parseLine(
+        byte[] b, int start, int end, int[] tokenStarts, int[] tokenEnds, Batch batch)
+    {
+        // split around whitespace like String.split("\\s+")
+        int count = 0;
+        int k = start;
+        if (k < end && isWhitespace(b[k])) {
+            while (k < end && isWhitespace(b[k])) {
+                k++;
+            }
+            if (k == end) {
+                // no columns at all
+                return;
+            }
+            tokenStarts[0] = start;
+            tokenEnds[0] = start;
+            count++;
+        }
+        while (k < end) {
+            int tokenStart = k;
+            while (k < end && !isWhitespace(b[k])) {
+                k++;
+            }
+            if (count < tokenStarts.length) {
+                tokenStarts[count] = tokenStart;
+                tokenEnds[count] = k;
+            }
+            count++;
+            while (k < end && isWhitespace(b[k])) {
+                k++;
+            }
+        }
+        if (count == 0) {
+            // an empty line consists of a single empty column
+            tokenStarts[0] = start;
+            tokenEnds[0] = start;
+            count = 1;
+        }
+
+        int first = tokenStarts[0];
+        int firstLength = tokenEnds[0] - first;
+        if ((firstLength == 1 && b[first] == 'c') || (firstLength > 0 && b[first] == '%')) {
+            return;
+        }
+
+        boolean firstLine = batch.first == Batch.NONE;
+        if (firstLine) {
+            batch.first = Batch.OTHER;
+        }
+        if (firstLength == 1 && b[first] == 'p') {
+            if (firstLine) {
+                parseProblemLine(b, count, tokenStarts, tokenEnds, batch);
+            }
+        } else if (firstLength == 1 && (b[first] == 'e' || b[first] == 'a')) {
+            if (count < 3) {
+                String line = new String(b, start, end - start, StandardCharsets.UTF_8);
+                throw new ImportException(
+                    "Failed to parse edge:" + Arrays.toString(line.split("\\s+")));
+            }
+            int source;
+            try {
+                source = parseInt(b, tokenStarts[1], tokenEnds[1]);
+            } catch (NumberFormatException e) {
+                throw new ImportException("Failed to parse edge source node:" + e.getMessage(), e);
+            }
+            int target;
+            try {
+                target = parseInt(b, tokenStarts[2], tokenEnds[2]);
+            } catch (NumberFormatException e) {
+                throw new ImportException("Failed to parse edge target node:" + e.getMessage(), e);
+            }
+            double weight = Double.NaN;
+            boolean hasWeight = false;
+            if (count > 3) {
+                try {
+                    weight = Double
+                        .parseDouble(
+                            new String(
+                                b, tokenStarts[3], tokenEnds[3] - tokenStarts[3],
+                                StandardCharsets.UTF_8));
+                    hasWeight = true;
+                } catch (NumberFormatException e) {
+                    // ignore
+                }
+            }
+            batch.addEdge(source, target, weight, hasWeight);
+        }
+    }
+
+    private static void parseProblemLine(
+        byte[] b, int count, int[] tokenStarts, int[] tokenEnds, Batch batch)
+    {
+        if (count < 3) {
+            batch.problemError = "Failed to read number of vertices.";
+            return;
+        }
+        int nodes;
+        try {
+            nodes = parseInt(b, tokenStarts[2], tokenEnds[2]);
+        } catch (NumberFormatException e) {
+            batch.problemError = "Failed to read number of vertices.";
+            return;
+        }
+        if (nodes < 0) {
+            batch.problemError = "Negative number of vertices.";
+            return;
+        }
+        batch.first = Batch.PROBLEM;
+        batch.vertexCount = nodes;
+    }
+
+    private static boolean isWhitespace(byte c)
+    {
+        return c == ' ' || c == '\t' || c == LF || c == 0x0B || c == '\f' || c == CR;
+    }
+
+    /**
+     * Parse an integer like {@link Integer#parseInt(String)} does.
+     */
+    private static int parseInt(byte[] b, int start, int end)
+    {
+        int i = start;
+        boolean negative = false;
+        if (i < end && (b[i] == '-' || b[i] == '+')) {
+            negative = b[i] == '-';
+            i++;
+        }
+        if (i < end && end - i <= 9) {
+            int value = 0;
+            for (; i < end; i++) {
+                int digit = b[i] - '0';
+                if (digit < 0 || digit > 9) {
+                    break;
+                }
+                value = 10 * value + digit;
+            }
+            if (i == end) {
+                return negative ? -value : value;
+            }
+        }
+        // rare cases, including errors, are handled by the library
+        return Integer.parseInt(new String(b, start, end - start, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * The edges of a chunk of lines.
+     */
+    static class Batch
+    {
+        /* no line of the chunk which is not a comment */
+        static final int NONE = 0;
+        /* the first line which is not a comment is a valid problem line */
+        static final int PROBLEM = 1;
+        /* the first line which is not a comment is not a valid problem line */
+        static final int OTHER = 2;
+
+        int first = NONE;
+        int vertexCount;
+        String problemError;
+
+        int edgeCount;
+        int[] sources = new int[16];
+        int[] targets = new int[16];
+        double[] weights = new double[16];
+        BitSet hasWeight = new BitSet();
+
+        /* the error after the parsed edges of the chunk */
+        ImportException error;
+
+        private void addEdge(int source, int target, double weight, boolean weighted)
+        {
+            if (edgeCount == sources.length) {
+                sources = Arrays.copyOf(sources, 2 * edgeCount);
+                targets = Arrays.copyOf(targets, 2 * edgeCount);
+                weights = Arrays.copyOf(weights, 2 * edgeCount);
+            }
+            sources[edgeCount] = source;
+            targets[edgeCount] = target;
+            weights[edgeCount] = weight;
+            if (weighted) {
+                hasWeight.set(edgeCount);
+            }
+            edgeCount++;
+        }
+    }
+}
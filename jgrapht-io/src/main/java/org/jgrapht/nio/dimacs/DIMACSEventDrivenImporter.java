@@ -22,13 +22,19 @@ import org.jgrapht.nio.BaseEventDrivenImporter;
 import org.jgrapht.nio.EventDrivenImporter;
 import org.jgrapht.nio.ImportEvent;
 import org.jgrapht.nio.ImportException;
+import org.jgrapht.nio.IntEdgeConsumer;
+import org.jgrapht.nio.ParallelLineReader;
 
 import java.io.BufferedReader;
+import java.io.File;
 import java.io.IOException;
 import java.io.Reader;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * A generic importer using consumers for DIMACS format.
@@ -72,6 +78,17 @@ import java.util.Map;
  * 
  * Note: the current implementation does not fully implement the DIMACS specifications! Special
  * (rarely used) fields specified as 'Optional Descriptors' are currently not supported (ignored).
+ * 
+ * <p>
+ * When importing from a {@link File}, the file is split into chunks of lines which are parsed in
+ * parallel, see {@link #parallelism(int)}. The vertex count and the edges are still reported in the
+ * order of the file, by the calling thread. Files compressed using gzip are decompressed. The input
+ * can also consist of several files, such as the shards written by
+ * {@link DIMACSExporter#exportGraph(org.jgrapht.Graph, List)}, see {@link #importInput(List)}.
+ * 
+ * <p>
+ * The edges are also reported to the {@link IntEdgeConsumer}s, with a weight of {@link Double#NaN}
+ * if the edge has none. If only such consumers are registered, no object is created per edge.
  *
  * @author Michael Behrisch (adaptation of GraphReader class)
  * @author Joris Kinable
@@ -86,6 +103,9 @@ public class DIMACSEventDrivenImporter
 {
     private boolean zeroBasedNumbering;
     private boolean renumberVertices;
+    private int parallelism;
+    /* the size of the chunks of a file, only changed by tests */
+    int chunkSize = ParallelLineReader.DEFAULT_CHUNK_SIZE;
 
     private final Map<String, Integer> vertexMap;
     private int nextId;
@@ -98,6 +118,7 @@ public class DIMACSEventDrivenImporter
         super();
         this.zeroBasedNumbering = true;
         this.renumberVertices = true;
+        this.parallelism = 1;
         this.vertexMap = new HashMap<>();
     }
 
@@ -132,6 +153,54 @@ public class DIMACSEventDrivenImporter
         return this;
     }
 
+    /**
+     * Set the maximum number of threads used to parse a file. Defaults to one.
+     * 
+     * @param parallelism the maximum number of threads
+     * @return the importer
+     */
+    public DIMACSEventDrivenImporter parallelism(int parallelism)
+    {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    @Override
+    public void importInput(File file)
+    {
+        importInput(Collections.singletonList(file));
+    }
+
+    /**
+     * Import an input which consists of several files, as if the files were concatenated. Every
+     * file must end with a complete line. Files compressed using gzip are decompressed.
+     * 
+     * @param files the files
+     * @throws ImportException in case any error occurs, such as I/O or parse error
+     */
+    public void importInput(List<File> files)
+    {
+        if (zeroBasedNumbering) {
+            this.nextId = 0;
+        } else {
+            this.nextId = 1;
+        }
+
+        notifyImportEvent(ImportEvent.START);
+
+        ChunkConsumer consumer = new ChunkConsumer();
+        ParallelLineReader reader = new ParallelLineReader(parallelism, chunkSize, 2 * parallelism);
+        reader.read(files, new DIMACSChunkParser(), consumer);
+        if (!consumer.problemLineRead) {
+            throw new ImportException("Failed to read number of vertices.");
+        }
+
+        notifyImportEvent(ImportEvent.END);
+    }
+
     @Override
     public void importInput(Reader input)
     {
@@ -190,7 +259,10 @@ public class DIMACSEventDrivenImporter
                 }
 
                 // notify
-                notifyEdge(Triple.of(from, to, weight));
+                if (hasEdgeConsumers()) {
+                    notifyEdge(Triple.of(from, to, weight));
+                }
+                notifyIntEdge(from, to, weight == null ? Double.NaN : weight);
             }
             cols = skipComments(in);
         }
@@ -226,7 +298,7 @@ public class DIMACSEventDrivenImporter
         throws ImportException
     {
         final String[] cols = skipComments(input);
-        if (cols[0].equals("p")) {
+        if (cols != null && cols[0].equals("p")) {
             if (cols.length < 3) {
                 throw new ImportException("Failed to read number of vertices.");
             }
@@ -265,4 +337,53 @@ public class DIMACSEventDrivenImporter
         }
     }
 
+    /**
+     * Reports the vertex count and the edges of the parsed chunks of a file.
+     */
+    private class ChunkConsumer
+        implements
+        Consumer<DIMACSChunkParser.Batch>
+    {
+        private boolean problemLineRead;
+
+        @Override
+        public void accept(DIMACSChunkParser.Batch batch)
+        {
+            if (!problemLineRead) {
+                if (batch.first == DIMACSChunkParser.Batch.NONE) {
+                    return;
+                }
+                if (batch.first != DIMACSChunkParser.Batch.PROBLEM) {
+                    throw new ImportException(
+                        batch.problemError != null ? batch.problemError
+                            : "Failed to read number of vertices.");
+                }
+                notifyVertexCount(batch.vertexCount);
+                problemLineRead = true;
+            }
+
+            boolean edgeConsumers = hasEdgeConsumers();
+            for (int i = 0; i < batch.edgeCount; i++) {
+                int from = mapVertex(batch.sources[i]);
+                int to = mapVertex(batch.targets[i]);
+                boolean hasWeight = batch.hasWeight.get(i);
+                if (edgeConsumers) {
+                    notifyEdge(Triple.of(from, to, hasWeight ? batch.weights[i] : null));
+                }
+                notifyIntEdge(from, to, hasWeight ? batch.weights[i] : Double.NaN);
+            }
+            if (batch.error != null) {
+                throw batch.error;
+            }
+        }
+
+        private int mapVertex(int id)
+        {
+            if (renumberVertices) {
+                return mapVertexToInteger(String.valueOf(id));
+            }
+            return zeroBasedNumbering ? id - 1 : id;
+        }
+    }
+
 }
@@ -21,10 +21,18 @@ import org.jgrapht.Graph;
 import org.jgrapht.nio.BaseExporter;
 import org.jgrapht.nio.GraphExporter;
 import org.jgrapht.nio.IntegerIdProvider;
+import org.jgrapht.nio.ParallelLineWriter;
 
+import java.io.File;
+import java.io.OutputStream;
 import java.io.PrintWriter;
 import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.function.Function;
@@ -38,6 +46,16 @@ import java.util.function.Function;
  * each different challenge, see {@link DIMACSFormat} for the supported formats. The exporter uses
  * the {@link DIMACSFormat#MAX_CLIQUE} by default.
  * 
+ * <p>
+ * When exporting to an {@link OutputStream} or to several files, the edges can be encoded by
+ * multiple threads, see {@link #setParallelism(int)}, and compressed using gzip, see
+ * {@link #setCompressed(boolean)}. A graph can be exported into several files using
+ * {@link #exportGraph(Graph, List)}, whose concatenation is identical to the output of a single
+ * file. The files can be imported in parallel using
+ * {@link DIMACSImporter#importGraph(Graph, List)}. The vertex identifiers are always computed by
+ * the calling thread, in the same order as in a sequential export. The graph must not be modified
+ * during the export.
+ * 
  * @param <V> the graph vertex type
  * @param <E> the graph edge type
  *
@@ -58,6 +76,8 @@ public class DIMACSExporter<V, E>
 
     private final Set<Parameter> parameters;
     private DIMACSFormat format;
+    private int parallelism;
+    private boolean compressed;
 
     /**
      * Parameters that affect the behavior of the {@link DIMACSExporter} exporter.
@@ -99,6 +119,8 @@ public class DIMACSExporter<V, E>
         super(vertexIdProvider);
         this.format = Objects.requireNonNull(format, "Format cannot be null");
         this.parameters = new HashSet<>();
+        this.parallelism = 1;
+        this.compressed = false;
     }
 
     @Override
@@ -106,28 +128,132 @@ public class DIMACSExporter<V, E>
     {
         PrintWriter out = new PrintWriter(writer);
 
+        exportHeader(g, out);
+        for (E edge : g.edgeSet()) {
+            exportEdge(g, edge, this::getVertexId, out);
+        }
+
+        out.flush();
+    }
+
+    /**
+     * Exports a graph. If the parallelism is larger than one or compression is enabled, the edges
+     * are encoded in blocks, see {@link ParallelLineWriter}.
+     *
+     * @param g the graph
+     * @param out the output stream
+     */
+    @Override
+    public void exportGraph(Graph<V, E> g, OutputStream out)
+    {
+        if (parallelism == 1 && !compressed) {
+            GraphExporter.super.exportGraph(g, out);
+            return;
+        }
+        Lines lines = new Lines(g);
+        new ParallelLineWriter(parallelism, compressed).write(lines.edges.size(), lines, out);
+    }
+
+    /**
+     * Exports a graph to a file. If the parallelism is larger than one or compression is enabled,
+     * the edges are encoded in blocks, see {@link ParallelLineWriter}.
+     *
+     * @param g the graph
+     * @param file the file
+     */
+    @Override
+    public void exportGraph(Graph<V, E> g, File file)
+    {
+        if (parallelism == 1 && !compressed) {
+            GraphExporter.super.exportGraph(g, file);
+            return;
+        }
+        exportGraph(g, Collections.singletonList(file));
+    }
+
+    /**
+     * Exports a graph into several files. The edges are divided into as many contiguous ranges as
+     * there are files, so that the concatenation of the files is identical to the output of a
+     * single file. The header is written to the file of the first edge.
+     *
+     * @param g the graph
+     * @param files the files
+     */
+    public void exportGraph(Graph<V, E> g, List<File> files)
+    {
+        Lines lines = new Lines(g);
+        new ParallelLineWriter(parallelism, compressed).write(lines.edges.size(), lines, files);
+    }
+
+    private void exportHeader(Graph<V, E> g, PrintWriter out)
+    {
         out.println("c");
         out.println("c SOURCE: " + HEADER);
         out.println("c");
         out.println(
             "p " + format.getProblem() + " " + g.vertexSet().size() + " " + g.edgeSet().size());
+    }
 
+    private void exportEdge(Graph<V, E> g, E edge, Function<V, String> ids, PrintWriter out)
+    {
         boolean exportEdgeWeights = parameters.contains(Parameter.EXPORT_EDGE_WEIGHTS);
 
-        for (E edge : g.edgeSet()) {
-            out.print(format.getEdgeDescriptor());
-            out.print(" ");
-            out.print(getVertexId(g.getEdgeSource(edge)));
+        out.print(format.getEdgeDescriptor());
+        out.print(" ");
+        out.print(ids.apply(g.getEdgeSource(edge)));
+        out.print(" ");
+        out.print(ids.apply(g.getEdgeTarget(edge)));
+        if (exportEdgeWeights) {
             out.print(" ");
-            out.print(getVertexId(g.getEdgeTarget(edge)));
-            if (exportEdgeWeights) {
-                out.print(" ");
-                out.print(g.getEdgeWeight(edge));
-            }
-            out.println();
+            out.print(g.getEdgeWeight(edge));
         }
+        out.println();
+    }
 
-        out.flush();
+    /**
+     * Get the maximum number of threads used to encode the edges.
+     * 
+     * @return the parallelism
+     */
+    public int getParallelism()
+    {
+        return parallelism;
+    }
+
+    /**
+     * Set the maximum number of threads used to encode the edges, when exporting to an
+     * {@link OutputStream} or to several files. The default is one.
+     * 
+     * @param parallelism the maximum number of threads
+     */
+    public void setParallelism(int parallelism)
+    {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Whether the output is compressed using gzip.
+     * 
+     * @return {@code true} if the output is compressed
+     */
+    public boolean isCompressed()
+    {
+        return compressed;
+    }
+
+    /**
+     * Set whether the output is compressed using gzip, when exporting to an {@link OutputStream}
+     * or to several files. Every block of edges is compressed into a separate gzip member. The
+     * default is {@code false}.
+     * 
+     * @param compressed whether to compress the output
+     */
+    public void setCompressed(boolean compressed)
+    {
+        this.compressed = compressed;
     }
 
     /**
@@ -176,4 +302,41 @@ public class DIMACSExporter<V, E>
         this.format = Objects.requireNonNull(format, "Format cannot be null");
     }
 
+    /**
+     * Encoder of the lines of a graph. The vertex identifiers are computed in advance, in the
+     * order of a sequential export, since the vertex id provider need not be thread-safe.
+     */
+    private class Lines
+        implements
+        ParallelLineWriter.RangeEncoder
+    {
+        private final Graph<V, E> g;
+        private final List<E> edges;
+        private final Map<V, String> ids;
+
+        Lines(Graph<V, E> g)
+        {
+            this.g = g;
+            this.edges = new ArrayList<>(g.edgeSet());
+            this.ids = new HashMap<>();
+            for (E e : edges) {
+                ids.computeIfAbsent(g.getEdgeSource(e), DIMACSExporter.this::getVertexId);
+                ids.computeIfAbsent(g.getEdgeTarget(e), DIMACSExporter.this::getVertexId);
+            }
+        }
+
+        @Override
+        public void encode(int from, int to, Writer writer)
+        {
+            PrintWriter out = new PrintWriter(writer);
+            if (from == 0) {
+                exportHeader(g, out);
+            }
+            for (int i = from; i < to; i++) {
+                exportEdge(g, edges.get(i), ids::get, out);
+            }
+            out.flush();
+        }
+    }
+
 }
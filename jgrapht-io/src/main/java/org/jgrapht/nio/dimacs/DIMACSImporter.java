@@ -18,15 +18,16 @@
 package org.jgrapht.nio.dimacs;
 
 import org.jgrapht.Graph;
-import org.jgrapht.alg.util.Triple;
 import org.jgrapht.nio.BaseEventDrivenImporter;
 import org.jgrapht.nio.DefaultAttribute;
 import org.jgrapht.nio.GraphImporter;
 import org.jgrapht.nio.ImportException;
+import org.jgrapht.nio.IntEdgeConsumer;
 
+import java.io.File;
 import java.io.Reader;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
@@ -87,6 +88,7 @@ public class DIMACSImporter<V, E>
 
     private Function<Integer, V> vertexFactory;
     private final double defaultWeight;
+    private int parallelism;
 
     /**
      * Construct a new DIMACSImporter
@@ -97,6 +99,7 @@ public class DIMACSImporter<V, E>
     {
         super();
         this.defaultWeight = defaultWeight;
+        this.parallelism = 1;
     }
 
     /**
@@ -133,6 +136,30 @@ public class DIMACSImporter<V, E>
         this.vertexFactory = vertexFactory;
     }
 
+    /**
+     * Get the maximum number of threads used to parse a file.
+     * 
+     * @return the parallelism
+     */
+    public int getParallelism()
+    {
+        return parallelism;
+    }
+
+    /**
+     * Set the maximum number of threads used to parse a file. The default is one. The graph is
+     * always modified by the calling thread.
+     * 
+     * @param parallelism the maximum number of threads
+     */
+    public void setParallelism(int parallelism)
+    {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+        this.parallelism = parallelism;
+    }
+
     /**
      * Import a graph.
      * 
@@ -153,30 +180,78 @@ public class DIMACSImporter<V, E>
     public void importGraph(Graph<V, E> graph, Reader input)
         throws ImportException
     {
-        DIMACSEventDrivenImporter genericImporter =
-            new DIMACSEventDrivenImporter().renumberVertices(false).zeroBasedNumbering(false);
+        createImporter(graph).importInput(input);
+    }
+
+    /**
+     * Import a graph.
+     * 
+     * <p>
+     * The provided graph must be able to support the features of the graph that is read. For
+     * example if the file contains self-loops then the graph provided must also support self-loops.
+     * The same for multiple edges.
+     * 
+     * <p>
+     * If the provided graph is a weighted graph, the importer also reads edge weights. Otherwise
+     * edge weights are ignored.
+     * 
+     * @param graph the output graph
+     * @param file the file to read from
+     * @throws ImportException in case an error occurs, such as I/O or parse error
+     */
+    @Override
+    public void importGraph(Graph<V, E> graph, File file)
+        throws ImportException
+    {
+        createImporter(graph).importInput(file);
+    }
+
+    /**
+     * Import a graph from several files, which are read as if they were concatenated. Files
+     * compressed using gzip are decompressed.
+     * 
+     * <p>
+     * The provided graph must be able to support the features of the graph that is read. For
+     * example if the file contains self-loops then the graph provided must also support self-loops.
+     * The same for multiple edges.
+     * 
+     * <p>
+     * If the provided graph is a weighted graph, the importer also reads edge weights. Otherwise
+     * edge weights are ignored.
+     * 
+     * @param graph the output graph
+     * @param files the files to read from
+     * @throws ImportException in case an error occurs, such as I/O or parse error
+     */
+    public void importGraph(Graph<V, E> graph, List<File> files)
+        throws ImportException
+    {
+        createImporter(graph).importInput(files);
+    }
+
+    private DIMACSEventDrivenImporter createImporter(Graph<V, E> graph)
+    {
+        DIMACSEventDrivenImporter genericImporter = new DIMACSEventDrivenImporter()
+            .renumberVertices(false).zeroBasedNumbering(false).parallelism(parallelism);
         Consumers consumers = new Consumers(graph);
         genericImporter.addVertexCountConsumer(consumers.nodeCountConsumer);
-        genericImporter.addEdgeConsumer(consumers.edgeConsumer);
-        genericImporter.importInput(input);
+        genericImporter.addIntEdgeConsumer(consumers.edgeConsumer);
+        return genericImporter;
     }
 
     private class Consumers
     {
         private Graph<V, E> graph;
-        private Integer nodeCount;
-        private Map<Integer, V> map;
+        private List<V> vertices;
 
         public Consumers(Graph<V, E> graph)
         {
             this.graph = graph;
-            this.nodeCount = null;
-            this.map = new HashMap<Integer, V>();
+            this.vertices = new ArrayList<>();
         }
 
         public final Consumer<Integer> nodeCountConsumer = (n) -> {
-            this.nodeCount = n;
-            for (int i = 1; i <= nodeCount; i++) {
+            for (int i = 1; i <= n; i++) {
                 V v;
                 if (vertexFactory != null) {
                     v = vertexFactory.apply(i);
@@ -185,7 +260,7 @@ public class DIMACSImporter<V, E>
                     v = graph.addVertex();
                 }
 
-                map.put(i, v);
+                vertices.add(v);
 
                 /*
                  * Notify the first time we create the node.
@@ -196,28 +271,33 @@ public class DIMACSImporter<V, E>
             }
         };
 
-        public final Consumer<Triple<Integer, Integer, Double>> edgeConsumer = (t) -> {
-            int source = t.getFirst();
-            V from = map.get(t.getFirst());
+        public final IntEdgeConsumer edgeConsumer = (source, target, weight) -> {
+            V from = getVertex(source);
             if (from == null) {
                 throw new ImportException("Node " + source + " does not exist");
             }
 
-            int target = t.getSecond();
-            V to = map.get(target);
+            V to = getVertex(target);
             if (to == null) {
                 throw new ImportException("Node " + target + " does not exist");
             }
 
             E e = graph.addEdge(from, to);
             if (graph.getType().isWeighted()) {
-                double weight = t.getThird() == null ? defaultWeight : t.getThird();
-                graph.setEdgeWeight(e, weight);
+                graph.setEdgeWeight(e, Double.isNaN(weight) ? defaultWeight : weight);
             }
 
             notifyEdge(e);
         };
 
+        private V getVertex(int id)
+        {
+            if (id < 1 || id > vertices.size()) {
+                return null;
+            }
+            return vertices.get(id - 1);
+        }
+
     }
 
 }
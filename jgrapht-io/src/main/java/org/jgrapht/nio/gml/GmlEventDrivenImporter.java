@@ -97,6 +97,10 @@ import java.util.Map;
  * 
  * the points attribute of the edge is returned as a string containing "[ x 1.0 y 2.0 ]".
  * 
+ * <p>
+ * The edges are also reported to the {@link org.jgrapht.nio.IntEdgeConsumer}s, with a weight of
+ * {@link Double#NaN} if the edge has none.
+ * 
  * @author Dimitrios Michail
  */
 public class GmlEventDrivenImporter
@@ -335,6 +339,7 @@ public class GmlEventDrivenImporter
                 if (sourceId != null && targetId != null) {
                     Triple<Integer, Integer, Double> et = Triple.of(sourceId, targetId, weight);
                     notifyEdge(et);
+                    notifyIntEdge(sourceId, targetId, weight == null ? Double.NaN : weight);
                     if (weight != null) {
                         notifyEdgeAttribute(et, WEIGHT, DefaultAttribute.createAttribute(weight));
                     }
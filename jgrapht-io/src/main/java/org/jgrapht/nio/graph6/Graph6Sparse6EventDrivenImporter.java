@@ -22,10 +22,16 @@ import org.jgrapht.nio.BaseEventDrivenImporter;
 import org.jgrapht.nio.EventDrivenImporter;
 import org.jgrapht.nio.ImportEvent;
 import org.jgrapht.nio.ImportException;
+import org.jgrapht.nio.IntEdgeConsumer;
+import org.jgrapht.nio.ParallelLineReader;
 
 import java.io.BufferedReader;
+import java.io.File;
 import java.io.IOException;
 import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 /**
  * Importer which reads graphs in graph6 or sparse6 format.
@@ -52,6 +58,15 @@ import java.io.Reader;
  * <pre>
  * <code>":?@MnDA\\oi"</code>
  * </pre>
+ * 
+ * <p>
+ * Method {@link #importInput(Reader)} reads the first graph of the input. Files containing one
+ * graph per line can be read using {@link #importInputs(File)}, which parses the lines using
+ * multiple threads, see {@link #setParallelism(int)}.
+ * 
+ * <p>
+ * The edges are also reported to the {@link IntEdgeConsumer}s, with a weight of {@link Double#NaN}.
+ * If only such consumers are registered, no object is created per edge.
  *
  * @author Joris Kinable
  */
@@ -70,6 +85,10 @@ public class Graph6Sparse6EventDrivenImporter
         SPARSE6
     }
 
+    private int parallelism;
+    /* the size of the chunks of a file, only changed by tests */
+    int chunkSize = ParallelLineReader.DEFAULT_CHUNK_SIZE;
+
     // ~ Constructors ----------------------------------------------------------
 
     /**
@@ -78,6 +97,30 @@ public class Graph6Sparse6EventDrivenImporter
     public Graph6Sparse6EventDrivenImporter()
     {
         super();
+        this.parallelism = 1;
+    }
+
+    /**
+     * Get the maximum number of threads used by {@link #importInputs(File)}.
+     * 
+     * @return the parallelism
+     */
+    public int getParallelism()
+    {
+        return parallelism;
+    }
+
+    /**
+     * Set the maximum number of threads used by {@link #importInputs(File)}. The default is one.
+     * 
+     * @param parallelism the maximum number of threads
+     */
+    public void setParallelism(int parallelism)
+    {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+        this.parallelism = parallelism;
     }
 
     @Override
@@ -109,18 +152,145 @@ public class Graph6Sparse6EventDrivenImporter
         g6 = g6.replace("\n", "").replace("\r", "");
 
         // do the actual parsing
-        new Parser(g6).parse();
+        byte[] bytes = g6.getBytes();
+        Parser parser = new Parser(bytes, 0, bytes.length);
+        int n = parser.readHeader();
+        notifyVertexCount(n);
+        for (int i = 0; i < n; i++) {
+            notifyVertex(i);
+        }
+        parser.readEdges(this::reportEdge);
 
         notifyImportEvent(ImportEvent.END);
     }
 
     /**
-     * The actual parser. The parser assumes the input is a single line.
+     * Import all graphs of a file which contains one graph per line. Empty lines are ignored. The
+     * events of each graph, starting with {@link ImportEvent#START} and ending with
+     * {@link ImportEvent#END}, are reported in the order of the file by the calling thread, while
+     * the lines are parsed in parallel.
+     * 
+     * @param file the input file
+     * @throws ImportException in case an error occurs, such as I/O or parse error
+     */
+    public void importInputs(File file)
+        throws ImportException
+    {
+        ParallelLineReader reader = new ParallelLineReader(parallelism, chunkSize, 2 * parallelism);
+        reader.read(file, Graph6Sparse6EventDrivenImporter::parse, b -> {
+            for (int i = 0; i < b.graphCount; i++) {
+                notifyImportEvent(ImportEvent.START);
+                int n = b.vertexCounts[i];
+                notifyVertexCount(n);
+                for (int v = 0; v < n; v++) {
+                    notifyVertex(v);
+                }
+                for (int e = b.edgeStarts[i]; e < b.edgeStarts[i + 1]; e += 2) {
+                    reportEdge(b.edges[e], b.edges[e + 1]);
+                }
+                notifyImportEvent(ImportEvent.END);
+            }
+            if (b.error != null) {
+                throw b.error;
+            }
+        });
+    }
+
+    /**
+     * Notify the edge consumers and the integer edge consumers for an edge.
+     */
+    private void reportEdge(int u, int v)
+    {
+        if (hasEdgeConsumers()) {
+            notifyEdge(Pair.of(u, v));
+        }
+        notifyIntEdge(u, v, Double.NaN);
+    }
+
+    /**
+     * Parse the graphs of a chunk of lines.
+     */
+    private static Batch parse(byte[] bytes, int from, int to)
+    {
+        Batch batch = new Batch();
+        int i = from;
+        try {
+            while (i < to) {
+                int end = i;
+                while (end < to && bytes[end] != '\n' && bytes[end] != '\r') {
+                    end++;
+                }
+                if (end > i) {
+                    Parser parser = new Parser(bytes, i, end);
+                    batch.startGraph(parser.readHeader());
+                    parser.readEdges(batch::addEdge);
+                    batch.endGraph();
+                }
+                i = end + 1;
+            }
+        } catch (ImportException e) {
+            batch.error = e;
+        } catch (RuntimeException e) {
+            batch.error = new ImportException("Failed to read graph: " + e.getMessage(), e);
+        }
+        return batch;
+    }
+
+    /**
+     * The graphs of a chunk of lines, with the edges stored as consecutive pairs of vertices.
      */
-    private class Parser
+    private static class Batch
+    {
+        int graphCount;
+        int[] vertexCounts = new int[4];
+        int[] edgeStarts = new int[5];
+        int[] edges = new int[16];
+        int edgeEnd;
+        ImportException error;
+
+        void startGraph(int n)
+        {
+            if (graphCount == vertexCounts.length) {
+                vertexCounts = Arrays.copyOf(vertexCounts, 2 * vertexCounts.length);
+                edgeStarts = Arrays.copyOf(edgeStarts, vertexCounts.length + 1);
+            }
+            vertexCounts[graphCount] = n;
+            edgeStarts[graphCount] = edgeEnd;
+        }
+
+        void addEdge(int u, int v)
+        {
+            if (edgeEnd + 2 > edges.length) {
+                edges = Arrays.copyOf(edges, 2 * edges.length);
+            }
+            edges[edgeEnd++] = u;
+            edges[edgeEnd++] = v;
+        }
+
+        void endGraph()
+        {
+            graphCount++;
+            edgeStarts[graphCount] = edgeEnd;
+        }
+    }
+
+    /**
+     * Receives the edges read by the parser.
+     */
+    private interface EdgeSink
+    {
+        void edge(int u, int v);
+    }
+
+    /**
+     * The actual parser. The parser assumes the input is a single line, given as a range of bytes.
+     */
+    private static class Parser
     {
         private Format format;
         private final byte[] bytes;
+        private final int start;
+        private final int end;
         private int byteIndex;
         private int bitIndex;
         private int n;
@@ -128,47 +298,62 @@ public class Graph6Sparse6EventDrivenImporter
         /**
          * Create a new parser.
          * 
-         * @param inputLine an input line
+         * @param bytes the input bytes
+         * @param from the index of the first byte of the line
+         * @param to the index after the last byte of the line
          */
-        public Parser(String inputLine)
+        public Parser(byte[] bytes, int from, int to)
         {
             this.format = Format.GRAPH6;
-            if (inputLine.startsWith(":")) {
-                inputLine = inputLine.substring(1);
+            if (startsWith(bytes, from, to, ":")) {
+                from += 1;
                 this.format = Format.SPARSE6;
-            } else if (inputLine.startsWith(">>sparse6<<:")) {
-                inputLine = inputLine.substring(12);
+            } else if (startsWith(bytes, from, to, ">>sparse6<<:")) {
+                from += 12;
                 this.format = Format.SPARSE6;
-            } else if (inputLine.startsWith(">>graph6<<")) {
-                inputLine = inputLine.substring(10);
+            } else if (startsWith(bytes, from, to, ">>graph6<<")) {
+                from += 10;
             }
 
-            this.bytes = inputLine.getBytes();
-            this.byteIndex = 0;
+            this.bytes = bytes;
+            this.start = from;
+            this.end = to;
+            this.byteIndex = from;
             this.bitIndex = 0;
             this.n = 0;
         }
 
-        public void parse()
+        /**
+         * Validate the input and read the number of vertices.
+         * 
+         * @return the number of vertices
+         */
+        public int readHeader()
         {
             validateInput();
             readNumberOfVertices();
-            notifyVertexCount(n);
-            for (int i = 0; i < n; i++) {
-                notifyVertex(i);
-            }
+            return n;
+        }
+
+        /**
+         * Read the edges. Must be called after {@link #readHeader()}.
+         * 
+         * @param sink the receiver of the edges
+         */
+        public void readEdges(EdgeSink sink)
+        {
             if (format == Format.GRAPH6)
-                readGraph6();
+                readGraph6(sink);
             else
-                readSparse6();
+                readSparse6(sink);
         }
 
-        private void readGraph6()
+        private void readGraph6(EdgeSink sink)
             throws ImportException
         {
             // check whether there's enough data
-            int requiredBytes = (int) Math.ceil(n * (n - 1) / 12.0) + byteIndex;
-            if (bytes.length < requiredBytes)
+            int requiredBytes = (int) Math.ceil(n * (n - 1) / 12.0) + byteIndex - start;
+            if (end - start < requiredBytes)
                 throw new ImportException(
                     "Graph string seems to be corrupt. Not enough data to read graph6 graph");
 
@@ -177,15 +362,19 @@ public class Graph6Sparse6EventDrivenImporter
                 for (int j = 0; j < i; j++) {
                     int bit = getBits(1);
                     if (bit == 1) {
-                        notifyEdge(Pair.of(i, j));
+                        sink.edge(i, j);
                     }
                 }
             }
         }
 
-        private void readSparse6()
+        private void readSparse6(EdgeSink sink)
             throws ImportException
         {
+            if (n == 0) {
+                return;
+            }
+
             // number of bits needed to represent n-1 in binary
             int k = (int) Math.ceil(Math.log(n) / Math.log(2));
 
@@ -194,7 +383,7 @@ public class Graph6Sparse6EventDrivenImporter
 
             // The remaining bytes encode a sequence b[0] x[0] b[1] x[1] b[2] x[2] ... b[m] x[m]
             // Read blocks. In decoding, an incomplete (b,x) pair at the end is discarded.
-            int dataBits = bytes.length * 6 - (byteIndex * 6 + bitIndex);
+            int dataBits = (end - byteIndex) * 6 - bitIndex;
             while (dataBits >= 1 + k) { // while there's data remaining
                 int b = getBits(1); // Read x[i]
                 int x = getBits(k); // Read b[i]
@@ -208,7 +397,7 @@ public class Graph6Sparse6EventDrivenImporter
                 if (x > v)
                     v = x;
                 else
-                    notifyEdge(Pair.of(x, v));
+                    sink.edge(x, v);
                 dataBits -= 1 + k;
             }
         }
@@ -221,10 +410,12 @@ public class Graph6Sparse6EventDrivenImporter
         private void validateInput()
             throws ImportException
         {
-            for (byte b : bytes)
+            for (int i = start; i < end; i++) {
+                byte b = bytes[i];
                 if (b < 63 || b > 126)
                     throw new ImportException(
                         "Graph string seems to be corrupt. Illegal character detected: " + b);
+            }
         }
 
         /**
@@ -236,20 +427,24 @@ public class Graph6Sparse6EventDrivenImporter
             throws ImportException
         {
             // Determine whether the number of vertices is encoded in 1, 4 or 8 bytes.
+            int length = end - start;
             int n;
-            if (bytes.length > 8 && bytes[0] == 126 && bytes[1] == 126) {
+            if (length > 8 && bytes[start] == 126 && bytes[start + 1] == 126) {
                 byteIndex += 2; // Strip the first 2 garbage bytes
                 n = getBits(36);
                 if (n < 258048)
                     throw new ImportException(
                         GRAPH_STRING_SEEMS_TO_BE_CORRUPT_INVALID_NUMBER_OF_VERTICES);
-            } else if (bytes.length > 4 && bytes[0] == 126) {
+            } else if (length > 4 && bytes[start] == 126) {
                 byteIndex++; // Strip the first garbage byte
                 n = getBits(18);
                 if (n < 63 || n > 258047)
                     throw new ImportException(
                         GRAPH_STRING_SEEMS_TO_BE_CORRUPT_INVALID_NUMBER_OF_VERTICES);
             } else {
+                if (length == 0)
+                    throw new ImportException(
+                        GRAPH_STRING_SEEMS_TO_BE_CORRUPT_INVALID_NUMBER_OF_VERTICES);
                 n = getBits(6);
                 if (n < 0 || n > 62)
                     throw new ImportException(
@@ -301,6 +496,19 @@ public class Graph6Sparse6EventDrivenImporter
             }
             return value;
         }
+
+        private static boolean startsWith(byte[] bytes, int from, int to, String prefix)
+        {
+            if (to - from < prefix.length()) {
+                return false;
+            }
+            for (int i = 0; i < prefix.length(); i++) {
+                if (bytes[from + i] != prefix.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
     }
 
 }
@@ -18,17 +18,20 @@
 package org.jgrapht.nio.graph6;
 
 import org.jgrapht.Graph;
-import org.jgrapht.alg.util.Pair;
 import org.jgrapht.nio.BaseEventDrivenImporter;
 import org.jgrapht.nio.DefaultAttribute;
 import org.jgrapht.nio.GraphImporter;
+import org.jgrapht.nio.ImportEvent;
 import org.jgrapht.nio.ImportException;
+import org.jgrapht.nio.IntEdgeConsumer;
 
+import java.io.File;
 import java.io.Reader;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * Importer which reads graphs in graph6 or sparse6 format.
@@ -67,6 +70,11 @@ import java.util.function.Function;
  * vertices. The user can also bypass vertex creation by providing a custom vertex factory method
  * using {@link #setVertexFactory(Function)}. The factory method is responsible to create a new
  * graph vertex given the vertex identifier read from file.
+ * 
+ * <p>
+ * Files containing one graph per line can be read using
+ * {@link #importGraphs(File, Supplier, Consumer)}. The lines are parsed by multiple threads, see
+ * {@link #setParallelism(int)}, while the graphs are always built by the calling thread.
  *
  * @author Dimitrios Michail
  *
@@ -85,6 +93,7 @@ public class Graph6Sparse6Importer<V, E>
     public static final String DEFAULT_VERTEX_ID_KEY = "ID";
 
     private Function<Integer, V> vertexFactory;
+    private int parallelism;
 
     /**
      * Construct a new importer
@@ -92,6 +101,7 @@ public class Graph6Sparse6Importer<V, E>
     public Graph6Sparse6Importer()
     {
         super();
+        this.parallelism = 1;
     }
 
     /**
@@ -120,6 +130,30 @@ public class Graph6Sparse6Importer<V, E>
         this.vertexFactory = vertexFactory;
     }
 
+    /**
+     * Get the maximum number of threads used by {@link #importGraphs(File, Supplier, Consumer)}.
+     * 
+     * @return the parallelism
+     */
+    public int getParallelism()
+    {
+        return parallelism;
+    }
+
+    /**
+     * Set the maximum number of threads used by {@link #importGraphs(File, Supplier, Consumer)}.
+     * The default is one.
+     * 
+     * @param parallelism the maximum number of threads
+     */
+    public void setParallelism(int parallelism)
+    {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+        this.parallelism = parallelism;
+    }
+
     /**
      * Import a graph.
      * 
@@ -138,10 +172,35 @@ public class Graph6Sparse6Importer<V, E>
         Graph6Sparse6EventDrivenImporter genericImporter = new Graph6Sparse6EventDrivenImporter();
         Consumers consumers = new Consumers(graph);
         genericImporter.addVertexConsumer(consumers.vertexConsumer);
-        genericImporter.addEdgeConsumer(consumers.edgeConsumer);
+        genericImporter.addIntEdgeConsumer(consumers.edgeConsumer);
         genericImporter.importInput(input);
     }
 
+    /**
+     * Import all graphs of a file which contains one graph per line. Empty lines are ignored.
+     * 
+     * <p>
+     * For every line a new graph is obtained from the graph supplier, filled and handed to the
+     * graph consumer, in the order of the file. The graphs must be able to support the features of
+     * the graphs that are read.
+     * 
+     * @param file the input file
+     * @param graphSupplier supplier of the output graphs
+     * @param graphConsumer consumer of the imported graphs
+     * @throws ImportException in case an error occurs, such as I/O or parse error
+     */
+    public void importGraphs(
+        File file, Supplier<Graph<V, E>> graphSupplier, Consumer<? super Graph<V, E>> graphConsumer)
+    {
+        Graph6Sparse6EventDrivenImporter genericImporter = new Graph6Sparse6EventDrivenImporter();
+        genericImporter.setParallelism(parallelism);
+        GraphsConsumers consumers = new GraphsConsumers(graphSupplier, graphConsumer);
+        genericImporter.addImportEventConsumer(consumers.eventConsumer);
+        genericImporter.addVertexConsumer(consumers.vertexConsumer);
+        genericImporter.addIntEdgeConsumer(consumers.edgeConsumer);
+        genericImporter.importInputs(file);
+    }
+
     private class Consumers
     {
         private Graph<V, E> graph;
@@ -173,14 +232,12 @@ public class Graph6Sparse6Importer<V, E>
             notifyVertexAttribute(v, DEFAULT_VERTEX_ID_KEY, DefaultAttribute.createAttribute(t));
         };
 
-        public final Consumer<Pair<Integer, Integer>> edgeConsumer = (p) -> {
-            int source = p.getFirst();
-            V from = map.get(p.getFirst());
+        public final IntEdgeConsumer edgeConsumer = (source, target, weight) -> {
+            V from = map.get(source);
             if (from == null) {
                 throw new ImportException("Node " + source + " does not exist");
             }
 
-            int target = p.getSecond();
             V to = map.get(target);
             if (to == null) {
                 throw new ImportException("Node " + target + " does not exist");
@@ -192,4 +249,32 @@ public class Graph6Sparse6Importer<V, E>
 
     }
 
+    private class GraphsConsumers
+    {
+        private Supplier<Graph<V, E>> graphSupplier;
+        private Consumer<? super Graph<V, E>> graphConsumer;
+        private Consumers current;
+
+        public GraphsConsumers(
+            Supplier<Graph<V, E>> graphSupplier, Consumer<? super Graph<V, E>> graphConsumer)
+        {
+            this.graphSupplier = graphSupplier;
+            this.graphConsumer = graphConsumer;
+        }
+
+        public final Consumer<ImportEvent> eventConsumer = (e) -> {
+            if (e == ImportEvent.START) {
+                current = new Consumers(graphSupplier.get());
+            } else if (e == ImportEvent.END) {
+                graphConsumer.accept(current.graph);
+                current = null;
+            }
+        };
+
+        public final Consumer<Integer> vertexConsumer = (t) -> current.vertexConsumer.accept(t);
+
+        public final IntEdgeConsumer edgeConsumer =
+            (source, target, weight) -> current.edgeConsumer.accept(source, target, weight);
+    }
+
 }
@@ -26,6 +26,10 @@ import org.xml.sax.helpers.DefaultHandler;
 import javax.xml.XMLConstants;
 import javax.xml.parsers.SAXParser;
 import javax.xml.parsers.SAXParserFactory;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import javax.xml.transform.Source;
 import javax.xml.transform.stream.StreamSource;
 import javax.xml.validation.Schema;
@@ -105,6 +109,19 @@ import java.util.Map.Entry;
  * The importer by default validates the input using the 1.0
  * <a href="http://graphml.graphdrawing.org/xmlns/1.0/graphml.xsd">GraphML Schema</a>. The user can
  * (not recommended) disable the validation by calling {@link #setSchemaValidation(boolean)}.
+ * 
+ * <p>
+ * By default the whole input is read before any vertex or edge is reported. For large inputs the
+ * importer can instead use a StAX pull parser, see {@link #setStreaming(boolean)}. In this mode the
+ * input is not validated, and vertices and edges are reported as soon as they have been read, so
+ * that the memory consumption does not depend on the number of attributes. Only the identifiers of
+ * the vertices are retained, in order to check the endpoints of the edges. Edges which refer to
+ * vertices that appear later in the input are reported at the end.
+ * 
+ * <p>
+ * The vertex and edge attributes which are reported can be restricted using
+ * {@link #setAttributeNames(Set)}. In streaming mode the data of all other keys is skipped without
+ * being decoded, except for the edge weights.
  *
  * @author Dimitrios Michail
  */
@@ -122,6 +139,8 @@ public class GraphMLEventDrivenImporter
     private String edgeWeightAttributeName = EDGE_WEIGHT_DEFAULT_ATTRIBUTE_NAME;
 
     private boolean schemaValidation;
+    private boolean streaming;
+    private Set<String> attributeNames;
 
     /**
      * Constructs a new importer.
@@ -129,6 +148,8 @@ public class GraphMLEventDrivenImporter
     public GraphMLEventDrivenImporter()
     {
         this.schemaValidation = true;
+        this.streaming = false;
+        this.attributeNames = null;
     }
 
     /**
@@ -174,9 +195,63 @@ public class GraphMLEventDrivenImporter
         this.schemaValidation = schemaValidation;
     }
 
+    /**
+     * Whether the importer uses a StAX pull parser and reports vertices and edges while reading
+     * 
+     * @return true if the importer is in streaming mode
+     */
+    public boolean isStreaming()
+    {
+        return streaming;
+    }
+
+    /**
+     * Set whether the importer should use a StAX pull parser and report vertices and edges while
+     * reading. In streaming mode the input is never validated, regardless of
+     * {@link #isSchemaValidation()}.
+     * 
+     * @param streaming value for streaming mode
+     */
+    public void setStreaming(boolean streaming)
+    {
+        this.streaming = streaming;
+    }
+
+    /**
+     * Get the names of the vertex and edge attributes which are reported.
+     * 
+     * @return the attribute names, or null if all attributes are reported
+     */
+    public Set<String> getAttributeNames()
+    {
+        return attributeNames;
+    }
+
+    /**
+     * Set the names of the vertex and edge attributes which are reported. The edge weights are
+     * read even if their attribute is not reported.
+     * 
+     * @param attributeNames the attribute names, or null in order to report all attributes
+     */
+    public void setAttributeNames(Set<String> attributeNames)
+    {
+        this.attributeNames = attributeNames == null ? null : new HashSet<>(attributeNames);
+    }
+
     @Override
     public void importInput(Reader input)
     {
+        if (streaming) {
+            try {
+                notifyImportEvent(ImportEvent.START);
+                new GraphMLStreamParser().parse(input);
+                notifyImportEvent(ImportEvent.END);
+            } catch (Exception se) {
+                throw new ImportException("Failed to parse GraphML", se);
+            }
+            return;
+        }
+
         try {
             // parse
             XMLReader xmlReader = createXMLReader();
@@ -309,7 +384,9 @@ public class GraphMLEventDrivenImporter
 
                 notifyVertex(nodeId);
                 for (String key : finalAttributes.keySet()) {
-                    notifyVertexAttribute(nodeId, key, finalAttributes.get(key));
+                    if (isReported(key)) {
+                        notifyVertexAttribute(nodeId, key, finalAttributes.get(key));
+                    }
                 }
                 graphNodes.add(nodeId);
             }
@@ -385,7 +462,9 @@ public class GraphMLEventDrivenImporter
 
                 notifyEdge(te);
                 for (String key : finalAttributes.keySet()) {
-                    notifyEdgeAttribute(te, key, finalAttributes.get(key));
+                    if (isReported(key)) {
+                        notifyEdgeAttribute(te, key, finalAttributes.get(key));
+                    }
                 }
             }
         }
@@ -560,6 +639,361 @@ public class GraphMLEventDrivenImporter
 
     }
 
+    private boolean isReported(String attributeName)
+    {
+        return attributeNames == null || attributeNames.contains(attributeName);
+    }
+
+    // pull parser which reports the graph elements while reading
+    private class GraphMLStreamParser
+    {
+        private static final String GRAPH = "graph";
+        private static final String NODE = "node";
+        private static final String NODE_ID = "id";
+        private static final String EDGE = "edge";
+        private static final String ALL = "all";
+        private static final String EDGE_SOURCE = "source";
+        private static final String EDGE_TARGET = "target";
+        private static final String KEY = "key";
+        private static final String KEY_FOR = "for";
+        private static final String KEY_ATTR_NAME = "attr.name";
+        private static final String KEY_ATTR_TYPE = "attr.type";
+        private static final String KEY_ID = "id";
+        private static final String DEFAULT = "default";
+        private static final String DATA = "data";
+        private static final String DATA_KEY = "key";
+
+        // the keys whose data is decoded
+        private final Map<String, Key> nodeKeys = new LinkedHashMap<>();
+        private final Map<String, Key> edgeKeys = new LinkedHashMap<>();
+        private int keyCount;
+
+        // the key of the edge weights, computed lazily
+        private Key weightKey;
+        private double defaultWeight;
+        private boolean weightKeyFound;
+
+        private final Set<String> nodeIds = new HashSet<>();
+        private final Deque<StreamElement> elements = new ArrayDeque<>();
+        private final List<StreamElement> pendingEdges = new ArrayList<>();
+
+        private XMLStreamReader reader;
+
+        public void parse(Reader input)
+            throws XMLStreamException
+        {
+            XMLInputFactory factory = XMLInputFactory.newInstance();
+            factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+            factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+            factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+            reader = factory.createXMLStreamReader(input);
+            try {
+                while (reader.hasNext()) {
+                    int event = reader.next();
+                    if (event == XMLStreamConstants.START_ELEMENT) {
+                        startElement();
+                    } else if (event == XMLStreamConstants.END_ELEMENT) {
+                        endElement();
+                    }
+                }
+            } finally {
+                reader.close();
+            }
+
+            for (StreamElement e : pendingEdges) {
+                if (!nodeIds.contains(e.id1)) {
+                    throw new ImportException("Source vertex " + e.id1 + " not found");
+                }
+                if (!nodeIds.contains(e.id2)) {
+                    throw new ImportException("Target vertex " + e.id2 + " not found");
+                }
+                reportEdge(e);
+            }
+        }
+
+        private void startElement()
+            throws XMLStreamException
+        {
+            switch (reader.getLocalName()) {
+            case GRAPH:
+                elements.push(new StreamElement(GRAPH, null, null));
+                break;
+            case NODE:
+                elements.push(new StreamElement(NODE, findAttribute(NODE_ID), null));
+                break;
+            case EDGE:
+                String source = findAttribute(EDGE_SOURCE);
+                String target = findAttribute(EDGE_TARGET);
+                elements.push(new StreamElement(EDGE, source, target));
+                break;
+            case KEY:
+                readKey();
+                break;
+            case DATA:
+                readData();
+                break;
+            default:
+                break;
+            }
+        }
+
+        private void endElement()
+        {
+            switch (reader.getLocalName()) {
+            case GRAPH:
+                elements.pop();
+                break;
+            case NODE:
+                StreamElement node = elements.pop();
+                if (node.id1 == null) {
+                    throw new ImportException("Node id missing");
+                }
+                if (!nodeIds.add(node.id1)) {
+                    throw new ImportException("Node with id " + node.id1 + " already exists");
+                }
+                reportNode(node);
+                break;
+            case EDGE:
+                StreamElement edge = elements.pop();
+                if (edge.id1 == null) {
+                    throw new ImportException("Edge source vertex missing");
+                }
+                if (edge.id2 == null) {
+                    throw new ImportException("Edge target vertex missing");
+                }
+                if (nodeIds.contains(edge.id1) && nodeIds.contains(edge.id2)) {
+                    reportEdge(edge);
+                } else {
+                    pendingEdges.add(edge);
+                }
+                break;
+            default:
+                break;
+            }
+        }
+
+        private void readKey()
+            throws XMLStreamException
+        {
+            String keyId = findAttribute(KEY_ID);
+            String keyFor = findAttribute(KEY_FOR);
+            String keyAttrName = findAttribute(KEY_ATTR_NAME);
+            String keyAttrType = findAttribute(KEY_ATTR_TYPE);
+
+            Key key = new Key(keyId, keyAttrName, null, null);
+            if (keyAttrType != null) {
+                key.type = AttributeType.create(keyAttrType);
+            }
+            if (keyFor != null) {
+                switch (keyFor) {
+                case EDGE:
+                    key.target = KeyTarget.EDGE;
+                    break;
+                case NODE:
+                    key.target = KeyTarget.NODE;
+                    break;
+                case ALL:
+                    key.target = KeyTarget.ALL;
+                    break;
+                }
+            }
+
+            // read the default value
+            int depth = 1;
+            while (depth > 0) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    if (depth == 1 && DEFAULT.equals(reader.getLocalName())) {
+                        key.defaultValue = readText();
+                    } else {
+                        depth++;
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    depth--;
+                }
+            }
+
+            if (!key.isValid()) {
+                return;
+            }
+            boolean reported = isReported(key.attributeName);
+            boolean weight = key.attributeName.equals(edgeWeightAttributeName);
+            if (!reported && !weight) {
+                return;
+            }
+            key.reported = reported;
+            key.index = keyCount++;
+            if (reported && key.target != KeyTarget.EDGE) {
+                nodeKeys.put(key.id, key);
+            }
+            if (key.target != KeyTarget.NODE) {
+                edgeKeys.put(key.id, key);
+                weightKeyFound = false;
+            }
+        }
+
+        private void readData()
+            throws XMLStreamException
+        {
+            StreamElement element = elements.peek();
+            Key key = null;
+            if (element != null) {
+                String keyId = findAttribute(DATA_KEY);
+                if (element.type.equals(NODE)) {
+                    key = nodeKeys.get(keyId);
+                } else if (element.type.equals(EDGE)) {
+                    key = edgeKeys.get(keyId);
+                }
+            }
+            if (key == null) {
+                skipElement();
+                return;
+            }
+            String value = readText();
+            if (value != null) {
+                element.setValue(key.index, value, keyCount);
+            }
+        }
+
+        /**
+         * Read the text of the current element, including the text of nested elements. Returns null
+         * if the element contains no text.
+         */
+        private String readText()
+            throws XMLStreamException
+        {
+            String text = null;
+            StringBuilder sb = null;
+            int depth = 1;
+            while (depth > 0) {
+                switch (reader.next()) {
+                case XMLStreamConstants.START_ELEMENT:
+                    depth++;
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    depth--;
+                    break;
+                case XMLStreamConstants.CHARACTERS:
+                case XMLStreamConstants.CDATA:
+                case XMLStreamConstants.SPACE:
+                    if (text == null) {
+                        text = reader.getText();
+                    } else {
+                        if (sb == null) {
+                            sb = new StringBuilder(text);
+                        }
+                        sb.append(
+                            reader.getTextCharacters(), reader.getTextStart(),
+                            reader.getTextLength());
+                    }
+                    break;
+                default:
+                    break;
+                }
+            }
+            return sb != null ? sb.toString() : text;
+        }
+
+        private void skipElement()
+            throws XMLStreamException
+        {
+            int depth = 1;
+            while (depth > 0) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    depth++;
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    depth--;
+                }
+            }
+        }
+
+        private void reportNode(StreamElement node)
+        {
+            notifyVertex(node.id1);
+            for (Key key : nodeKeys.values()) {
+                String value = node.getValue(key.index);
+                if (value == null) {
+                    value = key.defaultValue;
+                }
+                if (value != null) {
+                    notifyVertexAttribute(
+                        node.id1, key.attributeName, new DefaultAttribute<>(value, key.type));
+                }
+            }
+        }
+
+        private void reportEdge(StreamElement edge)
+        {
+            Triple<String, String, Double> te = Triple.of(edge.id1, edge.id2, null);
+
+            // special handling for weighted graphs
+            Key wk = getWeightKey();
+            if (wk != null) {
+                String value = edge.getValue(wk.index);
+                if (value == null) {
+                    value = wk.defaultValue;
+                }
+                if (value != null) {
+                    try {
+                        te.setThird(Double.parseDouble(value));
+                    } catch (NumberFormatException nfe) {
+                        te.setThird(defaultWeight);
+                    }
+                }
+            }
+
+            notifyEdge(te);
+            for (Key key : edgeKeys.values()) {
+                if (!key.reported) {
+                    continue;
+                }
+                String value = edge.getValue(key.index);
+                if (value == null) {
+                    value = key.defaultValue;
+                }
+                if (value != null) {
+                    notifyEdgeAttribute(
+                        te, key.attributeName, new DefaultAttribute<>(value, key.type));
+                }
+            }
+        }
+
+        private Key getWeightKey()
+        {
+            if (!weightKeyFound) {
+                weightKeyFound = true;
+                weightKey = null;
+                defaultWeight = Graph.DEFAULT_EDGE_WEIGHT;
+                for (Key k : edgeKeys.values()) {
+                    if (k.attributeName.equals(edgeWeightAttributeName)) {
+                        weightKey = k;
+                        try {
+                            if (k.defaultValue != null) {
+                                defaultWeight = Double.parseDouble(k.defaultValue);
+                            }
+                        } catch (NumberFormatException e) {
+                            // ignore
+                        }
+                        // first key only which maps to special edge "weight"
+                        break;
+                    }
+                }
+            }
+            return weightKey;
+        }
+
+        private String findAttribute(String localName)
+        {
+            for (int i = 0; i < reader.getAttributeCount(); i++) {
+                if (reader.getAttributeLocalName(i).equals(localName)) {
+                    return reader.getAttributeValue(i);
+                }
+            }
+            return null;
+        }
+    }
+
     // ----- Helper classes for storing partial parser results -----
 
     private enum KeyTarget
@@ -576,6 +1010,9 @@ public class GraphMLEventDrivenImporter
         String defaultValue;
         KeyTarget target;
         AttributeType type;
+        // used only in streaming mode
+        int index;
+        boolean reported;
 
         public Key(String id, String attributeName, String defaultValue, KeyTarget target)
         {
@@ -610,6 +1047,36 @@ public class GraphMLEventDrivenImporter
         }
     }
 
+    private static class StreamElement
+    {
+        final String type;
+        final String id1;
+        final String id2;
+        String[] values;
+
+        StreamElement(String type, String id1, String id2)
+        {
+            this.type = type;
+            this.id1 = id1;
+            this.id2 = id2;
+        }
+
+        String getValue(int index)
+        {
+            return values == null || index >= values.length ? null : values[index];
+        }
+
+        void setValue(int index, String value, int keyCount)
+        {
+            if (values == null) {
+                values = new String[keyCount];
+            } else if (index >= values.length) {
+                values = Arrays.copyOf(values, keyCount);
+            }
+            values[index] = value;
+        }
+    }
+
     private class GraphElement
     {
         String id1;
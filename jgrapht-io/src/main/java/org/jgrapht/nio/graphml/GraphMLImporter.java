@@ -24,7 +24,9 @@ import org.jgrapht.nio.*;
 
 import java.io.Reader;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -109,6 +111,12 @@ import java.util.function.Function;
  * The importer by default validates the input using the 1.0
  * <a href="http://graphml.graphdrawing.org/xmlns/1.0/graphml.xsd">GraphML Schema</a>. The user can
  * (not recommended) disable the validation by calling {@link #setSchemaValidation(boolean)}.
+ * 
+ * <p>
+ * For large inputs the importer can use a StAX pull parser which does not validate the input and
+ * adds vertices and edges to the graph while reading, see {@link #setStreaming(boolean)}. The
+ * reported attributes can be restricted using {@link #setAttributeNames(Set)}, in which case the
+ * data of all other keys is not decoded in streaming mode.
  *
  * <p>
  * The graph vertices and edges are build using the corresponding graph suppliers. The id of the
@@ -142,6 +150,8 @@ public class GraphMLImporter<V, E>
     private static final String EDGE_WEIGHT_DEFAULT_ATTRIBUTE_NAME = "weight";
     private String edgeWeightAttributeName = EDGE_WEIGHT_DEFAULT_ATTRIBUTE_NAME;
     private boolean schemaValidation;
+    private boolean streaming;
+    private Set<String> attributeNames;
     private Function<String, V> vertexFactory;
 
     /**
@@ -150,6 +160,8 @@ public class GraphMLImporter<V, E>
     public GraphMLImporter()
     {
         this.schemaValidation = true;
+        this.streaming = false;
+        this.attributeNames = null;
     }
 
     /**
@@ -195,6 +207,49 @@ public class GraphMLImporter<V, E>
         this.schemaValidation = schemaValidation;
     }
 
+    /**
+     * Whether the importer uses a StAX pull parser and adds vertices and edges while reading
+     * 
+     * @return true if the importer is in streaming mode
+     */
+    public boolean isStreaming()
+    {
+        return streaming;
+    }
+
+    /**
+     * Set whether the importer should use a StAX pull parser and add vertices and edges while
+     * reading. In streaming mode the input is never validated, regardless of
+     * {@link #isSchemaValidation()}.
+     * 
+     * @param streaming value for streaming mode
+     */
+    public void setStreaming(boolean streaming)
+    {
+        this.streaming = streaming;
+    }
+
+    /**
+     * Get the names of the vertex and edge attributes which are reported.
+     * 
+     * @return the attribute names, or null if all attributes are reported
+     */
+    public Set<String> getAttributeNames()
+    {
+        return attributeNames;
+    }
+
+    /**
+     * Set the names of the vertex and edge attributes which are reported. The edge weights are
+     * read even if their attribute is not reported.
+     * 
+     * @param attributeNames the attribute names, or null in order to report all attributes
+     */
+    public void setAttributeNames(Set<String> attributeNames)
+    {
+        this.attributeNames = attributeNames == null ? null : new HashSet<>(attributeNames);
+    }
+
     /**
      * Get the user custom vertex factory. This is null by default and the graph supplier is used
      * instead.
@@ -246,6 +301,8 @@ public class GraphMLImporter<V, E>
         GraphMLEventDrivenImporter genericImporter = new GraphMLEventDrivenImporter();
         genericImporter.setEdgeWeightAttributeName(edgeWeightAttributeName);
         genericImporter.setSchemaValidation(schemaValidation);
+        genericImporter.setStreaming(streaming);
+        genericImporter.setAttributeNames(attributeNames);
 
         Consumers globalConsumer = new Consumers(graph);
         genericImporter.addGraphAttributeConsumer(globalConsumer.graphAttributeConsumer);
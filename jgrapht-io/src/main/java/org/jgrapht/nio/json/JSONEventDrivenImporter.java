@@ -75,6 +75,13 @@ import java.util.*;
  * the points attribute of the edge is returned as a string containing {"x":1.0,"y":2.0}. The same
  * is done for arrays or any other arbitrary nested structure.
  * 
+ * <p>
+ * By default the input is parsed into a complete parse tree before any vertex or edge is reported.
+ * For large inputs the importer can use a streaming tokenizer instead, see
+ * {@link #setStreaming(boolean)}. In streaming mode each vertex and edge is reported as soon as its
+ * object has been read and only the object which is currently read is kept in memory, thus inputs
+ * larger than the available memory can be imported. Both modes report the same events.
+ * 
  * @author Dimitrios Michail
  */
 public class JSONEventDrivenImporter
@@ -83,18 +90,58 @@ public class JSONEventDrivenImporter
     implements
     EventDrivenImporter<String, Triple<String, String, Double>>
 {
+    private static final String GRAPH = "graph";
+    private static final String NODES = "nodes";
+    private static final String EDGES = "edges";
+    private static final String ID = "id";
+
+    private static final String WEIGHT = "weight";
+    private static final String SOURCE = "source";
+    private static final String TARGET = "target";
+
+    private boolean streaming;
+
     /**
      * Constructs a new importer.
      */
     public JSONEventDrivenImporter()
     {
         super();
+        this.streaming = false;
+    }
+
+    /**
+     * Whether the importer uses a streaming tokenizer instead of building a parse tree.
+     * 
+     * @return true if the importer is in streaming mode
+     */
+    public boolean isStreaming()
+    {
+        return streaming;
+    }
+
+    /**
+     * Set whether the importer should use a streaming tokenizer instead of building a parse tree.
+     * 
+     * @param streaming value for streaming mode
+     */
+    public void setStreaming(boolean streaming)
+    {
+        this.streaming = streaming;
     }
 
     @Override
     public void importInput(Reader input)
     {
         try {
+            if (streaming) {
+                JsonStreamParser parser = new JsonStreamParser(input);
+                notifyImportEvent(ImportEvent.START);
+                parser.parse();
+                notifyImportEvent(ImportEvent.END);
+                return;
+            }
+
             ThrowingErrorListener errorListener = new ThrowingErrorListener();
 
             // create lexer
@@ -145,15 +192,6 @@ public class JSONEventDrivenImporter
         extends
         JsonBaseListener
     {
-        private static final String GRAPH = "graph";
-        private static final String NODES = "nodes";
-        private static final String EDGES = "edges";
-        private static final String ID = "id";
-
-        private static final String WEIGHT = "weight";
-        private static final String SOURCE = "source";
-        private static final String TARGET = "target";
-
         // current state of parser
         private int objectLevel;
         private int arrayLevel;
@@ -226,16 +264,7 @@ public class JSONEventDrivenImporter
                     attributes = null;
                 } else if (insideEdgesArray) {
                     if (sourceId != null && targetId != null) {
-                        Double weight = Graph.DEFAULT_EDGE_WEIGHT;
-                        Attribute attributeWeight = attributes.get(WEIGHT);
-                        if (attributeWeight != null) {
-                            AttributeType type = attributeWeight.getType();
-                            if (type.equals(AttributeType.FLOAT)
-                                || type.equals(AttributeType.DOUBLE))
-                            {
-                                weight = Double.parseDouble(attributeWeight.getValue());
-                            }
-                        }
+                        Double weight = readWeight(attributes);
                         Triple<String, String, Double> et = Triple.of(sourceId, targetId, weight);
                         notifyEdge(et);
                         for (String key : attributes.keySet()) {
@@ -343,21 +372,9 @@ public class JSONEventDrivenImporter
             // number
             TerminalNode tn = ctx.NUMBER();
             if (tn != null) {
-                String value = tn.getText();
-                try {
-                    return DefaultAttribute.createAttribute(Integer.parseInt(value, 10));
-                } catch (NumberFormatException e) {
-                    // ignore
-                }
-                try {
-                    return DefaultAttribute.createAttribute(Long.parseLong(value, 10));
-                } catch (NumberFormatException e) {
-                    // ignore
-                }
-                try {
-                    return DefaultAttribute.createAttribute(Double.parseDouble(value));
-                } catch (NumberFormatException e) {
-                    // ignore
+                Attribute number = readNumber(tn.getText());
+                if (number != null) {
+                    return number;
                 }
             }
 
@@ -405,14 +422,582 @@ public class JSONEventDrivenImporter
             if (tn == null) {
                 return null;
             }
-            try {
-                return Long.valueOf(tn.getText(), 10).toString();
-            } catch (NumberFormatException e) {
-            }
+            return readNumericIdentifier(tn.getText());
+        }
 
-            throw new IllegalArgumentException("Failed to read valid identifier");
+    }
+
+    private static Attribute readNumber(String value)
+    {
+        try {
+            return DefaultAttribute.createAttribute(Integer.parseInt(value, 10));
+        } catch (NumberFormatException e) {
+            // ignore
+        }
+        try {
+            return DefaultAttribute.createAttribute(Long.parseLong(value, 10));
+        } catch (NumberFormatException e) {
+            // ignore
+        }
+        try {
+            return DefaultAttribute.createAttribute(Double.parseDouble(value));
+        } catch (NumberFormatException e) {
+            // ignore
+        }
+        return null;
+    }
+
+    private static String readNumericIdentifier(String value)
+    {
+        try {
+            return Long.valueOf(value, 10).toString();
+        } catch (NumberFormatException e) {
         }
 
+        throw new IllegalArgumentException("Failed to read valid identifier");
     }
 
+    private static Double readWeight(Map<String, Attribute> attributes)
+    {
+        Double weight = Graph.DEFAULT_EDGE_WEIGHT;
+        Attribute attributeWeight = attributes.get(WEIGHT);
+        if (attributeWeight != null) {
+            AttributeType type = attributeWeight.getType();
+            if (type.equals(AttributeType.FLOAT) || type.equals(AttributeType.DOUBLE)) {
+                weight = Double.parseDouble(attributeWeight.getValue());
+            }
+        }
+        return weight;
+    }
+
+    /**
+     * A parser which reads the input using a hand-written tokenizer and reports vertices and edges
+     * as soon as their objects have been read. Nested values of vertices and edges are collected in
+     * the same compact form as the text of the parse tree.
+     */
+    private class JsonStreamParser
+    {
+        private static final int BUFFER_SIZE = 8192;
+
+        private final Reader input;
+        private final char[] buffer;
+        private int position;
+        private int limit;
+        private int line;
+        private int column;
+
+        private final StringBuilder text;
+        private final Map<String, Attribute> attributes;
+        private int singletons;
+        private String singletonsUUID;
+
+        JsonStreamParser(Reader input)
+        {
+            this.input = input;
+            this.buffer = new char[BUFFER_SIZE];
+            this.line = 1;
+            this.text = new StringBuilder();
+            this.attributes = new HashMap<>();
+        }
+
+        void parse()
+            throws IOException
+        {
+            singletons = 0;
+            singletonsUUID = UUID.randomUUID().toString();
+
+            // like the grammar, ignore any input after the first value
+            skipWhitespace();
+            if (peek() == '{') {
+                readGraph();
+            } else {
+                skipValue(null);
+            }
+        }
+
+        private void readGraph()
+            throws IOException
+        {
+            expect('{');
+            skipWhitespace();
+            if (peek() == '}') {
+                next();
+                return;
+            }
+            do {
+                String name = readName();
+                if (NODES.equals(name) && peek() == '[') {
+                    readElements(true);
+                } else if (EDGES.equals(name) && peek() == '[') {
+                    readElements(false);
+                } else {
+                    skipValue(null);
+                }
+            } while (readSeparator('}'));
+        }
+
+        private void readElements(boolean nodes)
+            throws IOException
+        {
+            expect('[');
+            skipWhitespace();
+            if (peek() == ']') {
+                next();
+                return;
+            }
+            do {
+                if (peek() != '{') {
+                    skipValue(null);
+                } else if (nodes) {
+                    readNode();
+                } else {
+                    readEdge();
+                }
+            } while (readSeparator(']'));
+        }
+
+        private void readNode()
+            throws IOException
+        {
+            String nodeId = null;
+            attributes.clear();
+            expect('{');
+            skipWhitespace();
+            if (peek() == '}') {
+                next();
+            } else {
+                do {
+                    String name = readName();
+                    if (ID.equals(name)) {
+                        nodeId = readIdentifier();
+                    } else {
+                        attributes.put(name, readAttribute());
+                    }
+                } while (readSeparator('}'));
+            }
+
+            if (nodeId == null) {
+                nodeId = "Singleton_" + singletonsUUID + "_" + (singletons++);
+            }
+            notifyVertex(nodeId);
+            for (String key : attributes.keySet()) {
+                notifyVertexAttribute(nodeId, key, attributes.get(key));
+            }
+        }
+
+        private void readEdge()
+            throws IOException
+        {
+            String sourceId = null;
+            String targetId = null;
+            attributes.clear();
+            expect('{');
+            skipWhitespace();
+            if (peek() == '}') {
+                next();
+            } else {
+                do {
+                    String name = readName();
+                    if (SOURCE.equals(name)) {
+                        sourceId = readIdentifier();
+                    } else if (TARGET.equals(name)) {
+                        targetId = readIdentifier();
+                    } else {
+                        attributes.put(name, readAttribute());
+                    }
+                } while (readSeparator('}'));
+            }
+
+            if (sourceId == null) {
+                throw new IllegalArgumentException("Edge with missing source detected");
+            } else if (targetId == null) {
+                throw new IllegalArgumentException("Edge with missing target detected");
+            }
+            Triple<String, String, Double> et =
+                Triple.of(sourceId, targetId, readWeight(attributes));
+            notifyEdge(et);
+            for (String key : attributes.keySet()) {
+                notifyEdgeAttribute(et, key, attributes.get(key));
+            }
+        }
+
+        /**
+         * Reads the name of a pair together with the following colon.
+         */
+        private String readName()
+            throws IOException
+        {
+            if (peek() != '"') {
+                throw syntaxError("expecting a string");
+            }
+            text.setLength(0);
+            readString(text, true);
+            String name = text.toString();
+            skipWhitespace();
+            expect(':');
+            skipWhitespace();
+            return name;
+        }
+
+        /**
+         * Skips the whitespace after a value and reads either a comma or the closing character.
+         * 
+         * @return true if a comma was read, false otherwise
+         */
+        private boolean readSeparator(char close)
+            throws IOException
+        {
+            skipWhitespace();
+            int c = next();
+            if (c == ',') {
+                skipWhitespace();
+                return true;
+            } else if (c != close) {
+                throw syntaxError("expecting ',' or '" + close + "'");
+            }
+            return false;
+        }
+
+        private String readIdentifier()
+            throws IOException
+        {
+            int c = peek();
+            text.setLength(0);
+            if (c == '"') {
+                readString(text, true);
+                return text.toString();
+            } else if (c == '-' || (c >= '0' && c <= '9')) {
+                readNumber(text);
+                return readNumericIdentifier(text.toString());
+            }
+            skipValue(null);
+            return null;
+        }
+
+        private Attribute readAttribute()
+            throws IOException
+        {
+            int c = peek();
+            text.setLength(0);
+            if (c == '"') {
+                readString(text, true);
+                return DefaultAttribute.createAttribute(text.toString());
+            } else if (c == '-' || (c >= '0' && c <= '9')) {
+                readNumber(text);
+                String value = text.toString();
+                Attribute number = JSONEventDrivenImporter.readNumber(value);
+                return number != null ? number
+                    : new DefaultAttribute<>(value, AttributeType.UNKNOWN);
+            } else if (c == 't') {
+                readLiteral("true", null);
+                return DefaultAttribute.createAttribute(Boolean.TRUE);
+            } else if (c == 'f') {
+                readLiteral("false", null);
+                return DefaultAttribute.createAttribute(Boolean.FALSE);
+            } else if (c == 'n') {
+                readLiteral("null", null);
+                return DefaultAttribute.NULL;
+            }
+            skipValue(text);
+            return new DefaultAttribute<>(text.toString(), AttributeType.UNKNOWN);
+        }
+
+        /**
+         * Skips a value, optionally appending its text without whitespace to a builder.
+         */
+        private void skipValue(StringBuilder out)
+            throws IOException
+        {
+            int c = peek();
+            switch (c) {
+            case '{':
+            case '[':
+                skipStructure(out);
+                return;
+            case '"':
+                readString(out, false);
+                return;
+            case 't':
+                readLiteral("true", out);
+                return;
+            case 'f':
+                readLiteral("false", out);
+                return;
+            case 'n':
+                readLiteral("null", out);
+                return;
+            case -1:
+                throw syntaxError("unexpected end of input");
+            default:
+                if (c == '-' || (c >= '0' && c <= '9')) {
+                    readNumber(out);
+                    return;
+                }
+                throw syntaxError("unexpected character '" + (char) c + "'");
+            }
+        }
+
+        /**
+         * Skips an object or an array, optionally appending its text without whitespace to a
+         * builder.
+         */
+        private void skipStructure(StringBuilder out)
+            throws IOException
+        {
+            int open = next();
+            char close = open == '{' ? '}' : ']';
+            append(out, open);
+            skipWhitespace();
+            if (peek() == close) {
+                append(out, next());
+                return;
+            }
+            while (true) {
+                if (open == '{') {
+                    if (peek() != '"') {
+                        throw syntaxError("expecting a string");
+                    }
+                    readString(out, false);
+                    skipWhitespace();
+                    expect(':');
+                    append(out, ':');
+                    skipWhitespace();
+                }
+                skipValue(out);
+                skipWhitespace();
+                int c = next();
+                if (c == ',') {
+                    append(out, ',');
+                    skipWhitespace();
+                } else if (c == close) {
+                    append(out, close);
+                    return;
+                } else {
+                    throw syntaxError("expecting ',' or '" + close + "'");
+                }
+            }
+        }
+
+        /**
+         * Reads a string. The string is either decoded, or appended as it appears in the input
+         * including the quotes.
+         */
+        private void readString(StringBuilder out, boolean decode)
+            throws IOException
+        {
+            expect('"');
+            if (!decode) {
+                append(out, '"');
+            }
+            while (true) {
+                // copy runs of plain characters directly from the buffer
+                int start = position;
+                while (position < limit) {
+                    char c = buffer[position];
+                    if (c == '"' || c == '\\' || c < 0x20) {
+                        break;
+                    }
+                    position++;
+                }
+                if (out != null) {
+                    out.append(buffer, start, position - start);
+                }
+                column += position - start;
+
+                int c = next();
+                if (c == '"') {
+                    if (!decode) {
+                        append(out, '"');
+                    }
+                    return;
+                } else if (c == '\\') {
+                    readEscape(out, decode);
+                } else if (c == -1) {
+                    throw syntaxError("unterminated string");
+                } else if (c < 0x20) {
+                    throw syntaxError("control character in string");
+                } else {
+                    // the buffer was exhausted
+                    append(out, c);
+                }
+            }
+        }
+
+        private void readEscape(StringBuilder out, boolean decode)
+            throws IOException
+        {
+            int c = next();
+            char decoded;
+            switch (c) {
+            case '"':
+            case '\\':
+            case '/':
+                decoded = (char) c;
+                break;
+            case 'b':
+                decoded = '\b';
+                break;
+            case 'f':
+                decoded = '\f';
+                break;
+            case 'n':
+                decoded = '\n';
+                break;
+            case 'r':
+                decoded = '\r';
+                break;
+            case 't':
+                decoded = '\t';
+                break;
+            case 'u':
+                if (!decode) {
+                    append(out, '\\');
+                    append(out, 'u');
+                }
+                int code = 0;
+                for (int i = 0; i < 4; i++) {
+                    int h = next();
+                    int digit = Character.digit(h, 16);
+                    if (digit < 0) {
+                        throw syntaxError("invalid unicode escape");
+                    }
+                    code = code * 16 + digit;
+                    if (!decode) {
+                        append(out, h);
+                    }
+                }
+                if (decode) {
+                    append(out, code);
+                }
+                return;
+            default:
+                throw syntaxError("invalid escape sequence");
+            }
+            if (decode) {
+                append(out, decoded);
+            } else {
+                append(out, '\\');
+                append(out, c);
+            }
+        }
+
+        private void readNumber(StringBuilder out)
+            throws IOException
+        {
+            if (peek() == '-') {
+                append(out, next());
+            }
+            readInteger(out);
+            if (peek() == '.') {
+                append(out, next());
+                if (!isDigit(peek())) {
+                    throw syntaxError("invalid number");
+                }
+                while (isDigit(peek())) {
+                    append(out, next());
+                }
+            }
+            int c = peek();
+            if (c == 'e' || c == 'E') {
+                append(out, next());
+                c = peek();
+                if (c == '+' || c == '-') {
+                    append(out, next());
+                }
+                readInteger(out);
+            }
+        }
+
+        private void readInteger(StringBuilder out)
+            throws IOException
+        {
+            int c = peek();
+            if (c == '0') {
+                append(out, next());
+            } else if (isDigit(c)) {
+                while (isDigit(peek())) {
+                    append(out, next());
+                }
+            } else {
+                throw syntaxError("invalid number");
+            }
+        }
+
+        private void readLiteral(String literal, StringBuilder out)
+            throws IOException
+        {
+            for (int i = 0; i < literal.length(); i++) {
+                if (next() != literal.charAt(i)) {
+                    throw syntaxError("unexpected input, expecting '" + literal + "'");
+                }
+            }
+            if (out != null) {
+                out.append(literal);
+            }
+        }
+
+        private boolean isDigit(int c)
+        {
+            return c >= '0' && c <= '9';
+        }
+
+        private void append(StringBuilder out, int c)
+        {
+            if (out != null) {
+                out.append((char) c);
+            }
+        }
+
+        private void expect(char expected)
+            throws IOException
+        {
+            if (next() != expected) {
+                throw syntaxError("expecting '" + expected + "'");
+            }
+        }
+
+        private void skipWhitespace()
+            throws IOException
+        {
+            int c;
+            while ((c = peek()) == ' ' || c == '\t' || c == '\n' || c == '\r') {
+                next();
+            }
+        }
+
+        private int peek()
+            throws IOException
+        {
+            if (position == limit) {
+                int n;
+                do {
+                    n = input.read(buffer, 0, buffer.length);
+                } while (n == 0);
+                position = 0;
+                limit = Math.max(n, 0);
+            }
+            return position < limit ? buffer[position] : -1;
+        }
+
+        private int next()
+            throws IOException
+        {
+            int c = peek();
+            if (c != -1) {
+                position++;
+                if (c == '\n') {
+                    line++;
+                    column = 0;
+                } else {
+                    column++;
+                }
+            }
+            return c;
+        }
+
+        private IllegalArgumentException syntaxError(String message)
+        {
+            return new IllegalArgumentException("line " + line + ":" + column + " " + message);
+        }
+    }
 }
@@ -21,10 +21,16 @@ import org.apache.commons.text.StringEscapeUtils;
 import org.jgrapht.Graph;
 import org.jgrapht.nio.*;
 
-import java.io.PrintWriter;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 import java.util.function.Function;
 
@@ -45,6 +51,11 @@ import java.util.function.Function;
  * adjusted using the setters. The default constructor constructs integer identifiers using an
  * {@link IntegerIdProvider} for both vertices and edges and does not output any custom attributes.
  * 
+ * <p>
+ * The output is buffered by the exporter and numbers are formatted without creating intermediate
+ * strings. When exporting to an {@link OutputStream} the output is encoded as UTF-8 directly,
+ * without an additional unbuffered writer.
+ * 
  * @param <V> the graph vertex type
  * @param <E> the graph edge type
  * 
@@ -59,6 +70,10 @@ public class JSONExporter<V, E>
     private static final String CREATOR = "JGraphT JSON Exporter";
     private static final String VERSION = "1";
 
+    private static final int BUFFER_SIZE = 65536;
+    private static final Set<String> FORBIDDEN_EDGE_ATTRIBUTES =
+        Collections.unmodifiableSet(new HashSet<>(Arrays.asList("id", "source", "target")));
+
     /**
      * Creates a new exporter with integers for the vertex identifiers.
      */
@@ -77,171 +92,288 @@ public class JSONExporter<V, E>
         super(vertexIdProvider);
     }
 
+    @Override
+    public void exportGraph(Graph<V, E> g, OutputStream out)
+    {
+        Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+        exportGraph(g, new BufferedWriter(writer, BUFFER_SIZE));
+    }
+
     @Override
     public void exportGraph(Graph<V, E> g, Writer writer)
     {
-        PrintWriter out = new PrintWriter(writer);
+        if (!(writer instanceof BufferedWriter)) {
+            writer = new BufferedWriter(writer, BUFFER_SIZE);
+        }
+        try {
+            JsonOutput out = new JsonOutput(writer);
 
-        out.print('{');
+            out.write('{');
 
-        /*
-         * Version
-         */
-        out.print(quoted("creator"));
-        out.print(':');
-        out.print(quoted(CREATOR));
+            /*
+             * Version
+             */
+            out.writeQuoted("creator");
+            out.write(':');
+            out.writeQuoted(CREATOR);
 
-        out.print(',');
-        out.print(quoted("version"));
-        out.print(':');
-        out.print(quoted(VERSION));
+            out.write(',');
+            out.writeQuoted("version");
+            out.write(':');
+            out.writeQuoted(VERSION);
 
-        /*
-         * Vertices
-         */
-        out.print(',');
-        out.print(quoted("nodes"));
-        out.print(':');
-        out.print('[');
-        boolean printComma = false;
-        for (V v : g.vertexSet()) {
-            if (!printComma) {
-                printComma = true;
-            } else {
-                out.print(',');
+            /*
+             * Vertices
+             */
+            out.write(',');
+            out.writeQuoted("nodes");
+            out.write(':');
+            out.write('[');
+            boolean printComma = false;
+            for (V v : g.vertexSet()) {
+                if (!printComma) {
+                    printComma = true;
+                } else {
+                    out.write(',');
+                }
+                exportVertex(out, g, v);
             }
-            exportVertex(out, g, v);
-        }
-        out.print("]");
+            out.write(']');
 
-        /*
-         * Edges
-         */
-        out.print(',');
-        out.print(quoted("edges"));
-        out.print(':');
-        out.print('[');
-        printComma = false;
-        for (E e : g.edgeSet()) {
-            if (!printComma) {
-                printComma = true;
-            } else {
-                out.print(',');
+            /*
+             * Edges
+             */
+            out.write(',');
+            out.writeQuoted("edges");
+            out.write(':');
+            out.write('[');
+            printComma = false;
+            for (E e : g.edgeSet()) {
+                if (!printComma) {
+                    printComma = true;
+                } else {
+                    out.write(',');
+                }
+                exportEdge(out, g, e);
             }
-            exportEdge(out, g, e);
-        }
-        out.print("]");
+            out.write(']');
 
-        out.print('}');
+            out.write('}');
 
-        out.flush();
+            writer.flush();
+        } catch (IOException e) {
+            throw new ExportException(e);
+        }
     }
 
-    private void exportVertex(PrintWriter out, Graph<V, E> g, V v)
+    private void exportVertex(JsonOutput out, Graph<V, E> g, V v)
+        throws IOException
     {
         String vertexId = vertexIdProvider.apply(v);
 
-        out.print('{');
-        out.print(quoted("id"));
-        out.print(':');
-        out.print(quoted(vertexId));
+        out.write('{');
+        out.writeQuoted("id");
+        out.write(':');
+        out.writeQuoted(vertexId);
         exportVertexAttributes(out, g, v);
-        out.print('}');
+        out.write('}');
     }
 
-    private void exportEdge(PrintWriter out, Graph<V, E> g, E e)
+    private void exportEdge(JsonOutput out, Graph<V, E> g, E e)
+        throws IOException
     {
         V source = g.getEdgeSource(e);
         String sourceId = vertexIdProvider.apply(source);
         V target = g.getEdgeTarget(e);
         String targetId = vertexIdProvider.apply(target);
 
-        out.print('{');
+        out.write('{');
 
-        edgeIdProvider.ifPresent(p -> {
-            String edgeId = p.apply(e);
+        if (edgeIdProvider.isPresent()) {
+            String edgeId = edgeIdProvider.get().apply(e);
             if (edgeId != null) {
-                out.print(quoted("id"));
-                out.print(':');
-                out.print(quoted(edgeId));
-                out.print(',');
+                out.writeQuoted("id");
+                out.write(':');
+                out.writeQuoted(edgeId);
+                out.write(',');
             }
-        });
+        }
 
-        out.print(quoted("source"));
-        out.print(':');
-        out.print(quoted(sourceId));
-        out.print(',');
-        out.print(quoted("target"));
-        out.print(':');
-        out.print(quoted(targetId));
+        out.writeQuoted("source");
+        out.write(':');
+        out.writeQuoted(sourceId);
+        out.write(',');
+        out.writeQuoted("target");
+        out.write(':');
+        out.writeQuoted(targetId);
 
         exportEdgeAttributes(out, g, e);
 
-        out.print('}');
+        out.write('}');
     }
 
-    private void exportVertexAttributes(PrintWriter out, Graph<V, E> g, V v)
+    private void exportVertexAttributes(JsonOutput out, Graph<V, E> g, V v)
+        throws IOException
     {
         if (!vertexAttributeProvider.isPresent()) {
             return;
         }
-        vertexAttributeProvider
-            .get().apply(v).entrySet().stream().filter(e -> !e.getKey().equals("id"))
-            .forEach(entry -> {
-                out.print(",");
-                out.print(quoted(entry.getKey()));
-                out.print(":");
-                outputValue(out, entry.getValue());
-            });
+        for (Map.Entry<String, Attribute> entry : vertexAttributeProvider
+            .get().apply(v).entrySet())
+        {
+            if (entry.getKey().equals("id")) {
+                continue;
+            }
+            out.write(',');
+            out.writeQuoted(entry.getKey());
+            out.write(':');
+            outputValue(out, entry.getValue());
+        }
     }
 
-    private void exportEdgeAttributes(PrintWriter out, Graph<V, E> g, E e)
+    private void exportEdgeAttributes(JsonOutput out, Graph<V, E> g, E e)
+        throws IOException
     {
         if (!edgeAttributeProvider.isPresent()) {
             return;
         }
-        Set<String> forbidden = new HashSet<>(Arrays.asList("id", "source", "target"));
-        edgeAttributeProvider
-            .get().apply(e).entrySet().stream().filter(entry -> !forbidden.contains(entry.getKey()))
-            .forEach(entry -> {
-                out.print(",");
-                out.print(quoted(entry.getKey()));
-                out.print(":");
-                outputValue(out, entry.getValue());
-            });
+        for (Map.Entry<String, Attribute> entry : edgeAttributeProvider.get().apply(e).entrySet()) {
+            if (FORBIDDEN_EDGE_ATTRIBUTES.contains(entry.getKey())) {
+                continue;
+            }
+            out.write(',');
+            out.writeQuoted(entry.getKey());
+            out.write(':');
+            outputValue(out, entry.getValue());
+        }
     }
 
-    private void outputValue(PrintWriter out, Attribute value)
+    private void outputValue(JsonOutput out, Attribute value)
+        throws IOException
     {
         AttributeType type = value.getType();
         if (type.equals(AttributeType.BOOLEAN)) {
             boolean booleanValue = Boolean.parseBoolean(value.getValue());
-            out.print(booleanValue ? "true" : "false");
+            out.write(booleanValue ? "true" : "false");
         } else if (type.equals(AttributeType.INT)) {
-            out.print(Integer.parseInt(value.getValue()));
+            out.write(Integer.parseInt(value.getValue()));
         } else if (type.equals(AttributeType.LONG)) {
-            out.print(Long.parseLong(value.getValue()));
+            out.write(Long.parseLong(value.getValue()));
         } else if (type.equals(AttributeType.FLOAT)) {
             float floatValue = Float.parseFloat(value.getValue());
             if (!Float.isFinite(floatValue)) {
                 throw new IllegalArgumentException("Infinity and NaN not allowed in JSON");
             }
-            out.print(floatValue);
+            out.write(floatValue);
         } else if (type.equals(AttributeType.DOUBLE)) {
             double doubleValue = Double.parseDouble(value.getValue());
             if (!Double.isFinite(doubleValue)) {
                 throw new IllegalArgumentException("Infinity and NaN not allowed in JSON");
             }
-            out.print(doubleValue);
+            out.write(doubleValue);
         } else {
-            out.print(quoted(value.toString()));
+            out.writeQuoted(value.toString());
         }
     }
 
-    private String quoted(final String s)
+    /**
+     * Writes tokens to a writer. Numbers are formatted into a reusable buffer and strings which do
+     * not need escaping are written as they are.
+     */
+    private static class JsonOutput
     {
-        return "\"" + StringEscapeUtils.escapeJson(s) + "\"";
+        private final Writer writer;
+        private final StringBuilder number;
+        private char[] chars;
+
+        JsonOutput(Writer writer)
+        {
+            this.writer = writer;
+            this.number = new StringBuilder(32);
+            this.chars = new char[32];
+        }
+
+        void write(char c)
+            throws IOException
+        {
+            writer.write(c);
+        }
+
+        void write(String s)
+            throws IOException
+        {
+            writer.write(s);
+        }
+
+        void write(int value)
+            throws IOException
+        {
+            number.setLength(0);
+            number.append(value);
+            writeNumber();
+        }
+
+        void write(long value)
+            throws IOException
+        {
+            number.setLength(0);
+            number.append(value);
+            writeNumber();
+        }
+
+        void write(float value)
+            throws IOException
+        {
+            number.setLength(0);
+            number.append(value);
+            writeNumber();
+        }
+
+        void write(double value)
+            throws IOException
+        {
+            number.setLength(0);
+            number.append(value);
+            writeNumber();
+        }
+
+        void writeQuoted(String s)
+            throws IOException
+        {
+            writer.write('"');
+            if (needsEscaping(s)) {
+                writer.write(StringEscapeUtils.escapeJson(s));
+            } else {
+                writer.write(s);
+            }
+            writer.write('"');
+        }
+
+        private void writeNumber()
+            throws IOException
+        {
+            int length = number.length();
+            if (chars.length < length) {
+                chars = new char[length];
+            }
+            number.getChars(0, length, chars, 0);
+            writer.write(chars, 0, length);
+        }
+
+        /**
+         * Whether a string contains characters which are escaped by
+         * {@link StringEscapeUtils#escapeJson(String)}.
+         */
+        private static boolean needsEscaping(String s)
+        {
+            for (int i = 0; i < s.length(); i++) {
+                char c = s.charAt(i);
+                if (c < 0x20 || c > 0x7e || c == '"' || c == '\\' || c == '/') {
+                    return true;
+                }
+            }
+            return false;
+        }
     }
 
 }
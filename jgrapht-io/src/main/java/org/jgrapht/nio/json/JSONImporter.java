@@ -75,6 +75,11 @@ import java.util.function.Function;
  * is done for arrays or any other arbitrary nested structure.
  * 
  * <p>
+ * For large inputs the importer can use a streaming tokenizer which adds vertices and edges to the
+ * graph while reading, instead of building a complete parse tree first, see
+ * {@link #setStreaming(boolean)}.
+ * 
+ * <p>
  * The graph vertices and edges are build using the corresponding graph suppliers. The id of the
  * vertices in the original dot file are reported as a vertex attribute named "ID". Thus, in case
  * vertices in the dot file also contain an "ID" attribute, such an attribute will be reported
@@ -103,6 +108,7 @@ public class JSONImporter<V, E>
     public static final String DEFAULT_VERTEX_ID_KEY = "ID";
 
     private Function<String, V> vertexFactory;
+    private boolean streaming;
 
     /**
      * Construct a new importer
@@ -110,6 +116,7 @@ public class JSONImporter<V, E>
     public JSONImporter()
     {
         super();
+        this.streaming = false;
     }
 
     /**
@@ -132,6 +139,7 @@ public class JSONImporter<V, E>
     public void importGraph(Graph<V, E> graph, Reader input)
     {
         JSONEventDrivenImporter genericImporter = new JSONEventDrivenImporter();
+        genericImporter.setStreaming(streaming);
         Consumers consumers = new Consumers(graph);
         genericImporter.addVertexConsumer(consumers.vertexConsumer);
         genericImporter.addVertexAttributeConsumer(consumers.vertexAttributeConsumer);
@@ -166,6 +174,27 @@ public class JSONImporter<V, E>
         this.vertexFactory = vertexFactory;
     }
 
+    /**
+     * Whether the importer uses a streaming tokenizer instead of building a parse tree.
+     * 
+     * @return true if the importer is in streaming mode
+     */
+    public boolean isStreaming()
+    {
+        return streaming;
+    }
+
+    /**
+     * Set whether the importer should use a streaming tokenizer and add vertices and edges to the
+     * graph while reading, instead of building a complete parse tree first.
+     * 
+     * @param streaming value for streaming mode
+     */
+    public void setStreaming(boolean streaming)
+    {
+        this.streaming = streaming;
+    }
+
     private class Consumers
     {
         private Graph<V, E> graph;
@@ -0,0 +1,201 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.nio;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.util.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.nio.json.*;
+import org.junit.*;
+
+import java.io.*;
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link AttributeStore}.
+ */
+public class AttributeStoreTest
+{
+    @Test
+    public void testTypedColumns()
+    {
+        AttributeStore<String> store = new AttributeStore<>();
+        store.put("a", "b", DefaultAttribute.createAttribute(true));
+        store.put("a", "i", DefaultAttribute.createAttribute(42));
+        store.put("a", "l", DefaultAttribute.createAttribute(1L << 40));
+        store.put("a", "f", DefaultAttribute.createAttribute(1.5f));
+        store.put("a", "d", DefaultAttribute.createAttribute(-2.25));
+        store.put("a", "s", DefaultAttribute.createAttribute("x"));
+        store.put("a", "n", DefaultAttribute.NULL);
+        store.put("b", "i", new DefaultAttribute<>("7", AttributeType.INT));
+        store.put("b", "d", new DefaultAttribute<>("1", AttributeType.DOUBLE));
+        store.put("b", "s", new DefaultAttribute<>("<b>x</b>", AttributeType.HTML));
+
+        assertEquals(DefaultAttribute.createAttribute(true), store.get("a", "b"));
+        assertEquals(DefaultAttribute.createAttribute(42), store.get("a", "i"));
+        assertEquals(DefaultAttribute.createAttribute(1L << 40), store.get("a", "l"));
+        assertEquals(DefaultAttribute.createAttribute(1.5f), store.get("a", "f"));
+        assertEquals(DefaultAttribute.createAttribute(-2.25), store.get("a", "d"));
+        assertEquals(DefaultAttribute.createAttribute("x"), store.get("a", "s"));
+        assertEquals(DefaultAttribute.NULL, store.get("a", "n"));
+        assertEquals(DefaultAttribute.createAttribute(7), store.get("b", "i"));
+        // numbers are returned in canonical form
+        assertEquals("1.0", store.get("b", "d").getValue());
+        assertEquals(AttributeType.HTML, store.get("b", "s").getType());
+        assertEquals("<b>x</b>", store.get("b", "s").getValue());
+
+        assertNull(store.get("b", "b"));
+        assertNull(store.get("c", "b"));
+        assertNull(store.get("a", "missing"));
+        assertEquals(
+            Arrays.asList("b", "i", "l", "f", "d", "s", "n"),
+            new ArrayList<>(store.getAttributeNames()));
+    }
+
+    @Test
+    public void testMixedAndUnparsableValues()
+    {
+        AttributeStore<Integer> store = new AttributeStore<>(v -> v);
+        store.put(0, "x", DefaultAttribute.createAttribute(1));
+        store.put(3, "x", DefaultAttribute.createAttribute(2));
+        store.put(5, "x", DefaultAttribute.createAttribute("two"));
+        store.put(7, "x", new DefaultAttribute<>("abc", AttributeType.DOUBLE));
+        store.put(8, "y", new DefaultAttribute<>("yes", AttributeType.BOOLEAN));
+
+        assertEquals(DefaultAttribute.createAttribute(1).getValue(), store.get(0, "x").getValue());
+        assertEquals(AttributeType.INT, store.get(0, "x").getType());
+        assertEquals(AttributeType.INT, store.get(3, "x").getType());
+        assertEquals("2", store.get(3, "x").getValue());
+        assertEquals(DefaultAttribute.createAttribute("two"), store.get(5, "x"));
+        assertEquals(AttributeType.DOUBLE, store.get(7, "x").getType());
+        assertEquals("abc", store.get(7, "x").getValue());
+        assertEquals(AttributeType.BOOLEAN, store.get(8, "y").getType());
+        assertEquals("yes", store.get(8, "y").getValue());
+        assertNull(store.get(1, "x"));
+        assertNull(store.get(100, "x"));
+    }
+
+    @Test
+    public void testAttributeMapAndRemoval()
+    {
+        AttributeStore<String> store = new AttributeStore<>();
+        store.put("a", "color", DefaultAttribute.createAttribute("red"));
+        store.put("a", "weight", DefaultAttribute.createAttribute(2.0));
+        store.put("b", "color", DefaultAttribute.createAttribute("red"));
+
+        Map<String, Attribute> attributes = store.getAttributes("a");
+        Map<String, Attribute> expected = new LinkedHashMap<>();
+        expected.put("color", DefaultAttribute.createAttribute("red"));
+        expected.put("weight", DefaultAttribute.createAttribute(2.0));
+        assertEquals(expected, attributes);
+        assertEquals(2, attributes.size());
+        assertTrue(attributes.containsKey("weight"));
+        assertEquals(Collections.emptyMap(), store.getAttributes("c"));
+
+        // the map is a view
+        store.remove("a", "color");
+        assertEquals(
+            Collections.singletonMap("weight", DefaultAttribute.createAttribute(2.0)),
+            attributes);
+        store.put("a", "weight", null);
+        assertTrue(attributes.isEmpty());
+
+        store.remove("b");
+        assertNull(store.get("b", "color"));
+        try {
+            attributes.put("color", DefaultAttribute.NULL);
+            fail("No exception thrown");
+        } catch (UnsupportedOperationException e) {
+        }
+    }
+
+    @Test
+    public void testConsumers()
+    {
+        AttributeStore<String> store = new AttributeStore<>();
+        store.accept(Pair.of("a", "x"), DefaultAttribute.createAttribute(1));
+        store.accept(
+            new AttributeEvent<String>().set("b", "x", DefaultAttribute.createAttribute(2)));
+        assertEquals(DefaultAttribute.createAttribute(1), store.get("a", "x"));
+        assertEquals(DefaultAttribute.createAttribute(2), store.get("b", "x"));
+    }
+
+    @Test
+    public void testImportExport()
+    {
+        // @formatter:off
+        String input = "{\"creator\":\"JGraphT JSON Exporter\",\"version\":\"1\",\"nodes\":["
+            + "{\"id\":\"1\",\"label\":\"first\",\"size\":3,\"visible\":true},"
+            + "{\"id\":\"2\",\"label\":\"second\",\"size\":4.5},"
+            + "{\"id\":\"3\",\"label\":\"first\",\"extra\":null}],"
+            + "\"edges\":[{\"source\":\"1\",\"target\":\"2\",\"kind\":\"road\",\"lanes\":2},"
+            + "{\"source\":\"2\",\"target\":\"3\",\"kind\":\"rail\"}]}";
+        // @formatter:on
+
+        Graph<String, DefaultEdge> g = new DirectedPseudograph<>(DefaultEdge.class);
+        Map<String, Map<String, Attribute>> vertexMaps = new HashMap<>();
+        Map<DefaultEdge, Map<String, Attribute>> edgeMaps = new HashMap<>();
+        AttributeStore<String> vertexStore = new AttributeStore<>();
+        AttributeStore<DefaultEdge> edgeStore = new AttributeStore<>();
+
+        JSONImporter<String, DefaultEdge> importer = new JSONImporter<>();
+        importer.setVertexFactory(id -> id);
+        importer.addVertexAttributeConsumer(
+            (k, a) -> vertexMaps
+                .computeIfAbsent(k.getFirst(), v -> new LinkedHashMap<>()).put(k.getSecond(), a));
+        importer.addEdgeAttributeConsumer(
+            (k, a) -> edgeMaps
+                .computeIfAbsent(k.getFirst(), e -> new LinkedHashMap<>()).put(k.getSecond(), a));
+        importer.addVertexAttributeEventConsumer(vertexStore);
+        importer.addEdgeAttributeConsumer(edgeStore);
+        importer.importGraph(g, new StringReader(input));
+
+        for (String v : g.vertexSet()) {
+            assertEquals(values(vertexMaps.get(v)), values(vertexStore.getAttributes(v)));
+        }
+        for (DefaultEdge e : g.edgeSet()) {
+            assertEquals(values(edgeMaps.get(e)), values(edgeStore.getAttributes(e)));
+        }
+
+        JSONExporter<String, DefaultEdge> exporter = new JSONExporter<>(v -> v);
+        exporter.setVertexAttributeProvider(vertexStore::getAttributes);
+        exporter.setEdgeAttributeProvider(edgeStore::getAttributes);
+        StringWriter output = new StringWriter();
+        exporter.exportGraph(g, output);
+        assertTrue(output.toString().contains("\"size\":4.5"));
+        assertTrue(output.toString().contains("\"lanes\":2"));
+    }
+
+    private static Map<String, String> values(Map<String, Attribute> attributes)
+    {
+        Map<String, String> result = new HashMap<>();
+        for (Map.Entry<String, Attribute> entry : attributes.entrySet()) {
+            Attribute a = entry.getValue();
+            result.put(entry.getKey(), a.getType() + ":" + a.getValue());
+        }
+        return result;
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeIndex()
+    {
+        new AttributeStore<Integer>(v -> v).put(-1, "x", DefaultAttribute.createAttribute(1));
+    }
+}
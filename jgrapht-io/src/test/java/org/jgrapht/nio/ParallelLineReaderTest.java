@@ -0,0 +1,238 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.nio;
+
+import org.junit.*;
+import org.junit.rules.*;
+
+import java.io.*;
+import java.nio.charset.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.atomic.*;
+import java.util.zip.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link ParallelLineReader}.
+ */
+public class ParallelLineReaderTest
+{
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File write(String content)
+        throws IOException
+    {
+        File file = folder.newFile();
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    private static List<String> read(File file, int parallelism, int chunkSize, int capacity)
+    {
+        List<String> chunks = new ArrayList<>();
+        new ParallelLineReader(parallelism, chunkSize, capacity).read(
+            file, (bytes, from, to) -> new String(bytes, from, to - from, StandardCharsets.UTF_8),
+            chunks::add);
+        return chunks;
+    }
+
+    private static String lines(int count)
+    {
+        StringBuilder sb = new StringBuilder();
+        Random rng = new Random(17);
+        for (int i = 0; i < count; i++) {
+            sb.append(i);
+            for (int j = rng.nextInt(12); j > 0; j--) {
+                sb.append(' ').append(j);
+            }
+            sb.append(i % 5 == 0 ? "\r\n" : "\n");
+        }
+        return sb.toString();
+    }
+
+    @Test
+    public void testChunksCoverInputInOrder()
+        throws IOException
+    {
+        String content = lines(500);
+        File file = write(content);
+        for (int parallelism : new int[] { 1, 3 }) {
+            for (int chunkSize : new int[] { 1, 2, 3, 7, 64, 1000, 1 << 20 }) {
+                List<String> chunks = read(file, parallelism, chunkSize, 2);
+                assertEquals(content, String.join("", chunks));
+                for (String chunk : chunks) {
+                    if (!chunk.isEmpty()) {
+                        assertTrue(chunk.endsWith("\n"));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testLastLineWithoutLineFeed()
+        throws IOException
+    {
+        String content = lines(50) + "last line";
+        File file = write(content);
+        for (int chunkSize : new int[] { 1, 5, 9, 1 << 20 }) {
+            List<String> chunks = read(file, 2, chunkSize, 1);
+            assertEquals(content, String.join("", chunks));
+            assertEquals(1, chunks.stream().filter(c -> c.contains("last line")).count());
+        }
+    }
+
+    @Test
+    public void testLongLines()
+        throws IOException
+    {
+        char[] line = new char[300];
+        Arrays.fill(line, 'x');
+        String content = new String(line) + "\n\n" + new String(line) + "\n";
+        File file = write(content);
+        List<String> chunks = read(file, 2, 16, 4);
+        assertEquals(content, String.join("", chunks));
+        assertEquals(2, chunks.stream().filter(c -> c.contains("x")).count());
+    }
+
+    @Test
+    public void testEmptyFile()
+        throws IOException
+    {
+        File file = write("");
+        assertEquals(Collections.singletonList(""), read(file, 1, 4, 1));
+        assertEquals(Collections.singletonList(""), read(file, 4, 4, 1));
+    }
+
+    @Test
+    public void testParseErrorIsPropagated()
+        throws IOException
+    {
+        File file = write(lines(200));
+        try {
+            new ParallelLineReader(4, 8, 4).read(file, (bytes, from, to) -> {
+                if (new String(bytes, from, to - from, StandardCharsets.UTF_8).contains("150")) {
+                    throw new ImportException("Failed at 150");
+                }
+                return to - from;
+            }, c -> {
+            });
+            fail("No exception thrown");
+        } catch (ImportException e) {
+            assertEquals("Failed at 150", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testCompressedAndPlainFiles()
+        throws IOException
+    {
+        String content = lines(300);
+        int[] splits = { 0, 1000, 1500, content.length() };
+        List<File> files = new ArrayList<>();
+        for (int i = 0; i + 1 < splits.length; i++) {
+            // split at line breaks
+            int from = i == 0 ? 0 : content.indexOf('\n', splits[i]) + 1;
+            int to = i + 2 == splits.length ? content.length()
+                : content.indexOf('\n', splits[i + 1]) + 1;
+            String part = content.substring(from, to);
+            File file = folder.newFile();
+            OutputStream out = new FileOutputStream(file);
+            if (i != 1) {
+                out = new GZIPOutputStream(out);
+            }
+            try (OutputStream o = out) {
+                o.write(part.getBytes(StandardCharsets.UTF_8));
+            }
+            files.add(file);
+        }
+        assertTrue(ParallelLineReader.isCompressed(files.get(0)));
+        assertFalse(ParallelLineReader.isCompressed(files.get(1)));
+
+        for (int parallelism : new int[] { 1, 3 }) {
+            List<String> chunks = new ArrayList<>();
+            new ParallelLineReader(parallelism, 64, 2).read(
+                files,
+                (bytes, from, to) -> new String(bytes, from, to - from, StandardCharsets.UTF_8),
+                chunks::add);
+            assertEquals(content, String.join("", chunks));
+        }
+    }
+
+    @Test
+    public void testLargeCompressedFileIsChunked()
+        throws IOException
+    {
+        char[] line = new char[1000];
+        Arrays.fill(line, 'x');
+        String content = lines(5000) + new String(line) + "\n" + lines(100) + "last line";
+        File file = folder.newFile();
+        try (OutputStream out = new GZIPOutputStream(new FileOutputStream(file))) {
+            out.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+
+        for (int parallelism : new int[] { 1, 3 }) {
+            int capacity = 2;
+            AtomicInteger inFlight = new AtomicInteger();
+            AtomicInteger maxInFlight = new AtomicInteger();
+            List<String> chunks = new ArrayList<>();
+            new ParallelLineReader(parallelism, 256, capacity).read(file, (bytes, from, to) -> {
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                return new String(bytes, from, to - from, StandardCharsets.UTF_8);
+            }, chunk -> {
+                inFlight.decrementAndGet();
+                chunks.add(chunk);
+            });
+            assertEquals(content, String.join("", chunks));
+            assertTrue(chunks.size() > content.length() / 512);
+            assertTrue(maxInFlight.get() <= capacity);
+            for (int i = 0; i + 1 < chunks.size(); i++) {
+                String chunk = chunks.get(i);
+                assertTrue(chunk.endsWith("\n"));
+                // a chunk only exceeds the chunk size to complete its last line
+                assertTrue(chunk.length() < 256 + 2 * line.length);
+            }
+        }
+
+        File empty = folder.newFile();
+        try (OutputStream out = new GZIPOutputStream(new FileOutputStream(empty))) {
+            out.flush();
+        }
+        assertEquals(Collections.singletonList(""), read(empty, 3, 4, 1));
+    }
+
+    @Test
+    public void testMissingFile()
+    {
+        try {
+            read(new File(folder.getRoot(), "missing"), 2, 8, 2);
+            fail("No exception thrown");
+        } catch (ImportException e) {
+            assertTrue(e.getMessage().startsWith("Failed to read file"));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidParallelism()
+    {
+        new ParallelLineReader(0);
+    }
+}
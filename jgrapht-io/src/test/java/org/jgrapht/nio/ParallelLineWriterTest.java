@@ -0,0 +1,174 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.nio;
+
+import org.junit.*;
+import org.junit.rules.*;
+
+import java.io.*;
+import java.nio.charset.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.zip.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link ParallelLineWriter}.
+ */
+public class ParallelLineWriterTest
+{
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * Encoder which writes a header before the first item and one line per item.
+     */
+    private static final ParallelLineWriter.RangeEncoder ENCODER = (from, to, out) -> {
+        if (from == 0) {
+            out.write("header\n");
+        }
+        for (int i = from; i < to; i++) {
+            out.write("item " + i + " \u00e9\n");
+        }
+    };
+
+    private static String expected(int items)
+    {
+        StringBuilder sb = new StringBuilder("header\n");
+        for (int i = 0; i < items; i++) {
+            sb.append("item ").append(i).append(" \u00e9\n");
+        }
+        return sb.toString();
+    }
+
+    private static String decode(byte[] bytes, boolean compressed)
+        throws IOException
+    {
+        if (!compressed) {
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            byte[] buf = new byte[1024];
+            int read;
+            while ((read = in.read(buf)) >= 0) {
+                out.write(buf, 0, read);
+            }
+        }
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private List<File> newFiles(int count)
+        throws IOException
+    {
+        List<File> files = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            files.add(folder.newFile());
+        }
+        return files;
+    }
+
+    @Test
+    public void testStream()
+        throws IOException
+    {
+        for (boolean compressed : new boolean[] { false, true }) {
+            for (int parallelism : new int[] { 1, 3 }) {
+                for (int blockSize : new int[] { 1, 7, 1000 }) {
+                    for (int items : new int[] { 0, 1, 100 }) {
+                        ByteArrayOutputStream out = new ByteArrayOutputStream();
+                        new ParallelLineWriter(parallelism, blockSize, compressed)
+                            .write(items, ENCODER, out);
+                        assertEquals(expected(items), decode(out.toByteArray(), compressed));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testFilesAreConcatenable()
+        throws IOException
+    {
+        for (boolean compressed : new boolean[] { false, true }) {
+            for (int items : new int[] { 0, 2, 100 }) {
+                List<File> files = newFiles(5);
+                new ParallelLineWriter(3, 7, compressed).write(items, ENCODER, files);
+
+                ByteArrayOutputStream all = new ByteArrayOutputStream();
+                for (File file : files) {
+                    byte[] bytes = Files.readAllBytes(file.toPath());
+                    all.write(bytes);
+                    // every file is valid on its own
+                    decode(bytes, compressed);
+                }
+                assertEquals(expected(items), decode(all.toByteArray(), compressed));
+            }
+        }
+    }
+
+    @Test
+    public void testFilesCanBeReadInParallel()
+        throws IOException
+    {
+        List<File> files = newFiles(4);
+        new ParallelLineWriter(2, 10, true).write(100, ENCODER, files);
+
+        StringBuilder sb = new StringBuilder();
+        new ParallelLineReader(3, 16, 4)
+            .read(
+                files,
+                (bytes, from, to) -> new String(bytes, from, to - from, StandardCharsets.UTF_8),
+                sb::append);
+        assertEquals(expected(100), sb.toString());
+    }
+
+    @Test
+    public void testEncoderErrorIsPropagated()
+    {
+        try {
+            new ParallelLineWriter(4, 8, false).write(100, (from, to, out) -> {
+                if (from <= 50 && 50 < to) {
+                    throw new IllegalStateException("Failed at 50");
+                }
+            }, new ByteArrayOutputStream());
+            fail("No exception thrown");
+        } catch (IllegalStateException e) {
+            assertEquals("Failed at 50", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testMissingDirectory()
+    {
+        File file = new File(new File(folder.getRoot(), "missing"), "out");
+        try {
+            new ParallelLineWriter(2, false).write(10, ENCODER, Collections.singletonList(file));
+            fail("No exception thrown");
+        } catch (ExportException e) {
+            assertTrue(e.getCause() instanceof IOException);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidParallelism()
+    {
+        new ParallelLineWriter(0, false);
+    }
+}
@@ -0,0 +1,331 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.nio.binary;
+
+import org.jgrapht.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.graph.builder.*;
+import org.jgrapht.nio.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+import org.junit.rules.*;
+
+import java.io.*;
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link BinaryExporter} and {@link BinaryImporter}.
+ */
+public class BinaryExporterImporterTest
+{
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static Graph<String, DefaultWeightedEdge> createGraph(boolean directed)
+    {
+        Graph<String, DefaultWeightedEdge> g = GraphTypeBuilder
+            .<String, DefaultWeightedEdge> forGraphType(
+                directed ? DefaultGraphType.directedPseudograph()
+                    : DefaultGraphType.pseudograph())
+            .weighted(true).edgeClass(DefaultWeightedEdge.class).buildGraph();
+        g.addVertex("a");
+        g.addVertex("b");
+        g.addVertex("c");
+        g.addVertex("δ");
+        g.addVertex("e");
+        g.setEdgeWeight(g.addEdge("c", "a"), 1.5);
+        g.setEdgeWeight(g.addEdge("a", "b"), 2.5);
+        g.setEdgeWeight(g.addEdge("b", "c"), -3.0);
+        g.setEdgeWeight(g.addEdge("a", "δ"), 4.0);
+        g.setEdgeWeight(g.addEdge("δ", "δ"), 5.0);
+        g.setEdgeWeight(g.addEdge("a", "b"), 6.0);
+        return g;
+    }
+
+    private static Graph<String, DefaultWeightedEdge> createTargetGraph(boolean directed)
+    {
+        return GraphTypeBuilder
+            .<String, DefaultWeightedEdge> forGraphType(
+                directed ? DefaultGraphType.directedPseudograph()
+                    : DefaultGraphType.pseudograph())
+            .weighted(true).edgeClass(DefaultWeightedEdge.class).buildGraph();
+    }
+
+    private static <V, E> Set<String> edges(Graph<V, E> g, boolean weights)
+    {
+        Set<String> result = new HashSet<>();
+        for (E e : g.edgeSet()) {
+            String s = g.getEdgeSource(e).toString();
+            String t = g.getEdgeTarget(e).toString();
+            if (!g.getType().isDirected() && s.compareTo(t) > 0) {
+                String tmp = s;
+                s = t;
+                t = tmp;
+            }
+            result.add(s + "-" + t + (weights ? ":" + g.getEdgeWeight(e) : ""));
+        }
+        return result;
+    }
+
+    private static <V, E> Graph<String, DefaultWeightedEdge> roundTrip(
+        BinaryExporter<V, E> exporter, Graph<V, E> g, boolean directed)
+    {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exporter.exportGraph(g, out);
+
+        Graph<String, DefaultWeightedEdge> result = createTargetGraph(directed);
+        BinaryImporter<String, DefaultWeightedEdge> importer = new BinaryImporter<>();
+        importer.setVertexFactory(id -> id);
+        importer.importGraph(result, new ByteArrayInputStream(out.toByteArray()));
+        return result;
+    }
+
+    @Test
+    public void testDirected()
+    {
+        Graph<String, DefaultWeightedEdge> g = createGraph(true);
+        BinaryExporter<String, DefaultWeightedEdge> exporter = new BinaryExporter<>(v -> v);
+        exporter.setParameter(BinaryExporter.Parameter.EXPORT_VERTEX_IDS, true);
+        exporter.setParameter(BinaryExporter.Parameter.EXPORT_EDGE_WEIGHTS, true);
+
+        Graph<String, DefaultWeightedEdge> result = roundTrip(exporter, g, true);
+        assertEquals(g.vertexSet(), result.vertexSet());
+        assertEquals(6, result.edgeSet().size());
+        assertEquals(edges(g, true), edges(result, true));
+    }
+
+    @Test
+    public void testUndirected()
+    {
+        Graph<String, DefaultWeightedEdge> g = createGraph(false);
+        BinaryExporter<String, DefaultWeightedEdge> exporter = new BinaryExporter<>(v -> v);
+        exporter.setParameter(BinaryExporter.Parameter.EXPORT_VERTEX_IDS, true);
+        exporter.setParameter(BinaryExporter.Parameter.EXPORT_EDGE_WEIGHTS, true);
+
+        Graph<String, DefaultWeightedEdge> result = roundTrip(exporter, g, false);
+        assertEquals(g.vertexSet(), result.vertexSet());
+        assertFalse(result.getType().isDirected());
+        assertEquals(edges(g, true), edges(result, true));
+    }
+
+    @Test
+    public void testWithoutIdsAndWeights()
+    {
+        Graph<String, DefaultWeightedEdge> g = createGraph(true);
+        BinaryExporter<String, DefaultWeightedEdge> exporter = new BinaryExporter<>();
+
+        Graph<String, DefaultWeightedEdge> result = roundTrip(exporter, g, true);
+        assertEquals(new HashSet<>(Arrays.asList("0", "1", "2", "3", "4")), result.vertexSet());
+        assertEquals(
+            new HashSet<>(Arrays.asList("2-0", "0-1", "1-2", "0-3", "3-3")),
+            edges(result, false));
+        for (DefaultWeightedEdge e : result.edgeSet()) {
+            assertEquals(Graph.DEFAULT_EDGE_WEIGHT, result.getEdgeWeight(e), 0d);
+        }
+    }
+
+    @Test
+    public void testAttributes()
+    {
+        Graph<String, DefaultWeightedEdge> g = createGraph(true);
+        Map<String, Map<String, Attribute>> vertexAttributes = new HashMap<>();
+        vertexAttributes
+            .put("a", attributes("int", DefaultAttribute.createAttribute(1), "label",
+                DefaultAttribute.createAttribute("first")));
+        vertexAttributes
+            .put("b", attributes("int", DefaultAttribute.createAttribute(-7), "flag",
+                DefaultAttribute.createAttribute(true)));
+        vertexAttributes
+            .put("c", attributes("mixed", DefaultAttribute.createAttribute(3L), "label",
+                new DefaultAttribute<>("<b>c</b>", AttributeType.HTML)));
+        vertexAttributes.put("δ", attributes("mixed", DefaultAttribute.createAttribute(2.5f)));
+        Map<DefaultWeightedEdge, Map<String, Attribute>> edgeAttributes = new HashMap<>();
+        for (DefaultWeightedEdge e : g.edgeSet()) {
+            edgeAttributes
+                .put(e, attributes(
+                    "long", DefaultAttribute.createAttribute((long) g.getEdgeWeight(e) << 40),
+                    "double", DefaultAttribute.createAttribute(g.getEdgeWeight(e) / 3),
+                    "float", DefaultAttribute.createAttribute((float) g.getEdgeWeight(e))));
+        }
+
+        BinaryExporter<String, DefaultWeightedEdge> exporter = new BinaryExporter<>(v -> v);
+        exporter.setParameter(BinaryExporter.Parameter.EXPORT_VERTEX_IDS, true);
+        exporter.setParameter(BinaryExporter.Parameter.EXPORT_EDGE_WEIGHTS, true);
+        exporter.setVertexAttributeProvider(vertexAttributes::get);
+        exporter.setEdgeAttributeProvider(edgeAttributes::get);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exporter.exportGraph(g, out);
+
+        Graph<String, DefaultWeightedEdge> result = createTargetGraph(true);
+        BinaryImporter<String, DefaultWeightedEdge> importer = new BinaryImporter<>();
+        importer.setVertexFactory(id -> id);
+        Map<String, Map<String, Attribute>> importedVertexAttributes = new HashMap<>();
+        importer.addVertexAttributeConsumer((p, a) -> {
+            if (!p.getSecond().equals(BinaryImporter.DEFAULT_VERTEX_ID_KEY)) {
+                importedVertexAttributes
+                    .computeIfAbsent(p.getFirst(), k -> new HashMap<>()).put(p.getSecond(), a);
+            }
+        });
+        Map<String, Map<String, Attribute>> importedEdgeAttributes = new HashMap<>();
+        importer.addEdgeAttributeConsumer((p, a) -> {
+            DefaultWeightedEdge e = p.getFirst();
+            importedEdgeAttributes
+                .computeIfAbsent(
+                    result.getEdgeSource(e) + "-" + result.getEdgeTarget(e) + ":"
+                        + result.getEdgeWeight(e),
+                    k -> new HashMap<>())
+                .put(p.getSecond(), a);
+        });
+        importer.importGraph(result, new ByteArrayInputStream(out.toByteArray()));
+
+        Map<String, Map<String, Attribute>> expectedVertexAttributes =
+            new HashMap<>(vertexAttributes);
+        // values of different types are stored as strings
+        expectedVertexAttributes
+            .put("c", attributes("mixed", DefaultAttribute.createAttribute("3"), "label",
+                new DefaultAttribute<>("<b>c</b>", AttributeType.STRING)));
+        expectedVertexAttributes
+            .put("δ", attributes("mixed", DefaultAttribute.createAttribute("2.5")));
+        assertEquals(expectedVertexAttributes, importedVertexAttributes);
+
+        assertEquals(6, importedEdgeAttributes.size());
+        for (DefaultWeightedEdge e : g.edgeSet()) {
+            String key = g.getEdgeSource(e) + "-" + g.getEdgeTarget(e) + ":" + g.getEdgeWeight(e);
+            assertEquals(edgeAttributes.get(e), importedEdgeAttributes.get(key));
+        }
+    }
+
+    @Test
+    public void testFile()
+        throws IOException
+    {
+        Graph<String, DefaultWeightedEdge> g = createGraph(false);
+        BinaryExporter<String, DefaultWeightedEdge> exporter = new BinaryExporter<>(v -> v);
+        exporter.setParameter(BinaryExporter.Parameter.EXPORT_VERTEX_IDS, true);
+        exporter.setParameter(BinaryExporter.Parameter.EXPORT_EDGE_WEIGHTS, true);
+        File file = folder.newFile();
+        exporter.exportGraph(g, file);
+
+        Graph<String, DefaultWeightedEdge> result = createTargetGraph(false);
+        BinaryImporter<String, DefaultWeightedEdge> importer = new BinaryImporter<>();
+        importer.setVertexFactory(id -> id);
+        importer.importGraph(result, file);
+        assertEquals(g.vertexSet(), result.vertexSet());
+        assertEquals(edges(g, true), edges(result, true));
+    }
+
+    @Test
+    public void testImportSparseGraph()
+        throws IOException
+    {
+        for (boolean directed : new boolean[] { true, false }) {
+            for (boolean weighted : new boolean[] { true, false }) {
+                Graph<String, DefaultWeightedEdge> g = createGraph(directed);
+                BinaryExporter<String, DefaultWeightedEdge> exporter = new BinaryExporter<>();
+                exporter.setParameter(BinaryExporter.Parameter.EXPORT_VERTEX_IDS, true);
+                exporter.setParameter(BinaryExporter.Parameter.EXPORT_EDGE_WEIGHTS, weighted);
+                File file = folder.newFile();
+                exporter.exportGraph(g, file);
+
+                Graph<Integer, Integer> sparse = BinaryImporter.importSparseGraph(file);
+                assertEquals(directed, sparse.getType().isDirected());
+                assertEquals(weighted, sparse.getType().isWeighted());
+                assertEquals(5, sparse.vertexSet().size());
+                assertEquals(6, sparse.edgeSet().size());
+
+                // vertex i of the sparse graph is vertex i + 1 of the integer id provider
+                Graph<String, DefaultWeightedEdge> expected = roundTrip(exporter, g, directed);
+                Set<String> shifted = new HashSet<>();
+                for (String edge : edges(sparse, weighted)) {
+                    String[] parts = edge.split(":");
+                    String[] endpoints = parts[0].split("-");
+                    String s = String.valueOf(Integer.parseInt(endpoints[0]) + 1);
+                    String t = String.valueOf(Integer.parseInt(endpoints[1]) + 1);
+                    if (!directed && s.compareTo(t) > 0) {
+                        String tmp = s;
+                        s = t;
+                        t = tmp;
+                    }
+                    shifted.add(s + "-" + t + (weighted ? ":" + parts[1] : ""));
+                }
+                assertEquals(edges(expected, weighted), shifted);
+
+                Graph<Integer, Integer> fromStream =
+                    BinaryImporter.importSparseGraph(new FileInputStream(file));
+                assertEquals(edges(sparse, weighted), edges(fromStream, weighted));
+            }
+        }
+    }
+
+    @Test
+    public void testLargeGraph()
+        throws IOException
+    {
+        Random rng = new Random(17);
+        Graph<Integer, DefaultWeightedEdge> g = GraphTypeBuilder
+            .<Integer, DefaultWeightedEdge> directed().allowingMultipleEdges(true)
+            .allowingSelfLoops(true).weighted(true).edgeClass(DefaultWeightedEdge.class)
+            .vertexSupplier(SupplierUtil.createIntegerSupplier()).buildGraph();
+        for (int i = 0; i < 20000; i++) {
+            g.addVertex();
+        }
+        for (int i = 0; i < 300000; i++) {
+            g.setEdgeWeight(g.addEdge(rng.nextInt(20000), rng.nextInt(20000)), rng.nextDouble());
+        }
+        BinaryExporter<Integer, DefaultWeightedEdge> exporter =
+            new BinaryExporter<>(String::valueOf);
+        exporter.setParameter(BinaryExporter.Parameter.EXPORT_VERTEX_IDS, true);
+        exporter.setParameter(BinaryExporter.Parameter.EXPORT_EDGE_WEIGHTS, true);
+        File file = folder.newFile();
+        exporter.exportGraph(g, file);
+
+        Graph<Integer, Integer> sparse = BinaryImporter.importSparseGraph(file);
+        assertEquals(edges(g, true), edges(sparse, true));
+    }
+
+    @Test(expected = ImportException.class)
+    public void testInvalidInput()
+    {
+        Graph<String, DefaultWeightedEdge> result = createTargetGraph(true);
+        new BinaryImporter<String, DefaultWeightedEdge>()
+            .importGraph(result, new ByteArrayInputStream(new byte[64]));
+    }
+
+    @Test(expected = ImportException.class)
+    public void testTruncatedInput()
+    {
+        Graph<String, DefaultWeightedEdge> g = createGraph(true);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new BinaryExporter<String, DefaultWeightedEdge>().exportGraph(g, out);
+        byte[] bytes = Arrays.copyOf(out.toByteArray(), out.size() - 8);
+        BinaryImporter<String, DefaultWeightedEdge> importer = new BinaryImporter<>();
+        importer.setVertexFactory(id -> id);
+        importer.importGraph(createTargetGraph(true), new ByteArrayInputStream(bytes));
+    }
+
+    private static Map<String, Attribute> attributes(Object... keysAndValues)
+    {
+        Map<String, Attribute> result = new LinkedHashMap<>();
+        for (int i = 0; i < keysAndValues.length; i += 2) {
+            result.put((String) keysAndValues[i], (Attribute) keysAndValues[i + 1]);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,363 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.nio.binary;
+
+import org.jgrapht.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.nio.*;
+import org.junit.*;
+import org.junit.rules.*;
+
+import java.io.*;
+import java.nio.channels.*;
+import java.nio.file.*;
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link ChangeLogWriter} and {@link ChangeLogReplayer}.
+ */
+public class ChangeLogTest
+{
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static Graph<String, DefaultWeightedEdge> createGraph()
+    {
+        return new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class);
+    }
+
+    private static <V, E> List<String> edges(Graph<V, E> g)
+    {
+        List<String> result = new ArrayList<>();
+        for (E e : g.edgeSet()) {
+            result.add(g.getEdgeSource(e) + "-" + g.getEdgeTarget(e) + ":" + g.getEdgeWeight(e));
+        }
+        Collections.sort(result);
+        return result;
+    }
+
+    private static <V, E> void assertSameGraph(Graph<V, E> expected, Graph<V, E> actual)
+    {
+        assertEquals(expected.vertexSet(), actual.vertexSet());
+        assertEquals(edges(expected), edges(actual));
+    }
+
+    /**
+     * Apply random changes to a graph.
+     */
+    private static void modify(Graph<String, DefaultWeightedEdge> g, Random rng, int count)
+    {
+        for (int i = 0; i < count; i++) {
+            List<String> vertices = new ArrayList<>(g.vertexSet());
+            List<DefaultWeightedEdge> edges = new ArrayList<>(g.edgeSet());
+            int op = rng.nextInt(10);
+            if (op < 2 || vertices.size() < 2) {
+                g.addVertex("v" + rng.nextInt(1000));
+            } else if (op < 3) {
+                g.removeVertex(vertices.get(rng.nextInt(vertices.size())));
+            } else if (op < 7 || edges.isEmpty()) {
+                DefaultWeightedEdge e = g.addEdge(
+                    vertices.get(rng.nextInt(vertices.size())),
+                    vertices.get(rng.nextInt(vertices.size())));
+                if (e != null) {
+                    g.setEdgeWeight(e, rng.nextInt(100) / 4d);
+                }
+            } else if (op < 9) {
+                g.removeEdge(edges.get(rng.nextInt(edges.size())));
+            } else {
+                g.setEdgeWeight(edges.get(rng.nextInt(edges.size())), rng.nextInt(100) / 4d);
+            }
+        }
+    }
+
+    @Test
+    public void testReplayRebuildsGraph()
+        throws IOException
+    {
+        File log = folder.newFile();
+        DefaultListenableGraph<String, DefaultWeightedEdge> g =
+            new DefaultListenableGraph<>(createGraph());
+        ChangeLogWriter<String, DefaultWeightedEdge> writer =
+            new ChangeLogWriter<>(log, v -> v, new IntegerIdProvider<>());
+        writer.setGroupSize(7);
+        writer.setSync(false);
+        g.addGraphListener(writer);
+        modify(g, new Random(17), 2000);
+        writer.close();
+
+        Graph<String, DefaultWeightedEdge> result = createGraph();
+        long sequence = new ChangeLogReplayer<String, DefaultWeightedEdge>(v -> v)
+            .replay(result, log);
+        assertEquals(writer.getSequence(), sequence);
+        assertSameGraph(g, result);
+
+        // the same log can also be read from a stream
+        result = createGraph();
+        try (InputStream in = new FileInputStream(log)) {
+            new ChangeLogReplayer<String, DefaultWeightedEdge>(v -> v).replay(result, in, 0);
+        }
+        assertSameGraph(g, result);
+    }
+
+    @Test
+    public void testCatchUpFromSnapshot()
+        throws IOException
+    {
+        File log = folder.newFile();
+        File snapshot = folder.newFile();
+        Random rng = new Random(5);
+        // without edge identifiers, parallel edges cannot be told apart by weight updates
+        DefaultListenableGraph<String, DefaultWeightedEdge> g = new DefaultListenableGraph<>(
+            new DefaultDirectedWeightedGraph<>(DefaultWeightedEdge.class));
+        ChangeLogWriter<String, DefaultWeightedEdge> writer = new ChangeLogWriter<>(log, v -> v);
+        g.addGraphListener(writer);
+        modify(g, rng, 500);
+
+        BinaryExporter<String, DefaultWeightedEdge> exporter = new BinaryExporter<>(v -> v);
+        exporter.setParameter(BinaryExporter.Parameter.EXPORT_VERTEX_IDS, true);
+        exporter.setParameter(BinaryExporter.Parameter.EXPORT_EDGE_WEIGHTS, true);
+        exporter.exportGraph(g, snapshot);
+        long snapshotSequence = writer.getSequence();
+        modify(g, rng, 500);
+        writer.commit();
+
+        Graph<String, DefaultWeightedEdge> result =
+            new DefaultDirectedWeightedGraph<>(DefaultWeightedEdge.class);
+        BinaryImporter<String, DefaultWeightedEdge> importer = new BinaryImporter<>();
+        importer.setVertexFactory(id -> id);
+        importer.importGraph(result, snapshot);
+        long sequence = new ChangeLogReplayer<String, DefaultWeightedEdge>(v -> v)
+            .replay(result, log, snapshotSequence);
+        assertEquals(writer.getSequence(), sequence);
+        assertSameGraph(g, result);
+
+        // after a reset the log only contains the changes which follow a new snapshot
+        exporter.exportGraph(g, snapshot);
+        snapshotSequence = writer.getSequence();
+        writer.reset();
+        modify(g, rng, 100);
+        writer.close();
+
+        result = new DefaultDirectedWeightedGraph<>(DefaultWeightedEdge.class);
+        importer.importGraph(result, snapshot);
+        new ChangeLogReplayer<String, DefaultWeightedEdge>(v -> v)
+            .replay(result, log, snapshotSequence);
+        assertSameGraph(g, result);
+
+        try {
+            new ChangeLogReplayer<String, DefaultWeightedEdge>(v -> v)
+                .replay(createGraph(), log, snapshotSequence - 1);
+            fail("No exception thrown");
+        } catch (ImportException e) {
+            assertTrue(e.getMessage().startsWith("Change log starts after sequence"));
+        }
+    }
+
+    @Test
+    public void testParallelEdgesWithoutIdentifiers()
+        throws IOException
+    {
+        File log = folder.newFile();
+        DefaultListenableGraph<String, DefaultWeightedEdge> g =
+            new DefaultListenableGraph<>(createGraph());
+        ChangeLogWriter<String, DefaultWeightedEdge> writer = new ChangeLogWriter<>(log, v -> v);
+        g.addGraphListener(writer);
+        g.addVertex("a");
+        g.addVertex("b");
+        g.setEdgeWeight(g.addEdge("a", "b"), 1.0);
+        DefaultWeightedEdge e = g.addEdge("a", "b");
+        g.setEdgeWeight(e, 2.0);
+        g.setEdgeWeight(g.addEdge("a", "b"), 3.0);
+        g.removeEdge(e);
+        writer.close();
+
+        Graph<String, DefaultWeightedEdge> result = createGraph();
+        new ChangeLogReplayer<String, DefaultWeightedEdge>(v -> v).replay(result, log);
+        assertEquals(Arrays.asList("a-b:1.0", "a-b:3.0"), edges(result));
+    }
+
+    @Test
+    public void testGroupCommit()
+        throws IOException
+    {
+        File log = folder.newFile();
+        Graph<Integer, DefaultWeightedEdge> g = new DefaultListenableGraph<>(
+            new SimpleDirectedWeightedGraph<>(DefaultWeightedEdge.class));
+        ChangeLogWriter<Integer, DefaultWeightedEdge> writer =
+            new ChangeLogWriter<>(log, String::valueOf);
+        writer.setGroupSize(4);
+        ((ListenableGraph<Integer, DefaultWeightedEdge>) g).addGraphListener(writer);
+
+        for (int i = 0; i < 6; i++) {
+            g.addVertex(i);
+        }
+        assertEquals(6, writer.getSequence());
+        assertEquals(4, writer.getCommittedSequence());
+
+        // only committed records are visible
+        Graph<Integer, DefaultWeightedEdge> result =
+            new SimpleDirectedWeightedGraph<>(DefaultWeightedEdge.class);
+        ChangeLogReplayer<Integer, DefaultWeightedEdge> replayer =
+            new ChangeLogReplayer<>(Integer::valueOf);
+        assertEquals(4, replayer.replay(result, log));
+        assertEquals(4, result.vertexSet().size());
+
+        g.setEdgeWeight(g.addEdge(0, 5), 2.5);
+        writer.commit();
+        assertEquals(8, writer.getCommittedSequence());
+        assertEquals(8, replayer.replay(result, log, 4));
+        assertSameGraph(g, result);
+        writer.close();
+
+        try {
+            g.addVertex(10);
+            fail("No exception thrown");
+        } catch (ExportException e) {
+            assertEquals("Change log is closed", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testInterruptedCommitIsIgnoredAndTruncated()
+        throws IOException
+    {
+        File log = folder.newFile();
+        Graph<Integer, DefaultWeightedEdge> g = new DefaultListenableGraph<>(
+            new SimpleDirectedWeightedGraph<>(DefaultWeightedEdge.class));
+        ChangeLogWriter<Integer, DefaultWeightedEdge> writer =
+            new ChangeLogWriter<>(log, String::valueOf);
+        ((ListenableGraph<Integer, DefaultWeightedEdge>) g).addGraphListener(writer);
+        g.addVertex(1);
+        g.addVertex(2);
+        writer.commit();
+        long committedSize = log.length();
+        g.addEdge(1, 2);
+        writer.close();
+
+        // simulate a crash in the middle of the last commit
+        try (FileChannel channel = FileChannel.open(log.toPath(), StandardOpenOption.WRITE)) {
+            channel.truncate(log.length() - 3);
+        }
+        Graph<Integer, DefaultWeightedEdge> result =
+            new SimpleDirectedWeightedGraph<>(DefaultWeightedEdge.class);
+        ChangeLogReplayer<Integer, DefaultWeightedEdge> replayer =
+            new ChangeLogReplayer<>(Integer::valueOf);
+        assertEquals(2, replayer.replay(result, log));
+        assertEquals(0, result.edgeSet().size());
+
+        // a corrupted frame is also ignored
+        byte[] bytes = Files.readAllBytes(log.toPath());
+        bytes[bytes.length - 2] ^= 1;
+        Files.write(log.toPath(), bytes);
+        result = new SimpleDirectedWeightedGraph<>(DefaultWeightedEdge.class);
+        assertEquals(2, replayer.replay(result, log));
+
+        // a new writer removes the incomplete frame and continues the numbering
+        writer = new ChangeLogWriter<>(log, String::valueOf);
+        assertEquals(committedSize, log.length());
+        assertEquals(2, writer.getSequence());
+        g = new DefaultListenableGraph<>(result);
+        ((ListenableGraph<Integer, DefaultWeightedEdge>) g).addGraphListener(writer);
+        g.addEdge(2, 1);
+        writer.close();
+
+        result = new SimpleDirectedWeightedGraph<>(DefaultWeightedEdge.class);
+        assertEquals(3, replayer.replay(result, log));
+        assertEquals(Arrays.asList("2-1:1.0"), edges(result));
+    }
+
+    @Test
+    public void testInterruptedResetKeepsSequence()
+        throws IOException
+    {
+        File log = folder.newFile();
+        DefaultListenableGraph<Integer, DefaultWeightedEdge> g = new DefaultListenableGraph<>(
+            new SimpleDirectedWeightedGraph<>(DefaultWeightedEdge.class));
+        ChangeLogWriter<Integer, DefaultWeightedEdge> writer =
+            new ChangeLogWriter<>(log, String::valueOf);
+        g.addGraphListener(writer);
+        g.addVertex(1);
+        g.addVertex(2);
+        g.addEdge(1, 2);
+        writer.commit();
+        byte[] before = Files.readAllBytes(log.toPath());
+        writer.reset();
+        writer.close();
+        byte[] after = Files.readAllBytes(log.toPath());
+        assertEquals(ChangeLogFormat.HEADER_SIZE, after.length);
+
+        // simulate a crash after the new header has been written, before the truncation
+        byte[] interrupted = before.clone();
+        System.arraycopy(after, 0, interrupted, 0, ChangeLogFormat.HEADER_SIZE);
+        // simulate a crash right after the truncation
+        for (byte[] bytes : Arrays.asList(interrupted, after)) {
+            Files.write(log.toPath(), bytes);
+            Graph<Integer, DefaultWeightedEdge> result =
+                new SimpleDirectedWeightedGraph<>(DefaultWeightedEdge.class);
+            ChangeLogReplayer<Integer, DefaultWeightedEdge> replayer =
+                new ChangeLogReplayer<>(Integer::valueOf);
+            assertEquals(3, replayer.replay(result, log, 3));
+            assertEquals(0, result.vertexSet().size());
+
+            writer = new ChangeLogWriter<>(log, String::valueOf);
+            assertEquals(ChangeLogFormat.HEADER_SIZE, log.length());
+            assertEquals(3, writer.getSequence());
+            result.addVertex(1);
+            result.addVertex(2);
+            result.addEdge(1, 2);
+            g = new DefaultListenableGraph<>(result);
+            g.addGraphListener(writer);
+            g.addVertex(3);
+            writer.close();
+
+            result = new SimpleDirectedWeightedGraph<>(DefaultWeightedEdge.class);
+            assertEquals(4, replayer.replay(result, log, 3));
+            assertEquals(Collections.singleton(3), result.vertexSet());
+        }
+    }
+
+    @Test
+    public void testNotAChangeLog()
+        throws IOException
+    {
+        File file = folder.newFile();
+        Files.write(file.toPath(), "not a change log file".getBytes());
+        try {
+            new ChangeLogWriter<String, DefaultWeightedEdge>(file, v -> v);
+            fail("No exception thrown");
+        } catch (ExportException e) {
+            assertEquals("Failed to open change log: Not a change log file", e.getMessage());
+        }
+        try {
+            new ChangeLogReplayer<String, DefaultWeightedEdge>(v -> v)
+                .replay(createGraph(), file);
+            fail("No exception thrown");
+        } catch (ImportException e) {
+            assertEquals("Not a change log file", e.getMessage());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidGroupSize()
+        throws IOException
+    {
+        new ChangeLogWriter<String, DefaultWeightedEdge>(folder.newFile(), v -> v).setGroupSize(0);
+    }
+}
@@ -0,0 +1,387 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.nio.csv;
+
+import org.jgrapht.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.graph.builder.*;
+import org.jgrapht.nio.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+import org.junit.rules.*;
+
+import java.io.*;
+import java.nio.channels.*;
+import java.nio.charset.*;
+import java.nio.file.*;
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link CSVEdgeListParser}.
+ */
+public class CSVEdgeListParserTest
+{
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static final String[] SPECIAL =
+        { ",", ";", "\"", "\n", "\r\n", "a", "b", "δ", "€", "1", " " };
+
+    /**
+     * Generate a random field, quoted or not.
+     */
+    private static String randomField(Random rng, char delimiter)
+    {
+        if (rng.nextInt(4) > 0) {
+            return "v" + rng.nextInt(50);
+        }
+        StringBuilder sb = new StringBuilder("\"");
+        int length = rng.nextInt(6);
+        for (int i = 0; i < length; i++) {
+            String s = SPECIAL[rng.nextInt(SPECIAL.length)];
+            sb.append(s.equals("\"") ? "\"\"" : s);
+        }
+        sb.append('"');
+        return sb.toString();
+    }
+
+    private static String randomWeight(Random rng)
+    {
+        switch (rng.nextInt(6)) {
+        case 0:
+            return String.valueOf(rng.nextInt(1000) - 500);
+        case 1:
+            return String.valueOf(rng.nextDouble());
+        case 2:
+            return String.valueOf(rng.nextGaussian() * 1e200);
+        case 3:
+            return (rng.nextBoolean() ? "-" : "") + rng.nextInt(1000) + "." + rng.nextInt(1000)
+                + "e" + (rng.nextInt(60) - 30);
+        case 4:
+            return "0.1234567890123456789";
+        default:
+            return " 2.5";
+        }
+    }
+
+    /**
+     * Generate random input and the rows it should be parsed to.
+     */
+    private static String generate(
+        Random rng, int rows, char delimiter, boolean weighted, List<List<String>> expected)
+    {
+        StringBuilder sb = new StringBuilder();
+        for (int r = 0; r < rows; r++) {
+            List<String> row = new ArrayList<>();
+            String source = randomField(rng, delimiter);
+            sb.append(source);
+            row.add(DSVUtils.unescapeDSV(source, delimiter));
+            int targets = rng.nextInt(4);
+            for (int t = 0; t < targets; t++) {
+                String target = randomField(rng, delimiter);
+                sb.append(delimiter).append(target);
+                row.add(DSVUtils.unescapeDSV(target, delimiter));
+                if (weighted) {
+                    String weight = randomWeight(rng);
+                    sb.append(delimiter).append(weight);
+                    row.add(String.valueOf(Double.parseDouble(weight)));
+                }
+            }
+            sb.append(rng.nextBoolean() ? "\n" : "\r\n");
+            expected.add(row);
+        }
+        return sb.toString();
+    }
+
+    private static List<List<String>> collect(CSVEdgeListParser.Batch batch, boolean weighted)
+    {
+        List<List<String>> rows = new ArrayList<>();
+        for (int r = 0; r < batch.rowCount; r++) {
+            List<String> row = new ArrayList<>();
+            row.add(batch.fields[batch.rowStarts[r]]);
+            for (int i = batch.rowStarts[r] + 1; i < batch.rowStarts[r + 1]; i++) {
+                row.add(batch.fields[i]);
+                if (weighted) {
+                    row.add(String.valueOf(batch.weights[i]));
+                }
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    private static List<List<String>> parseStream(
+        CSVEdgeListParser parser, InputStream in, boolean weighted)
+        throws IOException
+    {
+        List<List<String>> rows = new ArrayList<>();
+        parser.parse(in, batch -> rows.addAll(collect(batch, weighted)));
+        return rows;
+    }
+
+    private static List<List<String>> parseFile(
+        CSVEdgeListParser parser, File file, int parallelism, boolean weighted)
+        throws IOException
+    {
+        List<List<String>> rows = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            parser.parse(channel, parallelism, batch -> rows.addAll(collect(batch, weighted)));
+        }
+        return rows;
+    }
+
+    @Test
+    public void testRandomInput()
+        throws IOException
+    {
+        Random rng = new Random(7);
+        for (char delimiter : new char[] { ',', ';', '\t' }) {
+            for (boolean weighted : new boolean[] { false, true }) {
+                List<List<String>> expected = new ArrayList<>();
+                String input = generate(rng, 300, delimiter, weighted, expected);
+                File file = folder.newFile();
+                Files.write(file.toPath(), input.getBytes(StandardCharsets.UTF_8));
+
+                CSVEdgeListParser parser = new CSVEdgeListParser(delimiter, weighted);
+                assertEquals(
+                    expected, parseStream(
+                        parser, new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)),
+                        weighted));
+                assertEquals(
+                    expected, parseStream(
+                        parser, CSVEdgeListParser.encode(new StringReader(input)), weighted));
+                assertEquals(expected, parseFile(parser, file, 1, weighted));
+
+                // small chunks split rows and quoted fields in all possible places
+                for (int chunkSize : new int[] { 1, 2, 3, 7, 64, 1000 }) {
+                    CSVEdgeListParser chunked =
+                        new CSVEdgeListParser(delimiter, weighted, chunkSize);
+                    assertEquals(expected, parseFile(chunked, file, 3, weighted));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testSmallBuffers()
+        throws IOException
+    {
+        Random rng = new Random(11);
+        List<List<String>> expected = new ArrayList<>();
+        String input = generate(rng, 200, ',', true, expected);
+        byte[] bytes = input.getBytes(StandardCharsets.UTF_8);
+
+        // a stream which returns a few bytes at a time
+        InputStream in = new ByteArrayInputStream(bytes)
+        {
+            @Override
+            public synchronized int read(byte[] b, int off, int len)
+            {
+                return super.read(b, off, Math.min(len, 1 + rng.nextInt(5)));
+            }
+        };
+        assertEquals(expected, parseStream(new CSVEdgeListParser(',', true), in, true));
+    }
+
+    @Test
+    public void testEncodeSmallReads()
+        throws IOException
+    {
+        String input = "a,\u00e9\n\u20ac,\ud83d\ude00\n";
+        byte[] expected = input.getBytes(StandardCharsets.UTF_8);
+        for (int len = 1; len <= 5; len++) {
+            InputStream in = CSVEdgeListParser.encode(new StringReader(input));
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] b = new byte[len];
+            int read;
+            while ((read = in.read(b, 0, len)) >= 0) {
+                out.write(b, 0, read);
+            }
+            assertArrayEquals(expected, out.toByteArray());
+        }
+
+        InputStream in = CSVEdgeListParser.encode(new StringReader(input));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int c;
+        while ((c = in.read()) >= 0) {
+            out.write(c);
+        }
+        assertArrayEquals(expected, out.toByteArray());
+    }
+
+    @Test
+    public void testLastRowWithoutLineBreak()
+        throws IOException
+    {
+        CSVEdgeListParser parser = new CSVEdgeListParser(',', false);
+        List<List<String>> rows = parseStream(
+            parser, new ByteArrayInputStream("a,b\nc,\"d,e\"".getBytes(StandardCharsets.UTF_8)),
+            false);
+        assertEquals(Arrays.asList(Arrays.asList("a", "b"), Arrays.asList("c", "d,e")), rows);
+    }
+
+    @Test
+    public void testEmptyInput()
+        throws IOException
+    {
+        CSVEdgeListParser parser = new CSVEdgeListParser(',', false);
+        assertTrue(parseStream(parser, new ByteArrayInputStream(new byte[0]), false).isEmpty());
+        File file = folder.newFile();
+        assertTrue(parseFile(new CSVEdgeListParser(',', false, 1), file, 2, false).isEmpty());
+    }
+
+    @Test
+    public void testErrors()
+    {
+        String[] inputs = { "a,\"b\n", "a,b\"c\n", "a,\"b\"c\n", "a,b\rc\n" };
+        for (String input : inputs) {
+            try {
+                parseStream(
+                    new CSVEdgeListParser(',', false),
+                    new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), false);
+                fail("No!");
+            } catch (ImportException | IOException e) {
+                // nothing
+            }
+        }
+        String[] weighted = { "a,b\n", "a,b,x\n", "a,b,1.0,c\n", "a,b,\"1.0\"\n", "a,b,1e\n" };
+        for (String input : weighted) {
+            try {
+                parseStream(
+                    new CSVEdgeListParser(',', true),
+                    new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), true);
+                fail("No!");
+            } catch (ImportException | IOException e) {
+                // nothing
+            }
+        }
+    }
+
+    @Test
+    public void testFilesInParallel()
+        throws IOException
+    {
+        Random rng = new Random(13);
+        List<List<String>> expected = new ArrayList<>();
+        List<File> files = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            // every file is parsed into several batches
+            String input = generate(rng, 40000, ',', true, expected);
+            File file = folder.newFile();
+            Files.write(file.toPath(), input.getBytes(StandardCharsets.UTF_8));
+            files.add(file);
+        }
+        CSVEdgeListParser parser = new CSVEdgeListParser(',', true);
+        List<List<String>> rows = new ArrayList<>();
+        parser.parse(files, 3, batch -> rows.addAll(collect(batch, true)));
+        assertEquals(expected, rows);
+
+        // the rows which precede an error are consumed in order
+        Files.write(files.get(2).toPath(), "a,b,x\n".getBytes(StandardCharsets.UTF_8));
+        rows.clear();
+        try {
+            parser.parse(files, 3, batch -> rows.addAll(collect(batch, true)));
+            fail("No!");
+        } catch (ImportException e) {
+            assertEquals(80000, rows.size());
+        }
+    }
+
+    @Test
+    public void testImporterFile()
+        throws IOException
+    {
+        Random rng = new Random(3);
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 2000; i++) {
+            sb.append(rng.nextInt(300)).append(';').append(rng.nextInt(300)).append(';');
+            sb.append(rng.nextInt(100) / 4d).append('\n');
+        }
+        File file = folder.newFile();
+        Files.write(file.toPath(), sb.toString().getBytes(StandardCharsets.UTF_8));
+
+        CSVImporter<String, DefaultWeightedEdge> importer =
+            new CSVImporter<>(CSVFormat.EDGE_LIST, ';');
+        importer.setParameter(CSVFormat.Parameter.EDGE_WEIGHTS, true);
+        importer.setVertexFactory(id -> id);
+        Graph<String, DefaultWeightedEdge> expected = createGraph();
+        importer.importGraph(expected, new StringReader(sb.toString()));
+        assertEquals(2000, expected.edgeSet().size());
+
+        importer.setParallelism(3);
+        Graph<String, DefaultWeightedEdge> fromFile = createGraph();
+        importer.importGraph(fromFile, file);
+        assertEquals(expected.vertexSet(), fromFile.vertexSet());
+        assertEquals(edges(expected), edges(fromFile));
+
+        Graph<String, DefaultWeightedEdge> fromStream = createGraph();
+        importer.importGraph(fromStream, new FileInputStream(file));
+        assertEquals(edges(expected), edges(fromStream));
+    }
+
+    @Test
+    public void testEventOrder()
+        throws IOException
+    {
+        StringBuilder sb = new StringBuilder();
+        List<String> expected = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        Random rng = new Random(5);
+        for (int i = 0; i < 1000; i++) {
+            String s = "v" + rng.nextInt(100);
+            String t = "v" + rng.nextInt(100);
+            sb.append(s).append(',').append(t).append('\n');
+            if (seen.add(s)) {
+                expected.add(s);
+            }
+            if (seen.add(t)) {
+                expected.add(t);
+            }
+            expected.add(s + "-" + t);
+        }
+        File file = folder.newFile();
+        Files.write(file.toPath(), sb.toString().getBytes(StandardCharsets.UTF_8));
+
+        CSVEventDrivenImporter importer = new CSVEventDrivenImporter(CSVFormat.EDGE_LIST);
+        importer.setParallelism(4);
+        List<String> events = new ArrayList<>();
+        importer.addVertexConsumer(events::add);
+        importer.addEdgeConsumer(e -> events.add(e.getFirst() + "-" + e.getSecond()));
+        importer.importInput(file);
+        assertEquals(expected, events);
+    }
+
+    private static Graph<String, DefaultWeightedEdge> createGraph()
+    {
+        return GraphTypeBuilder
+            .directed().allowingMultipleEdges(true).allowingSelfLoops(true).weighted(true)
+            .edgeClass(DefaultWeightedEdge.class)
+            .vertexSupplier(SupplierUtil.createStringSupplier(1)).buildGraph();
+    }
+
+    private static List<String> edges(Graph<String, DefaultWeightedEdge> g)
+    {
+        List<String> result = new ArrayList<>();
+        for (DefaultWeightedEdge e : g.edgeSet()) {
+            result.add(g.getEdgeSource(e) + "-" + g.getEdgeTarget(e) + ":" + g.getEdgeWeight(e));
+        }
+        return result;
+    }
+}
@@ -19,10 +19,24 @@ package org.jgrapht.nio.csv;
 
 import org.jgrapht.Graph;
 import org.jgrapht.graph.*;
+import org.jgrapht.nio.IntegerIdProvider;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
 import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
 import java.util.function.Function;
+import java.util.zip.GZIPInputStream;
 
 import static org.junit.Assert.assertEquals;
 
@@ -33,6 +47,9 @@ import static org.junit.Assert.assertEquals;
  */
 public class CSVExporterTest
 {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
     // ~ Static fields/initializers
     // ---------------------------------------------
 
@@ -493,4 +510,77 @@ public class CSVExporterTest
         assertEquals(DIRECTED_EDGE_LIST_ESCAPE, w.toString());
     }
 
+    @Test
+    public void testParallelCompressedAndPartitionedOutput()
+        throws IOException
+    {
+        Graph<String, DefaultWeightedEdge> g =
+            new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class);
+        Random rng = new Random(7);
+        for (int i = 0; i < 60; i++) {
+            g.addVertex(i % 10 == 0 ? "v;" + i : "v" + i);
+        }
+        List<String> vertices = new ArrayList<>(g.vertexSet());
+        for (int i = 0; i < 300; i++) {
+            DefaultWeightedEdge e = g
+                .addEdge(vertices.get(rng.nextInt(60)), vertices.get(rng.nextInt(60)));
+            g.setEdgeWeight(e, rng.nextInt(100) / 4d);
+        }
+
+        for (CSVFormat format : CSVFormat.values()) {
+            // the integer id provider depends on the order of the calls
+            CSVExporter<String, DefaultWeightedEdge> exporter =
+                new CSVExporter<>(new IntegerIdProvider<>(), format, ';');
+            exporter.setParameter(CSVFormat.Parameter.EDGE_WEIGHTS, true);
+            exporter.setParameter(CSVFormat.Parameter.MATRIX_FORMAT_NODEID, true);
+            StringWriter w = new StringWriter();
+            exporter.exportGraph(g, w);
+            String expected = w.toString();
+
+            for (boolean compressed : new boolean[] { false, true }) {
+                exporter = new CSVExporter<>(new IntegerIdProvider<>(), format, ';');
+                exporter.setParameter(CSVFormat.Parameter.EDGE_WEIGHTS, true);
+                exporter.setParameter(CSVFormat.Parameter.MATRIX_FORMAT_NODEID, true);
+                exporter.setParallelism(3);
+                exporter.setCompressed(compressed);
+
+                ByteArrayOutputStream os = new ByteArrayOutputStream();
+                exporter.exportGraph(g, os);
+                assertEquals(expected, decode(os.toByteArray(), compressed));
+
+                List<File> files = new ArrayList<>();
+                for (int i = 0; i < 4; i++) {
+                    files.add(folder.newFile());
+                }
+                exporter.exportGraph(g, files);
+                os = new ByteArrayOutputStream();
+                for (File file : files) {
+                    os.write(Files.readAllBytes(file.toPath()));
+                }
+                assertEquals(expected, decode(os.toByteArray(), compressed));
+
+                File file = folder.newFile();
+                exporter.exportGraph(g, file);
+                assertEquals(expected, decode(Files.readAllBytes(file.toPath()), compressed));
+            }
+        }
+    }
+
+    private static String decode(byte[] bytes, boolean compressed)
+        throws IOException
+    {
+        if (compressed) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+                byte[] buf = new byte[4096];
+                int read;
+                while ((read = in.read(buf)) >= 0) {
+                    out.write(buf, 0, read);
+                }
+            }
+            bytes = out.toByteArray();
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
 }
@@ -26,11 +26,19 @@ import org.jgrapht.graph.builder.GraphTypeBuilder;
 import org.jgrapht.nio.Attribute;
 import org.jgrapht.nio.ImportException;
 import org.jgrapht.util.SupplierUtil;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
+import java.io.File;
+import java.io.IOException;
 import java.io.StringReader;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.Random;
 
 import static org.junit.Assert.*;
 
@@ -43,6 +51,9 @@ public class CSVImporterTest
 {
     private static final String NL = System.getProperty("line.separator");
 
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
     public <E> Graph<String, E> readGraph(
         String input, CSVFormat format, Character delimiter, Class<E> edgeClass, boolean directed,
         boolean weighted)
@@ -687,4 +698,51 @@ public class CSVImporterTest
         assertTrue(g.containsEdge("5", "5"));
     }
 
+    @Test
+    public void testCompressedShards()
+        throws IOException
+    {
+        Graph<String, DefaultWeightedEdge> g =
+            new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class);
+        Random rng = new Random(5);
+        for (int i = 1; i <= 50; i++) {
+            g.addVertex(String.valueOf(i));
+        }
+        // every file is parsed into several batches
+        for (int i = 0; i < 100000; i++) {
+            DefaultWeightedEdge e = g.addEdge(
+                String.valueOf(1 + rng.nextInt(50)), String.valueOf(1 + rng.nextInt(50)));
+            g.setEdgeWeight(e, rng.nextInt(64) / 8d);
+        }
+
+        CSVExporter<String, DefaultWeightedEdge> exporter =
+            new CSVExporter<>(v -> v, CSVFormat.EDGE_LIST, ',');
+        exporter.setParameter(CSVFormat.Parameter.EDGE_WEIGHTS, true);
+        exporter.setParallelism(2);
+        exporter.setCompressed(true);
+        List<File> files = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            files.add(folder.newFile());
+        }
+        exporter.exportGraph(g, files);
+
+        Graph<String, DefaultWeightedEdge> result =
+            new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class);
+        CSVImporter<String, DefaultWeightedEdge> importer =
+            new CSVImporter<>(CSVFormat.EDGE_LIST, ',');
+        importer.setParameter(CSVFormat.Parameter.EDGE_WEIGHTS, true);
+        importer.setVertexFactory(id -> id);
+        importer.setParallelism(2);
+        importer.importGraph(result, files);
+
+        assertEquals(g.edgeSet().size(), result.edgeSet().size());
+        Iterator<DefaultWeightedEdge> it = result.edgeSet().iterator();
+        for (DefaultWeightedEdge e : g.edgeSet()) {
+            DefaultWeightedEdge r = it.next();
+            assertEquals(g.getEdgeSource(e), result.getEdgeSource(r));
+            assertEquals(g.getEdgeTarget(e), result.getEdgeTarget(r));
+            assertEquals(g.getEdgeWeight(e), result.getEdgeWeight(r), 0d);
+        }
+    }
+
 }
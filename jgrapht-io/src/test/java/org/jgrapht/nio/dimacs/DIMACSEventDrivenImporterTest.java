@@ -19,13 +19,24 @@ package org.jgrapht.nio.dimacs;
 
 import org.jgrapht.alg.util.Pair;
 import org.jgrapht.alg.util.Triple;
+import org.jgrapht.nio.ImportException;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
+import java.io.File;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
+import java.util.function.Consumer;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
@@ -37,6 +48,8 @@ import static org.junit.Assert.assertNull;
  */
 public class DIMACSEventDrivenImporterTest
 {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
 
     /**
      * Read and parse an actual instance
@@ -264,5 +277,144 @@ public class DIMACSEventDrivenImporterTest
             i++;
         }
     }
-    
+
+    /**
+     * Collect the events of an import, including the message of a failure.
+     */
+    private static List<Object> collect(
+        DIMACSEventDrivenImporter importer, Consumer<DIMACSEventDrivenImporter> action)
+    {
+        List<Object> events = new ArrayList<>();
+        importer.addVertexCountConsumer(events::add);
+        importer.addEdgeConsumer(events::add);
+        try {
+            action.accept(importer);
+        } catch (ImportException e) {
+            events.add(e.getMessage());
+        }
+        return events;
+    }
+
+    private void assertFileImportMatchesReaderImport(String input)
+        throws IOException
+    {
+        File file = folder.newFile();
+        Files.write(file.toPath(), input.getBytes(StandardCharsets.UTF_8));
+
+        for (boolean renumber : new boolean[] { true, false }) {
+            for (boolean zeroBased : new boolean[] { true, false }) {
+                List<Object> expected = collect(
+                    new DIMACSEventDrivenImporter()
+                        .renumberVertices(renumber).zeroBasedNumbering(zeroBased),
+                    i -> i.importInput(new StringReader(input)));
+                for (int parallelism : new int[] { 1, 3 }) {
+                    for (int chunkSize : new int[] { 1, 5, 16, 100, 1 << 20 }) {
+                        DIMACSEventDrivenImporter importer = new DIMACSEventDrivenImporter()
+                            .renumberVertices(renumber).zeroBasedNumbering(zeroBased)
+                            .parallelism(parallelism);
+                        importer.chunkSize = chunkSize;
+                        assertEquals(expected, collect(importer, i -> i.importInput(file)));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testParallelFileImport()
+        throws IOException
+    {
+        StringBuilder sb = new StringBuilder();
+        sb.append("c random graph\n\nc with comments\r\n");
+        sb.append("p sp 60 500\n");
+        Random rng = new Random(7);
+        for (int i = 0; i < 500; i++) {
+            switch (rng.nextInt(10)) {
+            case 0:
+                sb.append("c comment ").append(i).append('\n');
+                break;
+            case 1:
+                sb.append("a\t").append(1 + rng.nextInt(60)).append("  ").append(
+                    1 + rng.nextInt(60)).append(" ").append(rng.nextDouble()).append("\r\n");
+                break;
+            case 2:
+                sb.append("e ").append(1 + rng.nextInt(60)).append(' ').append(
+                    1 + rng.nextInt(60)).append(" w\n");
+                break;
+            case 3:
+                sb.append("% note\n   \n");
+                break;
+            default:
+                sb.append("e ").append(1 + rng.nextInt(60)).append(' ').append(
+                    1 + rng.nextInt(60)).append(' ').append(rng.nextInt(100)).append('\n');
+            }
+        }
+        sb.append("e 3 4");
+        assertFileImportMatchesReaderImport(sb.toString());
+
+        InputStream in = getClass().getClassLoader().getResourceAsStream("myciel3_weighted.col");
+        assertFileImportMatchesReaderImport(
+            new String(in.readAllBytes(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testParallelFileImportErrors()
+        throws IOException
+    {
+        assertFileImportMatchesReaderImport("");
+        assertFileImportMatchesReaderImport("c only a comment\n");
+        assertFileImportMatchesReaderImport("e 1 2\np edge 2 1\n");
+        assertFileImportMatchesReaderImport("p edge ERROR 5\ne 1 2\ne 1 4\n");
+        assertFileImportMatchesReaderImport("p edge -10 5\ne 1 2\n");
+        assertFileImportMatchesReaderImport("p edge\ne 1 2\n");
+        assertFileImportMatchesReaderImport("p edge 2 2\ne 1 2\ne 2\ne 1 2\n");
+        assertFileImportMatchesReaderImport("p edge 2 2\ne 1 2\ne x 2\n");
+        assertFileImportMatchesReaderImport("p edge 2 2\ne 1 2\ne 1 99999999999\n");
+        assertFileImportMatchesReaderImport(" p edge 2 1\ne 1 2\n");
+    }
+
+    @Test
+    public void testIntEdgeConsumer()
+        throws IOException
+    {
+        File file = folder.newFile();
+        try (InputStream in =
+            getClass().getClassLoader().getResourceAsStream("myciel3_weighted.col"))
+        {
+            Files.write(file.toPath(), in.readAllBytes());
+        }
+        Files.write(file.toPath(), "e 1 2\n".getBytes(StandardCharsets.UTF_8),
+            StandardOpenOption.APPEND);
+
+        for (boolean fromFile : new boolean[] { false, true }) {
+            DIMACSEventDrivenImporter importer = new DIMACSEventDrivenImporter();
+            List<String> expected = new ArrayList<>();
+            List<String> actual = new ArrayList<>();
+            importer.addEdgeConsumer(
+                t -> expected.add(
+                    t.getFirst() + " " + t.getSecond() + " "
+                        + (t.getThird() == null ? Double.NaN : t.getThird())));
+            importer.addIntEdgeConsumer((s, t, w) -> actual.add(s + " " + t + " " + w));
+            if (fromFile) {
+                importer.importInput(file);
+            } else {
+                importer.importInput(Files.newBufferedReader(file.toPath()));
+            }
+            assertEquals(21, actual.size());
+            assertEquals("0 1 NaN", actual.get(20));
+            assertEquals(expected, actual);
+
+            // without edge consumers
+            DIMACSEventDrivenImporter intOnly = new DIMACSEventDrivenImporter();
+            List<String> intEdges = new ArrayList<>();
+            intOnly.addIntEdgeConsumer((s, t, w) -> intEdges.add(s + " " + t + " " + w));
+            if (fromFile) {
+                intOnly.importInput(file);
+            } else {
+                intOnly.importInput(Files.newBufferedReader(file.toPath()));
+            }
+            assertEquals(actual, intEdges);
+        }
+    }
+
 }
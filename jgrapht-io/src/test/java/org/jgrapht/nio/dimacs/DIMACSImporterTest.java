@@ -20,15 +20,28 @@ package org.jgrapht.nio.dimacs;
 import org.jgrapht.Graph;
 import org.jgrapht.graph.DefaultEdge;
 import org.jgrapht.graph.DefaultWeightedEdge;
+import org.jgrapht.graph.DirectedWeightedPseudograph;
 import org.jgrapht.graph.builder.GraphTypeBuilder;
 import org.jgrapht.nio.ImportException;
 import org.jgrapht.util.SupplierUtil;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
 
 import static org.junit.Assert.*;
 
@@ -40,6 +53,8 @@ import static org.junit.Assert.*;
  */
 public class DIMACSImporterTest
 {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
 
     public <E> Graph<Integer, E> readGraph(InputStream in, Class<E> edgeClass, boolean weighted)
     {
@@ -98,6 +113,39 @@ public class DIMACSImporterTest
         }
     }
 
+    @Test
+    public void testReadWeightedDIMACSFileInParallel()
+        throws IOException
+    {
+        File file = folder.newFile();
+        try (InputStream in =
+            getClass().getClassLoader().getResourceAsStream("myciel3_weighted.col"))
+        {
+            Files.write(file.toPath(), in.readAllBytes());
+        }
+
+        Graph<Integer, DefaultWeightedEdge> graph = GraphTypeBuilder
+            .directed().allowingMultipleEdges(true).allowingSelfLoops(true).weighted(true)
+            .vertexSupplier(SupplierUtil.createIntegerSupplier())
+            .edgeClass(DefaultWeightedEdge.class).buildGraph();
+        DIMACSImporter<Integer, DefaultWeightedEdge> importer = new DIMACSImporter<>();
+        importer.setParallelism(4);
+        importer.importGraph(graph, file);
+
+        Graph<Integer, DefaultWeightedEdge> expected;
+        try (InputStream in = new FileInputStream(file)) {
+            expected = readGraph(in, DefaultWeightedEdge.class, true);
+        }
+        assertEquals(expected.vertexSet(), graph.vertexSet());
+        assertEquals(expected.edgeSet().size(), graph.edgeSet().size());
+        for (DefaultWeightedEdge e : expected.edgeSet()) {
+            DefaultWeightedEdge f =
+                graph.getEdge(expected.getEdgeSource(e), expected.getEdgeTarget(e));
+            assertNotNull(f);
+            assertEquals(expected.getEdgeWeight(e), graph.getEdgeWeight(f), 0d);
+        }
+    }
+
     @Test
     public void testReadDIMACSShortestPathFormat()
     {
@@ -228,4 +276,54 @@ public class DIMACSImporterTest
         }
     }
 
+    @Test
+    public void testCompressedShards()
+        throws IOException
+    {
+        Graph<Integer, DefaultWeightedEdge> g =
+            new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class);
+        Random rng = new Random(11);
+        for (int i = 1; i <= 100; i++) {
+            g.addVertex(i);
+        }
+        for (int i = 0; i < 1000; i++) {
+            DefaultWeightedEdge e = g.addEdge(1 + rng.nextInt(100), 1 + rng.nextInt(100));
+            g.setEdgeWeight(e, rng.nextInt(64) / 8d);
+        }
+
+        DIMACSExporter<Integer, DefaultWeightedEdge> exporter =
+            new DIMACSExporter<>(String::valueOf, DIMACSFormat.SHORTEST_PATH);
+        exporter.setParameter(DIMACSExporter.Parameter.EXPORT_EDGE_WEIGHTS, true);
+        exporter.setParallelism(2);
+        exporter.setCompressed(true);
+        List<File> files = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            files.add(folder.newFile());
+        }
+        exporter.exportGraph(g, files);
+        // a single file is compressed as well
+        File file = folder.newFile();
+        exporter.exportGraph(g, file);
+
+        for (List<File> input : Arrays.asList(files, Collections.singletonList(file))) {
+            Graph<Integer, DefaultWeightedEdge> result = GraphTypeBuilder
+                .directed().allowingMultipleEdges(true).allowingSelfLoops(true).weighted(true)
+                .vertexSupplier(SupplierUtil.createIntegerSupplier(1))
+                .edgeClass(DefaultWeightedEdge.class).buildGraph();
+            DIMACSImporter<Integer, DefaultWeightedEdge> importer = new DIMACSImporter<>();
+            importer.setParallelism(2);
+            importer.importGraph(result, input);
+
+            assertEquals(g.vertexSet(), result.vertexSet());
+            assertEquals(g.edgeSet().size(), result.edgeSet().size());
+            Iterator<DefaultWeightedEdge> it = result.edgeSet().iterator();
+            for (DefaultWeightedEdge e : g.edgeSet()) {
+                DefaultWeightedEdge r = it.next();
+                assertEquals(g.getEdgeSource(e), result.getEdgeSource(r));
+                assertEquals(g.getEdgeTarget(e), result.getEdgeTarget(r));
+                assertEquals(g.getEdgeWeight(e), result.getEdgeWeight(r), 0d);
+            }
+        }
+    }
+
 }
@@ -18,6 +18,7 @@
 package org.jgrapht.nio.gml;
 
 import org.jgrapht.Graph;
+import org.jgrapht.alg.util.Triple;
 import org.jgrapht.graph.DefaultEdge;
 import org.jgrapht.graph.DefaultWeightedEdge;
 import org.jgrapht.graph.DirectedWeightedPseudograph;
@@ -34,7 +35,9 @@ import java.io.ByteArrayOutputStream;
 import java.io.StringReader;
 import java.io.UnsupportedEncodingException;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import static org.junit.Assert.*;
@@ -929,6 +932,48 @@ public class GmlImporterTest
 
     }
 
+    @Test
+    public void testEventDrivenAttributeEventsAndIntEdges()
+        throws ImportException
+    {
+        // @formatter:off
+        String input = "graph [\n"
+                     + "  node [ id 1 label \"one\" ]\n"
+                     + "  node [ id 2 ]\n"
+                     + "  node [ id 3 label \"three\" color \"red\" ]\n"
+                     + "  edge [ source 1 target 2 weight 2.5 label \"a\" ]\n"
+                     + "  edge [ source 2 target 3 ]\n"
+                     + "]";
+        // @formatter:on
+
+        GmlEventDrivenImporter importer = new GmlEventDrivenImporter();
+        List<String> vertexAttributes = new ArrayList<>();
+        List<String> vertexAttributeEvents = new ArrayList<>();
+        List<String> edgeAttributes = new ArrayList<>();
+        List<String> edgeAttributeEvents = new ArrayList<>();
+        List<Triple<Integer, Integer, Double>> edges = new ArrayList<>();
+        List<String> intEdges = new ArrayList<>();
+        importer.addVertexAttributeConsumer(
+            (p, a) -> vertexAttributes.add(p.getFirst() + " " + p.getSecond() + "=" + a));
+        importer.addVertexAttributeEventConsumer(
+            e -> vertexAttributeEvents
+                .add(e.getElement() + " " + e.getKey() + "=" + e.getValue()));
+        importer.addEdgeAttributeConsumer(
+            (p, a) -> edgeAttributes.add(p.getFirst() + " " + p.getSecond() + "=" + a));
+        importer.addEdgeAttributeEventConsumer(
+            e -> edgeAttributeEvents.add(e.getElement() + " " + e.getKey() + "=" + e.getValue()));
+        importer.addEdgeConsumer(edges::add);
+        importer.addIntEdgeConsumer((s, t, w) -> intEdges.add(s + " " + t + " " + w));
+        importer.importInput(new StringReader(input));
+
+        assertEquals(3, vertexAttributes.size());
+        assertEquals(vertexAttributes, vertexAttributeEvents);
+        assertEquals(2, edgeAttributes.size());
+        assertEquals(edgeAttributes, edgeAttributeEvents);
+        assertEquals(2, edges.size());
+        assertEquals(List.of("1 2 2.5", "2 3 NaN"), intEdges);
+    }
+
     // ~ Private Methods ------------------------------------------------------
 
     private <E> Graph<String, E> readGraph(
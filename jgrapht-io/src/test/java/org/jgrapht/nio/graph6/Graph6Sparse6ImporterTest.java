@@ -20,23 +20,34 @@ package org.jgrapht.nio.graph6;
 import org.jgrapht.Graph;
 import org.jgrapht.GraphMetrics;
 import org.jgrapht.Graphs;
+import org.jgrapht.generate.GnpRandomGraphGenerator;
 import org.jgrapht.generate.NamedGraphGenerator;
 import org.jgrapht.graph.DefaultEdge;
 import org.jgrapht.graph.Pseudograph;
 import org.jgrapht.graph.builder.GraphTypeBuilder;
 import org.jgrapht.nio.ImportException;
 import org.jgrapht.util.SupplierUtil;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 import java.io.ByteArrayInputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.io.StringWriter;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 /**
  * Tests for Graph6Sparse6Importer Sparse6/Graph6 strings are generated with Sage Math engine
@@ -45,6 +56,8 @@ import static org.junit.Assert.assertTrue;
  */
 public class Graph6Sparse6ImporterTest
 {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
 
     public <E> Graph<Integer, E> readGraph(InputStream in, Class<E> edgeClass, boolean weighted)
         throws ImportException
@@ -369,4 +382,109 @@ public class Graph6Sparse6ImporterTest
         assertEquals(GraphMetrics.getGirth(orig), GraphMetrics.getGirth(g), 0.00000001);
     }
 
+    private static Graph<Integer, DefaultEdge> createGraph()
+    {
+        return GraphTypeBuilder
+            .undirected().allowingMultipleEdges(true).allowingSelfLoops(true)
+            .vertexSupplier(SupplierUtil.createIntegerSupplier())
+            .edgeClass(DefaultEdge.class).buildGraph();
+    }
+
+    private static String toString(Graph<Integer, DefaultEdge> g)
+    {
+        StringBuilder sb = new StringBuilder();
+        sb.append(g.vertexSet());
+        for (DefaultEdge e : g.edgeSet()) {
+            sb.append(' ').append(g.getEdgeSource(e)).append('-').append(g.getEdgeTarget(e));
+        }
+        return sb.toString();
+    }
+
+    private static List<String> createLines()
+    {
+        List<String> lines = new ArrayList<>();
+        int i = 0;
+        for (int n : new int[] { 0, 1, 5, 17, 40, 70, 130 }) {
+            Graph<Integer, DefaultEdge> g = createGraph();
+            new GnpRandomGraphGenerator<Integer, DefaultEdge>(n, 0.1, 17 + n).generateGraph(g);
+            for (Graph6Sparse6Exporter.Format format : Graph6Sparse6Exporter.Format.values()) {
+                StringWriter writer = new StringWriter();
+                new Graph6Sparse6Exporter<Integer, DefaultEdge>(format).exportGraph(g, writer);
+                lines.add(writer.toString().trim());
+                if (i++ % 3 == 0) {
+                    lines.add("");
+                }
+            }
+        }
+        return lines;
+    }
+
+    @Test
+    public void testImportGraphs()
+        throws IOException
+    {
+        List<String> lines = createLines();
+        File file = folder.newFile();
+        String content = String.join("\n", lines) + "\r\n";
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+
+        List<String> expected = new ArrayList<>();
+        for (String line : lines) {
+            if (!line.isEmpty()) {
+                Graph<Integer, DefaultEdge> g = createGraph();
+                new Graph6Sparse6Importer<Integer, DefaultEdge>()
+                    .importGraph(g, new StringReader(line));
+                expected.add(toString(g));
+            }
+        }
+
+        for (int parallelism : new int[] { 1, 3 }) {
+            Graph6Sparse6Importer<Integer, DefaultEdge> importer = new Graph6Sparse6Importer<>();
+            importer.setParallelism(parallelism);
+            List<String> actual = new ArrayList<>();
+            Supplier<Graph<Integer, DefaultEdge>> supplier = Graph6Sparse6ImporterTest::createGraph;
+            importer.importGraphs(file, supplier, g -> actual.add(toString(g)));
+            assertEquals(expected, actual);
+        }
+    }
+
+    @Test
+    public void testImportInputsInChunks()
+        throws IOException
+    {
+        List<String> lines = createLines();
+        lines.add(2, "Bw");
+        lines.add("Bw!");
+        lines.add("Cw");
+        File file = folder.newFile();
+        Files.write(file.toPath(), String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+
+        List<Object> expected = null;
+        for (int parallelism : new int[] { 1, 3 }) {
+            for (int chunkSize : new int[] { 1, 10, 100, 1 << 20 }) {
+                Graph6Sparse6EventDrivenImporter importer = new Graph6Sparse6EventDrivenImporter();
+                importer.setParallelism(parallelism);
+                importer.chunkSize = chunkSize;
+                List<Object> events = new ArrayList<>();
+                importer.addImportEventConsumer(events::add);
+                importer.addVertexCountConsumer(events::add);
+                importer.addEdgeConsumer(events::add);
+                try {
+                    importer.importInputs(file);
+                    fail("No exception thrown");
+                } catch (ImportException e) {
+                    events.add(e.getMessage());
+                }
+                if (expected == null) {
+                    expected = events;
+                    assertEquals(
+                        "Graph string seems to be corrupt. Illegal character detected: 33",
+                        events.get(events.size() - 1));
+                } else {
+                    assertEquals(expected, events);
+                }
+            }
+        }
+    }
+
 }
@@ -0,0 +1,193 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.nio.graphml;
+
+import org.jgrapht.nio.ImportException;
+import org.junit.Test;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for the streaming mode of {@link GraphMLEventDrivenImporter}.
+ */
+public class GraphMLEventDrivenImporterTest
+{
+    private static final String NL = System.getProperty("line.separator");
+
+    // @formatter:off
+    private static final String HEADER =
+        "<?xml version=\"1.0\" encoding=\"UTF-8\"?>" + NL +
+        "<graphml xmlns=\"http://graphml.graphdrawing.org/xmlns\"" + NL +
+        "xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\"" + NL +
+        "xsi:schemaLocation=\"http://graphml.graphdrawing.org/xmlns " +
+        "http://graphml.graphdrawing.org/xmlns/1.0/graphml.xsd\">" + NL;
+
+    private static final String INPUT = HEADER +
+        "<key id=\"d0\" for=\"node\" attr.name=\"color\" attr.type=\"string\">" + NL +
+        "<desc>the color</desc>" + NL +
+        "<default>yellow</default>" + NL +
+        "</key>" + NL +
+        "<key id=\"d1\" for=\"edge\" attr.name=\"cost\" attr.type=\"double\">" + NL +
+        "<default>2.5</default>" + NL +
+        "</key>" + NL +
+        "<key id=\"d2\" for=\"all\" attr.name=\"label\" attr.type=\"string\"/>" + NL +
+        "<key id=\"d3\" for=\"node\" attr.name=\"size\" attr.type=\"int\"/>" + NL +
+        "<graph id=\"G\" edgedefault=\"undirected\">" + NL +
+        "<data key=\"d2\">graph label</data>" + NL +
+        "<node id=\"n0\">" + NL +
+        "<data key=\"d0\">green</data>" + NL +
+        "<data key=\"d2\">A &amp; <![CDATA[<b>]]></data>" + NL +
+        "<data key=\"d3\">5</data>" + NL +
+        "</node>" + NL +
+        "<node id=\"n1\"/>" + NL +
+        "<node id=\"n2\">" + NL +
+        "<data key=\"d2\"><y:ShapeNode xmlns:y=\"http://www.yworks.com/xml/graphml\">" +
+        "<y:Label>nested</y:Label> text</y:ShapeNode></data>" + NL +
+        "<graph id=\"n2:\" edgedefault=\"undirected\">" + NL +
+        "<node id=\"n2:n0\"/>" + NL +
+        "<edge source=\"n2:n0\" target=\"n0\"><data key=\"d1\">x</data></edge>" + NL +
+        "</graph>" + NL +
+        "</node>" + NL +
+        "<edge source=\"n0\" target=\"n1\">" + NL +
+        "<data key=\"d1\">1.5</data>" + NL +
+        "<data key=\"d2\">first</data>" + NL +
+        "</edge>" + NL +
+        "<edge source=\"n1\" target=\"n2\"/>" + NL +
+        "<hyperedge><endpoint node=\"n0\"/><endpoint node=\"n1\"/></hyperedge>" + NL +
+        "<edge source=\"n2\" target=\"n0\"><data key=\"d1\"></data></edge>" + NL +
+        "</graph>" + NL +
+        "</graphml>";
+    // @formatter:on
+
+    private static List<String> collect(
+        String input, boolean streaming, String weightAttributeName, Set<String> attributeNames)
+    {
+        GraphMLEventDrivenImporter importer = new GraphMLEventDrivenImporter();
+        importer.setSchemaValidation(false);
+        importer.setStreaming(streaming);
+        importer.setEdgeWeightAttributeName(weightAttributeName);
+        importer.setAttributeNames(attributeNames);
+
+        List<String> events = new ArrayList<>();
+        importer.addVertexConsumer(v -> events.add("vertex " + v));
+        importer.addVertexAttributeConsumer(
+            (k, a) -> events.add(
+                "vertex " + k.getFirst() + " " + k.getSecond() + "=" + a.getValue() + " "
+                    + a.getType()));
+        importer.addEdgeConsumer(
+            e -> events.add("edge " + e.getFirst() + " " + e.getSecond() + " " + e.getThird()));
+        importer.addEdgeAttributeConsumer(
+            (k, a) -> events.add(
+                "edge " + k.getFirst().getFirst() + " " + k.getFirst().getSecond() + " "
+                    + k.getSecond() + "=" + a.getValue() + " " + a.getType()));
+        importer.importInput(new StringReader(input));
+        return events;
+    }
+
+    @Test
+    public void testStreamingMatchesDefaultMode()
+    {
+        for (String weight : new String[] { "weight", "cost", "label" }) {
+            List<String> expected = collect(INPUT, false, weight, null);
+            List<String> actual = collect(INPUT, true, weight, null);
+            Collections.sort(expected);
+            Collections.sort(actual);
+            assertEquals(expected, actual);
+        }
+
+        List<String> events = collect(INPUT, true, "cost", null);
+        assertTrue(events.contains("vertex n0 label=A & <b> string"));
+        assertTrue(events.contains("vertex n2 label=nested text string"));
+        assertTrue(events.contains("vertex n1 color=yellow string"));
+        assertTrue(events.contains("edge n0 n1 1.5"));
+        assertTrue(events.contains("edge n2:n0 n0 2.5"));
+        assertTrue(events.contains("edge n1 n2 2.5"));
+    }
+
+    @Test
+    public void testStreamingReportsElementsInOrder()
+    {
+        // @formatter:off
+        String input = HEADER +
+            "<graph id=\"G\" edgedefault=\"directed\">" + NL +
+            "<edge source=\"2\" target=\"3\"/>" + NL +
+            "<node id=\"1\"/>" + NL +
+            "<node id=\"2\"/>" + NL +
+            "<edge source=\"1\" target=\"2\"/>" + NL +
+            "<node id=\"3\"/>" + NL +
+            "<edge source=\"3\" target=\"1\"/>" + NL +
+            "</graph>" + NL +
+            "</graphml>";
+        // @formatter:on
+
+        assertEquals(
+            List.of(
+                "vertex 1", "vertex 2", "edge 1 2 null", "vertex 3", "edge 3 1 null",
+                "edge 2 3 null"),
+            collect(input, true, "weight", null));
+    }
+
+    @Test
+    public void testAttributeNames()
+    {
+        for (boolean streaming : new boolean[] { false, true }) {
+            List<String> events = collect(INPUT, streaming, "cost", Set.of("color"));
+            assertTrue(events.contains("vertex n0 color=green string"));
+            assertTrue(events.contains("edge n0 n1 1.5"));
+            for (String event : events) {
+                assertTrue(
+                    event,
+                    !event.contains("=") || event.startsWith("vertex") && event.contains("color"));
+            }
+        }
+    }
+
+    @Test
+    public void testStreamingErrors()
+    {
+        // @formatter:off
+        String[] inputs = {
+            HEADER + "<graph><node id=\"1\"/><node id=\"1\"/></graph></graphml>",
+            HEADER + "<graph><node/></graph></graphml>",
+            HEADER + "<graph><node id=\"1\"/><edge source=\"1\" target=\"2\"/></graph></graphml>",
+            HEADER + "<graph><node id=\"1\"/><edge source=\"3\" target=\"1\"/></graph></graphml>",
+            HEADER + "<graph><node id=\"1\"/><edge target=\"1\"/></graph></graphml>",
+            HEADER + "<graph><node id=\"1\"></graph></graphml>",
+        };
+        // @formatter:on
+
+        for (String input : inputs) {
+            for (boolean streaming : new boolean[] { false, true }) {
+                try {
+                    collect(input, streaming, "weight", null);
+                    fail("No exception thrown");
+                } catch (ImportException e) {
+                    assertEquals("Failed to parse GraphML", e.getMessage());
+                }
+            }
+        }
+    }
+}
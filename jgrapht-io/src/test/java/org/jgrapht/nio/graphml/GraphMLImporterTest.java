@@ -33,6 +33,7 @@ import java.io.StringReader;
 import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 
 import static org.junit.Assert.*;
 
@@ -499,6 +500,68 @@ public class GraphMLImporterTest
         assertEquals(3.0, g.getEdgeWeight(g.getEdge("2", "3")), 1e-9);
     }
 
+    @Test
+    public void testStreamingWithAttributeNamesWeightedGraphs()
+        throws ImportException
+    {
+        // @formatter:off
+        String input =
+            "<?xml version=\"1.0\" encoding=\"UTF-8\"?> " + NL +
+            "<graphml xmlns=\"http://graphml.graphdrawing.org/xmlns\">" + NL +
+            "<key id=\"d0\" for=\"node\" attr.name=\"color\" attr.type=\"string\">" + NL +
+            "<default>yellow</default>" + NL +
+            "</key>" + NL +
+            "<key id=\"d1\" for=\"edge\" attr.name=\"weight\" attr.type=\"double\">" + NL +
+            "<default>3.0</default>" + NL +
+            "</key>" + NL +
+            "<key id=\"d2\" for=\"node\" attr.name=\"label\" attr.type=\"string\"/>" + NL +
+            "<graph id=\"G\" edgedefault=\"undirected\">" + NL +
+            "<node id=\"n0\">" + NL +
+            "<data key=\"d0\">green</data>" + NL +
+            "<data key=\"d2\">zero</data>" + NL +
+            "</node>" + NL +
+            "<node id=\"n1\"/>" + NL +
+            "<edge id=\"e0\" source=\"n0\" target=\"n2\">" + NL +
+            "<data key=\"d1\">2.0</data>" + NL +
+            "</edge>" + NL +
+            "<node id=\"n2\">" + NL +
+            "<data key=\"d0\">blue</data>" + NL +
+            "</node>" + NL+
+            "<edge id=\"e1\" source=\"n0\" target=\"n1\">" + NL +
+            "<data key=\"d1\">1.0</data>" + NL +
+            "</edge>" + NL +
+            "<edge id=\"e2\" source=\"n1\" target=\"n2\"/>" + NL +
+            "</graph>" + NL +
+            "</graphml>";
+        // @formatter:on
+
+        Graph<String, DefaultWeightedEdge> g = GraphTypeBuilder
+            .undirected().weighted(true).vertexSupplier(SupplierUtil.createStringSupplier(1))
+            .edgeClass(DefaultWeightedEdge.class).buildGraph();
+        Map<String, Map<String, Attribute>> vAttributes = new HashMap<>();
+        Map<DefaultWeightedEdge, Map<String, Attribute>> eAttributes = new HashMap<>();
+        GraphMLImporter<String, DefaultWeightedEdge> importer =
+            createGraphImporter(vAttributes, eAttributes);
+        importer.setStreaming(true);
+        importer.setAttributeNames(Set.of("color"));
+        importer.importGraph(g, new StringReader(input));
+
+        assertEquals(3, g.vertexSet().size());
+        assertEquals(3, g.edgeSet().size());
+        assertTrue(g.containsEdge("1", "3"));
+        assertTrue(g.containsEdge("1", "2"));
+        assertTrue(g.containsEdge("2", "3"));
+        assertEquals(2.0, g.getEdgeWeight(g.getEdge("1", "3")), 1e-9);
+        assertEquals(1.0, g.getEdgeWeight(g.getEdge("1", "2")), 1e-9);
+        assertEquals(3.0, g.getEdgeWeight(g.getEdge("2", "3")), 1e-9);
+
+        assertEquals("green", vAttributes.get("1").get("color").getValue());
+        assertEquals("yellow", vAttributes.get("2").get("color").getValue());
+        assertEquals("blue", vAttributes.get("3").get("color").getValue());
+        assertNull(vAttributes.get("1").get("label"));
+        assertTrue(eAttributes.isEmpty());
+    }
+
     @Test
     public void testWithAttributesCustomNamedWeightedGraphs()
         throws ImportException
@@ -27,6 +27,7 @@ import org.junit.Test;
 
 import java.io.ByteArrayOutputStream;
 import java.io.StringReader;
+import java.io.StringWriter;
 import java.io.UnsupportedEncodingException;
 import java.nio.charset.StandardCharsets;
 import java.util.LinkedHashMap;
@@ -348,4 +349,68 @@ public class JSONExporterTest
 
     }
 
+    @Test
+    public void testOutputStreamAndWriterWithEscape()
+        throws ExportException,
+        ImportException
+    {
+        String expected =
+            "{\"creator\":\"JGraphT JSON Exporter\",\"version\":\"1\",\"nodes\":[{\"id\":\"caf\\u00E9\",\"path\":\"a\\/b\\\\c\",\"count\":-7},{\"id\":\"tab\\there\",\"big\":123456789012,\"ratio\":0.25}],\"edges\":[{\"source\":\"caf\\u00E9\",\"target\":\"tab\\there\",\"weight\":1.5E-4,\"label\":\"plain\"}]}";
+
+        Graph<String,
+            DefaultWeightedEdge> graph = GraphTypeBuilder
+                .directed().weighted(true).edgeClass(DefaultWeightedEdge.class)
+                .vertexSupplier(SupplierUtil.createStringSupplier()).allowingMultipleEdges(false)
+                .allowingSelfLoops(false).buildGraph();
+
+        String v1 = "caf\u00e9";
+        String v2 = "tab\there";
+        graph.addVertex(v1);
+        graph.addVertex(v2);
+        DefaultWeightedEdge e = graph.addEdge(v1, v2);
+        graph.setEdgeWeight(e, 1.5e-4);
+
+        JSONExporter<String, DefaultWeightedEdge> exporter = new JSONExporter<>(v -> v);
+        exporter.setVertexAttributeProvider(v -> {
+            Map<String, Attribute> map = new LinkedHashMap<>();
+            if (v.equals(v1)) {
+                map.put("path", DefaultAttribute.createAttribute("a/b\\c"));
+                map.put("count", DefaultAttribute.createAttribute(-7));
+            } else {
+                map.put("big", DefaultAttribute.createAttribute(123456789012L));
+                map.put("ratio", DefaultAttribute.createAttribute(0.25f));
+            }
+            return map;
+        });
+        exporter.setEdgeAttributeProvider(x -> {
+            Map<String, Attribute> map = new LinkedHashMap<>();
+            map.put("weight", DefaultAttribute.createAttribute(graph.getEdgeWeight(x)));
+            map.put("label", DefaultAttribute.createAttribute("plain"));
+            return map;
+        });
+
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        exporter.exportGraph(graph, os);
+        assertEquals(expected, new String(os.toByteArray(), StandardCharsets.UTF_8));
+
+        StringWriter writer = new StringWriter();
+        exporter.exportGraph(graph, writer);
+        assertEquals(expected, writer.toString());
+
+        Graph<String,
+            DefaultWeightedEdge> graph2 = GraphTypeBuilder
+                .directed().weighted(true).allowingMultipleEdges(true).allowingSelfLoops(true)
+                .vertexSupplier(SupplierUtil.createStringSupplier())
+                .edgeSupplier(SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER).buildGraph();
+
+        JSONImporter<String, DefaultWeightedEdge> importer = new JSONImporter<>();
+        importer.setStreaming(true);
+        importer.setVertexFactory(x -> x);
+        importer.importGraph(graph2, new StringReader(expected));
+
+        assertTrue(graph2.containsVertex(v1));
+        assertTrue(graph2.containsVertex(v2));
+        assertEquals(1.5e-4, graph2.getEdgeWeight(graph2.getEdge(v1, v2)), 1e-12);
+    }
+
 }
@@ -19,6 +19,7 @@ package org.jgrapht.nio.json;
 
 import org.jgrapht.Graph;
 import org.jgrapht.graph.DefaultEdge;
+import org.jgrapht.graph.DefaultWeightedEdge;
 import org.jgrapht.graph.builder.GraphTypeBuilder;
 import org.jgrapht.nio.Attribute;
 import org.jgrapht.nio.AttributeType;
@@ -27,7 +28,9 @@ import org.jgrapht.util.SupplierUtil;
 import org.junit.Test;
 
 import java.io.StringReader;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import static org.junit.Assert.*;
@@ -533,4 +536,124 @@ public class JSONImporterTest
 
     }
 
+    @Test
+    public void testStreamingMatchesDefaultMode()
+        throws ImportException
+    {
+        // @formatter:off
+        String input = "{\n"
+                     + "  \"creator\": { \"name\": \"test\", \"nodes\": [ { \"id\": \"x\" } ] },\n"
+                     + "  \"nodes\": [\n"
+                     + "  { \"id\":\"1\", \"label\": \"caf\\u00E9 \\\"1\\\"\\n\\/\", \"size\": -12 },\n"
+                     + "  { \"id\": 2, \"big\": 12345678901, \"real\": 1.5e-3, \"flag\": false },\n"
+                     + "  17, \"ignored\", [ 1, 2 ],\n"
+                     + "  { \"label\": \"singleton\", \"none\": null, \"flag\": true },\n"
+                     + "  { \"id\":\"3\", \"custom\": { \"s\": \"a\\u00e9\\\\b\", \"a\": [ true, null, -0.5E+2 ] } }\n"
+                     + "  ],\n"
+                     + "  \"edges\": [\n"
+                     + "  { \"source\":\"1\", \"target\": 2, \"weight\": 2.5, \"label\": \"e\" },\n"
+                     + "  { \"target\":\"3\", \"source\": \"1\", \"weight\": 4, \"empty\": [ ], \"obj\": { } },\n"
+                     + "  { \"source\":\"3\", \"target\": \"3\" }\n"
+                     + "  ],\n"
+                     + "  \"version\": \"1\"\n"
+                     + "}";
+        // @formatter:on
+
+        List<String> expected = readEvents(input, false);
+        List<String> actual = readEvents(input, true);
+        assertEquals(21, expected.size());
+        assertEquals(expected, actual);
+        assertTrue(actual.contains("vertex-attribute 1 label STRING caf\u00e9 \"1\"\n/"));
+        assertTrue(actual.contains("vertex-attribute 3 custom UNKNOWN {\"s\":\"a\\u00e9\\\\b\","
+            + "\"a\":[true,null,-0.5E+2]}"));
+        assertTrue(actual.contains("edge (1,3,1.0)"));
+    }
+
+    @Test
+    public void testStreamingErrors()
+    {
+        // @formatter:off
+        String[] inputs = {
+            "",
+            "{ \"nodes\": [ { \"id\": \"1\" } ",
+            "{ \"nodes\": [ { \"id\": 1.5 } ] }",
+            "{ \"nodes\": [ { \"id\": \"1\", } ] }",
+            "{ \"nodes\": [ { \"id\": 01 } ] }",
+            "{ \"nodes\": [ { \"id\": \"\\x\" } ] }",
+            "{ \"nodes\": [ { \"id\": tru } ] }",
+            "{ \"nodes\": [ { \"id\": \"unterminated } ] }",
+            "{ \"edges\": [ { \"source\": \"1\" } ] }",
+            "{ \"edges\": [ { \"target\": \"1\" } ] }"
+        };
+        // @formatter:on
+        for (String input : inputs) {
+            for (boolean streaming : new boolean[] { false, true }) {
+                JSONEventDrivenImporter importer = new JSONEventDrivenImporter();
+                importer.setStreaming(streaming);
+                try {
+                    importer.importInput(new StringReader(input));
+                    fail("No exception for input " + input + " with streaming " + streaming);
+                } catch (ImportException e) {
+                    // expected
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testStreamingWeightsOnWeighted()
+        throws ImportException
+    {
+        // @formatter:off
+        String input = "{\n"
+                     + "  \"nodes\": [ { \"id\":\"1\" }, { \"id\":\"2\" }, { \"id\":\"3\" } ],\n"
+                     + "  \"edges\": [\n"
+                     + "  { \"source\":\"1\", \"target\":\"2\", \"weight\": 2.0 },\n"
+                     + "  { \"source\":\"2\", \"target\":\"3\", \"weight\": 3.5 }\n"
+                     + "  ]\n"
+                     + "}";
+        // @formatter:on
+
+        Graph<String,
+            DefaultWeightedEdge> g = GraphTypeBuilder
+                .undirected().allowingMultipleEdges(true).allowingSelfLoops(true).weighted(true)
+                .vertexSupplier(SupplierUtil.createStringSupplier(1))
+                .edgeSupplier(SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER).buildGraph();
+
+        JSONImporter<String, DefaultWeightedEdge> importer = new JSONImporter<>();
+        importer.setStreaming(true);
+        importer.importGraph(g, new StringReader(input));
+
+        assertEquals(3, g.vertexSet().size());
+        assertEquals(2, g.edgeSet().size());
+        assertEquals(2.0, g.getEdgeWeight(g.getEdge("1", "2")), 1e-9);
+        assertEquals(3.5, g.getEdgeWeight(g.getEdge("2", "3")), 1e-9);
+    }
+
+    private List<String> readEvents(String input, boolean streaming)
+    {
+        List<String> events = new ArrayList<>();
+        JSONEventDrivenImporter importer = new JSONEventDrivenImporter();
+        importer.setStreaming(streaming);
+        importer.addVertexConsumer(v -> events.add("vertex " + singleton(v)));
+        importer.addEdgeConsumer(e -> events.add("edge " + e));
+        importer
+            .addVertexAttributeConsumer((p, a) -> events
+                .add(
+                    "vertex-attribute " + singleton(p.getFirst()) + " " + p.getSecond() + " "
+                        + a.getType().name() + " " + a.getValue()));
+        importer
+            .addEdgeAttributeConsumer((p, a) -> events
+                .add(
+                    "edge-attribute " + p.getFirst() + " " + p.getSecond() + " "
+                        + a.getType().name() + " " + a.getValue()));
+        importer.importInput(new StringReader(input));
+        return events;
+    }
+
+    private String singleton(String id)
+    {
+        return id.startsWith("Singleton_") ? "Singleton" : id;
+    }
+
 }
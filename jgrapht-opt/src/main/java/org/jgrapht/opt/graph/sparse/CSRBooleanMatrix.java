@@ -100,6 +100,56 @@ class CSRBooleanMatrix
         Arrays.parallelPrefix(rowOffsets, (x, y) -> x + y);
     }
 
+    /**
+     * Create a new CSR boolean matrix from its compressed representation. The arrays are not
+     * copied.
+     * 
+     * @param columns the number of columns
+     * @param rowOffsets the offsets of the rows in the column indices, of length equal to the
+     *        number of rows plus one
+     * @param columnIndices the column indices of the entries, sorted within each row
+     */
+    CSRBooleanMatrix(int columns, int[] rowOffsets, int[] columnIndices)
+    {
+        this.columns = columns;
+        this.rowOffsets = rowOffsets;
+        this.columnIndices = columnIndices;
+    }
+
+    /**
+     * Create a new CSR boolean matrix where column $j$ contains the entries of rows
+     * $entryRows[j \cdot k], \dots, entryRows[j \cdot k + k - 1]$. This is the shape of an
+     * incidence matrix where columns are edges. The matrix is built using counting sort, which
+     * takes linear time.
+     * 
+     * @param rows the number of rows
+     * @param entryRows the rows of the entries, $k$ consecutive entries per column
+     * @param k the number of entries per column
+     * @return the matrix
+     */
+    static CSRBooleanMatrix ofColumns(int rows, int[] entryRows, int k)
+    {
+        int columns = entryRows.length / k;
+        int[] rowOffsets = new int[rows + 1];
+        for (int row : entryRows) {
+            if (row < 0 || row >= rows) {
+                throw new IllegalArgumentException("Entry at invalid row: " + row);
+            }
+            rowOffsets[row + 1]++;
+        }
+        for (int i = 0; i < rows; i++) {
+            rowOffsets[i + 1] += rowOffsets[i];
+        }
+
+        // entries are placed in increasing column order, so rows are sorted
+        int[] next = Arrays.copyOf(rowOffsets, rows);
+        int[] columnIndices = new int[entryRows.length];
+        for (int i = 0; i < entryRows.length; i++) {
+            columnIndices[next[entryRows[i]]++] = i / k;
+        }
+        return new CSRBooleanMatrix(columns, rowOffsets, columnIndices);
+    }
+
     /**
      * Get the number of columns of the matrix.
      * 
@@ -107,6 +107,26 @@ public class SparseIntDirectedGraph
         inIncidenceMatrix = new CSRBooleanMatrix(numVertices, m, incoming);
     }
 
+    /**
+     * Create a new graph from an edge list given as arrays. Edge $i$ is the edge from
+     * $sources[i]$ to $targets[i]$. This constructor takes linear time and does not create any
+     * objects per edge. The arrays are not copied.
+     * 
+     * @param numVertices the number of vertices
+     * @param sources the source vertex of each edge
+     * @param targets the target vertex of each edge
+     */
+    public SparseIntDirectedGraph(int numVertices, int[] sources, int[] targets)
+    {
+        if (sources.length != targets.length) {
+            throw new IllegalArgumentException("Sources and targets must have the same length");
+        }
+        source = sources;
+        target = targets;
+        outIncidenceMatrix = CSRBooleanMatrix.ofColumns(numVertices, sources, 1);
+        inIncidenceMatrix = CSRBooleanMatrix.ofColumns(numVertices, targets, 1);
+    }
+
     @Override
     public Supplier<Integer> getVertexSupplier()
     {
@@ -96,6 +96,25 @@ public class SparseIntDirectedWeightedGraph
         }
     }
 
+    /**
+     * Create a new graph from an edge list given as arrays. This constructor takes linear time
+     * and does not create any objects per edge. The arrays are not copied.
+     * 
+     * @param numVertices the number of vertices
+     * @param sources the source vertex of each edge
+     * @param targets the target vertex of each edge
+     * @param weights the weight of each edge
+     */
+    public SparseIntDirectedWeightedGraph(
+        int numVertices, int[] sources, int[] targets, double[] weights)
+    {
+        super(numVertices, sources, targets);
+        if (weights.length != sources.length) {
+            throw new IllegalArgumentException("Weights must have the same length as the edges");
+        }
+        this.weights = weights;
+    }
+
     @Override
     public GraphType getType()
     {
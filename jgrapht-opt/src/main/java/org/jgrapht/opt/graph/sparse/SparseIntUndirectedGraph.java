@@ -88,6 +88,38 @@ public class SparseIntUndirectedGraph
         incidenceMatrixT = new CSRBooleanMatrix(edges.size(), numVertices, nonZerosTranspose);
     }
 
+    /**
+     * Create a new graph from an edge list given as arrays. Edge $i$ is the edge between
+     * $sources[i]$ and $targets[i]$. This constructor takes linear time and does not create any
+     * objects per edge.
+     * 
+     * @param numVertices number of vertices
+     * @param sources the first endpoint of each edge
+     * @param targets the second endpoint of each edge
+     */
+    public SparseIntUndirectedGraph(int numVertices, int[] sources, int[] targets)
+    {
+        if (sources.length != targets.length) {
+            throw new IllegalArgumentException("Sources and targets must have the same length");
+        }
+        final int m = sources.length;
+        int[] endpoints = new int[2 * m];
+        int[] rowOffsets = new int[m + 1];
+        for (int i = 0; i < m; i++) {
+            int s = sources[i];
+            int t = targets[i];
+            if (t < 0 || t >= numVertices) {
+                throw new IllegalArgumentException("Entry at invalid column: " + t);
+            }
+            // the columns of each row of the transposed matrix are sorted
+            endpoints[2 * i] = Math.min(s, t);
+            endpoints[2 * i + 1] = Math.max(s, t);
+            rowOffsets[i + 1] = 2 * (i + 1);
+        }
+        incidenceMatrix = CSRBooleanMatrix.ofColumns(numVertices, endpoints, 2);
+        incidenceMatrixT = new CSRBooleanMatrix(numVertices, rowOffsets, endpoints);
+    }
+
     @Override
     public Supplier<Integer> getVertexSupplier()
     {
@@ -95,6 +95,25 @@ public class SparseIntUndirectedWeightedGraph
         }
     }
 
+    /**
+     * Create a new graph from an edge list given as arrays. This constructor takes linear time
+     * and does not create any objects per edge. The weights array is not copied.
+     * 
+     * @param numVertices the number of vertices
+     * @param sources the first endpoint of each edge
+     * @param targets the second endpoint of each edge
+     * @param weights the weight of each edge
+     */
+    public SparseIntUndirectedWeightedGraph(
+        int numVertices, int[] sources, int[] targets, double[] weights)
+    {
+        super(numVertices, sources, targets);
+        if (weights.length != sources.length) {
+            throw new IllegalArgumentException("Weights must have the same length as the edges");
+        }
+        this.weights = weights;
+    }
+
     @Override
     public GraphType getType()
     {
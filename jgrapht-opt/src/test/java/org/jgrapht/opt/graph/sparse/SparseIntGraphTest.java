@@ -65,6 +65,76 @@ public class SparseIntGraphTest
         testDirectedWeighted((vc, edges) -> new SparseIntDirectedWeightedGraph(vc, edges));
     }
 
+    @Test
+    public void testUndirectedFromArrays()
+    {
+        testUndirected(
+            (vc, edges) -> new SparseIntUndirectedGraph(vc, sources(edges), targets(edges)));
+    }
+
+    @Test
+    public void testUndirectedWithLoopsFromArrays()
+    {
+        testUndirectedWithLoops(
+            (vc, edges) -> new SparseIntUndirectedGraph(vc, sources(edges), targets(edges)));
+    }
+
+    @Test
+    public void testUndirectedWeightedFromArrays()
+    {
+        testUndirectedWeighted(
+            (vc, edges) -> new SparseIntUndirectedWeightedGraph(
+                vc, sources(edges), targets(edges), weights(edges)));
+    }
+
+    @Test
+    public void testDirectedFromArrays()
+    {
+        testDirected((vc, edges) -> new SparseIntDirectedGraph(vc, sources(edges), targets(edges)));
+    }
+
+    @Test
+    public void testDirectedWeightedFromArrays()
+    {
+        testDirectedWeighted(
+            (vc, edges) -> new SparseIntDirectedWeightedGraph(
+                vc, sources(edges), targets(edges), weights(edges)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidVertexFromArrays()
+    {
+        new SparseIntDirectedGraph(2, new int[] { 0, 1 }, new int[] { 1, 2 });
+    }
+
+    private static int[] sources(List<? extends Pair<Integer, Integer>> edges)
+    {
+        return edges.stream().mapToInt(Pair::getFirst).toArray();
+    }
+
+    private static int[] targets(List<? extends Pair<Integer, Integer>> edges)
+    {
+        return edges.stream().mapToInt(Pair::getSecond).toArray();
+    }
+
+    private static int[] sources(Collection<Triple<Integer, Integer, Double>> edges)
+    {
+        return edges.stream().mapToInt(Triple::getFirst).toArray();
+    }
+
+    private static int[] targets(Collection<Triple<Integer, Integer, Double>> edges)
+    {
+        return edges.stream().mapToInt(Triple::getSecond).toArray();
+    }
+
+    private static double[] weights(Collection<Triple<Integer, Integer, Double>> edges)
+    {
+        return edges
+            .stream()
+            .mapToDouble(e -> e.getThird() != null ? e.getThird() : Graph.DEFAULT_EDGE_WEIGHT)
+            .toArray();
+    }
+
     public static void testUndirected(
         BiFunction<Integer, List<Pair<Integer, Integer>>, Graph<Integer, Integer>> graphSupplier)
     {